@@ -22,8 +22,13 @@ import java.util.concurrent.atomic.AtomicLong;
 public class CounterHolder {
 
 	public CounterHolder(long initValue, long rangeMax) {
+		this(initValue, rangeMax, rangeMax);
+	}
+
+	public CounterHolder(long initValue, long rangeMax, long prefetchValue) {
 		_counter = new AtomicLong(initValue);
 		_rangeMax = rangeMax;
+		_prefetchValue = prefetchValue;
 	}
 
 	public long addAndGet(long delta) {
@@ -34,11 +39,16 @@ public class CounterHolder {
 		return _counter.get();
 	}
 
+	public long getPrefetchValue() {
+		return _prefetchValue;
+	}
+
 	public long getRangeMax() {
 		return _rangeMax;
 	}
 
 	private final AtomicLong _counter;
+	private final long _prefetchValue;
 	private final long _rangeMax;
 
 }
\ No newline at end of file
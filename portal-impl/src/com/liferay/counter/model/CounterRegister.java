@@ -16,6 +16,9 @@ package com.liferay.counter.model;
 
 import com.liferay.portal.kernel.concurrent.CompeteLatch;
 
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.atomic.AtomicReference;
+
 /**
  * @author Harry Mark
  * @author Shuyang Zhou
@@ -27,9 +30,11 @@ public class CounterRegister {
 		String name, CounterHolder counterHolder, int rangeSize) {
 
 		_name = name;
+		_baseRangeSize = rangeSize;
 		_rangeSize = rangeSize;
 		_counterHolder = counterHolder;
 		_competeLatch = new CompeteLatch();
+		_rangeTimestamp = System.currentTimeMillis();
 	}
 
 	public CounterRegister(
@@ -38,6 +43,18 @@ public class CounterRegister {
 		this(name, new CounterHolder(rangeMin, rangeMax), rangeSize);
 	}
 
+	public boolean compareAndSetPrefetchFutureTask(
+		FutureTask<CounterHolder> expectedPrefetchFutureTask,
+		FutureTask<CounterHolder> prefetchFutureTask) {
+
+		return _prefetchFutureTaskReference.compareAndSet(
+			expectedPrefetchFutureTask, prefetchFutureTask);
+	}
+
+	public int getBaseRangeSize() {
+		return _baseRangeSize;
+	}
+
 	public CompeteLatch getCompeteLatch() {
 		return _competeLatch;
 	}
@@ -50,21 +67,39 @@ public class CounterRegister {
 		return _name;
 	}
 
+	public FutureTask<CounterHolder> getPrefetchFutureTask() {
+		return _prefetchFutureTaskReference.get();
+	}
+
 	public int getRangeSize() {
 		return _rangeSize;
 	}
 
+	public long getRangeTimestamp() {
+		return _rangeTimestamp;
+	}
+
 	public void setCounterHolder(CounterHolder holder) {
 		_counterHolder = holder;
+		_rangeTimestamp = System.currentTimeMillis();
 	}
 
 	public void setName(String name) {
 		_name = name;
 	}
 
+	public void setRangeSize(int rangeSize) {
+		_rangeSize = rangeSize;
+	}
+
+	private final int _baseRangeSize;
 	private final CompeteLatch _competeLatch;
 	private volatile CounterHolder _counterHolder;
 	private String _name;
-	private final int _rangeSize;
+	private final AtomicReference<FutureTask<CounterHolder>>
+		_prefetchFutureTaskReference =
+			new AtomicReference<FutureTask<CounterHolder>>();
+	private volatile int _rangeSize;
+	private volatile long _rangeTimestamp;
 
 }
\ No newline at end of file
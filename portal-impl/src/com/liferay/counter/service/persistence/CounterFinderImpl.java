@@ -26,6 +26,9 @@ import com.liferay.portal.kernel.dao.orm.LockMode;
 import com.liferay.portal.kernel.dao.orm.ObjectNotFoundException;
 import com.liferay.portal.kernel.dao.orm.Session;
 import com.liferay.portal.kernel.exception.SystemException;
+import com.liferay.portal.kernel.executor.PortalExecutorManagerUtil;
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
 import com.liferay.portal.kernel.util.CharPool;
 import com.liferay.portal.kernel.util.GetterUtil;
 import com.liferay.portal.kernel.util.PropsKeys;
@@ -42,7 +45,16 @@ import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
 
 /**
  * @author Brian Wing Shun Chan
@@ -196,6 +208,34 @@ public class CounterFinderImpl
 		_counterRegisterMap.put(name, counterRegister);
 	}
 
+	public void setAdaptiveRangeInterval(long adaptiveRangeInterval) {
+		_adaptiveRangeInterval = adaptiveRangeInterval;
+	}
+
+	public void setAdaptiveRangeMax(int adaptiveRangeMax) {
+		_adaptiveRangeMax = adaptiveRangeMax;
+	}
+
+	public void setPlatformTransactionManager(
+		PlatformTransactionManager platformTransactionManager) {
+
+		_platformTransactionManager = platformTransactionManager;
+	}
+
+	public void setPrefetchEnabled(boolean prefetchEnabled) {
+		_prefetchEnabled = prefetchEnabled;
+	}
+
+	public void setPrefetchThreshold(int prefetchThreshold) {
+		if ((prefetchThreshold < 0) || (prefetchThreshold > 100)) {
+			throw new IllegalArgumentException(
+				"Prefetch threshold " + prefetchThreshold +
+					" is not between 0 and 100");
+		}
+
+		_prefetchThreshold = prefetchThreshold;
+	}
+
 	protected CounterRegister createCounterRegister(String name)
 		throws SystemException {
 
@@ -247,7 +287,7 @@ public class CounterFinderImpl
 			DataAccess.cleanUp(connection, preparedStatement, resultSet);
 		}
 
-		CounterHolder counterHolder = _obtainIncrement(name, rangeSize, size);
+		CounterHolder counterHolder = obtainIncrement(name, rangeSize, size);
 
 		return new CounterRegister(name, counterHolder, rangeSize);
 	}
@@ -283,6 +323,15 @@ public class CounterFinderImpl
 		}
 	}
 
+	protected Executor getPrefetchExecutor() {
+		if (_prefetchExecutor == null) {
+			_prefetchExecutor = PortalExecutorManagerUtil.getPortalExecutor(
+				CounterFinderImpl.class.getName());
+		}
+
+		return _prefetchExecutor;
+	}
+
 	protected int getRangeSize(String name) {
 		if (name.equals(_NAME)) {
 			return PropsValues.COUNTER_INCREMENT;
@@ -313,6 +362,80 @@ public class CounterFinderImpl
 		return rangeSize.intValue();
 	}
 
+	protected CounterHolder obtainIncrement(
+			String counterName, long range, long size)
+		throws SystemException {
+
+		Session session = null;
+
+		try {
+			session = openSession();
+
+			Counter counter = (Counter)session.get(
+				CounterImpl.class, counterName, LockMode.UPGRADE);
+
+			long newValue = counter.getCurrentId();
+
+			if (size > newValue) {
+				newValue = size;
+			}
+
+			long rangeMax = newValue + range;
+
+			counter.setCurrentId(rangeMax);
+
+			long prefetchValue = newValue + range * _prefetchThreshold / 100;
+
+			CounterHolder counterHolder = new CounterHolder(
+				newValue, rangeMax, prefetchValue);
+
+			session.saveOrUpdate(counter);
+
+			session.flush();
+
+			return counterHolder;
+		}
+		catch (Exception e) {
+			throw processException(e);
+		}
+		finally {
+			closeSession(session);
+		}
+	}
+
+	private void _adaptRangeSize(CounterRegister counterRegister) {
+		if (_adaptiveRangeInterval <= 0) {
+			return;
+		}
+
+		// Counters configured with an increment of 1 are expected to stay
+		// gap free, never adapt them
+
+		int baseRangeSize = counterRegister.getBaseRangeSize();
+
+		if (baseRangeSize <= 1) {
+			return;
+		}
+
+		long elapsedTime =
+			System.currentTimeMillis() - counterRegister.getRangeTimestamp();
+
+		int rangeSize = counterRegister.getRangeSize();
+
+		if ((elapsedTime < (_adaptiveRangeInterval / 2)) &&
+			(rangeSize < _adaptiveRangeMax)) {
+
+			rangeSize = (int)Math.min(rangeSize * 2L, _adaptiveRangeMax);
+		}
+		else if ((elapsedTime > (_adaptiveRangeInterval * 2)) &&
+				 (rangeSize > baseRangeSize)) {
+
+			rangeSize = Math.max(rangeSize / 2, baseRangeSize);
+		}
+
+		counterRegister.setRangeSize(rangeSize);
+	}
+
 	private long _competeIncrement(CounterRegister counterRegister, int size)
 		throws SystemException {
 
@@ -323,6 +446,12 @@ public class CounterFinderImpl
 		long newValue = counterHolder.addAndGet(size);
 
 		if (newValue <= counterHolder.getRangeMax()) {
+			if (_prefetchEnabled &&
+				(newValue >= counterHolder.getPrefetchValue())) {
+
+				_prefetch(counterRegister, counterHolder);
+			}
+
 			return newValue;
 		}
 
@@ -356,9 +485,16 @@ public class CounterFinderImpl
 			newValue = counterHolder.addAndGet(size);
 
 			if (newValue > counterHolder.getRangeMax()) {
-				CounterHolder newCounterHolder = _obtainIncrement(
-					counterRegister.getName(), counterRegister.getRangeSize(),
-					0);
+				_adaptRangeSize(counterRegister);
+
+				CounterHolder newCounterHolder = _takePrefetchedCounterHolder(
+					counterRegister);
+
+				if (newCounterHolder == null) {
+					newCounterHolder = obtainIncrement(
+						counterRegister.getName(),
+						counterRegister.getRangeSize(), 0);
+				}
 
 				newValue = newCounterHolder.addAndGet(size);
 
@@ -378,41 +514,110 @@ public class CounterFinderImpl
 		return newValue;
 	}
 
-	private CounterHolder _obtainIncrement(
-			String counterName, long range, long size)
+	private void _prefetch(
+		final CounterRegister counterRegister, CounterHolder counterHolder) {
+
+		if ((counterRegister.getPrefetchFutureTask() != null) ||
+			(counterRegister.getCounterHolder() != counterHolder)) {
+
+			return;
+		}
+
+		FutureTask<CounterHolder> futureTask = new FutureTask<CounterHolder>(
+			new Callable<CounterHolder>() {
+
+				@Override
+				public CounterHolder call() throws SystemException {
+					return _prefetchIncrement(counterRegister);
+				}
+
+			});
+
+		if (!counterRegister.compareAndSetPrefetchFutureTask(
+				null, futureTask)) {
+
+			return;
+		}
+
+		try {
+			Executor executor = getPrefetchExecutor();
+
+			executor.execute(futureTask);
+		}
+		catch (Exception e) {
+			counterRegister.compareAndSetPrefetchFutureTask(futureTask, null);
+
+			if (_log.isWarnEnabled()) {
+				_log.warn(
+					"Unable to prefetch range for counter " +
+						counterRegister.getName(),
+					e);
+			}
+		}
+	}
+
+	private CounterHolder _prefetchIncrement(CounterRegister counterRegister)
 		throws SystemException {
 
-		Session session = null;
+		if (_platformTransactionManager == null) {
+			return obtainIncrement(
+				counterRegister.getName(), counterRegister.getRangeSize(), 0);
+		}
+
+		// The prefetch thread is outside of the counter service transaction,
+		// start one so the row lock is held until the new range is written
+
+		TransactionStatus transactionStatus =
+			_platformTransactionManager.getTransaction(
+				_prefetchTransactionDefinition);
+
+		CounterHolder counterHolder = null;
 
 		try {
-			session = openSession();
+			counterHolder = obtainIncrement(
+				counterRegister.getName(), counterRegister.getRangeSize(), 0);
+		}
+		catch (SystemException se) {
+			_platformTransactionManager.rollback(transactionStatus);
 
-			Counter counter = (Counter)session.get(
-				CounterImpl.class, counterName, LockMode.UPGRADE);
+			throw se;
+		}
 
-			long newValue = counter.getCurrentId();
+		_platformTransactionManager.commit(transactionStatus);
 
-			if (size > newValue) {
-				newValue = size;
-			}
+		return counterHolder;
+	}
 
-			long rangeMax = newValue + range;
+	private CounterHolder _takePrefetchedCounterHolder(
+			CounterRegister counterRegister)
+		throws InterruptedException {
 
-			counter.setCurrentId(rangeMax);
+		FutureTask<CounterHolder> futureTask =
+			counterRegister.getPrefetchFutureTask();
 
-			CounterHolder counterHolder = new CounterHolder(newValue, rangeMax);
+		if (futureTask == null) {
+			return null;
+		}
 
-			session.saveOrUpdate(counter);
+		try {
 
-			session.flush();
+			// A pending prefetch already holds the row lock, waiting for it is
+			// cheaper than reserving another range
 
-			return counterHolder;
+			return futureTask.get();
 		}
-		catch (Exception e) {
-			throw processException(e);
+		catch (ExecutionException ee) {
+			if (_log.isWarnEnabled()) {
+				_log.warn(
+					"Unable to prefetch range for counter " +
+						counterRegister.getName(),
+					ee.getCause());
+			}
+
+			return null;
 		}
 		finally {
-			closeSession(session);
+			counterRegister.compareAndSetPrefetchFutureTask(futureTask, null);
 		}
 	}
 
@@ -434,8 +639,20 @@ public class CounterFinderImpl
 	private static final String _SQL_UPDATE_NAME_BY_NAME =
 		"update Counter set name = ? where name = ?";
 
+	private static Log _log = LogFactoryUtil.getLog(CounterFinderImpl.class);
+
+	private static TransactionDefinition _prefetchTransactionDefinition =
+		new DefaultTransactionDefinition(
+			TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+	private long _adaptiveRangeInterval;
+	private int _adaptiveRangeMax = Integer.MAX_VALUE;
 	private Map<String, CounterRegister> _counterRegisterMap =
 		new ConcurrentHashMap<String, CounterRegister>();
+	private PlatformTransactionManager _platformTransactionManager;
+	private boolean _prefetchEnabled;
+	private Executor _prefetchExecutor;
+	private int _prefetchThreshold = 50;
 	private Map<String, Integer> _rangeSizeMap =
 		new ConcurrentHashMap<String, Integer>();
 
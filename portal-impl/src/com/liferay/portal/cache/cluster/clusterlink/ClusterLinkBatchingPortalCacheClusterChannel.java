@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.cache.cluster.clusterlink;
+
+import com.liferay.portal.kernel.cache.cluster.BaseBatchingPortalCacheClusterChannel;
+import com.liferay.portal.kernel.cache.cluster.PortalCacheClusterEvent;
+import com.liferay.portal.kernel.cache.cluster.PortalCacheClusterEventBatchUtil;
+import com.liferay.portal.kernel.cache.cluster.PortalCacheClusterRegionStatistics;
+import com.liferay.portal.kernel.cache.cluster.PortalCacheClusterStatisticsUtil;
+import com.liferay.portal.kernel.cluster.ClusterLinkUtil;
+import com.liferay.portal.kernel.cluster.Priority;
+import com.liferay.portal.kernel.messaging.Message;
+
+import java.util.List;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class ClusterLinkBatchingPortalCacheClusterChannel
+	extends BaseBatchingPortalCacheClusterChannel {
+
+	public ClusterLinkBatchingPortalCacheClusterChannel(
+		String destinationName, Priority priority, int batchSize,
+		long batchWindow, int compressionThreshold) {
+
+		super(batchSize, batchWindow);
+
+		_destinationName = destinationName;
+		_priority = priority;
+		_compressionThreshold = compressionThreshold;
+	}
+
+	@Override
+	public void dispatchEvents(
+		String cacheName,
+		List<PortalCacheClusterEvent> portalCacheClusterEvents) {
+
+		byte[] frame = PortalCacheClusterEventBatchUtil.encode(
+			cacheName, portalCacheClusterEvents, _compressionThreshold);
+
+		Message message = new Message();
+
+		message.setDestinationName(_destinationName);
+		message.setPayload(frame);
+
+		ClusterLinkUtil.sendMulticastMessage(message, _priority);
+
+		PortalCacheClusterRegionStatistics portalCacheClusterRegionStatistics =
+			PortalCacheClusterStatisticsUtil.getRegionStatistics(cacheName);
+
+		portalCacheClusterRegionStatistics.recordSent(
+			portalCacheClusterEvents.size(), frame.length);
+	}
+
+	private int _compressionThreshold;
+	private String _destinationName;
+	private Priority _priority;
+
+}
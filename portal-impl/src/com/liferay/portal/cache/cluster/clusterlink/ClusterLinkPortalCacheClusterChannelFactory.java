@@ -18,6 +18,7 @@ import com.liferay.portal.kernel.cache.cluster.PortalCacheClusterChannel;
 import com.liferay.portal.kernel.cache.cluster.PortalCacheClusterChannelFactory;
 import com.liferay.portal.kernel.cache.cluster.PortalCacheClusterException;
 import com.liferay.portal.kernel.cluster.Priority;
+import com.liferay.portal.util.PropsValues;
 
 import java.util.Collections;
 import java.util.List;
@@ -40,8 +41,19 @@ public class ClusterLinkPortalCacheClusterChannelFactory
 				"Cannot create more than " + _priorities.size() + " channels");
 		}
 
+		Priority priority = _priorities.get(count);
+
+		if (PropsValues.EHCACHE_CLUSTER_LINK_REPLICATION_BATCH_ENABLED) {
+			return new ClusterLinkBatchingPortalCacheClusterChannel(
+				_destinationName, priority,
+				PropsValues.EHCACHE_CLUSTER_LINK_REPLICATION_BATCH_SIZE,
+				PropsValues.EHCACHE_CLUSTER_LINK_REPLICATION_BATCH_WINDOW,
+				PropsValues.
+					EHCACHE_CLUSTER_LINK_REPLICATION_COMPRESSION_THRESHOLD);
+		}
+
 		return new ClusterLinkPortalCacheClusterChannel(
-			_destinationName, _priorities.get(count));
+			_destinationName, priority);
 	}
 
 	public void setDestinationName(String destinationName) {
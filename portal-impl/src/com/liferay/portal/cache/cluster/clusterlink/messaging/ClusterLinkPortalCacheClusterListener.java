@@ -19,7 +19,10 @@ import com.liferay.portal.dao.orm.hibernate.region.LiferayEhcacheRegionFactory;
 import com.liferay.portal.dao.orm.hibernate.region.SingletonLiferayEhcacheRegionFactory;
 import com.liferay.portal.kernel.bean.PortalBeanLocatorUtil;
 import com.liferay.portal.kernel.cache.cluster.PortalCacheClusterEvent;
+import com.liferay.portal.kernel.cache.cluster.PortalCacheClusterEventBatchUtil;
 import com.liferay.portal.kernel.cache.cluster.PortalCacheClusterEventType;
+import com.liferay.portal.kernel.cache.cluster.PortalCacheClusterRegionStatistics;
+import com.liferay.portal.kernel.cache.cluster.PortalCacheClusterStatisticsUtil;
 import com.liferay.portal.kernel.log.Log;
 import com.liferay.portal.kernel.log.LogFactoryUtil;
 import com.liferay.portal.kernel.messaging.BaseMessageListener;
@@ -27,6 +30,8 @@ import com.liferay.portal.kernel.messaging.Message;
 
 import java.io.Serializable;
 
+import java.util.List;
+
 import net.sf.ehcache.CacheManager;
 import net.sf.ehcache.Ehcache;
 import net.sf.ehcache.Element;
@@ -51,8 +56,40 @@ public class ClusterLinkPortalCacheClusterListener extends BaseMessageListener {
 
 	@Override
 	protected void doReceive(Message message) throws Exception {
+		Object payload = message.getPayload();
+
+		if (payload instanceof byte[]) {
+			byte[] frame = (byte[])payload;
+
+			List<PortalCacheClusterEvent> portalCacheClusterEvents =
+				PortalCacheClusterEventBatchUtil.decode(frame);
+
+			if (portalCacheClusterEvents.isEmpty()) {
+				return;
+			}
+
+			PortalCacheClusterEvent firstPortalCacheClusterEvent =
+				portalCacheClusterEvents.get(0);
+
+			PortalCacheClusterRegionStatistics
+				portalCacheClusterRegionStatistics =
+					PortalCacheClusterStatisticsUtil.getRegionStatistics(
+						firstPortalCacheClusterEvent.getCacheName());
+
+			portalCacheClusterRegionStatistics.recordReceived(
+				portalCacheClusterEvents.size(), frame.length);
+
+			for (PortalCacheClusterEvent portalCacheClusterEvent :
+					portalCacheClusterEvents) {
+
+				handlePortalCacheClusterEvent(portalCacheClusterEvent);
+			}
+
+			return;
+		}
+
 		PortalCacheClusterEvent portalCacheClusterEvent =
-			(PortalCacheClusterEvent)message.getPayload();
+			(PortalCacheClusterEvent)payload;
 
 		if (portalCacheClusterEvent == null) {
 			if (_log.isWarnEnabled()) {
@@ -62,6 +99,12 @@ public class ClusterLinkPortalCacheClusterListener extends BaseMessageListener {
 			return;
 		}
 
+		handlePortalCacheClusterEvent(portalCacheClusterEvent);
+	}
+
+	protected void handlePortalCacheClusterEvent(
+		PortalCacheClusterEvent portalCacheClusterEvent) {
+
 		String cacheName = portalCacheClusterEvent.getCacheName();
 
 		Ehcache ehcache = _portalCacheManager.getEhcache(cacheName);
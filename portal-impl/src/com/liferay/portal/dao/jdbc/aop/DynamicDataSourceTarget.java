@@ -0,0 +1,210 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.dao.jdbc.aop;
+
+import com.liferay.portal.kernel.concurrent.AtomicHistogram;
+import com.liferay.portal.kernel.util.ProxyUtil;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.sql.DataSource;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+/**
+ * <p>
+ * Wraps one of the data sources routed by {@link
+ * DynamicDataSourceTargetSource}. The wrapper tracks how many of its
+ * connections are outstanding, which drives least outstanding requests
+ * balancing, and records how long connections take to acquire and how long
+ * they are held.
+ * </p>
+ *
+ * @author Shuyang Zhou
+ */
+public class DynamicDataSourceTarget extends DelegatingDataSource {
+
+	public DynamicDataSourceTarget(String name, DataSource dataSource) {
+		super(dataSource);
+
+		_name = name;
+	}
+
+	public AtomicHistogram getAcquireTimeHistogram() {
+		return _acquireTimeHistogram;
+	}
+
+	@Override
+	public Connection getConnection() throws SQLException {
+		_outstandingCount.incrementAndGet();
+
+		boolean acquired = false;
+
+		try {
+			long startTime = System.nanoTime();
+
+			Connection connection = super.getConnection();
+
+			_acquireTimeHistogram.record(
+				_toMicros(System.nanoTime() - startTime));
+
+			acquired = true;
+
+			return _wrapConnection(connection);
+		}
+		finally {
+			if (!acquired) {
+				_outstandingCount.decrementAndGet();
+			}
+		}
+	}
+
+	@Override
+	public Connection getConnection(String username, String password)
+		throws SQLException {
+
+		_outstandingCount.incrementAndGet();
+
+		boolean acquired = false;
+
+		try {
+			long startTime = System.nanoTime();
+
+			Connection connection = super.getConnection(username, password);
+
+			_acquireTimeHistogram.record(
+				_toMicros(System.nanoTime() - startTime));
+
+			acquired = true;
+
+			return _wrapConnection(connection);
+		}
+		finally {
+			if (!acquired) {
+				_outstandingCount.decrementAndGet();
+			}
+		}
+	}
+
+	public AtomicHistogram getHoldTimeHistogram() {
+		return _holdTimeHistogram;
+	}
+
+	/**
+	 * Returns the replication lag in seconds seen by the last lag check, or
+	 * <code>-1</code> if the lag is unknown.
+	 */
+	public long getLag() {
+		return _lag;
+	}
+
+	public String getName() {
+		return _name;
+	}
+
+	public int getOutstandingCount() {
+		return _outstandingCount.get();
+	}
+
+	public boolean isLagging() {
+		return _lagging;
+	}
+
+	public void setLag(long lag, boolean lagging) {
+		_lag = lag;
+		_lagging = lagging;
+	}
+
+	@Override
+	public String toString() {
+		return _name;
+	}
+
+	private long _toMicros(long nanos) {
+		return TimeUnit.NANOSECONDS.toMicros(nanos);
+	}
+
+	private Connection _wrapConnection(Connection connection) {
+		return (Connection)ProxyUtil.newProxyInstance(
+			DynamicDataSourceTarget.class.getClassLoader(),
+			new Class<?>[] {Connection.class},
+			new ConnectionInvocationHandler(connection));
+	}
+
+	private final AtomicHistogram _acquireTimeHistogram = new AtomicHistogram();
+	private final AtomicHistogram _holdTimeHistogram = new AtomicHistogram();
+	private volatile long _lag = -1;
+	private volatile boolean _lagging;
+	private final String _name;
+	private final AtomicInteger _outstandingCount = new AtomicInteger();
+
+	private class ConnectionInvocationHandler implements InvocationHandler {
+
+		public ConnectionInvocationHandler(Connection connection) {
+			_connection = connection;
+		}
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args)
+			throws Throwable {
+
+			String methodName = method.getName();
+
+			if (methodName.equals("close")) {
+				_release();
+			}
+			else if (methodName.equals("equals")) {
+				return proxy == args[0];
+			}
+			else if (methodName.equals("hashCode")) {
+				return System.identityHashCode(proxy);
+			}
+
+			try {
+				return method.invoke(_connection, args);
+			}
+			catch (InvocationTargetException ite) {
+				throw ite.getTargetException();
+			}
+		}
+
+		private void _release() {
+			if (_closed) {
+				return;
+			}
+
+			_closed = true;
+
+			_outstandingCount.decrementAndGet();
+
+			_holdTimeHistogram.record(
+				_toMicros(System.nanoTime() - _openTime));
+		}
+
+		private boolean _closed;
+		private final Connection _connection;
+		private final long _openTime = System.nanoTime();
+
+	}
+
+}
@@ -16,18 +16,77 @@ package com.liferay.portal.dao.jdbc.aop;
 
 import com.liferay.portal.kernel.log.Log;
 import com.liferay.portal.kernel.log.LogFactoryUtil;
-
+import com.liferay.portal.kernel.util.NamedThreadFactory;
+import com.liferay.portal.security.auth.PrincipalThreadLocal;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Stack;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.sql.DataSource;
 
 import org.springframework.aop.TargetSource;
 
 /**
+ * <p>
+ * Routes writes to the write data source and spreads reads over the read data
+ * sources through a {@link ReadDataSourceSelector}. The default selector sends
+ * each read to the replica with the fewest outstanding connections.
+ * </p>
+ *
+ * <p>
+ * For read your writes consistency, reads are sent to the write data source
+ * for the read your writes window after a write by the same thread or the same
+ * user. When a replica lag check interval is set, a {@link ReplicaLagChecker}
+ * periodically removes lagging replicas from rotation. When no replica can
+ * serve a read, the read falls back to the write data source.
+ * </p>
+ *
  * @author Michael Young
  */
 public class DynamicDataSourceTargetSource implements TargetSource {
 
+	public void afterPropertiesSet() {
+		if ((_replicaLagCheckInterval <= 0) ||
+			_readDynamicDataSourceTargets.isEmpty()) {
+
+			return;
+		}
+
+		_scheduledExecutorService = Executors.newSingleThreadScheduledExecutor(
+			new NamedThreadFactory(
+				DynamicDataSourceTargetSource.class.getName(),
+				Thread.NORM_PRIORITY, null));
+
+		_scheduledExecutorService.scheduleWithFixedDelay(
+			new ReplicaLagChecker(
+				_readDynamicDataSourceTargets, _replicaLagCheckSQL,
+				_replicaLagMax),
+			0, _replicaLagCheckInterval, TimeUnit.SECONDS);
+	}
+
+	public void destroy() {
+		if (_scheduledExecutorService != null) {
+			_scheduledExecutorService.shutdownNow();
+		}
+	}
+
+	/**
+	 * Returns the number of reads sent to the write data source because no
+	 * read data source could serve them.
+	 */
+	public long getFallbackReadCount() {
+		return _fallbackReadCount.get();
+	}
+
 	public Stack<String> getMethodStack() {
 		Stack<String> methodStack = _methodStack.get();
 
@@ -52,23 +111,47 @@ public class DynamicDataSourceTargetSource implements TargetSource {
 		return operation;
 	}
 
+	public List<DynamicDataSourceTarget> getReadDynamicDataSourceTargets() {
+		return Collections.unmodifiableList(_readDynamicDataSourceTargets);
+	}
+
+	/**
+	 * Returns the number of reads sent to the write data source to honor read
+	 * your writes consistency.
+	 */
+	public long getReadYourWritesReadCount() {
+		return _readYourWritesReadCount.get();
+	}
+
+	public long getReplicaReadCount() {
+		return _replicaReadCount.get();
+	}
+
 	@Override
 	public Object getTarget() throws Exception {
 		Operation operationType = getOperation();
 
 		if (operationType == Operation.READ) {
-			if (_log.isTraceEnabled()) {
-				_log.trace("Returning read data source");
+			DynamicDataSourceTarget dynamicDataSourceTarget =
+				_getReadTarget();
+
+			if (dynamicDataSourceTarget != null) {
+				return _getDataSource(dynamicDataSourceTarget);
 			}
+		}
+		else {
+			_writeCount.incrementAndGet();
 
-			return _readDataSource;
+			if (inOperation()) {
+				_recordWrite();
+			}
 		}
 
 		if (_log.isTraceEnabled()) {
 			_log.trace("Returning write data source");
 		}
 
-		return _writeDataSource;
+		return _getDataSource(_writeDynamicDataSourceTarget);
 	}
 
 	@Override
@@ -76,6 +159,18 @@ public class DynamicDataSourceTargetSource implements TargetSource {
 		return DataSource.class;
 	}
 
+	public long getWriteCount() {
+		return _writeCount.get();
+	}
+
+	public DynamicDataSourceTarget getWriteDynamicDataSourceTarget() {
+		return _writeDynamicDataSourceTarget;
+	}
+
+	public boolean isInstrumented() {
+		return _instrumented;
+	}
+
 	@Override
 	public boolean isStatic() {
 		return false;
@@ -101,6 +196,16 @@ public class DynamicDataSourceTargetSource implements TargetSource {
 	public void releaseTarget(Object target) throws Exception {
 	}
 
+	/**
+	 * Sets whether targets are returned wrapped in their {@link
+	 * DynamicDataSourceTarget}. Only wrapped targets track outstanding
+	 * connections and acquire and hold times. Routing counters and replica
+	 * lag checks work either way.
+	 */
+	public void setInstrumented(boolean instrumented) {
+		_instrumented = instrumented;
+	}
+
 	public void setOperation(Operation operation) {
 		if (_log.isDebugEnabled()) {
 			_log.debug("Method stack " + getMethodStack());
@@ -112,11 +217,61 @@ public class DynamicDataSourceTargetSource implements TargetSource {
 	}
 
 	public void setReadDataSource(DataSource readDataSource) {
-		_readDataSource = readDataSource;
+		setReadDataSources(Collections.singletonList(readDataSource));
+	}
+
+	public void setReadDataSources(List<DataSource> readDataSources) {
+		List<DynamicDataSourceTarget> readDynamicDataSourceTargets =
+			new ArrayList<DynamicDataSourceTarget>(readDataSources.size());
+
+		for (int i = 0; i < readDataSources.size(); i++) {
+			readDynamicDataSourceTargets.add(
+				new DynamicDataSourceTarget(
+					"read-" + i, readDataSources.get(i)));
+		}
+
+		_readDynamicDataSourceTargets = readDynamicDataSourceTargets;
+	}
+
+	public void setReadDataSourceSelector(
+		ReadDataSourceSelector readDataSourceSelector) {
+
+		_readDataSourceSelector = readDataSourceSelector;
+	}
+
+	/**
+	 * Sets the time in milliseconds after a write during which reads by the
+	 * same thread or user are sent to the write data source. A value of
+	 * <code>0</code> disables read your writes routing.
+	 */
+	public void setReadYourWritesWindow(long readYourWritesWindow) {
+		_readYourWritesWindow = TimeUnit.MILLISECONDS.toNanos(
+			readYourWritesWindow);
+	}
+
+	/**
+	 * Sets the interval in seconds between replica lag checks. A value of
+	 * <code>0</code> disables the checks.
+	 */
+	public void setReplicaLagCheckInterval(long replicaLagCheckInterval) {
+		_replicaLagCheckInterval = replicaLagCheckInterval;
+	}
+
+	public void setReplicaLagCheckSQL(String replicaLagCheckSQL) {
+		_replicaLagCheckSQL = replicaLagCheckSQL;
+	}
+
+	/**
+	 * Sets the maximum replication lag in seconds for a replica to stay in
+	 * rotation.
+	 */
+	public void setReplicaLagMax(long replicaLagMax) {
+		_replicaLagMax = replicaLagMax;
 	}
 
 	public void setWriteDataSource(DataSource writeDataSource) {
-		_writeDataSource = writeDataSource;
+		_writeDynamicDataSourceTarget = new DynamicDataSourceTarget(
+			"write", writeDataSource);
 	}
 
 	protected boolean inOperation() {
@@ -125,15 +280,141 @@ public class DynamicDataSourceTargetSource implements TargetSource {
 		return !methodStack.empty();
 	}
 
+	private DataSource _getDataSource(
+		DynamicDataSourceTarget dynamicDataSourceTarget) {
+
+		if (_instrumented) {
+			return dynamicDataSourceTarget;
+		}
+
+		return dynamicDataSourceTarget.getTargetDataSource();
+	}
+
+	private DynamicDataSourceTarget _getReadTarget() {
+		if (_isReadYourWrites()) {
+			_readYourWritesReadCount.incrementAndGet();
+
+			if (_log.isTraceEnabled()) {
+				_log.trace("Returning write data source to read your writes");
+			}
+
+			return null;
+		}
+
+		DynamicDataSourceTarget dynamicDataSourceTarget =
+			_readDataSourceSelector.select(_readDynamicDataSourceTargets);
+
+		if (dynamicDataSourceTarget == null) {
+			_fallbackReadCount.incrementAndGet();
+
+			if (_log.isTraceEnabled()) {
+				_log.trace("No read data source is available");
+			}
+
+			return null;
+		}
+
+		_replicaReadCount.incrementAndGet();
+
+		if (_log.isTraceEnabled()) {
+			_log.trace(
+				"Returning read data source " + dynamicDataSourceTarget);
+		}
+
+		return dynamicDataSourceTarget;
+	}
+
+	private boolean _isReadYourWrites() {
+		if (_readYourWritesWindow <= 0) {
+			return false;
+		}
+
+		long now = System.nanoTime();
+
+		Long lastWriteTime = _lastWriteTime.get();
+
+		if ((lastWriteTime != null) &&
+			((now - lastWriteTime) < _readYourWritesWindow)) {
+
+			return true;
+		}
+
+		long userId = PrincipalThreadLocal.getUserId();
+
+		if (userId <= 0) {
+			return false;
+		}
+
+		lastWriteTime = _lastWriteTimes.get(userId);
+
+		if ((lastWriteTime != null) &&
+			((now - lastWriteTime) < _readYourWritesWindow)) {
+
+			return true;
+		}
+
+		return false;
+	}
+
+	private void _recordWrite() {
+		if (_readYourWritesWindow <= 0) {
+			return;
+		}
+
+		long now = System.nanoTime();
+
+		_lastWriteTime.set(now);
+
+		long userId = PrincipalThreadLocal.getUserId();
+
+		if (userId <= 0) {
+			return;
+		}
+
+		_lastWriteTimes.put(userId, now);
+
+		if (_lastWriteTimes.size() <= _LAST_WRITE_TIMES_MAX_SIZE) {
+			return;
+		}
+
+		Iterator<Long> iterator = _lastWriteTimes.values().iterator();
+
+		while (iterator.hasNext()) {
+			long lastWriteTime = iterator.next();
+
+			if ((now - lastWriteTime) >= _readYourWritesWindow) {
+				iterator.remove();
+			}
+		}
+	}
+
+	private static final int _LAST_WRITE_TIMES_MAX_SIZE = 1024;
+
 	private static Log _log = LogFactoryUtil.getLog(
 		DynamicDataSourceTargetSource.class);
 
+	private static ThreadLocal<Long> _lastWriteTime = new ThreadLocal<Long>();
 	private static ThreadLocal<Stack<String>> _methodStack =
 		new ThreadLocal<Stack<String>>();
 	private static ThreadLocal<Operation> _operationType =
 		new ThreadLocal<Operation>();
 
-	private DataSource _readDataSource;
-	private DataSource _writeDataSource;
-
-}
\ No newline at end of file
+	private final AtomicLong _fallbackReadCount = new AtomicLong();
+	private boolean _instrumented;
+	private final Map<Long, Long> _lastWriteTimes =
+		new ConcurrentHashMap<Long, Long>();
+	private ReadDataSourceSelector _readDataSourceSelector =
+		new LeastOutstandingReadDataSourceSelector();
+	private List<DynamicDataSourceTarget> _readDynamicDataSourceTargets =
+		Collections.emptyList();
+	private final AtomicLong _readYourWritesReadCount = new AtomicLong();
+	private long _readYourWritesWindow;
+	private long _replicaLagCheckInterval;
+	private String _replicaLagCheckSQL;
+	private long _replicaLagMax;
+	private final AtomicLong _replicaReadCount = new AtomicLong();
+	private ScheduledExecutorService _scheduledExecutorService;
+	private final AtomicLong _writeCount = new AtomicLong();
+	private DynamicDataSourceTarget _writeDynamicDataSourceTarget;
+
+}
@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.dao.jdbc.aop;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Selects the target with the fewest outstanding connections, skipping
+ * lagging targets. Ties are broken by rotating the starting target so that
+ * idle replicas share the load evenly.
+ *
+ * @author Shuyang Zhou
+ */
+public class LeastOutstandingReadDataSourceSelector
+	implements ReadDataSourceSelector {
+
+	@Override
+	public DynamicDataSourceTarget select(
+		List<DynamicDataSourceTarget> dynamicDataSourceTargets) {
+
+		int size = dynamicDataSourceTargets.size();
+
+		if (size == 0) {
+			return null;
+		}
+
+		int offset = (_counter.getAndIncrement() & Integer.MAX_VALUE) % size;
+
+		DynamicDataSourceTarget selectedDynamicDataSourceTarget = null;
+		int selectedOutstandingCount = Integer.MAX_VALUE;
+
+		for (int i = 0; i < size; i++) {
+			DynamicDataSourceTarget dynamicDataSourceTarget =
+				dynamicDataSourceTargets.get((offset + i) % size);
+
+			if (dynamicDataSourceTarget.isLagging()) {
+				continue;
+			}
+
+			int outstandingCount =
+				dynamicDataSourceTarget.getOutstandingCount();
+
+			if (outstandingCount < selectedOutstandingCount) {
+				selectedDynamicDataSourceTarget = dynamicDataSourceTarget;
+				selectedOutstandingCount = outstandingCount;
+
+				if (outstandingCount == 0) {
+					break;
+				}
+			}
+		}
+
+		return selectedDynamicDataSourceTarget;
+	}
+
+	private final AtomicInteger _counter = new AtomicInteger();
+
+}
@@ -0,0 +1,163 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.dao.jdbc.aop;
+
+import com.liferay.portal.kernel.dao.jdbc.DataAccess;
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+import java.util.List;
+
+import javax.sql.DataSource;
+
+/**
+ * <p>
+ * Measures the replication lag of each read target and marks targets whose
+ * lag exceeds the maximum lag as lagging, which takes them out of rotation
+ * until they catch up.
+ * </p>
+ *
+ * <p>
+ * The lag query must return the lag in seconds. If the result has a
+ * <code>Seconds_Behind_Master</code> column, as the result of MySQL's
+ * <code>SHOW SLAVE STATUS</code> does, that column is used. Otherwise, the
+ * first column is used. A query that returns no rows means the target is not
+ * replicating and has no lag. A <code>NULL</code> lag or a failing query means
+ * replication is broken, so the target is marked as lagging.
+ * </p>
+ *
+ * @author Shuyang Zhou
+ */
+public class ReplicaLagChecker implements Runnable {
+
+	public ReplicaLagChecker(
+		List<DynamicDataSourceTarget> dynamicDataSourceTargets, String sql,
+		long maxLag) {
+
+		_dynamicDataSourceTargets = dynamicDataSourceTargets;
+		_sql = sql;
+		_maxLag = maxLag;
+	}
+
+	@Override
+	public void run() {
+		for (DynamicDataSourceTarget dynamicDataSourceTarget :
+				_dynamicDataSourceTargets) {
+
+			long lag = -1;
+
+			try {
+				lag = getLag(dynamicDataSourceTarget);
+			}
+			catch (SQLException sqle) {
+				if (_log.isWarnEnabled()) {
+					_log.warn(
+						"Unable to check the replication lag of " +
+							dynamicDataSourceTarget,
+						sqle);
+				}
+			}
+
+			boolean lagging = false;
+
+			if ((lag < 0) || (lag > _maxLag)) {
+				lagging = true;
+			}
+
+			if (lagging != dynamicDataSourceTarget.isLagging()) {
+				if (lagging) {
+					if (_log.isWarnEnabled()) {
+						_log.warn(
+							"Removing " + dynamicDataSourceTarget +
+								" from rotation with a replication lag of " +
+									lag + " seconds");
+					}
+				}
+				else if (_log.isInfoEnabled()) {
+					_log.info(
+						"Returning " + dynamicDataSourceTarget +
+							" to rotation with a replication lag of " + lag +
+								" seconds");
+				}
+			}
+
+			dynamicDataSourceTarget.setLag(lag, lagging);
+		}
+	}
+
+	protected long getLag(DynamicDataSourceTarget dynamicDataSourceTarget)
+		throws SQLException {
+
+		Connection con = null;
+		Statement s = null;
+		ResultSet rs = null;
+
+		try {
+			DataSource dataSource =
+				dynamicDataSourceTarget.getTargetDataSource();
+
+			con = dataSource.getConnection();
+
+			s = con.createStatement();
+
+			rs = s.executeQuery(_sql);
+
+			if (!rs.next()) {
+				return 0;
+			}
+
+			int columnIndex = 1;
+
+			ResultSetMetaData resultSetMetaData = rs.getMetaData();
+
+			for (int i = 1; i <= resultSetMetaData.getColumnCount(); i++) {
+				String columnLabel = resultSetMetaData.getColumnLabel(i);
+
+				if (columnLabel.equalsIgnoreCase(_SECONDS_BEHIND_MASTER)) {
+					columnIndex = i;
+
+					break;
+				}
+			}
+
+			long lag = rs.getLong(columnIndex);
+
+			if (rs.wasNull()) {
+				return -1;
+			}
+
+			return lag;
+		}
+		finally {
+			DataAccess.cleanUp(con, s, rs);
+		}
+	}
+
+	private static final String _SECONDS_BEHIND_MASTER =
+		"Seconds_Behind_Master";
+
+	private static Log _log = LogFactoryUtil.getLog(ReplicaLagChecker.class);
+
+	private final List<DynamicDataSourceTarget> _dynamicDataSourceTargets;
+	private final long _maxLag;
+	private final String _sql;
+
+}
@@ -0,0 +1,218 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.dao.jdbc.aop.jmx;
+
+import com.liferay.portal.dao.jdbc.aop.DynamicDataSourceTarget;
+import com.liferay.portal.dao.jdbc.aop.DynamicDataSourceTargetSource;
+import com.liferay.portal.kernel.concurrent.AtomicHistogram;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Exposes the routing counters of a {@link DynamicDataSourceTargetSource} and
+ * the connection metrics of its data sources. Data sources are identified by
+ * their names, <code>write</code> and <code>read-0</code> through
+ * <code>read-n</code>. Times are reported in microseconds.
+ *
+ * @author Shuyang Zhou
+ */
+public class DynamicDataSourceManager implements DynamicDataSourceManagerMBean {
+
+	public DynamicDataSourceManager(
+		DynamicDataSourceTargetSource dynamicDataSourceTargetSource) {
+
+		_dynamicDataSourceTargetSource = dynamicDataSourceTargetSource;
+	}
+
+	@Override
+	public long getAcquireTimeMax(String dataSourceName) {
+		AtomicHistogram atomicHistogram = _getAcquireTimeHistogram(
+			dataSourceName);
+
+		return atomicHistogram.getMax();
+	}
+
+	@Override
+	public double getAcquireTimeMean(String dataSourceName) {
+		AtomicHistogram atomicHistogram = _getAcquireTimeHistogram(
+			dataSourceName);
+
+		return atomicHistogram.getMean();
+	}
+
+	@Override
+	public long getAcquireTimePercentile(
+		String dataSourceName, double percentile) {
+
+		AtomicHistogram atomicHistogram = _getAcquireTimeHistogram(
+			dataSourceName);
+
+		return atomicHistogram.getPercentile(percentile);
+	}
+
+	@Override
+	public String[] getDataSourceNames() {
+		List<DynamicDataSourceTarget> dynamicDataSourceTargets =
+			_getDynamicDataSourceTargets();
+
+		String[] dataSourceNames = new String[dynamicDataSourceTargets.size()];
+
+		for (int i = 0; i < dataSourceNames.length; i++) {
+			DynamicDataSourceTarget dynamicDataSourceTarget =
+				dynamicDataSourceTargets.get(i);
+
+			dataSourceNames[i] = dynamicDataSourceTarget.getName();
+		}
+
+		return dataSourceNames;
+	}
+
+	@Override
+	public long getFallbackReadCount() {
+		return _dynamicDataSourceTargetSource.getFallbackReadCount();
+	}
+
+	@Override
+	public long getHoldTimeMax(String dataSourceName) {
+		AtomicHistogram atomicHistogram = _getHoldTimeHistogram(
+			dataSourceName);
+
+		return atomicHistogram.getMax();
+	}
+
+	@Override
+	public double getHoldTimeMean(String dataSourceName) {
+		AtomicHistogram atomicHistogram = _getHoldTimeHistogram(
+			dataSourceName);
+
+		return atomicHistogram.getMean();
+	}
+
+	@Override
+	public long getHoldTimePercentile(
+		String dataSourceName, double percentile) {
+
+		AtomicHistogram atomicHistogram = _getHoldTimeHistogram(
+			dataSourceName);
+
+		return atomicHistogram.getPercentile(percentile);
+	}
+
+	@Override
+	public long getLag(String dataSourceName) {
+		DynamicDataSourceTarget dynamicDataSourceTarget =
+			_getDynamicDataSourceTarget(dataSourceName);
+
+		return dynamicDataSourceTarget.getLag();
+	}
+
+	@Override
+	public int getOutstandingCount(String dataSourceName) {
+		DynamicDataSourceTarget dynamicDataSourceTarget =
+			_getDynamicDataSourceTarget(dataSourceName);
+
+		return dynamicDataSourceTarget.getOutstandingCount();
+	}
+
+	@Override
+	public long getReadYourWritesReadCount() {
+		return _dynamicDataSourceTargetSource.getReadYourWritesReadCount();
+	}
+
+	@Override
+	public long getReplicaReadCount() {
+		return _dynamicDataSourceTargetSource.getReplicaReadCount();
+	}
+
+	@Override
+	public long getWriteCount() {
+		return _dynamicDataSourceTargetSource.getWriteCount();
+	}
+
+	@Override
+	public boolean isLagging(String dataSourceName) {
+		DynamicDataSourceTarget dynamicDataSourceTarget =
+			_getDynamicDataSourceTarget(dataSourceName);
+
+		return dynamicDataSourceTarget.isLagging();
+	}
+
+	@Override
+	public void resetTimeHistograms() {
+		for (DynamicDataSourceTarget dynamicDataSourceTarget :
+				_getDynamicDataSourceTargets()) {
+
+			AtomicHistogram acquireTimeHistogram =
+				dynamicDataSourceTarget.getAcquireTimeHistogram();
+
+			acquireTimeHistogram.reset();
+
+			AtomicHistogram holdTimeHistogram =
+				dynamicDataSourceTarget.getHoldTimeHistogram();
+
+			holdTimeHistogram.reset();
+		}
+	}
+
+	private AtomicHistogram _getAcquireTimeHistogram(String dataSourceName) {
+		DynamicDataSourceTarget dynamicDataSourceTarget =
+			_getDynamicDataSourceTarget(dataSourceName);
+
+		return dynamicDataSourceTarget.getAcquireTimeHistogram();
+	}
+
+	private DynamicDataSourceTarget _getDynamicDataSourceTarget(
+		String dataSourceName) {
+
+		for (DynamicDataSourceTarget dynamicDataSourceTarget :
+				_getDynamicDataSourceTargets()) {
+
+			if (dataSourceName.equals(dynamicDataSourceTarget.getName())) {
+				return dynamicDataSourceTarget;
+			}
+		}
+
+		throw new IllegalArgumentException(
+			"No data source exists with name " + dataSourceName);
+	}
+
+	private List<DynamicDataSourceTarget> _getDynamicDataSourceTargets() {
+		List<DynamicDataSourceTarget> dynamicDataSourceTargets =
+			new ArrayList<DynamicDataSourceTarget>();
+
+		DynamicDataSourceTarget writeDynamicDataSourceTarget =
+			_dynamicDataSourceTargetSource.getWriteDynamicDataSourceTarget();
+
+		if (writeDynamicDataSourceTarget != null) {
+			dynamicDataSourceTargets.add(writeDynamicDataSourceTarget);
+		}
+
+		dynamicDataSourceTargets.addAll(
+			_dynamicDataSourceTargetSource.getReadDynamicDataSourceTargets());
+
+		return dynamicDataSourceTargets;
+	}
+
+	private AtomicHistogram _getHoldTimeHistogram(String dataSourceName) {
+		DynamicDataSourceTarget dynamicDataSourceTarget =
+			_getDynamicDataSourceTarget(dataSourceName);
+
+		return dynamicDataSourceTarget.getHoldTimeHistogram();
+	}
+
+	private final DynamicDataSourceTargetSource _dynamicDataSourceTargetSource;
+
+}
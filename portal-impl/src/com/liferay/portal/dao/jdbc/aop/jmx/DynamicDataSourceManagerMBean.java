@@ -0,0 +1,53 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.dao.jdbc.aop.jmx;
+
+/**
+ * @author Shuyang Zhou
+ */
+public interface DynamicDataSourceManagerMBean {
+
+	public long getAcquireTimeMax(String dataSourceName);
+
+	public double getAcquireTimeMean(String dataSourceName);
+
+	public long getAcquireTimePercentile(
+		String dataSourceName, double percentile);
+
+	public String[] getDataSourceNames();
+
+	public long getFallbackReadCount();
+
+	public long getHoldTimeMax(String dataSourceName);
+
+	public double getHoldTimeMean(String dataSourceName);
+
+	public long getHoldTimePercentile(String dataSourceName, double percentile);
+
+	public long getLag(String dataSourceName);
+
+	public int getOutstandingCount(String dataSourceName);
+
+	public long getReadYourWritesReadCount();
+
+	public long getReplicaReadCount();
+
+	public long getWriteCount();
+
+	public boolean isLagging(String dataSourceName);
+
+	public void resetTimeHistograms();
+
+}
@@ -69,6 +69,10 @@ public class EntityCacheImpl
 		for (PortalCache<?, ?> portalCache : _portalCaches.values()) {
 			portalCache.removeAll();
 		}
+
+		if (_mappedCacheTier != null) {
+			_mappedCacheTier.removeAll();
+		}
 	}
 
 	@Override
@@ -80,6 +84,10 @@ public class EntityCacheImpl
 		if (portalCache != null) {
 			portalCache.removeAll();
 		}
+
+		if (_mappedCacheTier != null) {
+			_mappedCacheTier.removeAll(_GROUP_KEY_PREFIX.concat(className));
+		}
 	}
 
 	@Override
@@ -126,6 +134,10 @@ public class EntityCacheImpl
 
 			result = portalCache.get(cacheKey);
 
+			if (result == null) {
+				result = _getMappedResult(clazz, portalCache, cacheKey);
+			}
+
 			if (result == null) {
 				result = StringPool.BLANK;
 			}
@@ -187,6 +199,10 @@ public class EntityCacheImpl
 
 			result = portalCache.get(cacheKey);
 
+			if (result == null) {
+				result = _getMappedResult(clazz, portalCache, cacheKey);
+			}
+
 			if (result == null) {
 				if (_log.isDebugEnabled()) {
 					_log.debug(
@@ -206,6 +222,8 @@ public class EntityCacheImpl
 					}
 					else {
 						result = ((BaseModel<?>)loadResult).toCacheModel();
+
+						_putMappedResult(clazz, cacheKey, result);
 					}
 
 					portalCache.put(cacheKey, result);
@@ -255,6 +273,12 @@ public class EntityCacheImpl
 		Serializable cacheKey = _encodeCacheKey(primaryKey);
 
 		portalCache.put(cacheKey, result);
+
+		// Persistences also put every model they load here, so a put does not
+		// count as a modification. Their update and remove paths always clear
+		// finder results or remove the entity, which bumps the watermark.
+
+		_putMappedResult(clazz, cacheKey, result);
 	}
 
 	@Override
@@ -264,6 +288,10 @@ public class EntityCacheImpl
 		String groupKey = _GROUP_KEY_PREFIX.concat(className);
 
 		_multiVMPool.removeCache(groupKey);
+
+		if (_mappedCacheTier != null) {
+			_mappedCacheTier.removeAll(groupKey);
+		}
 	}
 
 	@Override
@@ -291,6 +319,11 @@ public class EntityCacheImpl
 		Serializable cacheKey = _encodeCacheKey(primaryKey);
 
 		portalCache.remove(cacheKey);
+
+		if (_mappedCacheTier != null) {
+			_mappedCacheTier.remove(
+				_GROUP_KEY_PREFIX.concat(clazz.getName()), cacheKey);
+		}
 	}
 
 	@Override
@@ -300,6 +333,10 @@ public class EntityCacheImpl
 		}
 	}
 
+	public void setMappedCacheTier(MappedCacheTier mappedCacheTier) {
+		_mappedCacheTier = mappedCacheTier;
+	}
+
 	public void setMultiVMPool(MultiVMPool multiVMPool) {
 		_multiVMPool = multiVMPool;
 	}
@@ -323,6 +360,26 @@ public class EntityCacheImpl
 		return new LocalCacheKey(clazz.getName(), primaryKey);
 	}
 
+	private Serializable _getMappedResult(
+		Class<?> clazz, PortalCache<Serializable, Serializable> portalCache,
+		Serializable cacheKey) {
+
+		if ((_mappedCacheTier == null) || !_mappedCacheTier.isWarmingUp() ||
+			!_mappedCacheTier.isCacheable(clazz)) {
+
+			return null;
+		}
+
+		Serializable result = _mappedCacheTier.get(
+			_GROUP_KEY_PREFIX.concat(clazz.getName()), cacheKey);
+
+		if (result != null) {
+			portalCache.put(cacheKey, result);
+		}
+
+		return result;
+	}
+
 	private PortalCache<Serializable, Serializable> _getPortalCache(
 		String className, boolean createIfAbsent) {
 
@@ -342,11 +399,23 @@ public class EntityCacheImpl
 			if (previousPortalCache != null) {
 				portalCache = previousPortalCache;
 			}
+			else if (_mappedCacheTier != null) {
+				_mappedCacheTier.registerPortalCache(portalCache);
+			}
 		}
 
 		return portalCache;
 	}
 
+	private void _putMappedResult(
+		Class<?> clazz, Serializable cacheKey, Serializable result) {
+
+		if ((_mappedCacheTier != null) && _mappedCacheTier.isCacheable(clazz)) {
+			_mappedCacheTier.put(
+				_GROUP_KEY_PREFIX.concat(clazz.getName()), cacheKey, result);
+		}
+	}
+
 	private Serializable _toEntityModel(Serializable result) {
 		if (result == StringPool.BLANK) {
 			return null;
@@ -380,6 +449,7 @@ public class EntityCacheImpl
 		}
 	}
 
+	private MappedCacheTier _mappedCacheTier;
 	private MultiVMPool _multiVMPool;
 	private ConcurrentMap<String, PortalCache<Serializable, Serializable>>
 		_portalCaches =
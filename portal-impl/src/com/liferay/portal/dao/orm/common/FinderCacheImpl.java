@@ -65,6 +65,10 @@ public class FinderCacheImpl
 		for (PortalCache<?, ?> portalCache : _portalCaches.values()) {
 			portalCache.removeAll();
 		}
+
+		if (_mappedCacheTier != null) {
+			_mappedCacheTier.removeAll();
+		}
 	}
 
 	@Override
@@ -76,6 +80,10 @@ public class FinderCacheImpl
 		if (portalCache != null) {
 			portalCache.removeAll();
 		}
+
+		if (_mappedCacheTier != null) {
+			_mappedCacheTier.removeAll(_GROUP_KEY_PREFIX.concat(className));
+		}
 	}
 
 	@Override
@@ -124,6 +132,11 @@ public class FinderCacheImpl
 
 			primaryKey = portalCache.get(cacheKey);
 
+			if (primaryKey == null) {
+				primaryKey = _getMappedResult(
+					finderPath, portalCache, cacheKey);
+			}
+
 			if (primaryKey != null) {
 				if (_localCacheAvailable) {
 					localCache.put(localCacheKey, primaryKey);
@@ -170,6 +183,14 @@ public class FinderCacheImpl
 		Serializable cacheKey = finderPath.encodeCacheKey(_shardEnabled, args);
 
 		portalCache.put(cacheKey, primaryKey);
+
+		if ((_mappedCacheTier != null) &&
+			_mappedCacheTier.isCacheable(finderPath.getResultClass())) {
+
+			_mappedCacheTier.put(
+				_GROUP_KEY_PREFIX.concat(finderPath.getCacheName()), cacheKey,
+				primaryKey);
+		}
 	}
 
 	@Override
@@ -179,6 +200,10 @@ public class FinderCacheImpl
 		String groupKey = _GROUP_KEY_PREFIX.concat(className);
 
 		_multiVMPool.removeCache(groupKey);
+
+		if (_mappedCacheTier != null) {
+			_mappedCacheTier.removeAll(groupKey);
+		}
 	}
 
 	@Override
@@ -205,6 +230,11 @@ public class FinderCacheImpl
 		Serializable cacheKey = finderPath.encodeCacheKey(_shardEnabled, args);
 
 		portalCache.remove(cacheKey);
+
+		if (_mappedCacheTier != null) {
+			_mappedCacheTier.remove(
+				_GROUP_KEY_PREFIX.concat(finderPath.getCacheName()), cacheKey);
+		}
 	}
 
 	@Override
@@ -214,10 +244,35 @@ public class FinderCacheImpl
 		}
 	}
 
+	public void setMappedCacheTier(MappedCacheTier mappedCacheTier) {
+		_mappedCacheTier = mappedCacheTier;
+	}
+
 	public void setMultiVMPool(MultiVMPool multiVMPool) {
 		_multiVMPool = multiVMPool;
 	}
 
+	private Serializable _getMappedResult(
+		FinderPath finderPath,
+		PortalCache<Serializable, Serializable> portalCache,
+		Serializable cacheKey) {
+
+		if ((_mappedCacheTier == null) || !_mappedCacheTier.isWarmingUp() ||
+			!_mappedCacheTier.isCacheable(finderPath.getResultClass())) {
+
+			return null;
+		}
+
+		Serializable primaryKey = _mappedCacheTier.get(
+			_GROUP_KEY_PREFIX.concat(finderPath.getCacheName()), cacheKey);
+
+		if (primaryKey != null) {
+			portalCache.put(cacheKey, primaryKey);
+		}
+
+		return primaryKey;
+	}
+
 	private PortalCache<Serializable, Serializable> _getPortalCache(
 		String className, boolean createIfAbsent) {
 
@@ -237,6 +292,9 @@ public class FinderCacheImpl
 			if (previousPortalCache != null) {
 				portalCache = previousPortalCache;
 			}
+			else if (_mappedCacheTier != null) {
+				_mappedCacheTier.registerPortalCache(portalCache);
+			}
 		}
 
 		return portalCache;
@@ -323,6 +381,7 @@ public class FinderCacheImpl
 		}
 	}
 
+	private MappedCacheTier _mappedCacheTier;
 	private MultiVMPool _multiVMPool;
 	private ConcurrentMap<String, PortalCache<Serializable, Serializable>>
 		_portalCaches =
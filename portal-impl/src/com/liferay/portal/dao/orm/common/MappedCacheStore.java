@@ -0,0 +1,727 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.dao.orm.common;
+
+import com.liferay.portal.kernel.io.Deserializer;
+import com.liferay.portal.kernel.io.Serializer;
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
+import com.liferay.portal.kernel.util.StringPool;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.Serializable;
+
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * <p>
+ * An off-heap cache store backed by a memory-mapped file. The file is laid
+ * out as a fixed size header, an open addressing table of slots and an
+ * append-only data region. Each slot holds the hash of a serialized key and
+ * the offset of its entry in the data region. When the slots fill up or the
+ * data region runs out, the store starts over from empty.
+ * </p>
+ *
+ * <p>
+ * The header records the schema version and modification watermark the
+ * entries were written against, and whether the store was closed cleanly. A
+ * store that is reopened with a different schema version or watermark, or
+ * that was not closed cleanly, is discarded.
+ * </p>
+ *
+ * @author Shuyang Zhou
+ */
+public class MappedCacheStore {
+
+	public MappedCacheStore(
+			File file, int slotCount, int dataCapacity, long schemaVersion,
+			long watermark)
+		throws IOException {
+
+		long size =
+			_HEADER_SIZE + (long)slotCount * _SLOT_SIZE + dataCapacity;
+
+		if (size > Integer.MAX_VALUE) {
+			throw new IllegalArgumentException(
+				"Mapped cache store size " + size + " exceeds " +
+					Integer.MAX_VALUE);
+		}
+
+		File parentFile = file.getParentFile();
+
+		if (parentFile != null) {
+			parentFile.mkdirs();
+		}
+
+		_randomAccessFile = new RandomAccessFile(file, "rw");
+
+		FileChannel fileChannel = _randomAccessFile.getChannel();
+
+		if (fileChannel.tryLock() == null) {
+			_randomAccessFile.close();
+
+			throw new IOException(file + " is locked by another process");
+		}
+
+		_mappedByteBuffer = fileChannel.map(
+			FileChannel.MapMode.READ_WRITE, 0, size);
+
+		_slotCount = slotCount;
+		_dataCapacity = dataCapacity;
+		_dataOffset = _HEADER_SIZE + slotCount * _SLOT_SIZE;
+
+		_recovered = _recover(schemaVersion, watermark);
+
+		if (!_recovered) {
+			_reset();
+		}
+
+		_mappedByteBuffer.putInt(_HEADER_MAGIC, _MAGIC);
+		_mappedByteBuffer.putInt(_HEADER_FORMAT_VERSION, _FORMAT_VERSION);
+		_mappedByteBuffer.putLong(_HEADER_SCHEMA_VERSION, schemaVersion);
+		_mappedByteBuffer.putInt(_HEADER_SLOT_COUNT, slotCount);
+		_mappedByteBuffer.putInt(_HEADER_DATA_CAPACITY, dataCapacity);
+
+		// Until the store is closed cleanly, a crash must discard it
+
+		_mappedByteBuffer.put(_HEADER_CLEAN, (byte)0);
+
+		_mappedByteBuffer.force();
+	}
+
+	public void close(long watermark) throws IOException {
+		Lock lock = _readWriteLock.writeLock();
+
+		lock.lock();
+
+		try {
+			if (_closed) {
+				return;
+			}
+
+			_closed = true;
+
+			boolean clean = _storeGenerations();
+
+			_mappedByteBuffer.putInt(
+				_HEADER_DATA_POSITION, _dataPosition.get());
+			_mappedByteBuffer.putLong(_HEADER_GENERATION, _generation);
+			_mappedByteBuffer.putInt(_HEADER_USED_SLOT_COUNT, _usedSlotCount);
+			_mappedByteBuffer.putLong(_HEADER_WATERMARK, watermark);
+
+			if (clean) {
+				_mappedByteBuffer.put(_HEADER_CLEAN, (byte)1);
+			}
+
+			_mappedByteBuffer.force();
+
+			_randomAccessFile.close();
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	public Serializable get(String cacheName, Serializable key) {
+		byte[] keyBytes = _toKeyBytes(cacheName, key);
+
+		if (keyBytes == null) {
+			return null;
+		}
+
+		Lock lock = _readWriteLock.readLock();
+
+		lock.lock();
+
+		try {
+			if (_closed) {
+				return null;
+			}
+
+			return _read(keyBytes);
+		}
+		catch (Exception e) {
+			if (_log.isDebugEnabled()) {
+				_log.debug("Unable to read " + key + " from " + cacheName, e);
+			}
+
+			return null;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	public int getDataPosition() {
+		return _dataPosition.get();
+	}
+
+	public int getSize() {
+		Lock lock = _readWriteLock.readLock();
+
+		lock.lock();
+
+		try {
+			return _size;
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	public boolean isRecovered() {
+		return _recovered;
+	}
+
+	public void put(String cacheName, Serializable key, Serializable value) {
+		byte[] keyBytes = _toKeyBytes(cacheName, key);
+
+		if (keyBytes == null) {
+			return;
+		}
+
+		byte[] valueBytes = _toValueBytes(value);
+
+		if (valueBytes == null) {
+			return;
+		}
+
+		// Concurrent puts copy their entries into space reserved in the data
+		// region under the read lock. Only installing the slot takes the write
+		// lock. If the store was cleared in between or is full, the entry is
+		// written again under the write lock.
+
+		long hash = _hash(keyBytes);
+
+		long clearCount = 0;
+		int entryOffset = -1;
+
+		Lock lock = _readWriteLock.readLock();
+
+		lock.lock();
+
+		try {
+			if (_closed) {
+				return;
+			}
+
+			clearCount = _clearCount;
+			entryOffset = _reserve(keyBytes, valueBytes);
+		}
+		finally {
+			lock.unlock();
+		}
+
+		lock = _readWriteLock.writeLock();
+
+		lock.lock();
+
+		try {
+			if (_closed) {
+				return;
+			}
+
+			if ((entryOffset < 0) || (clearCount != _clearCount) ||
+				!_install(hash, keyBytes, entryOffset)) {
+
+				_write(keyBytes, valueBytes);
+			}
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	public void remove(String cacheName, Serializable key) {
+		byte[] keyBytes = _toKeyBytes(cacheName, key);
+
+		if (keyBytes == null) {
+			return;
+		}
+
+		long hash = _hash(keyBytes);
+
+		Lock lock = _readWriteLock.writeLock();
+
+		lock.lock();
+
+		try {
+			if (_closed) {
+				return;
+			}
+
+			int slot = _findSlot(hash, keyBytes);
+
+			if (slot >= 0) {
+
+				// Leave the hash as a tombstone so probing continues past it
+
+				_setSlot(slot, hash, 0);
+
+				_size--;
+			}
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	public void removeAll() {
+		Lock lock = _readWriteLock.writeLock();
+
+		lock.lock();
+
+		try {
+			if (!_closed) {
+				_clear();
+			}
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	public void removeAll(String cacheName) {
+		Lock lock = _readWriteLock.writeLock();
+
+		lock.lock();
+
+		try {
+
+			// Entries are keyed by the generation of their cache, moving the
+			// cache to a new generation orphans all of its entries at once
+
+			_generations.put(cacheName, ++_generation);
+		}
+		finally {
+			lock.unlock();
+		}
+	}
+
+	private void _clear() {
+		for (int i = 0; i < _slotCount; i++) {
+			_setSlot(i, 0, 0);
+		}
+
+		_clearCount++;
+		_dataPosition.set(0);
+		_size = 0;
+		_usedSlotCount = 0;
+	}
+
+	private int _findFreeSlot(long hash) {
+		int slot = _getSlotIndex(hash);
+
+		while (true) {
+			if (_getSlotEntryOffset(slot) == 0) {
+				return slot;
+			}
+
+			slot = (slot + 1) % _slotCount;
+		}
+	}
+
+	private int _findSlot(long hash, byte[] keyBytes) {
+		int slot = _getSlotIndex(hash);
+
+		for (int i = 0; i < _slotCount; i++) {
+			long slotHash = _getSlotHash(slot);
+
+			if (slotHash == 0) {
+				return -1;
+			}
+
+			if (slotHash == hash) {
+				int entryOffset = _getSlotEntryOffset(slot);
+
+				if ((entryOffset != 0) && _matches(entryOffset, keyBytes)) {
+					return slot;
+				}
+			}
+
+			slot = (slot + 1) % _slotCount;
+		}
+
+		return -1;
+	}
+
+	private long _getGeneration(String cacheName) {
+		Long generation = _generations.get(cacheName);
+
+		if (generation == null) {
+			return 0;
+		}
+
+		return generation.longValue();
+	}
+
+	private int _getSlotEntryOffset(int slot) {
+		return (int)_mappedByteBuffer.getLong(
+			_HEADER_SIZE + slot * _SLOT_SIZE + 8);
+	}
+
+	private long _getSlotHash(int slot) {
+		return _mappedByteBuffer.getLong(_HEADER_SIZE + slot * _SLOT_SIZE);
+	}
+
+	private int _getSlotIndex(long hash) {
+		return (int)((hash & Long.MAX_VALUE) % _slotCount);
+	}
+
+	private long _hash(byte[] bytes) {
+
+		// 64-bit FNV-1a, zero is reserved for empty slots
+
+		long hash = 0xcbf29ce484222325L;
+
+		for (byte b : bytes) {
+			hash ^= b & 0xff;
+			hash *= 0x100000001b3L;
+		}
+
+		if (hash == 0) {
+			hash = 1;
+		}
+
+		return hash;
+	}
+
+	private boolean _install(long hash, byte[] keyBytes, int entryOffset) {
+		int slot = _findSlot(hash, keyBytes);
+
+		if (slot < 0) {
+			if (((_usedSlotCount + 1) * 4L) > (_slotCount * 3L)) {
+				return false;
+			}
+
+			slot = _findFreeSlot(hash);
+
+			if (_getSlotHash(slot) == 0) {
+				_usedSlotCount++;
+			}
+
+			_size++;
+		}
+
+		_setSlot(slot, hash, entryOffset);
+
+		return true;
+	}
+
+	private boolean _isValid(long schemaVersion, long watermark) {
+		if ((_mappedByteBuffer.getInt(_HEADER_MAGIC) != _MAGIC) ||
+			(_mappedByteBuffer.getInt(_HEADER_FORMAT_VERSION) !=
+				_FORMAT_VERSION) ||
+			(_mappedByteBuffer.get(_HEADER_CLEAN) != 1)) {
+
+			return false;
+		}
+
+		if ((_mappedByteBuffer.getInt(_HEADER_SLOT_COUNT) != _slotCount) ||
+			(_mappedByteBuffer.getInt(_HEADER_DATA_CAPACITY) !=
+				_dataCapacity)) {
+
+			return false;
+		}
+
+		if (_mappedByteBuffer.getLong(_HEADER_SCHEMA_VERSION) !=
+				schemaVersion) {
+
+			if (_log.isInfoEnabled()) {
+				_log.info("Discard mapped cache with stale schema version");
+			}
+
+			return false;
+		}
+
+		if (_mappedByteBuffer.getLong(_HEADER_WATERMARK) != watermark) {
+			if (_log.isInfoEnabled()) {
+				_log.info("Discard mapped cache with stale watermark");
+			}
+
+			return false;
+		}
+
+		return true;
+	}
+
+	private boolean _matches(int entryOffset, byte[] keyBytes) {
+		int keyLength = _mappedByteBuffer.getInt(entryOffset);
+
+		if (keyLength != keyBytes.length) {
+			return false;
+		}
+
+		int keyOffset = entryOffset + _ENTRY_HEADER_SIZE;
+
+		for (int i = 0; i < keyLength; i++) {
+			if (_mappedByteBuffer.get(keyOffset + i) != keyBytes[i]) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private Serializable _read(byte[] keyBytes) throws Exception {
+		int slot = _findSlot(_hash(keyBytes), keyBytes);
+
+		if (slot < 0) {
+			return null;
+		}
+
+		int entryOffset = _getSlotEntryOffset(slot);
+
+		ByteBuffer byteBuffer = _mappedByteBuffer.duplicate();
+
+		int keyLength = byteBuffer.getInt(entryOffset);
+		int valueLength = byteBuffer.getInt(entryOffset + 4);
+
+		byte[] valueBytes = new byte[valueLength];
+
+		byteBuffer.position(entryOffset + _ENTRY_HEADER_SIZE + keyLength);
+
+		byteBuffer.get(valueBytes);
+
+		Deserializer deserializer = new Deserializer(
+			ByteBuffer.wrap(valueBytes));
+
+		return deserializer.readObject();
+	}
+
+	private boolean _recover(long schemaVersion, long watermark) {
+		if (!_isValid(schemaVersion, watermark)) {
+			return false;
+		}
+
+		_dataPosition.set(_mappedByteBuffer.getInt(_HEADER_DATA_POSITION));
+		_generation = _mappedByteBuffer.getLong(_HEADER_GENERATION);
+		_usedSlotCount = _mappedByteBuffer.getInt(_HEADER_USED_SLOT_COUNT);
+
+		try {
+			Map<String, Long> generations = (Map<String, Long>)_read(
+				_toKeyBytes(StringPool.BLANK, _GENERATIONS_KEY));
+
+			if (generations != null) {
+				_generations.putAll(generations);
+			}
+		}
+		catch (Exception e) {
+			if (_log.isWarnEnabled()) {
+				_log.warn("Unable to recover mapped cache generations", e);
+			}
+
+			return false;
+		}
+
+		for (int i = 0; i < _slotCount; i++) {
+			if (_getSlotEntryOffset(i) != 0) {
+				_size++;
+			}
+		}
+
+		return true;
+	}
+
+	private int _reserve(byte[] keyBytes, byte[] valueBytes) {
+		int entryLength =
+			_ENTRY_HEADER_SIZE + keyBytes.length + valueBytes.length;
+
+		int dataPosition = 0;
+
+		while (true) {
+			dataPosition = _dataPosition.get();
+
+			if ((dataPosition + entryLength) > _dataCapacity) {
+				return -1;
+			}
+
+			if (_dataPosition.compareAndSet(
+					dataPosition, dataPosition + entryLength)) {
+
+				break;
+			}
+		}
+
+		int entryOffset = _dataOffset + dataPosition;
+
+		ByteBuffer byteBuffer = _mappedByteBuffer.duplicate();
+
+		byteBuffer.position(entryOffset);
+
+		byteBuffer.putInt(keyBytes.length);
+		byteBuffer.putInt(valueBytes.length);
+		byteBuffer.put(keyBytes);
+		byteBuffer.put(valueBytes);
+
+		return entryOffset;
+	}
+
+	private void _reset() {
+		_clear();
+
+		_generation = 0;
+		_generations.clear();
+	}
+
+	private void _setSlot(int slot, long hash, int entryOffset) {
+		int slotOffset = _HEADER_SIZE + slot * _SLOT_SIZE;
+
+		_mappedByteBuffer.putLong(slotOffset, hash);
+		_mappedByteBuffer.putLong(slotOffset + 8, entryOffset);
+	}
+
+	private boolean _storeGenerations() {
+		if (_generations.isEmpty()) {
+			return true;
+		}
+
+		byte[] keyBytes = _toKeyBytes(StringPool.BLANK, _GENERATIONS_KEY);
+		byte[] valueBytes = _toValueBytes(
+			new HashMap<String, Long>(_generations));
+
+		if (valueBytes == null) {
+			return false;
+		}
+
+		return _write(keyBytes, valueBytes);
+	}
+
+	private byte[] _toKeyBytes(String cacheName, Serializable key) {
+		try {
+			Serializer serializer = new Serializer();
+
+			serializer.writeString(cacheName);
+			serializer.writeLong(_getGeneration(cacheName));
+			serializer.writeObject(key);
+
+			ByteBuffer byteBuffer = serializer.toByteBuffer();
+
+			return byteBuffer.array();
+		}
+		catch (Exception e) {
+			if (_log.isDebugEnabled()) {
+				_log.debug("Unable to serialize " + key, e);
+			}
+
+			return null;
+		}
+	}
+
+	private byte[] _toValueBytes(Serializable value) {
+		try {
+			Serializer serializer = new Serializer();
+
+			serializer.writeObject(value);
+
+			ByteBuffer byteBuffer = serializer.toByteBuffer();
+
+			return byteBuffer.array();
+		}
+		catch (Exception e) {
+			if (_log.isDebugEnabled()) {
+				_log.debug("Unable to serialize " + value, e);
+			}
+
+			return null;
+		}
+	}
+
+	private boolean _write(byte[] keyBytes, byte[] valueBytes) {
+		int entryLength =
+			_ENTRY_HEADER_SIZE + keyBytes.length + valueBytes.length;
+
+		if (entryLength > _dataCapacity) {
+			return false;
+		}
+
+		long hash = _hash(keyBytes);
+
+		int entryOffset = _reserve(keyBytes, valueBytes);
+
+		if ((entryOffset >= 0) && _install(hash, keyBytes, entryOffset)) {
+			return true;
+		}
+
+		_clear();
+
+		entryOffset = _reserve(keyBytes, valueBytes);
+
+		return _install(hash, keyBytes, entryOffset);
+	}
+
+	private static final int _ENTRY_HEADER_SIZE = 8;
+
+	private static final int _FORMAT_VERSION = 1;
+
+	private static final String _GENERATIONS_KEY = "generations";
+
+	private static final int _HEADER_CLEAN = 4;
+
+	private static final int _HEADER_DATA_CAPACITY = 12;
+
+	private static final int _HEADER_DATA_POSITION = 16;
+
+	private static final int _HEADER_FORMAT_VERSION = 8;
+
+	private static final int _HEADER_GENERATION = 24;
+
+	private static final int _HEADER_MAGIC = 0;
+
+	private static final int _HEADER_SCHEMA_VERSION = 32;
+
+	private static final int _HEADER_SIZE = 64;
+
+	private static final int _HEADER_SLOT_COUNT = 20;
+
+	private static final int _HEADER_USED_SLOT_COUNT = 48;
+
+	private static final int _HEADER_WATERMARK = 40;
+
+	private static final int _MAGIC = 0x4c4d4353;
+
+	private static final int _SLOT_SIZE = 16;
+
+	private static Log _log = LogFactoryUtil.getLog(MappedCacheStore.class);
+
+	private long _clearCount;
+	private volatile boolean _closed;
+	private final int _dataCapacity;
+	private final int _dataOffset;
+	private final AtomicInteger _dataPosition = new AtomicInteger();
+	private long _generation;
+	private final Map<String, Long> _generations =
+		new ConcurrentHashMap<String, Long>();
+	private final MappedByteBuffer _mappedByteBuffer;
+	private final RandomAccessFile _randomAccessFile;
+	private final ReadWriteLock _readWriteLock = new ReentrantReadWriteLock();
+	private boolean _recovered;
+	private int _size;
+	private final int _slotCount;
+	private int _usedSlotCount;
+
+}
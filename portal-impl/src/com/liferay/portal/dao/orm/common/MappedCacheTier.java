@@ -0,0 +1,422 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.dao.orm.common;
+
+import com.liferay.portal.kernel.cache.CacheListener;
+import com.liferay.portal.kernel.cache.CacheListenerScope;
+import com.liferay.portal.kernel.cache.PortalCache;
+import com.liferay.portal.kernel.dao.jdbc.DataAccess;
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
+import com.liferay.portal.kernel.util.BasePortalLifecycle;
+import com.liferay.portal.kernel.util.NamedThreadFactory;
+import com.liferay.portal.kernel.util.PortalClassLoaderUtil;
+import com.liferay.portal.kernel.util.ReleaseInfo;
+import com.liferay.portal.kernel.util.Time;
+import com.liferay.portal.service.ReleaseLocalServiceUtil;
+import com.liferay.portal.util.PropsValues;
+
+import java.io.File;
+import java.io.Serializable;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * <p>
+ * An optional off-heap tier behind the entity and finder caches. It keeps
+ * serialized cache models and finder results in a {@link MappedCacheStore} so
+ * that a restarted node can serve hot entries without going to the database.
+ * </p>
+ *
+ * <p>
+ * Entries are only read during a warm up window after startup. Entries
+ * removed, updated or cleared on other nodes are removed from the mapped cache
+ * through remote cache listeners, so the store stays consistent while the
+ * node is up.
+ * </p>
+ *
+ * <p>
+ * Every removal or clear bumps a cluster wide watermark kept in the Counter
+ * table. Puts do not, because persistences put every model they load. Their
+ * update and remove paths always remove the entity or clear finder results,
+ * so real writes still bump the watermark. On shutdown the current watermark is recorded in the store, and on
+ * startup the store is only reused when the watermark and the schema version
+ * are unchanged, that is, when no node modified anything while this node was
+ * down.
+ * </p>
+ *
+ * @author Shuyang Zhou
+ */
+public class MappedCacheTier extends BasePortalLifecycle {
+
+	public void afterPropertiesSet() {
+		if (PropsValues.VALUE_OBJECT_MAPPED_CACHE_ENABLED) {
+			registerPortalLifecycle();
+		}
+	}
+
+	public void destroy() {
+		portalDestroy();
+	}
+
+	public Serializable get(String cacheName, Serializable key) {
+		MappedCacheStore mappedCacheStore = _mappedCacheStore;
+
+		if ((mappedCacheStore == null) || !isWarmingUp()) {
+			return null;
+		}
+
+		return mappedCacheStore.get(cacheName, key);
+	}
+
+	public boolean isCacheable(Class<?> clazz) {
+		if (_mappedCacheStore == null) {
+			return false;
+		}
+
+		// Plugin models may change without the portal schema version
+		// changing, only keep portal models and JDK types
+
+		ClassLoader classLoader = clazz.getClassLoader();
+
+		if ((classLoader == null) || (classLoader == _portalClassLoader)) {
+			return true;
+		}
+
+		return false;
+	}
+
+	/**
+	 * Returns <code>true</code> if cache misses may still be served from the
+	 * mapped cache. Entries are only read during the warm up time after a
+	 * startup that recovered the mapped cache. Afterwards the entry and finder
+	 * caches are warm, and the mapped cache is only kept up to date for the
+	 * next restart.
+	 */
+	public boolean isWarmingUp() {
+		if (System.currentTimeMillis() < _warmUpEndTime) {
+			return true;
+		}
+
+		return false;
+	}
+
+	public void put(String cacheName, Serializable key, Serializable value) {
+		MappedCacheStore mappedCacheStore = _mappedCacheStore;
+
+		if (mappedCacheStore != null) {
+			mappedCacheStore.put(cacheName, key, value);
+		}
+	}
+
+	/**
+	 * Removes the entries of the portal cache from the mapped cache when they
+	 * are removed, updated or cleared on another node of the cluster.
+	 */
+	public void registerPortalCache(
+		PortalCache<Serializable, Serializable> portalCache) {
+
+		if (PropsValues.VALUE_OBJECT_MAPPED_CACHE_ENABLED) {
+			portalCache.registerCacheListener(
+				_remoteCacheListener, CacheListenerScope.REMOTE);
+		}
+	}
+
+	public void remove(String cacheName, Serializable key) {
+		MappedCacheStore mappedCacheStore = _mappedCacheStore;
+
+		if (mappedCacheStore != null) {
+			mappedCacheStore.remove(cacheName, key);
+
+			_touchWatermark();
+		}
+	}
+
+	public void removeAll() {
+		MappedCacheStore mappedCacheStore = _mappedCacheStore;
+
+		if (mappedCacheStore != null) {
+			mappedCacheStore.removeAll();
+
+			_touchWatermark();
+		}
+	}
+
+	public void removeAll(String cacheName) {
+		MappedCacheStore mappedCacheStore = _mappedCacheStore;
+
+		if (mappedCacheStore != null) {
+			mappedCacheStore.removeAll(cacheName);
+
+			_touchWatermark();
+		}
+	}
+
+	@Override
+	protected void doPortalDestroy() throws Exception {
+		MappedCacheStore mappedCacheStore = _mappedCacheStore;
+
+		if (mappedCacheStore == null) {
+			return;
+		}
+
+		_mappedCacheStore = null;
+
+		_scheduledExecutorService.shutdownNow();
+
+		if (_watermarkPending.get()) {
+			_incrementWatermark();
+		}
+
+		mappedCacheStore.close(_getWatermark());
+	}
+
+	@Override
+	protected void doPortalInit() throws Exception {
+		long schemaVersion =
+			((long)ReleaseInfo.getBuildNumber() << 32) |
+				ReleaseLocalServiceUtil.getBuildNumberOrCreate();
+
+		File file = new File(
+			PropsValues.VALUE_OBJECT_MAPPED_CACHE_DIR, _FILE_NAME);
+		int slotCount =
+			PropsValues.VALUE_OBJECT_MAPPED_CACHE_MAX_ENTRIES * 4 / 3;
+		int dataCapacity =
+			PropsValues.VALUE_OBJECT_MAPPED_CACHE_MAX_SIZE * _MB;
+
+		MappedCacheStore mappedCacheStore = new MappedCacheStore(
+			file, slotCount, dataCapacity, schemaVersion, _getWatermark());
+
+		if (_log.isInfoEnabled()) {
+			if (mappedCacheStore.isRecovered()) {
+				_log.info(
+					"Recovered " + mappedCacheStore.getSize() +
+						" mapped cache entries");
+			}
+			else {
+				_log.info("Started with an empty mapped cache");
+			}
+		}
+
+		_portalClassLoader = PortalClassLoaderUtil.getClassLoader();
+
+		_scheduledExecutorService = Executors.newSingleThreadScheduledExecutor(
+			new NamedThreadFactory(
+				MappedCacheTier.class.getName(), Thread.NORM_PRIORITY, null));
+
+		_mappedCacheStore = mappedCacheStore;
+
+		if (mappedCacheStore.isRecovered()) {
+			_warmUpEndTime =
+				System.currentTimeMillis() +
+					PropsValues.VALUE_OBJECT_MAPPED_CACHE_WARM_UP_TIME *
+						Time.SECOND;
+		}
+	}
+
+	private long _getWatermark() throws Exception {
+		Connection connection = null;
+		PreparedStatement preparedStatement = null;
+		ResultSet resultSet = null;
+
+		try {
+			connection = DataAccess.getConnection();
+
+			preparedStatement = connection.prepareStatement(
+				_SQL_SELECT_WATERMARK);
+
+			preparedStatement.setString(1, _WATERMARK_NAME);
+
+			resultSet = preparedStatement.executeQuery();
+
+			if (resultSet.next()) {
+				return resultSet.getLong(1);
+			}
+
+			resultSet.close();
+			preparedStatement.close();
+
+			preparedStatement = connection.prepareStatement(
+				_SQL_INSERT_WATERMARK);
+
+			preparedStatement.setString(1, _WATERMARK_NAME);
+
+			preparedStatement.executeUpdate();
+
+			return 0;
+		}
+		finally {
+			DataAccess.cleanUp(connection, preparedStatement, resultSet);
+		}
+	}
+
+	private void _incrementWatermark() throws Exception {
+		_watermarkPending.set(false);
+
+		Connection connection = null;
+		PreparedStatement preparedStatement = null;
+
+		try {
+			connection = DataAccess.getConnection();
+
+			preparedStatement = connection.prepareStatement(
+				_SQL_UPDATE_WATERMARK);
+
+			preparedStatement.setString(1, _WATERMARK_NAME);
+
+			preparedStatement.executeUpdate();
+		}
+		finally {
+			DataAccess.cleanUp(connection, preparedStatement);
+		}
+	}
+
+	private void _touchWatermark() {
+
+		// Modifications within one interval share a single increment, which
+		// runs off the calling thread so it never holds a second connection
+
+		if (!_watermarkPending.compareAndSet(false, true)) {
+			return;
+		}
+
+		try {
+			_scheduledExecutorService.schedule(
+				_incrementWatermarkRunnable,
+				PropsValues.VALUE_OBJECT_MAPPED_CACHE_WATERMARK_INTERVAL,
+				TimeUnit.MILLISECONDS);
+		}
+		catch (Exception e) {
+			_watermarkPending.set(false);
+
+			if (_log.isWarnEnabled()) {
+				_log.warn("Unable to schedule watermark increment", e);
+			}
+		}
+	}
+
+	private static final String _FILE_NAME = "value-object.cache";
+
+	private static final int _MB = 1024 * 1024;
+
+	private static final String _SQL_INSERT_WATERMARK =
+		"insert into Counter(name, currentId) values (?, 0)";
+
+	private static final String _SQL_SELECT_WATERMARK =
+		"select currentId from Counter where name = ?";
+
+	private static final String _SQL_UPDATE_WATERMARK =
+		"update Counter set currentId = currentId + 1 where name = ?";
+
+	private static final String _WATERMARK_NAME =
+		MappedCacheTier.class.getName();
+
+	private static Log _log = LogFactoryUtil.getLog(MappedCacheTier.class);
+
+	private final Runnable _incrementWatermarkRunnable = new Runnable() {
+
+		@Override
+		public void run() {
+			try {
+				_incrementWatermark();
+			}
+			catch (Exception e) {
+				_log.error("Unable to increment mapped cache watermark", e);
+			}
+		}
+
+	};
+
+	private volatile MappedCacheStore _mappedCacheStore;
+	private ClassLoader _portalClassLoader;
+	private final CacheListener<Serializable, Serializable>
+		_remoteCacheListener = new RemoteCacheListener();
+	private ScheduledExecutorService _scheduledExecutorService;
+	private volatile long _warmUpEndTime;
+	private final AtomicBoolean _watermarkPending = new AtomicBoolean();
+
+	private class RemoteCacheListener
+		implements CacheListener<Serializable, Serializable> {
+
+		@Override
+		public void notifyEntryEvicted(
+			PortalCache<Serializable, Serializable> portalCache,
+			Serializable key, Serializable value) {
+		}
+
+		@Override
+		public void notifyEntryExpired(
+			PortalCache<Serializable, Serializable> portalCache,
+			Serializable key, Serializable value) {
+		}
+
+		@Override
+		public void notifyEntryPut(
+			PortalCache<Serializable, Serializable> portalCache,
+			Serializable key, Serializable value) {
+
+			_remove(portalCache, key);
+		}
+
+		@Override
+		public void notifyEntryRemoved(
+			PortalCache<Serializable, Serializable> portalCache,
+			Serializable key, Serializable value) {
+
+			_remove(portalCache, key);
+		}
+
+		@Override
+		public void notifyEntryUpdated(
+			PortalCache<Serializable, Serializable> portalCache,
+			Serializable key, Serializable value) {
+
+			_remove(portalCache, key);
+		}
+
+		@Override
+		public void notifyRemoveAll(
+			PortalCache<Serializable, Serializable> portalCache) {
+
+			MappedCacheStore mappedCacheStore = _mappedCacheStore;
+
+			if (mappedCacheStore != null) {
+				mappedCacheStore.removeAll(portalCache.getName());
+			}
+		}
+
+		private void _remove(
+			PortalCache<Serializable, Serializable> portalCache,
+			Serializable key) {
+
+			// The node that made the modification bumps the watermark
+
+			MappedCacheStore mappedCacheStore = _mappedCacheStore;
+
+			if (mappedCacheStore != null) {
+				mappedCacheStore.remove(portalCache.getName(), key);
+			}
+		}
+
+	}
+
+}
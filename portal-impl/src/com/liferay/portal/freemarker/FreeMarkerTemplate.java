@@ -119,7 +119,10 @@ public class FreeMarkerTemplate extends AbstractTemplate {
 					TemplateConstants.DEFAUT_ENCODING);
 			}
 
-			template.process(context, writer);
+			template.process(
+				new TemplateContextHashModel(
+					context, template.getObjectWrapper()),
+				writer);
 		}
 		catch (PrivilegedActionException pae) {
 			throw pae.getException();
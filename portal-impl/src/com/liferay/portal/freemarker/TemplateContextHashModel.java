@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.freemarker;
+
+import freemarker.template.ObjectWrapper;
+import freemarker.template.SimpleCollection;
+import freemarker.template.TemplateCollectionModel;
+import freemarker.template.TemplateHashModelEx;
+import freemarker.template.TemplateModel;
+import freemarker.template.TemplateModelException;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * Exposes a template context to FreeMarker without copying it. Wrapping the
+ * context map directly makes FreeMarker copy every variable, including all the
+ * shared helper utilities, on each render. This model wraps only the variables
+ * a template actually reads.
+ * </p>
+ *
+ * @author Shuyang Zhou
+ */
+public class TemplateContextHashModel implements TemplateHashModelEx {
+
+	public TemplateContextHashModel(
+		Map<String, Object> context, ObjectWrapper objectWrapper) {
+
+		_context = context;
+		_objectWrapper = objectWrapper;
+	}
+
+	@Override
+	public TemplateModel get(String key) throws TemplateModelException {
+		TemplateModel templateModel = _templateModels.get(key);
+
+		if (templateModel != null) {
+			return templateModel;
+		}
+
+		Object value = _context.get(key);
+
+		if (value == null) {
+			return null;
+		}
+
+		templateModel = _objectWrapper.wrap(value);
+
+		_templateModels.put(key, templateModel);
+
+		return templateModel;
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return _context.isEmpty();
+	}
+
+	@Override
+	public TemplateCollectionModel keys() {
+		return new SimpleCollection(_context.keySet(), _objectWrapper);
+	}
+
+	@Override
+	public int size() {
+		return _context.size();
+	}
+
+	@Override
+	public TemplateCollectionModel values() {
+		return new SimpleCollection(_context.values(), _objectWrapper);
+	}
+
+	private Map<String, Object> _context;
+	private ObjectWrapper _objectWrapper;
+	private Map<String, TemplateModel> _templateModels =
+		new HashMap<String, TemplateModel>();
+
+}
@@ -0,0 +1,47 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.lar;
+
+import com.liferay.portal.kernel.zip.ZipReader;
+import com.liferay.portal.kernel.zip.ZipReaderFactoryUtil;
+import com.liferay.portal.kernel.zip.ZipWriter;
+import com.liferay.portal.kernel.zip.ZipWriterFactoryUtil;
+import com.liferay.portal.util.PropsValues;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class ExportImportZipUtil {
+
+	public static ZipReader getZipReader(File file) throws IOException {
+		if (PropsValues.STAGING_LAR_STREAMING_ENABLED) {
+			return ZipReaderFactoryUtil.getStreamingZipReader(file);
+		}
+
+		return ZipReaderFactoryUtil.getZipReader(file);
+	}
+
+	public static ZipWriter getZipWriter() {
+		if (PropsValues.STAGING_LAR_STREAMING_ENABLED) {
+			return ZipWriterFactoryUtil.getStreamingZipWriter();
+		}
+
+		return ZipWriterFactoryUtil.getZipWriter();
+	}
+
+}
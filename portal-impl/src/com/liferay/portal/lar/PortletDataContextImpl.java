@@ -23,6 +23,7 @@ import com.liferay.portal.kernel.dao.orm.PropertyFactoryUtil;
 import com.liferay.portal.kernel.exception.PortalException;
 import com.liferay.portal.kernel.exception.SystemException;
 import com.liferay.portal.kernel.lar.ExportImportPathUtil;
+import com.liferay.portal.kernel.lar.ExportImportThreadLocal;
 import com.liferay.portal.kernel.lar.ManifestSummary;
 import com.liferay.portal.kernel.lar.PortletDataContext;
 import com.liferay.portal.kernel.lar.PortletDataContextListener;
@@ -76,8 +77,10 @@ import com.liferay.portal.service.ResourcePermissionLocalServiceUtil;
 import com.liferay.portal.service.RoleLocalServiceUtil;
 import com.liferay.portal.service.ServiceContext;
 import com.liferay.portal.service.TeamLocalServiceUtil;
+import com.liferay.portal.util.DiskSpillingStringSet;
 import com.liferay.portal.util.PortalUtil;
 import com.liferay.portal.util.PortletKeys;
+import com.liferay.portal.util.PropsValues;
 import com.liferay.portlet.asset.model.AssetCategory;
 import com.liferay.portlet.asset.model.AssetEntry;
 import com.liferay.portlet.asset.model.AssetLink;
@@ -1320,7 +1323,7 @@ public class PortletDataContextImpl implements PortletDataContext {
 
 	@Override
 	public Object getZipEntryAsObject(Element element, String path) {
-		Object object = fromXML(getZipEntryAsString(path));
+		Object object = getZipEntryAsObject(path);
 
 		Attribute classNameAttribute = element.attribute("class-name");
 
@@ -1334,6 +1337,20 @@ public class PortletDataContextImpl implements PortletDataContext {
 
 	@Override
 	public Object getZipEntryAsObject(String path) {
+		if ((_zipEntryObjectPrefetcher != null) &&
+			Validator.isFilePath(path, false)) {
+
+			Object object = _zipEntryObjectPrefetcher.take(path);
+
+			if (object != null) {
+				if (_portletDataContextListener != null) {
+					_portletDataContextListener.onGetZipEntry(path);
+				}
+
+				return object;
+			}
+		}
+
 		return fromXML(getZipEntryAsString(path));
 	}
 
@@ -1897,6 +1914,22 @@ public class PortletDataContextImpl implements PortletDataContext {
 	@Override
 	public void setImportDataRootElement(Element importDataRootElement) {
 		_importDataRootElement = importDataRootElement;
+
+		if (_zipEntryObjectPrefetcher != null) {
+			_zipEntryObjectPrefetcher.cancel();
+
+			_zipEntryObjectPrefetcher = null;
+		}
+
+		if ((importDataRootElement != null) && (_zipReader != null) &&
+			(PropsValues.STAGING_LAR_IMPORT_PREFETCH_SIZE > 0) &&
+			(ExportImportThreadLocal.isLayoutImportInProcess() ||
+			 ExportImportThreadLocal.isPortletImportInProcess())) {
+
+			_zipEntryObjectPrefetcher = new ZipEntryObjectPrefetcher(
+				this, importDataRootElement,
+				PropsValues.STAGING_LAR_IMPORT_PREFETCH_SIZE);
+		}
 	}
 
 	@Override
@@ -2042,6 +2075,15 @@ public class PortletDataContextImpl implements PortletDataContext {
 		}
 	}
 
+	protected Set<String> createKeySet() {
+		if (PropsValues.STAGING_LAR_STREAMING_ENABLED) {
+			return new DiskSpillingStringSet(
+				PropsValues.STAGING_LAR_SPILL_THRESHOLD);
+		}
+
+		return new HashSet<String>();
+	}
+
 	protected ServiceContext createServiceContext(
 		Element element, String path, ClassedModel classedModel,
 		Class<?> clazz) {
@@ -2541,12 +2583,12 @@ public class PortletDataContextImpl implements PortletDataContext {
 		new HashMap<String, List<KeyValuePair>>();
 	private long _plid;
 	private PortletDataContextListener _portletDataContextListener;
-	private Set<String> _primaryKeys = new HashSet<String>();
+	private Set<String> _primaryKeys = createKeySet();
 	private boolean _privateLayout;
 	private Map<String, List<RatingsEntry>> _ratingsEntriesMap =
 		new HashMap<String, List<RatingsEntry>>();
-	private Set<String> _references = new HashSet<String>();
-	private Set<String> _scopedPrimaryKeys = new HashSet<String>();
+	private Set<String> _references = createKeySet();
+	private Set<String> _scopedPrimaryKeys = createKeySet();
 	private long _scopeGroupId;
 	private String _scopeLayoutUuid;
 	private String _scopeType;
@@ -2558,6 +2600,7 @@ public class PortletDataContextImpl implements PortletDataContext {
 	private UserIdStrategy _userIdStrategy;
 	private long _userPersonalSiteGroupId;
 	private XStream _xStream;
+	private ZipEntryObjectPrefetcher _zipEntryObjectPrefetcher;
 	private ZipReader _zipReader;
 	private ZipWriter _zipWriter;
 
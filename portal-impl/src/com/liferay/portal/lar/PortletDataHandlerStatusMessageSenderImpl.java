@@ -113,6 +113,11 @@ public class PortletDataHandlerStatusMessageSenderImpl
 
 		message.put("modelDeletionCounters", modelDeletionCounters);
 
+		Map<String, LongWrapper> modelDurations =
+			manifestSummary.getModelDurations();
+
+		message.put("modelDurations", modelDurations);
+
 		return message;
 	}
 
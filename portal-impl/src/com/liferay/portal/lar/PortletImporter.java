@@ -55,7 +55,6 @@ import com.liferay.portal.kernel.xml.Element;
 import com.liferay.portal.kernel.xml.Node;
 import com.liferay.portal.kernel.xml.SAXReaderUtil;
 import com.liferay.portal.kernel.zip.ZipReader;
-import com.liferay.portal.kernel.zip.ZipReaderFactoryUtil;
 import com.liferay.portal.model.Group;
 import com.liferay.portal.model.Layout;
 import com.liferay.portal.model.LayoutConstants;
@@ -225,7 +224,7 @@ public class PortletImporter {
 
 			Layout layout = LayoutLocalServiceUtil.getLayout(plid);
 
-			ZipReader zipReader = ZipReaderFactoryUtil.getZipReader(file);
+			ZipReader zipReader = ExportImportZipUtil.getZipReader(file);
 
 			PortletDataContext portletDataContext =
 				PortletDataContextFactoryUtil.createImportPortletDataContext(
@@ -445,7 +444,7 @@ public class PortletImporter {
 		UserIdStrategy userIdStrategy = getUserIdStrategy(
 			user, userIdStrategyString);
 
-		ZipReader zipReader = ZipReaderFactoryUtil.getZipReader(file);
+		ZipReader zipReader = ExportImportZipUtil.getZipReader(file);
 
 		PortletDataContext portletDataContext =
 			PortletDataContextFactoryUtil.createImportPortletDataContext(
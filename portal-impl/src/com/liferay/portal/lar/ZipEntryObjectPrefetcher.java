@@ -0,0 +1,264 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.lar;
+
+import com.liferay.portal.kernel.concurrent.ThreadPoolExecutor;
+import com.liferay.portal.kernel.executor.PortalExecutorManagerUtil;
+import com.liferay.portal.kernel.lar.PortletDataContext;
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
+import com.liferay.portal.kernel.util.CharPool;
+import com.liferay.portal.kernel.util.StringPool;
+import com.liferay.portal.kernel.util.Validator;
+import com.liferay.portal.kernel.xml.Element;
+import com.liferay.portal.kernel.zip.ZipReader;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Deserializes the staged models of an import data root element ahead of the
+ * importing thread.
+ *
+ * <p>
+ * The staged model paths are scheduled in dependency order, so that every
+ * model follows the models it references, which is the order in which
+ * <code>StagedModelDataHandlerUtil</code> imports them. At most
+ * <code>size</code> models are parsed or waiting to be taken at any time.
+ * </p>
+ *
+ * <p>
+ * Only reading and parsing the LAR entries happens on the worker threads.
+ * Importing the parsed models still happens serially on the importing thread,
+ * inside its transaction.
+ * </p>
+ *
+ * @author Shuyang Zhou
+ */
+public class ZipEntryObjectPrefetcher {
+
+	public ZipEntryObjectPrefetcher(
+		PortletDataContext portletDataContext, Element importDataRootElement,
+		int size) {
+
+		_portletDataContext = portletDataContext;
+		_size = size;
+
+		_classLoader = portletDataContext.getClassLoader();
+		_paths = getPaths(importDataRootElement);
+		_zipReader = portletDataContext.getZipReader();
+
+		schedule();
+	}
+
+	public void cancel() {
+		for (Future<Object> future : _futures.values()) {
+			future.cancel(false);
+		}
+
+		_futures.clear();
+
+		_index = _paths.size();
+	}
+
+	public Object take(String path) {
+		if (_classLoader != _portletDataContext.getClassLoader()) {
+			cancel();
+
+			return null;
+		}
+
+		_takenPaths.add(path);
+
+		Future<Object> future = _futures.remove(path);
+
+		if (future == null) {
+			if (_futures.size() >= _size) {
+
+				// The oldest prefetched models were skipped by the importer
+
+				Iterator<Future<Object>> iterator =
+					_futures.values().iterator();
+
+				Future<Object> eldestFuture = iterator.next();
+
+				eldestFuture.cancel(false);
+
+				iterator.remove();
+			}
+
+			schedule();
+
+			return null;
+		}
+
+		try {
+			return future.get();
+		}
+		catch (ExecutionException ee) {
+			if (_log.isDebugEnabled()) {
+				_log.debug("Unable to prefetch " + path, ee.getCause());
+			}
+		}
+		catch (InterruptedException ie) {
+			Thread.currentThread().interrupt();
+		}
+		finally {
+			schedule();
+		}
+
+		return null;
+	}
+
+	protected List<String> getPaths(Element importDataRootElement) {
+		Map<String, Element> stagedModelElements =
+			new LinkedHashMap<String, Element>();
+
+		for (Element groupElement : importDataRootElement.elements()) {
+			for (Element stagedModelElement :
+					groupElement.elements("staged-model")) {
+
+				String path = stagedModelElement.attributeValue("path");
+
+				if (Validator.isNull(path) || !path.endsWith(".xml")) {
+					continue;
+				}
+
+				int x = path.lastIndexOf(CharPool.SLASH);
+				int y = path.lastIndexOf(CharPool.SLASH, x - 1);
+
+				if (y < 0) {
+					continue;
+				}
+
+				String className = path.substring(y + 1, x);
+				String classPK = path.substring(x + 1, path.length() - 4);
+
+				stagedModelElements.put(
+					className.concat(StringPool.POUND).concat(classPK),
+					stagedModelElement);
+			}
+		}
+
+		List<String> paths = new ArrayList<String>(stagedModelElements.size());
+
+		Set<Element> visitedStagedModelElements = new HashSet<Element>();
+
+		for (Element stagedModelElement : stagedModelElements.values()) {
+			visit(
+				stagedModelElement, stagedModelElements,
+				visitedStagedModelElements, paths);
+		}
+
+		return paths;
+	}
+
+	protected void schedule() {
+		ThreadPoolExecutor threadPoolExecutor =
+			PortalExecutorManagerUtil.getPortalExecutor(
+				ZipEntryObjectPrefetcher.class.getName());
+
+		while ((_futures.size() < _size) && (_index < _paths.size())) {
+			String path = _paths.get(_index++);
+
+			if (_takenPaths.contains(path) || _futures.containsKey(path)) {
+				continue;
+			}
+
+			_futures.put(
+				path,
+				threadPoolExecutor.submit(new ZipEntryObjectCallable(path)));
+		}
+	}
+
+	protected void visit(
+		Element stagedModelElement, Map<String, Element> stagedModelElements,
+		Set<Element> visitedStagedModelElements, List<String> paths) {
+
+		if (!visitedStagedModelElements.add(stagedModelElement)) {
+			return;
+		}
+
+		Element referencesElement = stagedModelElement.element("references");
+
+		if (referencesElement != null) {
+			for (Element referenceElement :
+					referencesElement.elements("reference")) {
+
+				String className = referenceElement.attributeValue(
+					"class-name");
+				String classPK = referenceElement.attributeValue("class-pk");
+
+				if (Validator.isNull(className) || Validator.isNull(classPK)) {
+					continue;
+				}
+
+				Element referenceDataElement = stagedModelElements.get(
+					className.concat(StringPool.POUND).concat(classPK));
+
+				if (referenceDataElement != null) {
+					visit(
+						referenceDataElement, stagedModelElements,
+						visitedStagedModelElements, paths);
+				}
+			}
+		}
+
+		paths.add(stagedModelElement.attributeValue("path"));
+	}
+
+	private static Log _log = LogFactoryUtil.getLog(
+		ZipEntryObjectPrefetcher.class);
+
+	private ClassLoader _classLoader;
+	private Map<String, Future<Object>> _futures =
+		new LinkedHashMap<String, Future<Object>>();
+	private int _index;
+	private List<String> _paths;
+	private PortletDataContext _portletDataContext;
+	private int _size;
+	private Set<String> _takenPaths = new HashSet<String>();
+	private ZipReader _zipReader;
+
+	private class ZipEntryObjectCallable implements Callable<Object> {
+
+		public ZipEntryObjectCallable(String path) {
+			_path = path;
+		}
+
+		@Override
+		public Object call() {
+			String xml = _zipReader.getEntryAsString(_path);
+
+			if (xml == null) {
+				return null;
+			}
+
+			return _portletDataContext.fromXML(xml);
+		}
+
+		private String _path;
+
+	}
+
+}
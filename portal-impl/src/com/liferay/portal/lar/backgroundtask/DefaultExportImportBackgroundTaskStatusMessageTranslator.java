@@ -142,6 +142,15 @@ public class DefaultExportImportBackgroundTaskStatusMessageTranslator
 			"currentModelDeletionCountersTotal",
 			getTotal(modelDeletionCounters));
 
+		Map<String, LongWrapper> modelDurations =
+			(Map<String, LongWrapper>)message.get("modelDurations");
+
+		if (modelDurations != null) {
+			backgroundTaskStatus.setAttribute(
+				"currentModelDurations",
+				new HashMap<String, LongWrapper>(modelDurations));
+		}
+
 		String stagedModelName = message.getString("stagedModelName");
 
 		backgroundTaskStatus.setAttribute("stagedModelName", stagedModelName);
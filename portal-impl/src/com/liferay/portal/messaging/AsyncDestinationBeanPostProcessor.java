@@ -0,0 +1,56 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.messaging;
+
+import com.liferay.portal.kernel.messaging.BaseAsyncDestination;
+
+import org.springframework.beans.BeansException;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+/**
+ * Configures the portal's asynchronous destinations before they are opened.
+ *
+ * @author Shuyang Zhou
+ */
+public class AsyncDestinationBeanPostProcessor implements BeanPostProcessor {
+
+	@Override
+	public Object postProcessAfterInitialization(Object bean, String beanName)
+		throws BeansException {
+
+		return bean;
+	}
+
+	@Override
+	public Object postProcessBeforeInitialization(Object bean, String beanName)
+		throws BeansException {
+
+		if (bean instanceof BaseAsyncDestination) {
+			BaseAsyncDestination baseAsyncDestination =
+				(BaseAsyncDestination)bean;
+
+			baseAsyncDestination.setWorkStealing(_workStealing);
+		}
+
+		return bean;
+	}
+
+	public void setWorkStealing(boolean workStealing) {
+		_workStealing = workStealing;
+	}
+
+	private boolean _workStealing;
+
+}
\ No newline at end of file
@@ -20,6 +20,7 @@ import com.liferay.portal.kernel.exception.SystemException;
 import com.liferay.portal.kernel.staging.LayoutStagingUtil;
 import com.liferay.portal.service.LayoutRevisionLocalServiceUtil;
 import com.liferay.portal.servlet.filters.cache.CacheUtil;
+import com.liferay.portlet.journalcontent.util.JournalContentUtil;
 
 /**
  * @author Alexander Chow
@@ -71,6 +72,12 @@ public class LayoutListener extends BaseModelListener<Layout> {
 			return;
 		}
 
+		// Journal content
+
+		JournalContentUtil.clearLayoutCache(layout.getUuid());
+
+		// Layout cache
+
 		if (!layout.isPrivateLayout()) {
 			CacheUtil.clearCache(layout.getCompanyId());
 		}
@@ -14,6 +14,7 @@
 
 package com.liferay.portal.model.impl;
 
+import com.liferay.portal.kernel.util.ParsedLocalization;
 import com.liferay.portal.kernel.util.StringBundler;
 import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.model.CacheModel;
@@ -262,6 +263,13 @@ public class LayoutCacheModel implements CacheModel<Layout>, Externalizable {
 
 		layoutImpl.resetOriginalValues();
 
+		layoutImpl.setNameParsedLocalization(nameParsedLocalization);
+		layoutImpl.setTitleParsedLocalization(titleParsedLocalization);
+		layoutImpl.setDescriptionParsedLocalization(
+			descriptionParsedLocalization);
+		layoutImpl.setKeywordsParsedLocalization(keywordsParsedLocalization);
+		layoutImpl.setRobotsParsedLocalization(robotsParsedLocalization);
+
 		return layoutImpl;
 	}
 
@@ -474,4 +482,10 @@ public class LayoutCacheModel implements CacheModel<Layout>, Externalizable {
 	public String layoutPrototypeUuid;
 	public boolean layoutPrototypeLinkEnabled;
 	public String sourcePrototypeLayoutUuid;
+
+	public transient ParsedLocalization nameParsedLocalization;
+	public transient ParsedLocalization titleParsedLocalization;
+	public transient ParsedLocalization descriptionParsedLocalization;
+	public transient ParsedLocalization keywordsParsedLocalization;
+	public transient ParsedLocalization robotsParsedLocalization;
 }
\ No newline at end of file
@@ -22,6 +22,7 @@ import com.liferay.portal.kernel.lar.StagedModelType;
 import com.liferay.portal.kernel.util.GetterUtil;
 import com.liferay.portal.kernel.util.LocaleUtil;
 import com.liferay.portal.kernel.util.LocalizationUtil;
+import com.liferay.portal.kernel.util.ParsedLocalization;
 import com.liferay.portal.kernel.util.ProxyUtil;
 import com.liferay.portal.kernel.util.StringBundler;
 import com.liferay.portal.kernel.util.StringPool;
@@ -711,13 +712,14 @@ public class LayoutModelImpl extends BaseModelImpl<Layout>
 
 	@Override
 	public String getName(String languageId) {
-		return LocalizationUtil.getLocalization(getName(), languageId);
+		return getName(languageId, true);
 	}
 
 	@Override
 	public String getName(String languageId, boolean useDefault) {
-		return LocalizationUtil.getLocalization(getName(), languageId,
-			useDefault);
+		ParsedLocalization nameParsedLocalization = getNameParsedLocalization();
+
+		return nameParsedLocalization.getLocalization(languageId, useDefault);
 	}
 
 	@Override
@@ -735,7 +737,31 @@ public class LayoutModelImpl extends BaseModelImpl<Layout>
 
 	@Override
 	public Map<Locale, String> getNameMap() {
-		return LocalizationUtil.getLocalizationMap(getName());
+		ParsedLocalization nameParsedLocalization = getNameParsedLocalization();
+
+		return nameParsedLocalization.getLocalizationMap(false);
+	}
+
+	protected ParsedLocalization getNameParsedLocalization() {
+		String name = getName();
+
+		ParsedLocalization nameParsedLocalization = _nameParsedLocalization;
+
+		if ((nameParsedLocalization == null) ||
+			(nameParsedLocalization.getXml() != name)) {
+
+			nameParsedLocalization = new ParsedLocalization(name);
+
+			_nameParsedLocalization = nameParsedLocalization;
+		}
+
+		return nameParsedLocalization;
+	}
+
+	protected void setNameParsedLocalization(
+		ParsedLocalization nameParsedLocalization) {
+
+		_nameParsedLocalization = nameParsedLocalization;
 	}
 
 	@Override
@@ -810,13 +836,15 @@ public class LayoutModelImpl extends BaseModelImpl<Layout>
 
 	@Override
 	public String getTitle(String languageId) {
-		return LocalizationUtil.getLocalization(getTitle(), languageId);
+		return getTitle(languageId, true);
 	}
 
 	@Override
 	public String getTitle(String languageId, boolean useDefault) {
-		return LocalizationUtil.getLocalization(getTitle(), languageId,
-			useDefault);
+		ParsedLocalization titleParsedLocalization =
+			getTitleParsedLocalization();
+
+		return titleParsedLocalization.getLocalization(languageId, useDefault);
 	}
 
 	@Override
@@ -834,7 +862,32 @@ public class LayoutModelImpl extends BaseModelImpl<Layout>
 
 	@Override
 	public Map<Locale, String> getTitleMap() {
-		return LocalizationUtil.getLocalizationMap(getTitle());
+		ParsedLocalization titleParsedLocalization =
+			getTitleParsedLocalization();
+
+		return titleParsedLocalization.getLocalizationMap(false);
+	}
+
+	protected ParsedLocalization getTitleParsedLocalization() {
+		String title = getTitle();
+
+		ParsedLocalization titleParsedLocalization = _titleParsedLocalization;
+
+		if ((titleParsedLocalization == null) ||
+			(titleParsedLocalization.getXml() != title)) {
+
+			titleParsedLocalization = new ParsedLocalization(title);
+
+			_titleParsedLocalization = titleParsedLocalization;
+		}
+
+		return titleParsedLocalization;
+	}
+
+	protected void setTitleParsedLocalization(
+		ParsedLocalization titleParsedLocalization) {
+
+		_titleParsedLocalization = titleParsedLocalization;
 	}
 
 	@Override
@@ -909,13 +962,16 @@ public class LayoutModelImpl extends BaseModelImpl<Layout>
 
 	@Override
 	public String getDescription(String languageId) {
-		return LocalizationUtil.getLocalization(getDescription(), languageId);
+		return getDescription(languageId, true);
 	}
 
 	@Override
 	public String getDescription(String languageId, boolean useDefault) {
-		return LocalizationUtil.getLocalization(getDescription(), languageId,
-			useDefault);
+		ParsedLocalization descriptionParsedLocalization =
+			getDescriptionParsedLocalization();
+
+		return descriptionParsedLocalization.getLocalization(
+			languageId, useDefault);
 	}
 
 	@Override
@@ -933,7 +989,33 @@ public class LayoutModelImpl extends BaseModelImpl<Layout>
 
 	@Override
 	public Map<Locale, String> getDescriptionMap() {
-		return LocalizationUtil.getLocalizationMap(getDescription());
+		ParsedLocalization descriptionParsedLocalization =
+			getDescriptionParsedLocalization();
+
+		return descriptionParsedLocalization.getLocalizationMap(false);
+	}
+
+	protected ParsedLocalization getDescriptionParsedLocalization() {
+		String description = getDescription();
+
+		ParsedLocalization descriptionParsedLocalization =
+			_descriptionParsedLocalization;
+
+		if ((descriptionParsedLocalization == null) ||
+			(descriptionParsedLocalization.getXml() != description)) {
+
+			descriptionParsedLocalization = new ParsedLocalization(description);
+
+			_descriptionParsedLocalization = descriptionParsedLocalization;
+		}
+
+		return descriptionParsedLocalization;
+	}
+
+	protected void setDescriptionParsedLocalization(
+		ParsedLocalization descriptionParsedLocalization) {
+
+		_descriptionParsedLocalization = descriptionParsedLocalization;
 	}
 
 	@Override
@@ -1012,13 +1094,16 @@ public class LayoutModelImpl extends BaseModelImpl<Layout>
 
 	@Override
 	public String getKeywords(String languageId) {
-		return LocalizationUtil.getLocalization(getKeywords(), languageId);
+		return getKeywords(languageId, true);
 	}
 
 	@Override
 	public String getKeywords(String languageId, boolean useDefault) {
-		return LocalizationUtil.getLocalization(getKeywords(), languageId,
-			useDefault);
+		ParsedLocalization keywordsParsedLocalization =
+			getKeywordsParsedLocalization();
+
+		return keywordsParsedLocalization.getLocalization(
+			languageId, useDefault);
 	}
 
 	@Override
@@ -1036,7 +1121,33 @@ public class LayoutModelImpl extends BaseModelImpl<Layout>
 
 	@Override
 	public Map<Locale, String> getKeywordsMap() {
-		return LocalizationUtil.getLocalizationMap(getKeywords());
+		ParsedLocalization keywordsParsedLocalization =
+			getKeywordsParsedLocalization();
+
+		return keywordsParsedLocalization.getLocalizationMap(false);
+	}
+
+	protected ParsedLocalization getKeywordsParsedLocalization() {
+		String keywords = getKeywords();
+
+		ParsedLocalization keywordsParsedLocalization =
+			_keywordsParsedLocalization;
+
+		if ((keywordsParsedLocalization == null) ||
+			(keywordsParsedLocalization.getXml() != keywords)) {
+
+			keywordsParsedLocalization = new ParsedLocalization(keywords);
+
+			_keywordsParsedLocalization = keywordsParsedLocalization;
+		}
+
+		return keywordsParsedLocalization;
+	}
+
+	protected void setKeywordsParsedLocalization(
+		ParsedLocalization keywordsParsedLocalization) {
+
+		_keywordsParsedLocalization = keywordsParsedLocalization;
 	}
 
 	@Override
@@ -1113,13 +1224,15 @@ public class LayoutModelImpl extends BaseModelImpl<Layout>
 
 	@Override
 	public String getRobots(String languageId) {
-		return LocalizationUtil.getLocalization(getRobots(), languageId);
+		return getRobots(languageId, true);
 	}
 
 	@Override
 	public String getRobots(String languageId, boolean useDefault) {
-		return LocalizationUtil.getLocalization(getRobots(), languageId,
-			useDefault);
+		ParsedLocalization robotsParsedLocalization =
+			getRobotsParsedLocalization();
+
+		return robotsParsedLocalization.getLocalization(languageId, useDefault);
 	}
 
 	@Override
@@ -1137,7 +1250,32 @@ public class LayoutModelImpl extends BaseModelImpl<Layout>
 
 	@Override
 	public Map<Locale, String> getRobotsMap() {
-		return LocalizationUtil.getLocalizationMap(getRobots());
+		ParsedLocalization robotsParsedLocalization =
+			getRobotsParsedLocalization();
+
+		return robotsParsedLocalization.getLocalizationMap(false);
+	}
+
+	protected ParsedLocalization getRobotsParsedLocalization() {
+		String robots = getRobots();
+
+		ParsedLocalization robotsParsedLocalization = _robotsParsedLocalization;
+
+		if ((robotsParsedLocalization == null) ||
+			(robotsParsedLocalization.getXml() != robots)) {
+
+			robotsParsedLocalization = new ParsedLocalization(robots);
+
+			_robotsParsedLocalization = robotsParsedLocalization;
+		}
+
+		return robotsParsedLocalization;
+	}
+
+	protected void setRobotsParsedLocalization(
+		ParsedLocalization robotsParsedLocalization) {
+
+		_robotsParsedLocalization = robotsParsedLocalization;
 	}
 
 	@Override
@@ -1964,6 +2102,15 @@ public class LayoutModelImpl extends BaseModelImpl<Layout>
 			layoutCacheModel.sourcePrototypeLayoutUuid = null;
 		}
 
+		layoutCacheModel.nameParsedLocalization = getNameParsedLocalization();
+		layoutCacheModel.titleParsedLocalization = getTitleParsedLocalization();
+		layoutCacheModel.descriptionParsedLocalization =
+			getDescriptionParsedLocalization();
+		layoutCacheModel.keywordsParsedLocalization =
+			getKeywordsParsedLocalization();
+		layoutCacheModel.robotsParsedLocalization =
+			getRobotsParsedLocalization();
+
 		return layoutCacheModel;
 	}
 
@@ -2203,14 +2350,19 @@ public class LayoutModelImpl extends BaseModelImpl<Layout>
 	private boolean _setOriginalParentLayoutId;
 	private String _name;
 	private String _nameCurrentLanguageId;
+	private ParsedLocalization _nameParsedLocalization;
 	private String _title;
 	private String _titleCurrentLanguageId;
+	private ParsedLocalization _titleParsedLocalization;
 	private String _description;
 	private String _descriptionCurrentLanguageId;
+	private ParsedLocalization _descriptionParsedLocalization;
 	private String _keywords;
 	private String _keywordsCurrentLanguageId;
+	private ParsedLocalization _keywordsParsedLocalization;
 	private String _robots;
 	private String _robotsCurrentLanguageId;
+	private ParsedLocalization _robotsParsedLocalization;
 	private String _type;
 	private String _originalType;
 	private String _typeSettings;
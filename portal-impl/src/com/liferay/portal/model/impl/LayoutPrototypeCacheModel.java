@@ -14,6 +14,7 @@
 
 package com.liferay.portal.model.impl;
 
+import com.liferay.portal.kernel.util.ParsedLocalization;
 import com.liferay.portal.kernel.util.StringBundler;
 import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.model.CacheModel;
@@ -127,6 +128,8 @@ public class LayoutPrototypeCacheModel implements CacheModel<LayoutPrototype>,
 
 		layoutPrototypeImpl.resetOriginalValues();
 
+		layoutPrototypeImpl.setNameParsedLocalization(nameParsedLocalization);
+
 		return layoutPrototypeImpl;
 	}
 
@@ -204,4 +207,6 @@ public class LayoutPrototypeCacheModel implements CacheModel<LayoutPrototype>,
 	public String description;
 	public String settings;
 	public boolean active;
+
+	public transient ParsedLocalization nameParsedLocalization;
 }
\ No newline at end of file
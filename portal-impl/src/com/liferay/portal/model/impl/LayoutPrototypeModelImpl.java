@@ -22,6 +22,7 @@ import com.liferay.portal.kernel.lar.StagedModelType;
 import com.liferay.portal.kernel.util.GetterUtil;
 import com.liferay.portal.kernel.util.LocaleUtil;
 import com.liferay.portal.kernel.util.LocalizationUtil;
+import com.liferay.portal.kernel.util.ParsedLocalization;
 import com.liferay.portal.kernel.util.ProxyUtil;
 import com.liferay.portal.kernel.util.StringBundler;
 import com.liferay.portal.kernel.util.StringPool;
@@ -422,13 +423,14 @@ public class LayoutPrototypeModelImpl extends BaseModelImpl<LayoutPrototype>
 
 	@Override
 	public String getName(String languageId) {
-		return LocalizationUtil.getLocalization(getName(), languageId);
+		return getName(languageId, true);
 	}
 
 	@Override
 	public String getName(String languageId, boolean useDefault) {
-		return LocalizationUtil.getLocalization(getName(), languageId,
-			useDefault);
+		ParsedLocalization nameParsedLocalization = getNameParsedLocalization();
+
+		return nameParsedLocalization.getLocalization(languageId, useDefault);
 	}
 
 	@Override
@@ -446,7 +448,31 @@ public class LayoutPrototypeModelImpl extends BaseModelImpl<LayoutPrototype>
 
 	@Override
 	public Map<Locale, String> getNameMap() {
-		return LocalizationUtil.getLocalizationMap(getName());
+		ParsedLocalization nameParsedLocalization = getNameParsedLocalization();
+
+		return nameParsedLocalization.getLocalizationMap(false);
+	}
+
+	protected ParsedLocalization getNameParsedLocalization() {
+		String name = getName();
+
+		ParsedLocalization nameParsedLocalization = _nameParsedLocalization;
+
+		if ((nameParsedLocalization == null) ||
+			(nameParsedLocalization.getXml() != name)) {
+
+			nameParsedLocalization = new ParsedLocalization(name);
+
+			_nameParsedLocalization = nameParsedLocalization;
+		}
+
+		return nameParsedLocalization;
+	}
+
+	protected void setNameParsedLocalization(
+		ParsedLocalization nameParsedLocalization) {
+
+		_nameParsedLocalization = nameParsedLocalization;
 	}
 
 	@Override
@@ -789,6 +815,9 @@ public class LayoutPrototypeModelImpl extends BaseModelImpl<LayoutPrototype>
 
 		layoutPrototypeCacheModel.active = getActive();
 
+		layoutPrototypeCacheModel.nameParsedLocalization =
+			getNameParsedLocalization();
+
 		return layoutPrototypeCacheModel;
 	}
 
@@ -898,6 +927,7 @@ public class LayoutPrototypeModelImpl extends BaseModelImpl<LayoutPrototype>
 	private Date _modifiedDate;
 	private String _name;
 	private String _nameCurrentLanguageId;
+	private ParsedLocalization _nameParsedLocalization;
 	private String _description;
 	private String _settings;
 	private boolean _active;
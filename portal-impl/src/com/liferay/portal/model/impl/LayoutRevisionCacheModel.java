@@ -14,6 +14,7 @@
 
 package com.liferay.portal.model.impl;
 
+import com.liferay.portal.kernel.util.ParsedLocalization;
 import com.liferay.portal.kernel.util.StringBundler;
 import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.model.CacheModel;
@@ -243,6 +244,15 @@ public class LayoutRevisionCacheModel implements CacheModel<LayoutRevision>,
 
 		layoutRevisionImpl.resetOriginalValues();
 
+		layoutRevisionImpl.setNameParsedLocalization(nameParsedLocalization);
+		layoutRevisionImpl.setTitleParsedLocalization(titleParsedLocalization);
+		layoutRevisionImpl.setDescriptionParsedLocalization(
+			descriptionParsedLocalization);
+		layoutRevisionImpl.setKeywordsParsedLocalization(
+			keywordsParsedLocalization);
+		layoutRevisionImpl.setRobotsParsedLocalization(
+			robotsParsedLocalization);
+
 		return layoutRevisionImpl;
 	}
 
@@ -430,4 +440,10 @@ public class LayoutRevisionCacheModel implements CacheModel<LayoutRevision>,
 	public long statusByUserId;
 	public String statusByUserName;
 	public long statusDate;
+
+	public transient ParsedLocalization nameParsedLocalization;
+	public transient ParsedLocalization titleParsedLocalization;
+	public transient ParsedLocalization descriptionParsedLocalization;
+	public transient ParsedLocalization keywordsParsedLocalization;
+	public transient ParsedLocalization robotsParsedLocalization;
 }
\ No newline at end of file
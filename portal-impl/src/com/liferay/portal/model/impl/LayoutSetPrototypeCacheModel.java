@@ -14,6 +14,7 @@
 
 package com.liferay.portal.model.impl;
 
+import com.liferay.portal.kernel.util.ParsedLocalization;
 import com.liferay.portal.kernel.util.StringBundler;
 import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.model.CacheModel;
@@ -127,6 +128,9 @@ public class LayoutSetPrototypeCacheModel implements CacheModel<LayoutSetPrototy
 
 		layoutSetPrototypeImpl.resetOriginalValues();
 
+		layoutSetPrototypeImpl.setNameParsedLocalization(
+			nameParsedLocalization);
+
 		return layoutSetPrototypeImpl;
 	}
 
@@ -204,4 +208,6 @@ public class LayoutSetPrototypeCacheModel implements CacheModel<LayoutSetPrototy
 	public String description;
 	public String settings;
 	public boolean active;
+
+	public transient ParsedLocalization nameParsedLocalization;
 }
\ No newline at end of file
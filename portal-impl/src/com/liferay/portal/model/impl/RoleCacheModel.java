@@ -14,6 +14,7 @@
 
 package com.liferay.portal.model.impl;
 
+import com.liferay.portal.kernel.util.ParsedLocalization;
 import com.liferay.portal.kernel.util.StringBundler;
 import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.model.CacheModel;
@@ -142,6 +143,10 @@ public class RoleCacheModel implements CacheModel<Role>, Externalizable {
 
 		roleImpl.resetOriginalValues();
 
+		roleImpl.setTitleParsedLocalization(titleParsedLocalization);
+		roleImpl.setDescriptionParsedLocalization(
+			descriptionParsedLocalization);
+
 		return roleImpl;
 	}
 
@@ -234,4 +239,7 @@ public class RoleCacheModel implements CacheModel<Role>, Externalizable {
 	public String description;
 	public int type;
 	public String subtype;
+
+	public transient ParsedLocalization titleParsedLocalization;
+	public transient ParsedLocalization descriptionParsedLocalization;
 }
\ No newline at end of file
@@ -22,6 +22,7 @@ import com.liferay.portal.kernel.lar.StagedModelType;
 import com.liferay.portal.kernel.util.GetterUtil;
 import com.liferay.portal.kernel.util.LocaleUtil;
 import com.liferay.portal.kernel.util.LocalizationUtil;
+import com.liferay.portal.kernel.util.ParsedLocalization;
 import com.liferay.portal.kernel.util.ProxyUtil;
 import com.liferay.portal.kernel.util.StringBundler;
 import com.liferay.portal.kernel.util.StringPool;
@@ -558,13 +559,15 @@ public class RoleModelImpl extends BaseModelImpl<Role> implements RoleModel {
 
 	@Override
 	public String getTitle(String languageId) {
-		return LocalizationUtil.getLocalization(getTitle(), languageId);
+		return getTitle(languageId, true);
 	}
 
 	@Override
 	public String getTitle(String languageId, boolean useDefault) {
-		return LocalizationUtil.getLocalization(getTitle(), languageId,
-			useDefault);
+		ParsedLocalization titleParsedLocalization =
+			getTitleParsedLocalization();
+
+		return titleParsedLocalization.getLocalization(languageId, useDefault);
 	}
 
 	@Override
@@ -582,7 +585,32 @@ public class RoleModelImpl extends BaseModelImpl<Role> implements RoleModel {
 
 	@Override
 	public Map<Locale, String> getTitleMap() {
-		return LocalizationUtil.getLocalizationMap(getTitle());
+		ParsedLocalization titleParsedLocalization =
+			getTitleParsedLocalization();
+
+		return titleParsedLocalization.getLocalizationMap(false);
+	}
+
+	protected ParsedLocalization getTitleParsedLocalization() {
+		String title = getTitle();
+
+		ParsedLocalization titleParsedLocalization = _titleParsedLocalization;
+
+		if ((titleParsedLocalization == null) ||
+			(titleParsedLocalization.getXml() != title)) {
+
+			titleParsedLocalization = new ParsedLocalization(title);
+
+			_titleParsedLocalization = titleParsedLocalization;
+		}
+
+		return titleParsedLocalization;
+	}
+
+	protected void setTitleParsedLocalization(
+		ParsedLocalization titleParsedLocalization) {
+
+		_titleParsedLocalization = titleParsedLocalization;
 	}
 
 	@Override
@@ -657,13 +685,16 @@ public class RoleModelImpl extends BaseModelImpl<Role> implements RoleModel {
 
 	@Override
 	public String getDescription(String languageId) {
-		return LocalizationUtil.getLocalization(getDescription(), languageId);
+		return getDescription(languageId, true);
 	}
 
 	@Override
 	public String getDescription(String languageId, boolean useDefault) {
-		return LocalizationUtil.getLocalization(getDescription(), languageId,
-			useDefault);
+		ParsedLocalization descriptionParsedLocalization =
+			getDescriptionParsedLocalization();
+
+		return descriptionParsedLocalization.getLocalization(
+			languageId, useDefault);
 	}
 
 	@Override
@@ -681,7 +712,33 @@ public class RoleModelImpl extends BaseModelImpl<Role> implements RoleModel {
 
 	@Override
 	public Map<Locale, String> getDescriptionMap() {
-		return LocalizationUtil.getLocalizationMap(getDescription());
+		ParsedLocalization descriptionParsedLocalization =
+			getDescriptionParsedLocalization();
+
+		return descriptionParsedLocalization.getLocalizationMap(false);
+	}
+
+	protected ParsedLocalization getDescriptionParsedLocalization() {
+		String description = getDescription();
+
+		ParsedLocalization descriptionParsedLocalization =
+			_descriptionParsedLocalization;
+
+		if ((descriptionParsedLocalization == null) ||
+			(descriptionParsedLocalization.getXml() != description)) {
+
+			descriptionParsedLocalization = new ParsedLocalization(description);
+
+			_descriptionParsedLocalization = descriptionParsedLocalization;
+		}
+
+		return descriptionParsedLocalization;
+	}
+
+	protected void setDescriptionParsedLocalization(
+		ParsedLocalization descriptionParsedLocalization) {
+
+		_descriptionParsedLocalization = descriptionParsedLocalization;
 	}
 
 	@Override
@@ -1063,6 +1120,10 @@ public class RoleModelImpl extends BaseModelImpl<Role> implements RoleModel {
 			roleCacheModel.subtype = null;
 		}
 
+		roleCacheModel.titleParsedLocalization = getTitleParsedLocalization();
+		roleCacheModel.descriptionParsedLocalization =
+			getDescriptionParsedLocalization();
+
 		return roleCacheModel;
 	}
 
@@ -1196,8 +1257,10 @@ public class RoleModelImpl extends BaseModelImpl<Role> implements RoleModel {
 	private String _originalName;
 	private String _title;
 	private String _titleCurrentLanguageId;
+	private ParsedLocalization _titleParsedLocalization;
 	private String _description;
 	private String _descriptionCurrentLanguageId;
+	private ParsedLocalization _descriptionParsedLocalization;
 	private int _type;
 	private int _originalType;
 	private boolean _setOriginalType;
@@ -103,6 +103,29 @@ public class PortalManager implements PortalManagerMBean {
 		return _summaryStatistics.getMinTimeByCompany(webId);
 	}
 
+	@Override
+	public long getPercentileTime(double percentile)
+		throws MonitoringException {
+
+		return _summaryStatistics.getPercentileTime(percentile);
+	}
+
+	@Override
+	public long getPercentileTimeByCompany(long companyId, double percentile)
+		throws MonitoringException {
+
+		return _summaryStatistics.getPercentileTimeByCompany(
+			companyId, percentile);
+	}
+
+	@Override
+	public long getPercentileTimeByCompany(String webId, double percentile)
+		throws MonitoringException {
+
+		return _summaryStatistics.getPercentileTimeByCompany(
+			webId, percentile);
+	}
+
 	@Override
 	public long getRequestCount() throws MonitoringException {
 		return _summaryStatistics.getRequestCount();
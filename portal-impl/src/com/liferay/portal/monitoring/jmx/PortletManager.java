@@ -193,6 +193,55 @@ public class PortletManager implements PortletManagerMBean {
 		return _portletSummaryStatistics.getMinTimeByPortlet(portletId, webId);
 	}
 
+	@Override
+	public long getPercentileTime(double percentile)
+		throws MonitoringException {
+
+		return _portletSummaryStatistics.getPercentileTime(percentile);
+	}
+
+	@Override
+	public long getPercentileTimeByCompany(long companyId, double percentile)
+		throws MonitoringException {
+
+		return _portletSummaryStatistics.getPercentileTimeByCompany(
+			companyId, percentile);
+	}
+
+	@Override
+	public long getPercentileTimeByCompany(String webId, double percentile)
+		throws MonitoringException {
+
+		return _portletSummaryStatistics.getPercentileTimeByCompany(
+			webId, percentile);
+	}
+
+	@Override
+	public long getPercentileTimeByPortlet(String portletId, double percentile)
+		throws MonitoringException {
+
+		return _portletSummaryStatistics.getPercentileTimeByPortlet(
+			portletId, percentile);
+	}
+
+	@Override
+	public long getPercentileTimeByPortlet(
+			String portletId, long companyId, double percentile)
+		throws MonitoringException {
+
+		return _portletSummaryStatistics.getPercentileTimeByPortlet(
+			portletId, companyId, percentile);
+	}
+
+	@Override
+	public long getPercentileTimeByPortlet(
+			String portletId, String webId, double percentile)
+		throws MonitoringException {
+
+		return _portletSummaryStatistics.getPercentileTimeByPortlet(
+			portletId, webId, percentile);
+	}
+
 	@Override
 	public String[] getPortletIds() {
 		Set<String> portletIds = _serverStatistics.getPortletIds();
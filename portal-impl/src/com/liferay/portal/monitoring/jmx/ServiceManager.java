@@ -71,6 +71,15 @@ public class ServiceManager implements ServiceManagerMBean {
 		return _serviceMonitorAdvice.getMonitoredMethods();
 	}
 
+	@Override
+	public long getPercentileTime(
+		String className, String methodName, String[] parameterTypes,
+		double percentile) {
+
+		return _serverStatistics.getPercentileTime(
+			className, methodName, parameterTypes, percentile);
+	}
+
 	@Override
 	public long getRequestCount(
 		String className, String methodName, String[] parameterTypes) {
@@ -45,6 +45,11 @@ public interface ServiceManagerMBean {
 
 	public Set<MethodSignature> getMonitoredMethods();
 
+	public long getPercentileTime(
+			String className, String methodName, String[] parameterTypes,
+			double percentile)
+		throws SystemException;
+
 	public long getRequestCount(
 			String className, String methodName, String[] parameterTypes)
 		throws SystemException;
@@ -0,0 +1,63 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.monitoring.statistics;
+
+import com.liferay.portal.kernel.concurrent.AtomicHistogram;
+import com.liferay.portal.kernel.monitoring.statistics.RequestStatistics;
+
+import java.util.Collection;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class LatencyHistogramUtil {
+
+	public static AtomicHistogram getLatencyHistogram(
+		Collection<RequestStatistics> requestStatisticsCollection) {
+
+		AtomicHistogram latencyHistogram = null;
+
+		for (RequestStatistics requestStatistics :
+				requestStatisticsCollection) {
+
+			AtomicHistogram atomicHistogram =
+				requestStatistics.getLatencyHistogram();
+
+			if (latencyHistogram == null) {
+				latencyHistogram = atomicHistogram;
+			}
+			else {
+				latencyHistogram.add(atomicHistogram);
+			}
+		}
+
+		if (latencyHistogram == null) {
+			latencyHistogram = new AtomicHistogram();
+		}
+
+		return latencyHistogram;
+	}
+
+	public static long getPercentileTime(
+		Collection<RequestStatistics> requestStatisticsCollection,
+		double percentile) {
+
+		AtomicHistogram latencyHistogram = getLatencyHistogram(
+			requestStatisticsCollection);
+
+		return latencyHistogram.getPercentile(percentile);
+	}
+
+}
@@ -0,0 +1,293 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.monitoring.statistics;
+
+import com.liferay.portal.kernel.concurrent.AtomicHistogram;
+import com.liferay.portal.kernel.monitoring.MonitoringException;
+import com.liferay.portal.kernel.monitoring.statistics.RequestStatistics;
+import com.liferay.portal.kernel.util.StringBundler;
+import com.liferay.portal.kernel.util.StringPool;
+import com.liferay.portal.kernel.util.StringUtil;
+import com.liferay.portal.monitoring.jmx.MethodSignature;
+import com.liferay.portal.monitoring.statistics.portal.CompanyStatistics;
+import com.liferay.portal.monitoring.statistics.service.ServiceStatistics;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * <p>
+ * Writes portal, portlet, and service request statistics in the Prometheus
+ * text exposition format. Each request statistics becomes a summary of its
+ * sliding window latency percentiles and a counter of requests by status.
+ * </p>
+ *
+ * @author Shuyang Zhou
+ */
+public class PrometheusFormatter {
+
+	public static final String CONTENT_TYPE =
+		"text/plain; version=0.0.4; charset=utf-8";
+
+	public void format(Writer writer) throws IOException, MonitoringException {
+		if (_portalServerStatistics != null) {
+			formatPortalStatistics(writer);
+		}
+
+		if (_portletServerStatistics != null) {
+			formatPortletStatistics(writer);
+		}
+
+		if (_serviceServerStatistics != null) {
+			formatServiceStatistics(writer);
+		}
+	}
+
+	public void setPortalServerStatistics(
+		com.liferay.portal.monitoring.statistics.portal.ServerStatistics
+			portalServerStatistics) {
+
+		_portalServerStatistics = portalServerStatistics;
+	}
+
+	public void setPortletServerStatistics(
+		com.liferay.portal.monitoring.statistics.portlet.ServerStatistics
+			portletServerStatistics) {
+
+		_portletServerStatistics = portletServerStatistics;
+	}
+
+	public void setServiceServerStatistics(
+		com.liferay.portal.monitoring.statistics.service.ServerStatistics
+			serviceServerStatistics) {
+
+		_serviceServerStatistics = serviceServerStatistics;
+	}
+
+	protected void formatPortalStatistics(Writer writer) throws IOException {
+		Map<String, RequestStatistics> requestStatisticsMap =
+			new LinkedHashMap<String, RequestStatistics>();
+
+		for (CompanyStatistics companyStatistics :
+				_portalServerStatistics.getCompanyStatisticsSet()) {
+
+			requestStatisticsMap.put(
+				getLabels("web_id", companyStatistics.getWebId()),
+				companyStatistics.getRequestStatistics());
+		}
+
+		formatRequestStatistics(
+			writer, "liferay_portal_request", "portal requests",
+			requestStatisticsMap);
+	}
+
+	protected void formatPortletStatistics(Writer writer)
+		throws IOException, MonitoringException {
+
+		Map<String, RequestStatistics> requestStatisticsMap =
+			new LinkedHashMap<String, RequestStatistics>();
+
+		for (com.liferay.portal.monitoring.statistics.portlet.CompanyStatistics
+				companyStatistics :
+					_portletServerStatistics.getCompanyStatisticsSet()) {
+
+			String webId = companyStatistics.getWebId();
+
+			for (String portletId : companyStatistics.getPortletIds()) {
+				requestStatisticsMap.put(
+					getLabels(
+						"web_id", webId, "portlet_id", portletId,
+						"request_type", "action"),
+					companyStatistics.getActionRequestStatistics(portletId));
+				requestStatisticsMap.put(
+					getLabels(
+						"web_id", webId, "portlet_id", portletId,
+						"request_type", "event"),
+					companyStatistics.getEventRequestStatistics(portletId));
+				requestStatisticsMap.put(
+					getLabels(
+						"web_id", webId, "portlet_id", portletId,
+						"request_type", "render"),
+					companyStatistics.getRenderRequestStatistics(portletId));
+				requestStatisticsMap.put(
+					getLabels(
+						"web_id", webId, "portlet_id", portletId,
+						"request_type", "resource"),
+					companyStatistics.getResourceRequestStatistics(portletId));
+			}
+		}
+
+		formatRequestStatistics(
+			writer, "liferay_portlet_request", "portlet requests",
+			requestStatisticsMap);
+	}
+
+	protected void formatRequestStatistics(
+			Writer writer, String name, String description,
+			Map<String, RequestStatistics> requestStatisticsMap)
+		throws IOException {
+
+		if (requestStatisticsMap.isEmpty()) {
+			return;
+		}
+
+		String durationName = name + "_duration_milliseconds";
+
+		writer.write("# HELP ");
+		writer.write(durationName);
+		writer.write(" Latency of successful ");
+		writer.write(description);
+		writer.write(" over the sliding window.\n");
+		writer.write("# TYPE ");
+		writer.write(durationName);
+		writer.write(" summary\n");
+
+		for (Map.Entry<String, RequestStatistics> entry :
+				requestStatisticsMap.entrySet()) {
+
+			String labels = entry.getKey();
+			RequestStatistics requestStatistics = entry.getValue();
+
+			AtomicHistogram latencyHistogram =
+				requestStatistics.getLatencyHistogram();
+
+			for (int i = 0; i < _QUANTILES.length; i++) {
+				writeSample(
+					writer, durationName,
+					labels + ",quantile=\"" + _QUANTILES[i] + "\"",
+					latencyHistogram.getPercentile(_PERCENTILES[i]));
+			}
+
+			writeSample(
+				writer, durationName + "_sum", labels,
+				requestStatistics.getTotalTime());
+			writeSample(
+				writer, durationName + "_count", labels,
+				requestStatistics.getSuccessCount());
+		}
+
+		String countName = name + "s_total";
+
+		writer.write("# HELP ");
+		writer.write(countName);
+		writer.write(" Number of ");
+		writer.write(description);
+		writer.write(" by status.\n");
+		writer.write("# TYPE ");
+		writer.write(countName);
+		writer.write(" counter\n");
+
+		for (Map.Entry<String, RequestStatistics> entry :
+				requestStatisticsMap.entrySet()) {
+
+			String labels = entry.getKey();
+			RequestStatistics requestStatistics = entry.getValue();
+
+			writeSample(
+				writer, countName, labels + ",status=\"error\"",
+				requestStatistics.getErrorCount());
+			writeSample(
+				writer, countName, labels + ",status=\"success\"",
+				requestStatistics.getSuccessCount());
+			writeSample(
+				writer, countName, labels + ",status=\"timeout\"",
+				requestStatistics.getTimeoutCount());
+		}
+	}
+
+	protected void formatServiceStatistics(Writer writer) throws IOException {
+		Map<String, RequestStatistics> requestStatisticsMap =
+			new LinkedHashMap<String, RequestStatistics>();
+
+		for (ServiceStatistics serviceStatistics :
+				_serviceServerStatistics.getServiceStatisticsSet()) {
+
+			Map<MethodSignature, RequestStatistics> methodRequestStatistics =
+				serviceStatistics.getMethodRequestStatistics();
+
+			for (Map.Entry<MethodSignature, RequestStatistics> entry :
+					methodRequestStatistics.entrySet()) {
+
+				MethodSignature methodSignature = entry.getKey();
+
+				requestStatisticsMap.put(
+					getLabels(
+						"class_name", methodSignature.getClassName(),
+						"method_name", methodSignature.getMethodName(),
+						"parameter_types",
+						StringUtil.merge(
+							methodSignature.getParameterTypeNames())),
+					entry.getValue());
+			}
+		}
+
+		formatRequestStatistics(
+			writer, "liferay_service_request", "service requests",
+			requestStatisticsMap);
+	}
+
+	protected String getLabels(String... namesAndValues) {
+		StringBundler sb = new StringBundler(namesAndValues.length * 3);
+
+		for (int i = 0; i < namesAndValues.length; i += 2) {
+			if (i > 0) {
+				sb.append(StringPool.COMMA);
+			}
+
+			sb.append(namesAndValues[i]);
+			sb.append("=\"");
+
+			String value = namesAndValues[i + 1];
+
+			if (value != null) {
+				value = StringUtil.replace(
+					value, new String[] {"\\", "\"", "\n"},
+					new String[] {"\\\\", "\\\"", "\\n"});
+			}
+
+			sb.append(value);
+			sb.append(StringPool.QUOTE);
+		}
+
+		return sb.toString();
+	}
+
+	protected void writeSample(
+			Writer writer, String name, String labels, long value)
+		throws IOException {
+
+		writer.write(name);
+		writer.write(StringPool.OPEN_CURLY_BRACE);
+		writer.write(labels);
+		writer.write("} ");
+		writer.write(String.valueOf(value));
+		writer.write(StringPool.NEW_LINE);
+	}
+
+	private static final double[] _PERCENTILES = {50, 95, 99, 99.9};
+
+	private static final String[] _QUANTILES = {"0.5", "0.95", "0.99", "0.999"};
+
+	private com.liferay.portal.monitoring.statistics.portal.ServerStatistics
+		_portalServerStatistics;
+	private com.liferay.portal.monitoring.statistics.portlet.ServerStatistics
+		_portletServerStatistics;
+	private com.liferay.portal.monitoring.statistics.service.ServerStatistics
+		_serviceServerStatistics;
+
+}
@@ -20,6 +20,7 @@ import com.liferay.portal.kernel.monitoring.statistics.RequestStatistics;
 import com.liferay.portal.model.Company;
 import com.liferay.portal.model.CompanyConstants;
 import com.liferay.portal.service.CompanyLocalService;
+import com.liferay.portal.util.PropsValues;
 
 /**
  * @author Rajesh Thiagarajan
@@ -32,7 +33,9 @@ public class CompanyStatistics
 	public CompanyStatistics() {
 		_companyId = CompanyConstants.SYSTEM;
 		_webId = CompanyConstants.SYSTEM_STRING;
-		_requestStatistics = new RequestStatistics(_webId);
+		_requestStatistics = new RequestStatistics(
+			_webId, PropsValues.MONITORING_STATISTICS_WINDOW_TIME,
+			PropsValues.MONITORING_STATISTICS_WINDOW_SLICES);
 	}
 
 	public CompanyStatistics(
@@ -43,7 +46,9 @@ public class CompanyStatistics
 
 			_companyId = company.getCompanyId();
 			_webId = webId;
-			_requestStatistics = new RequestStatistics(_webId);
+			_requestStatistics = new RequestStatistics(
+				_webId, PropsValues.MONITORING_STATISTICS_WINDOW_TIME,
+				PropsValues.MONITORING_STATISTICS_WINDOW_SLICES);
 		}
 		catch (Exception e) {
 			throw new IllegalStateException(
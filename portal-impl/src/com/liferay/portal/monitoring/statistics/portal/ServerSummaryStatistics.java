@@ -17,7 +17,10 @@ package com.liferay.portal.monitoring.statistics.portal;
 import com.liferay.portal.kernel.monitoring.MonitoringException;
 import com.liferay.portal.kernel.monitoring.statistics.RequestStatistics;
 import com.liferay.portal.kernel.monitoring.statistics.SummaryStatistics;
+import com.liferay.portal.monitoring.statistics.LatencyHistogramUtil;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -135,6 +138,35 @@ public class ServerSummaryStatistics implements SummaryStatistics {
 		return getRequestStatistics(webId).getMinTime();
 	}
 
+	@Override
+	public long getPercentileTime(double percentile) {
+		List<RequestStatistics> requestStatisticsList =
+			new ArrayList<RequestStatistics>();
+
+		for (CompanyStatistics companyStatistics :
+				_serverStatistics.getCompanyStatisticsSet()) {
+
+			requestStatisticsList.add(companyStatistics.getRequestStatistics());
+		}
+
+		return LatencyHistogramUtil.getPercentileTime(
+			requestStatisticsList, percentile);
+	}
+
+	@Override
+	public long getPercentileTimeByCompany(long companyId, double percentile)
+		throws MonitoringException {
+
+		return getRequestStatistics(companyId).getPercentileTime(percentile);
+	}
+
+	@Override
+	public long getPercentileTimeByCompany(String webId, double percentile)
+		throws MonitoringException {
+
+		return getRequestStatistics(webId).getPercentileTime(percentile);
+	}
+
 	@Override
 	public long getRequestCount() {
 		int requestCount = 0;
@@ -16,7 +16,11 @@ package com.liferay.portal.monitoring.statistics.portlet;
 
 import com.liferay.portal.kernel.monitoring.MonitoringException;
 import com.liferay.portal.kernel.monitoring.statistics.RequestStatistics;
+import com.liferay.portal.monitoring.statistics.LatencyHistogramUtil;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 
 /**
@@ -327,6 +331,94 @@ public class EventRequestSummaryStatistics implements PortletSummaryStatistics {
 		return getMinTimeByPortlet(portletId, companyStatistics);
 	}
 
+	@Override
+	public long getPercentileTime(double percentile) {
+		List<RequestStatistics> requestStatisticsList =
+			new ArrayList<RequestStatistics>();
+
+		for (CompanyStatistics companyStatistics :
+				_serverStatistics.getCompanyStatisticsSet()) {
+
+			requestStatisticsList.addAll(
+				companyStatistics.getEventRequestStatisticsSet());
+		}
+
+		return LatencyHistogramUtil.getPercentileTime(
+			requestStatisticsList, percentile);
+	}
+
+	@Override
+	public long getPercentileTimeByCompany(long companyId, double percentile)
+		throws MonitoringException {
+
+		CompanyStatistics companyStatistics =
+			_serverStatistics.getCompanyStatistics(companyId);
+
+		return LatencyHistogramUtil.getPercentileTime(
+			companyStatistics.getEventRequestStatisticsSet(), percentile);
+	}
+
+	@Override
+	public long getPercentileTimeByCompany(String webId, double percentile)
+		throws MonitoringException {
+
+		CompanyStatistics companyStatistics =
+			_serverStatistics.getCompanyStatistics(webId);
+
+		return LatencyHistogramUtil.getPercentileTime(
+			companyStatistics.getEventRequestStatisticsSet(), percentile);
+	}
+
+	@Override
+	public long getPercentileTimeByPortlet(String portletId, double percentile)
+		throws MonitoringException {
+
+		List<RequestStatistics> requestStatisticsList =
+			new ArrayList<RequestStatistics>();
+
+		for (CompanyStatistics companyStatistics :
+				_serverStatistics.getCompanyStatisticsSet()) {
+
+			Collection<String> portletIds = companyStatistics.getPortletIds();
+
+			if (portletIds.contains(portletId)) {
+				requestStatisticsList.add(
+					companyStatistics.getEventRequestStatistics(portletId));
+			}
+		}
+
+		return LatencyHistogramUtil.getPercentileTime(
+			requestStatisticsList, percentile);
+	}
+
+	@Override
+	public long getPercentileTimeByPortlet(
+			String portletId, long companyId, double percentile)
+		throws MonitoringException {
+
+		CompanyStatistics companyStatistics =
+			_serverStatistics.getCompanyStatistics(companyId);
+
+		RequestStatistics requestStatistics =
+			companyStatistics.getEventRequestStatistics(portletId);
+
+		return requestStatistics.getPercentileTime(percentile);
+	}
+
+	@Override
+	public long getPercentileTimeByPortlet(
+			String portletId, String webId, double percentile)
+		throws MonitoringException {
+
+		CompanyStatistics companyStatistics =
+			_serverStatistics.getCompanyStatistics(webId);
+
+		RequestStatistics requestStatistics =
+			companyStatistics.getEventRequestStatistics(portletId);
+
+		return requestStatistics.getPercentileTime(percentile);
+	}
+
 	@Override
 	public long getRequestCount() {
 		long requestCount = 0;
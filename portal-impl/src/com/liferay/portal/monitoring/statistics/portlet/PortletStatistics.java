@@ -18,6 +18,7 @@ import com.liferay.portal.kernel.monitoring.MonitoringException;
 import com.liferay.portal.kernel.monitoring.RequestStatus;
 import com.liferay.portal.kernel.monitoring.statistics.DataSampleProcessor;
 import com.liferay.portal.kernel.monitoring.statistics.RequestStatistics;
+import com.liferay.portal.util.PropsValues;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -36,10 +37,10 @@ public class PortletStatistics
 		_portletId = portletId;
 		_portletName = portletName;
 		_displayName = displayName;
-		_actionRequestStatistics = new RequestStatistics(portletId);
-		_eventRequestStatistics = new RequestStatistics(portletId);
-		_renderRequestStatistics = new RequestStatistics(portletId);
-		_resourceRequestStatistics = new RequestStatistics(portletId);
+		_actionRequestStatistics = createRequestStatistics(portletId);
+		_eventRequestStatistics = createRequestStatistics(portletId);
+		_renderRequestStatistics = createRequestStatistics(portletId);
+		_resourceRequestStatistics = createRequestStatistics(portletId);
 
 		_requestStatistics.put(
 			PortletRequestType.ACTION, _actionRequestStatistics);
@@ -121,6 +122,12 @@ public class PortletStatistics
 		_resourceRequestStatistics.reset();
 	}
 
+	protected RequestStatistics createRequestStatistics(String portletId) {
+		return new RequestStatistics(
+			portletId, PropsValues.MONITORING_STATISTICS_WINDOW_TIME,
+			PropsValues.MONITORING_STATISTICS_WINDOW_SLICES);
+	}
+
 	private RequestStatistics _actionRequestStatistics;
 	private String _displayName;
 	private RequestStatistics _eventRequestStatistics;
@@ -59,6 +59,17 @@ public interface PortletSummaryStatistics extends SummaryStatistics {
 	public long getMinTimeByPortlet(String portletId, String webId)
 		throws MonitoringException;
 
+	public long getPercentileTimeByPortlet(String portletId, double percentile)
+		throws MonitoringException;
+
+	public long getPercentileTimeByPortlet(
+			String portletId, long companyId, double percentile)
+		throws MonitoringException;
+
+	public long getPercentileTimeByPortlet(
+			String portletId, String webId, double percentile)
+		throws MonitoringException;
+
 	public long getRequestCountByPortlet(String portletId)
 		throws MonitoringException;
 
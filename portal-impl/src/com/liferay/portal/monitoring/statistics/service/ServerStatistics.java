@@ -17,7 +17,9 @@ package com.liferay.portal.monitoring.statistics.service;
 import com.liferay.portal.kernel.monitoring.statistics.DataSampleProcessor;
 import com.liferay.portal.monitoring.jmx.MethodSignature;
 
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 /**
@@ -74,6 +76,20 @@ public class ServerStatistics
 		return -1;
 	}
 
+	public long getPercentileTime(
+		String className, String methodName, String[] parameterTypes,
+		double percentile) {
+
+		ServiceStatistics serviceStatistics = _serviceStatistics.get(className);
+
+		if (serviceStatistics != null) {
+			return serviceStatistics.getPercentileTime(
+				methodName, parameterTypes, percentile);
+		}
+
+		return -1;
+	}
+
 	public long getRequestCount(
 		String className, String methodName, String[] parameterTypes) {
 
@@ -87,6 +103,10 @@ public class ServerStatistics
 		return -1;
 	}
 
+	public Set<ServiceStatistics> getServiceStatisticsSet() {
+		return new HashSet<ServiceStatistics>(_serviceStatistics.values());
+	}
+
 	@Override
 	public void processDataSample(
 		ServiceRequestDataSample serviceRequestDataSample) {
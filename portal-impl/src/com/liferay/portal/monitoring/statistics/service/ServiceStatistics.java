@@ -18,7 +18,9 @@ import com.liferay.portal.kernel.monitoring.RequestStatus;
 import com.liferay.portal.kernel.monitoring.statistics.DataSampleProcessor;
 import com.liferay.portal.kernel.monitoring.statistics.RequestStatistics;
 import com.liferay.portal.monitoring.jmx.MethodSignature;
+import com.liferay.portal.util.PropsValues;
 
+import java.util.Collections;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -46,6 +48,10 @@ public class ServiceStatistics
 		return -1;
 	}
 
+	public String getClassName() {
+		return _className;
+	}
+
 	public long getErrorCount(String methodName, String[] parameterTypes) {
 		MethodSignature methodSignature = new MethodSignature(
 			_className, methodName, parameterTypes);
@@ -74,6 +80,12 @@ public class ServiceStatistics
 		return -1;
 	}
 
+	public Map<MethodSignature, RequestStatistics>
+		getMethodRequestStatistics() {
+
+		return Collections.unmodifiableMap(_methodRequestStatistics);
+	}
+
 	public long getMinTime(String methodName, String[] parameterTypes) {
 		MethodSignature methodSignature = new MethodSignature(
 			_className, methodName, parameterTypes);
@@ -88,6 +100,22 @@ public class ServiceStatistics
 		return -1;
 	}
 
+	public long getPercentileTime(
+		String methodName, String[] parameterTypes, double percentile) {
+
+		MethodSignature methodSignature = new MethodSignature(
+			_className, methodName, parameterTypes);
+
+		RequestStatistics requestStatistics = _methodRequestStatistics.get(
+			methodSignature);
+
+		if (requestStatistics != null) {
+			return requestStatistics.getPercentileTime(percentile);
+		}
+
+		return -1;
+	}
+
 	public long getRequestCount(String methodName, String[] parameterTypes) {
 		MethodSignature methodSignature = new MethodSignature(
 			_className, methodName, parameterTypes);
@@ -114,7 +142,9 @@ public class ServiceStatistics
 
 		if (requestStatistics == null) {
 			requestStatistics = new RequestStatistics(
-				methodSignature.toString());
+				methodSignature.toString(),
+				PropsValues.MONITORING_STATISTICS_WINDOW_TIME,
+				PropsValues.MONITORING_STATISTICS_WINDOW_SLICES);
 
 			_methodRequestStatistics.put(methodSignature, requestStatistics);
 		}
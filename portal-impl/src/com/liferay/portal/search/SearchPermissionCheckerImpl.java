@@ -26,6 +26,8 @@ import com.liferay.portal.kernel.search.Indexer;
 import com.liferay.portal.kernel.search.IndexerRegistryUtil;
 import com.liferay.portal.kernel.search.Query;
 import com.liferay.portal.kernel.search.SearchContext;
+import com.liferay.portal.kernel.search.SearchEngine;
+import com.liferay.portal.kernel.search.SearchEngineUtil;
 import com.liferay.portal.kernel.search.SearchPermissionChecker;
 import com.liferay.portal.kernel.util.ArrayUtil;
 import com.liferay.portal.kernel.util.GetterUtil;
@@ -39,8 +41,10 @@ import com.liferay.portal.model.ResourceConstants;
 import com.liferay.portal.model.Role;
 import com.liferay.portal.model.RoleConstants;
 import com.liferay.portal.model.UserGroupRole;
+import com.liferay.portal.search.lucene.LuceneQueryImpl;
 import com.liferay.portal.security.permission.ActionKeys;
 import com.liferay.portal.security.permission.AdvancedPermissionChecker;
+import com.liferay.portal.security.permission.PermissionCacheUtil;
 import com.liferay.portal.security.permission.PermissionChecker;
 import com.liferay.portal.security.permission.PermissionCheckerBag;
 import com.liferay.portal.security.permission.PermissionThreadLocal;
@@ -56,14 +60,19 @@ import com.liferay.portal.util.PortalUtil;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+
+import org.apache.lucene.search.ConstantScoreQuery;
 
 /**
  * @author Allen Chiang
  * @author Bruno Farache
  * @author Raymond Augé
  * @author Amos Fong
+ * @author Shuyang Zhou
  */
 public class SearchPermissionCheckerImpl implements SearchPermissionChecker {
 
@@ -146,16 +155,14 @@ public class SearchPermissionCheckerImpl implements SearchPermissionChecker {
 		}
 	}
 
-	protected void addRequiredMemberRole(
-			Group group, BooleanQuery permissionQuery)
+	protected void addRequiredMemberRole(Group group, Set<String> groupRoleIds)
 		throws Exception {
 
 		if (group.isOrganization()) {
 			Role organizationUserRole = RoleLocalServiceUtil.getRole(
 				group.getCompanyId(), RoleConstants.ORGANIZATION_USER);
 
-			permissionQuery.addTerm(
-				Field.GROUP_ROLE_ID,
+			groupRoleIds.add(
 				group.getGroupId() + StringPool.DASH +
 					organizationUserRole.getRoleId());
 		}
@@ -164,8 +171,7 @@ public class SearchPermissionCheckerImpl implements SearchPermissionChecker {
 			Role siteMemberRole = RoleLocalServiceUtil.getRole(
 				group.getCompanyId(), RoleConstants.SITE_MEMBER);
 
-			permissionQuery.addTerm(
-				Field.GROUP_ROLE_ID,
+			groupRoleIds.add(
 				group.getGroupId() + StringPool.DASH +
 					siteMemberRole.getRoleId());
 		}
@@ -286,11 +292,65 @@ public class SearchPermissionCheckerImpl implements SearchPermissionChecker {
 			return query;
 		}
 
+		SearchPermissionFilter searchPermissionFilter =
+			PermissionCacheUtil.getSearchPermissionFilter(
+				companyId, groupIds, userId,
+				advancedPermissionChecker.isSignedIn(), className);
+
+		if (searchPermissionFilter == null) {
+			searchPermissionFilter = doGetSearchPermissionFilter(
+				companyId, groupIds, userId, className,
+				advancedPermissionChecker);
+
+			if (searchPermissionFilter == null) {
+				return query;
+			}
+
+			PermissionCacheUtil.putSearchPermissionFilter(
+				companyId, groupIds, userId,
+				advancedPermissionChecker.isSignedIn(), className,
+				searchPermissionFilter);
+		}
+
+		if (searchPermissionFilter.isUnrestricted()) {
+			return query;
+		}
+
+		Query permissionQuery = null;
+
+		if (isLuceneSearchEngine(searchContext)) {
+
+			// Match the permission terms as a filter so that Lucene skips
+			// scoring them and reuses the bitsets cached for the roles
+
+			permissionQuery = new LuceneQueryImpl(
+				new ConstantScoreQuery(
+					searchPermissionFilter.getLuceneFilter(
+						companyId, searchContext)));
+		}
+		else {
+			permissionQuery = searchPermissionFilter.getPermissionQuery(
+				searchContext);
+		}
+
+		BooleanQuery fullQuery = BooleanQueryFactoryUtil.create(searchContext);
+
+		fullQuery.add(query, BooleanClauseOccur.MUST);
+		fullQuery.add(permissionQuery, BooleanClauseOccur.MUST);
+
+		return fullQuery;
+	}
+
+	protected SearchPermissionFilter doGetSearchPermissionFilter(
+			long companyId, long[] groupIds, long userId, String className,
+			AdvancedPermissionChecker advancedPermissionChecker)
+		throws Exception {
+
 		PermissionCheckerBag permissionCheckerBag = getPermissionCheckerBag(
 			advancedPermissionChecker, userId);
 
 		if (permissionCheckerBag == null) {
-			return query;
+			return null;
 		}
 
 		List<Group> groups = new UniqueList<Group>();
@@ -343,37 +403,28 @@ public class SearchPermissionCheckerImpl implements SearchPermissionChecker {
 			roles.addAll(groupRoles);
 		}
 
-		return doGetPermissionQuery_6(
-			companyId, groupIds, userId, className, query, searchContext,
-			advancedPermissionChecker, groups, roles, userGroupRoles,
-			groupIdsToRoles);
+		return doGetSearchPermissionFilter_6(
+			companyId, groupIds, userId, className, advancedPermissionChecker,
+			groups, roles, userGroupRoles, groupIdsToRoles);
 	}
 
-	protected Query doGetPermissionQuery_6(
+	protected SearchPermissionFilter doGetSearchPermissionFilter_6(
 			long companyId, long[] groupIds, long userId, String className,
-			Query query, SearchContext searchContext,
 			AdvancedPermissionChecker advancedPermissionChecker,
 			List<Group> groups, List<Role> roles,
 			List<UserGroupRole> userGroupRoles,
 			Map<Long, List<Role>> groupIdsToRoles)
 		throws Exception {
 
-		BooleanQuery permissionQuery = BooleanQueryFactoryUtil.create(
-			searchContext);
-
-		if (userId > 0) {
-			permissionQuery.addTerm(Field.USER_ID, userId);
-		}
-
-		BooleanQuery groupsQuery = BooleanQueryFactoryUtil.create(
-			searchContext);
-		BooleanQuery rolesQuery = BooleanQueryFactoryUtil.create(searchContext);
+		Set<Long> permissionGroupIds = new LinkedHashSet<Long>();
+		Set<String> permissionGroupRoleIds = new LinkedHashSet<String>();
+		Set<Long> permissionRoleIds = new LinkedHashSet<Long>();
 
 		for (Role role : roles) {
 			String roleName = role.getName();
 
 			if (roleName.equals(RoleConstants.ADMINISTRATOR)) {
-				return query;
+				return SearchPermissionFilter.UNRESTRICTED;
 			}
 
 			if (ResourcePermissionLocalServiceUtil.hasResourcePermission(
@@ -381,7 +432,7 @@ public class SearchPermissionCheckerImpl implements SearchPermissionChecker {
 					String.valueOf(companyId), role.getRoleId(),
 					ActionKeys.VIEW)) {
 
-				return query;
+				return SearchPermissionFilter.UNRESTRICTED;
 			}
 
 			if ((role.getType() == RoleConstants.TYPE_REGULAR) &&
@@ -391,7 +442,7 @@ public class SearchPermissionCheckerImpl implements SearchPermissionChecker {
 					String.valueOf(GroupConstants.DEFAULT_PARENT_GROUP_ID),
 					role.getRoleId(), ActionKeys.VIEW)) {
 
-				return query;
+				return SearchPermissionFilter.UNRESTRICTED;
 			}
 
 			for (Group group : groups) {
@@ -400,7 +451,7 @@ public class SearchPermissionCheckerImpl implements SearchPermissionChecker {
 						String.valueOf(group.getGroupId()), role.getRoleId(),
 						ActionKeys.VIEW)) {
 
-					groupsQuery.addTerm(Field.GROUP_ID, group.getGroupId());
+					permissionGroupIds.add(group.getGroupId());
 				}
 
 				if ((role.getType() != RoleConstants.TYPE_REGULAR) &&
@@ -414,7 +465,7 @@ public class SearchPermissionCheckerImpl implements SearchPermissionChecker {
 						group.getGroupId());
 
 					if (groupRoles.contains(role)) {
-						groupsQuery.addTerm(Field.GROUP_ID, group.getGroupId());
+						permissionGroupIds.add(group.getGroupId());
 					}
 				}
 
@@ -422,41 +473,30 @@ public class SearchPermissionCheckerImpl implements SearchPermissionChecker {
 					!roleName.equals(RoleConstants.SITE_MEMBER) &&
 					(role.getType() == RoleConstants.TYPE_SITE)) {
 
-					rolesQuery.addTerm(
-						Field.GROUP_ROLE_ID,
+					permissionGroupRoleIds.add(
 						group.getGroupId() + StringPool.DASH +
 							role.getRoleId());
 				}
 			}
 
-			rolesQuery.addTerm(Field.ROLE_ID, role.getRoleId());
+			permissionRoleIds.add(role.getRoleId());
 		}
 
 		for (Group group : groups) {
-			addRequiredMemberRole(group, rolesQuery);
+			addRequiredMemberRole(group, permissionGroupRoleIds);
 		}
 
 		for (UserGroupRole userGroupRole : userGroupRoles) {
-			rolesQuery.addTerm(
-				Field.GROUP_ROLE_ID,
+			permissionGroupRoleIds.add(
 				userGroupRole.getGroupId() + StringPool.DASH +
 					userGroupRole.getRoleId());
 		}
 
-		if (groupsQuery.hasClauses()) {
-			permissionQuery.add(groupsQuery, BooleanClauseOccur.SHOULD);
-		}
-
-		if (rolesQuery.hasClauses()) {
-			permissionQuery.add(rolesQuery, BooleanClauseOccur.SHOULD);
-		}
-
-		BooleanQuery fullQuery = BooleanQueryFactoryUtil.create(searchContext);
-
-		fullQuery.add(query, BooleanClauseOccur.MUST);
-		fullQuery.add(permissionQuery, BooleanClauseOccur.MUST);
-
-		return fullQuery;
+		return new SearchPermissionFilter(
+			userId, ArrayUtil.toLongArray(permissionGroupIds),
+			ArrayUtil.toLongArray(permissionRoleIds),
+			permissionGroupRoleIds.toArray(
+				new String[permissionGroupRoleIds.size()]));
 	}
 
 	protected void doUpdatePermissionFields(
@@ -482,6 +522,21 @@ public class SearchPermissionCheckerImpl implements SearchPermissionChecker {
 		}
 	}
 
+	protected boolean isLuceneSearchEngine(SearchContext searchContext) {
+		SearchEngine searchEngine = SearchEngineUtil.getSearchEngineSilent(
+			searchContext.getSearchEngineId());
+
+		if ((searchEngine != null) &&
+			_LUCENE_VENDOR.equals(searchEngine.getVendor())) {
+
+			return true;
+		}
+
+		return false;
+	}
+
+	private static final String _LUCENE_VENDOR = "Lucene";
+
 	private static Log _log = LogFactoryUtil.getLog(
 		SearchPermissionCheckerImpl.class);
 
@@ -0,0 +1,206 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.search;
+
+import com.liferay.portal.kernel.search.BooleanClauseOccur;
+import com.liferay.portal.kernel.search.BooleanQuery;
+import com.liferay.portal.kernel.search.BooleanQueryFactoryUtil;
+import com.liferay.portal.kernel.search.Field;
+import com.liferay.portal.kernel.search.ParseException;
+import com.liferay.portal.kernel.search.QueryTranslatorUtil;
+import com.liferay.portal.kernel.search.SearchContext;
+import com.liferay.portal.security.permission.PermissionCacheUtil;
+
+import java.io.Serializable;
+
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.ConstantScoreQuery;
+import org.apache.lucene.search.Filter;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.QueryWrapperFilter;
+
+/**
+ * <p>
+ * Holds the terms a user's search results must match to pass the index-time
+ * permission fields, as computed by {@link SearchPermissionCheckerImpl}.
+ * Instances are cached by {@link
+ * com.liferay.portal.security.permission.PermissionCacheUtil} and are
+ * discarded whenever roles, resource permissions, or memberships change.
+ * </p>
+ *
+ * <p>
+ * For Lucene, the role terms are matched by a {@link
+ * SearchPermissionRolesFilter} that is shared by all users with the same roles
+ * and caches a bitset per index segment. The user, group and group role terms
+ * are few and are matched without caching.
+ * </p>
+ *
+ * @author Shuyang Zhou
+ */
+public class SearchPermissionFilter implements Serializable {
+
+	public static final SearchPermissionFilter UNRESTRICTED =
+		new SearchPermissionFilter();
+
+	public SearchPermissionFilter(
+		long userId, long[] groupIds, long[] roleIds, String[] groupRoleIds) {
+
+		_userId = userId;
+		_groupIds = groupIds;
+		_roleIds = roleIds;
+		_groupRoleIds = groupRoleIds;
+
+		_unrestricted = false;
+	}
+
+	public long[] getGroupIds() {
+		return _groupIds;
+	}
+
+	public String[] getGroupRoleIds() {
+		return _groupRoleIds;
+	}
+
+	public Filter getLuceneFilter(long companyId, SearchContext searchContext)
+		throws ParseException {
+
+		SearchPermissionRolesFilter searchPermissionRolesFilter = null;
+
+		if (_roleIds.length > 0) {
+			searchPermissionRolesFilter =
+				PermissionCacheUtil.getSearchPermissionRolesFilter(
+					companyId, _roleIds);
+
+			if (searchPermissionRolesFilter == null) {
+				BooleanQuery rolesQuery = BooleanQueryFactoryUtil.create(
+					searchContext);
+
+				for (long roleId : _roleIds) {
+					rolesQuery.addTerm(Field.ROLE_ID, roleId);
+				}
+
+				searchPermissionRolesFilter = new SearchPermissionRolesFilter(
+					(Query)QueryTranslatorUtil.translate(rolesQuery));
+
+				searchPermissionRolesFilter =
+					PermissionCacheUtil.putSearchPermissionRolesFilter(
+						companyId, _roleIds, searchPermissionRolesFilter);
+			}
+		}
+
+		BooleanQuery membershipQuery = getPermissionQuery(searchContext, false);
+
+		if (!membershipQuery.hasClauses()) {
+			if (searchPermissionRolesFilter != null) {
+				return searchPermissionRolesFilter;
+			}
+
+			return new QueryWrapperFilter(
+				(Query)QueryTranslatorUtil.translate(membershipQuery));
+		}
+
+		org.apache.lucene.search.BooleanQuery booleanQuery =
+			new org.apache.lucene.search.BooleanQuery();
+
+		booleanQuery.add(
+			(Query)QueryTranslatorUtil.translate(membershipQuery),
+			BooleanClause.Occur.SHOULD);
+
+		if (searchPermissionRolesFilter != null) {
+			booleanQuery.add(
+				new ConstantScoreQuery(searchPermissionRolesFilter),
+				BooleanClause.Occur.SHOULD);
+		}
+
+		return new QueryWrapperFilter(booleanQuery);
+	}
+
+	public BooleanQuery getPermissionQuery(SearchContext searchContext)
+		throws ParseException {
+
+		return getPermissionQuery(searchContext, true);
+	}
+
+	public long[] getRoleIds() {
+		return _roleIds;
+	}
+
+	public long getUserId() {
+		return _userId;
+	}
+
+	public boolean isUnrestricted() {
+		return _unrestricted;
+	}
+
+	protected BooleanQuery getPermissionQuery(
+			SearchContext searchContext, boolean includeRoleIds)
+		throws ParseException {
+
+		BooleanQuery permissionQuery = BooleanQueryFactoryUtil.create(
+			searchContext);
+
+		if (_userId > 0) {
+			permissionQuery.addTerm(Field.USER_ID, _userId);
+		}
+
+		BooleanQuery groupsQuery = BooleanQueryFactoryUtil.create(
+			searchContext);
+
+		for (long groupId : _groupIds) {
+			groupsQuery.addTerm(Field.GROUP_ID, groupId);
+		}
+
+		BooleanQuery rolesQuery = BooleanQueryFactoryUtil.create(searchContext);
+
+		if (includeRoleIds) {
+			for (long roleId : _roleIds) {
+				rolesQuery.addTerm(Field.ROLE_ID, roleId);
+			}
+		}
+
+		for (String groupRoleId : _groupRoleIds) {
+			rolesQuery.addTerm(Field.GROUP_ROLE_ID, groupRoleId);
+		}
+
+		if (groupsQuery.hasClauses()) {
+			permissionQuery.add(groupsQuery, BooleanClauseOccur.SHOULD);
+		}
+
+		if (rolesQuery.hasClauses()) {
+			permissionQuery.add(rolesQuery, BooleanClauseOccur.SHOULD);
+		}
+
+		return permissionQuery;
+	}
+
+	private SearchPermissionFilter() {
+		_userId = 0;
+		_groupIds = new long[0];
+		_roleIds = new long[0];
+		_groupRoleIds = new String[0];
+
+		_unrestricted = true;
+	}
+
+	private static final long serialVersionUID = 1L;
+
+	private final long[] _groupIds;
+	private final String[] _groupRoleIds;
+	private final long[] _roleIds;
+	private final boolean _unrestricted;
+	private final long _userId;
+
+}
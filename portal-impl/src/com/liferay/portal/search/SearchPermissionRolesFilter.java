@@ -0,0 +1,188 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.search;
+
+import com.liferay.portal.util.PropsValues;
+
+import java.io.IOException;
+
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.search.DocIdSet;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.search.Filter;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.QueryWrapperFilter;
+import org.apache.lucene.util.FixedBitSet;
+
+/**
+ * <p>
+ * Matches the documents that can be viewed through a set of roles and caches
+ * the matches as a bitset per index segment. Instances are cached by {@link
+ * com.liferay.portal.security.permission.PermissionCacheUtil} per company and
+ * role IDs, so all users with the same roles share the same bitsets.
+ * </p>
+ *
+ * <p>
+ * The bitsets only depend on the role ID fields of the indexed documents, so
+ * they stay valid when permissions change. Reindexed documents are added to
+ * new segments, which get their own bitsets.
+ * </p>
+ *
+ * <p>
+ * The bitsets of all instances share the memory budget set by the property
+ * "permissions.search.roles.filter.cache.max.size". Once the budget is used
+ * up, further bitsets are computed for each search and are not kept until
+ * cached instances are released.
+ * </p>
+ *
+ * @author Shuyang Zhou
+ */
+public class SearchPermissionRolesFilter extends Filter {
+
+	public static void clearAll() {
+		_generationCounter.incrementAndGet();
+
+		_cachedBytes.set(0);
+	}
+
+	public static long getCachedBytes() {
+		return _cachedBytes.get();
+	}
+
+	public SearchPermissionRolesFilter(Query query) {
+		this(query, PropsValues.PERMISSIONS_SEARCH_ROLES_FILTER_CACHE_MAX_SIZE);
+	}
+
+	public SearchPermissionRolesFilter(Query query, long maxCachedBytes) {
+		_queryWrapperFilter = new QueryWrapperFilter(query);
+		_maxCachedBytes = maxCachedBytes;
+
+		_generation = _generationCounter.get();
+	}
+
+	public synchronized void clear() {
+		if (_generation == _generationCounter.get()) {
+			_cachedBytes.addAndGet(-_size);
+		}
+
+		_fixedBitSets.clear();
+
+		_size = 0;
+	}
+
+	@Override
+	public DocIdSet getDocIdSet(IndexReader indexReader) throws IOException {
+		Object coreCacheKey = indexReader.getCoreCacheKey();
+
+		FixedBitSet fixedBitSet = null;
+
+		synchronized (this) {
+			fixedBitSet = _fixedBitSets.get(coreCacheKey);
+		}
+
+		if (fixedBitSet != null) {
+			return fixedBitSet;
+		}
+
+		fixedBitSet = new FixedBitSet(indexReader.maxDoc());
+
+		DocIdSet docIdSet = _queryWrapperFilter.getDocIdSet(indexReader);
+
+		if (docIdSet != null) {
+			DocIdSetIterator docIdSetIterator = docIdSet.iterator();
+
+			if (docIdSetIterator != null) {
+				fixedBitSet.or(docIdSetIterator);
+			}
+		}
+
+		cache(coreCacheKey, fixedBitSet);
+
+		return fixedBitSet;
+	}
+
+	public synchronized long getSize() {
+		return _size;
+	}
+
+	protected synchronized void cache(
+		Object coreCacheKey, FixedBitSet fixedBitSet) {
+
+		if (_generation != _generationCounter.get()) {
+			_fixedBitSets.clear();
+
+			_size = 0;
+
+			return;
+		}
+
+		// Account for the bitsets of closed segments that were already
+		// dropped from the weak map
+
+		long size = 0;
+
+		for (FixedBitSet cachedFixedBitSet : _fixedBitSets.values()) {
+			size += getSize(cachedFixedBitSet);
+		}
+
+		_cachedBytes.addAndGet(size - _size);
+
+		_size = size;
+
+		if (_fixedBitSets.containsKey(coreCacheKey)) {
+			return;
+		}
+
+		size = getSize(fixedBitSet);
+
+		while (true) {
+			long cachedBytes = _cachedBytes.get();
+
+			if ((cachedBytes + size) > _maxCachedBytes) {
+				return;
+			}
+
+			if (_cachedBytes.compareAndSet(cachedBytes, cachedBytes + size)) {
+				break;
+			}
+		}
+
+		_fixedBitSets.put(coreCacheKey, fixedBitSet);
+
+		_size += size;
+	}
+
+	protected long getSize(FixedBitSet fixedBitSet) {
+		long[] bits = fixedBitSet.getBits();
+
+		return bits.length * 8L;
+	}
+
+	private static AtomicLong _cachedBytes = new AtomicLong();
+	private static AtomicInteger _generationCounter = new AtomicInteger();
+
+	private Map<Object, FixedBitSet> _fixedBitSets =
+		new WeakHashMap<Object, FixedBitSet>();
+	private int _generation;
+	private long _maxCachedBytes;
+	private QueryWrapperFilter _queryWrapperFilter;
+	private long _size;
+
+}
@@ -14,27 +14,38 @@
 
 package com.liferay.portal.search.lucene;
 
+import com.liferay.portal.kernel.bean.PortalBeanLocatorUtil;
+import com.liferay.portal.kernel.jmx.MBeanRegistry;
 import com.liferay.portal.kernel.log.Log;
 import com.liferay.portal.kernel.log.LogFactoryUtil;
 import com.liferay.portal.kernel.resiliency.spi.SPIUtil;
 import com.liferay.portal.kernel.search.SearchEngineUtil;
+import com.liferay.portal.kernel.util.CharPool;
 import com.liferay.portal.kernel.util.FileUtil;
 import com.liferay.portal.kernel.util.InstanceFactory;
+import com.liferay.portal.kernel.util.LocaleUtil;
 import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.search.lucene.dump.DumpIndexDeletionPolicy;
 import com.liferay.portal.search.lucene.dump.IndexCommitSerializationUtil;
+import com.liferay.portal.search.lucene.jmx.IndexSearcherManager;
+import com.liferay.portal.search.lucene.jmx.IndexWriteQueueManager;
 import com.liferay.portal.util.ClassLoaderUtil;
 import com.liferay.portal.util.PropsValues;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
 import java.io.OutputStream;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.Lock;
@@ -55,6 +66,10 @@ import org.apache.lucene.index.Term;
 import org.apache.lucene.search.IndexSearcher;
 import org.apache.lucene.search.MatchAllDocsQuery;
 import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.SearcherWarmer;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
 import org.apache.lucene.search.TopDocs;
 import org.apache.lucene.store.Directory;
 import org.apache.lucene.store.FSDirectory;
@@ -73,13 +88,34 @@ public class IndexAccessorImpl implements IndexAccessor {
 	public IndexAccessorImpl(long companyId) {
 		_companyId = companyId;
 
+		_indexSearcherStatistics = new IndexSearcherStatistics(companyId);
+
 		if (!SPIUtil.isSPI()) {
 			_checkLuceneDir();
 			_initIndexWriter();
+			_initSearcherManager();
+			_initIndexWriteQueue();
 			_initCommitScheduler();
 		}
 	}
 
+	@Override
+	public IndexSearcher acquireIndexSearcher() throws IOException {
+		_indexSearcherStatistics.recordAcquire();
+
+		if (_searcherManager != null) {
+			return _searcherManager.acquire();
+		}
+
+		IndexReader indexReader = IndexReader.open(getLuceneDir(), true);
+
+		IndexSearcher indexSearcher = new IndexSearcher(indexReader);
+
+		_configureIndexSearcher(indexSearcher);
+
+		return indexSearcher;
+	}
+
 	@Override
 	public void addDocument(Document document) throws IOException {
 		if (SearchEngineUtil.isIndexReadOnly()) {
@@ -93,6 +129,12 @@ public class IndexAccessorImpl implements IndexAccessor {
 	public void addDocuments(Collection<Document> documents)
 		throws IOException {
 
+		if (_indexWriteQueue != null) {
+			_indexWriteQueue.addDocuments(documents);
+
+			return;
+		}
+
 		try {
 			for (Document document : documents) {
 				_indexWriter.addDocument(document);
@@ -111,6 +153,25 @@ public class IndexAccessorImpl implements IndexAccessor {
 			return;
 		}
 
+		if (_indexWriteQueue != null) {
+			_unregisterIndexWriteQueueManager();
+
+			_indexWriteQueue.close();
+		}
+
+		_unregisterIndexSearcherManager();
+
+		if (_searcherManager != null) {
+			try {
+				_searcherManager.close();
+			}
+			catch (Exception e) {
+				_log.error(
+					"Closing Lucene searcher manager failed for " + _companyId,
+					e);
+			}
+		}
+
 		try {
 			_indexWriter.close();
 		}
@@ -134,6 +195,12 @@ public class IndexAccessorImpl implements IndexAccessor {
 			return;
 		}
 
+		if (_indexWriteQueue != null) {
+			_indexWriteQueue.deleteDocuments(term);
+
+			return;
+		}
+
 		try {
 			_indexWriter.deleteDocuments(term);
 
@@ -146,6 +213,8 @@ public class IndexAccessorImpl implements IndexAccessor {
 
 	@Override
 	public void dumpIndex(OutputStream outputStream) throws IOException {
+		_flushIndexWriteQueue();
+
 		_dumpIndexDeletionPolicy.dump(outputStream, _indexWriter, _commitLock);
 	}
 
@@ -154,6 +223,10 @@ public class IndexAccessorImpl implements IndexAccessor {
 		return _companyId;
 	}
 
+	public IndexWriteQueue getIndexWriteQueue() {
+		return _indexWriteQueue;
+	}
+
 	@Override
 	public long getLastGeneration() {
 		return _dumpIndexDeletionPolicy.getLastGeneration();
@@ -216,6 +289,8 @@ public class IndexAccessorImpl implements IndexAccessor {
 			}
 		}
 
+		_flushIndexWriteQueue();
+
 		indexSearcher.close();
 
 		indexReader.flush();
@@ -266,13 +341,22 @@ public class IndexAccessorImpl implements IndexAccessor {
 		}
 	}
 
+	private void _configureIndexSearcher(IndexSearcher indexSearcher) {
+		indexSearcher.setDefaultFieldSortScoring(true, true);
+		indexSearcher.setSimilarity(new FieldWeightSimilarity());
+	}
+
 	private void _deleteAll() {
 		String path = _getPath();
 
 		try {
+			_flushIndexWriteQueue();
+
 			_indexWriter.deleteAll();
 
 			_indexWriter.commit();
+
+			_reopenSearcherManager();
 		}
 		catch (Exception e) {
 			if (_log.isWarnEnabled()) {
@@ -316,6 +400,27 @@ public class IndexAccessorImpl implements IndexAccessor {
 		}
 
 		_batchCount = 0;
+
+		_reopenSearcherManager();
+	}
+
+	private void _flushIndexWriteQueue() throws IOException {
+		if (_indexWriteQueue == null) {
+			return;
+		}
+
+		Future<Void> future = _indexWriteQueue.flush();
+
+		try {
+			future.get();
+		}
+		catch (ExecutionException ee) {
+			throw new IOException(ee.getCause());
+		}
+		catch (InterruptedException ie) {
+			throw new InterruptedIOException(
+				"Interrupted while flushing index write queue");
+		}
 	}
 
 	private FSDirectory _getDirectory(String path) throws IOException {
@@ -327,6 +432,16 @@ public class IndexAccessorImpl implements IndexAccessor {
 		}
 	}
 
+	private String _getIndexSearcherManagerObjectNameCacheKey() {
+		return _INDEX_SEARCHER_MANAGER_OBJECT_NAME_CACHE_KEY_PREFIX.concat(
+			String.valueOf(_companyId));
+	}
+
+	private String _getIndexWriteQueueManagerObjectNameCacheKey() {
+		return _INDEX_WRITE_QUEUE_MANAGER_OBJECT_NAME_CACHE_KEY_PREFIX.concat(
+			String.valueOf(_companyId));
+	}
+
 	private Directory _getLuceneDirFile() {
 		Directory directory = null;
 
@@ -402,7 +517,11 @@ public class IndexAccessorImpl implements IndexAccessor {
 	}
 
 	private void _initCommitScheduler() {
-		if ((PropsValues.LUCENE_COMMIT_BATCH_SIZE <= 0) ||
+
+		// The write queue commits its own batches
+
+		if ((_indexWriteQueue != null) ||
+			(PropsValues.LUCENE_COMMIT_BATCH_SIZE <= 0) ||
 			(PropsValues.LUCENE_COMMIT_TIME_INTERVAL <= 0)) {
 
 			return;
@@ -466,7 +585,234 @@ public class IndexAccessorImpl implements IndexAccessor {
 		}
 	}
 
+	private void _initIndexWriteQueue() {
+		if ((_indexWriter == null) || !PropsValues.LUCENE_WRITE_QUEUE_ENABLED) {
+			return;
+		}
+
+		_indexWriteQueue = new IndexWriteQueue(
+			IndexAccessorImpl.class.getName() + "-" + _companyId, _indexWriter,
+			PropsValues.LUCENE_WRITE_QUEUE_CAPACITY,
+			PropsValues.LUCENE_WRITE_QUEUE_BATCH_SIZE) {
+
+			@Override
+			protected void commit() throws IOException {
+				_doCommit();
+			}
+
+		};
+
+		try {
+			MBeanRegistry mBeanRegistry =
+				(MBeanRegistry)PortalBeanLocatorUtil.locate(
+					_M_BEAN_REGISTRY_BEAN_NAME);
+
+			mBeanRegistry.replace(
+				_getIndexWriteQueueManagerObjectNameCacheKey(),
+				new IndexWriteQueueManager(_companyId, _indexWriteQueue),
+				IndexWriteQueueManager.createObjectName(_companyId));
+		}
+		catch (Exception e) {
+			if (_log.isWarnEnabled()) {
+				_log.warn(
+					"Unable to register index write queue manager for " +
+						_companyId,
+					e);
+			}
+		}
+	}
+
+	private void _initSearcherManager() {
+		if (_indexWriter == null) {
+			return;
+		}
+
+		try {
+			_searcherManager = new SearcherManager(
+				_indexWriter, true, new IndexSearcherWarmer(), null);
+
+			IndexSearcher indexSearcher = _searcherManager.acquire();
+
+			try {
+
+				// The initial searcher is not passed to the warmer
+
+				_warmIndexSearcher(indexSearcher);
+			}
+			finally {
+				_searcherManager.release(indexSearcher);
+			}
+
+			_indexSearcherStatistics.recordOpen();
+		}
+		catch (Exception e) {
+			_log.error(
+				"Initializing Lucene searcher manager failed for " +
+					_companyId,
+				e);
+
+			_searcherManager = null;
+
+			return;
+		}
+
+		try {
+			MBeanRegistry mBeanRegistry =
+				(MBeanRegistry)PortalBeanLocatorUtil.locate(
+					_M_BEAN_REGISTRY_BEAN_NAME);
+
+			mBeanRegistry.replace(
+				_getIndexSearcherManagerObjectNameCacheKey(),
+				new IndexSearcherManager(_indexSearcherStatistics),
+				IndexSearcherManager.createObjectName(_companyId));
+		}
+		catch (Exception e) {
+			if (_log.isWarnEnabled()) {
+				_log.warn(
+					"Unable to register index searcher manager for " +
+						_companyId,
+					e);
+			}
+		}
+	}
+
+	private void _reopenSearcherManager() {
+		if (_searcherManager == null) {
+			return;
+		}
+
+		long startTime = System.currentTimeMillis();
+
+		try {
+			if (_searcherManager.maybeReopen()) {
+				_indexSearcherStatistics.recordReopen(
+					System.currentTimeMillis() - startTime);
+			}
+		}
+		catch (Exception e) {
+			_log.error(
+				"Reopening Lucene searcher failed for " + _companyId, e);
+		}
+	}
+
+	private void _unregisterIndexSearcherManager() {
+		if (_searcherManager == null) {
+			return;
+		}
+
+		try {
+			MBeanRegistry mBeanRegistry =
+				(MBeanRegistry)PortalBeanLocatorUtil.locate(
+					_M_BEAN_REGISTRY_BEAN_NAME);
+
+			mBeanRegistry.unregister(
+				_getIndexSearcherManagerObjectNameCacheKey(),
+				IndexSearcherManager.createObjectName(_companyId));
+		}
+		catch (Exception e) {
+			if (_log.isWarnEnabled()) {
+				_log.warn(
+					"Unable to unregister index searcher manager for " +
+						_companyId,
+					e);
+			}
+		}
+	}
+
+	private void _unregisterIndexWriteQueueManager() {
+		try {
+			MBeanRegistry mBeanRegistry =
+				(MBeanRegistry)PortalBeanLocatorUtil.locate(
+					_M_BEAN_REGISTRY_BEAN_NAME);
+
+			mBeanRegistry.unregister(
+				_getIndexWriteQueueManagerObjectNameCacheKey(),
+				IndexWriteQueueManager.createObjectName(_companyId));
+		}
+		catch (Exception e) {
+			if (_log.isWarnEnabled()) {
+				_log.warn(
+					"Unable to unregister index write queue manager for " +
+						_companyId,
+					e);
+			}
+		}
+	}
+
+	private static SortField[] _getWarmSortFields() {
+		List<SortField> sortFields = new ArrayList<SortField>();
+
+		for (String warmSortField :
+				PropsValues.LUCENE_SEARCHER_WARM_SORT_FIELDS) {
+
+			String fieldName = warmSortField;
+			String typeName = "string";
+
+			int index = warmSortField.indexOf(CharPool.COLON);
+
+			if (index > 0) {
+				fieldName = warmSortField.substring(0, index);
+				typeName = warmSortField.substring(index + 1);
+			}
+
+			if (typeName.equals("double")) {
+				sortFields.add(new SortField(fieldName, SortField.DOUBLE));
+			}
+			else if (typeName.equals("float")) {
+				sortFields.add(new SortField(fieldName, SortField.FLOAT));
+			}
+			else if (typeName.equals("int")) {
+				sortFields.add(new SortField(fieldName, SortField.INT));
+			}
+			else if (typeName.equals("long")) {
+				sortFields.add(new SortField(fieldName, SortField.LONG));
+			}
+			else if (typeName.equals("string")) {
+
+				// Searches sort strings with the search context's locale. The
+				// locale only affects the comparison, every locale reads the
+				// same field cache.
+
+				sortFields.add(
+					new SortField(fieldName, LocaleUtil.getDefault()));
+			}
+			else if (_log.isWarnEnabled()) {
+				_log.warn(
+					"Unable to warm " + fieldName + " with unknown type " +
+						typeName);
+			}
+		}
+
+		return sortFields.toArray(new SortField[sortFields.size()]);
+	}
+
+	private void _warmIndexSearcher(IndexSearcher indexSearcher)
+		throws IOException {
+
+		_configureIndexSearcher(indexSearcher);
+
+		// Sort once by each field with the same sort field type the searches
+		// use, so that exactly the field caches their comparators read are
+		// loaded
+
+		for (SortField sortField : _warmSortFields) {
+			indexSearcher.search(
+				new MatchAllDocsQuery(), null, 1, new Sort(sortField));
+		}
+	}
+
 	private void _write(Term term, Document document) throws IOException {
+		if (_indexWriteQueue != null) {
+			if (term != null) {
+				_indexWriteQueue.updateDocument(term, document);
+			}
+			else {
+				_indexWriteQueue.addDocument(document);
+			}
+
+			return;
+		}
+
 		try {
 			if (term != null) {
 				_indexWriter.updateDocument(term, document);
@@ -482,21 +828,45 @@ public class IndexAccessorImpl implements IndexAccessor {
 		}
 	}
 
+	private static final String
+		_INDEX_SEARCHER_MANAGER_OBJECT_NAME_CACHE_KEY_PREFIX =
+			"indexSearcherManager";
+
+	private static final String
+		_INDEX_WRITE_QUEUE_MANAGER_OBJECT_NAME_CACHE_KEY_PREFIX =
+			"indexWriteQueueManager";
+
 	private static final String _LUCENE_STORE_TYPE_FILE = "file";
 
 	private static final String _LUCENE_STORE_TYPE_JDBC = "jdbc";
 
 	private static final String _LUCENE_STORE_TYPE_RAM = "ram";
 
+	private static final String _M_BEAN_REGISTRY_BEAN_NAME = "mBeanRegistry";
+
 	private static Log _log = LogFactoryUtil.getLog(IndexAccessorImpl.class);
 
+	private static SortField[] _warmSortFields = _getWarmSortFields();
+
 	private volatile int _batchCount;
 	private Lock _commitLock = new ReentrantLock();
 	private long _companyId;
 	private DumpIndexDeletionPolicy _dumpIndexDeletionPolicy =
 		new DumpIndexDeletionPolicy();
+	private IndexSearcherStatistics _indexSearcherStatistics;
+	private IndexWriteQueue _indexWriteQueue;
 	private IndexWriter _indexWriter;
 	private Map<String, Directory> _ramDirectories =
 		new ConcurrentHashMap<String, Directory>();
+	private SearcherManager _searcherManager;
+
+	private class IndexSearcherWarmer implements SearcherWarmer {
+
+		@Override
+		public void warm(IndexSearcher indexSearcher) throws IOException {
+			_warmIndexSearcher(indexSearcher);
+		}
+
+	}
 
 }
\ No newline at end of file
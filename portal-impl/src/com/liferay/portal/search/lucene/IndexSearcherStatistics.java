@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.search.lucene;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class IndexSearcherStatistics {
+
+	public IndexSearcherStatistics(long companyId) {
+		_companyId = companyId;
+	}
+
+	public long getAcquireCount() {
+		return _acquireCount.get();
+	}
+
+	public long getAverageReopenTime() {
+		long reopenCount = _reopenCount.get();
+
+		if (reopenCount == 0) {
+			return 0;
+		}
+
+		return _totalReopenTime.get() / reopenCount;
+	}
+
+	public long getCompanyId() {
+		return _companyId;
+	}
+
+	public long getLastReopenTime() {
+		return _lastReopenTime;
+	}
+
+	public long getMaxReopenTime() {
+		return _maxReopenTime.get();
+	}
+
+	public long getReopenCount() {
+		return _reopenCount.get();
+	}
+
+	public long getSearcherAge() {
+		if (_searcherOpenTime == 0) {
+			return 0;
+		}
+
+		return System.currentTimeMillis() - _searcherOpenTime;
+	}
+
+	public void recordAcquire() {
+		_acquireCount.incrementAndGet();
+	}
+
+	public void recordOpen() {
+		_searcherOpenTime = System.currentTimeMillis();
+	}
+
+	public void recordReopen(long reopenTime) {
+		_searcherOpenTime = System.currentTimeMillis();
+
+		_lastReopenTime = reopenTime;
+
+		_reopenCount.incrementAndGet();
+		_totalReopenTime.addAndGet(reopenTime);
+
+		while (true) {
+			long maxReopenTime = _maxReopenTime.get();
+
+			if ((reopenTime <= maxReopenTime) ||
+				_maxReopenTime.compareAndSet(maxReopenTime, reopenTime)) {
+
+				break;
+			}
+		}
+	}
+
+	public void reset() {
+		_acquireCount.set(0);
+		_lastReopenTime = 0;
+		_maxReopenTime.set(0);
+		_reopenCount.set(0);
+		_totalReopenTime.set(0);
+	}
+
+	private final AtomicLong _acquireCount = new AtomicLong();
+	private final long _companyId;
+	private volatile long _lastReopenTime;
+	private final AtomicLong _maxReopenTime = new AtomicLong();
+	private final AtomicLong _reopenCount = new AtomicLong();
+	private volatile long _searcherOpenTime;
+	private final AtomicLong _totalReopenTime = new AtomicLong();
+
+}
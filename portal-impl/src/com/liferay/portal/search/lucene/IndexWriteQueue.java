@@ -0,0 +1,383 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.search.lucene;
+
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.apache.lucene.document.Document;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.Term;
+
+/**
+ * <p>
+ * Queues index writes and applies them on a dedicated writer thread. The
+ * writer thread drains whatever operations are queued, up to the batch size,
+ * applies them and commits once for the whole batch. Each operation returns a
+ * future that completes when the commit of its batch completes, so callers
+ * that need durability can wait on it while everyone else returns as soon as
+ * the operation is queued.
+ * </p>
+ *
+ * <p>
+ * The queue is bounded. When it is full, callers block until the writer
+ * thread catches up.
+ * </p>
+ *
+ * @author Shuyang Zhou
+ */
+public abstract class IndexWriteQueue {
+
+	public IndexWriteQueue(
+		String name, IndexWriter indexWriter, int capacity, int batchSize) {
+
+		_indexWriter = indexWriter;
+		_batchSize = batchSize;
+
+		_blockingQueue = new LinkedBlockingQueue<IndexOperation>(capacity);
+
+		_writerThread = new Thread(new Writer(), name);
+
+		_writerThread.setDaemon(true);
+
+		_writerThread.start();
+	}
+
+	public Future<Void> addDocument(final Document document)
+		throws IOException {
+
+		return _submit(
+			new IndexOperation() {
+
+				@Override
+				protected void apply(IndexWriter indexWriter)
+					throws IOException {
+
+					indexWriter.addDocument(document);
+				}
+
+			});
+	}
+
+	public Future<Void> addDocuments(final Collection<Document> documents)
+		throws IOException {
+
+		return _submit(
+			new IndexOperation() {
+
+				@Override
+				protected void apply(IndexWriter indexWriter)
+					throws IOException {
+
+					for (Document document : documents) {
+						indexWriter.addDocument(document);
+					}
+				}
+
+			});
+	}
+
+	public void close() {
+		if (_closed) {
+			return;
+		}
+
+		_closed = true;
+
+		try {
+			_blockingQueue.put(_CLOSE_INDEX_OPERATION);
+
+			_writerThread.join();
+		}
+		catch (InterruptedException ie) {
+			Thread currentThread = Thread.currentThread();
+
+			currentThread.interrupt();
+		}
+	}
+
+	public Future<Void> deleteDocuments(final Term term) throws IOException {
+		return _submit(
+			new IndexOperation() {
+
+				@Override
+				protected void apply(IndexWriter indexWriter)
+					throws IOException {
+
+					indexWriter.deleteDocuments(term);
+				}
+
+			});
+	}
+
+	public Future<Void> flush() throws IOException {
+		return _submit(
+			new IndexOperation() {
+
+				@Override
+				protected void apply(IndexWriter indexWriter) {
+				}
+
+			});
+	}
+
+	public long getAverageBatchSize() {
+		long commitCount = _commitCount.get();
+
+		if (commitCount == 0) {
+			return 0;
+		}
+
+		return _operationCount.get() / commitCount;
+	}
+
+	public long getAverageCommitTime() {
+		long commitCount = _commitCount.get();
+
+		if (commitCount == 0) {
+			return 0;
+		}
+
+		return _commitTime.get() / commitCount;
+	}
+
+	public long getBlockedCount() {
+		return _blockedCount.get();
+	}
+
+	public long getCommitCount() {
+		return _commitCount.get();
+	}
+
+	public int getMaxQueueDepth() {
+		return _maxQueueDepth.get();
+	}
+
+	public long getOperationCount() {
+		return _operationCount.get();
+	}
+
+	public int getQueueDepth() {
+		return _blockingQueue.size();
+	}
+
+	public void reset() {
+		_blockedCount.set(0);
+		_commitCount.set(0);
+		_commitTime.set(0);
+		_maxQueueDepth.set(0);
+		_operationCount.set(0);
+	}
+
+	public Future<Void> updateDocument(final Term term, final Document document)
+		throws IOException {
+
+		return _submit(
+			new IndexOperation() {
+
+				@Override
+				protected void apply(IndexWriter indexWriter)
+					throws IOException {
+
+					indexWriter.updateDocument(term, document);
+				}
+
+			});
+	}
+
+	protected abstract void commit() throws IOException;
+
+	private void _process(List<IndexOperation> indexOperations) {
+		List<Throwable> throwables = new ArrayList<Throwable>(
+			indexOperations.size());
+
+		for (IndexOperation indexOperation : indexOperations) {
+			Throwable throwable = null;
+
+			try {
+				indexOperation.apply(_indexWriter);
+			}
+			catch (Throwable t) {
+				throwable = t;
+			}
+
+			throwables.add(throwable);
+		}
+
+		long startTime = System.currentTimeMillis();
+
+		Throwable commitThrowable = null;
+
+		try {
+			commit();
+		}
+		catch (Throwable t) {
+			_log.error("Unable to commit index write batch", t);
+
+			commitThrowable = t;
+		}
+
+		_commitCount.incrementAndGet();
+		_commitTime.addAndGet(System.currentTimeMillis() - startTime);
+		_operationCount.addAndGet(indexOperations.size());
+
+		for (int i = 0; i < indexOperations.size(); i++) {
+			IndexOperation indexOperation = indexOperations.get(i);
+
+			Throwable throwable = throwables.get(i);
+
+			if (throwable == null) {
+				throwable = commitThrowable;
+			}
+
+			indexOperation.complete(throwable);
+		}
+	}
+
+	private Future<Void> _submit(IndexOperation indexOperation)
+		throws IOException {
+
+		if (_closed) {
+			throw new IllegalStateException("Index write queue is closed");
+		}
+
+		if (!_blockingQueue.offer(indexOperation)) {
+			_blockedCount.incrementAndGet();
+
+			try {
+				_blockingQueue.put(indexOperation);
+			}
+			catch (InterruptedException ie) {
+				throw new InterruptedIOException(
+					"Interrupted while waiting for index write queue");
+			}
+		}
+
+		int queueDepth = _blockingQueue.size();
+
+		while (true) {
+			int maxQueueDepth = _maxQueueDepth.get();
+
+			if ((queueDepth <= maxQueueDepth) ||
+				_maxQueueDepth.compareAndSet(maxQueueDepth, queueDepth)) {
+
+				break;
+			}
+		}
+
+		return indexOperation;
+	}
+
+	private static final IndexOperation _CLOSE_INDEX_OPERATION =
+		new IndexOperation() {
+
+			@Override
+			protected void apply(IndexWriter indexWriter) {
+			}
+
+		};
+
+	private static Log _log = LogFactoryUtil.getLog(IndexWriteQueue.class);
+
+	private final int _batchSize;
+	private final AtomicLong _blockedCount = new AtomicLong();
+	private final BlockingQueue<IndexOperation> _blockingQueue;
+	private volatile boolean _closed;
+	private final AtomicLong _commitCount = new AtomicLong();
+	private final AtomicLong _commitTime = new AtomicLong();
+	private final IndexWriter _indexWriter;
+	private final AtomicInteger _maxQueueDepth = new AtomicInteger();
+	private final AtomicLong _operationCount = new AtomicLong();
+	private final Thread _writerThread;
+
+	private abstract static class IndexOperation extends FutureTask<Void> {
+
+		protected abstract void apply(IndexWriter indexWriter)
+			throws IOException;
+
+		protected void complete(Throwable throwable) {
+			if (throwable == null) {
+				set(null);
+			}
+			else {
+				setException(throwable);
+			}
+		}
+
+		private IndexOperation() {
+			super(_NOOP_RUNNABLE, null);
+		}
+
+		private static final Runnable _NOOP_RUNNABLE = new Runnable() {
+
+			@Override
+			public void run() {
+			}
+
+		};
+
+	}
+
+	private class Writer implements Runnable {
+
+		@Override
+		public void run() {
+			List<IndexOperation> indexOperations =
+				new ArrayList<IndexOperation>(_batchSize);
+
+			boolean closed = false;
+
+			while (!closed) {
+				try {
+					indexOperations.add(_blockingQueue.take());
+				}
+				catch (InterruptedException ie) {
+					continue;
+				}
+
+				_blockingQueue.drainTo(indexOperations, _batchSize - 1);
+
+				int index = indexOperations.indexOf(_CLOSE_INDEX_OPERATION);
+
+				if (index >= 0) {
+					indexOperations.remove(index);
+
+					closed = true;
+				}
+
+				if (!indexOperations.isEmpty()) {
+					_process(indexOperations);
+				}
+
+				indexOperations.clear();
+			}
+		}
+
+	}
+
+}
@@ -290,8 +290,12 @@ public class LuceneHelperImpl implements LuceneHelper {
 
 			IndexReader indexReader = indexSearcher.getIndexReader();
 
+			// Index searchers may be shared across threads, so release the
+			// reader instead of closing it. The reader closes itself once its
+			// last reference is released.
+
 			if (indexReader != null) {
-				indexReader.close();
+				indexReader.decRef();
 			}
 		}
 		catch (IOException ioe) {
@@ -521,6 +525,10 @@ public class LuceneHelperImpl implements LuceneHelper {
 
 		IndexAccessor indexAccessor = getIndexAccessor(companyId);
 
+		if (readOnly) {
+			return indexAccessor.acquireIndexSearcher();
+		}
+
 		IndexReader indexReader = IndexReader.open(
 			indexAccessor.getLuceneDir(), readOnly);
 
@@ -709,6 +717,11 @@ public class LuceneHelperImpl implements LuceneHelper {
 
 		LuceneIndexer luceneIndexer = new LuceneIndexer(companyId);
 
+		// Only the reindex on startup resumes the run that a shutdown
+		// interrupted, an explicit reindex always starts over
+
+		luceneIndexer.setResume(true);
+
 		if (PropsValues.INDEX_WITH_THREAD) {
 			if (_luceneIndexThreadPoolExecutor == null) {
 
@@ -18,14 +18,18 @@ import com.liferay.portal.kernel.dao.shard.ShardUtil;
 import com.liferay.portal.kernel.log.Log;
 import com.liferay.portal.kernel.log.LogFactoryUtil;
 import com.liferay.portal.kernel.search.Indexer;
+import com.liferay.portal.kernel.search.ReindexCheckpointUtil;
 import com.liferay.portal.kernel.search.SearchEngineUtil;
 import com.liferay.portal.kernel.util.ListUtil;
+import com.liferay.portal.kernel.util.StringBundler;
+import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.kernel.util.Time;
 import com.liferay.portal.model.Portlet;
 import com.liferay.portal.service.PortletLocalServiceUtil;
 import com.liferay.portal.util.PropsValues;
 import com.liferay.portal.util.comparator.PortletLuceneComparator;
 
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
@@ -53,6 +57,10 @@ public class LuceneIndexer implements Runnable {
 		return _finished;
 	}
 
+	public boolean isResume() {
+		return _resume;
+	}
+
 	public void reindex() {
 		reindex(0);
 	}
@@ -73,6 +81,10 @@ public class LuceneIndexer implements Runnable {
 		reindex(PropsValues.INDEX_ON_STARTUP_DELAY);
 	}
 
+	public void setResume(boolean resume) {
+		_resume = resume;
+	}
+
 	protected void doReIndex(int delay) {
 		if (SearchEngineUtil.isIndexReadOnly()) {
 			return;
@@ -102,30 +114,36 @@ public class LuceneIndexer implements Runnable {
 			stopWatch.start();
 		}
 
-		try {
-			LuceneHelperUtil.delete(_companyId);
+		boolean completed = false;
 
-			List<Portlet> portlets = PortletLocalServiceUtil.getPortlets(
-				_companyId);
+		try {
+			List<Indexer> indexers = getIndexers();
 
-			portlets = ListUtil.sort(portlets, new PortletLuceneComparator());
+			String runKey = getRunKey(indexers);
 
-			for (Portlet portlet : portlets) {
-				if (!portlet.isActive()) {
-					continue;
-				}
+			// Documents are updated in place, so an interrupted parallel
+			// reindex of the same entities resumes from its checkpoints
+			// without clearing the index
 
-				List<Indexer> indexers = portlet.getIndexerInstances();
+			if (_resume &&
+				ReindexCheckpointUtil.resumeRun(_companyId, runKey)) {
 
-				if (indexers == null) {
-					continue;
+				if (_log.isInfoEnabled()) {
+					_log.info("Resuming reindex of company " + _companyId);
 				}
+			}
+			else {
+				ReindexCheckpointUtil.startRun(_companyId, runKey);
 
-				for (Indexer indexer : indexers) {
-					reindex(indexer);
-				}
+				LuceneHelperUtil.delete(_companyId);
+			}
+
+			for (Indexer indexer : indexers) {
+				reindex(indexer);
 			}
 
+			completed = true;
+
 			if (_log.isInfoEnabled()) {
 				_log.info(
 					"Reindexing Lucene completed in " +
@@ -139,10 +157,49 @@ public class LuceneIndexer implements Runnable {
 				_log.info("Reindexing Lucene failed");
 			}
 		}
+		finally {
+			ReindexCheckpointUtil.finishRun(_companyId, completed);
+		}
 
 		_finished = true;
 	}
 
+	protected List<Indexer> getIndexers() throws Exception {
+		List<Indexer> indexers = new ArrayList<Indexer>();
+
+		List<Portlet> portlets = PortletLocalServiceUtil.getPortlets(
+			_companyId);
+
+		portlets = ListUtil.sort(portlets, new PortletLuceneComparator());
+
+		for (Portlet portlet : portlets) {
+			if (!portlet.isActive()) {
+				continue;
+			}
+
+			List<Indexer> portletIndexers = portlet.getIndexerInstances();
+
+			if (portletIndexers != null) {
+				indexers.addAll(portletIndexers);
+			}
+		}
+
+		return indexers;
+	}
+
+	protected String getRunKey(List<Indexer> indexers) {
+		StringBundler sb = new StringBundler(indexers.size() * 2);
+
+		for (Indexer indexer : indexers) {
+			Class<?> clazz = indexer.getClass();
+
+			sb.append(clazz.getName());
+			sb.append(StringPool.COMMA);
+		}
+
+		return sb.toString();
+	}
+
 	protected void reindex(Indexer indexer) throws Exception {
 		StopWatch stopWatch = null;
 
@@ -172,6 +229,7 @@ public class LuceneIndexer implements Runnable {
 
 	private long _companyId;
 	private boolean _finished;
+	private boolean _resume;
 	private Set<String> _usedSearchEngineIds;
 
 }
\ No newline at end of file
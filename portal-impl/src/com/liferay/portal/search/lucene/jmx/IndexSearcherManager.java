@@ -0,0 +1,87 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.search.lucene.jmx;
+
+import com.liferay.portal.search.lucene.IndexSearcherStatistics;
+
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class IndexSearcherManager implements IndexSearcherManagerMBean {
+
+	public static ObjectName createObjectName(long companyId) {
+		try {
+			return new ObjectName(_OBJECT_NAME_PREFIX + companyId);
+		}
+		catch (MalformedObjectNameException mone) {
+			throw new IllegalStateException(mone);
+		}
+	}
+
+	public IndexSearcherManager(
+		IndexSearcherStatistics indexSearcherStatistics) {
+
+		_indexSearcherStatistics = indexSearcherStatistics;
+	}
+
+	@Override
+	public long getAcquireCount() {
+		return _indexSearcherStatistics.getAcquireCount();
+	}
+
+	@Override
+	public long getAverageReopenTime() {
+		return _indexSearcherStatistics.getAverageReopenTime();
+	}
+
+	@Override
+	public long getCompanyId() {
+		return _indexSearcherStatistics.getCompanyId();
+	}
+
+	@Override
+	public long getLastReopenTime() {
+		return _indexSearcherStatistics.getLastReopenTime();
+	}
+
+	@Override
+	public long getMaxReopenTime() {
+		return _indexSearcherStatistics.getMaxReopenTime();
+	}
+
+	@Override
+	public long getReopenCount() {
+		return _indexSearcherStatistics.getReopenCount();
+	}
+
+	@Override
+	public long getSearcherAge() {
+		return _indexSearcherStatistics.getSearcherAge();
+	}
+
+	@Override
+	public void reset() {
+		_indexSearcherStatistics.reset();
+	}
+
+	private static final String _OBJECT_NAME_PREFIX =
+		"Liferay:product=Portal,type=LuceneIndexSearcher,name=";
+
+	private IndexSearcherStatistics _indexSearcherStatistics;
+
+}
@@ -0,0 +1,94 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.search.lucene.jmx;
+
+import com.liferay.portal.search.lucene.IndexWriteQueue;
+
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class IndexWriteQueueManager implements IndexWriteQueueManagerMBean {
+
+	public static ObjectName createObjectName(long companyId) {
+		try {
+			return new ObjectName(_OBJECT_NAME_PREFIX + companyId);
+		}
+		catch (MalformedObjectNameException mone) {
+			throw new IllegalStateException(mone);
+		}
+	}
+
+	public IndexWriteQueueManager(
+		long companyId, IndexWriteQueue indexWriteQueue) {
+
+		_companyId = companyId;
+		_indexWriteQueue = indexWriteQueue;
+	}
+
+	@Override
+	public long getAverageBatchSize() {
+		return _indexWriteQueue.getAverageBatchSize();
+	}
+
+	@Override
+	public long getAverageCommitTime() {
+		return _indexWriteQueue.getAverageCommitTime();
+	}
+
+	@Override
+	public long getBlockedCount() {
+		return _indexWriteQueue.getBlockedCount();
+	}
+
+	@Override
+	public long getCommitCount() {
+		return _indexWriteQueue.getCommitCount();
+	}
+
+	@Override
+	public long getCompanyId() {
+		return _companyId;
+	}
+
+	@Override
+	public int getMaxQueueDepth() {
+		return _indexWriteQueue.getMaxQueueDepth();
+	}
+
+	@Override
+	public long getOperationCount() {
+		return _indexWriteQueue.getOperationCount();
+	}
+
+	@Override
+	public int getQueueDepth() {
+		return _indexWriteQueue.getQueueDepth();
+	}
+
+	@Override
+	public void reset() {
+		_indexWriteQueue.reset();
+	}
+
+	private static final String _OBJECT_NAME_PREFIX =
+		"Liferay:product=Portal,type=LuceneIndexWriteQueue,name=";
+
+	private long _companyId;
+	private IndexWriteQueue _indexWriteQueue;
+
+}
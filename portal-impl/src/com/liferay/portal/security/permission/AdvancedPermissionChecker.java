@@ -50,6 +50,7 @@ import com.liferay.portal.service.UserGroupLocalServiceUtil;
 import com.liferay.portal.service.permission.PortletPermissionUtil;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
@@ -605,6 +606,89 @@ public class AdvancedPermissionChecker extends BasePermissionChecker {
 		return value.booleanValue();
 	}
 
+	@Override
+	public boolean[] hasPermissions(
+		long groupId, String name, long[] primKeys, String actionId) {
+
+		try {
+			if (!isBulkPermissionSupported(groupId, name)) {
+				return super.hasPermissions(groupId, name, primKeys, actionId);
+			}
+		}
+		catch (Exception e) {
+			_log.error(e, e);
+
+			return super.hasPermissions(groupId, name, primKeys, actionId);
+		}
+
+		StopWatch stopWatch = null;
+
+		if (_log.isDebugEnabled()) {
+			stopWatch = new StopWatch();
+
+			stopWatch.start();
+		}
+
+		boolean[] values = new boolean[primKeys.length];
+
+		int[] uncachedIndexes = new int[primKeys.length];
+		long[] uncachedPrimKeys = new long[primKeys.length];
+
+		int uncachedCount = 0;
+
+		for (int i = 0; i < primKeys.length; i++) {
+			Boolean value = PermissionCacheUtil.getPermission(
+				user.getUserId(), signedIn, groupId, name,
+				String.valueOf(primKeys[i]), actionId);
+
+			if (value != null) {
+				values[i] = value.booleanValue();
+			}
+			else {
+				uncachedIndexes[uncachedCount] = i;
+				uncachedPrimKeys[uncachedCount] = primKeys[i];
+
+				uncachedCount++;
+			}
+		}
+
+		if (uncachedCount == 0) {
+			return values;
+		}
+
+		uncachedPrimKeys = ArrayUtil.subset(uncachedPrimKeys, 0, uncachedCount);
+
+		boolean[] uncachedValues = null;
+
+		try {
+			uncachedValues = hasPermissionsImpl(
+				groupId, name, uncachedPrimKeys, actionId);
+
+			if (_log.isDebugEnabled()) {
+				_log.debug(
+					"Checking permissions for " + groupId + " " + name + " " +
+						uncachedCount + " primary keys " + actionId +
+							" takes " + stopWatch.getTime() + " ms");
+			}
+		}
+		catch (Exception e) {
+			_log.error(e, e);
+
+			uncachedValues = new boolean[uncachedCount];
+		}
+
+		for (int i = 0; i < uncachedCount; i++) {
+			values[uncachedIndexes[i]] = uncachedValues[i];
+
+			PermissionCacheUtil.putPermission(
+				user.getUserId(), signedIn, groupId, name,
+				String.valueOf(uncachedPrimKeys[i]), actionId,
+				Boolean.valueOf(uncachedValues[i]));
+		}
+
+		return values;
+	}
+
 	@Override
 	public boolean hasUserPermission(
 		long groupId, String name, String primKey, String actionId,
@@ -815,15 +899,40 @@ public class AdvancedPermissionChecker extends BasePermissionChecker {
 			String actionId)
 		throws Exception {
 
-		// Individual
-
 		List<Resource> resources = new ArrayList<Resource>(4);
 
+		// Individual
+
 		Resource individualResource = ResourceLocalServiceUtil.getResource(
 			companyId, name, ResourceConstants.SCOPE_INDIVIDUAL, primKey);
 
 		resources.add(individualResource);
 
+		resources.addAll(getScopeResources(companyId, groupId, name));
+
+		return resources;
+	}
+
+	/**
+	 * Returns representations of the resource at the group, group-template,
+	 * and company scope levels. Unlike the individual scope, these do not
+	 * depend on the resource's primary key and can therefore be shared by all
+	 * resources of the same type within a group.
+	 *
+	 * @param  companyId the primary key of the company
+	 * @param  groupId the primary key of the group containing the resources
+	 * @param  name the resources' name, which can be either a class name or a
+	 *         portlet ID
+	 * @return representations of the resources at the group, group-template,
+	 *         and company scope levels
+	 * @throws Exception if an exception occurred
+	 */
+	protected List<Resource> getScopeResources(
+			long companyId, long groupId, String name)
+		throws Exception {
+
+		List<Resource> resources = new ArrayList<Resource>(3);
+
 		// Group
 
 		if (groupId > 0) {
@@ -894,31 +1003,8 @@ public class AdvancedPermissionChecker extends BasePermissionChecker {
 			long groupId, String name, String primKey, String actionId)
 		throws Exception {
 
-		ResourceActionsUtil.checkAction(name, actionId);
-
-		if (name.indexOf(CharPool.PERIOD) != -1) {
-
-			// Check unsupported model actions
-
-			List<String> actions =
-				ResourceActionsUtil.getModelResourceGuestUnsupportedActions(
-					name);
-
-			if (actions.contains(actionId)) {
-				return false;
-			}
-		}
-		else {
-
-			// Check unsupported portlet actions
-
-			List<String> actions =
-				ResourceActionsUtil.getPortletResourceGuestUnsupportedActions(
-					name);
-
-			if (actions.contains(actionId)) {
-				return false;
-			}
+		if (!isGuestSupportedAction(name, actionId)) {
+			return false;
 		}
 
 		long companyId = user.getCompanyId();
@@ -986,6 +1072,70 @@ public class AdvancedPermissionChecker extends BasePermissionChecker {
 		}
 	}
 
+	protected boolean[] hasPermissionsImpl(
+			long groupId, String name, long[] primKeys, String actionId)
+		throws Exception {
+
+		boolean[] values = new boolean[primKeys.length];
+
+		long companyId = user.getCompanyId();
+
+		if (groupId > 0) {
+			Group group = GroupLocalServiceUtil.getGroup(groupId);
+
+			companyId = group.getCompanyId();
+		}
+
+		// Guest and user permissions are checked against the same resources,
+		// so checking the union of both sets of roles is equivalent to
+		// checking them one after the other
+
+		long[] roleIds = PermissionChecker.DEFAULT_ROLE_IDS;
+
+		if ((!signedIn || checkGuest) &&
+			isGuestSupportedAction(name, actionId)) {
+
+			PermissionCheckerBag guestBag = getGuestUserBag();
+
+			roleIds = guestBag.getRoleIds();
+		}
+
+		if (signedIn) {
+			if (isCompanyAdminImpl(companyId) || isGroupAdminImpl(groupId)) {
+				Arrays.fill(values, true);
+
+				return values;
+			}
+
+			PermissionCheckerBag bag = getUserBag(user.getUserId(), groupId);
+
+			roleIds = ArrayUtil.append(roleIds, bag.getRoleIds());
+		}
+
+		if (roleIds.length == 0) {
+			return values;
+		}
+
+		// The group, group-template, and company scopes are shared by all of
+		// the resources, so they only have to be checked once for the batch
+
+		List<Resource> scopeResources = getScopeResources(
+			companyId, groupId, name);
+
+		if (ResourceLocalServiceUtil.hasUserPermissions(
+				user.getUserId(), groupId, scopeResources, actionId,
+				roleIds)) {
+
+			Arrays.fill(values, true);
+
+			return values;
+		}
+
+		return ResourcePermissionLocalServiceUtil.hasResourcePermissions(
+			companyId, name, ResourceConstants.SCOPE_INDIVIDUAL,
+			ArrayUtil.toStringArray(primKeys), roleIds, actionId);
+	}
+
 	protected boolean hasUserPermissionImpl(
 			long groupId, String name, String primKey, String actionId,
 			boolean checkAdmin)
@@ -1041,6 +1191,34 @@ public class AdvancedPermissionChecker extends BasePermissionChecker {
 			companyId, groupId, name, primKey, actionId, stopWatch);
 	}
 
+	protected boolean isBulkPermissionSupported(long groupId, String name)
+		throws Exception {
+
+		// Resource blocks, organization administrators, and groups that
+		// delegate their permissions to another group are checked one
+		// resource at a time
+
+		if (ResourceBlockLocalServiceUtil.isSupported(name) ||
+			name.equals(Organization.class.getName())) {
+
+			return false;
+		}
+
+		if (groupId <= 0) {
+			return true;
+		}
+
+		Group group = GroupLocalServiceUtil.getGroup(groupId);
+
+		if ((group.isUser() && (group.getClassPK() == getUserId())) ||
+			group.isLayout() || group.isStagingGroup()) {
+
+			return false;
+		}
+
+		return true;
+	}
+
 	protected boolean isCompanyAdminImpl() throws Exception {
 		return isCompanyAdminImpl(user.getCompanyId());
 	}
@@ -1188,6 +1366,39 @@ public class AdvancedPermissionChecker extends BasePermissionChecker {
 		return false;
 	}
 
+	protected boolean isGuestSupportedAction(String name, String actionId)
+		throws Exception {
+
+		ResourceActionsUtil.checkAction(name, actionId);
+
+		if (name.indexOf(CharPool.PERIOD) != -1) {
+
+			// Check unsupported model actions
+
+			List<String> actions =
+				ResourceActionsUtil.getModelResourceGuestUnsupportedActions(
+					name);
+
+			if (actions.contains(actionId)) {
+				return false;
+			}
+		}
+		else {
+
+			// Check unsupported portlet actions
+
+			List<String> actions =
+				ResourceActionsUtil.getPortletResourceGuestUnsupportedActions(
+					name);
+
+			if (actions.contains(actionId)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
 	protected boolean isGroupMemberImpl(long groupId) throws Exception {
 		if (!signedIn) {
 			return false;
@@ -32,7 +32,7 @@ import javax.portlet.PortletRequest;
 /**
  * @author Brian Wing Shun Chan
  */
-public abstract class BasePermissionChecker implements PermissionChecker {
+public abstract class BasePermissionChecker implements BulkPermissionChecker {
 
 	@Override
 	public abstract PermissionChecker clone();
@@ -100,6 +100,19 @@ public abstract class BasePermissionChecker implements PermissionChecker {
 		return hasPermission(groupId, name, String.valueOf(primKey), actionId);
 	}
 
+	@Override
+	public boolean[] hasPermissions(
+		long groupId, String name, long[] primKeys, String actionId) {
+
+		boolean[] values = new boolean[primKeys.length];
+
+		for (int i = 0; i < primKeys.length; i++) {
+			values[i] = hasPermission(groupId, name, primKeys[i], actionId);
+		}
+
+		return values;
+	}
+
 	@Override
 	public void init(User user) {
 		this.user = user;
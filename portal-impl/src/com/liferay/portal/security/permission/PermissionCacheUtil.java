@@ -14,16 +14,21 @@
 
 package com.liferay.portal.security.permission;
 
+import com.liferay.portal.kernel.cache.CacheListener;
 import com.liferay.portal.kernel.cache.MultiVMPoolUtil;
 import com.liferay.portal.kernel.cache.PortalCache;
+import com.liferay.portal.kernel.cache.SingleVMPoolUtil;
 import com.liferay.portal.kernel.lar.ExportImportThreadLocal;
 import com.liferay.portal.kernel.util.AutoResetThreadLocal;
 import com.liferay.portal.kernel.util.HashUtil;
 import com.liferay.portal.kernel.util.Validator;
+import com.liferay.portal.search.SearchPermissionFilter;
+import com.liferay.portal.search.SearchPermissionRolesFilter;
 import com.liferay.portal.util.PropsValues;
 
 import java.io.Serializable;
 
+import java.util.Arrays;
 import java.util.Map;
 
 import org.apache.commons.collections.map.LRUMap;
@@ -45,6 +50,12 @@ public class PermissionCacheUtil {
 	public static final String RESOURCE_BLOCK_IDS_BAG_CACHE_NAME =
 		PermissionCacheUtil.class.getName() + "_RESOURCE_BLOCK_IDS_BAG";
 
+	public static final String SEARCH_PERMISSION_FILTER_CACHE_NAME =
+		PermissionCacheUtil.class.getName() + "_SEARCH_PERMISSION_FILTER";
+
+	public static final String SEARCH_PERMISSION_ROLES_FILTER_CACHE_NAME =
+		PermissionCacheUtil.class.getName() + "_SEARCH_PERMISSION_ROLES_FILTER";
+
 	public static void clearCache() {
 		if (ExportImportThreadLocal.isImportInProcess() ||
 			!PermissionThreadLocal.isFlushEnabled()) {
@@ -57,6 +68,7 @@ public class PermissionCacheUtil {
 		_permissionCheckerBagPortalCache.removeAll();
 		_permissionPortalCache.removeAll();
 		_resourceBlockIdsBagCache.removeAll();
+		_searchPermissionFilterPortalCache.removeAll();
 	}
 
 	public static void clearLocalCache() {
@@ -130,6 +142,37 @@ public class PermissionCacheUtil {
 		return resourceBlockIdsBag;
 	}
 
+	public static SearchPermissionFilter getSearchPermissionFilter(
+		long companyId, long[] groupIds, long userId, boolean signedIn,
+		String className) {
+
+		SearchPermissionFilter searchPermissionFilter = null;
+
+		SearchFilterKey searchFilterKey = new SearchFilterKey(
+			companyId, groupIds, userId, signedIn, className);
+
+		if (_localCacheAvailable) {
+			Map<String, Object> localCache = _localCache.get();
+
+			searchPermissionFilter = (SearchPermissionFilter)localCache.get(
+				searchFilterKey);
+		}
+
+		if (searchPermissionFilter == null) {
+			searchPermissionFilter = _searchPermissionFilterPortalCache.get(
+				searchFilterKey);
+		}
+
+		return searchPermissionFilter;
+	}
+
+	public static SearchPermissionRolesFilter getSearchPermissionRolesFilter(
+		long companyId, long[] roleIds) {
+
+		return _searchPermissionRolesFilterPortalCache.get(
+			new RolesFilterKey(companyId, roleIds));
+	}
+
 	public static PermissionCheckerBag putBag(
 		long userId, long groupId, PermissionCheckerBag bag) {
 
@@ -189,6 +232,52 @@ public class PermissionCacheUtil {
 		return resourceBlockIdsBag;
 	}
 
+	public static SearchPermissionFilter putSearchPermissionFilter(
+		long companyId, long[] groupIds, long userId, boolean signedIn,
+		String className, SearchPermissionFilter searchPermissionFilter) {
+
+		if (searchPermissionFilter == null) {
+			return null;
+		}
+
+		SearchFilterKey searchFilterKey = new SearchFilterKey(
+			companyId, groupIds, userId, signedIn, className);
+
+		if (_localCacheAvailable) {
+			Map<Serializable, Object> localCache = _localCache.get();
+
+			localCache.put(searchFilterKey, searchPermissionFilter);
+		}
+
+		_searchPermissionFilterPortalCache.put(
+			searchFilterKey, searchPermissionFilter);
+
+		return searchPermissionFilter;
+	}
+
+	public static SearchPermissionRolesFilter putSearchPermissionRolesFilter(
+		long companyId, long[] roleIds,
+		SearchPermissionRolesFilter searchPermissionRolesFilter) {
+
+		if (searchPermissionRolesFilter == null) {
+			return null;
+		}
+
+		RolesFilterKey rolesFilterKey = new RolesFilterKey(companyId, roleIds);
+
+		SearchPermissionRolesFilter cachedSearchPermissionRolesFilter =
+			_searchPermissionRolesFilterPortalCache.get(rolesFilterKey);
+
+		if (cachedSearchPermissionRolesFilter != null) {
+			return cachedSearchPermissionRolesFilter;
+		}
+
+		_searchPermissionRolesFilterPortalCache.put(
+			rolesFilterKey, searchPermissionRolesFilter);
+
+		return searchPermissionRolesFilter;
+	}
+
 	private static ThreadLocal<LRUMap> _localCache;
 	private static boolean _localCacheAvailable;
 	private static PortalCache<BagKey, PermissionCheckerBag>
@@ -203,6 +292,13 @@ public class PermissionCacheUtil {
 		_resourceBlockIdsBagCache = MultiVMPoolUtil.getCache(
 			RESOURCE_BLOCK_IDS_BAG_CACHE_NAME,
 			PropsValues.PERMISSIONS_OBJECT_BLOCKING_CACHE);
+	private static PortalCache<SearchFilterKey, SearchPermissionFilter>
+		_searchPermissionFilterPortalCache = MultiVMPoolUtil.getCache(
+			SEARCH_PERMISSION_FILTER_CACHE_NAME,
+			PropsValues.PERMISSIONS_OBJECT_BLOCKING_CACHE);
+	private static PortalCache<RolesFilterKey, SearchPermissionRolesFilter>
+		_searchPermissionRolesFilterPortalCache = SingleVMPoolUtil.getCache(
+			SEARCH_PERMISSION_ROLES_FILTER_CACHE_NAME);
 
 	private static class BagKey implements Serializable {
 
@@ -339,7 +435,165 @@ public class PermissionCacheUtil {
 
 	}
 
+	private static class RolesFilterKey implements Serializable {
+
+		public RolesFilterKey(long companyId, long[] roleIds) {
+			_companyId = companyId;
+			_roleIds = roleIds.clone();
+
+			Arrays.sort(_roleIds);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			RolesFilterKey rolesFilterKey = (RolesFilterKey)obj;
+
+			if ((rolesFilterKey._companyId == _companyId) &&
+				Arrays.equals(rolesFilterKey._roleIds, _roleIds)) {
+
+				return true;
+			}
+			else {
+				return false;
+			}
+		}
+
+		@Override
+		public int hashCode() {
+			int hashCode = HashUtil.hash(0, _companyId);
+
+			hashCode = HashUtil.hash(hashCode, Arrays.hashCode(_roleIds));
+
+			return hashCode;
+		}
+
+		private static final long serialVersionUID = 1L;
+
+		private final long _companyId;
+		private final long[] _roleIds;
+
+	}
+
+	private static class SearchFilterKey implements Serializable {
+
+		public SearchFilterKey(
+			long companyId, long[] groupIds, long userId, boolean signedIn,
+			String className) {
+
+			if (groupIds == null) {
+				groupIds = new long[0];
+			}
+
+			_companyId = companyId;
+			_groupIds = groupIds.clone();
+			_userId = userId;
+			_signedIn = signedIn;
+			_className = className;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			SearchFilterKey searchFilterKey = (SearchFilterKey)obj;
+
+			if ((searchFilterKey._companyId == _companyId) &&
+				Arrays.equals(searchFilterKey._groupIds, _groupIds) &&
+				(searchFilterKey._userId == _userId) &&
+				(searchFilterKey._signedIn == _signedIn) &&
+				Validator.equals(searchFilterKey._className, _className)) {
+
+				return true;
+			}
+			else {
+				return false;
+			}
+		}
+
+		@Override
+		public int hashCode() {
+			int hashCode = HashUtil.hash(0, _companyId);
+
+			hashCode = HashUtil.hash(hashCode, Arrays.hashCode(_groupIds));
+			hashCode = HashUtil.hash(hashCode, _userId);
+			hashCode = HashUtil.hash(hashCode, _signedIn);
+			hashCode = HashUtil.hash(hashCode, _className);
+
+			return hashCode;
+		}
+
+		private static final long serialVersionUID = 1L;
+
+		private final String _className;
+		private final long _companyId;
+		private final long[] _groupIds;
+		private final boolean _signedIn;
+		private final long _userId;
+
+	}
+
+	private static class SearchPermissionRolesFilterCacheListener
+		implements CacheListener
+			<RolesFilterKey, SearchPermissionRolesFilter> {
+
+		@Override
+		public void notifyEntryEvicted(
+			PortalCache<RolesFilterKey, SearchPermissionRolesFilter>
+				portalCache,
+			RolesFilterKey rolesFilterKey,
+			SearchPermissionRolesFilter searchPermissionRolesFilter) {
+
+			searchPermissionRolesFilter.clear();
+		}
+
+		@Override
+		public void notifyEntryExpired(
+			PortalCache<RolesFilterKey, SearchPermissionRolesFilter>
+				portalCache,
+			RolesFilterKey rolesFilterKey,
+			SearchPermissionRolesFilter searchPermissionRolesFilter) {
+
+			searchPermissionRolesFilter.clear();
+		}
+
+		@Override
+		public void notifyEntryPut(
+			PortalCache<RolesFilterKey, SearchPermissionRolesFilter>
+				portalCache,
+			RolesFilterKey rolesFilterKey,
+			SearchPermissionRolesFilter searchPermissionRolesFilter) {
+		}
+
+		@Override
+		public void notifyEntryRemoved(
+			PortalCache<RolesFilterKey, SearchPermissionRolesFilter>
+				portalCache,
+			RolesFilterKey rolesFilterKey,
+			SearchPermissionRolesFilter searchPermissionRolesFilter) {
+
+			searchPermissionRolesFilter.clear();
+		}
+
+		@Override
+		public void notifyEntryUpdated(
+			PortalCache<RolesFilterKey, SearchPermissionRolesFilter>
+				portalCache,
+			RolesFilterKey rolesFilterKey,
+			SearchPermissionRolesFilter searchPermissionRolesFilter) {
+		}
+
+		@Override
+		public void notifyRemoveAll(
+			PortalCache<RolesFilterKey, SearchPermissionRolesFilter>
+				portalCache) {
+
+			SearchPermissionRolesFilter.clearAll();
+		}
+
+	}
+
 	static {
+		_searchPermissionRolesFilterPortalCache.registerCacheListener(
+			new SearchPermissionRolesFilterCacheListener());
+
 		if (PropsValues.PERMISSIONS_THREAD_LOCAL_CACHE_MAX_SIZE > 0) {
 			_localCache = new AutoResetThreadLocal<LRUMap>(
 				PermissionCacheUtil.class + "._localCache",
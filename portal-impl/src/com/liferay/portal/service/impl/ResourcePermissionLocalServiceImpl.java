@@ -794,6 +794,74 @@ public class ResourcePermissionLocalServiceImpl
 		return hasResourcePermissions;
 	}
 
+	/**
+	 * Returns whether the roles have permission at the scope to perform the
+	 * action on each of the resources of the type.
+	 *
+	 * <p>
+	 * All of the primary keys are resolved with a single query per batch, as
+	 * configured by the <code>permissions.bulk.prim.keys.batch.size</code>
+	 * property, which makes this method considerably cheaper than calling
+	 * {@link #hasResourcePermission(long, String, int, String, long[], String)}
+	 * once for each primary key.
+	 * </p>
+	 *
+	 * @param  companyId the primary key of the company
+	 * @param  name the resource's name, which can be either a class name or a
+	 *         portlet ID
+	 * @param  scope the scope
+	 * @param  primKeys the primary keys
+	 * @param  roleIds the primary keys of the roles
+	 * @param  actionId the action ID
+	 * @return an array whose elements are <code>true</code> if any one of the
+	 *         roles has permission to perform the action on the resource with
+	 *         the primary key at the same index; <code>false</code> otherwise
+	 * @throws PortalException if a resource action with the name and action
+	 *         ID could not be found
+	 * @throws SystemException if a system exception occurred
+	 */
+	@Override
+	public boolean[] hasResourcePermissions(
+			long companyId, String name, int scope, String[] primKeys,
+			long[] roleIds, String actionId)
+		throws PortalException, SystemException {
+
+		boolean[] hasResourcePermissions = new boolean[primKeys.length];
+
+		if ((primKeys.length == 0) || (roleIds.length == 0)) {
+			return hasResourcePermissions;
+		}
+
+		ResourceAction resourceAction =
+			resourceActionLocalService.getResourceAction(name, actionId);
+
+		Set<String> permittedPrimKeys = new HashSet<String>();
+
+		int batchSize = PropsValues.PERMISSIONS_BULK_PRIM_KEYS_BATCH_SIZE;
+
+		for (int i = 0; i < primKeys.length; i += batchSize) {
+			String[] batchPrimKeys = ArrayUtil.subset(
+				primKeys, i, Math.min(i + batchSize, primKeys.length));
+
+			List<ResourcePermission> resourcePermissions =
+				resourcePermissionFinder.findByC_N_S_P_R(
+					companyId, name, scope, batchPrimKeys, roleIds);
+
+			for (ResourcePermission resourcePermission : resourcePermissions) {
+				if (hasActionId(resourcePermission, resourceAction)) {
+					permittedPrimKeys.add(resourcePermission.getPrimKey());
+				}
+			}
+		}
+
+		for (int i = 0; i < primKeys.length; i++) {
+			hasResourcePermissions[i] = permittedPrimKeys.contains(
+				primKeys[i]);
+		}
+
+		return hasResourcePermissions;
+	}
+
 	/**
 	 * Returns <code>true</code> if the role has permission at the scope to
 	 * perform the action on the resource.
@@ -31,6 +31,7 @@ import com.liferay.portal.model.impl.ResourcePermissionModelImpl;
 import com.liferay.portal.service.persistence.impl.BasePersistenceImpl;
 import com.liferay.util.dao.orm.CustomSQLUtil;
 
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 
@@ -47,6 +48,9 @@ public class ResourcePermissionFinderImpl
 	public static final String COUNT_BY_C_N_S_P_R_A =
 		ResourcePermissionFinder.class.getName() + ".countByC_N_S_P_R_A";
 
+	public static final String FIND_BY_C_N_S_P_R =
+		ResourcePermissionFinder.class.getName() + ".findByC_N_S_P_R";
+
 	public static final String FIND_BY_RESOURCE =
 		ResourcePermissionFinder.class.getName() + ".findByResource";
 
@@ -178,6 +182,53 @@ public class ResourcePermissionFinderImpl
 		return count.intValue();
 	}
 
+	@Override
+	public List<ResourcePermission> findByC_N_S_P_R(
+			long companyId, String name, int scope, String[] primKeys,
+			long[] roleIds)
+		throws SystemException {
+
+		if ((primKeys.length == 0) || (roleIds.length == 0)) {
+			return Collections.emptyList();
+		}
+
+		Session session = null;
+
+		try {
+			session = openSession();
+
+			String sql = CustomSQLUtil.get(FIND_BY_C_N_S_P_R);
+
+			sql = StringUtil.replace(
+				sql, new String[] {"[$PRIM_KEYS$]", "[$ROLE_IDS$]"},
+				new String[] {
+					getColumns("ResourcePermission.primKey", primKeys.length),
+					getColumns("ResourcePermission.roleId", roleIds.length)
+				});
+
+			SQLQuery q = session.createSQLQuery(sql);
+
+			q.addEntity("ResourcePermission", ResourcePermissionImpl.class);
+
+			QueryPos qPos = QueryPos.getInstance(q);
+
+			qPos.add(companyId);
+			qPos.add(name);
+			qPos.add(scope);
+			qPos.add(primKeys);
+			qPos.add(roleIds);
+
+			return (List<ResourcePermission>)QueryUtil.list(
+				q, getDialect(), QueryUtil.ALL_POS, QueryUtil.ALL_POS);
+		}
+		catch (Exception e) {
+			throw new SystemException(e);
+		}
+		finally {
+			closeSession(session);
+		}
+	}
+
 	@Override
 	public List<ResourcePermission> findByResource(
 			long companyId, long groupId, String name, String primKey)
@@ -246,6 +297,21 @@ public class ResourcePermissionFinderImpl
 		}
 	}
 
+	protected String getColumns(String column, int length) {
+		StringBundler sb = new StringBundler(length * 3);
+
+		for (int i = 0; i < length; i++) {
+			sb.append(column);
+			sb.append(" = ?");
+
+			if ((i + 1) != length) {
+				sb.append(" OR ");
+			}
+		}
+
+		return sb.toString();
+	}
+
 	protected String getScopes(int[] scopes) {
 		if (scopes.length == 0) {
 			return StringPool.BLANK;
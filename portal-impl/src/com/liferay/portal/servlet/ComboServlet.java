@@ -14,44 +14,64 @@
 
 package com.liferay.portal.servlet;
 
+import com.liferay.portal.kernel.cache.CacheListener;
 import com.liferay.portal.kernel.cache.PortalCache;
 import com.liferay.portal.kernel.cache.SingleVMPoolUtil;
+import com.liferay.portal.kernel.io.unsync.UnsyncByteArrayOutputStream;
+import com.liferay.portal.kernel.language.LanguageUtil;
 import com.liferay.portal.kernel.log.Log;
 import com.liferay.portal.kernel.log.LogFactoryUtil;
+import com.liferay.portal.kernel.servlet.BrowserSnifferUtil;
 import com.liferay.portal.kernel.servlet.HttpHeaders;
 import com.liferay.portal.kernel.servlet.ServletContextUtil;
 import com.liferay.portal.kernel.servlet.ServletResponseUtil;
 import com.liferay.portal.kernel.util.CharPool;
 import com.liferay.portal.kernel.util.ContentTypes;
+import com.liferay.portal.kernel.util.Digester;
+import com.liferay.portal.kernel.util.DigesterUtil;
 import com.liferay.portal.kernel.util.FileUtil;
 import com.liferay.portal.kernel.util.HttpUtil;
+import com.liferay.portal.kernel.util.LocaleUtil;
 import com.liferay.portal.kernel.util.ParamUtil;
 import com.liferay.portal.kernel.util.PropsKeys;
 import com.liferay.portal.kernel.util.ServerDetector;
 import com.liferay.portal.kernel.util.SetUtil;
+import com.liferay.portal.kernel.util.StringBundler;
 import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.kernel.util.StringUtil;
 import com.liferay.portal.kernel.util.Time;
 import com.liferay.portal.kernel.util.Validator;
 import com.liferay.portal.servlet.filters.dynamiccss.DynamicCSSUtil;
+import com.liferay.portal.servlet.filters.language.LanguageTranslationUtil;
 import com.liferay.portal.util.AggregateUtil;
 import com.liferay.portal.util.MinifierUtil;
 import com.liferay.portal.util.PortalUtil;
 import com.liferay.portal.util.PrefsPropsUtil;
 import com.liferay.portal.util.PropsValues;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.Serializable;
 
 import java.net.URL;
 import java.net.URLConnection;
 
+import java.nio.ByteBuffer;
+
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
+import java.util.Locale;
 import java.util.Map;
 import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPOutputStream;
 
 import javax.servlet.ServletContext;
 import javax.servlet.ServletException;
@@ -64,9 +84,35 @@ import javax.servlet.http.HttpServletResponse;
  * @author Edward Han
  * @author Zsigmond Rab
  * @author Raymond Augé
+ * @author Shuyang Zhou
  */
 public class ComboServlet extends HttpServlet {
 
+	@Override
+	public void destroy() {
+		_comboBundlePortalCache.unregisterCacheListener(
+			_comboBundleCacheListener);
+
+		super.destroy();
+	}
+
+	@Override
+	public void init() throws ServletException {
+		super.init();
+
+		_comboBundleDir = new File(PropsValues.COMBO_CACHE_DIR);
+
+		_comboBundleDir.mkdirs();
+
+		// The bundle index starts empty, so none of the bundles written before
+		// a restart are referenced anymore
+
+		deleteComboBundleFiles();
+
+		_comboBundlePortalCache.registerCacheListener(
+			_comboBundleCacheListener);
+	}
+
 	@Override
 	public void service(
 			HttpServletRequest request, HttpServletResponse response)
@@ -120,40 +166,54 @@ public class ComboServlet extends HttpServlet {
 		String[] modulePaths = modulePathsSet.toArray(
 			new String[modulePathsSet.size()]);
 
-		String modulePathsString = null;
+		String firstModulePath = modulePaths[0];
 
-		byte[][] bytesArray = null;
+		String extension = FileUtil.getExtension(firstModulePath);
 
-		if (!PropsValues.COMBO_CHECK_TIMESTAMP) {
-			modulePathsString = Arrays.toString(modulePaths);
+		String minifierType = ParamUtil.getString(request, "minifierType");
 
-			bytesArray = _bytesArrayPortalCache.get(modulePathsString);
+		if (Validator.isNull(minifierType)) {
+			minifierType = "js";
+
+			if (StringUtil.equalsIgnoreCase(extension, _CSS_EXTENSION)) {
+				minifierType = "css";
+			}
 		}
 
-		String firstModulePath = modulePaths[0];
+		if (!minifierType.equals("css") && !minifierType.equals("js")) {
+			minifierType = "js";
+		}
 
-		String extension = FileUtil.getExtension(firstModulePath);
+		String languageId = LanguageUtil.getLanguageId(request);
 
-		if (bytesArray == null) {
-			ServletContext servletContext = getServletContext();
+		StringBundler sb = new StringBundler(5);
 
-			String rootPath = ServletContextUtil.getRootPath(servletContext);
+		sb.append(Arrays.toString(modulePaths));
+		sb.append(StringPool.QUESTION);
+		sb.append(minifierType);
+		sb.append(StringPool.AMPERSAND);
+		sb.append(languageId);
 
-			String minifierType = ParamUtil.getString(request, "minifierType");
+		String comboBundleKey = sb.toString();
 
-			if (Validator.isNull(minifierType)) {
-				minifierType = "js";
+		ComboBundle comboBundle = null;
 
-				if (StringUtil.equalsIgnoreCase(extension, _CSS_EXTENSION)) {
-					minifierType = "css";
-				}
-			}
+		if (!PropsValues.COMBO_CHECK_TIMESTAMP) {
+			comboBundle = _comboBundlePortalCache.get(comboBundleKey);
+
+			if ((comboBundle != null) && !comboBundle.exists()) {
+				_comboBundlePortalCache.remove(comboBundleKey);
 
-			if (!minifierType.equals("css") && !minifierType.equals("js")) {
-				minifierType = "js";
+				comboBundle = null;
 			}
+		}
+
+		if (comboBundle == null) {
+			ServletContext servletContext = getServletContext();
 
-			bytesArray = new byte[modulePaths.length][];
+			String rootPath = ServletContextUtil.getRootPath(servletContext);
+
+			byte[][] bytesArray = new byte[modulePaths.length][];
 
 			for (int i = 0; i < modulePaths.length; i++) {
 				String modulePath = modulePaths[i];
@@ -193,11 +253,13 @@ public class ComboServlet extends HttpServlet {
 				bytesArray[i] = bytes;
 			}
 
-			if ((modulePathsString != null) &&
-				!PropsValues.COMBO_CHECK_TIMESTAMP) {
+			comboBundle = createComboBundle(
+				bytesArray, LocaleUtil.fromLanguageId(languageId), extension);
 
-				_bytesArrayPortalCache.put(modulePathsString, bytesArray);
-			}
+			// The bundle is indexed even when timestamps are checked so that
+			// its files are deleted once a rebuilt bundle replaces it
+
+			putComboBundle(comboBundleKey, comboBundle);
 		}
 
 		String contentType = ContentTypes.TEXT_JAVASCRIPT;
@@ -208,7 +270,146 @@ public class ComboServlet extends HttpServlet {
 
 		response.setContentType(contentType);
 
-		ServletResponseUtil.write(response, bytesArray);
+		sendComboBundle(request, response, comboBundle);
+	}
+
+	protected void acquireComboBundle(ComboBundle comboBundle) {
+		File file = comboBundle.getFile();
+
+		String fileName = file.getName();
+
+		Integer referenceCount = _comboBundleReferenceCounts.get(fileName);
+
+		if (referenceCount == null) {
+			referenceCount = 0;
+		}
+
+		_comboBundleReferenceCounts.put(fileName, referenceCount + 1);
+
+		_unreferencedComboBundleTimes.remove(fileName);
+	}
+
+	protected ComboBundle createComboBundle(
+			byte[][] bytesArray, Locale locale, String extension)
+		throws IOException {
+
+		int length = 0;
+
+		for (byte[] bytes : bytesArray) {
+			length += bytes.length;
+		}
+
+		byte[] content = new byte[length];
+
+		int offset = 0;
+
+		for (byte[] bytes : bytesArray) {
+			System.arraycopy(bytes, 0, content, offset, bytes.length);
+
+			offset += bytes.length;
+		}
+
+		// The language filter used to translate the combined response on every
+		// request, so translate once here and let the hash cover the result
+
+		String stringContent = new String(content, StringPool.UTF8);
+
+		String translatedContent = LanguageTranslationUtil.translate(
+			null, locale, stringContent);
+
+		if (translatedContent != stringContent) {
+			content = translatedContent.getBytes(StringPool.UTF8);
+		}
+
+		String hash = DigesterUtil.digestHex(
+			Digester.SHA_1, ByteBuffer.wrap(content));
+
+		String fileName = hash.concat(StringPool.PERIOD).concat(extension);
+
+		File file = new File(_comboBundleDir, fileName);
+		File gzipFile = new File(
+			_comboBundleDir, fileName.concat(_GZIP_EXTENSION));
+
+		// Files are only written and deleted while holding the lock, so an
+		// unreferenced bundle cannot be deleted after it is found to exist
+
+		synchronized (_comboBundleReferenceCounts) {
+			_unreferencedComboBundleTimes.remove(fileName);
+
+			if (!file.exists()) {
+				writeComboBundleFile(file, content);
+			}
+
+			if (!gzipFile.exists()) {
+				UnsyncByteArrayOutputStream unsyncByteArrayOutputStream =
+					new UnsyncByteArrayOutputStream();
+
+				GZIPOutputStream gzipOutputStream = new GZIPOutputStream(
+					unsyncByteArrayOutputStream) {
+
+					{
+						def.setLevel(Deflater.BEST_COMPRESSION);
+					}
+
+				};
+
+				gzipOutputStream.write(content);
+
+				gzipOutputStream.close();
+
+				writeComboBundleFile(
+					gzipFile, unsyncByteArrayOutputStream.toByteArray());
+			}
+		}
+
+		String eTag = StringPool.QUOTE.concat(hash).concat(StringPool.QUOTE);
+
+		return new ComboBundle(eTag, file, gzipFile);
+	}
+
+	protected void deleteComboBundleFiles() {
+		File[] files = _comboBundleDir.listFiles();
+
+		if (files == null) {
+			return;
+		}
+
+		for (File file : files) {
+			Matcher matcher = _comboBundleFileNamePattern.matcher(
+				file.getName());
+
+			if (matcher.matches()) {
+				file.delete();
+			}
+		}
+	}
+
+	protected void deleteUnreferencedComboBundles() {
+		long time = System.currentTimeMillis() - _COMBO_BUNDLE_DELETE_DELAY;
+
+		Iterator<Map.Entry<String, Long>> iterator =
+			_unreferencedComboBundleTimes.entrySet().iterator();
+
+		while (iterator.hasNext()) {
+			Map.Entry<String, Long> entry = iterator.next();
+
+			if (entry.getValue() > time) {
+				break;
+			}
+
+			String fileName = entry.getKey();
+
+			File file = new File(_comboBundleDir, fileName);
+
+			file.delete();
+
+			File gzipFile = new File(
+				_comboBundleDir, fileName.concat(_GZIP_EXTENSION));
+
+			gzipFile.delete();
+
+			iterator.remove();
+		}
 	}
 
 	protected byte[] getResourceContent(
@@ -336,6 +537,107 @@ public class ComboServlet extends HttpServlet {
 		return null;
 	}
 
+	protected boolean isAcceptsGzip(HttpServletRequest request) {
+		if (ParamUtil.getBoolean(request, _COMPRESS, true) &&
+			BrowserSnifferUtil.acceptsGzip(request)) {
+
+			return true;
+		}
+
+		return false;
+	}
+
+	protected boolean isNotModified(HttpServletRequest request, String eTag) {
+		String ifNoneMatch = request.getHeader(HttpHeaders.IF_NONE_MATCH);
+
+		if (Validator.isNull(ifNoneMatch)) {
+			return false;
+		}
+
+		for (String value : StringUtil.split(ifNoneMatch)) {
+			value = value.trim();
+
+			if (value.equals(eTag) || value.equals(StringPool.STAR)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	protected void putComboBundle(
+		String comboBundleKey, ComboBundle comboBundle) {
+
+		synchronized (_comboBundleReferenceCounts) {
+			ComboBundle oldComboBundle = _comboBundlePortalCache.get(
+				comboBundleKey);
+
+			acquireComboBundle(comboBundle);
+
+			_comboBundlePortalCache.put(comboBundleKey, comboBundle);
+
+			if (oldComboBundle != null) {
+				releaseComboBundle(oldComboBundle);
+			}
+
+			deleteUnreferencedComboBundles();
+		}
+	}
+
+	protected void releaseComboBundle(ComboBundle comboBundle) {
+		File file = comboBundle.getFile();
+
+		String fileName = file.getName();
+
+		Integer referenceCount = _comboBundleReferenceCounts.get(fileName);
+
+		if (referenceCount == null) {
+			return;
+		}
+
+		if (referenceCount > 1) {
+			_comboBundleReferenceCounts.put(fileName, referenceCount - 1);
+
+			return;
+		}
+
+		_comboBundleReferenceCounts.remove(fileName);
+
+		// Requests that found the bundle before it was released may still be
+		// about to send it, so its files are only deleted after a delay
+
+		_unreferencedComboBundleTimes.put(
+			fileName, System.currentTimeMillis());
+	}
+
+	protected void sendComboBundle(
+			HttpServletRequest request, HttpServletResponse response,
+			ComboBundle comboBundle)
+		throws IOException {
+
+		String eTag = comboBundle.getETag();
+
+		response.setHeader(HttpHeaders.ETAG, eTag);
+		response.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+
+		if (isNotModified(request, eTag)) {
+			response.setContentLength(0);
+			response.setStatus(HttpServletResponse.SC_NOT_MODIFIED);
+
+			return;
+		}
+
+		File file = comboBundle.getFile();
+
+		if (isAcceptsGzip(request)) {
+			response.setHeader(HttpHeaders.CONTENT_ENCODING, _GZIP);
+
+			file = comboBundle.getGZipFile();
+		}
+
+		ServletResponseUtil.write(response, file);
+	}
+
 	protected boolean validateModuleExtension(String moduleName)
 		throws Exception {
 
@@ -357,6 +659,31 @@ public class ComboServlet extends HttpServlet {
 		return validModuleExtension;
 	}
 
+	protected void writeComboBundleFile(File file, byte[] bytes)
+		throws IOException {
+
+		// Write to a temporary file first so that concurrent requests never
+		// send a partially written bundle
+
+		File tempFile = File.createTempFile(
+			file.getName(), _TEMP_EXTENSION, _comboBundleDir);
+
+		try {
+			FileUtil.write(tempFile, bytes);
+
+			if (!tempFile.renameTo(file) && !file.exists()) {
+				throw new IOException("Unable to write " + file);
+			}
+		}
+		finally {
+			tempFile.delete();
+		}
+	}
+
+	private static final long _COMBO_BUNDLE_DELETE_DELAY = Time.MINUTE;
+
+	private static final String _COMPRESS = "compress";
+
 	private static final String _CSS_EXTENSION = "css";
 
 	private static final String _CSS_MINIFIED_SUFFIX = "-min.css";
@@ -364,18 +691,128 @@ public class ComboServlet extends HttpServlet {
 	private static final FileContentBag _EMPTY_FILE_CONTENT_BAG =
 		new FileContentBag(new byte[0], 0);
 
+	private static final String _GZIP = "gzip";
+
+	private static final String _GZIP_EXTENSION = ".gz";
+
 	private static final String _JAVASCRIPT_DIR = "html/js";
 
 	private static final String _JAVASCRIPT_MINIFIED_SUFFIX = "-min.js";
 
+	private static final String _TEMP_EXTENSION = ".tmp";
+
 	private static Log _log = LogFactoryUtil.getLog(ComboServlet.class);
 
-	private PortalCache<String, byte[][]> _bytesArrayPortalCache =
+	private static Pattern _comboBundleFileNamePattern = Pattern.compile(
+		"[0-9a-f]{40}\\.\\w+(\\.gz)?(\\d*\\.tmp)?");
+
+	private CacheListener<String, ComboBundle> _comboBundleCacheListener =
+		new ComboBundleCacheListener();
+	private File _comboBundleDir;
+	private PortalCache<String, ComboBundle> _comboBundlePortalCache =
 		SingleVMPoolUtil.getCache(ComboServlet.class.getName());
+	private Map<String, Integer> _comboBundleReferenceCounts =
+		new HashMap<String, Integer>();
 	private PortalCache<String, FileContentBag> _fileContentBagPortalCache =
 		SingleVMPoolUtil.getCache(FileContentBag.class.getName());
 	private Set<String> _protectedParameters = SetUtil.fromArray(
 		new String[] {"b", "browserId", "minifierType", "languageId", "t"});
+	private Map<String, Long> _unreferencedComboBundleTimes =
+		new LinkedHashMap<String, Long>();
+
+	protected static class ComboBundle implements Serializable {
+
+		public ComboBundle(String eTag, File file, File gzipFile) {
+			_eTag = eTag;
+			_file = file;
+			_gzipFile = gzipFile;
+		}
+
+		public boolean exists() {
+			if (_file.exists() && _gzipFile.exists()) {
+				return true;
+			}
+
+			return false;
+		}
+
+		public String getETag() {
+			return _eTag;
+		}
+
+		public File getFile() {
+			return _file;
+		}
+
+		public File getGZipFile() {
+			return _gzipFile;
+		}
+
+		private String _eTag;
+		private File _file;
+		private File _gzipFile;
+
+	}
+
+	private class ComboBundleCacheListener
+		implements CacheListener<String, ComboBundle> {
+
+		@Override
+		public void notifyEntryEvicted(
+			PortalCache<String, ComboBundle> portalCache, String key,
+			ComboBundle comboBundle) {
+
+			notifyEntryRemoved(portalCache, key, comboBundle);
+		}
+
+		@Override
+		public void notifyEntryExpired(
+			PortalCache<String, ComboBundle> portalCache, String key,
+			ComboBundle comboBundle) {
+
+			notifyEntryRemoved(portalCache, key, comboBundle);
+		}
+
+		@Override
+		public void notifyEntryPut(
+			PortalCache<String, ComboBundle> portalCache, String key,
+			ComboBundle comboBundle) {
+		}
+
+		@Override
+		public void notifyEntryRemoved(
+			PortalCache<String, ComboBundle> portalCache, String key,
+			ComboBundle comboBundle) {
+
+			synchronized (_comboBundleReferenceCounts) {
+				releaseComboBundle(comboBundle);
+
+				deleteUnreferencedComboBundles();
+			}
+		}
+
+		@Override
+		public void notifyEntryUpdated(
+			PortalCache<String, ComboBundle> portalCache, String key,
+			ComboBundle comboBundle) {
+		}
+
+		@Override
+		public void notifyRemoveAll(
+			PortalCache<String, ComboBundle> portalCache) {
+
+			synchronized (_comboBundleReferenceCounts) {
+				long time = System.currentTimeMillis();
+
+				for (String fileName : _comboBundleReferenceCounts.keySet()) {
+					_unreferencedComboBundleTimes.put(fileName, time);
+				}
+
+				_comboBundleReferenceCounts.clear();
+			}
+		}
+
+	}
 
 	private static class FileContentBag implements Serializable {
 
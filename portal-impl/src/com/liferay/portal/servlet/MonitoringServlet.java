@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.servlet;
+
+import com.liferay.portal.kernel.bean.PortalBeanLocatorUtil;
+import com.liferay.portal.kernel.io.unsync.UnsyncStringWriter;
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
+import com.liferay.portal.kernel.servlet.ServletResponseUtil;
+import com.liferay.portal.kernel.util.Validator;
+import com.liferay.portal.monitoring.statistics.PrometheusFormatter;
+import com.liferay.portal.util.PortalUtil;
+
+import java.io.IOException;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class MonitoringServlet extends HttpServlet {
+
+	@Override
+	public void service(
+			HttpServletRequest request, HttpServletResponse response)
+		throws IOException, ServletException {
+
+		String pathInfo = request.getPathInfo();
+
+		if (Validator.isNull(pathInfo) || !pathInfo.equals(_PATH_METRICS)) {
+			response.sendError(HttpServletResponse.SC_NOT_FOUND);
+
+			return;
+		}
+
+		try {
+			PrometheusFormatter prometheusFormatter =
+				(PrometheusFormatter)PortalBeanLocatorUtil.locate(
+					PrometheusFormatter.class.getName());
+
+			UnsyncStringWriter unsyncStringWriter = new UnsyncStringWriter();
+
+			prometheusFormatter.format(unsyncStringWriter);
+
+			response.setContentType(PrometheusFormatter.CONTENT_TYPE);
+
+			ServletResponseUtil.write(
+				response, unsyncStringWriter.toString());
+		}
+		catch (Exception e) {
+			_log.error(e, e);
+
+			PortalUtil.sendError(
+				HttpServletResponse.SC_INTERNAL_SERVER_ERROR, e, request,
+				response);
+		}
+	}
+
+	private static final String _PATH_METRICS = "/metrics";
+
+	private static Log _log = LogFactoryUtil.getLog(MonitoringServlet.class);
+
+}
@@ -0,0 +1,64 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.servlet.filters.gzip;
+
+import com.liferay.portal.kernel.memory.PoolAction;
+import com.liferay.portal.kernel.memory.SoftReferencePool;
+
+import java.util.zip.Deflater;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class DeflaterPool {
+
+	public static Deflater borrow(int level) {
+		return _deflaterSoftReferencePool.borrowObject(level);
+	}
+
+	public static void returnDeflater(Deflater deflater) {
+		_deflaterSoftReferencePool.returnObject(deflater);
+	}
+
+	private static final int _MAX_IDLE_SIZE = 256;
+
+	private static SoftReferencePool<Deflater, Integer>
+		_deflaterSoftReferencePool =
+			new SoftReferencePool<Deflater, Integer>(
+				new DeflaterPoolAction(), _MAX_IDLE_SIZE);
+
+	private static class DeflaterPoolAction
+		implements PoolAction<Deflater, Integer> {
+
+		@Override
+		public Deflater onBorrow(Deflater deflater, Integer level) {
+			deflater.setLevel(level);
+
+			return deflater;
+		}
+
+		@Override
+		public Deflater onCreate(Integer level) {
+			return new Deflater(level, true);
+		}
+
+		@Override
+		public void onReturn(Deflater deflater) {
+			deflater.reset();
+		}
+
+	}
+
+}
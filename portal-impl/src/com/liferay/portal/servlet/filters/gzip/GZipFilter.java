@@ -22,6 +22,7 @@ import com.liferay.portal.kernel.util.JavaConstants;
 import com.liferay.portal.kernel.util.ParamUtil;
 import com.liferay.portal.kernel.util.ServerDetector;
 import com.liferay.portal.servlet.filters.BasePortalFilter;
+import com.liferay.portal.util.PropsValues;
 
 import javax.servlet.FilterChain;
 import javax.servlet.http.HttpServletRequest;
@@ -118,6 +119,21 @@ public class GZipFilter extends BasePortalFilter {
 
 		request.setAttribute(SKIP_FILTER, Boolean.TRUE);
 
+		if (PropsValues.GZIP_STREAMING_ENABLED) {
+			GZipStreamingResponse gZipStreamingResponse =
+				new GZipStreamingResponse(
+					response, PropsValues.GZIP_COMPRESSION_LEVEL,
+					PropsValues.GZIP_STREAMING_MIN_SIZE,
+					PropsValues.GZIP_STREAMING_COMPRESSED_CONTENT_TYPES);
+
+			processFilter(
+				GZipFilter.class, request, gZipStreamingResponse, filterChain);
+
+			gZipStreamingResponse.finishResponse();
+
+			return;
+		}
+
 		GZipResponse gZipResponse = new GZipResponse(request, response);
 
 		processFilter(GZipFilter.class, request, gZipResponse, filterChain);
@@ -0,0 +1,290 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.servlet.filters.gzip;
+
+import com.liferay.portal.kernel.servlet.HttpHeaders;
+import com.liferay.portal.kernel.servlet.MetaInfoCacheServletResponse;
+import com.liferay.portal.kernel.util.StringPool;
+import com.liferay.portal.kernel.util.StringUtil;
+import com.liferay.portal.kernel.util.UnsyncPrintWriterPool;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintWriter;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * <p>
+ * A GZip response that streams compressed content to the wrapped response
+ * without buffering the body. The first bytes are held back until at least the
+ * minimum size has been written, so that small responses are sent uncompressed
+ * with their content length. Content types that are already compressed are
+ * never compressed again.
+ * </p>
+ *
+ * @author Shuyang Zhou
+ */
+public class GZipStreamingResponse extends MetaInfoCacheServletResponse {
+
+	public GZipStreamingResponse(
+		HttpServletResponse response, int compressionLevel, int minSize,
+		String[] compressedContentTypes) {
+
+		super(response);
+
+		_response = response;
+		_compressionLevel = compressionLevel;
+		_minSize = minSize;
+		_compressedContentTypes = compressedContentTypes;
+	}
+
+	@Override
+	public void finishResponse() throws IOException {
+		if (_printWriter != null) {
+			_printWriter.flush();
+		}
+
+		if ((_servletOutputStream != null) && (_state == _STATE_UNDECIDED)) {
+			_writeUncompressed(true);
+		}
+
+		if (_outputStream != null) {
+			_outputStream.close();
+		}
+	}
+
+	@Override
+	public void flushBuffer() throws IOException {
+		if (_servletOutputStream != null) {
+			_servletOutputStream.flush();
+		}
+	}
+
+	@Override
+	public ServletOutputStream getOutputStream() throws IOException {
+		if (_printWriter != null) {
+			throw new IllegalStateException();
+		}
+
+		if (_servletOutputStream == null) {
+			if (isCompressedContentType(getContentType()) ||
+				((_contentLength >= 0) && (_contentLength < _minSize))) {
+
+				_writeUncompressed(false);
+			}
+			else {
+				_buffer = new byte[Math.max(_minSize, 1)];
+			}
+
+			_servletOutputStream = new GZipStreamingServletOutputStream();
+		}
+
+		return _servletOutputStream;
+	}
+
+	@Override
+	public PrintWriter getWriter() throws IOException {
+		if (_printWriter != null) {
+			return _printWriter;
+		}
+
+		if (_servletOutputStream != null) {
+			throw new IllegalStateException();
+		}
+
+		_printWriter = UnsyncPrintWriterPool.borrow(
+			getOutputStream(), getCharacterEncoding());
+
+		return _printWriter;
+	}
+
+	@Override
+	public void setContentLength(int contentLength) {
+		if (isCommitted()) {
+			return;
+		}
+
+		_contentLength = contentLength;
+
+		if (_state == _STATE_UNCOMPRESSED) {
+			super.setContentLength(contentLength);
+		}
+	}
+
+	protected boolean isCompressedContentType(String contentType) {
+		if (contentType == null) {
+			return false;
+		}
+
+		int index = contentType.indexOf(StringPool.SEMICOLON);
+
+		if (index != -1) {
+			contentType = contentType.substring(0, index);
+		}
+
+		contentType = StringUtil.toLowerCase(contentType.trim());
+
+		for (String compressedContentType : _compressedContentTypes) {
+			if (compressedContentType.endsWith(_WILDCARD_SUFFIX)) {
+				int length =
+					compressedContentType.length() -
+						_WILDCARD_SUFFIX.length() + 1;
+
+				if (contentType.regionMatches(
+						0, compressedContentType, 0, length)) {
+
+					return true;
+				}
+			}
+			else if (contentType.equals(compressedContentType)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private void _writeCompressed() throws IOException {
+		_state = _STATE_COMPRESSED;
+
+		// The body is streamed, so the content length is unknown and the
+		// response will be chunked
+
+		_response.setContentLength(-1);
+
+		_response.addHeader(HttpHeaders.CONTENT_ENCODING, _GZIP);
+
+		_outputStream = new PooledGZipOutputStream(
+			_response.getOutputStream(), _compressionLevel);
+
+		if (_count > 0) {
+			_outputStream.write(_buffer, 0, _count);
+		}
+
+		_buffer = null;
+	}
+
+	private void _writeUncompressed(boolean finished) throws IOException {
+		_state = _STATE_UNCOMPRESSED;
+
+		if (_contentLength >= 0) {
+			super.setContentLength(_contentLength);
+		}
+		else if (finished) {
+			super.setContentLength(_count);
+		}
+
+		if (finished && (_count == 0)) {
+			_buffer = null;
+
+			return;
+		}
+
+		_outputStream = _response.getOutputStream();
+
+		if (_count > 0) {
+			_outputStream.write(_buffer, 0, _count);
+		}
+
+		_buffer = null;
+	}
+
+	private static final String _GZIP = "gzip";
+
+	private static final int _STATE_COMPRESSED = 1;
+
+	private static final int _STATE_UNCOMPRESSED = 2;
+
+	private static final int _STATE_UNDECIDED = 0;
+
+	private static final String _WILDCARD_SUFFIX = "/*";
+
+	private byte[] _buffer;
+	private String[] _compressedContentTypes;
+	private int _compressionLevel;
+	private int _contentLength = -1;
+	private int _count;
+	private int _minSize;
+	private OutputStream _outputStream;
+	private PrintWriter _printWriter;
+	private HttpServletResponse _response;
+	private ServletOutputStream _servletOutputStream;
+	private int _state = _STATE_UNDECIDED;
+
+	private class GZipStreamingServletOutputStream extends ServletOutputStream {
+
+		@Override
+		public void close() throws IOException {
+
+			// Leave a small response undecided, finishResponse will send it
+			// uncompressed with its content length
+
+			if (_state != _STATE_UNDECIDED) {
+				_outputStream.flush();
+			}
+		}
+
+		@Override
+		public void flush() throws IOException {
+			if (_state == _STATE_UNDECIDED) {
+				if (_count == 0) {
+					return;
+				}
+
+				_writeCompressed();
+			}
+
+			_outputStream.flush();
+		}
+
+		@Override
+		public void write(byte[] bytes, int offset, int length)
+			throws IOException {
+
+			if (_state == _STATE_UNDECIDED) {
+				if ((_count + length) <= _buffer.length) {
+					System.arraycopy(bytes, offset, _buffer, _count, length);
+
+					_count += length;
+
+					return;
+				}
+
+				_writeCompressed();
+			}
+
+			_outputStream.write(bytes, offset, length);
+		}
+
+		@Override
+		public void write(int b) throws IOException {
+			if (_state == _STATE_UNDECIDED) {
+				if (_count < _buffer.length) {
+					_buffer[_count++] = (byte)b;
+
+					return;
+				}
+
+				_writeCompressed();
+			}
+
+			_outputStream.write(b);
+		}
+
+	}
+
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.servlet.filters.gzip;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+import java.util.zip.CRC32;
+import java.util.zip.DeflaterOutputStream;
+
+/**
+ * <p>
+ * A GZip output stream that borrows its deflater from {@link DeflaterPool}
+ * instead of allocating a new one with its native buffers. The deflater is
+ * returned to the pool when the stream is closed.
+ * </p>
+ *
+ * @author Shuyang Zhou
+ */
+public class PooledGZipOutputStream extends DeflaterOutputStream {
+
+	public PooledGZipOutputStream(OutputStream outputStream, int level)
+		throws IOException {
+
+		super(outputStream, DeflaterPool.borrow(level));
+
+		out.write(_HEADER);
+	}
+
+	@Override
+	public void close() throws IOException {
+		if (_closed) {
+			return;
+		}
+
+		_closed = true;
+
+		try {
+			finish();
+
+			out.close();
+		}
+		finally {
+			DeflaterPool.returnDeflater(def);
+		}
+	}
+
+	@Override
+	public void finish() throws IOException {
+		if (def.finished()) {
+			return;
+		}
+
+		def.finish();
+
+		while (!def.finished()) {
+			deflate();
+		}
+
+		_writeInt((int)_crc32.getValue());
+		_writeInt((int)def.getBytesRead());
+	}
+
+	@Override
+	public void write(byte[] bytes, int offset, int length) throws IOException {
+		super.write(bytes, offset, length);
+
+		_crc32.update(bytes, offset, length);
+	}
+
+	private void _writeInt(int i) throws IOException {
+		out.write(i & 0xff);
+		out.write((i >> 8) & 0xff);
+		out.write((i >> 16) & 0xff);
+		out.write((i >> 24) & 0xff);
+	}
+
+	private static final byte[] _HEADER = {
+		(byte)0x1f, (byte)0x8b, 8, 0, 0, 0, 0, 0, 0, 0
+	};
+
+	private boolean _closed;
+	private CRC32 _crc32 = new CRC32();
+
+}
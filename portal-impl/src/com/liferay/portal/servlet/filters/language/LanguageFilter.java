@@ -15,7 +15,6 @@
 package com.liferay.portal.servlet.filters.language;
 
 import com.liferay.portal.kernel.language.LanguageUtil;
-import com.liferay.portal.kernel.language.UnicodeLanguageUtil;
 import com.liferay.portal.kernel.log.Log;
 import com.liferay.portal.kernel.log.LogFactoryUtil;
 import com.liferay.portal.kernel.servlet.BufferCacheServletResponse;
@@ -23,8 +22,6 @@ import com.liferay.portal.kernel.servlet.PortletServlet;
 import com.liferay.portal.kernel.servlet.ServletResponseUtil;
 import com.liferay.portal.kernel.util.HttpUtil;
 import com.liferay.portal.kernel.util.LocaleUtil;
-import com.liferay.portal.kernel.util.StringBundler;
-import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.model.Portlet;
 import com.liferay.portal.model.PortletApp;
 import com.liferay.portal.servlet.filters.BasePortalFilter;
@@ -32,8 +29,6 @@ import com.liferay.portlet.PortletConfigFactoryUtil;
 
 import java.util.List;
 import java.util.Locale;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
 
 import javax.portlet.PortletConfig;
 
@@ -104,45 +99,12 @@ public class LanguageFilter extends BasePortalFilter {
 		String languageId = LanguageUtil.getLanguageId(request);
 		Locale locale = LocaleUtil.fromLanguageId(languageId);
 
-		StringBundler sb = new StringBundler();
-
-		Matcher matcher = _pattern.matcher(content);
-
-		int x = 0;
-
-		while (matcher.find()) {
-			int y = matcher.start(0);
-
-			String key = matcher.group(1);
-
-			sb.append(content.substring(x, y));
-			sb.append(StringPool.APOSTROPHE);
-
-			String value = null;
-
-			if (_portletConfig != null) {
-				value = UnicodeLanguageUtil.get(_portletConfig, locale, key);
-			}
-			else {
-				value = UnicodeLanguageUtil.get(locale, key);
-			}
-
-			sb.append(value);
-			sb.append(StringPool.APOSTROPHE);
-
-			x = matcher.end(0);
-		}
-
-		sb.append(content.substring(x));
-
-		return sb.toString();
+		return LanguageTranslationUtil.translate(
+			_portletConfig, locale, content);
 	}
 
 	private static Log _log = LogFactoryUtil.getLog(LanguageFilter.class);
 
-	private static Pattern _pattern = Pattern.compile(
-		"Liferay\\.Language\\.get\\([\"']([^)]+)[\"']\\)");
-
 	private PortletConfig _portletConfig;
 
 }
\ No newline at end of file
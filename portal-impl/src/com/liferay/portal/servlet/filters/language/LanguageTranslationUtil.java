@@ -0,0 +1,78 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.servlet.filters.language;
+
+import com.liferay.portal.kernel.language.UnicodeLanguageUtil;
+import com.liferay.portal.kernel.util.StringBundler;
+import com.liferay.portal.kernel.util.StringPool;
+
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import javax.portlet.PortletConfig;
+
+/**
+ * @author Eduardo Lundgren
+ * @author Shuyang Zhou
+ */
+public class LanguageTranslationUtil {
+
+	public static String translate(
+		PortletConfig portletConfig, Locale locale, String content) {
+
+		Matcher matcher = _pattern.matcher(content);
+
+		if (!matcher.find()) {
+			return content;
+		}
+
+		StringBundler sb = new StringBundler();
+
+		int x = 0;
+
+		do {
+			int y = matcher.start(0);
+
+			String key = matcher.group(1);
+
+			sb.append(content.substring(x, y));
+			sb.append(StringPool.APOSTROPHE);
+
+			String value = null;
+
+			if (portletConfig != null) {
+				value = UnicodeLanguageUtil.get(portletConfig, locale, key);
+			}
+			else {
+				value = UnicodeLanguageUtil.get(locale, key);
+			}
+
+			sb.append(value);
+			sb.append(StringPool.APOSTROPHE);
+
+			x = matcher.end(0);
+		}
+		while (matcher.find());
+
+		sb.append(content.substring(x));
+
+		return sb.toString();
+	}
+
+	private static Pattern _pattern = Pattern.compile(
+		"Liferay\\.Language\\.get\\([\"']([^)]+)[\"']\\)");
+
+}
@@ -14,9 +14,15 @@
 
 package com.liferay.portal.servlet.filters.monitoring;
 
+import com.liferay.portal.kernel.bean.PortalBeanLocatorUtil;
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
 import com.liferay.portal.kernel.messaging.DestinationNames;
 import com.liferay.portal.kernel.messaging.MessageBusUtil;
+import com.liferay.portal.kernel.monitoring.MonitoringException;
 import com.liferay.portal.kernel.monitoring.RequestStatus;
+import com.liferay.portal.kernel.monitoring.statistics.DataSample;
+import com.liferay.portal.kernel.monitoring.statistics.DataSampleProcessor;
 import com.liferay.portal.kernel.monitoring.statistics.DataSampleThreadLocal;
 import com.liferay.portal.kernel.util.GetterUtil;
 import com.liferay.portal.monitoring.statistics.portal.PortalRequestDataSample;
@@ -28,6 +34,8 @@ import com.liferay.portlet.MonitoringPortlet;
 
 import java.io.IOException;
 
+import java.util.List;
+
 import javax.servlet.FilterChain;
 import javax.servlet.ServletException;
 import javax.servlet.http.HttpServletRequest;
@@ -68,6 +76,34 @@ public class MonitoringFilter extends BasePortalFilter {
 		return true;
 	}
 
+	protected DataSampleProcessor<DataSample> getDataSampleProcessor() {
+		if (_dataSampleProcessor == null) {
+			_dataSampleProcessor =
+				(DataSampleProcessor<DataSample>)PortalBeanLocatorUtil.locate(
+					_MONITORING_PROCESSOR_BEAN_NAME);
+		}
+
+		return _dataSampleProcessor;
+	}
+
+	protected void processDataSamples(List<DataSample> dataSamples) {
+		if (dataSamples.isEmpty()) {
+			return;
+		}
+
+		DataSampleProcessor<DataSample> dataSampleProcessor =
+			getDataSampleProcessor();
+
+		for (DataSample dataSample : dataSamples) {
+			try {
+				dataSampleProcessor.processDataSample(dataSample);
+			}
+			catch (MonitoringException me) {
+				_log.error("Unable to process data sample " + dataSample, me);
+			}
+		}
+	}
+
 	@Override
 	protected void processFilter(
 			HttpServletRequest request, HttpServletResponse response,
@@ -116,12 +152,27 @@ public class MonitoringFilter extends BasePortalFilter {
 				DataSampleThreadLocal.addDataSample(portalRequestDataSample);
 			}
 
-			MessageBusUtil.sendMessage(
-				DestinationNames.MONITORING,
-				DataSampleThreadLocal.getDataSamples());
+			List<DataSample> dataSamples =
+				DataSampleThreadLocal.getDataSamples();
+
+			if (PropsValues.MONITORING_DATA_SAMPLE_MESSAGE_BUS_ENABLED) {
+				MessageBusUtil.sendMessage(
+					DestinationNames.MONITORING, dataSamples);
+			}
+			else {
+				processDataSamples(dataSamples);
+			}
 		}
 	}
 
+	private static final String _MONITORING_PROCESSOR_BEAN_NAME =
+		"com.liferay.portal.monitoring.MonitoringProcessor";
+
+	private static Log _log = LogFactoryUtil.getLog(MonitoringFilter.class);
+
+	private static volatile DataSampleProcessor<DataSample>
+		_dataSampleProcessor;
+
 	private static boolean _monitoringPortalRequest =
 		PropsValues.MONITORING_PORTAL_REQUEST;
 
@@ -118,6 +118,54 @@ public class StripFilter extends BasePortalFilter {
 		return content;
 	}
 
+	/**
+	 * Returns a matcher that tells whether the tag in the buffer, positioned
+	 * right after a <code>&lt;</code>, is complete enough for {@link
+	 * #processTag} to produce the same output it would produce for the complete
+	 * page. This allows {@link StripWriter} to strip content as it is written.
+	 * Returns <code>null</code> if the buffer is too short to tell which tag it
+	 * holds.
+	 */
+	protected StripTagMatcher getStripTagMatcher(CharBuffer charBuffer) {
+		if (isMarkerPrefix(charBuffer, _MARKER_INPUT_OPEN) ||
+			isMarkerPrefix(charBuffer, _MARKER_PRE_OPEN) ||
+			isMarkerPrefix(charBuffer, _MARKER_TEXTAREA_OPEN) ||
+			isMarkerPrefix(charBuffer, _MARKER_SCRIPT_OPEN) ||
+			isMarkerPrefix(charBuffer, _MARKER_STYLE_OPEN)) {
+
+			return null;
+		}
+
+		if (hasMarker(charBuffer, _MARKER_INPUT_OPEN)) {
+			return new StripTagMatcher(
+				_MARKER_INPUT_CLOSE, _MARKER_INPUT_CLOSE_NEXTS,
+				_MARKER_INPUT_OPEN.length + 1);
+		}
+		else if (hasMarker(charBuffer, _MARKER_PRE_OPEN)) {
+			return new StripTagMatcher(
+				_MARKER_PRE_CLOSE, _MARKER_PRE_CLOSE_NEXTS,
+				_MARKER_PRE_OPEN.length + 1);
+		}
+		else if (hasMarker(charBuffer, _MARKER_TEXTAREA_OPEN)) {
+			return new StripTagMatcher(
+				_MARKER_TEXTAREA_CLOSE, _MARKER_TEXTAREA_CLOSE_NEXTS,
+				_MARKER_TEXTAREA_OPEN.length + 1);
+		}
+		else if (hasMarker(charBuffer, _MARKER_SCRIPT_OPEN)) {
+			return new StripTagMatcher(
+				_MARKER_SCRIPT_CLOSE, _MARKER_SCRIPT_CLOSE_NEXTS,
+				_MARKER_SCRIPT_OPEN.length);
+		}
+		else if (hasMarker(charBuffer, _MARKER_STYLE_OPEN)) {
+			return new StripTagMatcher(
+				_MARKER_STYLE_CLOSE, _MARKER_STYLE_CLOSE_NEXTS,
+				_MARKER_STYLE_OPEN.length);
+		}
+		else {
+			return new StripTagMatcher();
+		}
+	}
+
 	protected boolean hasLanguageAttribute(
 		CharBuffer charBuffer, int startPos, int length) {
 
@@ -182,6 +230,31 @@ public class StripFilter extends BasePortalFilter {
 		}
 	}
 
+	/**
+	 * Returns <code>true</code> if the buffer is too short for {@link
+	 * #hasMarker} to tell whether it starts with the marker, and all of its
+	 * characters match the start of the marker.
+	 */
+	protected boolean isMarkerPrefix(CharBuffer charBuffer, char[] marker) {
+		int length = charBuffer.remaining();
+
+		if (length > marker.length) {
+			return false;
+		}
+
+		for (int i = 0; i < length; i++) {
+			char c = marker[i];
+
+			char oldC = charBuffer.charAt(i);
+
+			if ((c != oldC) && (Character.toUpperCase(c) != oldC)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
 	protected boolean isStrip(HttpServletRequest request) {
 		if (!ParamUtil.getBoolean(request, _STRIP, true)) {
 			return false;
@@ -353,6 +426,20 @@ public class StripFilter extends BasePortalFilter {
 
 		request.setAttribute(SKIP_FILTER, Boolean.TRUE);
 
+		if (PropsValues.STRIP_STREAMING_ENABLED &&
+			!ParamUtil.getBoolean(request, _ENSURE_CONTENT_LENGTH)) {
+
+			StripResponse stripResponse = new StripResponse(
+				request, response, this);
+
+			processFilter(
+				StripFilter.class, request, stripResponse, filterChain);
+
+			stripResponse.finishResponse();
+
+			return;
+		}
+
 		BufferCacheServletResponse bufferCacheServletResponse =
 			new BufferCacheServletResponse(response);
 
@@ -585,6 +672,33 @@ public class StripFilter extends BasePortalFilter {
 		skipWhiteSpace(oldCharBuffer, writer, true);
 	}
 
+	protected boolean processTag(
+			HttpServletRequest request, HttpServletResponse response,
+			CharBuffer charBuffer, Writer writer)
+		throws Exception {
+
+		if (hasMarker(charBuffer, _MARKER_INPUT_OPEN)) {
+			processInput(charBuffer, writer);
+		}
+		else if (hasMarker(charBuffer, _MARKER_PRE_OPEN)) {
+			processPre(charBuffer, writer);
+		}
+		else if (hasMarker(charBuffer, _MARKER_TEXTAREA_OPEN)) {
+			processTextArea(charBuffer, writer);
+		}
+		else if (hasMarker(charBuffer, _MARKER_SCRIPT_OPEN)) {
+			processJavaScript(charBuffer, writer, _MARKER_SCRIPT_OPEN);
+		}
+		else if (hasMarker(charBuffer, _MARKER_STYLE_OPEN)) {
+			processCSS(request, response, charBuffer, writer);
+		}
+		else {
+			return false;
+		}
+
+		return true;
+	}
+
 	protected void processTextArea(CharBuffer oldCharBuffer, Writer writer)
 		throws Exception {
 
@@ -653,29 +767,7 @@ public class StripFilter extends BasePortalFilter {
 			writer.write(c);
 
 			if (c == CharPool.LESS_THAN) {
-				if (hasMarker(charBuffer, _MARKER_INPUT_OPEN)) {
-					processInput(charBuffer, writer);
-
-					continue;
-				}
-				else if (hasMarker(charBuffer, _MARKER_PRE_OPEN)) {
-					processPre(charBuffer, writer);
-
-					continue;
-				}
-				else if (hasMarker(charBuffer, _MARKER_TEXTAREA_OPEN)) {
-					processTextArea(charBuffer, writer);
-
-					continue;
-				}
-				else if (hasMarker(charBuffer, _MARKER_SCRIPT_OPEN)) {
-					processJavaScript(charBuffer, writer, _MARKER_SCRIPT_OPEN);
-
-					continue;
-				}
-				else if (hasMarker(charBuffer, _MARKER_STYLE_OPEN)) {
-					processCSS(request, response, charBuffer, writer);
-
+				if (processTag(request, response, charBuffer, writer)) {
 					continue;
 				}
 			}
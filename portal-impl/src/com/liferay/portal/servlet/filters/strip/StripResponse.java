@@ -0,0 +1,165 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.servlet.filters.strip;
+
+import com.liferay.portal.kernel.io.WriterOutputStream;
+import com.liferay.portal.kernel.servlet.MetaInfoCacheServletResponse;
+import com.liferay.portal.kernel.servlet.ServletOutputStreamAdapter;
+import com.liferay.portal.kernel.util.GetterUtil;
+import com.liferay.portal.kernel.util.StringUtil;
+import com.liferay.portal.kernel.util.UnsyncPrintWriterPool;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+
+import javax.servlet.ServletOutputStream;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class StripResponse extends MetaInfoCacheServletResponse {
+
+	public StripResponse(
+		HttpServletRequest request, HttpServletResponse response,
+		StripFilter stripFilter) {
+
+		super(response);
+
+		_request = request;
+		_response = response;
+		_stripFilter = stripFilter;
+	}
+
+	@Override
+	public void finishResponse() throws IOException {
+		if (_printWriter != null) {
+			_printWriter.flush();
+		}
+		else if (_servletOutputStream != null) {
+			_servletOutputStream.flush();
+		}
+		else if (_contentLength != -1) {
+			super.setContentLength(_contentLength);
+		}
+
+		if (_stripWriter != null) {
+			_stripWriter.finish();
+		}
+	}
+
+	@Override
+	public void flushBuffer() throws IOException {
+		if (_printWriter != null) {
+			_printWriter.flush();
+		}
+		else if (_servletOutputStream != null) {
+			_servletOutputStream.flush();
+		}
+
+		super.flushBuffer();
+	}
+
+	@Override
+	public ServletOutputStream getOutputStream() throws IOException {
+		if (_printWriter != null) {
+			throw new IllegalStateException();
+		}
+
+		if (_servletOutputStream == null) {
+			if (_isStripContent()) {
+				_stripWriter = new StripWriter(
+					_request, _response, _stripFilter, super.getWriter());
+
+				_servletOutputStream = new ServletOutputStreamAdapter(
+					new WriterOutputStream(
+						_stripWriter, getCharacterEncoding()));
+			}
+			else {
+				_servletOutputStream = super.getOutputStream();
+
+				_applyContentLength();
+			}
+		}
+
+		return _servletOutputStream;
+	}
+
+	@Override
+	public PrintWriter getWriter() throws IOException {
+		if (_printWriter != null) {
+			return _printWriter;
+		}
+
+		if (_servletOutputStream != null) {
+			throw new IllegalStateException();
+		}
+
+		if (_isStripContent()) {
+			_stripWriter = new StripWriter(
+				_request, _response, _stripFilter, super.getWriter());
+
+			_printWriter = UnsyncPrintWriterPool.borrow(_stripWriter);
+		}
+		else {
+			_printWriter = super.getWriter();
+
+			_applyContentLength();
+		}
+
+		return _printWriter;
+	}
+
+	@Override
+	public void setContentLength(int contentLength) {
+
+		// Stripping changes the content length, so the content length can only
+		// be passed on once it is known that the content will not be stripped
+
+		if ((_printWriter == null) && (_servletOutputStream == null)) {
+			_contentLength = contentLength;
+		}
+		else if (_stripWriter == null) {
+			super.setContentLength(contentLength);
+		}
+	}
+
+	private void _applyContentLength() {
+		if (_contentLength != -1) {
+			super.setContentLength(_contentLength);
+		}
+	}
+
+	private boolean _isStripContent() {
+		if (getStatus() != HttpServletResponse.SC_OK) {
+			return false;
+		}
+
+		String contentType = GetterUtil.getString(getContentType());
+
+		return _stripFilter.isStripContentType(
+			StringUtil.toLowerCase(contentType));
+	}
+
+	private int _contentLength = -1;
+	private PrintWriter _printWriter;
+	private HttpServletRequest _request;
+	private HttpServletResponse _response;
+	private ServletOutputStream _servletOutputStream;
+	private StripFilter _stripFilter;
+	private StripWriter _stripWriter;
+
+}
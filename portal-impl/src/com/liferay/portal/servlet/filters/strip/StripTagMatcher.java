@@ -0,0 +1,114 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.servlet.filters.strip;
+
+import com.liferay.portal.kernel.util.CharPool;
+
+import java.nio.CharBuffer;
+
+/**
+ * Tells whether a buffered tag is complete as more of it is written. The
+ * search for the close marker of an inline block resumes where the previous
+ * call stopped, so each character of the block is only scanned once.
+ *
+ * @author Shuyang Zhou
+ */
+public class StripTagMatcher {
+
+	public StripTagMatcher() {
+		this(null, null, 0);
+	}
+
+	public StripTagMatcher(
+		String closeMarker, int[] closeMarkerNexts, int offset) {
+
+		_closeMarker = closeMarker;
+		_closeMarkerNexts = closeMarkerNexts;
+		_index = offset;
+	}
+
+	/**
+	 * Returns <code>true</code> if the buffer, positioned right after the
+	 * <code>&lt;</code> of the tag, holds the complete tag. Each call must pass
+	 * the same tag, with at least as many characters as the previous call.
+	 */
+	public boolean isComplete(CharBuffer charBuffer) {
+		if (_closeMarker == null) {
+			return true;
+		}
+
+		int length = charBuffer.remaining();
+
+		if (_end == -1) {
+			int closeMarkerLength = _closeMarker.length();
+
+			int i = _index;
+			int j = _matchLength;
+
+			while ((i < length) && (j < closeMarkerLength)) {
+				if (j == -1) {
+					i++;
+					j++;
+				}
+				else {
+					char c1 = charBuffer.charAt(i);
+					char c2 = _closeMarker.charAt(j);
+
+					if ((c1 == c2) || (c1 == Character.toUpperCase(c2))) {
+						i++;
+						j++;
+					}
+					else {
+						j = _closeMarkerNexts[j];
+					}
+				}
+			}
+
+			_index = i;
+			_matchLength = j;
+
+			if (j < closeMarkerLength) {
+				return false;
+			}
+
+			_end = i;
+		}
+
+		// The white space after the close tag is skipped as part of the tag,
+		// so the tag is only complete once a character other than white space
+		// follows it
+
+		for (int i = _end; i < length; i++) {
+			char c = charBuffer.charAt(i);
+
+			if ((c != CharPool.SPACE) && (c != CharPool.TAB) &&
+				(c != CharPool.RETURN) && (c != CharPool.NEW_LINE)) {
+
+				return true;
+			}
+		}
+
+		_end = length;
+
+		return false;
+	}
+
+	private String _closeMarker;
+	private int[] _closeMarkerNexts;
+	private int _end = -1;
+	private int _index;
+	private int _matchLength;
+
+}
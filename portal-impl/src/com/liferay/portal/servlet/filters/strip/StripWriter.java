@@ -0,0 +1,255 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.servlet.filters.strip;
+
+import com.liferay.portal.kernel.util.CharPool;
+
+import java.io.IOException;
+import java.io.Writer;
+
+import java.nio.CharBuffer;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Strips the content written to it as it flows through, instead of buffering
+ * the whole page first.
+ *
+ * <p>
+ * Only the unprocessed tail is buffered. That is either the white space
+ * between two tags or an inline block, such as a script, whose close tag has
+ * not been written yet. Everything before it is stripped and written to the
+ * wrapped writer. The output is the same as stripping the complete page with
+ * {@link StripFilter#strip(HttpServletRequest, HttpServletResponse,
+ * CharBuffer, Writer)}.
+ * </p>
+ *
+ * @author Shuyang Zhou
+ */
+public class StripWriter extends Writer {
+
+	public StripWriter(
+		HttpServletRequest request, HttpServletResponse response,
+		StripFilter stripFilter, Writer writer) {
+
+		_request = request;
+		_response = response;
+		_stripFilter = stripFilter;
+		_writer = writer;
+	}
+
+	@Override
+	public void close() throws IOException {
+		finish();
+
+		_writer.close();
+	}
+
+	public void finish() throws IOException {
+		if (_finished) {
+			return;
+		}
+
+		_finished = true;
+
+		strip(true);
+
+		_writer.flush();
+	}
+
+	@Override
+	public void flush() throws IOException {
+		if (_finished) {
+			return;
+		}
+
+		strip(false);
+
+		_writer.flush();
+	}
+
+	@Override
+	public void write(char[] chars, int offset, int length)
+		throws IOException {
+
+		if (_finished) {
+			throw new IOException("Writer is finished");
+		}
+
+		int newCount = ensureCapacity(length);
+
+		System.arraycopy(chars, offset, _buffer, _count, length);
+
+		_count = newCount;
+
+		// Strip in chunks rather than on every write so that the tail is not
+		// rescanned for each small write
+
+		if ((_count - _strippedCount) >= _STRIP_THRESHOLD) {
+			strip(false);
+		}
+	}
+
+	@Override
+	public void write(String string, int offset, int length)
+		throws IOException {
+
+		if (_finished) {
+			throw new IOException("Writer is finished");
+		}
+
+		int newCount = ensureCapacity(length);
+
+		string.getChars(offset, offset + length, _buffer, _count);
+
+		_count = newCount;
+
+		if ((_count - _strippedCount) >= _STRIP_THRESHOLD) {
+			strip(false);
+		}
+	}
+
+	protected int ensureCapacity(int length) {
+		int newCount = _count + length;
+
+		if (newCount > _buffer.length) {
+			int newLength = Math.max(_buffer.length << 1, newCount);
+
+			char[] newBuffer = new char[newLength];
+
+			System.arraycopy(_buffer, 0, newBuffer, 0, _count);
+
+			_buffer = newBuffer;
+		}
+
+		return newCount;
+	}
+
+	protected boolean skipWhiteSpace(CharBuffer charBuffer, boolean finished)
+		throws IOException {
+
+		while (charBuffer.hasRemaining()) {
+			char c = charBuffer.charAt(0);
+
+			if ((c != CharPool.SPACE) && (c != CharPool.TAB) &&
+				(c != CharPool.RETURN) && (c != CharPool.NEW_LINE)) {
+
+				break;
+			}
+
+			charBuffer.get();
+
+			_whiteSpaceSkipped = true;
+		}
+
+		// The white space may continue in the next write
+
+		if (!charBuffer.hasRemaining() && !finished) {
+			return false;
+		}
+
+		if (_whiteSpaceSkipped && _appendSeparator) {
+			_writer.write(CharPool.SPACE);
+		}
+
+		_appendSeparator = true;
+		_skipWhiteSpace = false;
+		_whiteSpaceSkipped = false;
+
+		return true;
+	}
+
+	protected void strip(boolean finished) throws IOException {
+		CharBuffer charBuffer = CharBuffer.wrap(_buffer, 0, _count);
+
+		try {
+			while (true) {
+				if (_skipWhiteSpace && !skipWhiteSpace(charBuffer, finished)) {
+					break;
+				}
+
+				if (!charBuffer.hasRemaining()) {
+					break;
+				}
+
+				char c = charBuffer.charAt(0);
+
+				if (c == CharPool.LESS_THAN) {
+					CharBuffer tagCharBuffer = charBuffer.duplicate();
+
+					tagCharBuffer.position(tagCharBuffer.position() + 1);
+
+					if (!finished) {
+						if (_stripTagMatcher == null) {
+							_stripTagMatcher = _stripFilter.getStripTagMatcher(
+								tagCharBuffer);
+						}
+
+						if ((_stripTagMatcher == null) ||
+							!_stripTagMatcher.isComplete(tagCharBuffer)) {
+
+							break;
+						}
+					}
+
+					_stripTagMatcher = null;
+
+					_writer.write(charBuffer.get());
+
+					if (_stripFilter.processTag(
+							_request, _response, charBuffer, _writer)) {
+
+						continue;
+					}
+				}
+				else {
+					_writer.write(charBuffer.get());
+				}
+
+				_skipWhiteSpace = true;
+			}
+		}
+		catch (IOException ioe) {
+			throw ioe;
+		}
+		catch (Exception e) {
+			throw new IOException(e);
+		}
+
+		int remaining = charBuffer.remaining();
+
+		System.arraycopy(_buffer, charBuffer.position(), _buffer, 0, remaining);
+
+		_count = remaining;
+		_strippedCount = remaining;
+	}
+
+	private static final int _STRIP_THRESHOLD = 8192;
+
+	private boolean _appendSeparator;
+	private char[] _buffer = new char[_STRIP_THRESHOLD];
+	private int _count;
+	private boolean _finished;
+	private HttpServletRequest _request;
+	private HttpServletResponse _response;
+	private boolean _skipWhiteSpace = true;
+	private int _strippedCount;
+	private StripFilter _stripFilter;
+	private StripTagMatcher _stripTagMatcher;
+	private boolean _whiteSpaceSkipped;
+	private Writer _writer;
+
+}
@@ -32,7 +32,6 @@ import com.liferay.portal.kernel.util.StringPool;
 import java.io.Serializable;
 import java.io.Writer;
 
-import java.util.HashMap;
 import java.util.Map;
 import java.util.Set;
 
@@ -65,13 +64,7 @@ public abstract class AbstractTemplate implements Template {
 		this.templateResource = templateResource;
 		this.errorTemplateResource = errorTemplateResource;
 
-		this.context = new HashMap<String, Object>();
-
-		if (context != null) {
-			for (Map.Entry<String, Object> entry : context.entrySet()) {
-				put(entry.getKey(), entry.getValue());
-			}
-		}
+		this.context = new LayeredTemplateContext(context);
 
 		_templateContextHelper = templateContextHelper;
 
@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.template;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * <p>
+ * A template context that reads through a shared base context, such as the
+ * helper utilities, and keeps every variable put by a single render in a thin
+ * overlay. The base context is never copied or modified, so it must not be
+ * changed while templates use it.
+ * </p>
+ *
+ * @author Shuyang Zhou
+ */
+public class LayeredTemplateContext extends AbstractMap<String, Object> {
+
+	public LayeredTemplateContext(Map<String, Object> baseContext) {
+		if (baseContext == null) {
+			baseContext = Collections.emptyMap();
+		}
+
+		_baseContext = baseContext;
+	}
+
+	@Override
+	public void clear() {
+		_overlayContext.clear();
+
+		_removedKeys = new HashSet<String>(_baseContext.keySet());
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		if (_overlayContext.containsKey(key)) {
+			return true;
+		}
+
+		if ((_removedKeys != null) && _removedKeys.contains(key)) {
+			return false;
+		}
+
+		return _baseContext.containsKey(key);
+	}
+
+	@Override
+	public Set<Map.Entry<String, Object>> entrySet() {
+		Map<String, Object> map = new HashMap<String, Object>(_baseContext);
+
+		if (_removedKeys != null) {
+			map.keySet().removeAll(_removedKeys);
+		}
+
+		map.putAll(_overlayContext);
+
+		map = Collections.unmodifiableMap(map);
+
+		return map.entrySet();
+	}
+
+	@Override
+	public Object get(Object key) {
+		Object value = _overlayContext.get(key);
+
+		if ((value != null) || _overlayContext.containsKey(key)) {
+			return value;
+		}
+
+		if ((_removedKeys != null) && _removedKeys.contains(key)) {
+			return null;
+		}
+
+		return _baseContext.get(key);
+	}
+
+	@Override
+	public Object put(String key, Object value) {
+		Object oldValue = get(key);
+
+		_overlayContext.put(key, value);
+
+		if (_removedKeys != null) {
+			_removedKeys.remove(key);
+		}
+
+		return oldValue;
+	}
+
+	@Override
+	public Object remove(Object key) {
+		Object oldValue = get(key);
+
+		_overlayContext.remove(key);
+
+		if (_baseContext.containsKey(key)) {
+			if (_removedKeys == null) {
+				_removedKeys = new HashSet<String>();
+			}
+
+			_removedKeys.add((String)key);
+		}
+
+		return oldValue;
+	}
+
+	private Map<String, Object> _baseContext;
+	private Map<String, Object> _overlayContext =
+		new HashMap<String, Object>();
+	private Set<String> _removedKeys;
+
+}
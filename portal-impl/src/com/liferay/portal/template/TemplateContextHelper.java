@@ -90,6 +90,7 @@ import com.liferay.util.portlet.PortletRequestUtil;
 
 import java.lang.reflect.Method;
 
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
@@ -188,7 +189,19 @@ public class TemplateContextHelper {
 			for (String restrictedVariable : restrictedVariables) {
 				helperUtilities.remove(restrictedVariable);
 			}
+		}
+
+		// The helper utilities are shared by every template that uses this
+		// class loader. Templates read through them with a layered context
+		// instead of copying them, so they must never change.
+
+		Collection<Object> values = helperUtilities.values();
 
+		values.removeAll(Collections.singleton(null));
+
+		helperUtilities = Collections.unmodifiableMap(helperUtilities);
+
+		if (restricted) {
 			helperUtilitiesArray[1] = helperUtilities;
 		}
 		else {
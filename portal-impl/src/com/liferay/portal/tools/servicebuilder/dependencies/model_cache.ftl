@@ -2,6 +2,7 @@ package ${packagePath}.model.impl;
 
 import ${packagePath}.model.${entity.name};
 
+import com.liferay.portal.kernel.util.ParsedLocalization;
 import com.liferay.portal.kernel.util.StringBundler;
 import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.model.CacheModel;
@@ -75,6 +76,12 @@ public class ${entity.name}CacheModel implements CacheModel<${entity.name}>, Ext
 
 		${entity.varName}Impl.resetOriginalValues();
 
+		<#list entity.regularColList as column>
+			<#if column.localized>
+				${entity.varName}Impl.set${column.methodName}ParsedLocalization(${column.name}ParsedLocalization);
+			</#if>
+		</#list>
+
 		<#list cacheFields as cacheField>
 			<#assign methodName = textFormatter.format(serviceBuilder.getVariableName(cacheField), 6)>
 
@@ -162,4 +169,10 @@ public class ${entity.name}CacheModel implements CacheModel<${entity.name}>, Ext
 		public ${cacheField.type.genericValue} ${cacheField.name};
 	</#list>
 
+	<#list entity.regularColList as column>
+		<#if column.localized>
+			public transient ParsedLocalization ${column.name}ParsedLocalization;
+		</#if>
+	</#list>
+
 }
\ No newline at end of file
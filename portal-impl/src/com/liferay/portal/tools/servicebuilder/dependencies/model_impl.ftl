@@ -40,6 +40,7 @@ import com.liferay.portal.kernel.util.DateUtil;
 import com.liferay.portal.kernel.util.GetterUtil;
 import com.liferay.portal.kernel.util.LocaleUtil;
 import com.liferay.portal.kernel.util.LocalizationUtil;
+import com.liferay.portal.kernel.util.ParsedLocalization;
 import com.liferay.portal.kernel.util.ProxyUtil;
 import com.liferay.portal.kernel.util.StringBundler;
 import com.liferay.portal.kernel.util.StringPool;
@@ -493,12 +494,14 @@ public class ${entity.name}ModelImpl extends BaseModelImpl<${entity.name}> imple
 
 			@Override
 			public String get${column.methodName}(String languageId) {
-				return LocalizationUtil.getLocalization(get${column.methodName}(), languageId);
+				return get${column.methodName}(languageId, true);
 			}
 
 			@Override
 			public String get${column.methodName}(String languageId, boolean useDefault) {
-				return LocalizationUtil.getLocalization(get${column.methodName}(), languageId, useDefault);
+				ParsedLocalization ${column.name}ParsedLocalization = get${column.methodName}ParsedLocalization();
+
+				return ${column.name}ParsedLocalization.getLocalization(languageId, useDefault);
 			}
 
 			@Override
@@ -516,7 +519,29 @@ public class ${entity.name}ModelImpl extends BaseModelImpl<${entity.name}> imple
 
 			@Override
 			public Map<Locale, String> get${column.methodName}Map() {
-				return LocalizationUtil.getLocalizationMap(get${column.methodName}());
+				ParsedLocalization ${column.name}ParsedLocalization = get${column.methodName}ParsedLocalization();
+
+				return ${column.name}ParsedLocalization.getLocalizationMap(false);
+			}
+
+			protected ParsedLocalization get${column.methodName}ParsedLocalization() {
+				String ${column.name} = get${column.methodName}();
+
+				ParsedLocalization ${column.name}ParsedLocalization = _${column.name}ParsedLocalization;
+
+				if ((${column.name}ParsedLocalization == null) ||
+					(${column.name}ParsedLocalization.getXml() != ${column.name})) {
+
+					${column.name}ParsedLocalization = new ParsedLocalization(${column.name});
+
+					_${column.name}ParsedLocalization = ${column.name}ParsedLocalization;
+				}
+
+				return ${column.name}ParsedLocalization;
+			}
+
+			protected void set${column.methodName}ParsedLocalization(ParsedLocalization ${column.name}ParsedLocalization) {
+				_${column.name}ParsedLocalization = ${column.name}ParsedLocalization;
 			}
 		</#if>
 
@@ -1224,6 +1249,12 @@ public class ${entity.name}ModelImpl extends BaseModelImpl<${entity.name}> imple
 			</#if>
 		</#list>
 
+		<#list entity.regularColList as column>
+			<#if column.localized>
+				${entity.varName}CacheModel.${column.name}ParsedLocalization = get${column.methodName}ParsedLocalization();
+			</#if>
+		</#list>
+
 		<#list cacheFields as cacheField>
 			<#assign methodName = textFormatter.format(serviceBuilder.getVariableName(cacheField), 6)>
 
@@ -1289,6 +1320,7 @@ public class ${entity.name}ModelImpl extends BaseModelImpl<${entity.name}> imple
 
 			<#if column.localized>
 				private String _${column.name}CurrentLanguageId;
+				private ParsedLocalization _${column.name}ParsedLocalization;
 			</#if>
 
 			<#if column.userUuid>
@@ -0,0 +1,420 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.util;
+
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
+import com.liferay.portal.kernel.memory.FinalizeAction;
+import com.liferay.portal.kernel.memory.FinalizeManager;
+import com.liferay.portal.kernel.util.FileUtil;
+import com.liferay.portal.kernel.util.StringPool;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import java.util.AbstractSet;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * A set of strings that keeps its elements in memory until it holds more than
+ * a threshold of them and then moves them to a temporary file.
+ *
+ * <p>
+ * Once spilled, only an open addressing index of hash codes and file offsets
+ * stays in memory, which costs a few bytes per element instead of the element
+ * itself. Lookups compare hash codes first and only read an element back from
+ * the file when the hash codes match. Clearing the set deletes the file and
+ * returns the set to memory.
+ * </p>
+ *
+ * @author Shuyang Zhou
+ */
+public class DiskSpillingStringSet extends AbstractSet<String> {
+
+	public DiskSpillingStringSet(int threshold) {
+		_threshold = threshold;
+	}
+
+	@Override
+	public boolean add(String s) {
+		if (s == null) {
+			throw new NullPointerException();
+		}
+
+		if (_diskIndex != null) {
+			return _diskIndex.add(s);
+		}
+
+		if (!_set.add(s)) {
+			return false;
+		}
+
+		if ((_threshold > 0) && (_set.size() > _threshold)) {
+			spill();
+		}
+
+		return true;
+	}
+
+	@Override
+	public void clear() {
+		_set.clear();
+
+		if (_diskIndex != null) {
+			_diskIndex.doFinalize();
+
+			_diskIndex = null;
+		}
+	}
+
+	@Override
+	public boolean contains(Object object) {
+		if (!(object instanceof String)) {
+			return false;
+		}
+
+		if (_diskIndex != null) {
+			return _diskIndex.contains((String)object);
+		}
+
+		return _set.contains(object);
+	}
+
+	public boolean isSpilled() {
+		if (_diskIndex != null) {
+			return true;
+		}
+
+		return false;
+	}
+
+	@Override
+	public Iterator<String> iterator() {
+		if (_diskIndex != null) {
+			return _diskIndex.iterator();
+		}
+
+		return _set.iterator();
+	}
+
+	@Override
+	public boolean remove(Object object) {
+		if (!(object instanceof String)) {
+			return false;
+		}
+
+		if (_diskIndex != null) {
+			return _diskIndex.remove((String)object);
+		}
+
+		return _set.remove(object);
+	}
+
+	@Override
+	public int size() {
+		if (_diskIndex != null) {
+			return _diskIndex.size();
+		}
+
+		return _set.size();
+	}
+
+	protected void spill() {
+		try {
+			DiskIndex diskIndex = new DiskIndex(
+				FileUtil.createTempFile("spill"), _set.size() * 2);
+
+			for (String s : _set) {
+				diskIndex.add(s);
+			}
+
+			FinalizeManager.register(this, diskIndex);
+
+			_diskIndex = diskIndex;
+
+			_set.clear();
+		}
+		catch (IOException ioe) {
+			if (_log.isWarnEnabled()) {
+				_log.warn("Unable to spill set to disk", ioe);
+			}
+
+			_threshold = 0;
+		}
+	}
+
+	private static Log _log = LogFactoryUtil.getLog(
+		DiskSpillingStringSet.class);
+
+	private DiskIndex _diskIndex;
+	private Set<String> _set = new HashSet<String>();
+	private int _threshold;
+
+	private static class DiskIndex implements FinalizeAction {
+
+		public DiskIndex(File file, int capacity) throws IOException {
+			_file = file;
+
+			_randomAccessFile = new RandomAccessFile(file, "rw");
+
+			int tableSize = 16;
+
+			while (tableSize < (capacity * 2)) {
+				tableSize <<= 1;
+			}
+
+			_hashCodes = new int[tableSize];
+			_offsets = new long[tableSize];
+		}
+
+		public boolean add(String s) {
+			int hashCode = s.hashCode();
+
+			int index = find(s, hashCode);
+
+			if (index >= 0) {
+				return false;
+			}
+
+			index = -index - 1;
+
+			if (_offsets[index] == _REMOVED) {
+				_removedCount--;
+			}
+
+			_hashCodes[index] = hashCode;
+			_offsets[index] = write(s) + 1;
+
+			_size++;
+
+			if (((_size + _removedCount) * 2) > _offsets.length) {
+				rehash();
+			}
+
+			return true;
+		}
+
+		public boolean contains(String s) {
+			if (find(s, s.hashCode()) >= 0) {
+				return true;
+			}
+
+			return false;
+		}
+
+		@Override
+		public void doFinalize() {
+			try {
+				_randomAccessFile.close();
+			}
+			catch (IOException ioe) {
+			}
+
+			_file.delete();
+		}
+
+		public Iterator<String> iterator() {
+			return new Iterator<String>() {
+
+				@Override
+				public boolean hasNext() {
+					while (_nextIndex < _offsets.length) {
+						if (_offsets[_nextIndex] > 0) {
+							return true;
+						}
+
+						_nextIndex++;
+					}
+
+					return false;
+				}
+
+				@Override
+				public String next() {
+					if (!hasNext()) {
+						throw new NoSuchElementException();
+					}
+
+					_lastIndex = _nextIndex++;
+
+					return read(_offsets[_lastIndex] - 1);
+				}
+
+				@Override
+				public void remove() {
+					if (_lastIndex < 0) {
+						throw new IllegalStateException();
+					}
+
+					_offsets[_lastIndex] = _REMOVED;
+
+					_removedCount++;
+					_size--;
+
+					_lastIndex = -1;
+				}
+
+				private int _lastIndex = -1;
+				private int _nextIndex;
+
+			};
+		}
+
+		public boolean remove(String s) {
+			int index = find(s, s.hashCode());
+
+			if (index < 0) {
+				return false;
+			}
+
+			_offsets[index] = _REMOVED;
+
+			_removedCount++;
+			_size--;
+
+			return true;
+		}
+
+		public int size() {
+			return _size;
+		}
+
+		/**
+		 * Returns the slot holding the string, or <code>-(slot + 1)</code> of
+		 * the slot where it should be added.
+		 */
+		protected int find(String s, int hashCode) {
+			int mask = _offsets.length - 1;
+
+			int index = _spread(hashCode) & mask;
+
+			int removedIndex = -1;
+
+			while (true) {
+				long offset = _offsets[index];
+
+				if (offset == 0) {
+					if (removedIndex >= 0) {
+						return -removedIndex - 1;
+					}
+
+					return -index - 1;
+				}
+
+				if (offset == _REMOVED) {
+					if (removedIndex < 0) {
+						removedIndex = index;
+					}
+				}
+				else if ((_hashCodes[index] == hashCode) &&
+						 s.equals(read(offset - 1))) {
+
+					return index;
+				}
+
+				index = (index + 1) & mask;
+			}
+		}
+
+		protected String read(long offset) {
+			try {
+				_randomAccessFile.seek(offset);
+
+				byte[] bytes = new byte[_randomAccessFile.readInt()];
+
+				_randomAccessFile.readFully(bytes);
+
+				return new String(bytes, StringPool.UTF8);
+			}
+			catch (IOException ioe) {
+				throw new IllegalStateException(ioe);
+			}
+		}
+
+		protected void rehash() {
+			int[] hashCodes = _hashCodes;
+			long[] offsets = _offsets;
+
+			int tableSize = offsets.length;
+
+			if ((_size * 4) > tableSize) {
+				tableSize <<= 1;
+			}
+
+			_hashCodes = new int[tableSize];
+			_offsets = new long[tableSize];
+
+			_removedCount = 0;
+
+			int mask = tableSize - 1;
+
+			for (int i = 0; i < offsets.length; i++) {
+				if (offsets[i] <= 0) {
+					continue;
+				}
+
+				int index = _spread(hashCodes[i]) & mask;
+
+				while (_offsets[index] != 0) {
+					index = (index + 1) & mask;
+				}
+
+				_hashCodes[index] = hashCodes[i];
+				_offsets[index] = offsets[i];
+			}
+		}
+
+		protected long write(String s) {
+			try {
+				byte[] bytes = s.getBytes(StringPool.UTF8);
+
+				long offset = _length;
+
+				_randomAccessFile.seek(offset);
+				_randomAccessFile.writeInt(bytes.length);
+				_randomAccessFile.write(bytes);
+
+				_length += bytes.length + 4;
+
+				return offset;
+			}
+			catch (IOException ioe) {
+				throw new IllegalStateException(ioe);
+			}
+		}
+
+		private static int _spread(int hashCode) {
+			hashCode ^= (hashCode >>> 20) ^ (hashCode >>> 12);
+
+			return hashCode ^ (hashCode >>> 7) ^ (hashCode >>> 4);
+		}
+
+		private static final long _REMOVED = -1;
+
+		private final File _file;
+		private int[] _hashCodes;
+		private long _length;
+		private long[] _offsets;
+		private final RandomAccessFile _randomAccessFile;
+		private int _removedCount;
+		private int _size;
+
+	}
+
+}
@@ -22,12 +22,16 @@ import com.liferay.portal.kernel.cache.CacheRegistryUtil;
 import com.liferay.portal.kernel.configuration.ConfigurationFactoryUtil;
 import com.liferay.portal.kernel.dao.db.DBFactoryUtil;
 import com.liferay.portal.kernel.dao.jdbc.DataSourceFactoryUtil;
+import com.liferay.portal.kernel.io.ExternalizableSerializableCodec;
+import com.liferay.portal.kernel.io.SerializableCodecRegistry;
 import com.liferay.portal.kernel.log.LogFactoryUtil;
 import com.liferay.portal.kernel.log.SanitizerLogWrapper;
+import com.liferay.portal.kernel.util.CharPool;
 import com.liferay.portal.kernel.util.GetterUtil;
 import com.liferay.portal.kernel.util.JavaDetector;
 import com.liferay.portal.kernel.util.LocaleUtil;
 import com.liferay.portal.kernel.util.PortalClassLoaderUtil;
+import com.liferay.portal.kernel.util.PropsKeys;
 import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.kernel.util.SystemProperties;
 import com.liferay.portal.kernel.util.TimeZoneUtil;
@@ -39,6 +43,8 @@ import com.liferay.util.log4j.Log4JUtil;
 
 import com.sun.syndication.io.XmlReader;
 
+import java.io.Externalizable;
+
 import java.util.List;
 
 import org.apache.commons.lang.time.StopWatch;
@@ -150,6 +156,31 @@ public class InitUtil {
 
 		DBFactoryUtil.setDBFactory(DoPrivilegedUtil.wrap(new DBFactoryImpl()));
 
+		// Serializable codecs
+
+		String[] externalizableClasses = PropsUtil.getArray(
+			PropsKeys.SERIALIZER_CODEC_EXTERNALIZABLE_CLASSES);
+
+		for (String externalizableClass : externalizableClasses) {
+			try {
+				int index = externalizableClass.indexOf(CharPool.EQUAL);
+
+				int typeId = GetterUtil.getInteger(
+					externalizableClass.substring(0, index).trim());
+				String className = externalizableClass.substring(
+					index + 1).trim();
+
+				Class<?> clazz = Class.forName(
+					className, true, InitUtil.class.getClassLoader());
+
+				_registerExternalizableSerializableCodec(
+					typeId, clazz.asSubclass(Externalizable.class));
+			}
+			catch (Exception e) {
+				e.printStackTrace();
+			}
+		}
+
 		// ROME
 
 		XmlReader.setDefaultEncoding(StringPool.UTF8);
@@ -201,6 +232,13 @@ public class InitUtil {
 		initWithSpring(false, extraConfigLocations);
 	}
 
+	private static <T extends Externalizable> void
+		_registerExternalizableSerializableCodec(int typeId, Class<T> clazz) {
+
+		SerializableCodecRegistry.register(
+			typeId, clazz, new ExternalizableSerializableCodec<T>(clazz));
+	}
+
 	private static final boolean _PRINT_TIME = false;
 
 	private static boolean _initialized;
@@ -25,17 +25,19 @@ import com.liferay.portal.kernel.util.ArrayUtil;
 import com.liferay.portal.kernel.util.LocaleUtil;
 import com.liferay.portal.kernel.util.Localization;
 import com.liferay.portal.kernel.util.ParamUtil;
+import com.liferay.portal.kernel.util.ParsedLocalization;
 import com.liferay.portal.kernel.util.PrefsParamUtil;
 import com.liferay.portal.kernel.util.StringBundler;
 import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.kernel.util.StringUtil;
-import com.liferay.portal.kernel.util.Tuple;
 import com.liferay.portal.kernel.util.Validator;
 import com.liferay.portal.kernel.xml.Document;
 import com.liferay.portal.kernel.xml.Element;
 import com.liferay.portal.language.LanguageResources;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Locale;
 import java.util.Map;
 import java.util.ResourceBundle;
@@ -168,152 +170,10 @@ public class LocalizationImpl implements Localization {
 	public String getLocalization(
 		String xml, String requestedLanguageId, boolean useDefault) {
 
-		String systemDefaultLanguageId = LocaleUtil.toLanguageId(
-			LocaleUtil.getDefault());
-
-		if (!Validator.isXml(xml)) {
-			if (useDefault ||
-				requestedLanguageId.equals(systemDefaultLanguageId)) {
-
-				return xml;
-			}
-			else {
-				return StringPool.BLANK;
-			}
-		}
-
-		String value = _getCachedValue(xml, requestedLanguageId, useDefault);
-
-		if (value != null) {
-			return value;
-		}
-
-		value = StringPool.BLANK;
-
-		String priorityLanguageId = null;
-
-		Locale requestedLocale = LocaleUtil.fromLanguageId(requestedLanguageId);
-
-		if (useDefault &&
-			LanguageUtil.isDuplicateLanguageCode(
-				requestedLocale.getLanguage())) {
-
-			Locale priorityLocale = LanguageUtil.getLocale(
-				requestedLocale.getLanguage());
-
-			if (!requestedLanguageId.equals(priorityLanguageId)) {
-				priorityLanguageId = LocaleUtil.toLanguageId(priorityLocale);
-			}
-		}
-
-		XMLStreamReader xmlStreamReader = null;
-
-		ClassLoader portalClassLoader = ClassLoaderUtil.getPortalClassLoader();
-
-		ClassLoader contextClassLoader =
-			ClassLoaderUtil.getContextClassLoader();
-
-		try {
-			if (contextClassLoader != portalClassLoader) {
-				ClassLoaderUtil.setContextClassLoader(portalClassLoader);
-			}
-
-			XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
-
-			xmlStreamReader = xmlInputFactory.createXMLStreamReader(
-				new UnsyncStringReader(xml));
-
-			String defaultLanguageId = StringPool.BLANK;
-
-			// Skip root node
-
-			if (xmlStreamReader.hasNext()) {
-				xmlStreamReader.nextTag();
-
-				defaultLanguageId = xmlStreamReader.getAttributeValue(
-					null, _DEFAULT_LOCALE);
-
-				if (Validator.isNull(defaultLanguageId)) {
-					defaultLanguageId = systemDefaultLanguageId;
-				}
-			}
-
-			// Find specified language and/or default language
-
-			String defaultValue = StringPool.BLANK;
-			String priorityValue = StringPool.BLANK;
-
-			while (xmlStreamReader.hasNext()) {
-				int event = xmlStreamReader.next();
+		ParsedLocalization parsedLocalization = getParsedLocalization(xml);
 
-				if (event == XMLStreamConstants.START_ELEMENT) {
-					String languageId = xmlStreamReader.getAttributeValue(
-						null, _LANGUAGE_ID);
-
-					if (Validator.isNull(languageId)) {
-						languageId = defaultLanguageId;
-					}
-
-					if (languageId.equals(defaultLanguageId) ||
-						languageId.equals(priorityLanguageId) ||
-						languageId.equals(requestedLanguageId)) {
-
-						String text = xmlStreamReader.getElementText();
-
-						if (languageId.equals(defaultLanguageId)) {
-							defaultValue = text;
-						}
-
-						if (languageId.equals(priorityLanguageId)) {
-							priorityValue = text;
-						}
-
-						if (languageId.equals(requestedLanguageId)) {
-							value = text;
-						}
-
-						if (Validator.isNotNull(value)) {
-							break;
-						}
-					}
-				}
-				else if (event == XMLStreamConstants.END_DOCUMENT) {
-					break;
-				}
-			}
-
-			if (useDefault && Validator.isNotNull(priorityLanguageId) &&
-				Validator.isNull(value) && Validator.isNotNull(priorityValue)) {
-
-				value = priorityValue;
-			}
-
-			if (useDefault && Validator.isNull(value)) {
-				value = defaultValue;
-			}
-		}
-		catch (Exception e) {
-			if (_log.isWarnEnabled()) {
-				_log.warn(e, e);
-			}
-		}
-		finally {
-			if (contextClassLoader != portalClassLoader) {
-				ClassLoaderUtil.setContextClassLoader(contextClassLoader);
-			}
-
-			if (xmlStreamReader != null) {
-				try {
-					xmlStreamReader.close();
-				}
-				catch (Exception e) {
-				}
-			}
-		}
-
-		_setCachedValue(xml, requestedLanguageId, useDefault, value);
-
-		return value;
+		return parsedLocalization.getLocalization(
+			requestedLanguageId, useDefault);
 	}
 
 	@Override
@@ -388,17 +248,9 @@ public class LocalizationImpl implements Localization {
 	public Map<Locale, String> getLocalizationMap(
 		String xml, boolean useDefault) {
 
-		Locale[] locales = LanguageUtil.getAvailableLocales();
-
-		Map<Locale, String> map = new HashMap<Locale, String>();
-
-		for (Locale locale : locales) {
-			String languageId = LocaleUtil.toLanguageId(locale);
-
-			map.put(locale, getLocalization(xml, languageId, useDefault));
-		}
+		ParsedLocalization parsedLocalization = getParsedLocalization(xml);
 
-		return map;
+		return parsedLocalization.getLocalizationMap(useDefault);
 	}
 
 	@Override
@@ -503,6 +355,31 @@ public class LocalizationImpl implements Localization {
 		return getLocalizationMap(portletRequest, parameter);
 	}
 
+	@Override
+	public ParsedLocalization getParsedLocalization(String xml) {
+		if (!Validator.isXml(xml) || xml.equals(_EMPTY_ROOT_NODE)) {
+			return parseLocalization(xml);
+		}
+
+		ParsedLocalization parsedLocalization = null;
+
+		synchronized (_parsedLocalizations) {
+			parsedLocalization = _parsedLocalizations.get(xml);
+		}
+
+		if (parsedLocalization != null) {
+			return parsedLocalization;
+		}
+
+		parsedLocalization = parseLocalization(xml);
+
+		synchronized (_parsedLocalizations) {
+			_parsedLocalizations.put(xml, parsedLocalization);
+		}
+
+		return parsedLocalization;
+	}
+
 	@Override
 	public String getPreferencesKey(String key, String languageId) {
 		String defaultLanguageId = LocaleUtil.toLanguageId(
@@ -561,6 +438,103 @@ public class LocalizationImpl implements Localization {
 		return values;
 	}
 
+	@Override
+	public ParsedLocalization parseLocalization(String xml) {
+		if (!Validator.isXml(xml)) {
+			return new ParsedLocalization(xml, null, null, null);
+		}
+
+		String defaultLanguageId = LocaleUtil.toLanguageId(
+			LocaleUtil.getDefault());
+
+		List<String> languageIds = new ArrayList<String>();
+		List<String> values = new ArrayList<String>();
+
+		XMLStreamReader xmlStreamReader = null;
+
+		ClassLoader portalClassLoader = ClassLoaderUtil.getPortalClassLoader();
+
+		ClassLoader contextClassLoader =
+			ClassLoaderUtil.getContextClassLoader();
+
+		try {
+			if (contextClassLoader != portalClassLoader) {
+				ClassLoaderUtil.setContextClassLoader(portalClassLoader);
+			}
+
+			XMLInputFactory xmlInputFactory = XMLInputFactory.newInstance();
+
+			xmlStreamReader = xmlInputFactory.createXMLStreamReader(
+				new UnsyncStringReader(xml));
+
+			// Skip root node
+
+			if (xmlStreamReader.hasNext()) {
+				xmlStreamReader.nextTag();
+
+				String rootDefaultLanguageId =
+					xmlStreamReader.getAttributeValue(null, _DEFAULT_LOCALE);
+
+				if (Validator.isNotNull(rootDefaultLanguageId)) {
+					defaultLanguageId = rootDefaultLanguageId;
+				}
+			}
+
+			// Collect the value of every language
+
+			while (xmlStreamReader.hasNext()) {
+				int event = xmlStreamReader.next();
+
+				if (event == XMLStreamConstants.START_ELEMENT) {
+					String languageId = xmlStreamReader.getAttributeValue(
+						null, _LANGUAGE_ID);
+
+					if (Validator.isNull(languageId)) {
+						languageId = defaultLanguageId;
+					}
+
+					String text = xmlStreamReader.getElementText();
+
+					int index = languageIds.indexOf(languageId);
+
+					if (index < 0) {
+						languageIds.add(languageId);
+						values.add(text);
+					}
+					else if (Validator.isNull(values.get(index))) {
+						values.set(index, text);
+					}
+				}
+				else if (event == XMLStreamConstants.END_DOCUMENT) {
+					break;
+				}
+			}
+		}
+		catch (Exception e) {
+			if (_log.isWarnEnabled()) {
+				_log.warn(e, e);
+			}
+		}
+		finally {
+			if (contextClassLoader != portalClassLoader) {
+				ClassLoaderUtil.setContextClassLoader(contextClassLoader);
+			}
+
+			if (xmlStreamReader != null) {
+				try {
+					xmlStreamReader.close();
+				}
+				catch (Exception e) {
+				}
+			}
+		}
+
+		return new ParsedLocalization(
+			xml, defaultLanguageId,
+			languageIds.toArray(new String[languageIds.size()]),
+			values.toArray(new String[values.size()]));
+	}
+
 	@Override
 	public String removeLocalization(
 		String xml, String key, String requestedLanguageId) {
@@ -967,22 +941,6 @@ public class LocalizationImpl implements Localization {
 		}
 	}
 
-	private String _getCachedValue(
-		String xml, String requestedLanguageId, boolean useDefault) {
-
-		String value = null;
-
-		Map<Tuple, String> valueMap = _cache.get(xml);
-
-		if (valueMap != null) {
-			Tuple subkey = new Tuple(useDefault, requestedLanguageId);
-
-			value = valueMap.get(subkey);
-		}
-
-		return value;
-	}
-
 	private String _getLocalization(
 		String bundleName, Locale locale, ClassLoader classLoader, String key,
 		String defaultValue) {
@@ -1082,27 +1040,6 @@ public class LocalizationImpl implements Localization {
 		return xml;
 	}
 
-	private void _setCachedValue(
-		String xml, String requestedLanguageId, boolean useDefault,
-		String value) {
-
-		if (Validator.isNotNull(xml) && !xml.equals(_EMPTY_ROOT_NODE)) {
-			synchronized (_cache) {
-				Map<Tuple, String> map = _cache.get(xml);
-
-				if (map == null) {
-					map = new HashMap<Tuple, String>();
-				}
-
-				Tuple subkey = new Tuple(useDefault, requestedLanguageId);
-
-				map.put(subkey, value);
-
-				_cache.put(xml, map);
-			}
-		}
-	}
-
 	private static final String _AVAILABLE_LOCALES = "available-locales";
 
 	private static final String _DEFAULT_LOCALE = "default-locale";
@@ -1115,7 +1052,7 @@ public class LocalizationImpl implements Localization {
 
 	private static Log _log = LogFactoryUtil.getLog(LocalizationImpl.class);
 
-	private Map<String, Map<Tuple, String>> _cache = new ReferenceMap(
-		ReferenceMap.SOFT, ReferenceMap.HARD);
+	private Map<String, ParsedLocalization> _parsedLocalizations =
+		new ReferenceMap(ReferenceMap.HARD, ReferenceMap.SOFT);
 
 }
\ No newline at end of file
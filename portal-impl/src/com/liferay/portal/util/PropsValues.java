@@ -92,6 +92,10 @@ public class PropsValues {
 
 	public static final boolean ASSET_ENTRY_BUFFERED_INCREMENT_ENABLED = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.BUFFERED_INCREMENT_ENABLED, new Filter("AssetEntry")));
 
+	public static final long ASSET_ENTRY_QUERY_CACHE_DATE_INTERVAL = GetterUtil.getLong(PropsUtil.get(PropsKeys.ASSET_ENTRY_QUERY_CACHE_DATE_INTERVAL));
+
+	public static final boolean ASSET_ENTRY_QUERY_CACHE_ENABLED = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.ASSET_ENTRY_QUERY_CACHE_ENABLED));
+
 	public static final String ASSET_ENTRY_VALIDATOR = PropsUtil.get(PropsKeys.ASSET_ENTRY_VALIDATOR);
 
 	public static final int ASSET_FILTER_SEARCH_LIMIT = GetterUtil.getInteger(PropsUtil.get(PropsKeys.ASSET_FILTER_SEARCH_LIMIT));
@@ -380,6 +384,8 @@ public class PropsValues {
 
 	public static final String[] COMBO_ALLOWED_FILE_EXTENSIONS = PropsUtil.getArray(PropsKeys.COMBO_ALLOWED_FILE_EXTENSIONS);
 
+	public static final String COMBO_CACHE_DIR = PropsUtil.get(PropsKeys.COMBO_CACHE_DIR);
+
 	public static final boolean COMBO_CHECK_TIMESTAMP = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.COMBO_CHECK_TIMESTAMP));
 
 	public static final long COMBO_CHECK_TIMESTAMP_INTERVAL = GetterUtil.getLong(PropsUtil.get(PropsKeys.COMBO_CHECK_TIMESTAMP_INTERVAL));
@@ -442,8 +448,16 @@ public class PropsValues {
 
 	public static String[] CONVERT_PROCESSES = PropsUtil.getArray(PropsKeys.CONVERT_PROCESSES);
 
+	public static final long COUNTER_ADAPTIVE_RANGE_INTERVAL = GetterUtil.getLong(PropsUtil.get(PropsKeys.COUNTER_ADAPTIVE_RANGE_INTERVAL));
+
+	public static final int COUNTER_ADAPTIVE_RANGE_MAX = GetterUtil.getInteger(PropsUtil.get(PropsKeys.COUNTER_ADAPTIVE_RANGE_MAX));
+
 	public static final int COUNTER_INCREMENT = GetterUtil.getInteger(PropsUtil.get(PropsKeys.COUNTER_INCREMENT));
 
+	public static final boolean COUNTER_PREFETCH_ENABLED = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.COUNTER_PREFETCH_ENABLED));
+
+	public static final int COUNTER_PREFETCH_THRESHOLD = GetterUtil.getInteger(PropsUtil.get(PropsKeys.COUNTER_PREFETCH_THRESHOLD));
+
 	public static final String CUSTOM_SQL_FUNCTION_ISNOTNULL = PropsUtil.get(PropsKeys.CUSTOM_SQL_FUNCTION_ISNOTNULL);
 
 	public static final String CUSTOM_SQL_FUNCTION_ISNULL = PropsUtil.get(PropsKeys.CUSTOM_SQL_FUNCTION_ISNULL);
@@ -704,6 +718,14 @@ public class PropsValues {
 
 	public static final int EHCACHE_CACHE_MANAGER_STATISTICS_THREAD_POOL_SIZE = GetterUtil.getInteger(PropsUtil.get(PropsKeys.EHCACHE_CACHE_MANAGER_STATISTICS_THREAD_POOL_SIZE));
 
+	public static final boolean EHCACHE_CLUSTER_LINK_REPLICATION_BATCH_ENABLED = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.EHCACHE_CLUSTER_LINK_REPLICATION_BATCH_ENABLED));
+
+	public static final int EHCACHE_CLUSTER_LINK_REPLICATION_BATCH_SIZE = GetterUtil.getInteger(PropsUtil.get(PropsKeys.EHCACHE_CLUSTER_LINK_REPLICATION_BATCH_SIZE));
+
+	public static final long EHCACHE_CLUSTER_LINK_REPLICATION_BATCH_WINDOW = GetterUtil.getLong(PropsUtil.get(PropsKeys.EHCACHE_CLUSTER_LINK_REPLICATION_BATCH_WINDOW));
+
+	public static final int EHCACHE_CLUSTER_LINK_REPLICATION_COMPRESSION_THRESHOLD = GetterUtil.getInteger(PropsUtil.get(PropsKeys.EHCACHE_CLUSTER_LINK_REPLICATION_COMPRESSION_THRESHOLD));
+
 	public static final boolean EHCACHE_CLUSTER_LINK_REPLICATION_ENABLED = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.EHCACHE_CLUSTER_LINK_REPLICATION_ENABLED));
 
 	public static final boolean EHCACHE_PORTAL_CACHE_MANAGER_JMX_ENABLED = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.EHCACHE_PORTAL_CACHE_MANAGER_JMX_ENABLED));
@@ -772,6 +794,12 @@ public class PropsValues {
 
 	public static final int GZIP_COMPRESSION_LEVEL = GetterUtil.getInteger(PropsUtil.get(PropsKeys.GZIP_COMPRESSION_LEVEL));
 
+	public static final String[] GZIP_STREAMING_COMPRESSED_CONTENT_TYPES = PropsUtil.getArray(PropsKeys.GZIP_STREAMING_COMPRESSED_CONTENT_TYPES);
+
+	public static final boolean GZIP_STREAMING_ENABLED = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.GZIP_STREAMING_ENABLED));
+
+	public static final int GZIP_STREAMING_MIN_SIZE = GetterUtil.getInteger(PropsUtil.get(PropsKeys.GZIP_STREAMING_MIN_SIZE));
+
 	public static final boolean HIBERNATE_CACHE_USE_SECOND_LEVEL_CACHE = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.HIBERNATE_CACHE_USE_SECOND_LEVEL_CACHE));
 
 	public static final String HIBERNATE_DIALECT = PropsUtil.get(PropsKeys.HIBERNATE_DIALECT);
@@ -852,6 +880,14 @@ public class PropsValues {
 
 	public static final String JDBC_DEFAULT_USERNAME = PropsUtil.get(PropsKeys.JDBC_DEFAULT_USERNAME);
 
+	public static final long JDBC_DYNAMIC_DATA_SOURCE_READ_YOUR_WRITES_WINDOW = GetterUtil.getLong(PropsUtil.get(PropsKeys.JDBC_DYNAMIC_DATA_SOURCE_READ_YOUR_WRITES_WINDOW));
+
+	public static final long JDBC_DYNAMIC_DATA_SOURCE_REPLICA_LAG_CHECK_INTERVAL = GetterUtil.getLong(PropsUtil.get(PropsKeys.JDBC_DYNAMIC_DATA_SOURCE_REPLICA_LAG_CHECK_INTERVAL));
+
+	public static final String JDBC_DYNAMIC_DATA_SOURCE_REPLICA_LAG_CHECK_SQL = PropsUtil.get(PropsKeys.JDBC_DYNAMIC_DATA_SOURCE_REPLICA_LAG_CHECK_SQL);
+
+	public static final long JDBC_DYNAMIC_DATA_SOURCE_REPLICA_LAG_MAX = GetterUtil.getLong(PropsUtil.get(PropsKeys.JDBC_DYNAMIC_DATA_SOURCE_REPLICA_LAG_MAX));
+
 	public static final int JOURNAL_ARTICLE_CHECK_INTERVAL = GetterUtil.getInteger(PropsUtil.get(PropsKeys.JOURNAL_ARTICLE_CHECK_INTERVAL));
 
 	public static final boolean JOURNAL_ARTICLE_COMMENTS_ENABLED = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.JOURNAL_ARTICLE_COMMENTS_ENABLED));
@@ -880,6 +916,10 @@ public class PropsValues {
 
 	public static final boolean JOURNAL_ARTICLES_SEARCH_WITH_INDEX = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.JOURNAL_ARTICLES_SEARCH_WITH_INDEX));
 
+	public static final int JOURNAL_CONTENT_CACHE_MAX_ENTRY_SIZE = GetterUtil.getInteger(PropsUtil.get(PropsKeys.JOURNAL_CONTENT_CACHE_MAX_ENTRY_SIZE));
+
+	public static final long JOURNAL_CONTENT_CACHE_MAX_SIZE = GetterUtil.getLong(PropsUtil.get(PropsKeys.JOURNAL_CONTENT_CACHE_MAX_SIZE));
+
 	public static final boolean JOURNAL_CONTENT_PUBLISH_TO_LIVE_BY_DEFAULT = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.JOURNAL_CONTENT_PUBLISH_TO_LIVE_BY_DEFAULT));
 
 	public static final boolean JOURNAL_CONTENT_SEARCH_SHOW_LISTED = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.JOURNAL_CONTENT_SEARCH_SHOW_LISTED));
@@ -1136,10 +1176,18 @@ public class PropsValues {
 
 	public static final boolean LUCENE_REPLICATE_WRITE = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.LUCENE_REPLICATE_WRITE));
 
+	public static final String[] LUCENE_SEARCHER_WARM_SORT_FIELDS = PropsUtil.getArray(PropsKeys.LUCENE_SEARCHER_WARM_SORT_FIELDS);
+
 	public static final String LUCENE_STORE_TYPE = PropsUtil.get(PropsKeys.LUCENE_STORE_TYPE);
 
 	public static final boolean LUCENE_STORE_TYPE_FILE_FORCE_MMAP = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.LUCENE_STORE_TYPE_FILE_FORCE_MMAP));
 
+	public static final int LUCENE_WRITE_QUEUE_BATCH_SIZE = GetterUtil.getInteger(PropsUtil.get(PropsKeys.LUCENE_WRITE_QUEUE_BATCH_SIZE));
+
+	public static final int LUCENE_WRITE_QUEUE_CAPACITY = GetterUtil.getInteger(PropsUtil.get(PropsKeys.LUCENE_WRITE_QUEUE_CAPACITY));
+
+	public static final boolean LUCENE_WRITE_QUEUE_ENABLED = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.LUCENE_WRITE_QUEUE_ENABLED));
+
 	public static final String MAIL_AUDIT_TRAIL = PropsUtil.get(PropsKeys.MAIL_AUDIT_TRAIL);
 
 	public static final String MAIL_HOOK_IMPL = PropsUtil.get(PropsKeys.MAIL_HOOK_IMPL);
@@ -1222,6 +1270,8 @@ public class PropsValues {
 
 	public static final String MESSAGE_BOARDS_THREAD_VIEWS_DEFAULT = PropsUtil.get(PropsKeys.MESSAGE_BOARDS_THREAD_VIEWS_DEFAULT);
 
+	public static final boolean MESSAGE_BUS_WORK_STEALING_ENABLED = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.MESSAGE_BUS_WORK_STEALING_ENABLED));
+
 	public static final String MICROSOFT_TRANSLATOR_CLIENT_ID = PropsUtil.get(PropsKeys.MICROSOFT_TRANSLATOR_CLIENT_ID);
 
 	public static final String MICROSOFT_TRANSLATOR_CLIENT_SECRET = PropsUtil.get(PropsKeys.MICROSOFT_TRANSLATOR_CLIENT_SECRET);
@@ -1272,6 +1322,8 @@ public class PropsValues {
 
 	public static final String[] MODULE_FRAMEWORK_SYSTEM_PACKAGES_EXTRA = PropsUtil.getArray(PropsKeys.MODULE_FRAMEWORK_SYSTEM_PACKAGES_EXTRA);
 
+	public static final boolean MONITORING_DATA_SAMPLE_MESSAGE_BUS_ENABLED = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.MONITORING_DATA_SAMPLE_MESSAGE_BUS_ENABLED));
+
 	public static boolean MONITORING_PORTAL_REQUEST = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.MONITORING_PORTAL_REQUEST));
 
 	public static boolean MONITORING_PORTLET_ACTION_REQUEST = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.MONITORING_PORTLET_ACTION_REQUEST));
@@ -1284,6 +1336,10 @@ public class PropsValues {
 
 	public static final boolean MONITORING_SHOW_PER_REQUEST_DATA_SAMPLE = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.MONITORING_SHOW_PER_REQUEST_DATA_SAMPLE));
 
+	public static final int MONITORING_STATISTICS_WINDOW_SLICES = GetterUtil.getInteger(PropsUtil.get(PropsKeys.MONITORING_STATISTICS_WINDOW_SLICES));
+
+	public static final long MONITORING_STATISTICS_WINDOW_TIME = GetterUtil.getLong(PropsUtil.get(PropsKeys.MONITORING_STATISTICS_WINDOW_TIME));
+
 	public static final String[] MY_SITES_DIRECTORY_SITE_EXCLUDES = PropsUtil.getArray(PropsKeys.MY_SITES_DIRECTORY_SITE_EXCLUDES);
 
 	public static final String MY_SITES_DISPLAY_STYLE = PropsUtil.get(PropsKeys.MY_SITES_DISPLAY_STYLE);
@@ -1440,6 +1496,8 @@ public class PropsValues {
 
 	public static final String PASSWORDS_TOOLKIT = PropsUtil.get(PropsKeys.PASSWORDS_TOOLKIT);
 
+	public static final int PERMISSIONS_BULK_PRIM_KEYS_BATCH_SIZE = GetterUtil.getInteger(PropsUtil.get(PropsKeys.PERMISSIONS_BULK_PRIM_KEYS_BATCH_SIZE));
+
 	public static final boolean PERMISSIONS_CHECK_GUEST_ENABLED = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.PERMISSIONS_CHECK_GUEST_ENABLED));
 
 	public static final String PERMISSIONS_CHECKER = PropsUtil.get(PropsKeys.PERMISSIONS_CHECKER);
@@ -1460,6 +1518,8 @@ public class PropsValues {
 
 	public static final int PERMISSIONS_ROLE_RESOURCE_PERMISSION_QUERY_THRESHOLD = GetterUtil.getInteger(PropsUtil.get(PropsKeys.PERMISSIONS_ROLE_RESOURCE_PERMISSION_QUERY_THRESHOLD));
 
+	public static final long PERMISSIONS_SEARCH_ROLES_FILTER_CACHE_MAX_SIZE = GetterUtil.getLong(PropsUtil.get(PropsKeys.PERMISSIONS_SEARCH_ROLES_FILTER_CACHE_MAX_SIZE));
+
 	public static final int PERMISSIONS_THREAD_LOCAL_CACHE_MAX_SIZE = GetterUtil.getInteger(PropsUtil.get(PropsKeys.PERMISSIONS_THREAD_LOCAL_CACHE_MAX_SIZE));
 
 	public static boolean PERMISSIONS_VIEW_DYNAMIC_INHERITANCE = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.PERMISSIONS_VIEW_DYNAMIC_INHERITANCE));
@@ -1778,6 +1838,12 @@ public class PropsValues {
 
 	public static final int SQL_DATA_MAX_PARAMETERS = GetterUtil.getInteger(PropsUtil.get(PropsKeys.SQL_DATA_MAX_PARAMETERS));
 
+	public static final int STAGING_LAR_IMPORT_PREFETCH_SIZE = GetterUtil.getInteger(PropsUtil.get(PropsKeys.STAGING_LAR_IMPORT_PREFETCH_SIZE));
+
+	public static final int STAGING_LAR_SPILL_THRESHOLD = GetterUtil.getInteger(PropsUtil.get(PropsKeys.STAGING_LAR_SPILL_THRESHOLD));
+
+	public static final boolean STAGING_LAR_STREAMING_ENABLED = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.STAGING_LAR_STREAMING_ENABLED));
+
 	public static boolean STAGING_LOCK_ENABLED = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.STAGING_LOCK_ENABLED));
 
 	public static final int STAGING_REMOTE_TRANSFER_BUFFER_SIZE = GetterUtil.getInteger(PropsUtil.get(PropsKeys.STAGING_REMOTE_TRANSFER_BUFFER_SIZE));
@@ -1790,6 +1856,8 @@ public class PropsValues {
 
 	public static String[] STRIP_MIME_TYPES = PropsUtil.getArray(PropsKeys.STRIP_MIME_TYPES);
 
+	public static boolean STRIP_STREAMING_ENABLED = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.STRIP_STREAMING_ENABLED));
+
 	public static final String STRUTS_PORTLET_REQUEST_PROCESSOR = PropsUtil.get(PropsKeys.STRUTS_PORTLET_REQUEST_PROCESSOR);
 
 	public static final boolean TAGS_COMPILER_ENABLED = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.TAGS_COMPILER_ENABLED));
@@ -1940,6 +2008,18 @@ public class PropsValues {
 
 	public static final int VALUE_OBJECT_FINDER_THREAD_LOCAL_CACHE_MAX_SIZE = GetterUtil.getInteger(PropsUtil.get(PropsKeys.VALUE_OBJECT_FINDER_THREAD_LOCAL_CACHE_MAX_SIZE));
 
+	public static final String VALUE_OBJECT_MAPPED_CACHE_DIR = PropsUtil.get(PropsKeys.VALUE_OBJECT_MAPPED_CACHE_DIR);
+
+	public static final boolean VALUE_OBJECT_MAPPED_CACHE_ENABLED = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.VALUE_OBJECT_MAPPED_CACHE_ENABLED));
+
+	public static final int VALUE_OBJECT_MAPPED_CACHE_MAX_ENTRIES = GetterUtil.getInteger(PropsUtil.get(PropsKeys.VALUE_OBJECT_MAPPED_CACHE_MAX_ENTRIES));
+
+	public static final int VALUE_OBJECT_MAPPED_CACHE_MAX_SIZE = GetterUtil.getInteger(PropsUtil.get(PropsKeys.VALUE_OBJECT_MAPPED_CACHE_MAX_SIZE));
+
+	public static final long VALUE_OBJECT_MAPPED_CACHE_WARM_UP_TIME = GetterUtil.getLong(PropsUtil.get(PropsKeys.VALUE_OBJECT_MAPPED_CACHE_WARM_UP_TIME));
+
+	public static final long VALUE_OBJECT_MAPPED_CACHE_WATERMARK_INTERVAL = GetterUtil.getLong(PropsUtil.get(PropsKeys.VALUE_OBJECT_MAPPED_CACHE_WATERMARK_INTERVAL));
+
 	public static final boolean VELOCITY_ENGINE_DIRECTIVE_IF_TO_STRING_NULL_CHECK = GetterUtil.getBoolean(PropsUtil.get(PropsKeys.VELOCITY_ENGINE_DIRECTIVE_IF_TO_STRING_NULL_CHECK));
 
 	public static final int VELOCITY_ENGINE_RESOURCE_MODIFICATION_CHECK_INTERVAL = GetterUtil.getInteger(PropsUtil.get(PropsKeys.VELOCITY_ENGINE_RESOURCE_MODIFICATION_CHECK_INTERVAL));
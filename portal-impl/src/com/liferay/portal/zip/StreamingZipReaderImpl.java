@@ -0,0 +1,192 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.zip;
+
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
+import com.liferay.portal.kernel.memory.DeleteFileFinalizeAction;
+import com.liferay.portal.kernel.memory.FinalizeManager;
+import com.liferay.portal.kernel.util.CharPool;
+import com.liferay.portal.kernel.util.FileUtil;
+import com.liferay.portal.kernel.util.StringPool;
+import com.liferay.portal.kernel.util.Validator;
+import com.liferay.portal.kernel.zip.ZipReader;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * A zip reader that reads entries directly from the archive, using its central
+ * directory as the index, instead of mounting the archive as a virtual file
+ * system.
+ *
+ * @author Shuyang Zhou
+ */
+public class StreamingZipReaderImpl implements ZipReader {
+
+	public StreamingZipReaderImpl(File file) throws IOException {
+		_zipFile = new ZipFile(file);
+	}
+
+	public StreamingZipReaderImpl(InputStream inputStream) throws IOException {
+		File file = FileUtil.createTempFile(inputStream);
+
+		FinalizeManager.register(
+			this, new DeleteFileFinalizeAction(file.getAbsolutePath()));
+
+		_zipFile = new ZipFile(file);
+	}
+
+	@Override
+	public void close() {
+		try {
+			_zipFile.close();
+		}
+		catch (IOException ioe) {
+			_log.error(ioe, ioe);
+		}
+	}
+
+	@Override
+	public List<String> getEntries() {
+		List<String> entries = new ArrayList<String>();
+
+		Enumeration<? extends ZipEntry> enumeration = _zipFile.entries();
+
+		while (enumeration.hasMoreElements()) {
+			ZipEntry zipEntry = enumeration.nextElement();
+
+			if (!zipEntry.isDirectory()) {
+				entries.add(zipEntry.getName());
+			}
+		}
+
+		return entries;
+	}
+
+	@Override
+	public byte[] getEntryAsByteArray(String name) {
+		if (Validator.isNull(name)) {
+			return null;
+		}
+
+		byte[] bytes = null;
+
+		try {
+			InputStream is = getEntryAsInputStream(name);
+
+			if (is != null) {
+				bytes = FileUtil.getBytes(is);
+			}
+		}
+		catch (IOException ioe) {
+			_log.error(ioe, ioe);
+		}
+
+		return bytes;
+	}
+
+	@Override
+	public InputStream getEntryAsInputStream(String name) {
+		if (Validator.isNull(name)) {
+			return null;
+		}
+
+		if (name.startsWith(StringPool.SLASH)) {
+			name = name.substring(1);
+		}
+
+		ZipEntry zipEntry = _zipFile.getEntry(name);
+
+		if ((zipEntry == null) || zipEntry.isDirectory()) {
+			return null;
+		}
+
+		try {
+			if (_log.isDebugEnabled()) {
+				_log.debug("Extracting " + name);
+			}
+
+			return _zipFile.getInputStream(zipEntry);
+		}
+		catch (IOException ioe) {
+			_log.error(ioe, ioe);
+		}
+
+		return null;
+	}
+
+	@Override
+	public String getEntryAsString(String name) {
+		if (Validator.isNull(name)) {
+			return null;
+		}
+
+		byte[] bytes = getEntryAsByteArray(name);
+
+		if (bytes != null) {
+			return new String(bytes);
+		}
+
+		return null;
+	}
+
+	@Override
+	public List<String> getFolderEntries(String path) {
+		if (Validator.isNull(path)) {
+			return Collections.emptyList();
+		}
+
+		if (path.startsWith(StringPool.SLASH)) {
+			path = path.substring(1);
+		}
+
+		if (!path.endsWith(StringPool.SLASH)) {
+			path = path.concat(StringPool.SLASH);
+		}
+
+		List<String> folderEntries = new ArrayList<String>();
+
+		Enumeration<? extends ZipEntry> enumeration = _zipFile.entries();
+
+		while (enumeration.hasMoreElements()) {
+			ZipEntry zipEntry = enumeration.nextElement();
+
+			String name = zipEntry.getName();
+
+			if (!zipEntry.isDirectory() && name.startsWith(path) &&
+				(name.indexOf(CharPool.SLASH, path.length()) == -1)) {
+
+				folderEntries.add(name);
+			}
+		}
+
+		return folderEntries;
+	}
+
+	private static Log _log = LogFactoryUtil.getLog(
+		StreamingZipReaderImpl.class);
+
+	private ZipFile _zipFile;
+
+}
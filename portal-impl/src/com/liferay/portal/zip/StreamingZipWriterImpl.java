@@ -0,0 +1,192 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.zip;
+
+import com.liferay.portal.kernel.io.unsync.UnsyncBufferedOutputStream;
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
+import com.liferay.portal.kernel.memory.DeleteFileFinalizeAction;
+import com.liferay.portal.kernel.memory.FinalizeManager;
+import com.liferay.portal.kernel.util.FileUtil;
+import com.liferay.portal.kernel.util.StreamUtil;
+import com.liferay.portal.kernel.util.StringPool;
+import com.liferay.portal.kernel.zip.ZipWriter;
+import com.liferay.portal.util.DiskSpillingStringSet;
+import com.liferay.portal.util.PropsValues;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import java.util.Set;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * A zip writer that compresses every entry straight into the target file as
+ * it is added, so the archive never has to be held or staged elsewhere.
+ *
+ * <p>
+ * Entries cannot be replaced once written. When an entry name is added more
+ * than once, the first entry is kept and the later ones are ignored.
+ * </p>
+ *
+ * @author Shuyang Zhou
+ */
+public class StreamingZipWriterImpl implements ZipWriter {
+
+	public StreamingZipWriterImpl() {
+		this(FileUtil.createTempFile("zip"));
+
+		FinalizeManager.register(
+			_file, new DeleteFileFinalizeAction(_file.getAbsolutePath()));
+	}
+
+	public StreamingZipWriterImpl(File file) {
+		_file = file;
+	}
+
+	@Override
+	public void addEntry(String name, byte[] bytes) throws IOException {
+		if (bytes == null) {
+			return;
+		}
+
+		ZipOutputStream zipOutputStream = putNextEntry(name);
+
+		if (zipOutputStream == null) {
+			return;
+		}
+
+		zipOutputStream.write(bytes);
+
+		zipOutputStream.closeEntry();
+	}
+
+	@Override
+	public void addEntry(String name, InputStream inputStream)
+		throws IOException {
+
+		if (inputStream == null) {
+			return;
+		}
+
+		ZipOutputStream zipOutputStream = putNextEntry(name);
+
+		if (zipOutputStream == null) {
+			return;
+		}
+
+		StreamUtil.transfer(inputStream, zipOutputStream, false);
+
+		zipOutputStream.closeEntry();
+	}
+
+	@Override
+	public void addEntry(String name, String s) throws IOException {
+		addEntry(name, s.getBytes(StringPool.UTF8));
+	}
+
+	@Override
+	public void addEntry(String name, StringBuilder sb) throws IOException {
+		addEntry(name, sb.toString());
+	}
+
+	@Override
+	public byte[] finish() throws IOException {
+		close();
+
+		return FileUtil.getBytes(_file);
+	}
+
+	@Override
+	public File getFile() {
+		try {
+			close();
+		}
+		catch (IOException ioe) {
+			_log.error(ioe, ioe);
+		}
+
+		return _file;
+	}
+
+	@Override
+	public String getPath() {
+		return _file.getPath();
+	}
+
+	protected void close() throws IOException {
+		if (_closed) {
+			return;
+		}
+
+		_closed = true;
+
+		_entryNames.clear();
+
+		ZipOutputStream zipOutputStream = getZipOutputStream();
+
+		zipOutputStream.close();
+	}
+
+	protected ZipOutputStream getZipOutputStream() throws IOException {
+		if (_zipOutputStream == null) {
+			_zipOutputStream = new ZipOutputStream(
+				new UnsyncBufferedOutputStream(new FileOutputStream(_file)));
+		}
+
+		return _zipOutputStream;
+	}
+
+	protected ZipOutputStream putNextEntry(String name) throws IOException {
+		if (_closed) {
+			throw new IOException("Zip file " + _file + " is already closed");
+		}
+
+		if (name.startsWith(StringPool.SLASH)) {
+			name = name.substring(1);
+		}
+
+		if (!_entryNames.add(name)) {
+			if (_log.isWarnEnabled()) {
+				_log.warn("Ignoring duplicate entry " + name);
+			}
+
+			return null;
+		}
+
+		if (_log.isDebugEnabled()) {
+			_log.debug("Adding " + name);
+		}
+
+		ZipOutputStream zipOutputStream = getZipOutputStream();
+
+		zipOutputStream.putNextEntry(new ZipEntry(name));
+
+		return zipOutputStream;
+	}
+
+	private static Log _log = LogFactoryUtil.getLog(
+		StreamingZipWriterImpl.class);
+
+	private boolean _closed;
+	private Set<String> _entryNames = new DiskSpillingStringSet(
+		PropsValues.STAGING_LAR_SPILL_THRESHOLD);
+	private File _file;
+	private ZipOutputStream _zipOutputStream;
+
+}
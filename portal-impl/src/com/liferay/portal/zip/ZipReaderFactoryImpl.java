@@ -27,6 +27,11 @@ import java.io.InputStream;
  */
 public class ZipReaderFactoryImpl implements ZipReaderFactory {
 
+	@Override
+	public ZipReader getStreamingZipReader(File file) throws IOException {
+		return new StreamingZipReaderImpl(file);
+	}
+
 	@Override
 	public ZipReader getZipReader(File file) {
 		ClassLoader portalClassLoader = ClassLoaderUtil.getPortalClassLoader();
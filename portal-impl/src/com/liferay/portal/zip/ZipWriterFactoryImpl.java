@@ -25,6 +25,11 @@ import java.io.File;
  */
 public class ZipWriterFactoryImpl implements ZipWriterFactory {
 
+	@Override
+	public ZipWriter getStreamingZipWriter() {
+		return new StreamingZipWriterImpl();
+	}
+
 	@Override
 	public ZipWriter getZipWriter() {
 		ClassLoader portalClassLoader = ClassLoaderUtil.getPortalClassLoader();
@@ -40,16 +40,34 @@ public abstract class BasePreferencesImpl implements Serializable {
 		long ownerId, int ownerType, String xml,
 		Map<String, Preference> preferences) {
 
+		this(ownerId, ownerType, new ParsedPreferences(xml, preferences));
+	}
+
+	public BasePreferencesImpl(
+		long ownerId, int ownerType, ParsedPreferences parsedPreferences) {
+
 		_ownerId = ownerId;
 		_ownerType = ownerType;
-		_originalXML = xml;
-		_originalPreferences = preferences;
+		_parsedPreferences = parsedPreferences;
 	}
 
 	public Map<String, String[]> getMap() {
 		Map<String, String[]> map = new HashMap<String, String[]>();
 
-		Map<String, Preference> preferences = getPreferences();
+		if (_modifiedPreferences == null) {
+			Map<String, String[]> actualValuesMap =
+				_parsedPreferences.getActualValuesMap();
+
+			for (Map.Entry<String, String[]> entry :
+					actualValuesMap.entrySet()) {
+
+				map.put(entry.getKey(), copyActualValues(entry.getValue()));
+			}
+
+			return Collections.unmodifiableMap(map);
+		}
+
+		Map<String, Preference> preferences = _modifiedPreferences;
 
 		for (Map.Entry<String, Preference> entry : preferences.entrySet()) {
 			String key = entry.getKey();
@@ -82,9 +100,17 @@ public abstract class BasePreferencesImpl implements Serializable {
 			throw new IllegalArgumentException();
 		}
 
-		Map<String, Preference> preferences = getPreferences();
+		if (_modifiedPreferences == null) {
+			String[] actualValues = _parsedPreferences.getActualValues(key);
 
-		Preference preference = preferences.get(key);
+			if (ArrayUtil.isNotEmpty(actualValues)) {
+				return actualValues[0];
+			}
+
+			return getActualValue(def);
+		}
+
+		Preference preference = _modifiedPreferences.get(key);
 
 		String[] values = null;
 
@@ -105,9 +131,17 @@ public abstract class BasePreferencesImpl implements Serializable {
 			throw new IllegalArgumentException();
 		}
 
-		Map<String, Preference> preferences = getPreferences();
+		if (_modifiedPreferences == null) {
+			String[] actualValues = _parsedPreferences.getActualValues(key);
 
-		Preference preference = preferences.get(key);
+			if (ArrayUtil.isNotEmpty(actualValues)) {
+				return copyActualValues(actualValues);
+			}
+
+			return getActualValues(def);
+		}
+
+		Preference preference = _modifiedPreferences.get(key);
 
 		String[] values = null;
 
@@ -214,7 +248,7 @@ public abstract class BasePreferencesImpl implements Serializable {
 
 	public abstract void store() throws IOException, ValidatorException;
 
-	protected String getActualValue(String value) {
+	protected static String toActualValue(String value) {
 		if ((value == null) || value.equals(_NULL_VALUE)) {
 			return null;
 		}
@@ -223,6 +257,18 @@ public abstract class BasePreferencesImpl implements Serializable {
 		}
 	}
 
+	protected String[] copyActualValues(String[] actualValues) {
+		if ((actualValues.length == 1) && (actualValues[0] == null)) {
+			return null;
+		}
+
+		return actualValues.clone();
+	}
+
+	protected String getActualValue(String value) {
+		return toActualValue(value);
+	}
+
 	protected String[] getActualValues(String[] values) {
 		if (values == null) {
 			return null;
@@ -251,18 +297,22 @@ public abstract class BasePreferencesImpl implements Serializable {
 	protected Map<String, Preference> getModifiedPreferences() {
 		if (_modifiedPreferences == null) {
 			_modifiedPreferences = new ConcurrentHashMap<String, Preference>(
-				_originalPreferences);
+				_parsedPreferences.getPreferences());
 		}
 
 		return _modifiedPreferences;
 	}
 
 	protected Map<String, Preference> getOriginalPreferences() {
-		return _originalPreferences;
+		return _parsedPreferences.getPreferences();
 	}
 
 	protected String getOriginalXML() {
-		return _originalXML;
+		return _parsedPreferences.getXML();
+	}
+
+	protected ParsedPreferences getParsedPreferences() {
+		return _parsedPreferences;
 	}
 
 	protected Map<String, Preference> getPreferences() {
@@ -270,7 +320,7 @@ public abstract class BasePreferencesImpl implements Serializable {
 			return _modifiedPreferences;
 		}
 
-		return _originalPreferences;
+		return _parsedPreferences.getPreferences();
 	}
 
 	protected String getXMLSafeValue(String value) {
@@ -297,8 +347,12 @@ public abstract class BasePreferencesImpl implements Serializable {
 	}
 
 	protected String toXML() {
-		if ((_modifiedPreferences == null) && (_originalXML != null)) {
-			return _originalXML;
+		if (_modifiedPreferences == null) {
+			String originalXML = _parsedPreferences.getXML();
+
+			if (originalXML != null) {
+				return originalXML;
+			}
 		}
 
 		Map<String, Preference> preferences = getPreferences();
@@ -329,9 +383,8 @@ public abstract class BasePreferencesImpl implements Serializable {
 	private static final String _NULL_VALUE = "NULL_VALUE";
 
 	private Map<String, Preference> _modifiedPreferences;
-	private Map<String, Preference> _originalPreferences;
-	private String _originalXML;
 	private long _ownerId;
 	private int _ownerType;
+	private ParsedPreferences _parsedPreferences;
 
 }
\ No newline at end of file
@@ -0,0 +1,79 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portlet;
+
+import java.io.Serializable;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Holds the preferences parsed from one preferences XML together with their
+ * decoded values. Instances are immutable and are shared between all the
+ * {@link BasePreferencesImpl} instances built from the same XML, which only
+ * copy them once they are modified.
+ *
+ * @author Shuyang Zhou
+ */
+public class ParsedPreferences implements Serializable {
+
+	public ParsedPreferences(String xml, Map<String, Preference> preferences) {
+		_xml = xml;
+		_preferences = Collections.unmodifiableMap(preferences);
+
+		_actualValuesMap = new HashMap<String, String[]>(
+			preferences.size() * 4 / 3 + 1);
+
+		for (Map.Entry<String, Preference> entry : preferences.entrySet()) {
+			Preference preference = entry.getValue();
+
+			String[] values = preference.getValues();
+
+			String[] actualValues = new String[values.length];
+
+			for (int i = 0; i < values.length; i++) {
+				actualValues[i] = BasePreferencesImpl.toActualValue(values[i]);
+			}
+
+			_actualValuesMap.put(entry.getKey(), actualValues);
+		}
+	}
+
+	public Map<String, Preference> getPreferences() {
+		return _preferences;
+	}
+
+	public String getXML() {
+		return _xml;
+	}
+
+	/**
+	 * Returns the shared decoded values of the preference. Callers must not
+	 * modify the returned array.
+	 */
+	protected String[] getActualValues(String key) {
+		return _actualValuesMap.get(key);
+	}
+
+	protected Map<String, String[]> getActualValuesMap() {
+		return _actualValuesMap;
+	}
+
+	private final Map<String, String[]> _actualValuesMap;
+	private final Map<String, Preference> _preferences;
+	private final String _xml;
+
+}
@@ -51,11 +51,20 @@ public class PortalPreferencesImpl
 		_signedIn = signedIn;
 	}
 
+	public PortalPreferencesImpl(
+		long ownerId, int ownerType, ParsedPreferences parsedPreferences,
+		boolean signedIn) {
+
+		super(ownerId, ownerType, parsedPreferences);
+
+		_signedIn = signedIn;
+	}
+
 	@Override
 	public PortalPreferencesImpl clone() {
 		return new PortalPreferencesImpl(
-			getOwnerId(), getOwnerType(), getOriginalXML(),
-			getOriginalPreferences(), isSignedIn());
+			getOwnerId(), getOwnerType(), getParsedPreferences(),
+			isSignedIn());
 	}
 
 	@Override
@@ -24,6 +24,7 @@ import com.liferay.portal.kernel.security.pacl.DoPrivileged;
 import com.liferay.portal.kernel.util.GetterUtil;
 import com.liferay.portal.kernel.util.JavaConstants;
 import com.liferay.portal.kernel.util.ParamUtil;
+import com.liferay.portal.kernel.util.StringBundler;
 import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.kernel.util.Validator;
 import com.liferay.portal.model.Group;
@@ -137,9 +138,9 @@ public class PortletPreferencesFactoryImpl
 	public PortletPreferences fromDefaultXML(String xml)
 		throws SystemException {
 
-		Map<String, Preference> preferencesMap = toPreferencesMap(xml);
+		ParsedPreferences parsedPreferences = toParsedPreferences(xml);
 
-		return new PortletPreferencesImpl(xml, preferencesMap);
+		return new PortletPreferencesImpl(parsedPreferences);
 	}
 
 	@Override
@@ -148,10 +149,11 @@ public class PortletPreferencesFactoryImpl
 		throws SystemException {
 
 		try {
-			Map<String, Preference> preferencesMap = toPreferencesMap(xml);
+			ParsedPreferences parsedPreferences = getParsedPreferences(
+				ownerId, ownerType, 0, null, xml);
 
 			return new PortalPreferencesImpl(
-				ownerId, ownerType, xml, preferencesMap, false);
+				ownerId, ownerType, parsedPreferences, false);
 		}
 		catch (SystemException se) {
 			throw se;
@@ -165,11 +167,12 @@ public class PortletPreferencesFactoryImpl
 		throws SystemException {
 
 		try {
-			Map<String, Preference> preferencesMap = toPreferencesMap(xml);
+			ParsedPreferences parsedPreferences = getParsedPreferences(
+				ownerId, ownerType, plid, portletId, xml);
 
 			return new PortletPreferencesImpl(
-				companyId, ownerId, ownerType, plid, portletId, xml,
-				preferencesMap);
+				companyId, ownerId, ownerType, plid, portletId,
+				parsedPreferences);
 		}
 		catch (SystemException se) {
 			throw se;
@@ -641,6 +644,43 @@ public class PortletPreferencesFactoryImpl
 		return portletPreferencesImpl.toXML();
 	}
 
+	/**
+	 * Returns the parsed preferences of the owner, reusing the ones cached for
+	 * the owner as long as its preferences XML is unchanged.
+	 */
+	protected ParsedPreferences getParsedPreferences(
+			long ownerId, int ownerType, long plid, String portletId,
+			String xml)
+		throws SystemException {
+
+		StringBundler sb = new StringBundler(7);
+
+		sb.append(ownerId);
+		sb.append(StringPool.POUND);
+		sb.append(ownerType);
+		sb.append(StringPool.POUND);
+		sb.append(plid);
+		sb.append(StringPool.POUND);
+		sb.append(portletId);
+
+		String cacheKey = sb.toString();
+
+		ParsedPreferences parsedPreferences =
+			_ownerParsedPreferencesPortalCache.get(cacheKey);
+
+		if ((parsedPreferences != null) &&
+			Validator.equals(parsedPreferences.getXML(), xml)) {
+
+			return parsedPreferences;
+		}
+
+		parsedPreferences = toParsedPreferences(xml);
+
+		_ownerParsedPreferencesPortalCache.put(cacheKey, parsedPreferences);
+
+		return parsedPreferences;
+	}
+
 	protected PortletPreferences getPortletSetup(
 			long scopeGroupId, Layout layout, String portletId,
 			String defaultPreferences, boolean strictMode)
@@ -760,20 +800,46 @@ public class PortletPreferencesFactoryImpl
 			name, values.toArray(new String[values.size()]), readOnly);
 	}
 
-	protected Map<String, Preference> toPreferencesMap(String xml)
+	/**
+	 * Returns the parsed preferences of the XML. Parsed preferences are cached
+	 * by the checksum of their XML, so owners sharing the same XML share one
+	 * immutable instance.
+	 */
+	protected ParsedPreferences toParsedPreferences(String xml)
 		throws SystemException {
 
 		if (Validator.isNull(xml)) {
-			return Collections.emptyMap();
+			return new ParsedPreferences(
+				xml, Collections.<String, Preference>emptyMap());
 		}
 
-		Map<String, Preference> preferencesMap = _preferencesMapPortalCache.get(
-			xml);
+		Integer checksum = xml.hashCode();
+
+		ParsedPreferences parsedPreferences =
+			_xmlParsedPreferencesPortalCache.get(checksum);
 
-		if (preferencesMap != null) {
-			return preferencesMap;
+		if ((parsedPreferences != null) &&
+			xml.equals(parsedPreferences.getXML())) {
+
+			return parsedPreferences;
 		}
 
+		parsedPreferences = new ParsedPreferences(xml, toPreferencesMap(xml));
+
+		_xmlParsedPreferencesPortalCache.put(checksum, parsedPreferences);
+
+		return parsedPreferences;
+	}
+
+	protected Map<String, Preference> toPreferencesMap(String xml)
+		throws SystemException {
+
+		if (Validator.isNull(xml)) {
+			return Collections.emptyMap();
+		}
+
+		Map<String, Preference> preferencesMap = null;
+
 		XMLEventReader xmlEventReader = null;
 
 		try {
@@ -820,13 +886,14 @@ public class PortletPreferencesFactoryImpl
 			preferencesMap = Collections.emptyMap();
 		}
 
-		_preferencesMapPortalCache.put(xml, preferencesMap);
-
 		return preferencesMap;
 	}
 
-	private PortalCache<String, Map<String, Preference>>
-		_preferencesMapPortalCache = SingleVMPoolUtil.getCache(
+	private PortalCache<String, ParsedPreferences>
+		_ownerParsedPreferencesPortalCache = SingleVMPoolUtil.getCache(
+			PortletPreferencesFactoryImpl.class.getName() + "_OWNER");
+	private PortalCache<Integer, ParsedPreferences>
+		_xmlParsedPreferencesPortalCache = SingleVMPoolUtil.getCache(
 			PortletPreferencesFactoryImpl.class.getName());
 
 }
\ No newline at end of file
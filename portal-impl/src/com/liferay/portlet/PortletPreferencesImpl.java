@@ -58,6 +58,21 @@ public class PortletPreferencesImpl
 		_portletId = portletId;
 	}
 
+	public PortletPreferencesImpl(
+		long companyId, long ownerId, int ownerType, long plid,
+		String portletId, ParsedPreferences parsedPreferences) {
+
+		super(ownerId, ownerType, parsedPreferences);
+
+		_companyId = companyId;
+		_plid = plid;
+		_portletId = portletId;
+	}
+
+	public PortletPreferencesImpl(ParsedPreferences parsedPreferences) {
+		this(0, 0, 0, 0, null, parsedPreferences);
+	}
+
 	public PortletPreferencesImpl(
 		String xml, Map<String, Preference> preferences) {
 
@@ -68,7 +83,7 @@ public class PortletPreferencesImpl
 	public Object clone() {
 		return new PortletPreferencesImpl(
 			_companyId, getOwnerId(), getOwnerType(), _plid, _portletId,
-			getOriginalXML(), getOriginalPreferences());
+			getParsedPreferences());
 	}
 
 	@Override
@@ -38,6 +38,16 @@ public class StrictPortletPreferencesImpl
 		_companyId = companyId;
 	}
 
+	public StrictPortletPreferencesImpl(
+		long companyId, long ownerId, int ownerType, long plid,
+		String portletId, ParsedPreferences parsedPreferences) {
+
+		super(
+			companyId, ownerId, ownerType, plid, portletId, parsedPreferences);
+
+		_companyId = companyId;
+	}
+
 	public StrictPortletPreferencesImpl(
 		String xml, Map<String, Preference > preferences) {
 
@@ -48,7 +58,7 @@ public class StrictPortletPreferencesImpl
 	public Object clone() {
 		return new StrictPortletPreferencesImpl(
 			_companyId, getOwnerId(), getOwnerType(), getPlid(), getPortletId(),
-			getOriginalXML(), getOriginalPreferences());
+			getParsedPreferences());
 	}
 
 	@Override
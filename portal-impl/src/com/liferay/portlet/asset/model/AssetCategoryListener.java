@@ -0,0 +1,42 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portlet.asset.model;
+
+import com.liferay.portal.model.BaseModelListener;
+import com.liferay.portlet.asset.model.impl.AssetCategoryModelImpl;
+import com.liferay.portlet.asset.service.persistence.AssetEntryQueryCacheUtil;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class AssetCategoryListener extends BaseModelListener<AssetCategory> {
+
+	@Override
+	public void onBeforeUpdate(AssetCategory category) {
+
+		// Moving a category changes the entries found by hierarchical category
+		// searches without changing any asset entry
+
+		AssetCategoryModelImpl assetCategoryModelImpl =
+			(AssetCategoryModelImpl)category;
+
+		if (category.getParentCategoryId() !=
+				assetCategoryModelImpl.getOriginalParentCategoryId()) {
+
+			AssetEntryQueryCacheUtil.clearCache();
+		}
+	}
+
+}
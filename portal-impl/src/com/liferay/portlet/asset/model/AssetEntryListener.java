@@ -0,0 +1,92 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portlet.asset.model;
+
+import com.liferay.portal.ModelListenerException;
+import com.liferay.portal.kernel.exception.SystemException;
+import com.liferay.portal.model.BaseModelListener;
+import com.liferay.portlet.asset.service.persistence.AssetEntryQueryCacheUtil;
+import com.liferay.portlet.asset.service.persistence.AssetEntryUtil;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class AssetEntryListener extends BaseModelListener<AssetEntry> {
+
+	@Override
+	public void onAfterAddAssociation(
+			Object classPK, String associationClassName,
+			Object associationClassPK)
+		throws ModelListenerException {
+
+		clearCache((Long)classPK);
+	}
+
+	@Override
+	public void onAfterCreate(AssetEntry entry) {
+		clearCache(entry);
+	}
+
+	@Override
+	public void onAfterRemove(AssetEntry entry) {
+		clearCache(entry);
+	}
+
+	@Override
+	public void onAfterRemoveAssociation(
+			Object classPK, String associationClassName,
+			Object associationClassPK)
+		throws ModelListenerException {
+
+		clearCache((Long)classPK);
+	}
+
+	@Override
+	public void onAfterUpdate(AssetEntry entry) {
+		if (AssetEntryQueryCacheUtil.isViewCountUpdate()) {
+			return;
+		}
+
+		clearCache(entry);
+	}
+
+	protected void clearCache(AssetEntry entry) {
+		if (entry == null) {
+			return;
+		}
+
+		AssetEntryQueryCacheUtil.clearCache(
+			entry.getGroupId(), entry.getClassNameId());
+	}
+
+	protected void clearCache(long entryId) throws ModelListenerException {
+		AssetEntry entry = null;
+
+		try {
+			entry = AssetEntryUtil.fetchByPrimaryKey(entryId);
+		}
+		catch (SystemException se) {
+			throw new ModelListenerException(se);
+		}
+
+		if (entry == null) {
+			AssetEntryQueryCacheUtil.clearCache();
+		}
+		else {
+			clearCache(entry);
+		}
+	}
+
+}
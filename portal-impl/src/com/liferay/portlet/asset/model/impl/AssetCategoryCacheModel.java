@@ -14,6 +14,7 @@
 
 package com.liferay.portlet.asset.model.impl;
 
+import com.liferay.portal.kernel.util.ParsedLocalization;
 import com.liferay.portal.kernel.util.StringBundler;
 import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.model.CacheModel;
@@ -141,6 +142,10 @@ public class AssetCategoryCacheModel implements CacheModel<AssetCategory>,
 
 		assetCategoryImpl.resetOriginalValues();
 
+		assetCategoryImpl.setTitleParsedLocalization(titleParsedLocalization);
+		assetCategoryImpl.setDescriptionParsedLocalization(
+			descriptionParsedLocalization);
+
 		return assetCategoryImpl;
 	}
 
@@ -230,4 +235,7 @@ public class AssetCategoryCacheModel implements CacheModel<AssetCategory>,
 	public String title;
 	public String description;
 	public long vocabularyId;
+
+	public transient ParsedLocalization titleParsedLocalization;
+	public transient ParsedLocalization descriptionParsedLocalization;
 }
\ No newline at end of file
@@ -22,6 +22,7 @@ import com.liferay.portal.kernel.lar.StagedModelType;
 import com.liferay.portal.kernel.util.GetterUtil;
 import com.liferay.portal.kernel.util.LocaleUtil;
 import com.liferay.portal.kernel.util.LocalizationUtil;
+import com.liferay.portal.kernel.util.ParsedLocalization;
 import com.liferay.portal.kernel.util.ProxyUtil;
 import com.liferay.portal.kernel.util.StringBundler;
 import com.liferay.portal.kernel.util.StringPool;
@@ -566,13 +567,15 @@ public class AssetCategoryModelImpl extends BaseModelImpl<AssetCategory>
 
 	@Override
 	public String getTitle(String languageId) {
-		return LocalizationUtil.getLocalization(getTitle(), languageId);
+		return getTitle(languageId, true);
 	}
 
 	@Override
 	public String getTitle(String languageId, boolean useDefault) {
-		return LocalizationUtil.getLocalization(getTitle(), languageId,
-			useDefault);
+		ParsedLocalization titleParsedLocalization =
+			getTitleParsedLocalization();
+
+		return titleParsedLocalization.getLocalization(languageId, useDefault);
 	}
 
 	@Override
@@ -590,7 +593,32 @@ public class AssetCategoryModelImpl extends BaseModelImpl<AssetCategory>
 
 	@Override
 	public Map<Locale, String> getTitleMap() {
-		return LocalizationUtil.getLocalizationMap(getTitle());
+		ParsedLocalization titleParsedLocalization =
+			getTitleParsedLocalization();
+
+		return titleParsedLocalization.getLocalizationMap(false);
+	}
+
+	protected ParsedLocalization getTitleParsedLocalization() {
+		String title = getTitle();
+
+		ParsedLocalization titleParsedLocalization = _titleParsedLocalization;
+
+		if ((titleParsedLocalization == null) ||
+			(titleParsedLocalization.getXml() != title)) {
+
+			titleParsedLocalization = new ParsedLocalization(title);
+
+			_titleParsedLocalization = titleParsedLocalization;
+		}
+
+		return titleParsedLocalization;
+	}
+
+	protected void setTitleParsedLocalization(
+		ParsedLocalization titleParsedLocalization) {
+
+		_titleParsedLocalization = titleParsedLocalization;
 	}
 
 	@Override
@@ -665,13 +693,16 @@ public class AssetCategoryModelImpl extends BaseModelImpl<AssetCategory>
 
 	@Override
 	public String getDescription(String languageId) {
-		return LocalizationUtil.getLocalization(getDescription(), languageId);
+		return getDescription(languageId, true);
 	}
 
 	@Override
 	public String getDescription(String languageId, boolean useDefault) {
-		return LocalizationUtil.getLocalization(getDescription(), languageId,
-			useDefault);
+		ParsedLocalization descriptionParsedLocalization =
+			getDescriptionParsedLocalization();
+
+		return descriptionParsedLocalization.getLocalization(
+			languageId, useDefault);
 	}
 
 	@Override
@@ -689,7 +720,33 @@ public class AssetCategoryModelImpl extends BaseModelImpl<AssetCategory>
 
 	@Override
 	public Map<Locale, String> getDescriptionMap() {
-		return LocalizationUtil.getLocalizationMap(getDescription());
+		ParsedLocalization descriptionParsedLocalization =
+			getDescriptionParsedLocalization();
+
+		return descriptionParsedLocalization.getLocalizationMap(false);
+	}
+
+	protected ParsedLocalization getDescriptionParsedLocalization() {
+		String description = getDescription();
+
+		ParsedLocalization descriptionParsedLocalization =
+			_descriptionParsedLocalization;
+
+		if ((descriptionParsedLocalization == null) ||
+			(descriptionParsedLocalization.getXml() != description)) {
+
+			descriptionParsedLocalization = new ParsedLocalization(description);
+
+			_descriptionParsedLocalization = descriptionParsedLocalization;
+		}
+
+		return descriptionParsedLocalization;
+	}
+
+	protected void setDescriptionParsedLocalization(
+		ParsedLocalization descriptionParsedLocalization) {
+
+		_descriptionParsedLocalization = descriptionParsedLocalization;
 	}
 
 	@Override
@@ -1040,6 +1097,11 @@ public class AssetCategoryModelImpl extends BaseModelImpl<AssetCategory>
 
 		assetCategoryCacheModel.vocabularyId = getVocabularyId();
 
+		assetCategoryCacheModel.titleParsedLocalization =
+			getTitleParsedLocalization();
+		assetCategoryCacheModel.descriptionParsedLocalization =
+			getDescriptionParsedLocalization();
+
 		return assetCategoryCacheModel;
 	}
 
@@ -1183,8 +1245,10 @@ public class AssetCategoryModelImpl extends BaseModelImpl<AssetCategory>
 	private String _originalName;
 	private String _title;
 	private String _titleCurrentLanguageId;
+	private ParsedLocalization _titleParsedLocalization;
 	private String _description;
 	private String _descriptionCurrentLanguageId;
+	private ParsedLocalization _descriptionParsedLocalization;
 	private long _vocabularyId;
 	private long _originalVocabularyId;
 	private boolean _setOriginalVocabularyId;
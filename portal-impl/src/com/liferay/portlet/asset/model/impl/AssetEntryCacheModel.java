@@ -14,6 +14,7 @@
 
 package com.liferay.portlet.asset.model.impl;
 
+import com.liferay.portal.kernel.util.ParsedLocalization;
 import com.liferay.portal.kernel.util.StringBundler;
 import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.model.CacheModel;
@@ -217,6 +218,11 @@ public class AssetEntryCacheModel implements CacheModel<AssetEntry>,
 
 		assetEntryImpl.resetOriginalValues();
 
+		assetEntryImpl.setTitleParsedLocalization(titleParsedLocalization);
+		assetEntryImpl.setDescriptionParsedLocalization(
+			descriptionParsedLocalization);
+		assetEntryImpl.setSummaryParsedLocalization(summaryParsedLocalization);
+
 		return assetEntryImpl;
 	}
 
@@ -358,4 +364,8 @@ public class AssetEntryCacheModel implements CacheModel<AssetEntry>,
 	public int width;
 	public double priority;
 	public int viewCount;
+
+	public transient ParsedLocalization titleParsedLocalization;
+	public transient ParsedLocalization descriptionParsedLocalization;
+	public transient ParsedLocalization summaryParsedLocalization;
 }
\ No newline at end of file
@@ -21,6 +21,7 @@ import com.liferay.portal.kernel.json.JSON;
 import com.liferay.portal.kernel.util.GetterUtil;
 import com.liferay.portal.kernel.util.LocaleUtil;
 import com.liferay.portal.kernel.util.LocalizationUtil;
+import com.liferay.portal.kernel.util.ParsedLocalization;
 import com.liferay.portal.kernel.util.ProxyUtil;
 import com.liferay.portal.kernel.util.StringBundler;
 import com.liferay.portal.kernel.util.StringPool;
@@ -793,13 +794,15 @@ public class AssetEntryModelImpl extends BaseModelImpl<AssetEntry>
 
 	@Override
 	public String getTitle(String languageId) {
-		return LocalizationUtil.getLocalization(getTitle(), languageId);
+		return getTitle(languageId, true);
 	}
 
 	@Override
 	public String getTitle(String languageId, boolean useDefault) {
-		return LocalizationUtil.getLocalization(getTitle(), languageId,
-			useDefault);
+		ParsedLocalization titleParsedLocalization =
+			getTitleParsedLocalization();
+
+		return titleParsedLocalization.getLocalization(languageId, useDefault);
 	}
 
 	@Override
@@ -817,7 +820,32 @@ public class AssetEntryModelImpl extends BaseModelImpl<AssetEntry>
 
 	@Override
 	public Map<Locale, String> getTitleMap() {
-		return LocalizationUtil.getLocalizationMap(getTitle());
+		ParsedLocalization titleParsedLocalization =
+			getTitleParsedLocalization();
+
+		return titleParsedLocalization.getLocalizationMap(false);
+	}
+
+	protected ParsedLocalization getTitleParsedLocalization() {
+		String title = getTitle();
+
+		ParsedLocalization titleParsedLocalization = _titleParsedLocalization;
+
+		if ((titleParsedLocalization == null) ||
+			(titleParsedLocalization.getXml() != title)) {
+
+			titleParsedLocalization = new ParsedLocalization(title);
+
+			_titleParsedLocalization = titleParsedLocalization;
+		}
+
+		return titleParsedLocalization;
+	}
+
+	protected void setTitleParsedLocalization(
+		ParsedLocalization titleParsedLocalization) {
+
+		_titleParsedLocalization = titleParsedLocalization;
 	}
 
 	@Override
@@ -892,13 +920,16 @@ public class AssetEntryModelImpl extends BaseModelImpl<AssetEntry>
 
 	@Override
 	public String getDescription(String languageId) {
-		return LocalizationUtil.getLocalization(getDescription(), languageId);
+		return getDescription(languageId, true);
 	}
 
 	@Override
 	public String getDescription(String languageId, boolean useDefault) {
-		return LocalizationUtil.getLocalization(getDescription(), languageId,
-			useDefault);
+		ParsedLocalization descriptionParsedLocalization =
+			getDescriptionParsedLocalization();
+
+		return descriptionParsedLocalization.getLocalization(
+			languageId, useDefault);
 	}
 
 	@Override
@@ -916,7 +947,33 @@ public class AssetEntryModelImpl extends BaseModelImpl<AssetEntry>
 
 	@Override
 	public Map<Locale, String> getDescriptionMap() {
-		return LocalizationUtil.getLocalizationMap(getDescription());
+		ParsedLocalization descriptionParsedLocalization =
+			getDescriptionParsedLocalization();
+
+		return descriptionParsedLocalization.getLocalizationMap(false);
+	}
+
+	protected ParsedLocalization getDescriptionParsedLocalization() {
+		String description = getDescription();
+
+		ParsedLocalization descriptionParsedLocalization =
+			_descriptionParsedLocalization;
+
+		if ((descriptionParsedLocalization == null) ||
+			(descriptionParsedLocalization.getXml() != description)) {
+
+			descriptionParsedLocalization = new ParsedLocalization(description);
+
+			_descriptionParsedLocalization = descriptionParsedLocalization;
+		}
+
+		return descriptionParsedLocalization;
+	}
+
+	protected void setDescriptionParsedLocalization(
+		ParsedLocalization descriptionParsedLocalization) {
+
+		_descriptionParsedLocalization = descriptionParsedLocalization;
 	}
 
 	@Override
@@ -995,13 +1052,16 @@ public class AssetEntryModelImpl extends BaseModelImpl<AssetEntry>
 
 	@Override
 	public String getSummary(String languageId) {
-		return LocalizationUtil.getLocalization(getSummary(), languageId);
+		return getSummary(languageId, true);
 	}
 
 	@Override
 	public String getSummary(String languageId, boolean useDefault) {
-		return LocalizationUtil.getLocalization(getSummary(), languageId,
-			useDefault);
+		ParsedLocalization summaryParsedLocalization =
+			getSummaryParsedLocalization();
+
+		return summaryParsedLocalization.getLocalization(
+			languageId, useDefault);
 	}
 
 	@Override
@@ -1019,7 +1079,33 @@ public class AssetEntryModelImpl extends BaseModelImpl<AssetEntry>
 
 	@Override
 	public Map<Locale, String> getSummaryMap() {
-		return LocalizationUtil.getLocalizationMap(getSummary());
+		ParsedLocalization summaryParsedLocalization =
+			getSummaryParsedLocalization();
+
+		return summaryParsedLocalization.getLocalizationMap(false);
+	}
+
+	protected ParsedLocalization getSummaryParsedLocalization() {
+		String summary = getSummary();
+
+		ParsedLocalization summaryParsedLocalization =
+			_summaryParsedLocalization;
+
+		if ((summaryParsedLocalization == null) ||
+			(summaryParsedLocalization.getXml() != summary)) {
+
+			summaryParsedLocalization = new ParsedLocalization(summary);
+
+			_summaryParsedLocalization = summaryParsedLocalization;
+		}
+
+		return summaryParsedLocalization;
+	}
+
+	protected void setSummaryParsedLocalization(
+		ParsedLocalization summaryParsedLocalization) {
+
+		_summaryParsedLocalization = summaryParsedLocalization;
 	}
 
 	@Override
@@ -1533,6 +1619,13 @@ public class AssetEntryModelImpl extends BaseModelImpl<AssetEntry>
 
 		assetEntryCacheModel.viewCount = getViewCount();
 
+		assetEntryCacheModel.titleParsedLocalization =
+			getTitleParsedLocalization();
+		assetEntryCacheModel.descriptionParsedLocalization =
+			getDescriptionParsedLocalization();
+		assetEntryCacheModel.summaryParsedLocalization =
+			getSummaryParsedLocalization();
+
 		return assetEntryCacheModel;
 	}
 
@@ -1752,10 +1845,13 @@ public class AssetEntryModelImpl extends BaseModelImpl<AssetEntry>
 	private String _mimeType;
 	private String _title;
 	private String _titleCurrentLanguageId;
+	private ParsedLocalization _titleParsedLocalization;
 	private String _description;
 	private String _descriptionCurrentLanguageId;
+	private ParsedLocalization _descriptionParsedLocalization;
 	private String _summary;
 	private String _summaryCurrentLanguageId;
+	private ParsedLocalization _summaryParsedLocalization;
 	private String _url;
 	private String _layoutUuid;
 	private String _originalLayoutUuid;
@@ -14,6 +14,7 @@
 
 package com.liferay.portlet.asset.model.impl;
 
+import com.liferay.portal.kernel.util.ParsedLocalization;
 import com.liferay.portal.kernel.util.StringBundler;
 import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.model.CacheModel;
@@ -136,6 +137,10 @@ public class AssetVocabularyCacheModel implements CacheModel<AssetVocabulary>,
 
 		assetVocabularyImpl.resetOriginalValues();
 
+		assetVocabularyImpl.setTitleParsedLocalization(titleParsedLocalization);
+		assetVocabularyImpl.setDescriptionParsedLocalization(
+			descriptionParsedLocalization);
+
 		return assetVocabularyImpl;
 	}
 
@@ -221,4 +226,7 @@ public class AssetVocabularyCacheModel implements CacheModel<AssetVocabulary>,
 	public String title;
 	public String description;
 	public String settings;
+
+	public transient ParsedLocalization titleParsedLocalization;
+	public transient ParsedLocalization descriptionParsedLocalization;
 }
\ No newline at end of file
@@ -51,6 +51,7 @@ import com.liferay.portlet.asset.model.AssetRendererFactory;
 import com.liferay.portlet.asset.model.AssetTag;
 import com.liferay.portlet.asset.service.base.AssetEntryLocalServiceBaseImpl;
 import com.liferay.portlet.asset.service.persistence.AssetEntryQuery;
+import com.liferay.portlet.asset.service.persistence.AssetEntryQueryCacheUtil;
 import com.liferay.portlet.asset.util.AssetEntryValidator;
 import com.liferay.portlet.blogs.model.BlogsEntry;
 import com.liferay.portlet.bookmarks.model.BookmarksEntry;
@@ -393,7 +394,16 @@ public class AssetEntryLocalServiceImpl extends AssetEntryLocalServiceBaseImpl {
 
 		entry.setViewCount(entry.getViewCount() + increment);
 
-		assetEntryPersistence.update(entry);
+		boolean viewCountUpdate = AssetEntryQueryCacheUtil.isViewCountUpdate();
+
+		try {
+			AssetEntryQueryCacheUtil.setViewCountUpdate(true);
+
+			assetEntryPersistence.update(entry);
+		}
+		finally {
+			AssetEntryQueryCacheUtil.setViewCountUpdate(viewCountUpdate);
+		}
 
 		return entry;
 	}
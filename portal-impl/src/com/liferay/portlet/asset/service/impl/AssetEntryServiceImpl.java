@@ -22,8 +22,11 @@ import com.liferay.portal.kernel.exception.PortalException;
 import com.liferay.portal.kernel.exception.SystemException;
 import com.liferay.portal.kernel.log.Log;
 import com.liferay.portal.kernel.log.LogFactoryUtil;
+import com.liferay.portal.kernel.util.ArrayUtil;
 import com.liferay.portal.kernel.util.StringPool;
+import com.liferay.portal.kernel.util.Tuple;
 import com.liferay.portal.security.permission.ActionKeys;
+import com.liferay.portal.security.permission.BulkPermissionChecker;
 import com.liferay.portal.security.permission.PermissionChecker;
 import com.liferay.portal.util.PropsValues;
 import com.liferay.portlet.asset.AssetRendererFactoryRegistryUtil;
@@ -36,7 +39,9 @@ import com.liferay.portlet.asset.util.AssetUtil;
 
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Provides the remote service for accessing and updating asset entries. Its
@@ -279,6 +284,8 @@ public class AssetEntryServiceImpl extends AssetEntryServiceBaseImpl {
 
 			filteredEntries = new ArrayList<AssetEntry>();
 
+			prefetchViewPermissions(permissionChecker, entries);
+
 			for (AssetEntry entry : entries) {
 				String className = entry.getClassName();
 				long classPK = entry.getClassPK();
@@ -381,6 +388,50 @@ public class AssetEntryServiceImpl extends AssetEntryServiceBaseImpl {
 		return false;
 	}
 
+	protected void prefetchViewPermissions(
+		PermissionChecker permissionChecker, List<AssetEntry> entries) {
+
+		if (!(permissionChecker instanceof BulkPermissionChecker) ||
+			(entries.size() < 2)) {
+
+			return;
+		}
+
+		BulkPermissionChecker bulkPermissionChecker =
+			(BulkPermissionChecker)permissionChecker;
+
+		// Resolve the view permissions in bulk, one batch per group and class
+		// name, so that the asset renderer factories' permission checks are
+		// served from the permission cache
+
+		Map<Tuple, List<Long>> classPKsMap = new HashMap<Tuple, List<Long>>();
+
+		for (AssetEntry entry : entries) {
+			Tuple tuple = new Tuple(entry.getGroupId(), entry.getClassName());
+
+			List<Long> classPKs = classPKsMap.get(tuple);
+
+			if (classPKs == null) {
+				classPKs = new ArrayList<Long>();
+
+				classPKsMap.put(tuple, classPKs);
+			}
+
+			classPKs.add(entry.getClassPK());
+		}
+
+		for (Map.Entry<Tuple, List<Long>> entry : classPKsMap.entrySet()) {
+			Tuple tuple = entry.getKey();
+
+			long groupId = (Long)tuple.getObject(0);
+			String className = (String)tuple.getObject(1);
+
+			bulkPermissionChecker.hasPermissions(
+				groupId, className, ArrayUtil.toLongArray(entry.getValue()),
+				ActionKeys.VIEW);
+		}
+	}
+
 	private static Log _log = LogFactoryUtil.getLog(
 		AssetEntryServiceImpl.class);
 
@@ -56,53 +56,85 @@ public class AssetEntryFinderImpl
 
 	@Override
 	public int countEntries(AssetEntryQuery entryQuery) throws SystemException {
-		Session session = null;
+		if (!AssetEntryQueryCacheUtil.isCacheable(entryQuery)) {
+			return doCountEntries(entryQuery);
+		}
 
-		try {
-			session = openSession();
+		String cacheKey = AssetEntryQueryCacheUtil.getCacheKey(
+			entryQuery, true);
 
-			SQLQuery q = buildAssetQuerySQL(entryQuery, true, session);
+		Integer count = (Integer)AssetEntryQueryCacheUtil.getResult(cacheKey);
 
-			Iterator<Long> itr = q.iterate();
+		if (count != null) {
+			return count;
+		}
 
-			if (itr.hasNext()) {
-				Long count = itr.next();
+		String[] dependencyKeys = AssetEntryQueryCacheUtil.getDependencyKeys(
+			entryQuery);
+		String[] dependencyTokens =
+			AssetEntryQueryCacheUtil.getDependencyTokens(dependencyKeys);
 
-				if (count != null) {
-					return count.intValue();
-				}
-			}
+		count = doCountEntries(entryQuery);
 
-			return 0;
-		}
-		catch (Exception e) {
-			throw new SystemException(e);
-		}
-		finally {
-			closeSession(session);
-		}
+		AssetEntryQueryCacheUtil.putResult(
+			cacheKey, dependencyKeys, dependencyTokens, count);
+
+		return count;
 	}
 
 	@Override
 	public List<AssetEntry> findEntries(AssetEntryQuery entryQuery)
 		throws SystemException {
 
-		Session session = null;
+		if (!AssetEntryQueryCacheUtil.isCacheable(entryQuery)) {
+			return doFindEntries(entryQuery);
+		}
 
-		try {
-			session = openSession();
+		String cacheKey = AssetEntryQueryCacheUtil.getCacheKey(
+			entryQuery, false);
 
-			SQLQuery q = buildAssetQuerySQL(entryQuery, false, session);
+		long[] entryIds = (long[])AssetEntryQueryCacheUtil.getResult(cacheKey);
 
-			return (List<AssetEntry>)QueryUtil.list(
-				q, getDialect(), entryQuery.getStart(), entryQuery.getEnd());
-		}
-		catch (Exception e) {
-			throw new SystemException(e);
+		if (entryIds != null) {
+			List<AssetEntry> entries = new ArrayList<AssetEntry>(
+				entryIds.length);
+
+			for (long entryId : entryIds) {
+				AssetEntry entry = AssetEntryUtil.fetchByPrimaryKey(entryId);
+
+				if (entry == null) {
+					entries = null;
+
+					break;
+				}
+
+				entries.add(entry);
+			}
+
+			if (entries != null) {
+				return entries;
+			}
 		}
-		finally {
-			closeSession(session);
+
+		String[] dependencyKeys = AssetEntryQueryCacheUtil.getDependencyKeys(
+			entryQuery);
+		String[] dependencyTokens =
+			AssetEntryQueryCacheUtil.getDependencyTokens(dependencyKeys);
+
+		List<AssetEntry> entries = doFindEntries(entryQuery);
+
+		entryIds = new long[entries.size()];
+
+		for (int i = 0; i < entries.size(); i++) {
+			AssetEntry entry = entries.get(i);
+
+			entryIds[i] = entry.getEntryId();
 		}
+
+		AssetEntryQueryCacheUtil.putResult(
+			cacheKey, dependencyKeys, dependencyTokens, entryIds);
+
+		return entries;
 	}
 
 	protected void buildAllCategoriesSQL(long[] categoryIds, StringBundler sb)
@@ -353,9 +385,18 @@ public class AssetEntryFinderImpl
 
 		// Other conditions
 
-		sb.append(
-			getDates(
-				entryQuery.getPublishDate(), entryQuery.getExpirationDate()));
+		Date expirationDate = entryQuery.getExpirationDate();
+		Date publishDate = entryQuery.getPublishDate();
+
+		if (AssetEntryQueryCacheUtil.isCacheable(entryQuery)) {
+			expirationDate =
+				AssetEntryQueryCacheUtil.getCacheableExpirationDate(
+					expirationDate);
+			publishDate = AssetEntryQueryCacheUtil.getCacheablePublishDate(
+				publishDate);
+		}
+
+		sb.append(getDates(publishDate, expirationDate));
 		sb.append(getGroupIds(entryQuery.getGroupIds()));
 		sb.append(getClassNameIds(entryQuery.getClassNameIds()));
 
@@ -439,8 +480,7 @@ public class AssetEntryFinderImpl
 			qPos.add(layout.getUuid());
 		}
 
-		setDates(
-			qPos, entryQuery.getPublishDate(), entryQuery.getExpirationDate());
+		setDates(qPos, publishDate, expirationDate);
 
 		qPos.add(entryQuery.getGroupIds());
 		qPos.add(entryQuery.getClassNameIds());
@@ -578,6 +618,57 @@ public class AssetEntryFinderImpl
 		return sb.toString();
 	}
 
+	protected int doCountEntries(AssetEntryQuery entryQuery)
+		throws SystemException {
+
+		Session session = null;
+
+		try {
+			session = openSession();
+
+			SQLQuery q = buildAssetQuerySQL(entryQuery, true, session);
+
+			Iterator<Long> itr = q.iterate();
+
+			if (itr.hasNext()) {
+				Long count = itr.next();
+
+				if (count != null) {
+					return count.intValue();
+				}
+			}
+
+			return 0;
+		}
+		catch (Exception e) {
+			throw new SystemException(e);
+		}
+		finally {
+			closeSession(session);
+		}
+	}
+
+	protected List<AssetEntry> doFindEntries(AssetEntryQuery entryQuery)
+		throws SystemException {
+
+		Session session = null;
+
+		try {
+			session = openSession();
+
+			SQLQuery q = buildAssetQuerySQL(entryQuery, false, session);
+
+			return (List<AssetEntry>)QueryUtil.list(
+				q, getDialect(), entryQuery.getStart(), entryQuery.getEnd());
+		}
+		catch (Exception e) {
+			throw new SystemException(e);
+		}
+		finally {
+			closeSession(session);
+		}
+	}
+
 	protected String getClassNameIds(long[] classNameIds) {
 		if (classNameIds.length == 0) {
 			return StringPool.BLANK;
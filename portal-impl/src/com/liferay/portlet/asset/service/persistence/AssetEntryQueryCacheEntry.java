@@ -0,0 +1,49 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portlet.asset.service.persistence;
+
+import java.io.Serializable;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class AssetEntryQueryCacheEntry implements Serializable {
+
+	public AssetEntryQueryCacheEntry(
+		String[] dependencyKeys, String[] dependencyTokens,
+		Serializable result) {
+
+		_dependencyKeys = dependencyKeys;
+		_dependencyTokens = dependencyTokens;
+		_result = result;
+	}
+
+	public String[] getDependencyKeys() {
+		return _dependencyKeys;
+	}
+
+	public String[] getDependencyTokens() {
+		return _dependencyTokens;
+	}
+
+	public Serializable getResult() {
+		return _result;
+	}
+
+	private String[] _dependencyKeys;
+	private String[] _dependencyTokens;
+	private Serializable _result;
+
+}
@@ -0,0 +1,389 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portlet.asset.service.persistence;
+
+import com.liferay.portal.kernel.cache.MultiVMPoolUtil;
+import com.liferay.portal.kernel.cache.PortalCache;
+import com.liferay.portal.kernel.transaction.TransactionCommitCallbackRegistryUtil;
+import com.liferay.portal.kernel.util.AutoResetThreadLocal;
+import com.liferay.portal.kernel.util.StringBundler;
+import com.liferay.portal.kernel.util.StringPool;
+import com.liferay.portal.kernel.uuid.PortalUUIDUtil;
+import com.liferay.portal.model.Layout;
+import com.liferay.portal.util.PropsValues;
+
+import java.io.Serializable;
+
+import java.util.Arrays;
+import java.util.Date;
+import java.util.concurrent.Callable;
+
+/**
+ * Caches the entry IDs and counts returned by {@link AssetEntryFinderImpl}.
+ *
+ * <p>
+ * Every cached result records a token for each group and class name pair it
+ * was queried for. Changing an asset entry, or its tags or categories, removes
+ * the tokens of the entry's group and class name, which replicates through the
+ * cluster and makes only the results that could include the entry stale.
+ * </p>
+ *
+ * @author Shuyang Zhou
+ */
+public class AssetEntryQueryCacheUtil {
+
+	public static final String CACHE_NAME =
+		AssetEntryQueryCacheUtil.class.getName();
+
+	public static final String DEPENDENCY_CACHE_NAME = CACHE_NAME.concat(
+		"_DEPENDENCY");
+
+	public static void clearCache() {
+		clearDependencies(_ALL_DEPENDENCY_KEYS);
+	}
+
+	public static void clearCache(long groupId, long classNameId) {
+		clearDependencies(
+			new String[] {
+				getDependencyKey(groupId, classNameId),
+				getDependencyKey(groupId, 0), getDependencyKey(0, classNameId),
+				getDependencyKey(0, 0)
+			});
+	}
+
+	public static String getCacheKey(
+		AssetEntryQuery entryQuery, boolean count) {
+
+		StringBundler sb = new StringBundler(64);
+
+		if (count) {
+			sb.append("COUNT");
+		}
+		else {
+			sb.append("FIND");
+			sb.append(_SEPARATOR);
+			sb.append(entryQuery.getStart());
+			sb.append(_SEPARATOR);
+			sb.append(entryQuery.getEnd());
+			sb.append(_SEPARATOR);
+			sb.append(entryQuery.getOrderByCol1());
+			sb.append(_SEPARATOR);
+			sb.append(entryQuery.getOrderByType1());
+			sb.append(_SEPARATOR);
+			sb.append(entryQuery.getOrderByCol2());
+			sb.append(_SEPARATOR);
+			sb.append(entryQuery.getOrderByType2());
+		}
+
+		_append(sb, entryQuery.getGroupIds());
+		_append(sb, entryQuery.getClassNameIds());
+		_append(sb, entryQuery.getClassTypeIds());
+		_append(sb, entryQuery.getAllCategoryIds());
+		_append(sb, entryQuery.getAnyCategoryIds());
+		_append(sb, entryQuery.getNotAllCategoryIds());
+		_append(sb, entryQuery.getNotAnyCategoryIds());
+		_append(sb, entryQuery.getAllTagIdsArray());
+		_append(sb, entryQuery.getAnyTagIds());
+		_append(sb, entryQuery.getNotAllTagIdsArray());
+		_append(sb, entryQuery.getNotAnyTagIds());
+
+		sb.append(_SEPARATOR);
+		sb.append(entryQuery.getKeywords());
+		sb.append(_SEPARATOR);
+		sb.append(entryQuery.getTitle());
+		sb.append(_SEPARATOR);
+		sb.append(entryQuery.getDescription());
+		sb.append(_SEPARATOR);
+		sb.append(entryQuery.isExcludeZeroViewCount());
+		sb.append(_SEPARATOR);
+		sb.append(String.valueOf(entryQuery.isVisible()));
+
+		Layout layout = entryQuery.getLayout();
+
+		sb.append(_SEPARATOR);
+
+		if (layout != null) {
+			sb.append(layout.getUuid());
+		}
+
+		_append(sb, getCacheablePublishDate(entryQuery.getPublishDate()));
+		_append(
+			sb, getCacheableExpirationDate(entryQuery.getExpirationDate()));
+
+		return sb.toString();
+	}
+
+	/**
+	 * Returns the expiration date rounded up to the configured interval so
+	 * that queries issued within the same interval share their cached results
+	 * without ever including an expired entry.
+	 */
+	public static Date getCacheableExpirationDate(Date expirationDate) {
+		if ((expirationDate == null) ||
+			(PropsValues.ASSET_ENTRY_QUERY_CACHE_DATE_INTERVAL <= 0)) {
+
+			return expirationDate;
+		}
+
+		long time = expirationDate.getTime();
+
+		long remainder =
+			time % PropsValues.ASSET_ENTRY_QUERY_CACHE_DATE_INTERVAL;
+
+		if (remainder == 0) {
+			return expirationDate;
+		}
+
+		return new Date(
+			time - remainder +
+				PropsValues.ASSET_ENTRY_QUERY_CACHE_DATE_INTERVAL);
+	}
+
+	/**
+	 * Returns the publish date rounded down to the configured interval so
+	 * that queries issued within the same interval share their cached results
+	 * without ever including an unpublished entry.
+	 */
+	public static Date getCacheablePublishDate(Date publishDate) {
+		if ((publishDate == null) ||
+			(PropsValues.ASSET_ENTRY_QUERY_CACHE_DATE_INTERVAL <= 0)) {
+
+			return publishDate;
+		}
+
+		long time = publishDate.getTime();
+
+		return new Date(
+			time - (time % PropsValues.ASSET_ENTRY_QUERY_CACHE_DATE_INTERVAL));
+	}
+
+	public static String[] getDependencyKeys(AssetEntryQuery entryQuery) {
+		long[] groupIds = entryQuery.getGroupIds();
+
+		if ((groupIds.length == 0) ||
+			(groupIds.length > _MAX_DEPENDENCY_KEYS)) {
+
+			groupIds = _WILDCARD_IDS;
+		}
+
+		long[] classNameIds = entryQuery.getClassNameIds();
+
+		if ((classNameIds.length == 0) ||
+			((groupIds.length * classNameIds.length) > _MAX_DEPENDENCY_KEYS)) {
+
+			classNameIds = _WILDCARD_IDS;
+		}
+
+		String[] dependencyKeys =
+			new String[groupIds.length * classNameIds.length + 1];
+
+		dependencyKeys[0] = _ALL_DEPENDENCY_KEY;
+
+		int index = 1;
+
+		for (long groupId : groupIds) {
+			for (long classNameId : classNameIds) {
+				dependencyKeys[index++] = getDependencyKey(
+					groupId, classNameId);
+			}
+		}
+
+		return dependencyKeys;
+	}
+
+	public static String[] getDependencyTokens(String[] dependencyKeys) {
+		String[] dependencyTokens = new String[dependencyKeys.length];
+
+		for (int i = 0; i < dependencyKeys.length; i++) {
+			String dependencyToken = _dependencyPortalCache.get(
+				dependencyKeys[i]);
+
+			if (dependencyToken == null) {
+				dependencyToken = PortalUUIDUtil.generate();
+
+				_dependencyPortalCache.put(dependencyKeys[i], dependencyToken);
+			}
+
+			dependencyTokens[i] = dependencyToken;
+		}
+
+		return dependencyTokens;
+	}
+
+	public static Serializable getResult(String cacheKey) {
+		AssetEntryQueryCacheEntry assetEntryQueryCacheEntry = _portalCache.get(
+			cacheKey);
+
+		if (assetEntryQueryCacheEntry == null) {
+			return null;
+		}
+
+		String[] dependencyKeys =
+			assetEntryQueryCacheEntry.getDependencyKeys();
+		String[] dependencyTokens =
+			assetEntryQueryCacheEntry.getDependencyTokens();
+
+		for (int i = 0; i < dependencyKeys.length; i++) {
+			String dependencyToken = _dependencyPortalCache.get(
+				dependencyKeys[i]);
+
+			if (!dependencyTokens[i].equals(dependencyToken)) {
+				_portalCache.remove(cacheKey);
+
+				return null;
+			}
+		}
+
+		return assetEntryQueryCacheEntry.getResult();
+	}
+
+	/**
+	 * Returns <code>true</code> if the results of the query may be cached.
+	 * Queries ordered by ratings, by view count or linked to another entry
+	 * depend on data that does not invalidate the cache.
+	 */
+	public static boolean isCacheable(AssetEntryQuery entryQuery) {
+		if (!PropsValues.ASSET_ENTRY_QUERY_CACHE_ENABLED ||
+			entryQuery.isExcludeZeroViewCount() ||
+			(entryQuery.getLinkedAssetEntryId() > 0)) {
+
+			return false;
+		}
+
+		String orderByCol1 = entryQuery.getOrderByCol1();
+		String orderByCol2 = entryQuery.getOrderByCol2();
+
+		if (_isVolatileOrderByCol(orderByCol1) ||
+			_isVolatileOrderByCol(orderByCol2)) {
+
+			return false;
+		}
+
+		return true;
+	}
+
+	public static boolean isViewCountUpdate() {
+		return _viewCountUpdate.get();
+	}
+
+	public static void putResult(
+		String cacheKey, String[] dependencyKeys, String[] dependencyTokens,
+		Serializable result) {
+
+		_portalCache.put(
+			cacheKey,
+			new AssetEntryQueryCacheEntry(
+				dependencyKeys, dependencyTokens, result));
+	}
+
+	/**
+	 * Marks updates made by the current thread as only changing view counts,
+	 * which no cached result depends on.
+	 */
+	public static void setViewCountUpdate(boolean viewCountUpdate) {
+		_viewCountUpdate.set(viewCountUpdate);
+	}
+
+	protected static void clearDependencies(final String[] dependencyKeys) {
+		for (String dependencyKey : dependencyKeys) {
+			_dependencyPortalCache.remove(dependencyKey);
+		}
+
+		// Clear again once the transaction commits so that results read by
+		// other threads before the commit are not kept
+
+		TransactionCommitCallbackRegistryUtil.registerCallback(
+			new Callable<Void>() {
+
+				@Override
+				public Void call() {
+					for (String dependencyKey : dependencyKeys) {
+						_dependencyPortalCache.remove(dependencyKey);
+					}
+
+					return null;
+				}
+
+			});
+	}
+
+	protected static String getDependencyKey(long groupId, long classNameId) {
+		StringBundler sb = new StringBundler(3);
+
+		sb.append(groupId);
+		sb.append(StringPool.UNDERLINE);
+		sb.append(classNameId);
+
+		return sb.toString();
+	}
+
+	private static void _append(StringBundler sb, Date date) {
+		sb.append(_SEPARATOR);
+
+		if (date != null) {
+			sb.append(date.getTime());
+		}
+	}
+
+	private static void _append(StringBundler sb, long[] ids) {
+		sb.append(_SEPARATOR);
+
+		if (ids.length == 0) {
+			return;
+		}
+
+		ids = ids.clone();
+
+		Arrays.sort(ids);
+
+		sb.append(Arrays.toString(ids));
+	}
+
+	private static void _append(StringBundler sb, long[][] idsArray) {
+		sb.append(_SEPARATOR);
+
+		for (long[] ids : idsArray) {
+			_append(sb, ids);
+		}
+	}
+
+	private static boolean _isVolatileOrderByCol(String orderByCol) {
+		if ("ratings".equals(orderByCol) || "viewCount".equals(orderByCol)) {
+			return true;
+		}
+
+		return false;
+	}
+
+	private static final String _ALL_DEPENDENCY_KEY = "ALL";
+
+	private static final String[] _ALL_DEPENDENCY_KEYS =
+		{_ALL_DEPENDENCY_KEY};
+
+	private static final int _MAX_DEPENDENCY_KEYS = 32;
+
+	private static final String _SEPARATOR = StringPool.POUND;
+
+	private static final long[] _WILDCARD_IDS = {0};
+
+	private static PortalCache<String, String> _dependencyPortalCache =
+		MultiVMPoolUtil.getCache(DEPENDENCY_CACHE_NAME);
+	private static PortalCache<String, AssetEntryQueryCacheEntry>
+		_portalCache = MultiVMPoolUtil.getCache(CACHE_NAME);
+	private static ThreadLocal<Boolean> _viewCountUpdate =
+		new AutoResetThreadLocal<Boolean>(
+			AssetEntryQueryCacheUtil.class + "._viewCountUpdate", false);
+
+}
@@ -14,6 +14,7 @@
 
 package com.liferay.portlet.documentlibrary.model.impl;
 
+import com.liferay.portal.kernel.util.ParsedLocalization;
 import com.liferay.portal.kernel.util.StringBundler;
 import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.model.CacheModel;
@@ -127,6 +128,10 @@ public class DLFileEntryTypeCacheModel implements CacheModel<DLFileEntryType>,
 
 		dlFileEntryTypeImpl.resetOriginalValues();
 
+		dlFileEntryTypeImpl.setNameParsedLocalization(nameParsedLocalization);
+		dlFileEntryTypeImpl.setDescriptionParsedLocalization(
+			descriptionParsedLocalization);
+
 		return dlFileEntryTypeImpl;
 	}
 
@@ -203,4 +208,7 @@ public class DLFileEntryTypeCacheModel implements CacheModel<DLFileEntryType>,
 	public String fileEntryTypeKey;
 	public String name;
 	public String description;
+
+	public transient ParsedLocalization nameParsedLocalization;
+	public transient ParsedLocalization descriptionParsedLocalization;
 }
\ No newline at end of file
@@ -22,6 +22,7 @@ import com.liferay.portal.kernel.lar.StagedModelType;
 import com.liferay.portal.kernel.util.GetterUtil;
 import com.liferay.portal.kernel.util.LocaleUtil;
 import com.liferay.portal.kernel.util.LocalizationUtil;
+import com.liferay.portal.kernel.util.ParsedLocalization;
 import com.liferay.portal.kernel.util.ProxyUtil;
 import com.liferay.portal.kernel.util.StringBundler;
 import com.liferay.portal.kernel.util.StringPool;
@@ -497,13 +498,14 @@ public class DLFileEntryTypeModelImpl extends BaseModelImpl<DLFileEntryType>
 
 	@Override
 	public String getName(String languageId) {
-		return LocalizationUtil.getLocalization(getName(), languageId);
+		return getName(languageId, true);
 	}
 
 	@Override
 	public String getName(String languageId, boolean useDefault) {
-		return LocalizationUtil.getLocalization(getName(), languageId,
-			useDefault);
+		ParsedLocalization nameParsedLocalization = getNameParsedLocalization();
+
+		return nameParsedLocalization.getLocalization(languageId, useDefault);
 	}
 
 	@Override
@@ -521,7 +523,31 @@ public class DLFileEntryTypeModelImpl extends BaseModelImpl<DLFileEntryType>
 
 	@Override
 	public Map<Locale, String> getNameMap() {
-		return LocalizationUtil.getLocalizationMap(getName());
+		ParsedLocalization nameParsedLocalization = getNameParsedLocalization();
+
+		return nameParsedLocalization.getLocalizationMap(false);
+	}
+
+	protected ParsedLocalization getNameParsedLocalization() {
+		String name = getName();
+
+		ParsedLocalization nameParsedLocalization = _nameParsedLocalization;
+
+		if ((nameParsedLocalization == null) ||
+			(nameParsedLocalization.getXml() != name)) {
+
+			nameParsedLocalization = new ParsedLocalization(name);
+
+			_nameParsedLocalization = nameParsedLocalization;
+		}
+
+		return nameParsedLocalization;
+	}
+
+	protected void setNameParsedLocalization(
+		ParsedLocalization nameParsedLocalization) {
+
+		_nameParsedLocalization = nameParsedLocalization;
 	}
 
 	@Override
@@ -596,13 +622,16 @@ public class DLFileEntryTypeModelImpl extends BaseModelImpl<DLFileEntryType>
 
 	@Override
 	public String getDescription(String languageId) {
-		return LocalizationUtil.getLocalization(getDescription(), languageId);
+		return getDescription(languageId, true);
 	}
 
 	@Override
 	public String getDescription(String languageId, boolean useDefault) {
-		return LocalizationUtil.getLocalization(getDescription(), languageId,
-			useDefault);
+		ParsedLocalization descriptionParsedLocalization =
+			getDescriptionParsedLocalization();
+
+		return descriptionParsedLocalization.getLocalization(
+			languageId, useDefault);
 	}
 
 	@Override
@@ -620,7 +649,33 @@ public class DLFileEntryTypeModelImpl extends BaseModelImpl<DLFileEntryType>
 
 	@Override
 	public Map<Locale, String> getDescriptionMap() {
-		return LocalizationUtil.getLocalizationMap(getDescription());
+		ParsedLocalization descriptionParsedLocalization =
+			getDescriptionParsedLocalization();
+
+		return descriptionParsedLocalization.getLocalizationMap(false);
+	}
+
+	protected ParsedLocalization getDescriptionParsedLocalization() {
+		String description = getDescription();
+
+		ParsedLocalization descriptionParsedLocalization =
+			_descriptionParsedLocalization;
+
+		if ((descriptionParsedLocalization == null) ||
+			(descriptionParsedLocalization.getXml() != description)) {
+
+			descriptionParsedLocalization = new ParsedLocalization(description);
+
+			_descriptionParsedLocalization = descriptionParsedLocalization;
+		}
+
+		return descriptionParsedLocalization;
+	}
+
+	protected void setDescriptionParsedLocalization(
+		ParsedLocalization descriptionParsedLocalization) {
+
+		_descriptionParsedLocalization = descriptionParsedLocalization;
 	}
 
 	@Override
@@ -930,6 +985,11 @@ public class DLFileEntryTypeModelImpl extends BaseModelImpl<DLFileEntryType>
 			dlFileEntryTypeCacheModel.description = null;
 		}
 
+		dlFileEntryTypeCacheModel.nameParsedLocalization =
+			getNameParsedLocalization();
+		dlFileEntryTypeCacheModel.descriptionParsedLocalization =
+			getDescriptionParsedLocalization();
+
 		return dlFileEntryTypeCacheModel;
 	}
 
@@ -1044,8 +1104,10 @@ public class DLFileEntryTypeModelImpl extends BaseModelImpl<DLFileEntryType>
 	private String _originalFileEntryTypeKey;
 	private String _name;
 	private String _nameCurrentLanguageId;
+	private ParsedLocalization _nameParsedLocalization;
 	private String _description;
 	private String _descriptionCurrentLanguageId;
+	private ParsedLocalization _descriptionParsedLocalization;
 	private long _columnBitmask;
 	private DLFileEntryType _escapedModel;
 }
\ No newline at end of file
@@ -558,6 +558,14 @@ public class DLFileEntryIndexer extends BaseIndexer {
 				dynamicQuery.add(property.eq(folderId));
 			}
 
+			@Override
+			protected String getCheckpointName() {
+				String checkpointName = super.getCheckpointName();
+
+				return checkpointName.concat(StringPool.UNDERLINE).concat(
+					String.valueOf(dataRepositoryId));
+			}
+
 			@Override
 			protected void performAction(Object object) throws PortalException {
 				DLFileEntry dlFileEntry = (DLFileEntry)object;
@@ -573,6 +581,7 @@ public class DLFileEntryIndexer extends BaseIndexer {
 
 		actionableDynamicQuery.setCompanyId(companyId);
 		actionableDynamicQuery.setGroupId(groupId);
+		actionableDynamicQuery.setParallel(true);
 		actionableDynamicQuery.setSearchEngineId(getSearchEngineId());
 
 		actionableDynamicQuery.performActions();
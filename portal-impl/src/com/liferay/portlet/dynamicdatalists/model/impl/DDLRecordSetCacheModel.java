@@ -14,6 +14,7 @@
 
 package com.liferay.portlet.dynamicdatalists.model.impl;
 
+import com.liferay.portal.kernel.util.ParsedLocalization;
 import com.liferay.portal.kernel.util.StringBundler;
 import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.model.CacheModel;
@@ -138,6 +139,10 @@ public class DDLRecordSetCacheModel implements CacheModel<DDLRecordSet>,
 
 		ddlRecordSetImpl.resetOriginalValues();
 
+		ddlRecordSetImpl.setNameParsedLocalization(nameParsedLocalization);
+		ddlRecordSetImpl.setDescriptionParsedLocalization(
+			descriptionParsedLocalization);
+
 		return ddlRecordSetImpl;
 	}
 
@@ -224,4 +229,7 @@ public class DDLRecordSetCacheModel implements CacheModel<DDLRecordSet>,
 	public String description;
 	public int minDisplayRows;
 	public int scope;
+
+	public transient ParsedLocalization nameParsedLocalization;
+	public transient ParsedLocalization descriptionParsedLocalization;
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portlet.dynamicdatamapping.model;
+
+import com.liferay.portal.model.BaseModelListener;
+import com.liferay.portlet.journalcontent.util.JournalContentUtil;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class DDMStructureListener extends BaseModelListener<DDMStructure> {
+
+	@Override
+	public void onAfterRemove(DDMStructure ddmStructure) {
+		clearCache(ddmStructure);
+	}
+
+	@Override
+	public void onAfterUpdate(DDMStructure ddmStructure) {
+		clearCache(ddmStructure);
+	}
+
+	protected void clearCache(DDMStructure ddmStructure) {
+		if (ddmStructure == null) {
+			return;
+		}
+
+		// Journal content
+
+		JournalContentUtil.clearDDMStructureCache(
+			ddmStructure.getStructureKey());
+	}
+
+}
@@ -0,0 +1,45 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portlet.dynamicdatamapping.model;
+
+import com.liferay.portal.model.BaseModelListener;
+import com.liferay.portlet.journalcontent.util.JournalContentUtil;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class DDMTemplateListener extends BaseModelListener<DDMTemplate> {
+
+	@Override
+	public void onAfterRemove(DDMTemplate ddmTemplate) {
+		clearCache(ddmTemplate);
+	}
+
+	@Override
+	public void onAfterUpdate(DDMTemplate ddmTemplate) {
+		clearCache(ddmTemplate);
+	}
+
+	protected void clearCache(DDMTemplate ddmTemplate) {
+		if (ddmTemplate == null) {
+			return;
+		}
+
+		// Journal content
+
+		JournalContentUtil.clearDDMTemplateCache(ddmTemplate.getTemplateKey());
+	}
+
+}
@@ -14,6 +14,7 @@
 
 package com.liferay.portlet.dynamicdatamapping.model.impl;
 
+import com.liferay.portal.kernel.util.ParsedLocalization;
 import com.liferay.portal.kernel.util.StringBundler;
 import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.model.CacheModel;
@@ -127,6 +128,8 @@ public class DDMContentCacheModel implements CacheModel<DDMContent>,
 
 		ddmContentImpl.resetOriginalValues();
 
+		ddmContentImpl.setNameParsedLocalization(nameParsedLocalization);
+
 		return ddmContentImpl;
 	}
 
@@ -203,4 +206,6 @@ public class DDMContentCacheModel implements CacheModel<DDMContent>,
 	public String name;
 	public String description;
 	public String xml;
+
+	public transient ParsedLocalization nameParsedLocalization;
 }
\ No newline at end of file
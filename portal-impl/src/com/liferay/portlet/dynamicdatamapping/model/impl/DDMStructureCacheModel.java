@@ -14,6 +14,7 @@
 
 package com.liferay.portlet.dynamicdatamapping.model.impl;
 
+import com.liferay.portal.kernel.util.ParsedLocalization;
 import com.liferay.portal.kernel.util.StringBundler;
 import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.model.CacheModel;
@@ -156,6 +157,10 @@ public class DDMStructureCacheModel implements CacheModel<DDMStructure>,
 
 		ddmStructureImpl.resetOriginalValues();
 
+		ddmStructureImpl.setNameParsedLocalization(nameParsedLocalization);
+		ddmStructureImpl.setDescriptionParsedLocalization(
+			descriptionParsedLocalization);
+
 		ddmStructureImpl.setDocument(_document);
 
 		ddmStructureImpl.setLocalizedFieldsMap(_localizedFieldsMap);
@@ -278,4 +283,7 @@ public class DDMStructureCacheModel implements CacheModel<DDMStructure>,
 	public com.liferay.portal.kernel.xml.Document _document;
 	public java.util.Map<java.lang.String, java.util.Map<java.lang.String, java.util.Map<java.lang.String, java.lang.String>>> _localizedFieldsMap;
 	public java.util.Map<java.lang.String, java.util.Map<java.lang.String, java.util.Map<java.lang.String, java.lang.String>>> _localizedTransientFieldsMap;
+
+	public transient ParsedLocalization nameParsedLocalization;
+	public transient ParsedLocalization descriptionParsedLocalization;
 }
\ No newline at end of file
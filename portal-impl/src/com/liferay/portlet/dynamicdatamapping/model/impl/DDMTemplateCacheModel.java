@@ -14,6 +14,7 @@
 
 package com.liferay.portlet.dynamicdatamapping.model.impl;
 
+import com.liferay.portal.kernel.util.ParsedLocalization;
 import com.liferay.portal.kernel.util.StringBundler;
 import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.model.CacheModel;
@@ -189,6 +190,10 @@ public class DDMTemplateCacheModel implements CacheModel<DDMTemplate>,
 
 		ddmTemplateImpl.resetOriginalValues();
 
+		ddmTemplateImpl.setNameParsedLocalization(nameParsedLocalization);
+		ddmTemplateImpl.setDescriptionParsedLocalization(
+			descriptionParsedLocalization);
+
 		return ddmTemplateImpl;
 	}
 
@@ -326,4 +331,7 @@ public class DDMTemplateCacheModel implements CacheModel<DDMTemplate>,
 	public boolean smallImage;
 	public long smallImageId;
 	public String smallImageURL;
+
+	public transient ParsedLocalization nameParsedLocalization;
+	public transient ParsedLocalization descriptionParsedLocalization;
 }
\ No newline at end of file
@@ -0,0 +1,335 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portlet.dynamicdatamapping.service.persistence;
+
+import com.liferay.portal.kernel.dao.orm.QueryPos;
+import com.liferay.portal.kernel.dao.orm.QueryUtil;
+import com.liferay.portal.kernel.dao.orm.SQLQuery;
+import com.liferay.portal.kernel.dao.orm.Session;
+import com.liferay.portal.kernel.dao.orm.Type;
+import com.liferay.portal.kernel.exception.SystemException;
+import com.liferay.portal.kernel.util.StringBundler;
+import com.liferay.portal.kernel.util.StringPool;
+import com.liferay.portal.kernel.util.StringUtil;
+import com.liferay.portal.service.persistence.impl.BasePersistenceImpl;
+import com.liferay.portlet.dynamicdatamapping.model.DDMStorageLink;
+import com.liferay.portlet.dynamicdatamapping.model.impl.DDMStorageLinkImpl;
+import com.liferay.portlet.dynamicdatamapping.storage.query.ComparisonOperator;
+import com.liferay.portlet.dynamicdatamapping.storage.query.Condition;
+import com.liferay.portlet.dynamicdatamapping.storage.query.FieldCondition;
+import com.liferay.portlet.dynamicdatamapping.storage.query.Junction;
+import com.liferay.portlet.dynamicdatamapping.storage.query.LogicalOperator;
+import com.liferay.portlet.expando.model.ExpandoColumnConstants;
+import com.liferay.util.dao.orm.CustomSQLUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * @author Brian Wing Shun Chan
+ */
+public class DDMStorageLinkFinderImpl
+	extends BasePersistenceImpl<DDMStorageLink>
+	implements DDMStorageLinkFinder {
+
+	public static final String COUNT_BY_S_C =
+		DDMStorageLinkFinder.class.getName() + ".countByS_C";
+
+	public static final String FIND_BY_S_C =
+		DDMStorageLinkFinder.class.getName() + ".findByS_C";
+
+	public static final String JOIN_BY_EXPANDO_VALUE =
+		DDMStorageLinkFinder.class.getName() + ".joinByExpandoValue";
+
+	@Override
+	public int countByS_C(long structureId, Condition condition)
+		throws SystemException {
+
+		Session session = null;
+
+		try {
+			session = openSession();
+
+			List<String> params = new ArrayList<String>();
+
+			String sql = CustomSQLUtil.get(COUNT_BY_S_C);
+
+			sql = StringUtil.replace(
+				sql, "[$CONDITION$]", getConditionSQL(condition, params));
+
+			SQLQuery q = session.createSQLQuery(sql);
+
+			q.addScalar(COUNT_COLUMN_NAME, Type.LONG);
+
+			QueryPos qPos = QueryPos.getInstance(q);
+
+			qPos.add(structureId);
+
+			for (String param : params) {
+				qPos.add(param);
+			}
+
+			Iterator<Long> itr = q.iterate();
+
+			if (itr.hasNext()) {
+				Long count = itr.next();
+
+				if (count != null) {
+					return count.intValue();
+				}
+			}
+
+			return 0;
+		}
+		catch (Exception e) {
+			throw new SystemException(e);
+		}
+		finally {
+			closeSession(session);
+		}
+	}
+
+	@Override
+	public List<DDMStorageLink> findByS_C(
+			long structureId, Condition condition, int start, int end)
+		throws SystemException {
+
+		Session session = null;
+
+		try {
+			session = openSession();
+
+			List<String> params = new ArrayList<String>();
+
+			String sql = CustomSQLUtil.get(FIND_BY_S_C);
+
+			sql = StringUtil.replace(
+				sql, "[$CONDITION$]", getConditionSQL(condition, params));
+
+			SQLQuery q = session.createSQLQuery(sql);
+
+			q.addEntity("DDMStorageLink", DDMStorageLinkImpl.class);
+
+			QueryPos qPos = QueryPos.getInstance(q);
+
+			qPos.add(structureId);
+
+			for (String param : params) {
+				qPos.add(param);
+			}
+
+			return (List<DDMStorageLink>)QueryUtil.list(
+				q, getDialect(), start, end);
+		}
+		catch (Exception e) {
+			throw new SystemException(e);
+		}
+		finally {
+			closeSession(session);
+		}
+	}
+
+	protected String getConditionSQL(Condition condition, List<String> params) {
+		if (condition == null) {
+			return StringPool.BLANK;
+		}
+
+		return " AND ".concat(toSQL(condition, params));
+	}
+
+	protected String[] getDataPatterns(Object value) {
+
+		// Expando storage keeps every value in a localized XML document, so a
+		// value matches when it is the content of one of its Data elements.
+		// Repeatable values are merged into the content with commas, so they
+		// also match as the first, a middle, or the last item of the list.
+
+		String data = StringUtil.replace(
+			String.valueOf(value), _XML_SPECIAL_CHARS,
+			_XML_SPECIAL_CHARS_ESCAPED);
+
+		String arrayData = StringUtil.replace(
+			data, StringPool.COMMA, _EXPANDO_COMMA);
+
+		data = StringUtil.replace(
+			data, _LIKE_SPECIAL_CHARS, _LIKE_SPECIAL_CHARS_ESCAPED);
+		arrayData = StringUtil.replace(
+			arrayData, _LIKE_SPECIAL_CHARS, _LIKE_SPECIAL_CHARS_ESCAPED);
+
+		return new String[] {
+			"%>".concat(data).concat("</Data>%"),
+			"%>".concat(arrayData).concat("</Data>%"),
+			"%>".concat(arrayData).concat(",%"),
+			"%,".concat(arrayData).concat(",%"),
+			"%,".concat(arrayData).concat("</Data>%")
+		};
+	}
+
+	protected Collection<?> getValues(Object value) {
+		if (value instanceof Collection<?>) {
+			return (Collection<?>)value;
+		}
+		else if (value instanceof Object[]) {
+			return Arrays.asList((Object[])value);
+		}
+
+		return Arrays.asList(value);
+	}
+
+	protected String toSQL(Condition condition, List<String> params) {
+		if (condition.isJunction()) {
+			return toSQL((Junction)condition, params);
+		}
+
+		return toSQL((FieldCondition)condition, params);
+	}
+
+	protected String toSQL(FieldCondition fieldCondition, List<String> params) {
+		ComparisonOperator comparisonOperator =
+			fieldCondition.getComparisonOperator();
+
+		if (comparisonOperator.equals(ComparisonOperator.LIKE)) {
+			throw new IllegalArgumentException(
+				"LIKE conditions are regular expressions and cannot be " +
+					"translated to SQL");
+		}
+
+		Collection<?> values = null;
+
+		if (comparisonOperator.equals(ComparisonOperator.IN) ||
+			comparisonOperator.equals(ComparisonOperator.NOT_IN)) {
+
+			values = getValues(fieldCondition.getValue());
+		}
+		else {
+
+			// The remaining operators match a value by equality with one of
+			// the localized or repeated values of the field
+
+			values = Arrays.asList(fieldCondition.getValue());
+		}
+
+		if (values.isEmpty()) {
+			if (comparisonOperator.equals(ComparisonOperator.NOT_IN)) {
+				return "(1 = 1)";
+			}
+
+			return "(1 = 0)";
+		}
+
+		params.add(fieldCondition.getName());
+
+		StringBundler sb = new StringBundler(values.size() * 16);
+
+		for (Object value : values) {
+			if (sb.index() > 0) {
+				sb.append(" OR ");
+			}
+
+			String[] dataPatterns = getDataPatterns(value);
+
+			sb.append("(((ExpandoColumn.type_ <> ");
+			sb.append(ExpandoColumnConstants.STRING_ARRAY_LOCALIZED);
+			sb.append(") AND ");
+			sb.append(_DATA_LIKE_SQL);
+			sb.append(") OR ((ExpandoColumn.type_ = ");
+			sb.append(ExpandoColumnConstants.STRING_ARRAY_LOCALIZED);
+			sb.append(") AND (");
+
+			for (int i = 1; i < dataPatterns.length; i++) {
+				if (i > 1) {
+					sb.append(" OR ");
+				}
+
+				sb.append(_DATA_LIKE_SQL);
+			}
+
+			sb.append(")))");
+
+			for (String dataPattern : dataPatterns) {
+				params.add(dataPattern);
+			}
+		}
+
+		String sql = StringUtil.replace(
+			CustomSQLUtil.get(JOIN_BY_EXPANDO_VALUE), "[$DATA$]",
+			sb.toString());
+
+		if (comparisonOperator.equals(ComparisonOperator.NOT_EQUALS) ||
+			comparisonOperator.equals(ComparisonOperator.NOT_IN)) {
+
+			return "(NOT ".concat(sql).concat(StringPool.CLOSE_PARENTHESIS);
+		}
+
+		return StringPool.OPEN_PARENTHESIS.concat(sql).concat(
+			StringPool.CLOSE_PARENTHESIS);
+	}
+
+	protected String toSQL(Junction junction, List<String> params) {
+		LogicalOperator logicalOperator = junction.getLogicalOperator();
+
+		String logicalOperatorSQL = " AND ";
+
+		if (logicalOperator.equals(LogicalOperator.OR)) {
+			logicalOperatorSQL = " OR ";
+		}
+
+		StringBundler sb = new StringBundler();
+
+		Iterator<Condition> itr = junction.iterator();
+
+		while (itr.hasNext()) {
+			sb.append(toSQL(itr.next(), params));
+
+			if (itr.hasNext()) {
+				sb.append(logicalOperatorSQL);
+			}
+		}
+
+		if (sb.index() == 0) {
+			return "(1 = 1)";
+		}
+
+		String sql = StringPool.OPEN_PARENTHESIS.concat(sb.toString()).concat(
+			StringPool.CLOSE_PARENTHESIS);
+
+		if (logicalOperator.equals(LogicalOperator.NOT)) {
+			sql = "(NOT ".concat(sql).concat(StringPool.CLOSE_PARENTHESIS);
+		}
+
+		return sql;
+	}
+
+	private static final String _DATA_LIKE_SQL =
+		"(CAST_TEXT(ExpandoValue.data_) LIKE ? ESCAPE '!')";
+
+	private static final String _EXPANDO_COMMA = "[$LIFERAY_EXPANDO_COMMA$]";
+
+	private static final String[] _LIKE_SPECIAL_CHARS = {"!", "%", "_"};
+
+	private static final String[] _LIKE_SPECIAL_CHARS_ESCAPED = {
+		"!!", "!%", "!_"
+	};
+
+	private static final String[] _XML_SPECIAL_CHARS = {"&", "<", ">"};
+
+	private static final String[] _XML_SPECIAL_CHARS_ESCAPED = {
+		"&amp;", "&lt;", "&gt;"
+	};
+
+}
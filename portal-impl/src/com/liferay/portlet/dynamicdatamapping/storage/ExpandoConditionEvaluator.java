@@ -0,0 +1,264 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portlet.dynamicdatamapping.storage;
+
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
+import com.liferay.portal.kernel.util.StringPool;
+import com.liferay.portal.kernel.util.StringUtil;
+import com.liferay.portlet.dynamicdatamapping.storage.query.ComparisonOperator;
+import com.liferay.portlet.dynamicdatamapping.storage.query.Condition;
+import com.liferay.portlet.dynamicdatamapping.storage.query.FieldCondition;
+import com.liferay.portlet.dynamicdatamapping.storage.query.Junction;
+import com.liferay.portlet.dynamicdatamapping.storage.query.LogicalOperator;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Evaluates conditions against the raw data of expando values for queries
+ * that cannot be translated to SQL.
+ *
+ * <p>
+ * LIKE conditions keep their original semantics: the value is a regular
+ * expression that must match the whole raw data of the expando value,
+ * including its localization XML. The remaining operators match the same way
+ * as in <code>DDMStorageLinkFinderImpl</code>, by equality with one of the
+ * localized or repeated values of the field.
+ * </p>
+ *
+ * <p>
+ * This walks the condition tree directly. It replaces the SpEL expressions
+ * that <code>ExpandoStorageAdapter</code> used to build from conditions and
+ * evaluate with an <code>ExpandoValueBeanResolver</code>.
+ * </p>
+ *
+ * @author Brian Wing Shun Chan
+ */
+public class ExpandoConditionEvaluator {
+
+	public static boolean isSQLCondition(Condition condition) {
+		if (condition == null) {
+			return true;
+		}
+
+		if (!condition.isJunction()) {
+			FieldCondition fieldCondition = (FieldCondition)condition;
+
+			ComparisonOperator comparisonOperator =
+				fieldCondition.getComparisonOperator();
+
+			return !comparisonOperator.equals(ComparisonOperator.LIKE);
+		}
+
+		Iterator<Condition> itr = ((Junction)condition).iterator();
+
+		while (itr.hasNext()) {
+			if (!isSQLCondition(itr.next())) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	public ExpandoConditionEvaluator(
+		Condition condition, Set<String> repeatableFieldNames) {
+
+		_condition = condition;
+		_repeatableFieldNames = repeatableFieldNames;
+	}
+
+	public boolean evaluate(Map<String, String> dataMap) {
+		try {
+			return evaluate(_condition, dataMap);
+		}
+		catch (PatternSyntaxException pse) {
+			_log.error("Unable to evaluate condition", pse);
+		}
+
+		return false;
+	}
+
+	protected boolean evaluate(
+		Condition condition, Map<String, String> dataMap) {
+
+		if (condition.isJunction()) {
+			return evaluate((Junction)condition, dataMap);
+		}
+
+		return evaluate((FieldCondition)condition, dataMap);
+	}
+
+	protected boolean evaluate(
+		FieldCondition fieldCondition, Map<String, String> dataMap) {
+
+		String name = fieldCondition.getName();
+
+		String data = dataMap.get(name);
+
+		ComparisonOperator comparisonOperator =
+			fieldCondition.getComparisonOperator();
+
+		if (comparisonOperator.equals(ComparisonOperator.LIKE)) {
+			if (data == null) {
+				return false;
+			}
+
+			return data.matches(String.valueOf(fieldCondition.getValue()));
+		}
+
+		Collection<?> values = null;
+
+		if (comparisonOperator.equals(ComparisonOperator.IN) ||
+			comparisonOperator.equals(ComparisonOperator.NOT_IN)) {
+
+			values = getValues(fieldCondition.getValue());
+		}
+		else {
+			values = Arrays.asList(fieldCondition.getValue());
+		}
+
+		boolean matches = false;
+
+		if (data != null) {
+			boolean repeatable = _repeatableFieldNames.contains(name);
+
+			for (Object value : values) {
+				if (matches(data, String.valueOf(value), repeatable)) {
+					matches = true;
+
+					break;
+				}
+			}
+		}
+
+		if (comparisonOperator.equals(ComparisonOperator.NOT_EQUALS) ||
+			comparisonOperator.equals(ComparisonOperator.NOT_IN)) {
+
+			return !matches;
+		}
+
+		return matches;
+	}
+
+	protected boolean evaluate(Junction junction, Map<String, String> dataMap) {
+		LogicalOperator logicalOperator = junction.getLogicalOperator();
+
+		boolean or = logicalOperator.equals(LogicalOperator.OR);
+
+		Boolean result = null;
+
+		Iterator<Condition> itr = junction.iterator();
+
+		while (itr.hasNext()) {
+			boolean value = evaluate(itr.next(), dataMap);
+
+			if (or) {
+				result = (result == null) ? value : (result || value);
+			}
+			else {
+				result = (result == null) ? value : (result && value);
+			}
+		}
+
+		if (result == null) {
+			result = true;
+		}
+
+		if (logicalOperator.equals(LogicalOperator.NOT)) {
+			return !result;
+		}
+
+		return result;
+	}
+
+	protected Collection<?> getValues(Object value) {
+		if (value instanceof Collection<?>) {
+			return (Collection<?>)value;
+		}
+		else if (value instanceof Object[]) {
+			return Arrays.asList((Object[])value);
+		}
+
+		return Arrays.asList(value);
+	}
+
+	protected boolean matches(String data, String value, boolean repeatable) {
+		int index = 0;
+
+		while (true) {
+			int start = data.indexOf(_DATA_START, index);
+
+			if (start == -1) {
+				return false;
+			}
+
+			start = data.indexOf(StringPool.GREATER_THAN, start);
+
+			int end = data.indexOf(_DATA_END, start);
+
+			if (end == -1) {
+				return false;
+			}
+
+			index = end + _DATA_END.length();
+
+			String content = StringUtil.replace(
+				data.substring(start + 1, end), _XML_SPECIAL_CHARS_ESCAPED,
+				_XML_SPECIAL_CHARS);
+
+			if (!repeatable) {
+				if (content.equals(value)) {
+					return true;
+				}
+
+				continue;
+			}
+
+			for (String item : StringUtil.split(content)) {
+				item = StringUtil.replace(
+					item, _EXPANDO_COMMA, StringPool.COMMA);
+
+				if (item.equals(value)) {
+					return true;
+				}
+			}
+		}
+	}
+
+	private static final String _DATA_END = "</Data>";
+
+	private static final String _DATA_START = "<Data";
+
+	private static final String _EXPANDO_COMMA = "[$LIFERAY_EXPANDO_COMMA$]";
+
+	private static final String[] _XML_SPECIAL_CHARS = {"<", ">", "&"};
+
+	private static final String[] _XML_SPECIAL_CHARS_ESCAPED = {
+		"&lt;", "&gt;", "&amp;"
+	};
+
+	private static Log _log = LogFactoryUtil.getLog(
+		ExpandoConditionEvaluator.class);
+
+	private Condition _condition;
+	private Set<String> _repeatableFieldNames;
+
+}
@@ -15,15 +15,15 @@
 package com.liferay.portlet.dynamicdatamapping.storage;
 
 import com.liferay.counter.service.CounterLocalServiceUtil;
+import com.liferay.portal.kernel.dao.orm.DynamicQuery;
+import com.liferay.portal.kernel.dao.orm.Property;
+import com.liferay.portal.kernel.dao.orm.PropertyFactoryUtil;
+import com.liferay.portal.kernel.dao.orm.QueryUtil;
 import com.liferay.portal.kernel.exception.PortalException;
 import com.liferay.portal.kernel.exception.SystemException;
-import com.liferay.portal.kernel.log.Log;
-import com.liferay.portal.kernel.log.LogFactoryUtil;
 import com.liferay.portal.kernel.util.ArrayUtil;
+import com.liferay.portal.kernel.util.ListUtil;
 import com.liferay.portal.kernel.util.OrderByComparator;
-import com.liferay.portal.kernel.util.StringBundler;
-import com.liferay.portal.kernel.util.StringPool;
-import com.liferay.portal.kernel.util.StringUtil;
 import com.liferay.portal.kernel.util.Validator;
 import com.liferay.portal.service.ServiceContext;
 import com.liferay.portal.util.PortalUtil;
@@ -31,11 +31,8 @@ import com.liferay.portlet.dynamicdatamapping.model.DDMStorageLink;
 import com.liferay.portlet.dynamicdatamapping.model.DDMStructure;
 import com.liferay.portlet.dynamicdatamapping.service.DDMStorageLinkLocalServiceUtil;
 import com.liferay.portlet.dynamicdatamapping.service.DDMStructureLocalServiceUtil;
-import com.liferay.portlet.dynamicdatamapping.storage.query.ComparisonOperator;
+import com.liferay.portlet.dynamicdatamapping.service.persistence.DDMStorageLinkFinderUtil;
 import com.liferay.portlet.dynamicdatamapping.storage.query.Condition;
-import com.liferay.portlet.dynamicdatamapping.storage.query.FieldCondition;
-import com.liferay.portlet.dynamicdatamapping.storage.query.Junction;
-import com.liferay.portlet.dynamicdatamapping.storage.query.LogicalOperator;
 import com.liferay.portlet.dynamicdatamapping.util.DDMUtil;
 import com.liferay.portlet.expando.NoSuchTableException;
 import com.liferay.portlet.expando.model.ExpandoColumn;
@@ -54,17 +51,12 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Date;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-
-import org.springframework.expression.EvaluationException;
-import org.springframework.expression.Expression;
-import org.springframework.expression.ExpressionParser;
-import org.springframework.expression.ParseException;
-import org.springframework.expression.spel.standard.SpelExpressionParser;
-import org.springframework.expression.spel.support.StandardEvaluationContext;
+import java.util.Set;
 
 /**
  * @author Eduardo Lundgren
@@ -123,8 +115,8 @@ public class ExpandoStorageAdapter extends BaseStorageAdapter {
 			OrderByComparator orderByComparator)
 		throws Exception {
 
-		return _doQuery(
-			ddmStructureId, classPKs, fieldNames, null, orderByComparator);
+		return _getFieldsList(
+			ddmStructureId, classPKs, fieldNames, orderByComparator);
 	}
 
 	@Override
@@ -133,7 +125,9 @@ public class ExpandoStorageAdapter extends BaseStorageAdapter {
 			OrderByComparator orderByComparator)
 		throws Exception {
 
-		return _doQuery(ddmStructureId, fieldNames, null, orderByComparator);
+		return _doQuery(
+			ddmStructureId, fieldNames, null, QueryUtil.ALL_POS,
+			QueryUtil.ALL_POS, orderByComparator);
 	}
 
 	@Override
@@ -141,46 +135,42 @@ public class ExpandoStorageAdapter extends BaseStorageAdapter {
 			long ddmStructureId, long[] classPKs, List<String> fieldNames)
 		throws Exception {
 
-		return _doQuery(ddmStructureId, classPKs, fieldNames);
+		return _getFieldsMap(ddmStructureId, classPKs, fieldNames);
 	}
 
 	@Override
 	protected List<Fields> doQuery(
 			long ddmStructureId, List<String> fieldNames, Condition condition,
-			OrderByComparator orderByComparator)
+			int start, int end, OrderByComparator orderByComparator)
 		throws Exception {
 
 		return _doQuery(
-			ddmStructureId, fieldNames, condition, orderByComparator);
+			ddmStructureId, fieldNames, condition, start, end,
+			orderByComparator);
 	}
 
 	@Override
-	protected int doQueryCount(long ddmStructureId, Condition condition)
+	protected List<Fields> doQuery(
+			long ddmStructureId, List<String> fieldNames, Condition condition,
+			OrderByComparator orderByComparator)
 		throws Exception {
 
-		Expression expression = null;
-
-		if (condition != null) {
-			expression = _parseExpression(condition);
-		}
-
-		int count = 0;
-
-		long[] expandoRowIds = _getExpandoRowIds(ddmStructureId);
+		return _doQuery(
+			ddmStructureId, fieldNames, condition, QueryUtil.ALL_POS,
+			QueryUtil.ALL_POS, orderByComparator);
+	}
 
-		for (long expandoRowId : expandoRowIds) {
-			List<ExpandoValue> expandoValues =
-				ExpandoValueLocalServiceUtil.getRowValues(expandoRowId);
+	@Override
+	protected int doQueryCount(long ddmStructureId, Condition condition)
+		throws Exception {
 
-			if ((expression == null) ||
-				((expression != null) &&
-				 _booleanValueOf(expression, expandoValues))) {
+		if (!ExpandoConditionEvaluator.isSQLCondition(condition)) {
+			long[] expandoRowIds = _getExpandoRowIds(ddmStructureId, condition);
 
-				count++;
-			}
+			return expandoRowIds.length;
 		}
 
-		return count;
+		return DDMStorageLinkFinderUtil.countByS_C(ddmStructureId, condition);
 	}
 
 	@Override
@@ -207,26 +197,6 @@ public class ExpandoStorageAdapter extends BaseStorageAdapter {
 		_updateFields(expandoTable, expandoRow.getClassPK(), fields);
 	}
 
-	private boolean _booleanValueOf(
-		Expression expression, List<ExpandoValue> expandoValues) {
-
-		try {
-			StandardEvaluationContext standardEvaluationContext =
-				new StandardEvaluationContext();
-
-			standardEvaluationContext.setBeanResolver(
-				new ExpandoValueBeanResolver(expandoValues));
-
-			return expression.getValue(
-				standardEvaluationContext, Boolean.class);
-		}
-		catch (EvaluationException ee) {
-			_log.error("Unable to evaluate expression", ee);
-		}
-
-		return false;
-	}
-
 	private void _checkExpandoColumns(ExpandoTable expandoTable, Fields fields)
 		throws PortalException, SystemException {
 
@@ -254,114 +224,125 @@ public class ExpandoStorageAdapter extends BaseStorageAdapter {
 
 	private List<Fields> _doQuery(
 			long ddmStructureId, List<String> fieldNames, Condition condition,
-			OrderByComparator orderByComparator)
+			int start, int end, OrderByComparator orderByComparator)
 		throws Exception {
 
-		return _doQuery(
-			ddmStructureId, _getExpandoRowIds(ddmStructureId), fieldNames,
-			condition, orderByComparator);
-	}
+		// LIKE conditions are regular expressions over the raw data, so they
+		// are evaluated in memory
 
-	private Map<Long, Fields> _doQuery(
-			long ddmStructureId, long[] classPKs, List<String> fieldNames)
-		throws Exception {
+		if (!ExpandoConditionEvaluator.isSQLCondition(condition)) {
+			List<Fields> fieldsList = _getFieldsList(
+				ddmStructureId, _getExpandoRowIds(ddmStructureId, condition),
+				fieldNames, orderByComparator);
 
-		Map<Long, Fields> fieldsMap = new HashMap<Long, Fields>();
+			return ListUtil.subList(fieldsList, start, end);
+		}
 
-		List<Fields> fieldsList = _doQuery(
-			ddmStructureId, classPKs, fieldNames, null, null);
+		// Comparators order the loaded fields, so only unordered queries can
+		// be paged by the database
 
-		for (int i = 0; i < fieldsList.size(); i++) {
-			Fields fields = fieldsList.get(i);
+		if (orderByComparator == null) {
+			List<DDMStorageLink> ddmStorageLinks =
+				DDMStorageLinkFinderUtil.findByS_C(
+					ddmStructureId, condition, start, end);
 
-			fieldsMap.put(classPKs[i], fields);
+			return _getFieldsList(
+				ddmStructureId, _getClassPKs(ddmStorageLinks), fieldNames,
+				null);
 		}
 
-		return fieldsMap;
-	}
+		List<DDMStorageLink> ddmStorageLinks =
+			DDMStorageLinkFinderUtil.findByS_C(
+				ddmStructureId, condition, QueryUtil.ALL_POS,
+				QueryUtil.ALL_POS);
 
-	private List<Fields> _doQuery(
-			long ddmStructureId, long[] expandoRowIds, List<String> fieldNames,
-			Condition condition, OrderByComparator orderByComparator)
-		throws Exception {
+		List<Fields> fieldsList = _getFieldsList(
+			ddmStructureId, _getClassPKs(ddmStorageLinks), fieldNames,
+			orderByComparator);
 
-		List<Fields> fieldsList = new ArrayList<Fields>();
+		return ListUtil.subList(fieldsList, start, end);
+	}
 
-		Expression expression = null;
+	private long[] _getClassPKs(List<DDMStorageLink> ddmStorageLinks) {
+		long[] classPKs = new long[ddmStorageLinks.size()];
 
-		if (condition != null) {
-			expression = _parseExpression(condition);
-		}
+		for (int i = 0; i < ddmStorageLinks.size(); i++) {
+			DDMStorageLink ddmStorageLink = ddmStorageLinks.get(i);
 
-		DDMStructure ddmStructure = DDMStructureLocalServiceUtil.getStructure(
-			ddmStructureId);
+			classPKs[i] = ddmStorageLink.getClassPK();
+		}
 
-		for (long expandoRowId : expandoRowIds) {
-			List<ExpandoValue> expandoValues =
-				ExpandoValueLocalServiceUtil.getRowValues(expandoRowId);
+		return classPKs;
+	}
 
-			if ((expression == null) ||
-				((expression != null) &&
-				 _booleanValueOf(expression, expandoValues))) {
+	private long[] _getExpandoRowIds(long ddmStructureId, Condition condition)
+		throws Exception {
 
-				Fields fields = new Fields();
+		List<DDMStorageLink> ddmStorageLinks =
+			DDMStorageLinkLocalServiceUtil.getStructureStorageLinks(
+				ddmStructureId);
 
-				for (ExpandoValue expandoValue : expandoValues) {
-					ExpandoColumn column = expandoValue.getColumn();
+		long[] expandoRowIds = _getClassPKs(ddmStorageLinks);
 
-					String fieldName = column.getName();
+		Map<Long, Map<String, String>> dataMaps =
+			new HashMap<Long, Map<String, String>>();
 
-					if (ddmStructure.hasField(fieldName) &&
-						((fieldNames == null) ||
-						 ((fieldNames != null) &&
-						  fieldNames.contains(fieldName)))) {
+		for (long expandoRowId : expandoRowIds) {
+			dataMaps.put(expandoRowId, new HashMap<String, String>());
+		}
 
-						Field field = new Field();
+		Map<Long, ExpandoColumn> expandoColumns =
+			new HashMap<Long, ExpandoColumn>();
 
-						field.setDefaultLocale(expandoValue.getDefaultLocale());
-						field.setDDMStructureId(ddmStructureId);
-						field.setName(fieldName);
+		Set<String> repeatableFieldNames = new HashSet<String>();
 
-						String fieldType = ddmStructure.getFieldDataType(
-							fieldName);
+		for (ExpandoValue expandoValue : _getExpandoValues(expandoRowIds)) {
+			ExpandoColumn column = _getExpandoColumn(
+				expandoColumns, expandoValue);
 
-						Map<Locale, List<Serializable>> valuesMap =
-							_getValuesMap(
-								column.getType(), fieldType,
-								expandoValue.getSerializable());
+			if (column.getType() ==
+					ExpandoColumnConstants.STRING_ARRAY_LOCALIZED) {
 
-						field.setValuesMap(valuesMap);
+				repeatableFieldNames.add(column.getName());
+			}
 
-						fields.put(field);
-					}
-				}
+			Map<String, String> dataMap = dataMaps.get(
+				expandoValue.getRowId());
 
-				fieldsList.add(fields);
-			}
+			dataMap.put(column.getName(), expandoValue.getData());
 		}
 
-		if (orderByComparator != null) {
-			Collections.sort(fieldsList, orderByComparator);
+		ExpandoConditionEvaluator expandoConditionEvaluator =
+			new ExpandoConditionEvaluator(condition, repeatableFieldNames);
+
+		List<Long> matchingExpandoRowIds = new ArrayList<Long>();
+
+		for (long expandoRowId : expandoRowIds) {
+			Map<String, String> dataMap = dataMaps.get(expandoRowId);
+
+			if (expandoConditionEvaluator.evaluate(dataMap)) {
+				matchingExpandoRowIds.add(expandoRowId);
+			}
 		}
 
-		return fieldsList;
+		return ArrayUtil.toArray(
+			matchingExpandoRowIds.toArray(
+				new Long[matchingExpandoRowIds.size()]));
 	}
 
-	private long[] _getExpandoRowIds(long ddmStructureId)
-		throws SystemException {
+	private ExpandoColumn _getExpandoColumn(
+			Map<Long, ExpandoColumn> expandoColumns, ExpandoValue expandoValue)
+		throws PortalException, SystemException {
 
-		List<Long> expandoRowIds = new ArrayList<Long>();
+		ExpandoColumn column = expandoColumns.get(expandoValue.getColumnId());
 
-		List<DDMStorageLink> ddmStorageLinks =
-			DDMStorageLinkLocalServiceUtil.getStructureStorageLinks(
-				ddmStructureId);
+		if (column == null) {
+			column = expandoValue.getColumn();
 
-		for (DDMStorageLink ddmStorageLink : ddmStorageLinks) {
-			expandoRowIds.add(ddmStorageLink.getClassPK());
+			expandoColumns.put(expandoValue.getColumnId(), column);
 		}
 
-		return ArrayUtil.toArray(
-			expandoRowIds.toArray(new Long[expandoRowIds.size()]));
+		return column;
 	}
 
 	private ExpandoTable _getExpandoTable(
@@ -387,116 +368,142 @@ public class ExpandoStorageAdapter extends BaseStorageAdapter {
 		return expandoTable;
 	}
 
-	private Map<Locale, List<Serializable>> _getValuesMap(
-		int columnType, String fieldType, Serializable data) {
+	private List<Fields> _getFieldsList(
+			long ddmStructureId, long[] expandoRowIds, List<String> fieldNames,
+			OrderByComparator orderByComparator)
+		throws Exception {
 
-		Map<Locale, List<Serializable>> valuesMap =
-			new HashMap<Locale, List<Serializable>>();
+		Map<Long, Fields> fieldsMap = _getFieldsMap(
+			ddmStructureId, expandoRowIds, fieldNames);
 
-		if (columnType == ExpandoColumnConstants.STRING_ARRAY_LOCALIZED) {
-			Map<Locale, String[]> stringArrayMap = (Map<Locale, String[]>)data;
+		List<Fields> fieldsList = new ArrayList<Fields>(expandoRowIds.length);
 
-			for (Locale locale : stringArrayMap.keySet()) {
-				String[] value = stringArrayMap.get(locale);
+		for (long expandoRowId : expandoRowIds) {
+			fieldsList.add(fieldsMap.get(expandoRowId));
+		}
 
-				if (ArrayUtil.isEmpty(value)) {
-					continue;
-				}
+		if (orderByComparator != null) {
+			Collections.sort(fieldsList, orderByComparator);
+		}
 
-				valuesMap.put(locale, _transformValue(fieldType, value));
-			}
+		return fieldsList;
+	}
+
+	private Map<Long, Fields> _getFieldsMap(
+			long ddmStructureId, long[] expandoRowIds, List<String> fieldNames)
+		throws Exception {
+
+		Map<Long, Fields> fieldsMap = new HashMap<Long, Fields>();
+
+		for (long expandoRowId : expandoRowIds) {
+			fieldsMap.put(expandoRowId, new Fields());
 		}
-		else {
-			Map<Locale, String> stringMap = (Map<Locale, String>)data;
 
-			for (Locale locale : stringMap.keySet()) {
-				String value = stringMap.get(locale);
+		DDMStructure ddmStructure = DDMStructureLocalServiceUtil.getStructure(
+			ddmStructureId);
 
-				if (Validator.isNull(value)) {
-					continue;
-				}
+		Map<Long, ExpandoColumn> expandoColumns =
+			new HashMap<Long, ExpandoColumn>();
 
-				valuesMap.put(locale, _transformValue(fieldType, value));
+		for (ExpandoValue expandoValue : _getExpandoValues(expandoRowIds)) {
+			ExpandoColumn column = _getExpandoColumn(
+				expandoColumns, expandoValue);
+
+			String fieldName = column.getName();
+
+			if (!ddmStructure.hasField(fieldName) ||
+				((fieldNames != null) && !fieldNames.contains(fieldName))) {
+
+				continue;
 			}
-		}
 
-		return valuesMap;
-	}
+			Field field = new Field();
 
-	private Expression _parseExpression(Condition condition) {
-		String expression = _toExpression(condition);
+			field.setDefaultLocale(expandoValue.getDefaultLocale());
+			field.setDDMStructureId(ddmStructureId);
+			field.setName(fieldName);
 
-		try {
-			ExpressionParser expressionParser = new SpelExpressionParser();
+			String fieldType = ddmStructure.getFieldDataType(fieldName);
 
-			return expressionParser.parseExpression(expression);
-		}
-		catch (ParseException pe) {
-			_log.error("Unable to parse expression " + expression, pe);
-		}
+			Map<Locale, List<Serializable>> valuesMap = _getValuesMap(
+				column.getType(), fieldType, expandoValue.getSerializable());
 
-		return null;
-	}
+			field.setValuesMap(valuesMap);
 
-	private String _toExpression(Condition condition) {
-		if (condition.isJunction()) {
-			Junction junction = (Junction)condition;
+			Fields fields = fieldsMap.get(expandoValue.getRowId());
 
-			return StringPool.OPEN_PARENTHESIS.concat(
-				_toExpression(junction)).concat(StringPool.CLOSE_PARENTHESIS);
+			fields.put(field);
 		}
-		else {
-			FieldCondition fieldCondition = (FieldCondition)condition;
 
-			return _toExpression(fieldCondition);
-		}
+		return fieldsMap;
 	}
 
-	private String _toExpression(FieldCondition fieldCondition) {
-		StringBundler sb = new StringBundler(5);
+	private List<ExpandoValue> _getExpandoValues(long[] expandoRowIds)
+		throws SystemException {
 
-		sb.append("(@");
-		sb.append(fieldCondition.getName());
+		List<ExpandoValue> expandoValues = new ArrayList<ExpandoValue>();
 
-		ComparisonOperator comparisonOperator =
-			fieldCondition.getComparisonOperator();
+		int batchStart = 0;
 
-		if (comparisonOperator.equals(ComparisonOperator.LIKE)) {
-			sb.append(".data matches ");
-		}
-		else {
-			sb.append(".data == ");
-		}
+		while (batchStart < expandoRowIds.length) {
+			int batchEnd = Math.min(
+				batchStart + _EXPANDO_ROW_IDS_BATCH_SIZE, expandoRowIds.length);
 
-		String value = StringUtil.quote(
-			String.valueOf(fieldCondition.getValue()));
+			long[] batchExpandoRowIds = ArrayUtil.subset(
+				expandoRowIds, batchStart, batchEnd);
 
-		sb.append(value);
-		sb.append(StringPool.CLOSE_PARENTHESIS);
+			batchStart = batchEnd;
 
-		return sb.toString();
+			DynamicQuery dynamicQuery =
+				ExpandoValueLocalServiceUtil.dynamicQuery();
+
+			Property rowIdProperty = PropertyFactoryUtil.forName("rowId");
+
+			dynamicQuery.add(rowIdProperty.in(batchExpandoRowIds));
+
+			List<ExpandoValue> batchExpandoValues =
+				ExpandoValueLocalServiceUtil.dynamicQuery(dynamicQuery);
+
+			expandoValues.addAll(batchExpandoValues);
+		}
+
+		return expandoValues;
 	}
 
-	private String _toExpression(Junction junction) {
-		StringBundler sb = new StringBundler();
+	private Map<Locale, List<Serializable>> _getValuesMap(
+		int columnType, String fieldType, Serializable data) {
 
-		LogicalOperator logicalOperator = junction.getLogicalOperator();
+		Map<Locale, List<Serializable>> valuesMap =
+			new HashMap<Locale, List<Serializable>>();
 
-		Iterator<Condition> itr = junction.iterator();
+		if (columnType == ExpandoColumnConstants.STRING_ARRAY_LOCALIZED) {
+			Map<Locale, String[]> stringArrayMap = (Map<Locale, String[]>)data;
 
-		while (itr.hasNext()) {
-			Condition condition = itr.next();
+			for (Locale locale : stringArrayMap.keySet()) {
+				String[] value = stringArrayMap.get(locale);
 
-			sb.append(_toExpression(condition));
+				if (ArrayUtil.isEmpty(value)) {
+					continue;
+				}
+
+				valuesMap.put(locale, _transformValue(fieldType, value));
+			}
+		}
+		else {
+			Map<Locale, String> stringMap = (Map<Locale, String>)data;
+
+			for (Locale locale : stringMap.keySet()) {
+				String value = stringMap.get(locale);
+
+				if (Validator.isNull(value)) {
+					continue;
+				}
 
-			if (itr.hasNext()) {
-				sb.append(StringPool.SPACE);
-				sb.append(logicalOperator.toString());
-				sb.append(StringPool.SPACE);
+				valuesMap.put(locale, _transformValue(fieldType, value));
 			}
 		}
 
-		return sb.toString();
+		return valuesMap;
 	}
 
 	private String[] _toStringArray(String type, Serializable[] values) {
@@ -619,9 +626,8 @@ public class ExpandoStorageAdapter extends BaseStorageAdapter {
 		}
 	}
 
-	private static final String _NUMERIC_NULL_VALUE = "NUMERIC_NULL_VALUE";
+	private static final int _EXPANDO_ROW_IDS_BATCH_SIZE = 500;
 
-	private static Log _log = LogFactoryUtil.getLog(
-		ExpandoStorageAdapter.class);
+	private static final String _NUMERIC_NULL_VALUE = "NUMERIC_NULL_VALUE";
 
 }
\ No newline at end of file
@@ -148,6 +148,20 @@ public class StorageEngineImpl implements StorageEngine {
 			ddmStructureId, classPKs, fieldNames);
 	}
 
+	@Override
+	public List<Fields> query(
+			long ddmStructureId, List<String> fieldNames, Condition condition,
+			int start, int end, OrderByComparator orderByComparator)
+		throws StorageException {
+
+		StorageAdapter storageAdapter = getStructureStorageAdapter(
+			ddmStructureId);
+
+		return storageAdapter.query(
+			ddmStructureId, fieldNames, condition, start, end,
+			orderByComparator);
+	}
+
 	@Override
 	public List<Fields> query(
 			long ddmStructureId, List<String> fieldNames, Condition condition,
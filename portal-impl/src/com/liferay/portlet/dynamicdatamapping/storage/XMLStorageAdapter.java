@@ -14,6 +14,9 @@
 
 package com.liferay.portlet.dynamicdatamapping.storage;
 
+import com.liferay.portal.kernel.dao.orm.DynamicQuery;
+import com.liferay.portal.kernel.dao.orm.Property;
+import com.liferay.portal.kernel.dao.orm.PropertyFactoryUtil;
 import com.liferay.portal.kernel.util.ArrayUtil;
 import com.liferay.portal.kernel.util.HtmlUtil;
 import com.liferay.portal.kernel.util.OrderByComparator;
@@ -149,10 +152,9 @@ public class XMLStorageAdapter extends BaseStorageAdapter {
 
 		long[] classPKs = _getStructureClassPKs(ddmStructureId);
 
-		for (long classPK : classPKs) {
-			DDMContent ddmContent = DDMContentLocalServiceUtil.getContent(
-				classPK);
+		Map<Long, DDMContent> ddmContents = _getDDMContents(classPKs);
 
+		for (DDMContent ddmContent : ddmContents.values()) {
 			Document document = SAXReaderUtil.read(ddmContent.getXml());
 
 			if ((conditionXPath == null) ||
@@ -203,13 +205,22 @@ public class XMLStorageAdapter extends BaseStorageAdapter {
 
 		Map<Long, Fields> fieldsMap = new HashMap<Long, Fields>();
 
-		List<Fields> fieldsList = _doQuery(
-			ddmStructureId, classPKs, fieldNames, null, null);
+		DDMStructure ddmStructure =
+			DDMStructureLocalServiceUtil.getDDMStructure(ddmStructureId);
+
+		Map<Long, DDMContent> ddmContents = _getDDMContents(classPKs);
 
-		for (int i = 0; i < fieldsList.size(); i++) {
-			Fields fields = fieldsList.get(i);
+		for (long classPK : classPKs) {
+			DDMContent ddmContent = ddmContents.get(classPK);
+
+			if (ddmContent == null) {
+				continue;
+			}
 
-			fieldsMap.put(classPKs[i], fields);
+			Fields fields = DDMXMLUtil.getFields(
+				ddmStructure, null, ddmContent.getXml(), fieldNames);
+
+			fieldsMap.put(classPK, fields);
 		}
 
 		return fieldsMap;
@@ -231,14 +242,21 @@ public class XMLStorageAdapter extends BaseStorageAdapter {
 		DDMStructure ddmStructure =
 			DDMStructureLocalServiceUtil.getDDMStructure(ddmStructureId);
 
+		Map<Long, DDMContent> ddmContents = _getDDMContents(classPKs);
+
 		for (long classPK : classPKs) {
-			DDMContent ddmContent = DDMContentLocalServiceUtil.getContent(
-				classPK);
+			DDMContent ddmContent = ddmContents.get(classPK);
+
+			if (ddmContent == null) {
+				continue;
+			}
 
 			Fields fields = DDMXMLUtil.getFields(
 				ddmStructure, conditionXPath, ddmContent.getXml(), fieldNames);
 
-			fieldsList.add(fields);
+			if (fields != null) {
+				fieldsList.add(fields);
+			}
 		}
 
 		if (orderByComparator != null) {
@@ -248,6 +266,41 @@ public class XMLStorageAdapter extends BaseStorageAdapter {
 		return fieldsList;
 	}
 
+	private Map<Long, DDMContent> _getDDMContents(long[] classPKs)
+		throws Exception {
+
+		Map<Long, DDMContent> ddmContents = new HashMap<Long, DDMContent>();
+
+		int batchStart = 0;
+
+		while (batchStart < classPKs.length) {
+			int batchEnd = Math.min(
+				batchStart + _CLASS_PKS_BATCH_SIZE, classPKs.length);
+
+			long[] batchClassPKs = ArrayUtil.subset(
+				classPKs, batchStart, batchEnd);
+
+			batchStart = batchEnd;
+
+			DynamicQuery dynamicQuery =
+				DDMContentLocalServiceUtil.dynamicQuery();
+
+			Property contentIdProperty = PropertyFactoryUtil.forName(
+				"contentId");
+
+			dynamicQuery.add(contentIdProperty.in(batchClassPKs));
+
+			List<DDMContent> batchDDMContents =
+				DDMContentLocalServiceUtil.dynamicQuery(dynamicQuery);
+
+			for (DDMContent ddmContent : batchDDMContents) {
+				ddmContents.put(ddmContent.getContentId(), ddmContent);
+			}
+		}
+
+		return ddmContents;
+	}
+
 	private long[] _getStructureClassPKs(long ddmStructureId) throws Exception {
 		List<Long> classPKs = new ArrayList<Long>();
 
@@ -346,4 +399,6 @@ public class XMLStorageAdapter extends BaseStorageAdapter {
 		return sb.toString();
 	}
 
+	private static final int _CLASS_PKS_BATCH_SIZE = 500;
+
 }
\ No newline at end of file
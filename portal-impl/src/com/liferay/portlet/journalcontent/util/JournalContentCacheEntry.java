@@ -0,0 +1,62 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portlet.journalcontent.util;
+
+import com.liferay.portlet.journal.model.JournalArticleDisplay;
+
+import java.io.Serializable;
+
+/**
+ * Holds a rendered article display together with the dependencies it was
+ * rendered from. Each dependency key is paired with the token the dependency
+ * had when the display was cached, so the display is stale as soon as any of
+ * those tokens is invalidated.
+ *
+ * @author Shuyang Zhou
+ */
+public class JournalContentCacheEntry implements Serializable {
+
+	public JournalContentCacheEntry(
+		JournalArticleDisplay articleDisplay, String[] dependencyKeys,
+		String[] dependencyTokens, int size) {
+
+		_articleDisplay = articleDisplay;
+		_dependencyKeys = dependencyKeys;
+		_dependencyTokens = dependencyTokens;
+		_size = size;
+	}
+
+	public JournalArticleDisplay getArticleDisplay() {
+		return _articleDisplay;
+	}
+
+	public String[] getDependencyKeys() {
+		return _dependencyKeys;
+	}
+
+	public String[] getDependencyTokens() {
+		return _dependencyTokens;
+	}
+
+	public int getSize() {
+		return _size;
+	}
+
+	private final JournalArticleDisplay _articleDisplay;
+	private final String[] _dependencyKeys;
+	private final String[] _dependencyTokens;
+	private final int _size;
+
+}
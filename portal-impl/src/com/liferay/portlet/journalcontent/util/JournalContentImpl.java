@@ -14,25 +14,41 @@
 
 package com.liferay.portlet.journalcontent.util;
 
+import com.liferay.portal.kernel.cache.CacheListener;
 import com.liferay.portal.kernel.cache.MultiVMPoolUtil;
 import com.liferay.portal.kernel.cache.PortalCache;
+import com.liferay.portal.kernel.exception.PortalException;
+import com.liferay.portal.kernel.exception.SystemException;
 import com.liferay.portal.kernel.lar.ExportImportThreadLocal;
 import com.liferay.portal.kernel.log.Log;
 import com.liferay.portal.kernel.log.LogFactoryUtil;
 import com.liferay.portal.kernel.security.pacl.DoPrivileged;
+import com.liferay.portal.kernel.util.AutoResetThreadLocal;
 import com.liferay.portal.kernel.util.GetterUtil;
 import com.liferay.portal.kernel.util.StringBundler;
 import com.liferay.portal.kernel.util.StringUtil;
 import com.liferay.portal.kernel.util.Validator;
+import com.liferay.portal.kernel.uuid.PortalUUIDUtil;
 import com.liferay.portal.model.Layout;
 import com.liferay.portal.model.LayoutSet;
 import com.liferay.portal.security.permission.ActionKeys;
 import com.liferay.portal.theme.ThemeDisplay;
+import com.liferay.portal.util.PortalUtil;
 import com.liferay.portal.util.PropsValues;
+import com.liferay.portlet.dynamicdatamapping.model.DDMStructure;
+import com.liferay.portlet.dynamicdatamapping.model.DDMTemplate;
+import com.liferay.portlet.dynamicdatamapping.service.DDMStructureLocalServiceUtil;
+import com.liferay.portlet.dynamicdatamapping.service.DDMTemplateLocalServiceUtil;
+import com.liferay.portlet.journal.model.JournalArticle;
 import com.liferay.portlet.journal.model.JournalArticleDisplay;
 import com.liferay.portlet.journal.service.JournalArticleLocalServiceUtil;
 import com.liferay.portlet.journal.service.permission.JournalArticlePermission;
 
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -46,6 +62,10 @@ import org.apache.commons.lang.time.StopWatch;
 @DoPrivileged
 public class JournalContentImpl implements JournalContent {
 
+	public JournalContentImpl() {
+		portalCache.registerCacheListener(new EntrySizeCacheListener());
+	}
+
 	@Override
 	public void clearCache() {
 		if (ExportImportThreadLocal.isImportInProcess()) {
@@ -59,7 +79,22 @@ public class JournalContentImpl implements JournalContent {
 	public void clearCache(
 		long groupId, String articleId, String ddmTemplateKey) {
 
-		clearCache();
+		clearDependency(getArticleDependencyKey(groupId, articleId));
+	}
+
+	@Override
+	public void clearDDMStructureCache(String ddmStructureKey) {
+		clearDependency(getDDMStructureDependencyKey(ddmStructureKey));
+	}
+
+	@Override
+	public void clearDDMTemplateCache(String ddmTemplateKey) {
+		clearDependency(getDDMTemplateDependencyKey(ddmTemplateKey));
+	}
+
+	@Override
+	public void clearLayoutCache(String layoutUuid) {
+		clearDependency(getLayoutDependencyKey(layoutUuid));
 	}
 
 	@Override
@@ -156,19 +191,94 @@ public class JournalContentImpl implements JournalContent {
 			groupId, articleId, version, ddmTemplateKey, layoutSetId, viewMode,
 			languageId, page, secure);
 
-		JournalArticleDisplay articleDisplay = portalCache.get(key);
+		JournalArticleDisplay articleDisplay = null;
+
+		JournalContentCacheEntry journalContentCacheEntry = portalCache.get(
+			key);
 
 		boolean lifecycleRender = isLifecycleRender(themeDisplay, xmlRequest);
 
+		// A display that embeds this article depends on everything this
+		// article depends on
+
+		Map<String, String> parentDependencyTokens =
+			_dependencyTokensThreadLocal.get();
+
+		if ((journalContentCacheEntry != null) &&
+			isValid(journalContentCacheEntry)) {
+
+			articleDisplay = journalContentCacheEntry.getArticleDisplay();
+
+			if (lifecycleRender && (parentDependencyTokens != null)) {
+				addDependencyTokens(
+					parentDependencyTokens,
+					journalContentCacheEntry.getDependencyKeys(),
+					journalContentCacheEntry.getDependencyTokens());
+			}
+		}
+
 		if ((articleDisplay == null) || !lifecycleRender) {
-			articleDisplay = getArticleDisplay(
-				groupId, articleId, ddmTemplateKey, viewMode, languageId, page,
-				xmlRequest, themeDisplay);
+			Map<String, String> dependencyTokens = null;
+
+			if (lifecycleRender || (parentDependencyTokens != null)) {
+
+				// Take the tokens of the known dependencies before rendering
+				// so that an update made while rendering invalidates the
+				// result. Articles embedded while rendering add their own
+				// dependencies.
 
-			if ((articleDisplay != null) && articleDisplay.isCacheable() &&
-				lifecycleRender) {
+				dependencyTokens = new LinkedHashMap<String, String>();
 
-				portalCache.put(key, articleDisplay);
+				String articleDependencyKey = getArticleDependencyKey(
+					groupId, articleId);
+
+				dependencyTokens.put(
+					articleDependencyKey,
+					getDependencyToken(articleDependencyKey));
+
+				if (Validator.isNotNull(ddmTemplateKey)) {
+					String ddmTemplateDependencyKey =
+						getDDMTemplateDependencyKey(ddmTemplateKey);
+
+					dependencyTokens.put(
+						ddmTemplateDependencyKey,
+						getDependencyToken(ddmTemplateDependencyKey));
+				}
+			}
+
+			_dependencyTokensThreadLocal.set(dependencyTokens);
+
+			try {
+				articleDisplay = getArticleDisplay(
+					groupId, articleId, ddmTemplateKey, viewMode, languageId,
+					page, xmlRequest, themeDisplay);
+			}
+			finally {
+				_dependencyTokensThreadLocal.set(parentDependencyTokens);
+			}
+
+			if ((articleDisplay != null) && (dependencyTokens != null)) {
+				for (String dependencyKey :
+						getDependencyKeys(groupId, articleId, articleDisplay)) {
+
+					if (!dependencyTokens.containsKey(dependencyKey)) {
+						dependencyTokens.put(
+							dependencyKey, getDependencyToken(dependencyKey));
+					}
+				}
+
+				if (parentDependencyTokens != null) {
+					addDependencyTokens(
+						parentDependencyTokens,
+						dependencyTokens.keySet().toArray(
+							new String[dependencyTokens.size()]),
+						dependencyTokens.values().toArray(
+							new String[dependencyTokens.size()]));
+				}
+
+				if (articleDisplay.isCacheable() && lifecycleRender) {
+					putArticleDisplay(key, articleDisplay, dependencyTokens);
+				}
 			}
 		}
 
@@ -255,6 +365,29 @@ public class JournalContentImpl implements JournalContent {
 			null);
 	}
 
+	protected void addDependencyTokens(
+		Map<String, String> dependencyTokens, String[] dependencyKeys,
+		String[] dependencyTokenValues) {
+
+		// Keep the token taken first so that an update made in between still
+		// invalidates the embedding display
+
+		for (int i = 0; i < dependencyKeys.length; i++) {
+			if (!dependencyTokens.containsKey(dependencyKeys[i])) {
+				dependencyTokens.put(
+					dependencyKeys[i], dependencyTokenValues[i]);
+			}
+		}
+	}
+
+	protected void clearDependency(String dependencyKey) {
+		if (ExportImportThreadLocal.isImportInProcess()) {
+			return;
+		}
+
+		dependencyPortalCache.remove(dependencyKey);
+	}
+
 	protected String encodeKey(
 		long groupId, String articleId, double version, String ddmTemplateKey,
 		long layoutSetId, String viewMode, String languageId, int page,
@@ -296,6 +429,19 @@ public class JournalContentImpl implements JournalContent {
 		return sb.toString();
 	}
 
+	protected String getArticleDependencyKey(long groupId, String articleId) {
+		articleId = StringUtil.toUpperCase(GetterUtil.getString(articleId));
+
+		StringBundler sb = new StringBundler(4);
+
+		sb.append(_ARTICLE_DEPENDENCY_PREFIX);
+		sb.append(StringUtil.toHexString(groupId));
+		sb.append(ARTICLE_SEPARATOR);
+		sb.append(articleId);
+
+		return sb.toString();
+	}
+
 	protected JournalArticleDisplay getArticleDisplay(
 		long groupId, String articleId, String ddmTemplateKey, String viewMode,
 		String languageId, int page, String xmlRequest,
@@ -323,6 +469,211 @@ public class JournalContentImpl implements JournalContent {
 		}
 	}
 
+	protected DDMTemplate fetchDDMTemplate(long groupId, String ddmTemplateKey)
+		throws PortalException, SystemException {
+
+		// Look up included templates the same way DDMTemplateResourceParser
+		// resolves them
+
+		long siteGroupId = PortalUtil.getSiteGroupId(groupId);
+
+		DDMTemplate ddmTemplate = DDMTemplateLocalServiceUtil.fetchTemplate(
+			siteGroupId, PortalUtil.getClassNameId(DDMStructure.class),
+			ddmTemplateKey, true);
+
+		if (ddmTemplate == null) {
+			ddmTemplate = DDMTemplateLocalServiceUtil.fetchTemplate(
+				siteGroupId, 0, ddmTemplateKey, true);
+		}
+
+		return ddmTemplate;
+	}
+
+	protected String getDDMStructureDependencyKey(String ddmStructureKey) {
+		ddmStructureKey = StringUtil.toUpperCase(
+			GetterUtil.getString(ddmStructureKey));
+
+		return _DDM_STRUCTURE_DEPENDENCY_PREFIX.concat(ddmStructureKey);
+	}
+
+	protected String getDDMTemplateDependencyKey(String ddmTemplateKey) {
+		ddmTemplateKey = StringUtil.toUpperCase(
+			GetterUtil.getString(ddmTemplateKey));
+
+		return _DDM_TEMPLATE_DEPENDENCY_PREFIX.concat(ddmTemplateKey);
+	}
+
+	protected List<String> getDDMStructureKeys(
+		JournalArticleDisplay articleDisplay) {
+
+		List<String> ddmStructureKeys = new ArrayList<String>();
+
+		String ddmStructureKey = articleDisplay.getDDMStructureKey();
+
+		if (Validator.isNull(ddmStructureKey)) {
+			return ddmStructureKeys;
+		}
+
+		ddmStructureKeys.add(ddmStructureKey);
+
+		try {
+			DDMStructure ddmStructure =
+				DDMStructureLocalServiceUtil.fetchStructure(
+					articleDisplay.getGroupId(),
+					PortalUtil.getClassNameId(JournalArticle.class),
+					ddmStructureKey, true);
+
+			while ((ddmStructure != null) &&
+				   (ddmStructure.getParentStructureId() > 0)) {
+
+				ddmStructure = DDMStructureLocalServiceUtil.fetchStructure(
+					ddmStructure.getParentStructureId());
+
+				if ((ddmStructure == null) ||
+					ddmStructureKeys.contains(
+						ddmStructure.getStructureKey())) {
+
+					break;
+				}
+
+				ddmStructureKeys.add(ddmStructure.getStructureKey());
+			}
+		}
+		catch (Exception e) {
+			if (_log.isWarnEnabled()) {
+				_log.warn(
+					"Unable to get the parent structures of structure " +
+						ddmStructureKey,
+					e);
+			}
+		}
+
+		return ddmStructureKeys;
+	}
+
+	protected List<String> getDDMTemplateKeys(
+		JournalArticleDisplay articleDisplay) {
+
+		List<String> ddmTemplateKeys = new ArrayList<String>();
+
+		String ddmTemplateKey = articleDisplay.getDDMTemplateKey();
+
+		if (Validator.isNull(ddmTemplateKey)) {
+			return ddmTemplateKeys;
+		}
+
+		ddmTemplateKeys.add(StringUtil.toUpperCase(ddmTemplateKey));
+
+		for (int i = 0; i < ddmTemplateKeys.size(); i++) {
+			DDMTemplate ddmTemplate = null;
+
+			try {
+				ddmTemplate = fetchDDMTemplate(
+					articleDisplay.getGroupId(), ddmTemplateKeys.get(i));
+			}
+			catch (Exception e) {
+				if (_log.isWarnEnabled()) {
+					_log.warn(
+						"Unable to get the templates included by template " +
+							ddmTemplateKeys.get(i),
+						e);
+				}
+			}
+
+			if (ddmTemplate == null) {
+				continue;
+			}
+
+			Matcher matcher = _ddmTemplateIncludePattern.matcher(
+				ddmTemplate.getScript());
+
+			while (matcher.find()) {
+				String includedDDMTemplateKey = StringUtil.toUpperCase(
+					matcher.group(1));
+
+				if (!ddmTemplateKeys.contains(includedDDMTemplateKey)) {
+					ddmTemplateKeys.add(includedDDMTemplateKey);
+				}
+			}
+		}
+
+		return ddmTemplateKeys;
+	}
+
+	protected String[] getDependencyKeys(
+		long groupId, String articleId, JournalArticleDisplay articleDisplay) {
+
+		List<String> dependencyKeys = new ArrayList<String>();
+
+		dependencyKeys.add(getArticleDependencyKey(groupId, articleId));
+
+		for (String ddmStructureKey : getDDMStructureKeys(articleDisplay)) {
+			dependencyKeys.add(getDDMStructureDependencyKey(ddmStructureKey));
+		}
+
+		for (String ddmTemplateKey : getDDMTemplateKeys(articleDisplay)) {
+			dependencyKeys.add(getDDMTemplateDependencyKey(ddmTemplateKey));
+		}
+
+		String layoutUuid = getLayoutUuid(articleDisplay);
+
+		if (Validator.isNotNull(layoutUuid)) {
+			dependencyKeys.add(getLayoutDependencyKey(layoutUuid));
+		}
+
+		return dependencyKeys.toArray(new String[dependencyKeys.size()]);
+	}
+
+	protected String getDependencyToken(String dependencyKey) {
+		String dependencyToken = dependencyPortalCache.get(dependencyKey);
+
+		if (dependencyToken == null) {
+			dependencyToken = PortalUUIDUtil.generate();
+
+			dependencyPortalCache.put(dependencyKey, dependencyToken);
+		}
+
+		return dependencyToken;
+	}
+
+	protected String getLayoutDependencyKey(String layoutUuid) {
+		return _LAYOUT_DEPENDENCY_PREFIX.concat(
+			GetterUtil.getString(layoutUuid));
+	}
+
+	protected String getLayoutUuid(JournalArticleDisplay articleDisplay) {
+		try {
+			JournalArticle article =
+				JournalArticleLocalServiceUtil.fetchJournalArticle(
+					articleDisplay.getId());
+
+			if (article != null) {
+				return article.getLayoutUuid();
+			}
+		}
+		catch (SystemException se) {
+			if (_log.isWarnEnabled()) {
+				_log.warn(
+					"Unable to get the linked layout of article " +
+						articleDisplay.getId(),
+					se);
+			}
+		}
+
+		return null;
+	}
+
+	protected int getSize(JournalArticleDisplay articleDisplay) {
+		int length = _getLength(articleDisplay.getContent());
+
+		length += _getLength(articleDisplay.getDescription());
+		length += _getLength(articleDisplay.getSmallImageURL());
+		length += _getLength(articleDisplay.getTitle());
+		length += _getLength(articleDisplay.getUrlTitle());
+
+		return _ENTRY_OVERHEAD_SIZE + (length * 2);
+	}
+
 	protected boolean isLifecycleRender(
 		ThemeDisplay themeDisplay, String xmlRequest) {
 
@@ -339,13 +690,219 @@ public class JournalContentImpl implements JournalContent {
 		}
 	}
 
+	protected boolean isValid(
+		JournalContentCacheEntry journalContentCacheEntry) {
+
+		String[] dependencyKeys = journalContentCacheEntry.getDependencyKeys();
+		String[] dependencyTokens =
+			journalContentCacheEntry.getDependencyTokens();
+
+		for (int i = 0; i < dependencyKeys.length; i++) {
+			String dependencyToken = dependencyPortalCache.get(
+				dependencyKeys[i]);
+
+			if (!dependencyTokens[i].equals(dependencyToken)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	protected void putArticleDisplay(
+		String key, JournalArticleDisplay articleDisplay,
+		Map<String, String> dependencyTokens) {
+
+		int size = getSize(articleDisplay);
+
+		if ((PropsValues.JOURNAL_CONTENT_CACHE_MAX_ENTRY_SIZE > 0) &&
+			(size > PropsValues.JOURNAL_CONTENT_CACHE_MAX_ENTRY_SIZE)) {
+
+			if (_log.isDebugEnabled()) {
+				_log.debug(
+					"Skip caching " + key + " because its estimated size " +
+						size + " exceeds the maximum entry size");
+			}
+
+			return;
+		}
+
+		String[] dependencyKeys = dependencyTokens.keySet().toArray(
+			new String[dependencyTokens.size()]);
+		String[] dependencyTokenValues = dependencyTokens.values().toArray(
+			new String[dependencyTokens.size()]);
+
+		portalCache.put(
+			key,
+			new JournalContentCacheEntry(
+				articleDisplay, dependencyKeys, dependencyTokenValues, size));
+
+		trimCache();
+	}
+
+	protected void trimCache() {
+		if (PropsValues.JOURNAL_CONTENT_CACHE_MAX_SIZE <= 0) {
+			return;
+		}
+
+		List<String> keys = null;
+
+		synchronized (_entrySizes) {
+			Iterator<Map.Entry<String, Integer>> iterator =
+				_entrySizes.entrySet().iterator();
+
+			while ((_totalSize > PropsValues.JOURNAL_CONTENT_CACHE_MAX_SIZE) &&
+				   iterator.hasNext()) {
+				Map.Entry<String, Integer> entry = iterator.next();
+
+				iterator.remove();
+
+				_totalSize -= entry.getValue();
+
+				if (keys == null) {
+					keys = new ArrayList<String>();
+				}
+
+				keys.add(entry.getKey());
+			}
+		}
+
+		if (keys == null) {
+			return;
+		}
+
+		for (String key : keys) {
+			portalCache.remove(key);
+		}
+	}
+
 	protected static final String CACHE_NAME = JournalContent.class.getName();
 
+	protected static final String DEPENDENCY_CACHE_NAME = CACHE_NAME.concat(
+		"_DEPENDENCY");
+
+	protected static PortalCache<String, String> dependencyPortalCache =
+		MultiVMPoolUtil.getCache(DEPENDENCY_CACHE_NAME);
 	protected static Pattern lifecycleRenderPhasePattern = Pattern.compile(
 		"<lifecycle>\\s*RENDER_PHASE\\s*</lifecycle>");
-	protected static PortalCache<String, JournalArticleDisplay> portalCache =
-		MultiVMPoolUtil.getCache(CACHE_NAME);
+	protected static PortalCache<String, JournalContentCacheEntry>
+		portalCache = MultiVMPoolUtil.getCache(CACHE_NAME);
+
+	private int _getLength(String s) {
+		if (s == null) {
+			return 0;
+		}
+
+		return s.length();
+	}
+
+	private void _putEntrySize(String key, int size) {
+		synchronized (_entrySizes) {
+			Integer oldSize = _entrySizes.remove(key);
+
+			if (oldSize != null) {
+				_totalSize -= oldSize;
+			}
+
+			_entrySizes.put(key, size);
+
+			_totalSize += size;
+		}
+	}
+
+	private void _removeEntrySize(String key) {
+		synchronized (_entrySizes) {
+			Integer oldSize = _entrySizes.remove(key);
+
+			if (oldSize != null) {
+				_totalSize -= oldSize;
+			}
+		}
+	}
+
+	private static final String _ARTICLE_DEPENDENCY_PREFIX = "ARTICLE_";
+
+	private static final String _DDM_STRUCTURE_DEPENDENCY_PREFIX =
+		"DDM_STRUCTURE_";
+
+	private static final String _DDM_TEMPLATE_DEPENDENCY_PREFIX =
+		"DDM_TEMPLATE_";
+
+	private static final int _ENTRY_OVERHEAD_SIZE = 256;
+
+	private static final String _LAYOUT_DEPENDENCY_PREFIX = "LAYOUT_";
 
 	private static Log _log = LogFactoryUtil.getLog(JournalContentImpl.class);
 
+	private static Pattern _ddmTemplateIncludePattern = Pattern.compile(
+		"\\$\\{?(?:journalTemplatesPath|templatesPath)\\}?/([\\w-]+)");
+	private static ThreadLocal<Map<String, String>>
+		_dependencyTokensThreadLocal =
+			new AutoResetThreadLocal<Map<String, String>>(
+				JournalContentImpl.class + "._dependencyTokensThreadLocal");
+
+	private final Map<String, Integer> _entrySizes =
+		new LinkedHashMap<String, Integer>();
+	private long _totalSize;
+
+	private class EntrySizeCacheListener
+		implements CacheListener<String, JournalContentCacheEntry> {
+
+		@Override
+		public void notifyEntryEvicted(
+			PortalCache<String, JournalContentCacheEntry> portalCache,
+			String key, JournalContentCacheEntry journalContentCacheEntry) {
+
+			_removeEntrySize(key);
+		}
+
+		@Override
+		public void notifyEntryExpired(
+			PortalCache<String, JournalContentCacheEntry> portalCache,
+			String key, JournalContentCacheEntry journalContentCacheEntry) {
+
+			_removeEntrySize(key);
+		}
+
+		@Override
+		public void notifyEntryPut(
+			PortalCache<String, JournalContentCacheEntry> portalCache,
+			String key, JournalContentCacheEntry journalContentCacheEntry) {
+
+			if (journalContentCacheEntry != null) {
+				_putEntrySize(key, journalContentCacheEntry.getSize());
+			}
+		}
+
+		@Override
+		public void notifyEntryRemoved(
+			PortalCache<String, JournalContentCacheEntry> portalCache,
+			String key, JournalContentCacheEntry journalContentCacheEntry) {
+
+			_removeEntrySize(key);
+		}
+
+		@Override
+		public void notifyEntryUpdated(
+			PortalCache<String, JournalContentCacheEntry> portalCache,
+			String key, JournalContentCacheEntry journalContentCacheEntry) {
+
+			if (journalContentCacheEntry != null) {
+				_putEntrySize(key, journalContentCacheEntry.getSize());
+			}
+		}
+
+		@Override
+		public void notifyRemoveAll(
+			PortalCache<String, JournalContentCacheEntry> portalCache) {
+
+			synchronized (_entrySizes) {
+				_entrySizes.clear();
+
+				_totalSize = 0;
+			}
+		}
+
+	}
+
 }
\ No newline at end of file
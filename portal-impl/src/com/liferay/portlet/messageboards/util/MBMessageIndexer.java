@@ -39,6 +39,7 @@ import com.liferay.portal.kernel.search.SearchEngineUtil;
 import com.liferay.portal.kernel.search.Summary;
 import com.liferay.portal.kernel.util.GetterUtil;
 import com.liferay.portal.kernel.util.HtmlUtil;
+import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.kernel.workflow.WorkflowConstants;
 import com.liferay.portal.model.Group;
 import com.liferay.portal.security.permission.ActionKeys;
@@ -436,6 +437,14 @@ public class MBMessageIndexer extends BaseIndexer {
 				dynamicQuery.add(statusProperty.in(statuses));
 			}
 
+			@Override
+			protected String getCheckpointName() {
+				String checkpointName = super.getCheckpointName();
+
+				return checkpointName.concat(StringPool.UNDERLINE).concat(
+					String.valueOf(categoryId));
+			}
+
 			@Override
 			protected void performAction(Object object) throws PortalException {
 				MBMessage message = (MBMessage)object;
@@ -449,6 +458,7 @@ public class MBMessageIndexer extends BaseIndexer {
 
 		actionableDynamicQuery.setCompanyId(companyId);
 		actionableDynamicQuery.setGroupId(groupId);
+		actionableDynamicQuery.setParallel(true);
 		actionableDynamicQuery.setSearchEngineId(getSearchEngineId());
 
 		actionableDynamicQuery.performActions();
@@ -14,6 +14,7 @@
 
 package com.liferay.portlet.mobiledevicerules.model.impl;
 
+import com.liferay.portal.kernel.util.ParsedLocalization;
 import com.liferay.portal.kernel.util.StringBundler;
 import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.model.CacheModel;
@@ -146,6 +147,10 @@ public class MDRActionCacheModel implements CacheModel<MDRAction>,
 
 		mdrActionImpl.resetOriginalValues();
 
+		mdrActionImpl.setNameParsedLocalization(nameParsedLocalization);
+		mdrActionImpl.setDescriptionParsedLocalization(
+			descriptionParsedLocalization);
+
 		return mdrActionImpl;
 	}
 
@@ -240,4 +245,7 @@ public class MDRActionCacheModel implements CacheModel<MDRAction>,
 	public String description;
 	public String type;
 	public String typeSettings;
+
+	public transient ParsedLocalization nameParsedLocalization;
+	public transient ParsedLocalization descriptionParsedLocalization;
 }
\ No newline at end of file
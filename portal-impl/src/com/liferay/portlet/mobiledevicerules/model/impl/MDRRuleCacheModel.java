@@ -14,6 +14,7 @@
 
 package com.liferay.portlet.mobiledevicerules.model.impl;
 
+import com.liferay.portal.kernel.util.ParsedLocalization;
 import com.liferay.portal.kernel.util.StringBundler;
 import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.model.CacheModel;
@@ -139,6 +140,10 @@ public class MDRRuleCacheModel implements CacheModel<MDRRule>, Externalizable {
 
 		mdrRuleImpl.resetOriginalValues();
 
+		mdrRuleImpl.setNameParsedLocalization(nameParsedLocalization);
+		mdrRuleImpl.setDescriptionParsedLocalization(
+			descriptionParsedLocalization);
+
 		return mdrRuleImpl;
 	}
 
@@ -227,4 +232,7 @@ public class MDRRuleCacheModel implements CacheModel<MDRRule>, Externalizable {
 	public String description;
 	public String type;
 	public String typeSettings;
+
+	public transient ParsedLocalization nameParsedLocalization;
+	public transient ParsedLocalization descriptionParsedLocalization;
 }
\ No newline at end of file
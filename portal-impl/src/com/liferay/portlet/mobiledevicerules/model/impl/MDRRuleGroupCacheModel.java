@@ -14,6 +14,7 @@
 
 package com.liferay.portlet.mobiledevicerules.model.impl;
 
+import com.liferay.portal.kernel.util.ParsedLocalization;
 import com.liferay.portal.kernel.util.StringBundler;
 import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.model.CacheModel;
@@ -118,6 +119,10 @@ public class MDRRuleGroupCacheModel implements CacheModel<MDRRuleGroup>,
 
 		mdrRuleGroupImpl.resetOriginalValues();
 
+		mdrRuleGroupImpl.setNameParsedLocalization(nameParsedLocalization);
+		mdrRuleGroupImpl.setDescriptionParsedLocalization(
+			descriptionParsedLocalization);
+
 		return mdrRuleGroupImpl;
 	}
 
@@ -185,4 +190,7 @@ public class MDRRuleGroupCacheModel implements CacheModel<MDRRuleGroup>,
 	public long modifiedDate;
 	public String name;
 	public String description;
+
+	public transient ParsedLocalization nameParsedLocalization;
+	public transient ParsedLocalization descriptionParsedLocalization;
 }
\ No newline at end of file
@@ -14,6 +14,7 @@
 
 package com.liferay.portlet.polls.model.impl;
 
+import com.liferay.portal.kernel.util.ParsedLocalization;
 import com.liferay.portal.kernel.util.StringBundler;
 import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.model.CacheModel;
@@ -122,6 +123,9 @@ public class PollsChoiceCacheModel implements CacheModel<PollsChoice>,
 
 		pollsChoiceImpl.resetOriginalValues();
 
+		pollsChoiceImpl.setDescriptionParsedLocalization(
+			descriptionParsedLocalization);
+
 		return pollsChoiceImpl;
 	}
 
@@ -192,4 +196,6 @@ public class PollsChoiceCacheModel implements CacheModel<PollsChoice>,
 	public long questionId;
 	public String name;
 	public String description;
+
+	public transient ParsedLocalization descriptionParsedLocalization;
 }
\ No newline at end of file
@@ -14,6 +14,7 @@
 
 package com.liferay.portlet.polls.model.impl;
 
+import com.liferay.portal.kernel.util.ParsedLocalization;
 import com.liferay.portal.kernel.util.StringBundler;
 import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.model.CacheModel;
@@ -136,6 +137,10 @@ public class PollsQuestionCacheModel implements CacheModel<PollsQuestion>,
 
 		pollsQuestionImpl.resetOriginalValues();
 
+		pollsQuestionImpl.setTitleParsedLocalization(titleParsedLocalization);
+		pollsQuestionImpl.setDescriptionParsedLocalization(
+			descriptionParsedLocalization);
+
 		return pollsQuestionImpl;
 	}
 
@@ -210,4 +215,7 @@ public class PollsQuestionCacheModel implements CacheModel<PollsQuestion>,
 	public String description;
 	public long expirationDate;
 	public long lastVoteDate;
+
+	public transient ParsedLocalization titleParsedLocalization;
+	public transient ParsedLocalization descriptionParsedLocalization;
 }
\ No newline at end of file
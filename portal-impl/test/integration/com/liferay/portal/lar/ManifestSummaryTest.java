@@ -17,6 +17,7 @@ package com.liferay.portal.lar;
 import com.liferay.portal.kernel.lar.ExportImportHelperUtil;
 import com.liferay.portal.kernel.lar.ManifestSummary;
 import com.liferay.portal.kernel.lar.PortletDataContext;
+import com.liferay.portal.kernel.lar.StagedModelType;
 import com.liferay.portal.kernel.util.LongWrapper;
 import com.liferay.portal.kernel.util.Time;
 import com.liferay.portal.kernel.xml.Document;
@@ -69,6 +70,9 @@ public class ManifestSummaryTest
 			1, manifestSummary.getModelAdditionCount(JournalArticle.class));
 		Assert.assertEquals(
 			1, manifestSummary.getModelAdditionCount(JournalFolder.class));
+		Assert.assertTrue(
+			manifestSummary.getModelDuration(
+				new StagedModelType(JournalArticle.class)) > 0);
 
 		Document document = SAXReaderUtil.createDocument();
 
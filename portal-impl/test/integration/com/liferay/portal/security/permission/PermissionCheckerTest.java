@@ -19,9 +19,11 @@ import com.liferay.portal.kernel.transaction.Transactional;
 import com.liferay.portal.kernel.util.LocaleUtil;
 import com.liferay.portal.model.Group;
 import com.liferay.portal.model.Organization;
+import com.liferay.portal.model.ResourceConstants;
 import com.liferay.portal.model.Role;
 import com.liferay.portal.model.RoleConstants;
 import com.liferay.portal.model.User;
+import com.liferay.portal.service.ServiceTestUtil;
 import com.liferay.portal.service.UserLocalServiceUtil;
 import com.liferay.portal.test.EnvironmentExecutionTestListener;
 import com.liferay.portal.test.LiferayIntegrationJUnitTestRunner;
@@ -31,6 +33,7 @@ import com.liferay.portal.util.OrganizationTestUtil;
 import com.liferay.portal.util.RoleTestUtil;
 import com.liferay.portal.util.TestPropsValues;
 import com.liferay.portal.util.UserTestUtil;
+import com.liferay.portlet.blogs.model.BlogsEntry;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -54,6 +57,67 @@ public class PermissionCheckerTest {
 		_group = GroupTestUtil.addGroup();
 	}
 
+	@Test
+	public void testHasPermissionsWithCompanyAdmin() throws Exception {
+		PermissionChecker permissionChecker = _getPermissionChecker(
+			TestPropsValues.getUser());
+
+		long[] primKeys = {
+			ServiceTestUtil.randomLong(), ServiceTestUtil.randomLong()
+		};
+
+		BulkPermissionChecker bulkPermissionChecker =
+			(BulkPermissionChecker)permissionChecker;
+
+		boolean[] values = bulkPermissionChecker.hasPermissions(
+			_group.getGroupId(), BlogsEntry.class.getName(), primKeys,
+			ActionKeys.UPDATE);
+
+		Assert.assertTrue(values[0]);
+		Assert.assertTrue(values[1]);
+	}
+
+	@Test
+	public void testHasPermissionsWithIndividualPermission() throws Exception {
+		long[] primKeys = {
+			ServiceTestUtil.randomLong(), ServiceTestUtil.randomLong(),
+			ServiceTestUtil.randomLong()
+		};
+
+		Role role = RoleTestUtil.addRole(
+			ServiceTestUtil.randomString(), RoleConstants.TYPE_REGULAR,
+			BlogsEntry.class.getName(), ResourceConstants.SCOPE_INDIVIDUAL,
+			String.valueOf(primKeys[1]), ActionKeys.UPDATE);
+
+		User user = UserTestUtil.addUser();
+
+		UserLocalServiceUtil.setRoleUsers(
+			role.getRoleId(), new long[] {user.getUserId()});
+
+		PermissionChecker permissionChecker = _getPermissionChecker(user);
+
+		BulkPermissionChecker bulkPermissionChecker =
+			(BulkPermissionChecker)permissionChecker;
+
+		boolean[] values = bulkPermissionChecker.hasPermissions(
+			_group.getGroupId(), BlogsEntry.class.getName(), primKeys,
+			ActionKeys.UPDATE);
+
+		Assert.assertFalse(values[0]);
+		Assert.assertTrue(values[1]);
+		Assert.assertFalse(values[2]);
+
+		PermissionCacheUtil.clearCache();
+
+		for (int i = 0; i < primKeys.length; i++) {
+			Assert.assertEquals(
+				values[i],
+				permissionChecker.hasPermission(
+					_group.getGroupId(), BlogsEntry.class.getName(),
+					primKeys[i], ActionKeys.UPDATE));
+		}
+	}
+
 	@Test
 	public void testIsCompanyAdminWithCompanyAdmin() throws Exception {
 		PermissionChecker permissionChecker = _getPermissionChecker(
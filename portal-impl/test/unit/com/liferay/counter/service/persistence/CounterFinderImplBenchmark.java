@@ -0,0 +1,203 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+
+package com.liferay.counter.service.persistence;
+
+import com.liferay.counter.model.CounterHolder;
+import com.liferay.counter.model.CounterRegister;
+import com.liferay.portal.kernel.exception.SystemException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Measures how many ids per second {@link CounterFinderImpl} allocates
+ * against a Counter table with 1 ms of simulated latency. The name does not
+ * end with Test so that the unit test run skips it. Run it with <code>ant
+ * test-class -Dtest.class=CounterFinderImplBenchmark</code>.
+ *
+ * @author Shuyang Zhou
+ */
+public class CounterFinderImplBenchmark {
+
+	@Before
+	public void setUp() {
+		_executorService = Executors.newFixedThreadPool(_THREAD_COUNT);
+		_prefetchExecutorService = Executors.newSingleThreadExecutor();
+	}
+
+	@After
+	public void tearDown() throws InterruptedException {
+		_executorService.shutdownNow();
+
+		Assert.assertTrue(
+			_executorService.awaitTermination(10, TimeUnit.SECONDS));
+
+		_prefetchExecutorService.shutdownNow();
+
+		Assert.assertTrue(
+			_prefetchExecutorService.awaitTermination(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testIncrementThroughput() throws Exception {
+		_testIncrementThroughput("synchronous ranges", false, 0);
+		_testIncrementThroughput("prefetched ranges", true, 0);
+		_testIncrementThroughput("prefetched adaptive ranges", true, 1000);
+	}
+
+	private void _assertUnique(long[] ids) {
+		Arrays.sort(ids);
+
+		for (int i = 1; i < ids.length; i++) {
+			Assert.assertTrue(ids[i - 1] < ids[i]);
+		}
+	}
+
+	private long[] _increment(
+			final CounterFinderImpl counterFinderImpl, final int count)
+		throws Exception {
+
+		List<Future<long[]>> futures = new ArrayList<Future<long[]>>();
+
+		for (int i = 0; i < _THREAD_COUNT; i++) {
+			futures.add(
+				_executorService.submit(
+					new Callable<long[]>() {
+
+						@Override
+						public long[] call() throws SystemException {
+							long[] ids = new long[count];
+
+							for (int i = 0; i < count; i++) {
+								ids[i] = counterFinderImpl.increment(
+									_COUNTER_NAME);
+							}
+
+							return ids;
+						}
+
+					}));
+		}
+
+		long[] ids = new long[_THREAD_COUNT * count];
+
+		for (int i = 0; i < _THREAD_COUNT; i++) {
+			Future<long[]> future = futures.get(i);
+
+			System.arraycopy(future.get(), 0, ids, i * count, count);
+		}
+
+		return ids;
+	}
+
+	private void _testIncrementThroughput(
+			String description, boolean prefetchEnabled,
+			long adaptiveRangeInterval)
+		throws Exception {
+
+		MockCounterFinderImpl mockCounterFinderImpl =
+			new MockCounterFinderImpl();
+
+		mockCounterFinderImpl.setAdaptiveRangeInterval(adaptiveRangeInterval);
+		mockCounterFinderImpl.setAdaptiveRangeMax(10000);
+		mockCounterFinderImpl.setPrefetchEnabled(prefetchEnabled);
+
+		long startTime = System.nanoTime();
+
+		long[] ids = _increment(mockCounterFinderImpl, 20000);
+
+		long elapsedTime = System.nanoTime() - startTime;
+
+		_assertUnique(ids);
+
+		System.out.println(
+			"Allocated " + ids.length + " ids from " + description + " with " +
+				_THREAD_COUNT + " threads at " +
+					(ids.length * TimeUnit.SECONDS.toNanos(1) / elapsedTime) +
+						" ids/sec");
+	}
+
+	private static final String _COUNTER_NAME = "counter";
+
+	private static final long _LATENCY = 1;
+
+	private static final int _RANGE_SIZE = 100;
+
+	private static final int _THREAD_COUNT = 8;
+
+	private ExecutorService _executorService;
+	private ExecutorService _prefetchExecutorService;
+
+	private class MockCounterFinderImpl extends CounterFinderImpl {
+
+		@Override
+		protected CounterRegister createCounterRegister(String name, long size)
+			throws SystemException {
+
+			CounterHolder counterHolder = obtainIncrement(
+				name, _RANGE_SIZE, size);
+
+			return new CounterRegister(name, counterHolder, _RANGE_SIZE);
+		}
+
+		@Override
+		protected ExecutorService getPrefetchExecutor() {
+			return _prefetchExecutorService;
+		}
+
+		@Override
+		protected int getRangeSize(String name) {
+			return _RANGE_SIZE;
+		}
+
+		@Override
+		protected CounterHolder obtainIncrement(
+				String counterName, long range, long size)
+			throws SystemException {
+
+			try {
+				Thread.sleep(_LATENCY);
+			}
+			catch (InterruptedException ie) {
+				throw new SystemException(ie);
+			}
+
+			synchronized (this) {
+				long newValue = Math.max(_currentId, size);
+
+				_currentId = newValue + range;
+
+				return new CounterHolder(
+					newValue, _currentId, newValue + range / 2);
+			}
+		}
+
+		private long _currentId;
+
+	}
+
+}
\ No newline at end of file
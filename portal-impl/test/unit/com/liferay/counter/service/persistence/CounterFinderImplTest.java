@@ -0,0 +1,316 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.counter.service.persistence;
+
+import com.liferay.counter.model.CounterHolder;
+import com.liferay.counter.model.CounterRegister;
+import com.liferay.portal.kernel.exception.SystemException;
+import com.liferay.portal.kernel.test.JDKLoggerTestUtil;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class CounterFinderImplTest {
+
+	@Before
+	public void setUp() {
+		_executorService = Executors.newFixedThreadPool(_THREAD_COUNT);
+
+		_prefetchExecutorService = Executors.newSingleThreadExecutor(
+			new ThreadFactory() {
+
+				@Override
+				public Thread newThread(Runnable runnable) {
+					return new Thread(runnable, _PREFETCH_THREAD_NAME);
+				}
+
+			});
+	}
+
+	@After
+	public void tearDown() throws InterruptedException {
+		_executorService.shutdownNow();
+
+		Assert.assertTrue(
+			_executorService.awaitTermination(10, TimeUnit.SECONDS));
+
+		_prefetchExecutorService.shutdownNow();
+
+		Assert.assertTrue(
+			_prefetchExecutorService.awaitTermination(10, TimeUnit.SECONDS));
+	}
+
+	@Test
+	public void testAdaptiveRangeSize() throws Exception {
+		MockCounterFinderImpl mockCounterFinderImpl = new MockCounterFinderImpl(
+			10);
+
+		mockCounterFinderImpl.setAdaptiveRangeInterval(10000);
+		mockCounterFinderImpl.setAdaptiveRangeMax(80);
+
+		for (int i = 0; i < 1000; i++) {
+			mockCounterFinderImpl.increment(_COUNTER_NAME);
+		}
+
+		CounterRegister counterRegister =
+			mockCounterFinderImpl.getCounterRegister(_COUNTER_NAME);
+
+		Assert.assertEquals(10, counterRegister.getBaseRangeSize());
+		Assert.assertEquals(80, counterRegister.getRangeSize());
+
+		mockCounterFinderImpl.setAdaptiveRangeInterval(1);
+
+		Thread.sleep(10);
+
+		for (int i = 0; i < 1000; i++) {
+			mockCounterFinderImpl.increment(_COUNTER_NAME);
+
+			if (counterRegister.getRangeSize() == 10) {
+				break;
+			}
+
+			Thread.sleep(1);
+		}
+
+		Assert.assertEquals(10, counterRegister.getRangeSize());
+	}
+
+	@Test
+	public void testAdaptiveRangeSizeWithIncrementOfOne() throws Exception {
+		MockCounterFinderImpl mockCounterFinderImpl = new MockCounterFinderImpl(
+			1);
+
+		mockCounterFinderImpl.setAdaptiveRangeInterval(10000);
+		mockCounterFinderImpl.setAdaptiveRangeMax(80);
+
+		for (int i = 1; i <= 100; i++) {
+			Assert.assertEquals(
+				i, mockCounterFinderImpl.increment(_COUNTER_NAME));
+		}
+
+		CounterRegister counterRegister =
+			mockCounterFinderImpl.getCounterRegister(_COUNTER_NAME);
+
+		Assert.assertEquals(1, counterRegister.getRangeSize());
+	}
+
+	@Test
+	public void testConcurrentIncrement() throws Exception {
+		_testConcurrentIncrement(false);
+	}
+
+	@Test
+	public void testConcurrentIncrementWithPrefetch() throws Exception {
+		MockCounterFinderImpl mockCounterFinderImpl =
+			_testConcurrentIncrement(true);
+
+		Assert.assertTrue(mockCounterFinderImpl.getPrefetchCount() > 0);
+	}
+
+	@Test
+	public void testPrefetchFailure() throws Exception {
+		MockCounterFinderImpl mockCounterFinderImpl = new MockCounterFinderImpl(
+			10);
+
+		mockCounterFinderImpl.setPrefetchEnabled(true);
+
+		mockCounterFinderImpl.increment(_COUNTER_NAME);
+
+		mockCounterFinderImpl.setPrefetchFailure(true);
+
+		List<LogRecord> logRecords = JDKLoggerTestUtil.configureJDKLogger(
+			CounterFinderImpl.class.getName(), Level.WARNING);
+
+		for (int i = 2; i <= 100; i++) {
+			Assert.assertEquals(
+				i, mockCounterFinderImpl.increment(_COUNTER_NAME));
+		}
+
+		Assert.assertFalse(logRecords.isEmpty());
+
+		LogRecord logRecord = logRecords.get(0);
+
+		Assert.assertEquals(
+			"Unable to prefetch range for counter " + _COUNTER_NAME,
+			logRecord.getMessage());
+	}
+
+	private void _assertUnique(long[] ids) {
+		Arrays.sort(ids);
+
+		for (int i = 1; i < ids.length; i++) {
+			Assert.assertTrue(ids[i - 1] < ids[i]);
+		}
+	}
+
+	private long[] _increment(
+			final CounterFinderImpl counterFinderImpl, final int count)
+		throws Exception {
+
+		List<Future<long[]>> futures = new ArrayList<Future<long[]>>();
+
+		for (int i = 0; i < _THREAD_COUNT; i++) {
+			futures.add(
+				_executorService.submit(
+					new Callable<long[]>() {
+
+						@Override
+						public long[] call() throws SystemException {
+							long[] ids = new long[count];
+
+							for (int i = 0; i < count; i++) {
+								ids[i] = counterFinderImpl.increment(
+									_COUNTER_NAME);
+							}
+
+							return ids;
+						}
+
+					}));
+		}
+
+		long[] ids = new long[_THREAD_COUNT * count];
+
+		for (int i = 0; i < _THREAD_COUNT; i++) {
+			Future<long[]> future = futures.get(i);
+
+			System.arraycopy(future.get(), 0, ids, i * count, count);
+		}
+
+		return ids;
+	}
+
+	private MockCounterFinderImpl _testConcurrentIncrement(
+			boolean prefetchEnabled)
+		throws Exception {
+
+		MockCounterFinderImpl mockCounterFinderImpl = new MockCounterFinderImpl(
+			10);
+
+		mockCounterFinderImpl.setPrefetchEnabled(prefetchEnabled);
+
+		long[] ids = _increment(mockCounterFinderImpl, 10000);
+
+		_assertUnique(ids);
+
+		Assert.assertTrue(ids[0] > 0);
+		Assert.assertTrue(
+			ids[ids.length - 1] <= mockCounterFinderImpl.getCurrentId());
+
+		return mockCounterFinderImpl;
+	}
+
+	private static final String _COUNTER_NAME = "counter";
+
+	private static final String _PREFETCH_THREAD_NAME = "Counter Prefetch";
+
+	private static final int _THREAD_COUNT = 8;
+
+	private ExecutorService _executorService;
+	private ExecutorService _prefetchExecutorService;
+
+	private class MockCounterFinderImpl extends CounterFinderImpl {
+
+		public MockCounterFinderImpl(int rangeSize) {
+			_rangeSize = rangeSize;
+		}
+
+		public synchronized long getCurrentId() {
+			return _currentId;
+		}
+
+		public int getPrefetchCount() {
+			return _prefetchCount.get();
+		}
+
+		public void setPrefetchFailure(boolean prefetchFailure) {
+			_prefetchFailure = prefetchFailure;
+		}
+
+		@Override
+		protected CounterRegister createCounterRegister(String name, long size)
+			throws SystemException {
+
+			int rangeSize = getRangeSize(name);
+
+			CounterHolder counterHolder = obtainIncrement(
+				name, rangeSize, size);
+
+			return new CounterRegister(name, counterHolder, rangeSize);
+		}
+
+		@Override
+		protected ExecutorService getPrefetchExecutor() {
+			return _prefetchExecutorService;
+		}
+
+		@Override
+		protected int getRangeSize(String name) {
+			return _rangeSize;
+		}
+
+		@Override
+		protected CounterHolder obtainIncrement(
+				String counterName, long range, long size)
+			throws SystemException {
+
+			Thread currentThread = Thread.currentThread();
+
+			String threadName = currentThread.getName();
+
+			if (threadName.equals(_PREFETCH_THREAD_NAME)) {
+				if (_prefetchFailure) {
+					throw new SystemException();
+				}
+
+				_prefetchCount.incrementAndGet();
+			}
+
+			synchronized (this) {
+				long newValue = Math.max(_currentId, size);
+
+				_currentId = newValue + range;
+
+				return new CounterHolder(
+					newValue, _currentId, newValue + range / 2);
+			}
+		}
+
+		private long _currentId;
+		private final AtomicInteger _prefetchCount = new AtomicInteger();
+		private volatile boolean _prefetchFailure;
+		private final int _rangeSize;
+
+	}
+
+}
@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.cache;
+
+import com.liferay.portal.cache.memory.MemoryPortalCache;
+import com.liferay.portal.kernel.cache.MultiVMPool;
+import com.liferay.portal.kernel.cache.PortalCache;
+
+import java.io.Serializable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class MockMultiVMPool implements MultiVMPool {
+
+	@Override
+	public void clear() {
+		_portalCaches.clear();
+	}
+
+	@Override
+	public PortalCache<? extends Serializable, ? extends Serializable>
+		getCache(String name) {
+
+		PortalCache<?, ?> portalCache = _portalCaches.get(name);
+
+		if (portalCache == null) {
+			portalCache = new MemoryPortalCache<String, Serializable>(
+				name, 16);
+
+			_portalCaches.put(name, portalCache);
+		}
+
+		return (PortalCache<? extends Serializable, ? extends Serializable>)
+			portalCache;
+	}
+
+	@Override
+	public PortalCache<? extends Serializable, ? extends Serializable>
+		getCache(String name, boolean blocking) {
+
+		return getCache(name);
+	}
+
+	@Override
+	public void removeCache(String name) {
+		_portalCaches.remove(name);
+	}
+
+	private Map<String, PortalCache<?, ?>> _portalCaches =
+		new HashMap<String, PortalCache<?, ?>>();
+
+}
@@ -0,0 +1,207 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.dao.jdbc.aop;
+
+import com.liferay.portal.kernel.util.ProxyUtil;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+
+import java.sql.Connection;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class DynamicDataSourceTargetSourceTest {
+
+	@Before
+	public void setUp() {
+		_dynamicDataSourceTargetSource = new DynamicDataSourceTargetSource();
+
+		_dynamicDataSourceTargetSource.setInstrumented(true);
+
+		List<DataSource> readDataSources = new ArrayList<DataSource>();
+
+		for (int i = 0; i < 3; i++) {
+			readDataSources.add(_createDataSource());
+		}
+
+		_dynamicDataSourceTargetSource.setReadDataSources(readDataSources);
+		_dynamicDataSourceTargetSource.setWriteDataSource(_createDataSource());
+	}
+
+	@After
+	public void tearDown() {
+		_dynamicDataSourceTargetSource.setOperation(Operation.WRITE);
+	}
+
+	@Test
+	public void testFallbackWhenAllReplicasLag() throws Exception {
+		for (DynamicDataSourceTarget dynamicDataSourceTarget :
+				_dynamicDataSourceTargetSource.
+					getReadDynamicDataSourceTargets()) {
+
+			dynamicDataSourceTarget.setLag(100, true);
+		}
+
+		_dynamicDataSourceTargetSource.setOperation(Operation.READ);
+
+		Assert.assertSame(
+			_dynamicDataSourceTargetSource.getWriteDynamicDataSourceTarget(),
+			_dynamicDataSourceTargetSource.getTarget());
+		Assert.assertEquals(
+			1, _dynamicDataSourceTargetSource.getFallbackReadCount());
+	}
+
+	@Test
+	public void testLeastOutstandingReads() throws Exception {
+		_dynamicDataSourceTargetSource.setOperation(Operation.READ);
+
+		List<Connection> connections = new ArrayList<Connection>();
+
+		for (int i = 0; i < 6; i++) {
+			DataSource dataSource =
+				(DataSource)_dynamicDataSourceTargetSource.getTarget();
+
+			connections.add(dataSource.getConnection());
+		}
+
+		for (DynamicDataSourceTarget dynamicDataSourceTarget :
+				_dynamicDataSourceTargetSource.
+					getReadDynamicDataSourceTargets()) {
+
+			Assert.assertEquals(
+				2, dynamicDataSourceTarget.getOutstandingCount());
+		}
+
+		for (Connection connection : connections) {
+			connection.close();
+			connection.close();
+		}
+
+		for (DynamicDataSourceTarget dynamicDataSourceTarget :
+				_dynamicDataSourceTargetSource.
+					getReadDynamicDataSourceTargets()) {
+
+			Assert.assertEquals(
+				0, dynamicDataSourceTarget.getOutstandingCount());
+			Assert.assertEquals(
+				2, dynamicDataSourceTarget.getHoldTimeHistogram().getCount());
+		}
+
+		Assert.assertEquals(
+			6, _dynamicDataSourceTargetSource.getReplicaReadCount());
+	}
+
+	@Test
+	public void testLaggingReplicaIsSkipped() throws Exception {
+		List<DynamicDataSourceTarget> dynamicDataSourceTargets =
+			_dynamicDataSourceTargetSource.getReadDynamicDataSourceTargets();
+
+		DynamicDataSourceTarget laggingDynamicDataSourceTarget =
+			dynamicDataSourceTargets.get(0);
+
+		laggingDynamicDataSourceTarget.setLag(100, true);
+
+		_dynamicDataSourceTargetSource.setOperation(Operation.READ);
+
+		for (int i = 0; i < 10; i++) {
+			Assert.assertNotSame(
+				laggingDynamicDataSourceTarget,
+				_dynamicDataSourceTargetSource.getTarget());
+		}
+	}
+
+	@Test
+	public void testReadYourWrites() throws Exception {
+		_dynamicDataSourceTargetSource.setReadYourWritesWindow(60000);
+
+		_dynamicDataSourceTargetSource.pushMethod("write");
+
+		try {
+			_dynamicDataSourceTargetSource.setOperation(Operation.WRITE);
+
+			Assert.assertSame(
+				_dynamicDataSourceTargetSource.
+					getWriteDynamicDataSourceTarget(),
+				_dynamicDataSourceTargetSource.getTarget());
+		}
+		finally {
+			_dynamicDataSourceTargetSource.popMethod();
+		}
+
+		_dynamicDataSourceTargetSource.setOperation(Operation.READ);
+
+		Assert.assertSame(
+			_dynamicDataSourceTargetSource.getWriteDynamicDataSourceTarget(),
+			_dynamicDataSourceTargetSource.getTarget());
+		Assert.assertEquals(
+			1, _dynamicDataSourceTargetSource.getReadYourWritesReadCount());
+
+		_dynamicDataSourceTargetSource.setReadYourWritesWindow(0);
+
+		Assert.assertNotSame(
+			_dynamicDataSourceTargetSource.getWriteDynamicDataSourceTarget(),
+			_dynamicDataSourceTargetSource.getTarget());
+	}
+
+	private DataSource _createDataSource() {
+		ClassLoader classLoader =
+			DynamicDataSourceTargetSourceTest.class.getClassLoader();
+
+		final Connection connection = (Connection)ProxyUtil.newProxyInstance(
+			classLoader, new Class<?>[] {Connection.class},
+			new InvocationHandler() {
+
+				@Override
+				public Object invoke(Object proxy, Method method, Object[] args)
+					throws Throwable {
+
+					return null;
+				}
+
+			});
+
+		return (DataSource)ProxyUtil.newProxyInstance(
+			classLoader, new Class<?>[] {DataSource.class},
+			new InvocationHandler() {
+
+				@Override
+				public Object invoke(Object proxy, Method method, Object[] args)
+					throws Throwable {
+
+					if (method.getName().equals("getConnection")) {
+						return connection;
+					}
+
+					throw new UnsupportedOperationException();
+				}
+
+			});
+	}
+
+	private DynamicDataSourceTargetSource _dynamicDataSourceTargetSource;
+
+}
@@ -0,0 +1,198 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.dao.jdbc.aop.jmx;
+
+import com.liferay.portal.dao.jdbc.aop.DynamicDataSourceTarget;
+import com.liferay.portal.dao.jdbc.aop.DynamicDataSourceTargetSource;
+import com.liferay.portal.dao.jdbc.aop.Operation;
+import com.liferay.portal.kernel.concurrent.AtomicHistogram;
+import com.liferay.portal.kernel.util.ProxyUtil;
+
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+
+import java.sql.Connection;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import javax.sql.DataSource;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class DynamicDataSourceManagerTest {
+
+	@Before
+	public void setUp() {
+		_dynamicDataSourceTargetSource = new DynamicDataSourceTargetSource();
+
+		_dynamicDataSourceTargetSource.setInstrumented(true);
+
+		List<DataSource> readDataSources = new ArrayList<DataSource>();
+
+		for (int i = 0; i < 2; i++) {
+			readDataSources.add(_createDataSource());
+		}
+
+		_dynamicDataSourceTargetSource.setReadDataSources(readDataSources);
+		_dynamicDataSourceTargetSource.setWriteDataSource(_createDataSource());
+
+		_dynamicDataSourceManager = new DynamicDataSourceManager(
+			_dynamicDataSourceTargetSource);
+	}
+
+	@After
+	public void tearDown() {
+		_dynamicDataSourceTargetSource.setOperation(Operation.WRITE);
+	}
+
+	@Test
+	public void testConnectionMetrics() throws Exception {
+		_dynamicDataSourceTargetSource.setOperation(Operation.READ);
+
+		DataSource dataSource =
+			(DataSource)_dynamicDataSourceTargetSource.getTarget();
+
+		DynamicDataSourceTarget dynamicDataSourceTarget =
+			(DynamicDataSourceTarget)dataSource;
+
+		String name = dynamicDataSourceTarget.getName();
+
+		Connection connection = dataSource.getConnection();
+
+		Assert.assertEquals(
+			1, _dynamicDataSourceManager.getOutstandingCount(name));
+
+		connection.close();
+
+		Assert.assertEquals(
+			0, _dynamicDataSourceManager.getOutstandingCount(name));
+		Assert.assertEquals(-1, _dynamicDataSourceManager.getLag(name));
+		Assert.assertFalse(_dynamicDataSourceManager.isLagging(name));
+
+		AtomicHistogram holdTimeHistogram =
+			dynamicDataSourceTarget.getHoldTimeHistogram();
+
+		Assert.assertEquals(1, holdTimeHistogram.getCount());
+
+		_dynamicDataSourceManager.resetTimeHistograms();
+
+		Assert.assertEquals(0, holdTimeHistogram.getCount());
+	}
+
+	@Test
+	public void testDataSourceNames() {
+		Assert.assertArrayEquals(
+			new String[] {"write", "read-0", "read-1"},
+			_dynamicDataSourceManager.getDataSourceNames());
+
+		try {
+			_dynamicDataSourceManager.getOutstandingCount("read-2");
+
+			Assert.fail();
+		}
+		catch (IllegalArgumentException iae) {
+		}
+	}
+
+	@Test
+	public void testMBeanRegistration() throws Exception {
+		MBeanServer mBeanServer = ManagementFactory.getPlatformMBeanServer();
+
+		ObjectName objectName = new ObjectName(
+			"com.liferay.portal.dao.jdbc:classification=dynamic_data_source," +
+				"name=DynamicDataSourceManager");
+
+		mBeanServer.registerMBean(_dynamicDataSourceManager, objectName);
+
+		try {
+			_dynamicDataSourceTargetSource.getTarget();
+
+			Assert.assertEquals(
+				1L, mBeanServer.getAttribute(objectName, "WriteCount"));
+			Assert.assertEquals(
+				0L, mBeanServer.getAttribute(objectName, "ReplicaReadCount"));
+		}
+		finally {
+			mBeanServer.unregisterMBean(objectName);
+		}
+	}
+
+	@Test
+	public void testRoutingCounters() throws Exception {
+		_dynamicDataSourceTargetSource.getTarget();
+
+		_dynamicDataSourceTargetSource.setOperation(Operation.READ);
+
+		_dynamicDataSourceTargetSource.getTarget();
+		_dynamicDataSourceTargetSource.getTarget();
+
+		Assert.assertEquals(1, _dynamicDataSourceManager.getWriteCount());
+		Assert.assertEquals(2, _dynamicDataSourceManager.getReplicaReadCount());
+		Assert.assertEquals(
+			0, _dynamicDataSourceManager.getFallbackReadCount());
+		Assert.assertEquals(
+			0, _dynamicDataSourceManager.getReadYourWritesReadCount());
+	}
+
+	private DataSource _createDataSource() {
+		ClassLoader classLoader =
+			DynamicDataSourceManagerTest.class.getClassLoader();
+
+		final Connection connection = (Connection)ProxyUtil.newProxyInstance(
+			classLoader, new Class<?>[] {Connection.class},
+			new InvocationHandler() {
+
+				@Override
+				public Object invoke(Object proxy, Method method, Object[] args)
+					throws Throwable {
+
+					return null;
+				}
+
+			});
+
+		return (DataSource)ProxyUtil.newProxyInstance(
+			classLoader, new Class<?>[] {DataSource.class},
+			new InvocationHandler() {
+
+				@Override
+				public Object invoke(Object proxy, Method method, Object[] args)
+					throws Throwable {
+
+					if (method.getName().equals("getConnection")) {
+						return connection;
+					}
+
+					throw new UnsupportedOperationException();
+				}
+
+			});
+	}
+
+	private DynamicDataSourceManager _dynamicDataSourceManager;
+	private DynamicDataSourceTargetSource _dynamicDataSourceTargetSource;
+
+}
@@ -0,0 +1,255 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.dao.orm.common;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class MappedCacheStoreTest {
+
+	@Before
+	public void setUp() throws IOException {
+		_file = File.createTempFile("MappedCacheStoreTest", ".cache");
+
+		_file.delete();
+	}
+
+	@After
+	public void tearDown() {
+		_file.delete();
+	}
+
+	@Test
+	public void testCapacity() throws Exception {
+		MappedCacheStore mappedCacheStore = new MappedCacheStore(
+			_file, 16, 4096, 1, 1);
+
+		for (long i = 0; i < 100; i++) {
+			mappedCacheStore.put(_CACHE_NAME, i, "value" + i);
+
+			Assert.assertEquals(
+				"value" + i, mappedCacheStore.get(_CACHE_NAME, i));
+			Assert.assertTrue(mappedCacheStore.getSize() <= 12);
+		}
+
+		mappedCacheStore.put(_CACHE_NAME, 100L, new byte[8192]);
+
+		Assert.assertNull(mappedCacheStore.get(_CACHE_NAME, 100L));
+
+		byte[] bytes = new byte[1024];
+
+		for (long i = 0; i < 10; i++) {
+			mappedCacheStore.put(_CACHE_NAME, i, bytes);
+
+			Assert.assertTrue(mappedCacheStore.getDataPosition() <= 4096);
+		}
+
+		mappedCacheStore.close(1);
+	}
+
+	@Test
+	public void testConcurrentPut() throws Exception {
+		final MappedCacheStore mappedCacheStore = new MappedCacheStore(
+			_file, 4096, 1024 * 1024, 1, 1);
+
+		List<Thread> threads = new ArrayList<Thread>();
+
+		for (int i = 0; i < 4; i++) {
+			final long offset = i * 500;
+
+			Thread thread = new Thread() {
+
+				@Override
+				public void run() {
+					for (long j = offset; j < (offset + 500); j++) {
+						mappedCacheStore.put(_CACHE_NAME, j, "value" + j);
+					}
+				}
+
+			};
+
+			thread.start();
+
+			threads.add(thread);
+		}
+
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		Assert.assertEquals(2000, mappedCacheStore.getSize());
+
+		for (long i = 0; i < 2000; i++) {
+			Assert.assertEquals(
+				"value" + i, mappedCacheStore.get(_CACHE_NAME, i));
+		}
+
+		mappedCacheStore.close(1);
+	}
+
+	@Test
+	public void testPutGetRemove() throws Exception {
+		MappedCacheStore mappedCacheStore = new MappedCacheStore(
+			_file, 64, 4096, 1, 1);
+
+		Assert.assertFalse(mappedCacheStore.isRecovered());
+		Assert.assertNull(mappedCacheStore.get(_CACHE_NAME, 1L));
+
+		mappedCacheStore.put(_CACHE_NAME, 1L, "value1");
+		mappedCacheStore.put(_CACHE_NAME, 2L, "value2");
+		mappedCacheStore.put(
+			_CACHE_NAME, 3L, new ArrayList<Long>(Arrays.asList(4L, 5L)));
+
+		Assert.assertEquals(3, mappedCacheStore.getSize());
+		Assert.assertEquals("value1", mappedCacheStore.get(_CACHE_NAME, 1L));
+		Assert.assertEquals("value2", mappedCacheStore.get(_CACHE_NAME, 2L));
+		Assert.assertEquals(
+			Arrays.asList(4L, 5L), mappedCacheStore.get(_CACHE_NAME, 3L));
+		Assert.assertNull(mappedCacheStore.get(_CACHE_NAME, "1"));
+		Assert.assertNull(mappedCacheStore.get("otherCacheName", 1L));
+
+		mappedCacheStore.put(_CACHE_NAME, 1L, "value3");
+
+		Assert.assertEquals(3, mappedCacheStore.getSize());
+		Assert.assertEquals("value3", mappedCacheStore.get(_CACHE_NAME, 1L));
+
+		mappedCacheStore.remove(_CACHE_NAME, 1L);
+
+		Assert.assertEquals(2, mappedCacheStore.getSize());
+		Assert.assertNull(mappedCacheStore.get(_CACHE_NAME, 1L));
+		Assert.assertEquals("value2", mappedCacheStore.get(_CACHE_NAME, 2L));
+
+		mappedCacheStore.put("otherCacheName", 1L, "value4");
+
+		mappedCacheStore.removeAll(_CACHE_NAME);
+
+		Assert.assertNull(mappedCacheStore.get(_CACHE_NAME, 2L));
+		Assert.assertNull(mappedCacheStore.get(_CACHE_NAME, 3L));
+		Assert.assertEquals(
+			"value4", mappedCacheStore.get("otherCacheName", 1L));
+
+		mappedCacheStore.removeAll();
+
+		Assert.assertEquals(0, mappedCacheStore.getSize());
+		Assert.assertNull(mappedCacheStore.get("otherCacheName", 1L));
+
+		mappedCacheStore.close(1);
+
+		Assert.assertNull(mappedCacheStore.get("otherCacheName", 1L));
+
+		mappedCacheStore.put(_CACHE_NAME, 1L, "value1");
+
+		Assert.assertNull(mappedCacheStore.get(_CACHE_NAME, 1L));
+	}
+
+	@Test
+	public void testRecover() throws Exception {
+		MappedCacheStore mappedCacheStore = new MappedCacheStore(
+			_file, 64, 4096, 1, 1);
+
+		mappedCacheStore.put(_CACHE_NAME, 1L, "value1");
+		mappedCacheStore.put("otherCacheName", 1L, "value2");
+
+		mappedCacheStore.removeAll("otherCacheName");
+
+		mappedCacheStore.put("otherCacheName", 2L, "value3");
+
+		mappedCacheStore.close(2);
+
+		mappedCacheStore = new MappedCacheStore(_file, 64, 4096, 1, 2);
+
+		Assert.assertTrue(mappedCacheStore.isRecovered());
+		Assert.assertEquals("value1", mappedCacheStore.get(_CACHE_NAME, 1L));
+		Assert.assertNull(mappedCacheStore.get("otherCacheName", 1L));
+		Assert.assertEquals(
+			"value3", mappedCacheStore.get("otherCacheName", 2L));
+
+		mappedCacheStore.close(2);
+	}
+
+	@Test
+	public void testRecoverWithChangedLayout() throws Exception {
+		_testRecover(64, 4096, 1, 1, 128, 4096, 1, 1);
+		_testRecover(64, 4096, 1, 1, 64, 8192, 1, 1);
+	}
+
+	@Test
+	public void testRecoverWithStaleSchemaVersion() throws Exception {
+		_testRecover(64, 4096, 1, 1, 64, 4096, 2, 1);
+	}
+
+	@Test
+	public void testRecoverWithStaleWatermark() throws Exception {
+		_testRecover(64, 4096, 1, 1, 64, 4096, 1, 2);
+	}
+
+	@Test
+	public void testRecoverWithoutClose() throws Exception {
+		new MappedCacheStore(_file, 64, 4096, 1, 1);
+
+		RandomAccessFile randomAccessFile = new RandomAccessFile(_file, "r");
+
+		try {
+			randomAccessFile.seek(4);
+
+			Assert.assertEquals(0, randomAccessFile.readByte());
+		}
+		finally {
+			randomAccessFile.close();
+		}
+	}
+
+	private void _testRecover(
+			int slotCount1, int dataCapacity1, long schemaVersion1,
+			long watermark1, int slotCount2, int dataCapacity2,
+			long schemaVersion2, long watermark2)
+		throws Exception {
+
+		MappedCacheStore mappedCacheStore = new MappedCacheStore(
+			_file, slotCount1, dataCapacity1, schemaVersion1, watermark1);
+
+		mappedCacheStore.put(_CACHE_NAME, 1L, "value1");
+
+		mappedCacheStore.close(watermark1);
+
+		mappedCacheStore = new MappedCacheStore(
+			_file, slotCount2, dataCapacity2, schemaVersion2, watermark2);
+
+		Assert.assertFalse(mappedCacheStore.isRecovered());
+		Assert.assertNull(mappedCacheStore.get(_CACHE_NAME, 1L));
+
+		mappedCacheStore.close(watermark2);
+
+		_file.delete();
+	}
+
+	private static final String _CACHE_NAME = "cacheName";
+
+	private File _file;
+
+}
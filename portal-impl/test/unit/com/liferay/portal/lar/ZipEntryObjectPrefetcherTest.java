@@ -0,0 +1,295 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.lar;
+
+import com.liferay.portal.kernel.concurrent.ThreadPoolExecutor;
+import com.liferay.portal.kernel.executor.PortalExecutorManager;
+import com.liferay.portal.kernel.executor.PortalExecutorManagerUtil;
+import com.liferay.portal.kernel.lar.PortletDataContext;
+import com.liferay.portal.kernel.util.ProxyUtil;
+import com.liferay.portal.kernel.util.StringBundler;
+import com.liferay.portal.kernel.xml.Document;
+import com.liferay.portal.kernel.xml.Element;
+import com.liferay.portal.kernel.xml.SAXReaderUtil;
+import com.liferay.portal.kernel.zip.ZipReader;
+import com.liferay.portal.xml.SAXReaderImpl;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class ZipEntryObjectPrefetcherTest {
+
+	@Before
+	public void setUp() {
+		PortalExecutorManagerUtil portalExecutorManagerUtil =
+			new PortalExecutorManagerUtil();
+
+		portalExecutorManagerUtil.setPortalExecutorManager(
+			(PortalExecutorManager)ProxyUtil.newProxyInstance(
+				PortalExecutorManager.class.getClassLoader(),
+				new Class<?>[] {PortalExecutorManager.class},
+				new InvocationHandler() {
+
+					@Override
+					public Object invoke(
+						Object proxy, Method method, Object[] args) {
+
+						return _threadPoolExecutor;
+					}
+
+				}));
+
+		SAXReaderUtil saxReaderUtil = new SAXReaderUtil();
+
+		saxReaderUtil.setSAXReader(new SAXReaderImpl());
+
+		_portletDataContext = (PortletDataContext)ProxyUtil.newProxyInstance(
+			PortletDataContext.class.getClassLoader(),
+			new Class<?>[] {PortletDataContext.class},
+			new InvocationHandler() {
+
+				@Override
+				public Object invoke(
+					Object proxy, Method method, Object[] args) {
+
+					String methodName = method.getName();
+
+					if (methodName.equals("fromXML")) {
+						return "parsed " + args[0];
+					}
+					else if (methodName.equals("getClassLoader")) {
+						return _classLoader;
+					}
+					else if (methodName.equals("getZipReader")) {
+						return _zipReader;
+					}
+
+					throw new UnsupportedOperationException(methodName);
+				}
+
+			});
+
+		_zipReader = (ZipReader)ProxyUtil.newProxyInstance(
+			ZipReader.class.getClassLoader(), new Class<?>[] {ZipReader.class},
+			new InvocationHandler() {
+
+				@Override
+				public Object invoke(
+					Object proxy, Method method, Object[] args) {
+
+					String methodName = method.getName();
+
+					if (!methodName.equals("getEntryAsString")) {
+						throw new UnsupportedOperationException(methodName);
+					}
+
+					String path = (String)args[0];
+
+					_readPaths.add(path);
+
+					if (_brokenPaths.contains(path)) {
+						throw new IllegalStateException(path);
+					}
+
+					return path;
+				}
+
+			});
+	}
+
+	@Test
+	public void testGetPaths() throws Exception {
+		Element importDataRootElement = createImportDataRootElement(
+			new String[][] {
+				{"A", "1", "B", "2"}, {"A", "3"},
+				{"B", "2", "C", "4", "Z", "9"}, {"C", "4", "A", "1"}
+			});
+
+		ZipEntryObjectPrefetcher zipEntryObjectPrefetcher =
+			new ZipEntryObjectPrefetcher(
+				_portletDataContext, importDataRootElement, 0);
+
+		Assert.assertEquals(
+			Arrays.asList(
+				getPath("C", "4"), getPath("B", "2"), getPath("A", "1"),
+				getPath("A", "3")),
+			zipEntryObjectPrefetcher.getPaths(importDataRootElement));
+
+		Assert.assertTrue(_runnables.isEmpty());
+	}
+
+	@Test
+	public void testTake() throws Exception {
+		ZipEntryObjectPrefetcher zipEntryObjectPrefetcher =
+			createZipEntryObjectPrefetcher(2);
+
+		runAll();
+
+		Assert.assertEquals(
+			Arrays.asList(getPath("A", "1"), getPath("A", "2")), _readPaths);
+		Assert.assertEquals(
+			"parsed " + getPath("A", "1"),
+			zipEntryObjectPrefetcher.take(getPath("A", "1")));
+
+		runAll();
+
+		Assert.assertEquals(
+			Arrays.asList(
+				getPath("A", "1"), getPath("A", "2"), getPath("A", "3")),
+			_readPaths);
+		Assert.assertEquals(
+			"parsed " + getPath("A", "2"),
+			zipEntryObjectPrefetcher.take(getPath("A", "2")));
+		Assert.assertEquals(
+			"parsed " + getPath("A", "3"),
+			zipEntryObjectPrefetcher.take(getPath("A", "3")));
+		Assert.assertNull(zipEntryObjectPrefetcher.take(getPath("A", "1")));
+	}
+
+	@Test
+	public void testTakeAfterClassLoaderChange() throws Exception {
+		ZipEntryObjectPrefetcher zipEntryObjectPrefetcher =
+			createZipEntryObjectPrefetcher(2);
+
+		_classLoader = new ClassLoader() {
+		};
+
+		Assert.assertNull(zipEntryObjectPrefetcher.take(getPath("A", "1")));
+
+		runAll();
+
+		Assert.assertTrue(_readPaths.isEmpty());
+		Assert.assertNull(zipEntryObjectPrefetcher.take(getPath("A", "2")));
+		Assert.assertTrue(_runnables.isEmpty());
+	}
+
+	@Test
+	public void testTakeBrokenPath() throws Exception {
+		_brokenPaths.add(getPath("A", "1"));
+
+		ZipEntryObjectPrefetcher zipEntryObjectPrefetcher =
+			createZipEntryObjectPrefetcher(2);
+
+		runAll();
+
+		Assert.assertNull(zipEntryObjectPrefetcher.take(getPath("A", "1")));
+		Assert.assertEquals(
+			"parsed " + getPath("A", "2"),
+			zipEntryObjectPrefetcher.take(getPath("A", "2")));
+	}
+
+	@Test
+	public void testTakeSkippedPath() throws Exception {
+		ZipEntryObjectPrefetcher zipEntryObjectPrefetcher =
+			createZipEntryObjectPrefetcher(2);
+
+		Assert.assertNull(zipEntryObjectPrefetcher.take(getPath("A", "3")));
+
+		runAll();
+
+		Assert.assertEquals(
+			Arrays.asList(getPath("A", "2"), getPath("A", "4")), _readPaths);
+		Assert.assertEquals(
+			"parsed " + getPath("A", "2"),
+			zipEntryObjectPrefetcher.take(getPath("A", "2")));
+		Assert.assertEquals(
+			"parsed " + getPath("A", "4"),
+			zipEntryObjectPrefetcher.take(getPath("A", "4")));
+		Assert.assertNull(zipEntryObjectPrefetcher.take(getPath("A", "1")));
+	}
+
+	protected Element createImportDataRootElement(String[][] stagedModels)
+		throws Exception {
+
+		StringBundler sb = new StringBundler();
+
+		sb.append("<root><group>");
+
+		for (String[] stagedModel : stagedModels) {
+			sb.append("<staged-model path=\"");
+			sb.append(getPath(stagedModel[0], stagedModel[1]));
+			sb.append("\"><references>");
+
+			for (int i = 2; i < stagedModel.length; i += 2) {
+				sb.append("<reference class-name=\"");
+				sb.append(stagedModel[i]);
+				sb.append("\" class-pk=\"");
+				sb.append(stagedModel[i + 1]);
+				sb.append("\" />");
+			}
+
+			sb.append("</references></staged-model>");
+		}
+
+		sb.append("</group></root>");
+
+		Document document = SAXReaderUtil.read(sb.toString());
+
+		return document.getRootElement();
+	}
+
+	protected ZipEntryObjectPrefetcher createZipEntryObjectPrefetcher(int size)
+		throws Exception {
+
+		Element importDataRootElement = createImportDataRootElement(
+			new String[][] {{"A", "1"}, {"A", "2"}, {"A", "3"}, {"A", "4"}});
+
+		return new ZipEntryObjectPrefetcher(
+			_portletDataContext, importDataRootElement, size);
+	}
+
+	protected String getPath(String className, String classPK) {
+		return "/group/10/" + className + "/" + classPK + ".xml";
+	}
+
+	protected void runAll() {
+		while (!_runnables.isEmpty()) {
+			Runnable runnable = _runnables.remove(0);
+
+			runnable.run();
+		}
+	}
+
+	private Set<String> _brokenPaths = new HashSet<String>();
+	private ClassLoader _classLoader = new ClassLoader() {
+	};
+	private PortletDataContext _portletDataContext;
+	private List<String> _readPaths = new ArrayList<String>();
+	private List<Runnable> _runnables = new ArrayList<Runnable>();
+	private ThreadPoolExecutor _threadPoolExecutor = new ThreadPoolExecutor(
+		0, 1) {
+
+		@Override
+		public void execute(Runnable runnable) {
+			_runnables.add(runnable);
+		}
+
+	};
+	private ZipReader _zipReader;
+
+}
\ No newline at end of file
@@ -0,0 +1,214 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.search;
+
+import org.apache.lucene.analysis.KeywordAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.DocIdSet;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.store.RAMDirectory;
+import org.apache.lucene.util.FixedBitSet;
+import org.apache.lucene.util.Version;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class SearchPermissionRolesFilterTest {
+
+	@Before
+	public void setUp() throws Exception {
+		SearchPermissionRolesFilter.clearAll();
+
+		_ramDirectory = new RAMDirectory();
+
+		IndexWriterConfig indexWriterConfig = new IndexWriterConfig(
+			Version.LUCENE_35, new KeywordAnalyzer());
+
+		IndexWriter indexWriter = new IndexWriter(
+			_ramDirectory, indexWriterConfig);
+
+		indexWriter.addDocument(_createDocument("1"));
+		indexWriter.addDocument(_createDocument("2"));
+
+		indexWriter.commit();
+
+		indexWriter.addDocument(_createDocument("3"));
+		indexWriter.addDocument(_createDocument("1"));
+
+		indexWriter.close();
+
+		_indexReader = IndexReader.open(_ramDirectory);
+
+		_segmentIndexReaders = _indexReader.getSequentialSubReaders();
+
+		Assert.assertEquals(2, _segmentIndexReaders.length);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		_indexReader.close();
+
+		_ramDirectory.close();
+
+		SearchPermissionRolesFilter.clearAll();
+	}
+
+	@Test
+	public void testClear() throws Exception {
+		SearchPermissionRolesFilter searchPermissionRolesFilter =
+			new SearchPermissionRolesFilter(_createQuery("1"), Long.MAX_VALUE);
+
+		searchPermissionRolesFilter.getDocIdSet(_segmentIndexReaders[0]);
+		searchPermissionRolesFilter.getDocIdSet(_segmentIndexReaders[1]);
+
+		Assert.assertEquals(
+			searchPermissionRolesFilter.getSize(),
+			SearchPermissionRolesFilter.getCachedBytes());
+
+		searchPermissionRolesFilter.clear();
+
+		Assert.assertEquals(0, searchPermissionRolesFilter.getSize());
+		Assert.assertEquals(0, SearchPermissionRolesFilter.getCachedBytes());
+	}
+
+	@Test
+	public void testClearAll() throws Exception {
+		SearchPermissionRolesFilter searchPermissionRolesFilter =
+			new SearchPermissionRolesFilter(_createQuery("1"), Long.MAX_VALUE);
+
+		searchPermissionRolesFilter.getDocIdSet(_segmentIndexReaders[0]);
+
+		SearchPermissionRolesFilter.clearAll();
+
+		Assert.assertEquals(0, SearchPermissionRolesFilter.getCachedBytes());
+
+		DocIdSet docIdSet = searchPermissionRolesFilter.getDocIdSet(
+			_segmentIndexReaders[1]);
+
+		Assert.assertNotSame(
+			docIdSet,
+			searchPermissionRolesFilter.getDocIdSet(_segmentIndexReaders[1]));
+		Assert.assertEquals(0, searchPermissionRolesFilter.getSize());
+		Assert.assertEquals(0, SearchPermissionRolesFilter.getCachedBytes());
+
+		searchPermissionRolesFilter.clear();
+
+		Assert.assertEquals(0, SearchPermissionRolesFilter.getCachedBytes());
+	}
+
+	@Test
+	public void testGetDocIdSet() throws Exception {
+		SearchPermissionRolesFilter searchPermissionRolesFilter =
+			new SearchPermissionRolesFilter(
+				_createQuery("1", "2"), Long.MAX_VALUE);
+
+		FixedBitSet fixedBitSet =
+			(FixedBitSet)searchPermissionRolesFilter.getDocIdSet(
+				_segmentIndexReaders[0]);
+
+		Assert.assertEquals(2, fixedBitSet.cardinality());
+		Assert.assertSame(
+			fixedBitSet,
+			searchPermissionRolesFilter.getDocIdSet(_segmentIndexReaders[0]));
+
+		fixedBitSet = (FixedBitSet)searchPermissionRolesFilter.getDocIdSet(
+			_segmentIndexReaders[1]);
+
+		Assert.assertEquals(1, fixedBitSet.cardinality());
+		Assert.assertFalse(fixedBitSet.get(0));
+		Assert.assertTrue(fixedBitSet.get(1));
+
+		Assert.assertEquals(16, searchPermissionRolesFilter.getSize());
+		Assert.assertEquals(16, SearchPermissionRolesFilter.getCachedBytes());
+	}
+
+	@Test
+	public void testMaxCachedBytes() throws Exception {
+		SearchPermissionRolesFilter searchPermissionRolesFilter1 =
+			new SearchPermissionRolesFilter(_createQuery("1"), 8);
+
+		DocIdSet docIdSet = searchPermissionRolesFilter1.getDocIdSet(
+			_segmentIndexReaders[0]);
+
+		Assert.assertSame(
+			docIdSet,
+			searchPermissionRolesFilter1.getDocIdSet(_segmentIndexReaders[0]));
+
+		SearchPermissionRolesFilter searchPermissionRolesFilter2 =
+			new SearchPermissionRolesFilter(_createQuery("2"), 8);
+
+		docIdSet = searchPermissionRolesFilter2.getDocIdSet(
+			_segmentIndexReaders[0]);
+
+		Assert.assertNotSame(
+			docIdSet,
+			searchPermissionRolesFilter2.getDocIdSet(_segmentIndexReaders[0]));
+		Assert.assertEquals(0, searchPermissionRolesFilter2.getSize());
+		Assert.assertEquals(8, SearchPermissionRolesFilter.getCachedBytes());
+
+		searchPermissionRolesFilter1.clear();
+
+		docIdSet = searchPermissionRolesFilter2.getDocIdSet(
+			_segmentIndexReaders[0]);
+
+		Assert.assertSame(
+			docIdSet,
+			searchPermissionRolesFilter2.getDocIdSet(_segmentIndexReaders[0]));
+		Assert.assertEquals(8, SearchPermissionRolesFilter.getCachedBytes());
+	}
+
+	private Document _createDocument(String roleId) {
+		Document document = new Document();
+
+		document.add(
+			new Field(
+				com.liferay.portal.kernel.search.Field.ROLE_ID, roleId,
+				Field.Store.YES, Field.Index.NOT_ANALYZED));
+
+		return document;
+	}
+
+	private BooleanQuery _createQuery(String... roleIds) {
+		BooleanQuery booleanQuery = new BooleanQuery();
+
+		for (String roleId : roleIds) {
+			booleanQuery.add(
+				new TermQuery(
+					new Term(
+						com.liferay.portal.kernel.search.Field.ROLE_ID,
+						roleId)),
+				BooleanClause.Occur.SHOULD);
+		}
+
+		return booleanQuery;
+	}
+
+	private IndexReader _indexReader;
+	private RAMDirectory _ramDirectory;
+	private IndexReader[] _segmentIndexReaders;
+
+}
@@ -0,0 +1,318 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.search.lucene;
+
+import com.liferay.portal.kernel.test.JDKLoggerTestUtil;
+
+import java.io.IOException;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+
+import org.apache.lucene.analysis.KeywordAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.index.IndexReader;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.store.RAMDirectory;
+import org.apache.lucene.util.Version;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class IndexWriteQueueTest {
+
+	@Before
+	public void setUp() throws Exception {
+		_ramDirectory = new RAMDirectory();
+
+		IndexWriterConfig indexWriterConfig = new IndexWriterConfig(
+			Version.LUCENE_35, new KeywordAnalyzer());
+
+		_indexWriter = new IndexWriter(_ramDirectory, indexWriterConfig);
+	}
+
+	@After
+	public void tearDown() throws Exception {
+		_indexWriter.close();
+
+		_ramDirectory.close();
+	}
+
+	@Test
+	public void testBackPressure() throws Exception {
+		final CountDownLatch commitLatch = new CountDownLatch(1);
+
+		final MockIndexWriteQueue mockIndexWriteQueue = new MockIndexWriteQueue(
+			_indexWriter, 1, 10, commitLatch);
+
+		mockIndexWriteQueue.addDocument(_createDocument("0"));
+
+		mockIndexWriteQueue.awaitCommit();
+
+		mockIndexWriteQueue.addDocument(_createDocument("1"));
+
+		Thread thread = new Thread() {
+
+			@Override
+			public void run() {
+				try {
+					mockIndexWriteQueue.addDocument(_createDocument("2"));
+				}
+				catch (IOException ioe) {
+					throw new RuntimeException(ioe);
+				}
+			}
+
+		};
+
+		thread.start();
+
+		while (mockIndexWriteQueue.getBlockedCount() == 0) {
+			Thread.sleep(1);
+		}
+
+		Assert.assertTrue(thread.isAlive());
+		Assert.assertEquals(1, mockIndexWriteQueue.getQueueDepth());
+
+		commitLatch.countDown();
+
+		thread.join();
+
+		mockIndexWriteQueue.close();
+
+		Assert.assertEquals(3, _getNumDocs());
+	}
+
+	@Test
+	public void testClose() throws Exception {
+		CountDownLatch commitLatch = new CountDownLatch(1);
+
+		MockIndexWriteQueue mockIndexWriteQueue = new MockIndexWriteQueue(
+			_indexWriter, 100, 10, commitLatch);
+
+		mockIndexWriteQueue.addDocument(_createDocument("0"));
+
+		mockIndexWriteQueue.awaitCommit();
+
+		for (int i = 1; i < 20; i++) {
+			mockIndexWriteQueue.addDocument(_createDocument(String.valueOf(i)));
+		}
+
+		commitLatch.countDown();
+
+		mockIndexWriteQueue.close();
+
+		Assert.assertEquals(20, _getNumDocs());
+		Assert.assertEquals(20, mockIndexWriteQueue.getOperationCount());
+
+		try {
+			mockIndexWriteQueue.addDocument(_createDocument("20"));
+
+			Assert.fail();
+		}
+		catch (IllegalStateException ise) {
+		}
+	}
+
+	@Test
+	public void testCommitFailure() throws Exception {
+		MockIndexWriteQueue mockIndexWriteQueue = new MockIndexWriteQueue(
+			_indexWriter, 100, 10, null);
+
+		mockIndexWriteQueue.setCommitFailure(true);
+
+		List<LogRecord> logRecords = JDKLoggerTestUtil.configureJDKLogger(
+			IndexWriteQueue.class.getName(), Level.SEVERE);
+
+		Future<Void> future = mockIndexWriteQueue.addDocument(
+			_createDocument("0"));
+
+		try {
+			future.get();
+
+			Assert.fail();
+		}
+		catch (ExecutionException ee) {
+			Throwable throwable = ee.getCause();
+
+			Assert.assertSame(IOException.class, throwable.getClass());
+		}
+
+		Assert.assertEquals(1, logRecords.size());
+
+		LogRecord logRecord = logRecords.get(0);
+
+		Assert.assertEquals(
+			"Unable to commit index write batch", logRecord.getMessage());
+
+		mockIndexWriteQueue.setCommitFailure(false);
+
+		mockIndexWriteQueue.flush().get();
+
+		mockIndexWriteQueue.close();
+	}
+
+	@Test
+	public void testGroupCommit() throws Exception {
+		CountDownLatch commitLatch = new CountDownLatch(1);
+
+		MockIndexWriteQueue mockIndexWriteQueue = new MockIndexWriteQueue(
+			_indexWriter, 100, 10, commitLatch);
+
+		List<Future<Void>> futures = new ArrayList<Future<Void>>();
+
+		futures.add(mockIndexWriteQueue.addDocument(_createDocument("0")));
+
+		mockIndexWriteQueue.awaitCommit();
+
+		for (int i = 1; i < 25; i++) {
+			futures.add(
+				mockIndexWriteQueue.addDocument(
+					_createDocument(String.valueOf(i))));
+		}
+
+		futures.add(
+			mockIndexWriteQueue.addDocuments(
+				Arrays.asList(_createDocument("25"), _createDocument("26"))));
+		futures.add(mockIndexWriteQueue.deleteDocuments(new Term("id", "0")));
+		futures.add(
+			mockIndexWriteQueue.updateDocument(
+				new Term("id", "1"), _createDocument("1")));
+
+		Assert.assertEquals(27, mockIndexWriteQueue.getQueueDepth());
+		Assert.assertEquals(27, mockIndexWriteQueue.getMaxQueueDepth());
+
+		// Queue the flush while the first commit is still blocked so that it
+		// joins the batches instead of forming one of its own
+
+		Future<Void> flushFuture = mockIndexWriteQueue.flush();
+
+		commitLatch.countDown();
+
+		flushFuture.get();
+
+		for (Future<Void> future : futures) {
+			Assert.assertTrue(future.isDone());
+
+			future.get();
+		}
+
+		Assert.assertEquals(26, _getNumDocs());
+
+		// One commit for the first operation, three batches for the 27
+		// queued operations and the flush
+
+		Assert.assertEquals(4, mockIndexWriteQueue.getCommitCount());
+		Assert.assertEquals(29, mockIndexWriteQueue.getOperationCount());
+		Assert.assertEquals(7, mockIndexWriteQueue.getAverageBatchSize());
+		Assert.assertEquals(0, mockIndexWriteQueue.getQueueDepth());
+
+		mockIndexWriteQueue.reset();
+
+		Assert.assertEquals(0, mockIndexWriteQueue.getCommitCount());
+		Assert.assertEquals(0, mockIndexWriteQueue.getMaxQueueDepth());
+		Assert.assertEquals(0, mockIndexWriteQueue.getOperationCount());
+
+		mockIndexWriteQueue.close();
+	}
+
+	private Document _createDocument(String id) {
+		Document document = new Document();
+
+		document.add(
+			new Field("id", id, Field.Store.YES, Field.Index.NOT_ANALYZED));
+
+		return document;
+	}
+
+	private int _getNumDocs() throws IOException {
+		IndexReader indexReader = IndexReader.open(_ramDirectory);
+
+		try {
+			return indexReader.numDocs();
+		}
+		finally {
+			indexReader.close();
+		}
+	}
+
+	private IndexWriter _indexWriter;
+	private RAMDirectory _ramDirectory;
+
+	private static class MockIndexWriteQueue extends IndexWriteQueue {
+
+		public MockIndexWriteQueue(
+			IndexWriter indexWriter, int capacity, int batchSize,
+			CountDownLatch commitLatch) {
+
+			super("Index Write Queue", indexWriter, capacity, batchSize);
+
+			_indexWriter = indexWriter;
+			_commitLatch = commitLatch;
+		}
+
+		public void awaitCommit() throws InterruptedException {
+			while (_commitCount.get() == 0) {
+				Thread.sleep(1);
+			}
+		}
+
+		public void setCommitFailure(boolean commitFailure) {
+			_commitFailure = commitFailure;
+		}
+
+		@Override
+		protected void commit() throws IOException {
+			_commitCount.incrementAndGet();
+
+			if (_commitLatch != null) {
+				try {
+					_commitLatch.await();
+				}
+				catch (InterruptedException ie) {
+					throw new RuntimeException(ie);
+				}
+			}
+
+			if (_commitFailure) {
+				throw new IOException();
+			}
+
+			_indexWriter.commit();
+		}
+
+		private final AtomicInteger _commitCount = new AtomicInteger();
+		private volatile boolean _commitFailure;
+		private final CountDownLatch _commitLatch;
+		private final IndexWriter _indexWriter;
+
+	}
+
+}
@@ -18,12 +18,28 @@ import com.liferay.portal.cache.memory.MemoryPortalCacheManager;
 import com.liferay.portal.kernel.cache.SingleVMPoolUtil;
 import com.liferay.portal.kernel.servlet.ServletContextUtil;
 import com.liferay.portal.kernel.util.CharPool;
-
+import com.liferay.portal.kernel.util.Digester;
+import com.liferay.portal.kernel.util.DigesterUtil;
+import com.liferay.portal.kernel.util.FileUtil;
+import com.liferay.portal.kernel.util.LocaleUtil;
+import com.liferay.portal.kernel.util.StringPool;
+import com.liferay.portal.kernel.util.Time;
+import com.liferay.portal.util.DigesterImpl;
+import com.liferay.portal.util.FileImpl;
+
+import java.io.File;
+import java.io.FileInputStream;
 import java.io.Serializable;
 
 import java.net.MalformedURLException;
 import java.net.URL;
 
+import java.nio.ByteBuffer;
+
+import java.util.Map;
+
+import java.util.zip.GZIPInputStream;
+
 import javax.servlet.ServletContext;
 
 import org.junit.Assert;
@@ -73,6 +89,93 @@ public class ComboServletTest extends PowerMockito {
 		);
 
 		_comboServlet = new ComboServlet();
+
+		DigesterUtil digesterUtil = new DigesterUtil();
+
+		digesterUtil.setDigester(new DigesterImpl());
+
+		FileUtil fileUtil = new FileUtil();
+
+		fileUtil.setFile(new FileImpl());
+	}
+
+	@Test
+	public void testCreateComboBundle() throws Exception {
+		File comboBundleDir = createComboBundleDir();
+
+		try {
+			byte[] content = "var a = 1;var b = 2;".getBytes(StringPool.UTF8);
+
+			ComboServlet.ComboBundle comboBundle1 = createComboBundle(
+				new byte[][] {
+					"var a = 1;".getBytes(StringPool.UTF8),
+					"var b = 2;".getBytes(StringPool.UTF8)
+				});
+
+			File file = comboBundle1.getFile();
+
+			Assert.assertTrue(comboBundle1.exists());
+			Assert.assertArrayEquals(content, FileUtil.getBytes(file));
+
+			GZIPInputStream gzipInputStream = new GZIPInputStream(
+				new FileInputStream(comboBundle1.getGZipFile()));
+
+			try {
+				Assert.assertArrayEquals(
+					content, FileUtil.getBytes(gzipInputStream));
+			}
+			finally {
+				gzipInputStream.close();
+			}
+
+			String eTag = comboBundle1.getETag();
+
+			String hash = DigesterUtil.digestHex(
+				Digester.SHA_1, ByteBuffer.wrap(content));
+
+			Assert.assertEquals(
+				StringPool.QUOTE + hash + StringPool.QUOTE, eTag);
+
+			long lastModified = file.lastModified() - Time.MINUTE;
+
+			file.setLastModified(lastModified);
+
+			ComboServlet.ComboBundle comboBundle2 = createComboBundle(
+				new byte[][] {content});
+
+			Assert.assertEquals(eTag, comboBundle2.getETag());
+			Assert.assertEquals(file, comboBundle2.getFile());
+			Assert.assertEquals(lastModified, file.lastModified());
+
+			String[] fileNames = comboBundleDir.list();
+
+			Assert.assertEquals(2, fileNames.length);
+		}
+		finally {
+			FileUtil.deltree(comboBundleDir);
+		}
+	}
+
+	@Test
+	public void testDeleteComboBundleFiles() throws Exception {
+		File comboBundleDir = createComboBundleDir();
+
+		try {
+			createComboBundle(
+				new byte[][] {"var a = 1;".getBytes(StringPool.UTF8)});
+
+			File file = new File(comboBundleDir, "readme.txt");
+
+			FileUtil.write(file, "readme");
+
+			Whitebox.invokeMethod(_comboServlet, "deleteComboBundleFiles");
+
+			Assert.assertArrayEquals(
+				new String[] {file.getName()}, comboBundleDir.list());
+		}
+		finally {
+			FileUtil.deltree(comboBundleDir);
+		}
 	}
 
 	@Test
@@ -108,6 +211,78 @@ public class ComboServletTest extends PowerMockito {
 		testGetResourceURL(servletContext, "/dummyPath", true);
 	}
 
+	@Test
+	public void testPutComboBundle() throws Exception {
+		File comboBundleDir = createComboBundleDir();
+
+		try {
+			ComboServlet.ComboBundle comboBundle1 = createComboBundle(
+				new byte[][] {"var a = 1;".getBytes(StringPool.UTF8)});
+
+			putComboBundle("testPutComboBundle1", comboBundle1);
+			putComboBundle("testPutComboBundle2", comboBundle1);
+
+			ComboServlet.ComboBundle comboBundle2 = createComboBundle(
+				new byte[][] {"var a = 2;".getBytes(StringPool.UTF8)});
+
+			putComboBundle("testPutComboBundle1", comboBundle2);
+
+			Map<String, Long> unreferencedComboBundleTimes =
+				Whitebox.getInternalState(
+					_comboServlet, "_unreferencedComboBundleTimes");
+
+			File file = comboBundle1.getFile();
+
+			Assert.assertFalse(
+				unreferencedComboBundleTimes.containsKey(file.getName()));
+
+			putComboBundle("testPutComboBundle2", comboBundle2);
+
+			Assert.assertTrue(
+				unreferencedComboBundleTimes.containsKey(file.getName()));
+			Assert.assertTrue(comboBundle1.exists());
+
+			unreferencedComboBundleTimes.put(
+				file.getName(), System.currentTimeMillis() - Time.HOUR);
+
+			Whitebox.invokeMethod(
+				_comboServlet, "deleteUnreferencedComboBundles");
+
+			Assert.assertFalse(file.exists());
+			Assert.assertFalse(comboBundle1.getGZipFile().exists());
+			Assert.assertTrue(comboBundle2.exists());
+			Assert.assertTrue(unreferencedComboBundleTimes.isEmpty());
+
+			String[] fileNames = comboBundleDir.list();
+
+			Assert.assertEquals(2, fileNames.length);
+		}
+		finally {
+			FileUtil.deltree(comboBundleDir);
+		}
+	}
+
+	protected ComboServlet.ComboBundle createComboBundle(byte[][] bytesArray)
+		throws Exception {
+
+		return Whitebox.invokeMethod(
+			_comboServlet, "createComboBundle", bytesArray, LocaleUtil.US,
+			"js");
+	}
+
+	protected File createComboBundleDir() {
+		File comboBundleDir = new File(
+			System.getProperty("java.io.tmpdir"),
+			"ComboServletTest-" + System.nanoTime());
+
+		comboBundleDir.mkdirs();
+
+		Whitebox.setInternalState(
+			_comboServlet, "_comboBundleDir", comboBundleDir);
+
+		return comboBundleDir;
+	}
+
 	protected ServletContext getServletContext(final String path) {
 		return new MockServletContext() {
 
@@ -125,6 +300,14 @@ public class ComboServletTest extends PowerMockito {
 		};
 	}
 
+	protected void putComboBundle(
+			String comboBundleKey, ComboServlet.ComboBundle comboBundle)
+		throws Exception {
+
+		Whitebox.invokeMethod(
+			_comboServlet, "putComboBundle", comboBundleKey, comboBundle);
+	}
+
 	protected void testGetResourceURL(
 			ServletContext servletContext, String path, boolean expectNull)
 		throws Exception {
@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.servlet.filters.gzip;
+
+import com.liferay.portal.kernel.io.unsync.UnsyncByteArrayInputStream;
+import com.liferay.portal.kernel.io.unsync.UnsyncByteArrayOutputStream;
+import com.liferay.portal.kernel.servlet.HttpHeaders;
+import com.liferay.portal.kernel.util.ContentTypes;
+import com.liferay.portal.kernel.util.StreamUtil;
+
+import java.io.PrintWriter;
+
+import java.util.Arrays;
+import java.util.zip.Deflater;
+import java.util.zip.GZIPInputStream;
+
+import javax.servlet.ServletOutputStream;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class GZipStreamingResponseTest {
+
+	@Test
+	public void testCompressedContentType() throws Exception {
+		MockHttpServletResponse mockHttpServletResponse =
+			new MockHttpServletResponse();
+
+		GZipStreamingResponse gZipStreamingResponse = createResponse(
+			mockHttpServletResponse);
+
+		gZipStreamingResponse.setContentType(ContentTypes.IMAGE_PNG);
+
+		byte[] content = createContent(4096);
+
+		ServletOutputStream servletOutputStream =
+			gZipStreamingResponse.getOutputStream();
+
+		servletOutputStream.write(content);
+
+		gZipStreamingResponse.finishResponse();
+
+		Assert.assertNull(
+			mockHttpServletResponse.getHeader(HttpHeaders.CONTENT_ENCODING));
+		Assert.assertArrayEquals(
+			content, mockHttpServletResponse.getContentAsByteArray());
+	}
+
+	@Test
+	public void testLargeResponse() throws Exception {
+		MockHttpServletResponse mockHttpServletResponse =
+			new MockHttpServletResponse();
+
+		GZipStreamingResponse gZipStreamingResponse = createResponse(
+			mockHttpServletResponse);
+
+		gZipStreamingResponse.setContentType(ContentTypes.TEXT_HTML);
+
+		byte[] content = createContent(100000);
+
+		ServletOutputStream servletOutputStream =
+			gZipStreamingResponse.getOutputStream();
+
+		servletOutputStream.write(content[0]);
+		servletOutputStream.write(content, 1, 99);
+		servletOutputStream.write(content, 100, content.length - 100);
+
+		gZipStreamingResponse.finishResponse();
+
+		Assert.assertEquals(
+			"gzip",
+			mockHttpServletResponse.getHeader(HttpHeaders.CONTENT_ENCODING));
+		Assert.assertArrayEquals(
+			content, gunzip(mockHttpServletResponse.getContentAsByteArray()));
+	}
+
+	@Test
+	public void testPooledGZipOutputStream() throws Exception {
+		byte[] content = createContent(10000);
+
+		for (int i = 0; i < 3; i++) {
+			UnsyncByteArrayOutputStream unsyncByteArrayOutputStream =
+				new UnsyncByteArrayOutputStream();
+
+			PooledGZipOutputStream pooledGZipOutputStream =
+				new PooledGZipOutputStream(
+					unsyncByteArrayOutputStream, Deflater.BEST_SPEED + i);
+
+			pooledGZipOutputStream.write(content);
+
+			pooledGZipOutputStream.close();
+			pooledGZipOutputStream.close();
+
+			Assert.assertArrayEquals(
+				content, gunzip(unsyncByteArrayOutputStream.toByteArray()));
+		}
+	}
+
+	@Test
+	public void testSmallResponse() throws Exception {
+		MockHttpServletResponse mockHttpServletResponse =
+			new MockHttpServletResponse();
+
+		GZipStreamingResponse gZipStreamingResponse = createResponse(
+			mockHttpServletResponse);
+
+		gZipStreamingResponse.setContentType(ContentTypes.TEXT_HTML);
+
+		PrintWriter printWriter = gZipStreamingResponse.getWriter();
+
+		printWriter.write("small");
+
+		printWriter.close();
+
+		gZipStreamingResponse.finishResponse();
+
+		Assert.assertNull(
+			mockHttpServletResponse.getHeader(HttpHeaders.CONTENT_ENCODING));
+		Assert.assertEquals(5, mockHttpServletResponse.getContentLength());
+		Assert.assertEquals(
+			"small", mockHttpServletResponse.getContentAsString());
+	}
+
+	protected byte[] createContent(int length) {
+		byte[] content = new byte[length];
+
+		Arrays.fill(content, (byte)'a');
+
+		for (int i = 0; i < length; i += 7) {
+			content[i] = (byte)('a' + (i % 26));
+		}
+
+		return content;
+	}
+
+	protected GZipStreamingResponse createResponse(
+		MockHttpServletResponse mockHttpServletResponse) {
+
+		return new GZipStreamingResponse(
+			mockHttpServletResponse, Deflater.DEFAULT_COMPRESSION, 1024,
+			new String[] {"image/*"});
+	}
+
+	protected byte[] gunzip(byte[] bytes) throws Exception {
+		UnsyncByteArrayOutputStream unsyncByteArrayOutputStream =
+			new UnsyncByteArrayOutputStream();
+
+		StreamUtil.transfer(
+			new GZIPInputStream(new UnsyncByteArrayInputStream(bytes)),
+			unsyncByteArrayOutputStream);
+
+		return unsyncByteArrayOutputStream.toByteArray();
+	}
+
+}
@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.servlet.filters.strip;
+
+import com.liferay.portal.cache.key.HashCodeCacheKeyGenerator;
+import com.liferay.portal.kernel.cache.key.CacheKeyGeneratorUtil;
+import com.liferay.portal.kernel.util.PropsKeys;
+import com.liferay.portal.kernel.util.PropsUtil;
+
+import java.io.StringWriter;
+
+import java.nio.CharBuffer;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+import org.powermock.api.mockito.PowerMockito;
+import org.powermock.core.classloader.annotations.PrepareForTest;
+import org.powermock.modules.junit4.PowerMockRunner;
+
+/**
+ * @author Shuyang Zhou
+ */
+@PrepareForTest({CacheKeyGeneratorUtil.class, PropsUtil.class})
+@RunWith(PowerMockRunner.class)
+public class StripWriterTest extends PowerMockito {
+
+	@Before
+	public void setUp() {
+		mockStatic(CacheKeyGeneratorUtil.class);
+
+		when(
+			CacheKeyGeneratorUtil.getCacheKeyGenerator(
+				StripFilter.class.getName())
+		).thenReturn(
+			new HashCodeCacheKeyGenerator()
+		);
+
+		mockStatic(PropsUtil.class);
+
+		when(
+			PropsUtil.get(PropsKeys.TCK_URL)
+		).thenReturn(
+			PropsKeys.TCK_URL
+		);
+	}
+
+	@Test
+	public void testFlushKeepsIncompleteTail() throws Exception {
+		StripFilter stripFilter = new StripFilter();
+		StringWriter stringWriter = new StringWriter();
+
+		StripWriter stripWriter = new StripWriter(
+			null, null, stripFilter, stringWriter);
+
+		stripWriter.write(" <p>a</p> \n ");
+		stripWriter.flush();
+
+		Assert.assertEquals("<p>a</p>", stringWriter.toString());
+
+		stripWriter.write("<pre> a  b ");
+		stripWriter.flush();
+
+		Assert.assertEquals("<p>a</p> ", stringWriter.toString());
+
+		stripWriter.write("</pre> ");
+		stripWriter.flush();
+
+		Assert.assertEquals("<p>a</p> ", stringWriter.toString());
+
+		stripWriter.write("<p>");
+		stripWriter.flush();
+
+		Assert.assertEquals(
+			"<p>a</p> <pre> a  b </pre> <p>", stringWriter.toString());
+
+		stripWriter.write("b</p> ");
+		stripWriter.finish();
+
+		Assert.assertEquals(
+			"<p>a</p> <pre> a  b </pre> <p>b</p> ", stringWriter.toString());
+	}
+
+	@Test
+	public void testStripInChunks() throws Exception {
+		String content =
+			" \n<html> \n <head>\t<script type=\"text/javascript\">  " +
+				"var a = 1;  </script>\n <script type=\"text/template\">" +
+					"  <p>  </p>  </script> <style type=\"text/css\">" +
+						" .a { color: red; } </style> </head>\n<body>  " +
+							"<pre>  a  b  </pre> <textarea rows=\"2\">  x  " +
+								"</textarea>\n <input type=\"text\" />  " +
+									"<p>  a   b </p>\n<input></body> " +
+										"</html>  \n";
+
+		StripFilter stripFilter = new StripFilter();
+
+		StringWriter stringWriter = new StringWriter();
+
+		stripFilter.strip(
+			null, null, CharBuffer.wrap(content), stringWriter);
+
+		String expected = stringWriter.toString();
+
+		for (int chunkSize = 1; chunkSize <= content.length(); chunkSize++) {
+			stringWriter = new StringWriter();
+
+			StripWriter stripWriter = new StripWriter(
+				null, null, stripFilter, stringWriter);
+
+			for (int i = 0; i < content.length(); i += chunkSize) {
+				stripWriter.write(
+					content, i, Math.min(chunkSize, content.length() - i));
+
+				stripWriter.flush();
+			}
+
+			stripWriter.finish();
+
+			Assert.assertEquals(
+				"Chunk size " + chunkSize, expected, stringWriter.toString());
+		}
+	}
+
+}
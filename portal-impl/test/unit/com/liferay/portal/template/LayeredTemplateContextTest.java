@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.template;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class LayeredTemplateContextTest {
+
+	@Before
+	public void setUp() {
+		Map<String, Object> baseContext = new HashMap<String, Object>();
+
+		baseContext.put("key1", "base1");
+		baseContext.put("key2", "base2");
+
+		_baseContext = Collections.unmodifiableMap(baseContext);
+
+		_layeredTemplateContext = new LayeredTemplateContext(_baseContext);
+	}
+
+	@Test
+	public void testClear() {
+		_layeredTemplateContext.put("key3", "value3");
+
+		_layeredTemplateContext.clear();
+
+		Assert.assertTrue(_layeredTemplateContext.isEmpty());
+		Assert.assertNull(_layeredTemplateContext.get("key1"));
+		Assert.assertEquals(2, _baseContext.size());
+
+		_layeredTemplateContext.put("key1", "value1");
+
+		Assert.assertEquals("value1", _layeredTemplateContext.get("key1"));
+		Assert.assertEquals(1, _layeredTemplateContext.size());
+	}
+
+	@Test
+	public void testGet() {
+		Assert.assertEquals("base1", _layeredTemplateContext.get("key1"));
+		Assert.assertNull(_layeredTemplateContext.get("key3"));
+		Assert.assertTrue(_layeredTemplateContext.containsKey("key2"));
+		Assert.assertFalse(_layeredTemplateContext.containsKey("key3"));
+		Assert.assertEquals(2, _layeredTemplateContext.size());
+	}
+
+	@Test
+	public void testNullBaseContext() {
+		LayeredTemplateContext layeredTemplateContext =
+			new LayeredTemplateContext(null);
+
+		Assert.assertTrue(layeredTemplateContext.isEmpty());
+
+		layeredTemplateContext.put("key1", "value1");
+
+		Assert.assertEquals("value1", layeredTemplateContext.get("key1"));
+	}
+
+	@Test
+	public void testPut() {
+		Assert.assertEquals(
+			"base1", _layeredTemplateContext.put("key1", "value1"));
+		Assert.assertNull(_layeredTemplateContext.put("key3", "value3"));
+
+		Assert.assertEquals("value1", _layeredTemplateContext.get("key1"));
+		Assert.assertEquals("value3", _layeredTemplateContext.get("key3"));
+		Assert.assertEquals("base1", _baseContext.get("key1"));
+		Assert.assertFalse(_baseContext.containsKey("key3"));
+
+		Map<String, Object> expectedContext = new HashMap<String, Object>();
+
+		expectedContext.put("key1", "value1");
+		expectedContext.put("key2", "base2");
+		expectedContext.put("key3", "value3");
+
+		Assert.assertEquals(expectedContext, _layeredTemplateContext);
+	}
+
+	@Test
+	public void testRemove() {
+		_layeredTemplateContext.put("key1", "value1");
+
+		Assert.assertEquals("value1", _layeredTemplateContext.remove("key1"));
+		Assert.assertNull(_layeredTemplateContext.get("key1"));
+		Assert.assertFalse(_layeredTemplateContext.containsKey("key1"));
+		Assert.assertEquals(1, _layeredTemplateContext.size());
+		Assert.assertEquals("base1", _baseContext.get("key1"));
+
+		_layeredTemplateContext.put("key1", "value1");
+
+		Assert.assertEquals("value1", _layeredTemplateContext.get("key1"));
+		Assert.assertEquals(2, _layeredTemplateContext.size());
+	}
+
+	private Map<String, Object> _baseContext;
+	private LayeredTemplateContext _layeredTemplateContext;
+
+}
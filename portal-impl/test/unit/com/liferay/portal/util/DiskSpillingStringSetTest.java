@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.util;
+
+import com.liferay.portal.kernel.util.FastDateFormatFactoryUtil;
+import com.liferay.portal.kernel.util.FileUtil;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class DiskSpillingStringSetTest {
+
+	@Before
+	public void setUp() {
+		FastDateFormatFactoryUtil fastDateFormatFactoryUtil =
+			new FastDateFormatFactoryUtil();
+
+		fastDateFormatFactoryUtil.setFastDateFormatFactory(
+			new FastDateFormatFactoryImpl());
+
+		FileUtil fileUtil = new FileUtil();
+
+		fileUtil.setFile(new FileImpl());
+	}
+
+	@Test
+	public void testClear() {
+		DiskSpillingStringSet diskSpillingStringSet = new DiskSpillingStringSet(
+			2);
+
+		for (int i = 0; i < 10; i++) {
+			diskSpillingStringSet.add(String.valueOf(i));
+		}
+
+		Assert.assertTrue(diskSpillingStringSet.isSpilled());
+
+		diskSpillingStringSet.clear();
+
+		Assert.assertFalse(diskSpillingStringSet.isSpilled());
+		Assert.assertTrue(diskSpillingStringSet.isEmpty());
+		Assert.assertFalse(diskSpillingStringSet.contains("1"));
+		Assert.assertTrue(diskSpillingStringSet.add("1"));
+		Assert.assertTrue(diskSpillingStringSet.contains("1"));
+	}
+
+	@Test
+	public void testCollidingHashCodes() {
+		DiskSpillingStringSet diskSpillingStringSet = new DiskSpillingStringSet(
+			1);
+
+		Assert.assertEquals("Aa".hashCode(), "BB".hashCode());
+
+		Assert.assertTrue(diskSpillingStringSet.add("Aa"));
+		Assert.assertTrue(diskSpillingStringSet.add("BB"));
+		Assert.assertTrue(diskSpillingStringSet.isSpilled());
+		Assert.assertTrue(diskSpillingStringSet.contains("Aa"));
+		Assert.assertTrue(diskSpillingStringSet.contains("BB"));
+		Assert.assertTrue(diskSpillingStringSet.remove("Aa"));
+		Assert.assertFalse(diskSpillingStringSet.contains("Aa"));
+		Assert.assertTrue(diskSpillingStringSet.contains("BB"));
+		Assert.assertTrue(diskSpillingStringSet.add("Aa"));
+		Assert.assertEquals(2, diskSpillingStringSet.size());
+	}
+
+	@Test
+	public void testSpill() {
+		DiskSpillingStringSet diskSpillingStringSet = new DiskSpillingStringSet(
+			100);
+
+		Set<String> expectedSet = new HashSet<String>();
+
+		for (int i = 0; i < 1000; i++) {
+			String s = "com.liferay.portal.model.Layout#" + i + "é";
+
+			Assert.assertTrue(diskSpillingStringSet.add(s));
+			Assert.assertFalse(diskSpillingStringSet.add(s));
+
+			expectedSet.add(s);
+
+			if (i == 99) {
+				Assert.assertFalse(diskSpillingStringSet.isSpilled());
+			}
+		}
+
+		Assert.assertTrue(diskSpillingStringSet.isSpilled());
+		Assert.assertEquals(expectedSet, diskSpillingStringSet);
+
+		for (int i = 0; i < 1000; i += 2) {
+			String s = "com.liferay.portal.model.Layout#" + i + "é";
+
+			Assert.assertTrue(diskSpillingStringSet.remove(s));
+			Assert.assertFalse(diskSpillingStringSet.remove(s));
+
+			expectedSet.remove(s);
+		}
+
+		Assert.assertEquals(expectedSet, diskSpillingStringSet);
+
+		Iterator<String> iterator = diskSpillingStringSet.iterator();
+
+		while (iterator.hasNext()) {
+			String s = iterator.next();
+
+			if (s.endsWith("1é")) {
+				iterator.remove();
+
+				expectedSet.remove(s);
+			}
+		}
+
+		Assert.assertEquals(expectedSet, diskSpillingStringSet);
+		Assert.assertFalse(
+			diskSpillingStringSet.contains(
+				"com.liferay.portal.model.Layout#1é"));
+	}
+
+}
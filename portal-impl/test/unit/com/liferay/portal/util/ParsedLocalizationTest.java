@@ -0,0 +1,159 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.util;
+
+import com.liferay.portal.kernel.language.Language;
+import com.liferay.portal.kernel.language.LanguageUtil;
+import com.liferay.portal.kernel.util.LocaleUtil;
+import com.liferay.portal.kernel.util.LocalizationUtil;
+import com.liferay.portal.kernel.util.ParsedLocalization;
+import com.liferay.portal.kernel.util.StringPool;
+
+import java.util.Locale;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import org.mockito.Mockito;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class ParsedLocalizationTest {
+
+	@Before
+	public void setUp() {
+		Language language = Mockito.mock(Language.class);
+
+		Mockito.when(
+			language.getAvailableLocales()
+		).thenReturn(
+			new Locale[] {LocaleUtil.US, LocaleUtil.SPAIN, LocaleUtil.BRAZIL}
+		);
+
+		Mockito.when(
+			language.isAvailableLanguageCode(Mockito.anyString())
+		).thenReturn(
+			true
+		);
+
+		Mockito.when(
+			language.isDuplicateLanguageCode("pt")
+		).thenReturn(
+			true
+		);
+
+		Mockito.when(
+			language.getLocale("pt")
+		).thenReturn(
+			LocaleUtil.PORTUGAL
+		);
+
+		LanguageUtil languageUtil = new LanguageUtil();
+
+		languageUtil.setLanguage(language);
+
+		LocalizationUtil localizationUtil = new LocalizationUtil();
+
+		localizationUtil.setLocalization(_localization);
+	}
+
+	@Test
+	public void testGetLocalization() {
+		ParsedLocalization parsedLocalization = new ParsedLocalization(_XML);
+
+		Assert.assertEquals(
+			"Spanish", parsedLocalization.getLocalization("es_ES", false));
+		Assert.assertEquals(
+			"English", parsedLocalization.getLocalization("de_DE", true));
+		Assert.assertEquals(
+			StringPool.BLANK,
+			parsedLocalization.getLocalization("de_DE", false));
+		Assert.assertEquals(
+			"Portuguese", parsedLocalization.getLocalization("pt_BR", true));
+		Assert.assertEquals(
+			StringPool.BLANK,
+			parsedLocalization.getLocalization("pt_BR", false));
+		Assert.assertEquals(
+			"English", parsedLocalization.getLocalization("fr_FR", true));
+
+		Assert.assertEquals("en_US", parsedLocalization.getDefaultLanguageId());
+		Assert.assertArrayEquals(
+			new String[] {"en_US", "es_ES", "pt_PT", "fr_FR"},
+			parsedLocalization.getAvailableLanguageIds());
+		Assert.assertTrue(parsedLocalization.isLocalized());
+	}
+
+	@Test
+	public void testGetLocalizationMap() {
+		ParsedLocalization parsedLocalization = new ParsedLocalization(_XML);
+
+		Map<Locale, String> localizationMap =
+			parsedLocalization.getLocalizationMap(false);
+
+		Assert.assertEquals(3, localizationMap.size());
+		Assert.assertEquals("English", localizationMap.get(LocaleUtil.US));
+		Assert.assertEquals("Spanish", localizationMap.get(LocaleUtil.SPAIN));
+		Assert.assertEquals(
+			StringPool.BLANK, localizationMap.get(LocaleUtil.BRAZIL));
+
+		localizationMap = parsedLocalization.getLocalizationMap(true);
+
+		Assert.assertEquals(
+			"Portuguese", localizationMap.get(LocaleUtil.BRAZIL));
+	}
+
+	@Test
+	public void testGetParsedLocalization() {
+		ParsedLocalization parsedLocalization =
+			_localization.getParsedLocalization(_XML);
+
+		Assert.assertSame(
+			parsedLocalization, _localization.getParsedLocalization(_XML));
+		Assert.assertEquals(
+			"Spanish", _localization.getLocalization(_XML, "es_ES"));
+		Assert.assertNotSame(
+			parsedLocalization, _localization.parseLocalization(_XML));
+	}
+
+	@Test
+	public void testNonlocalizedValue() {
+		ParsedLocalization parsedLocalization = new ParsedLocalization(
+			"Plain");
+
+		Assert.assertFalse(parsedLocalization.isLocalized());
+		Assert.assertEquals(
+			"Plain", parsedLocalization.getLocalization("es_ES", true));
+		Assert.assertEquals(
+			"Plain", parsedLocalization.getLocalization("en_US", false));
+		Assert.assertEquals(
+			StringPool.BLANK,
+			parsedLocalization.getLocalization("es_ES", false));
+		Assert.assertNull(parsedLocalization.getValue("en_US"));
+	}
+
+	private static final String _XML =
+		"<?xml version='1.0' encoding='UTF-8'?><root available-locales=" +
+			"\"en_US,es_ES,pt_PT\" default-locale=\"en_US\"><Title " +
+				"language-id=\"en_US\">English</Title><Title language-id=" +
+					"\"es_ES\">Spanish</Title><Title language-id=\"pt_PT\">" +
+						"Portuguese</Title><Title language-id=\"fr_FR\" />" +
+							"</root>";
+
+	private LocalizationImpl _localization = new LocalizationImpl();
+
+}
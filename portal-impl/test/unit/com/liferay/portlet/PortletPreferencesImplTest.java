@@ -0,0 +1,124 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portlet;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class PortletPreferencesImplTest {
+
+	@Test
+	public void testGetMap() {
+		PortletPreferencesImpl portletPreferencesImpl =
+			new PortletPreferencesImpl(createParsedPreferences());
+
+		Map<String, String[]> map = portletPreferencesImpl.getMap();
+
+		Assert.assertEquals(3, map.size());
+		Assert.assertArrayEquals(new String[] {"value1"}, map.get("name1"));
+		Assert.assertArrayEquals(
+			new String[] {"value2", "value3"}, map.get("name2"));
+		Assert.assertNull(map.get("name3"));
+
+		String[] values = map.get("name1");
+
+		values[0] = "changed";
+
+		Assert.assertEquals(
+			"value1", portletPreferencesImpl.getValue("name1", null));
+	}
+
+	@Test
+	public void testGetValues() {
+		PortletPreferencesImpl portletPreferencesImpl =
+			new PortletPreferencesImpl(createParsedPreferences());
+
+		Assert.assertEquals(
+			"value1", portletPreferencesImpl.getValue("name1", null));
+		Assert.assertEquals(
+			"value2", portletPreferencesImpl.getValue("name2", null));
+		Assert.assertNull(portletPreferencesImpl.getValue("name3", "def"));
+		Assert.assertEquals(
+			"def", portletPreferencesImpl.getValue("name4", "def"));
+
+		String[] values = portletPreferencesImpl.getValues("name2", null);
+
+		Assert.assertArrayEquals(new String[] {"value2", "value3"}, values);
+
+		values[0] = "changed";
+
+		Assert.assertArrayEquals(
+			new String[] {"value2", "value3"},
+			portletPreferencesImpl.getValues("name2", null));
+		Assert.assertNull(portletPreferencesImpl.getValues("name3", null));
+		Assert.assertArrayEquals(
+			new String[] {"def"},
+			portletPreferencesImpl.getValues("name4", new String[] {"def"}));
+	}
+
+	@Test
+	public void testSetValue() throws Exception {
+		ParsedPreferences parsedPreferences = createParsedPreferences();
+
+		PortletPreferencesImpl portletPreferencesImpl1 =
+			new PortletPreferencesImpl(parsedPreferences);
+		PortletPreferencesImpl portletPreferencesImpl2 =
+			new PortletPreferencesImpl(parsedPreferences);
+
+		portletPreferencesImpl1.setValue("name1", "changed");
+		portletPreferencesImpl1.setValue("name4", "value4");
+
+		Assert.assertEquals(
+			"changed", portletPreferencesImpl1.getValue("name1", null));
+		Assert.assertEquals(
+			"value4", portletPreferencesImpl1.getValue("name4", null));
+		Assert.assertEquals(4, portletPreferencesImpl1.size());
+
+		Assert.assertEquals(
+			"value1", portletPreferencesImpl2.getValue("name1", null));
+		Assert.assertNull(portletPreferencesImpl2.getValue("name4", null));
+		Assert.assertEquals(3, portletPreferencesImpl2.size());
+
+		Map<String, Preference> preferences =
+			parsedPreferences.getPreferences();
+
+		Preference preference = preferences.get("name1");
+
+		Assert.assertArrayEquals(
+			new String[] {"value1"}, preference.getValues());
+		Assert.assertEquals(
+			parsedPreferences.getXML(), portletPreferencesImpl2.toXML());
+	}
+
+	protected ParsedPreferences createParsedPreferences() {
+		Map<String, Preference> preferences =
+			new HashMap<String, Preference>();
+
+		preferences.put("name1", new Preference("name1", "value1"));
+		preferences.put(
+			"name2",
+			new Preference("name2", new String[] {"value2", "value3"}));
+		preferences.put("name3", new Preference("name3", "NULL_VALUE"));
+
+		return new ParsedPreferences("<portlet-preferences />", preferences);
+	}
+
+}
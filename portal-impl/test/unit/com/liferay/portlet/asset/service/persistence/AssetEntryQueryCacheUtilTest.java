@@ -0,0 +1,228 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portlet.asset.service.persistence;
+
+import com.liferay.portal.cache.MockMultiVMPool;
+import com.liferay.portal.kernel.cache.MultiVMPoolUtil;
+import com.liferay.portal.kernel.transaction.TransactionCommitCallbackRegistry;
+import com.liferay.portal.kernel.transaction.TransactionCommitCallbackRegistryUtil;
+import com.liferay.portal.kernel.uuid.PortalUUIDUtil;
+import com.liferay.portal.util.PropsValues;
+import com.liferay.portal.uuid.PortalUUIDImpl;
+
+import java.util.Date;
+import java.util.concurrent.Callable;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class AssetEntryQueryCacheUtilTest {
+
+	@BeforeClass
+	public static void setUpClass() {
+		MultiVMPoolUtil multiVMPoolUtil = new MultiVMPoolUtil();
+
+		multiVMPoolUtil.setMultiVMPool(new MockMultiVMPool());
+
+		PortalUUIDUtil portalUUIDUtil = new PortalUUIDUtil();
+
+		portalUUIDUtil.setPortalUUID(new PortalUUIDImpl());
+
+		TransactionCommitCallbackRegistryUtil
+			transactionCommitCallbackRegistryUtil =
+				new TransactionCommitCallbackRegistryUtil();
+
+		transactionCommitCallbackRegistryUtil.setTransactionCallbackRegistry(
+			new TransactionCommitCallbackRegistry() {
+
+				@Override
+				public void registerCallback(Callable<?> callable) {
+					try {
+						callable.call();
+					}
+					catch (Exception e) {
+						throw new RuntimeException(e);
+					}
+				}
+
+			});
+	}
+
+	@Test
+	public void testClearCache() {
+		AssetEntryQuery entryQuery1 = createAssetEntryQuery(
+			new long[] {1, 2}, new long[] {10});
+		AssetEntryQuery entryQuery2 = createAssetEntryQuery(
+			new long[] {1}, new long[0]);
+
+		putResult(entryQuery1);
+		putResult(entryQuery2);
+
+		AssetEntryQueryCacheUtil.clearCache(3, 10);
+
+		assertCached(entryQuery1, true);
+		assertCached(entryQuery2, true);
+
+		AssetEntryQueryCacheUtil.clearCache(1, 20);
+
+		assertCached(entryQuery1, true);
+		assertCached(entryQuery2, false);
+
+		putResult(entryQuery2);
+
+		AssetEntryQueryCacheUtil.clearCache(2, 10);
+
+		assertCached(entryQuery1, false);
+		assertCached(entryQuery2, true);
+
+		putResult(entryQuery1);
+
+		AssetEntryQueryCacheUtil.clearCache();
+
+		assertCached(entryQuery1, false);
+		assertCached(entryQuery2, false);
+	}
+
+	@Test
+	public void testGetCacheKey() {
+		AssetEntryQuery entryQuery1 = createAssetEntryQuery(
+			new long[] {1, 2}, new long[] {10});
+		AssetEntryQuery entryQuery2 = createAssetEntryQuery(
+			new long[] {2, 1}, new long[] {10});
+
+		Assert.assertEquals(
+			AssetEntryQueryCacheUtil.getCacheKey(entryQuery1, false),
+			AssetEntryQueryCacheUtil.getCacheKey(entryQuery2, false));
+
+		long time =
+			PropsValues.ASSET_ENTRY_QUERY_CACHE_DATE_INTERVAL * 1000;
+
+		entryQuery1.setPublishDate(new Date(time));
+		entryQuery2.setPublishDate(new Date(time + 1));
+
+		Assert.assertEquals(
+			AssetEntryQueryCacheUtil.getCacheKey(entryQuery1, false),
+			AssetEntryQueryCacheUtil.getCacheKey(entryQuery2, false));
+
+		entryQuery2.setStart(10);
+		entryQuery2.setEnd(20);
+
+		Assert.assertEquals(
+			AssetEntryQueryCacheUtil.getCacheKey(entryQuery1, true),
+			AssetEntryQueryCacheUtil.getCacheKey(entryQuery2, true));
+		Assert.assertFalse(
+			AssetEntryQueryCacheUtil.getCacheKey(entryQuery1, false).equals(
+				AssetEntryQueryCacheUtil.getCacheKey(entryQuery2, false)));
+
+		entryQuery2.setAnyTagIds(new long[] {100});
+
+		Assert.assertFalse(
+			AssetEntryQueryCacheUtil.getCacheKey(entryQuery1, true).equals(
+				AssetEntryQueryCacheUtil.getCacheKey(entryQuery2, true)));
+	}
+
+	@Test
+	public void testGetCacheableDates() {
+		long interval = PropsValues.ASSET_ENTRY_QUERY_CACHE_DATE_INTERVAL;
+
+		long time = interval * 1000;
+
+		Assert.assertEquals(
+			new Date(time),
+			AssetEntryQueryCacheUtil.getCacheableExpirationDate(
+				new Date(time)));
+		Assert.assertEquals(
+			new Date(time + interval),
+			AssetEntryQueryCacheUtil.getCacheableExpirationDate(
+				new Date(time + 1)));
+		Assert.assertEquals(
+			new Date(time),
+			AssetEntryQueryCacheUtil.getCacheablePublishDate(new Date(time)));
+		Assert.assertEquals(
+			new Date(time),
+			AssetEntryQueryCacheUtil.getCacheablePublishDate(
+				new Date(time + interval - 1)));
+		Assert.assertNull(
+			AssetEntryQueryCacheUtil.getCacheableExpirationDate(null));
+		Assert.assertNull(
+			AssetEntryQueryCacheUtil.getCacheablePublishDate(null));
+	}
+
+	@Test
+	public void testIsCacheable() {
+		AssetEntryQuery entryQuery = createAssetEntryQuery(
+			new long[] {1}, new long[0]);
+
+		Assert.assertTrue(AssetEntryQueryCacheUtil.isCacheable(entryQuery));
+
+		entryQuery.setOrderByCol2("ratings");
+
+		Assert.assertFalse(AssetEntryQueryCacheUtil.isCacheable(entryQuery));
+
+		entryQuery = createAssetEntryQuery(new long[] {1}, new long[0]);
+
+		entryQuery.setExcludeZeroViewCount(true);
+
+		Assert.assertFalse(AssetEntryQueryCacheUtil.isCacheable(entryQuery));
+
+		entryQuery = createAssetEntryQuery(new long[] {1}, new long[0]);
+
+		entryQuery.setLinkedAssetEntryId(1);
+
+		Assert.assertFalse(AssetEntryQueryCacheUtil.isCacheable(entryQuery));
+	}
+
+	protected void assertCached(AssetEntryQuery entryQuery, boolean cached) {
+		String cacheKey = AssetEntryQueryCacheUtil.getCacheKey(
+			entryQuery, true);
+
+		if (cached) {
+			Assert.assertNotNull(AssetEntryQueryCacheUtil.getResult(cacheKey));
+		}
+		else {
+			Assert.assertNull(AssetEntryQueryCacheUtil.getResult(cacheKey));
+		}
+	}
+
+	protected AssetEntryQuery createAssetEntryQuery(
+		long[] groupIds, long[] classNameIds) {
+
+		AssetEntryQuery entryQuery = new AssetEntryQuery();
+
+		entryQuery.setClassNameIds(classNameIds);
+		entryQuery.setGroupIds(groupIds);
+		entryQuery.setOrderByCol1("modifiedDate");
+		entryQuery.setOrderByCol2("title");
+		entryQuery.setOrderByType1("DESC");
+		entryQuery.setOrderByType2("ASC");
+
+		return entryQuery;
+	}
+
+	protected void putResult(AssetEntryQuery entryQuery) {
+		String[] dependencyKeys = AssetEntryQueryCacheUtil.getDependencyKeys(
+			entryQuery);
+
+		AssetEntryQueryCacheUtil.putResult(
+			AssetEntryQueryCacheUtil.getCacheKey(entryQuery, true),
+			dependencyKeys,
+			AssetEntryQueryCacheUtil.getDependencyTokens(dependencyKeys), 1);
+	}
+
+}
@@ -0,0 +1,67 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portlet.dynamicdatamapping.service.persistence;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Brian Wing Shun Chan
+ */
+public class DDMStorageLinkFinderImplTest {
+
+	@Test
+	public void testGetDataPatterns() {
+		String[] dataPatterns = _ddmStorageLinkFinderImpl.getDataPatterns(
+			"one");
+
+		Assert.assertArrayEquals(
+			new String[] {
+				"%>one</Data>%", "%>one</Data>%", "%>one,%", "%,one,%",
+				"%,one</Data>%"
+			},
+			dataPatterns);
+	}
+
+	@Test
+	public void testGetDataPatternsEscapesLikeWildcards() {
+		String[] dataPatterns = _ddmStorageLinkFinderImpl.getDataPatterns(
+			"100%_done!");
+
+		Assert.assertEquals("%>100!%!_done!!</Data>%", dataPatterns[0]);
+	}
+
+	@Test
+	public void testGetDataPatternsEscapesRepeatableCommas() {
+		String[] dataPatterns = _ddmStorageLinkFinderImpl.getDataPatterns(
+			"one,two");
+
+		Assert.assertEquals("%>one,two</Data>%", dataPatterns[0]);
+		Assert.assertEquals(
+			"%,one[$LIFERAY!_EXPANDO!_COMMA$]two,%", dataPatterns[3]);
+	}
+
+	@Test
+	public void testGetDataPatternsEscapesXML() {
+		String[] dataPatterns = _ddmStorageLinkFinderImpl.getDataPatterns(
+			"<a & b>");
+
+		Assert.assertEquals("%>&lt;a &amp; b&gt;</Data>%", dataPatterns[0]);
+	}
+
+	private DDMStorageLinkFinderImpl _ddmStorageLinkFinderImpl =
+		new DDMStorageLinkFinderImpl();
+
+}
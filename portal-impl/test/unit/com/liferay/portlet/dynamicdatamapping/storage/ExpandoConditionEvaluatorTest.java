@@ -0,0 +1,139 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portlet.dynamicdatamapping.storage;
+
+import com.liferay.portlet.dynamicdatamapping.storage.query.Condition;
+import com.liferay.portlet.dynamicdatamapping.storage.query.ConditionFactoryImpl;
+import com.liferay.portlet.dynamicdatamapping.storage.query.Junction;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Brian Wing Shun Chan
+ */
+public class ExpandoConditionEvaluatorTest {
+
+	@Test
+	public void testEquals() {
+		Assert.assertTrue(evaluate(_conditionFactory.eq("text", "one")));
+		Assert.assertTrue(evaluate(_conditionFactory.eq("text", "um & dois")));
+		Assert.assertFalse(evaluate(_conditionFactory.eq("text", "on")));
+		Assert.assertFalse(evaluate(_conditionFactory.eq("missing", "one")));
+	}
+
+	@Test
+	public void testEqualsRepeatable() {
+		Assert.assertTrue(evaluate(_conditionFactory.eq("select", "a")));
+		Assert.assertTrue(evaluate(_conditionFactory.eq("select", "b,c")));
+		Assert.assertTrue(evaluate(_conditionFactory.eq("select", "d")));
+		Assert.assertFalse(evaluate(_conditionFactory.eq("select", "b")));
+		Assert.assertFalse(evaluate(_conditionFactory.eq("select", "a,b")));
+	}
+
+	@Test
+	public void testIn() {
+		Assert.assertTrue(
+			evaluate(_conditionFactory.in("text", Arrays.asList("x", "one"))));
+		Assert.assertFalse(
+			evaluate(_conditionFactory.in("text", new String[] {"x", "y"})));
+		Assert.assertTrue(
+			evaluate(_conditionFactory.notIn("text", new String[] {"x"})));
+	}
+
+	@Test
+	public void testIsSQLCondition() {
+		Junction junction = _conditionFactory.conjunction();
+
+		junction.add(_conditionFactory.eq("text", "one"));
+
+		Assert.assertTrue(ExpandoConditionEvaluator.isSQLCondition(junction));
+
+		junction.add(_conditionFactory.like("text", ".*"));
+
+		Assert.assertFalse(ExpandoConditionEvaluator.isSQLCondition(junction));
+	}
+
+	@Test
+	public void testJunction() {
+		Junction conjunction = _conditionFactory.conjunction();
+
+		conjunction.add(_conditionFactory.eq("text", "one"));
+		conjunction.add(_conditionFactory.like("select", ".*>d<.*"));
+
+		Assert.assertTrue(evaluate(conjunction));
+
+		conjunction.add(_conditionFactory.eq("text", "two"));
+
+		Assert.assertFalse(evaluate(conjunction));
+
+		Junction disjunction = _conditionFactory.disjunction();
+
+		disjunction.add(_conditionFactory.eq("text", "two"));
+		disjunction.add(_conditionFactory.like("text", ".*one.*"));
+
+		Assert.assertTrue(evaluate(disjunction));
+	}
+
+	@Test
+	public void testLikeMatchesRawDataAsRegularExpression() {
+		Assert.assertTrue(evaluate(_conditionFactory.like("text", ".*one.*")));
+		Assert.assertTrue(
+			evaluate(_conditionFactory.like("text", ".*language-id=.*")));
+		Assert.assertFalse(evaluate(_conditionFactory.like("text", "one")));
+		Assert.assertFalse(evaluate(_conditionFactory.like("text", "[")));
+		Assert.assertFalse(evaluate(_conditionFactory.like("missing", ".*")));
+	}
+
+	@Test
+	public void testNotEquals() {
+		Assert.assertFalse(evaluate(_conditionFactory.ne("text", "one")));
+		Assert.assertTrue(evaluate(_conditionFactory.ne("text", "two")));
+		Assert.assertTrue(evaluate(_conditionFactory.ne("missing", "one")));
+	}
+
+	protected boolean evaluate(Condition condition) {
+		Map<String, String> dataMap = new HashMap<String, String>();
+
+		dataMap.put(
+			"select",
+			"<?xml version='1.0' encoding='UTF-8'?><root available-locales=" +
+				"\"en_US,pt_BR\" default-locale=\"en_US\"><Data language-id=" +
+					"\"en_US\">a,b[$LIFERAY_EXPANDO_COMMA$]c</Data><Data " +
+						"language-id=\"pt_BR\">d</Data></root>");
+		dataMap.put(
+			"text",
+			"<?xml version='1.0' encoding='UTF-8'?><root available-locales=" +
+				"\"en_US,pt_BR\" default-locale=\"en_US\"><Data language-id=" +
+					"\"en_US\">one</Data><Data language-id=\"pt_BR\">um " +
+						"&amp; dois</Data></root>");
+
+		Set<String> repeatableFieldNames = Collections.singleton("select");
+
+		ExpandoConditionEvaluator expandoConditionEvaluator =
+			new ExpandoConditionEvaluator(condition, repeatableFieldNames);
+
+		return expandoConditionEvaluator.evaluate(dataMap);
+	}
+
+	private ConditionFactoryImpl _conditionFactory = new ConditionFactoryImpl();
+
+}
@@ -0,0 +1,266 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portlet.journalcontent.util;
+
+import com.liferay.portal.cache.MockMultiVMPool;
+import com.liferay.portal.kernel.cache.MultiVMPoolUtil;
+import com.liferay.portal.kernel.uuid.PortalUUIDUtil;
+import com.liferay.portal.theme.ThemeDisplay;
+import com.liferay.portal.uuid.PortalUUIDImpl;
+import com.liferay.portlet.journal.model.JournalArticleDisplay;
+import com.liferay.portlet.journal.model.impl.JournalArticleDisplayImpl;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class JournalContentImplTest {
+
+	@BeforeClass
+	public static void setUpClass() {
+		MultiVMPoolUtil multiVMPoolUtil = new MultiVMPoolUtil();
+
+		multiVMPoolUtil.setMultiVMPool(new MockMultiVMPool());
+
+		PortalUUIDUtil portalUUIDUtil = new PortalUUIDUtil();
+
+		portalUUIDUtil.setPortalUUID(new PortalUUIDImpl());
+	}
+
+	@After
+	public void tearDown() {
+		JournalContentImpl.dependencyPortalCache.removeAll();
+
+		JournalContentImpl.portalCache.removeAll();
+		JournalContentImpl.portalCache.unregisterCacheListeners();
+	}
+
+	@Test
+	public void testClearArticleCache() {
+		MockJournalContentImpl mockJournalContentImpl =
+			new MockJournalContentImpl();
+
+		assertRenderCount(mockJournalContentImpl, "ARTICLE1", 1);
+		assertRenderCount(mockJournalContentImpl, "ARTICLE1", 1);
+		assertRenderCount(mockJournalContentImpl, "ARTICLE2", 1);
+
+		mockJournalContentImpl.clearCache(_GROUP_ID, "article1", null);
+
+		assertRenderCount(mockJournalContentImpl, "ARTICLE1", 2);
+		assertRenderCount(mockJournalContentImpl, "ARTICLE2", 1);
+
+		mockJournalContentImpl.clearCache(_GROUP_ID + 1, "ARTICLE2", null);
+
+		assertRenderCount(mockJournalContentImpl, "ARTICLE2", 1);
+
+		mockJournalContentImpl.clearCache();
+
+		assertRenderCount(mockJournalContentImpl, "ARTICLE1", 3);
+		assertRenderCount(mockJournalContentImpl, "ARTICLE2", 2);
+	}
+
+	@Test
+	public void testClearDDMStructureCache() {
+		MockJournalContentImpl mockJournalContentImpl =
+			new MockJournalContentImpl();
+
+		assertRenderCount(mockJournalContentImpl, "ARTICLE1", 1);
+
+		mockJournalContentImpl.clearDDMStructureCache("OTHER_STRUCTURE");
+
+		assertRenderCount(mockJournalContentImpl, "ARTICLE1", 1);
+
+		mockJournalContentImpl.clearDDMStructureCache("structure");
+
+		assertRenderCount(mockJournalContentImpl, "ARTICLE1", 2);
+
+		mockJournalContentImpl.clearDDMStructureCache("PARENT_STRUCTURE");
+
+		assertRenderCount(mockJournalContentImpl, "ARTICLE1", 3);
+	}
+
+	@Test
+	public void testClearDDMTemplateCache() {
+		MockJournalContentImpl mockJournalContentImpl =
+			new MockJournalContentImpl();
+
+		assertRenderCount(mockJournalContentImpl, "ARTICLE1", 1);
+
+		mockJournalContentImpl.clearDDMTemplateCache("OTHER_TEMPLATE");
+
+		assertRenderCount(mockJournalContentImpl, "ARTICLE1", 1);
+
+		mockJournalContentImpl.clearDDMTemplateCache("template");
+
+		assertRenderCount(mockJournalContentImpl, "ARTICLE1", 2);
+
+		mockJournalContentImpl.clearDDMTemplateCache("INCLUDED_TEMPLATE");
+
+		assertRenderCount(mockJournalContentImpl, "ARTICLE1", 3);
+	}
+
+	@Test
+	public void testClearLayoutCache() {
+		MockJournalContentImpl mockJournalContentImpl =
+			new MockJournalContentImpl();
+
+		assertRenderCount(mockJournalContentImpl, "ARTICLE1", 1);
+
+		mockJournalContentImpl.clearLayoutCache("OTHER_LAYOUT_UUID");
+
+		assertRenderCount(mockJournalContentImpl, "ARTICLE1", 1);
+
+		mockJournalContentImpl.clearLayoutCache(_LAYOUT_UUID);
+
+		assertRenderCount(mockJournalContentImpl, "ARTICLE1", 2);
+	}
+
+	@Test
+	public void testClearNestedArticleCache() {
+		MockJournalContentImpl mockJournalContentImpl =
+			new MockJournalContentImpl();
+
+		assertRenderCount(mockJournalContentImpl, _NESTING_ARTICLE_ID, 1);
+		assertRenderCount(mockJournalContentImpl, _NESTED_ARTICLE_ID, 1);
+
+		mockJournalContentImpl.clearCache(_GROUP_ID, _NESTED_ARTICLE_ID, null);
+
+		assertRenderCount(mockJournalContentImpl, _NESTING_ARTICLE_ID, 2);
+		assertRenderCount(mockJournalContentImpl, _NESTED_ARTICLE_ID, 2);
+
+		// The nested article is served from the cache and still recorded as a
+		// dependency
+
+		mockJournalContentImpl.clearCache(_GROUP_ID, _NESTING_ARTICLE_ID, null);
+
+		assertRenderCount(mockJournalContentImpl, _NESTING_ARTICLE_ID, 3);
+		assertRenderCount(mockJournalContentImpl, _NESTED_ARTICLE_ID, 2);
+
+		mockJournalContentImpl.clearCache(_GROUP_ID, _NESTED_ARTICLE_ID, null);
+
+		assertRenderCount(mockJournalContentImpl, _NESTING_ARTICLE_ID, 4);
+		assertRenderCount(mockJournalContentImpl, _NESTED_ARTICLE_ID, 3);
+	}
+
+	@Test
+	public void testNonrenderRequest() {
+		MockJournalContentImpl mockJournalContentImpl =
+			new MockJournalContentImpl();
+
+		String xmlRequest =
+			"<request><lifecycle>ACTION_PHASE</lifecycle></request>";
+
+		mockJournalContentImpl.getDisplay(
+			_GROUP_ID, "ARTICLE1", "TEMPLATE", null, "en_US", xmlRequest);
+		mockJournalContentImpl.getDisplay(
+			_GROUP_ID, "ARTICLE1", "TEMPLATE", null, "en_US", xmlRequest);
+
+		Assert.assertEquals(
+			2, mockJournalContentImpl.getRenderCount("ARTICLE1"));
+	}
+
+	protected void assertRenderCount(
+		MockJournalContentImpl mockJournalContentImpl, String articleId,
+		int renderCount) {
+
+		JournalArticleDisplay articleDisplay =
+			mockJournalContentImpl.getDisplay(
+				_GROUP_ID, articleId, "TEMPLATE", null, "en_US", _XML_REQUEST);
+
+		Assert.assertEquals(articleId, articleDisplay.getArticleId());
+		Assert.assertEquals(
+			renderCount, mockJournalContentImpl.getRenderCount(articleId));
+	}
+
+	private static final long _GROUP_ID = 10;
+
+	private static final String _LAYOUT_UUID = "LAYOUT_UUID";
+
+	private static final String _NESTED_ARTICLE_ID = "NESTED_ARTICLE";
+
+	private static final String _NESTING_ARTICLE_ID = "NESTING_ARTICLE";
+
+	private static final String _XML_REQUEST =
+		"<request><lifecycle>RENDER_PHASE</lifecycle></request>";
+
+	private static class MockJournalContentImpl extends JournalContentImpl {
+
+		public int getRenderCount(String articleId) {
+			Integer renderCount = _renderCounts.get(articleId);
+
+			if (renderCount == null) {
+				return 0;
+			}
+
+			return renderCount;
+		}
+
+		@Override
+		protected JournalArticleDisplay getArticleDisplay(
+			long groupId, String articleId, String ddmTemplateKey,
+			String viewMode, String languageId, int page, String xmlRequest,
+			ThemeDisplay themeDisplay) {
+
+			_renderCounts.put(articleId, getRenderCount(articleId) + 1);
+
+			if (articleId.equals(_NESTING_ARTICLE_ID)) {
+				getDisplay(
+					groupId, _NESTED_ARTICLE_ID, ddmTemplateKey, viewMode,
+					languageId, themeDisplay, page, xmlRequest);
+			}
+
+			return new JournalArticleDisplayImpl(
+				0, 0, 0, groupId, 0, articleId, 1.0, "Title", "title",
+				"Description", new String[] {languageId}, "Content", "general",
+				"STRUCTURE", ddmTemplateKey, false, 0, null, 1, page, false,
+				true);
+		}
+
+		@Override
+		protected List<String> getDDMStructureKeys(
+			JournalArticleDisplay articleDisplay) {
+
+			return Arrays.asList(
+				articleDisplay.getDDMStructureKey(), "PARENT_STRUCTURE");
+		}
+
+		@Override
+		protected List<String> getDDMTemplateKeys(
+			JournalArticleDisplay articleDisplay) {
+
+			return Arrays.asList(
+				articleDisplay.getDDMTemplateKey(), "INCLUDED_TEMPLATE");
+		}
+
+		@Override
+		protected String getLayoutUuid(JournalArticleDisplay articleDisplay) {
+			return _LAYOUT_UUID;
+		}
+
+		private Map<String, Integer> _renderCounts =
+			new HashMap<String, Integer>();
+
+	}
+
+}
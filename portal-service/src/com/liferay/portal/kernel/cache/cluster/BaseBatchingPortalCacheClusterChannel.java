@@ -0,0 +1,322 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.cache.cluster;
+
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
+
+import java.io.Serializable;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * <p>
+ * A cluster channel that collects events for a short batch window and
+ * dispatches them as one batch per cache. Events for the same cache and key
+ * within a window are coalesced, so only the latest one is sent. A
+ * <code>REMOVE_ALL</code> event drops all earlier events of its cache.
+ * </p>
+ *
+ * <p>
+ * Unlike {@link BasePortalCacheClusterChannel}, coalescing costs a hash lookup
+ * instead of a scan over the pending events, which matters when bulk
+ * operations produce thousands of events per second.
+ * </p>
+ *
+ * @author Shuyang Zhou
+ */
+public abstract class BaseBatchingPortalCacheClusterChannel
+	implements PortalCacheClusterChannel, Runnable {
+
+	public BaseBatchingPortalCacheClusterChannel(
+		int batchSize, long batchWindow) {
+
+		if (batchSize <= 0) {
+			throw new IllegalArgumentException(
+				"Batch size " + batchSize + " is not positive");
+		}
+
+		_batchSize = batchSize;
+		_batchWindow = TimeUnit.MILLISECONDS.toNanos(batchWindow);
+
+		_dispatchThread = new Thread(
+			this,
+			"PortalCacheClusterChannel batching dispatch thread-" +
+				_dispatchThreadCounter.getAndIncrement());
+	}
+
+	@Override
+	public void destroy() {
+		_lock.lock();
+
+		try {
+			_destroy = true;
+
+			_notEmptyCondition.signal();
+		}
+		finally {
+			_lock.unlock();
+		}
+	}
+
+	/**
+	 * Dispatches the coalesced events of one cache.
+	 */
+	public abstract void dispatchEvents(
+		String cacheName,
+		List<PortalCacheClusterEvent> portalCacheClusterEvents);
+
+	@Override
+	public long getCoalescedEventNumber() {
+		return _coalescedEventCounter.get();
+	}
+
+	@Override
+	public int getPendingEventNumber() {
+		return _pendingEventCount;
+	}
+
+	@Override
+	public long getSentEventNumber() {
+		return _sentEventCounter.get();
+	}
+
+	@Override
+	public void run() {
+		while (true) {
+			Map<String, PendingEvents> pendingEventsMap = null;
+			boolean destroy = false;
+
+			_lock.lock();
+
+			try {
+				while (!_destroy && (_pendingEventCount == 0)) {
+					_notEmptyCondition.awaitUninterruptibly();
+				}
+
+				long remainingTime = _batchWindow;
+
+				while (!_destroy && (_pendingEventCount < _batchSize) &&
+					   (remainingTime > 0)) {
+
+					try {
+						remainingTime = _notEmptyCondition.awaitNanos(
+							remainingTime);
+					}
+					catch (InterruptedException ie) {
+					}
+				}
+
+				destroy = _destroy;
+
+				pendingEventsMap = _pendingEventsMap;
+
+				_pendingEventsMap = new HashMap<String, PendingEvents>();
+				_pendingEventCount = 0;
+			}
+			finally {
+				_lock.unlock();
+			}
+
+			for (Map.Entry<String, PendingEvents> entry :
+					pendingEventsMap.entrySet()) {
+
+				PendingEvents pendingEvents = entry.getValue();
+
+				List<PortalCacheClusterEvent> portalCacheClusterEvents =
+					pendingEvents.toList();
+
+				try {
+					dispatchEvents(entry.getKey(), portalCacheClusterEvents);
+
+					_sentEventCounter.addAndGet(
+						portalCacheClusterEvents.size());
+				}
+				catch (Throwable t) {
+					if (_log.isWarnEnabled()) {
+						_log.warn("Please fix the unexpected throwable", t);
+					}
+				}
+			}
+
+			if (destroy) {
+				break;
+			}
+		}
+	}
+
+	@Override
+	public void sendEvent(PortalCacheClusterEvent portalCacheClusterEvent) {
+		if (!_started) {
+			synchronized (this) {
+				if (!_started) {
+					_dispatchThread.start();
+
+					_started = true;
+				}
+			}
+		}
+
+		String cacheName = portalCacheClusterEvent.getCacheName();
+
+		PortalCacheClusterRegionStatistics portalCacheClusterRegionStatistics =
+			PortalCacheClusterStatisticsUtil.getRegionStatistics(cacheName);
+
+		portalCacheClusterRegionStatistics.recordSubmitted();
+
+		_lock.lock();
+
+		try {
+			if (!_destroy) {
+				_addPendingEvent(
+					portalCacheClusterEvent,
+					portalCacheClusterRegionStatistics);
+
+				return;
+			}
+		}
+		finally {
+			_lock.unlock();
+		}
+
+		// The dispatch thread is gone, so dispatch in the current thread
+
+		List<PortalCacheClusterEvent> portalCacheClusterEvents =
+			new ArrayList<PortalCacheClusterEvent>(1);
+
+		portalCacheClusterEvents.add(portalCacheClusterEvent);
+
+		dispatchEvents(cacheName, portalCacheClusterEvents);
+
+		_sentEventCounter.incrementAndGet();
+	}
+
+	private void _addPendingEvent(
+		PortalCacheClusterEvent portalCacheClusterEvent,
+		PortalCacheClusterRegionStatistics portalCacheClusterRegionStatistics) {
+
+		String cacheName = portalCacheClusterEvent.getCacheName();
+
+		PendingEvents pendingEvents = _pendingEventsMap.get(cacheName);
+
+		if (pendingEvents == null) {
+			pendingEvents = new PendingEvents();
+
+			_pendingEventsMap.put(cacheName, pendingEvents);
+		}
+
+		int delta = pendingEvents.add(portalCacheClusterEvent);
+
+		if (delta <= 0) {
+			_coalescedEventCounter.addAndGet(1 - delta);
+
+			portalCacheClusterRegionStatistics.recordCoalesced(1 - delta);
+		}
+
+		_pendingEventCount += delta;
+
+		if ((_pendingEventCount == delta) ||
+			(_pendingEventCount >= _batchSize)) {
+
+			_notEmptyCondition.signal();
+		}
+	}
+
+	private static Log _log = LogFactoryUtil.getLog(
+		BaseBatchingPortalCacheClusterChannel.class);
+
+	private static AtomicInteger _dispatchThreadCounter = new AtomicInteger(0);
+
+	private final int _batchSize;
+	private final long _batchWindow;
+	private final AtomicLong _coalescedEventCounter = new AtomicLong(0);
+	private boolean _destroy;
+	private final Thread _dispatchThread;
+	private final ReentrantLock _lock = new ReentrantLock();
+	private final Condition _notEmptyCondition = _lock.newCondition();
+	private volatile int _pendingEventCount;
+	private Map<String, PendingEvents> _pendingEventsMap =
+		new HashMap<String, PendingEvents>();
+	private final AtomicLong _sentEventCounter = new AtomicLong(0);
+	private volatile boolean _started;
+
+	private static class PendingEvents {
+
+		/**
+		 * Adds the event and returns the change in the number of pending
+		 * events.
+		 */
+		public int add(PortalCacheClusterEvent portalCacheClusterEvent) {
+			if (portalCacheClusterEvent.getEventType() ==
+					PortalCacheClusterEventType.REMOVE_ALL) {
+
+				int delta = -_portalCacheClusterEvents.size();
+
+				_portalCacheClusterEvents.clear();
+
+				if (_removeAllPortalCacheClusterEvent == null) {
+					delta++;
+				}
+
+				_removeAllPortalCacheClusterEvent = portalCacheClusterEvent;
+
+				return delta;
+			}
+
+			Serializable elementKey = portalCacheClusterEvent.getElementKey();
+
+			if (_portalCacheClusterEvents.remove(elementKey) != null) {
+				_portalCacheClusterEvents.put(
+					elementKey, portalCacheClusterEvent);
+
+				return 0;
+			}
+
+			_portalCacheClusterEvents.put(elementKey, portalCacheClusterEvent);
+
+			return 1;
+		}
+
+		public List<PortalCacheClusterEvent> toList() {
+			List<PortalCacheClusterEvent> portalCacheClusterEvents =
+				new ArrayList<PortalCacheClusterEvent>(
+					_portalCacheClusterEvents.size() + 1);
+
+			if (_removeAllPortalCacheClusterEvent != null) {
+				portalCacheClusterEvents.add(_removeAllPortalCacheClusterEvent);
+			}
+
+			portalCacheClusterEvents.addAll(_portalCacheClusterEvents.values());
+
+			return portalCacheClusterEvents;
+		}
+
+		private final Map<Serializable, PortalCacheClusterEvent>
+			_portalCacheClusterEvents =
+				new LinkedHashMap<Serializable, PortalCacheClusterEvent>();
+		private PortalCacheClusterEvent _removeAllPortalCacheClusterEvent;
+
+	}
+
+}
@@ -0,0 +1,211 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.cache.cluster;
+
+import com.liferay.portal.kernel.io.BigEndianCodec;
+import com.liferay.portal.kernel.io.Deserializer;
+import com.liferay.portal.kernel.io.Serializer;
+
+import java.io.Serializable;
+
+import java.nio.ByteBuffer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * <p>
+ * Encodes the events of one cache into a compact binary frame. The frame
+ * starts with a flag byte. When the frame is compressed, the flag byte is
+ * followed by the uncompressed body length and the deflated body. The body
+ * holds the cache name, the event count, and for each event the event type,
+ * the element key, and the element value when the event carries one.
+ * Invalidation events only carry their keys.
+ * </p>
+ *
+ * @author Shuyang Zhou
+ */
+public class PortalCacheClusterEventBatchUtil {
+
+	public static List<PortalCacheClusterEvent> decode(byte[] frame)
+		throws ClassNotFoundException {
+
+		byte[] body = null;
+
+		if (frame[0] == _FLAG_COMPRESSED) {
+			body = new byte[BigEndianCodec.getInt(frame, 1)];
+
+			Inflater inflater = new Inflater();
+
+			try {
+				inflater.setInput(frame, 5, frame.length - 5);
+
+				int length = inflater.inflate(body);
+
+				if (length != body.length) {
+					throw new PortalCacheClusterException(
+						"Truncated frame, expected " + body.length +
+							" bytes but got " + length);
+				}
+			}
+			catch (DataFormatException dfe) {
+				throw new PortalCacheClusterException(dfe);
+			}
+			finally {
+				inflater.end();
+			}
+		}
+		else if (frame[0] == _FLAG_UNCOMPRESSED) {
+			body = Arrays.copyOfRange(frame, 1, frame.length);
+		}
+		else {
+			throw new PortalCacheClusterException(
+				"Unknown frame flag " + frame[0]);
+		}
+
+		Deserializer deserializer = new Deserializer(ByteBuffer.wrap(body));
+
+		String cacheName = deserializer.readString();
+
+		int count = deserializer.readInt();
+
+		List<PortalCacheClusterEvent> portalCacheClusterEvents =
+			new ArrayList<PortalCacheClusterEvent>(count);
+
+		for (int i = 0; i < count; i++) {
+			PortalCacheClusterEventType portalCacheClusterEventType =
+				_PORTAL_CACHE_CLUSTER_EVENT_TYPES[deserializer.readByte()];
+
+			Serializable elementKey = deserializer.readObject();
+
+			Serializable elementValue = null;
+
+			if (deserializer.readBoolean()) {
+				elementValue = deserializer.readObject();
+			}
+
+			portalCacheClusterEvents.add(
+				new PortalCacheClusterEvent(
+					cacheName, elementKey, elementValue,
+					portalCacheClusterEventType));
+		}
+
+		return portalCacheClusterEvents;
+	}
+
+	/**
+	 * Encodes the events into a frame. All events must belong to the given
+	 * cache. The body is deflated when it is larger than the compression
+	 * threshold, and the compressed frame is only kept if it is smaller.
+	 */
+	public static byte[] encode(
+		String cacheName,
+		List<PortalCacheClusterEvent> portalCacheClusterEvents,
+		int compressionThreshold) {
+
+		Serializer serializer = new Serializer();
+
+		serializer.writeString(cacheName);
+		serializer.writeInt(portalCacheClusterEvents.size());
+
+		for (PortalCacheClusterEvent portalCacheClusterEvent :
+				portalCacheClusterEvents) {
+
+			PortalCacheClusterEventType portalCacheClusterEventType =
+				portalCacheClusterEvent.getEventType();
+
+			serializer.writeByte((byte)portalCacheClusterEventType.ordinal());
+			serializer.writeObject(portalCacheClusterEvent.getElementKey());
+
+			Serializable elementValue =
+				portalCacheClusterEvent.getElementValue();
+
+			if (elementValue == null) {
+				serializer.writeBoolean(false);
+			}
+			else {
+				serializer.writeBoolean(true);
+				serializer.writeObject(elementValue);
+			}
+		}
+
+		ByteBuffer byteBuffer = serializer.toByteBuffer();
+
+		byte[] body = byteBuffer.array();
+
+		if (body.length > compressionThreshold) {
+			byte[] frame = _compress(body);
+
+			if (frame != null) {
+				return frame;
+			}
+		}
+
+		byte[] frame = new byte[body.length + 1];
+
+		frame[0] = _FLAG_UNCOMPRESSED;
+
+		System.arraycopy(body, 0, frame, 1, body.length);
+
+		return frame;
+	}
+
+	private static byte[] _compress(byte[] body) {
+		Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+
+		try {
+			deflater.setInput(body);
+			deflater.finish();
+
+			byte[] frame = new byte[body.length];
+
+			frame[0] = _FLAG_COMPRESSED;
+
+			BigEndianCodec.putInt(frame, 1, body.length);
+
+			int length = 5;
+
+			while (!deflater.finished()) {
+				if (length >= frame.length) {
+
+					// Compressing does not pay off
+
+					return null;
+				}
+
+				length += deflater.deflate(
+					frame, length, frame.length - length);
+			}
+
+			return Arrays.copyOf(frame, length);
+		}
+		finally {
+			deflater.end();
+		}
+	}
+
+	private static final byte _FLAG_COMPRESSED = 1;
+
+	private static final byte _FLAG_UNCOMPRESSED = 0;
+
+	private static final PortalCacheClusterEventType[]
+		_PORTAL_CACHE_CLUSTER_EVENT_TYPES =
+			PortalCacheClusterEventType.values();
+
+}
@@ -0,0 +1,158 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.cache.cluster;
+
+import com.liferay.portal.kernel.util.StringBundler;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class PortalCacheClusterRegionStatistics {
+
+	public PortalCacheClusterRegionStatistics(String cacheName) {
+		_cacheName = cacheName;
+	}
+
+	public String getCacheName() {
+		return _cacheName;
+	}
+
+	public long getCoalescedEventNumber() {
+		return _coalescedEventNumber.get();
+	}
+
+	public long getReceivedByteNumber() {
+		return _receivedByteNumber.get();
+	}
+
+	public long getReceivedEventNumber() {
+		return _receivedEventNumber.get();
+	}
+
+	/**
+	 * Returns the number of bytes sent per second since the statistics were
+	 * created or last reset.
+	 */
+	public double getSentByteRate() {
+		return _getRate(_sentByteNumber.get());
+	}
+
+	public long getSentByteNumber() {
+		return _sentByteNumber.get();
+	}
+
+	/**
+	 * Returns the number of events sent per second since the statistics were
+	 * created or last reset.
+	 */
+	public double getSentEventRate() {
+		return _getRate(_sentEventNumber.get());
+	}
+
+	public long getSentEventNumber() {
+		return _sentEventNumber.get();
+	}
+
+	public long getSentFrameNumber() {
+		return _sentFrameNumber.get();
+	}
+
+	public long getSubmittedEventNumber() {
+		return _submittedEventNumber.get();
+	}
+
+	public void recordCoalesced(int eventNumber) {
+		_coalescedEventNumber.addAndGet(eventNumber);
+	}
+
+	public void recordReceived(int eventNumber, int byteNumber) {
+		_receivedEventNumber.addAndGet(eventNumber);
+		_receivedByteNumber.addAndGet(byteNumber);
+	}
+
+	public void recordSent(int eventNumber, int byteNumber) {
+		_sentEventNumber.addAndGet(eventNumber);
+		_sentByteNumber.addAndGet(byteNumber);
+		_sentFrameNumber.incrementAndGet();
+	}
+
+	public void recordSubmitted() {
+		_submittedEventNumber.incrementAndGet();
+	}
+
+	public void reset() {
+		_coalescedEventNumber.set(0);
+		_receivedByteNumber.set(0);
+		_receivedEventNumber.set(0);
+		_sentByteNumber.set(0);
+		_sentEventNumber.set(0);
+		_sentFrameNumber.set(0);
+		_submittedEventNumber.set(0);
+
+		_startTime = System.currentTimeMillis();
+	}
+
+	@Override
+	public String toString() {
+		StringBundler sb = new StringBundler(21);
+
+		sb.append("{cacheName=");
+		sb.append(_cacheName);
+		sb.append(", submittedEventNumber=");
+		sb.append(getSubmittedEventNumber());
+		sb.append(", coalescedEventNumber=");
+		sb.append(getCoalescedEventNumber());
+		sb.append(", sentEventNumber=");
+		sb.append(getSentEventNumber());
+		sb.append(", sentFrameNumber=");
+		sb.append(getSentFrameNumber());
+		sb.append(", sentByteNumber=");
+		sb.append(getSentByteNumber());
+		sb.append(", sentEventRate=");
+		sb.append(getSentEventRate());
+		sb.append(", sentByteRate=");
+		sb.append(getSentByteRate());
+		sb.append(", receivedEventNumber=");
+		sb.append(getReceivedEventNumber());
+		sb.append(", receivedByteNumber=");
+		sb.append(getReceivedByteNumber());
+		sb.append("}");
+
+		return sb.toString();
+	}
+
+	private double _getRate(long number) {
+		long elapsedTime = System.currentTimeMillis() - _startTime;
+
+		if (elapsedTime <= 0) {
+			return 0;
+		}
+
+		return number * 1000.0 / elapsedTime;
+	}
+
+	private final String _cacheName;
+	private final AtomicLong _coalescedEventNumber = new AtomicLong();
+	private final AtomicLong _receivedByteNumber = new AtomicLong();
+	private final AtomicLong _receivedEventNumber = new AtomicLong();
+	private final AtomicLong _sentByteNumber = new AtomicLong();
+	private final AtomicLong _sentEventNumber = new AtomicLong();
+	private final AtomicLong _sentFrameNumber = new AtomicLong();
+	private volatile long _startTime = System.currentTimeMillis();
+	private final AtomicLong _submittedEventNumber = new AtomicLong();
+
+}
@@ -0,0 +1,71 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.cache.cluster;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class PortalCacheClusterStatisticsUtil {
+
+	public static PortalCacheClusterRegionStatistics getRegionStatistics(
+		String cacheName) {
+
+		PortalCacheClusterRegionStatistics portalCacheClusterRegionStatistics =
+			_regionStatisticsMap.get(cacheName);
+
+		if (portalCacheClusterRegionStatistics == null) {
+			portalCacheClusterRegionStatistics =
+				new PortalCacheClusterRegionStatistics(cacheName);
+
+			PortalCacheClusterRegionStatistics
+				previousPortalCacheClusterRegionStatistics =
+					_regionStatisticsMap.putIfAbsent(
+						cacheName, portalCacheClusterRegionStatistics);
+
+			if (previousPortalCacheClusterRegionStatistics != null) {
+				portalCacheClusterRegionStatistics =
+					previousPortalCacheClusterRegionStatistics;
+			}
+		}
+
+		return portalCacheClusterRegionStatistics;
+	}
+
+	public static Map<String, PortalCacheClusterRegionStatistics>
+		getRegionStatisticsMap() {
+
+		return Collections.unmodifiableMap(_regionStatisticsMap);
+	}
+
+	public static void reset() {
+		for (PortalCacheClusterRegionStatistics
+				portalCacheClusterRegionStatistics :
+					_regionStatisticsMap.values()) {
+
+			portalCacheClusterRegionStatistics.reset();
+		}
+	}
+
+	private static final ConcurrentMap
+		<String, PortalCacheClusterRegionStatistics> _regionStatisticsMap =
+			new ConcurrentHashMap
+				<String, PortalCacheClusterRegionStatistics>();
+
+}
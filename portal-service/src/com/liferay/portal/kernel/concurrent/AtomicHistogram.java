@@ -0,0 +1,247 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.concurrent;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>
+ * A lock free histogram with power of two buckets. Bucket <code>0</code>
+ * counts values less than or equal to <code>0</code>, and bucket
+ * <code>i</code> counts values in the range
+ * <code>[2<sup>i - 1</sup>, 2<sup>i</sup>)</code>.
+ * </p>
+ *
+ * <p>
+ * Like an HDR histogram, each power of two range can be split further into
+ * <code>2<sup>subBucketBits</sup></code> linear sub buckets, which bounds the
+ * relative error of a reported percentile to
+ * <code>2<sup>-subBucketBits</sup></code> at the cost of a proportionally
+ * larger bucket array.
+ * </p>
+ *
+ * @author Shuyang Zhou
+ */
+public class AtomicHistogram {
+
+	public static long getBucketLowerBound(int index) {
+		return getBucketLowerBound(index, 0);
+	}
+
+	public static long getBucketLowerBound(int index, int subBucketBits) {
+		if (index == 0) {
+			return 0;
+		}
+
+		int magnitude = (index - 1) >> subBucketBits;
+		long subBucket = (index - 1) & ((1 << subBucketBits) - 1);
+
+		if (magnitude < subBucketBits) {
+			return subBucket;
+		}
+
+		return (1L << magnitude) | (subBucket << (magnitude - subBucketBits));
+	}
+
+	public static long getBucketUpperBound(int index) {
+		return getBucketUpperBound(index, 0);
+	}
+
+	public static long getBucketUpperBound(int index, int subBucketBits) {
+		if (index == 0) {
+			return 0;
+		}
+
+		int magnitude = (index - 1) >> subBucketBits;
+
+		if (magnitude < subBucketBits) {
+			return getBucketLowerBound(index, subBucketBits);
+		}
+
+		return getBucketLowerBound(index, subBucketBits) +
+			(1L << (magnitude - subBucketBits)) - 1;
+	}
+
+	public AtomicHistogram() {
+		this(0);
+	}
+
+	public AtomicHistogram(int subBucketBits) {
+		if ((subBucketBits < 0) || (subBucketBits > _MAX_SUB_BUCKET_BITS)) {
+			throw new IllegalArgumentException(
+				"Sub bucket bits " + subBucketBits + " is not between 0 and " +
+					_MAX_SUB_BUCKET_BITS);
+		}
+
+		_subBucketBits = subBucketBits;
+
+		_bucketCount = 1 + (63 << subBucketBits);
+		_buckets = new AtomicLongArray(_bucketCount);
+	}
+
+	/**
+	 * Adds the values recorded by the given histogram to this histogram. Both
+	 * histograms must use the same number of sub bucket bits.
+	 */
+	public void add(AtomicHistogram atomicHistogram) {
+		if (atomicHistogram._subBucketBits != _subBucketBits) {
+			throw new IllegalArgumentException(
+				"Sub bucket bits " + atomicHistogram._subBucketBits +
+					" does not match " + _subBucketBits);
+		}
+
+		for (int i = 0; i < _bucketCount; i++) {
+			long bucketCount = atomicHistogram._buckets.get(i);
+
+			if (bucketCount != 0) {
+				_buckets.getAndAdd(i, bucketCount);
+			}
+		}
+
+		_count.getAndAdd(atomicHistogram._count.get());
+		_sum.getAndAdd(atomicHistogram._sum.get());
+
+		_updateMax(atomicHistogram._max.get());
+	}
+
+	public long[] getBucketCounts() {
+		long[] bucketCounts = new long[_bucketCount];
+
+		for (int i = 0; i < _bucketCount; i++) {
+			bucketCounts[i] = _buckets.get(i);
+		}
+
+		return bucketCounts;
+	}
+
+	public long getCount() {
+		return _count.get();
+	}
+
+	public long getMax() {
+		return _max.get();
+	}
+
+	public double getMean() {
+		long count = _count.get();
+
+		if (count == 0) {
+			return 0;
+		}
+
+		return (double)_sum.get() / count;
+	}
+
+	/**
+	 * Returns the upper bound of the bucket holding the given percentile. The
+	 * result is never greater than the largest recorded value.
+	 */
+	public long getPercentile(double percentile) {
+		if ((percentile < 0) || (percentile > 100)) {
+			throw new IllegalArgumentException(
+				"Percentile " + percentile + " is not between 0 and 100");
+		}
+
+		long[] bucketCounts = getBucketCounts();
+
+		long count = 0;
+
+		for (long bucketCount : bucketCounts) {
+			count += bucketCount;
+		}
+
+		if (count == 0) {
+			return 0;
+		}
+
+		long threshold = (long)Math.ceil(count * percentile / 100);
+
+		long cumulativeCount = 0;
+
+		for (int i = 0; i < _bucketCount; i++) {
+			cumulativeCount += bucketCounts[i];
+
+			if ((cumulativeCount >= threshold) && (cumulativeCount > 0)) {
+				return Math.min(
+					getBucketUpperBound(i, _subBucketBits), _max.get());
+			}
+		}
+
+		return _max.get();
+	}
+
+	public int getSubBucketBits() {
+		return _subBucketBits;
+	}
+
+	public long getSum() {
+		return _sum.get();
+	}
+
+	public void record(long value) {
+		int index = 0;
+
+		if (value > 0) {
+			int magnitude = 63 - Long.numberOfLeadingZeros(value);
+
+			long subBucket = value;
+
+			if (magnitude >= _subBucketBits) {
+				subBucket = value >> (magnitude - _subBucketBits);
+			}
+
+			index =
+				1 + (magnitude << _subBucketBits) +
+					(int)(subBucket & ((1 << _subBucketBits) - 1));
+		}
+
+		_buckets.getAndIncrement(index);
+		_count.getAndIncrement();
+		_sum.getAndAdd(value);
+
+		_updateMax(value);
+	}
+
+	public void reset() {
+		for (int i = 0; i < _bucketCount; i++) {
+			_buckets.set(i, 0);
+		}
+
+		_count.set(0);
+		_max.set(0);
+		_sum.set(0);
+	}
+
+	private void _updateMax(long value) {
+		while (true) {
+			long max = _max.get();
+
+			if ((value <= max) || _max.compareAndSet(max, value)) {
+				break;
+			}
+		}
+	}
+
+	private static final int _MAX_SUB_BUCKET_BITS = 8;
+
+	private final int _bucketCount;
+	private final AtomicLongArray _buckets;
+	private final AtomicLong _count = new AtomicLong();
+	private final AtomicLong _max = new AtomicLong();
+	private final int _subBucketBits;
+	private final AtomicLong _sum = new AtomicLong();
+
+}
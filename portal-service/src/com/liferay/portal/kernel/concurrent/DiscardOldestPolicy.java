@@ -35,9 +35,7 @@ public class DiscardOldestPolicy implements RejectedExecutionHandler {
 			return;
 		}
 
-		TaskQueue<Runnable> taskQueue = threadPoolExecutor.getTaskQueue();
-
-		taskQueue.poll();
+		threadPoolExecutor.pollPendingTask();
 
 		threadPoolExecutor.execute(runnable);
 	}
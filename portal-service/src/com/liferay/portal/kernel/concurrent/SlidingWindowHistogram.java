@@ -0,0 +1,133 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.concurrent;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>
+ * A lock free histogram over a sliding time window. The window is divided
+ * into a ring of equally sized slices, each backed by its own {@link
+ * AtomicHistogram}. Recording a value only touches the slice of the current
+ * time, and a slice is recycled the first time it is written after its time
+ * has passed, so recording never allocates.
+ * </p>
+ *
+ * <p>
+ * A snapshot merges the slices that are still inside the window, so it
+ * covers at least <code>windowTime - windowTime / slices</code> and at most
+ * <code>windowTime</code> milliseconds. A value recorded concurrently with
+ * the recycling of its slice may be lost.
+ * </p>
+ *
+ * @author Shuyang Zhou
+ */
+public class SlidingWindowHistogram {
+
+	public SlidingWindowHistogram(
+		long windowTime, int slices, int subBucketBits) {
+
+		if (slices <= 0) {
+			throw new IllegalArgumentException(
+				"Slices " + slices + " is not greater than 0");
+		}
+
+		if (windowTime < slices) {
+			throw new IllegalArgumentException(
+				"Window time " + windowTime + " is less than slices " +
+					slices);
+		}
+
+		_sliceTime = windowTime / slices;
+		_subBucketBits = subBucketBits;
+
+		_atomicHistograms = new AtomicHistogram[slices];
+		_epochs = new AtomicLongArray(slices);
+
+		for (int i = 0; i < slices; i++) {
+			_atomicHistograms[i] = new AtomicHistogram(subBucketBits);
+			_epochs.set(i, -1);
+		}
+	}
+
+	public long getPercentile(double percentile) {
+		AtomicHistogram atomicHistogram = getSnapshot();
+
+		return atomicHistogram.getPercentile(percentile);
+	}
+
+	public AtomicHistogram getSnapshot() {
+		return getSnapshot(System.currentTimeMillis());
+	}
+
+	public long getWindowTime() {
+		return _sliceTime * _atomicHistograms.length;
+	}
+
+	public void record(long value) {
+		record(value, System.currentTimeMillis());
+	}
+
+	public void reset() {
+		for (int i = 0; i < _atomicHistograms.length; i++) {
+			_epochs.set(i, -1);
+
+			_atomicHistograms[i].reset();
+		}
+	}
+
+	protected AtomicHistogram getSnapshot(long time) {
+		AtomicHistogram snapshotAtomicHistogram = new AtomicHistogram(
+			_subBucketBits);
+
+		long epoch = time / _sliceTime;
+
+		for (int i = 0; i < _atomicHistograms.length; i++) {
+			long sliceEpoch = _epochs.get(i);
+
+			if ((sliceEpoch > (epoch - _atomicHistograms.length)) &&
+				(sliceEpoch <= epoch)) {
+
+				snapshotAtomicHistogram.add(_atomicHistograms[i]);
+			}
+		}
+
+		return snapshotAtomicHistogram;
+	}
+
+	protected void record(long value, long time) {
+		long epoch = time / _sliceTime;
+
+		int index = (int)(epoch % _atomicHistograms.length);
+
+		AtomicHistogram atomicHistogram = _atomicHistograms[index];
+
+		long sliceEpoch = _epochs.get(index);
+
+		if ((sliceEpoch < epoch) &&
+			_epochs.compareAndSet(index, sliceEpoch, epoch)) {
+
+			atomicHistogram.reset();
+		}
+
+		atomicHistogram.record(value);
+	}
+
+	private final AtomicHistogram[] _atomicHistograms;
+	private final AtomicLongArray _epochs;
+	private final long _sliceTime;
+	private final int _subBucketBits;
+
+}
@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.concurrent;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * <p>
+ * A lock free counter that spreads updates across cache line padded stripes.
+ * Each thread updates the stripe selected by its thread id, so concurrent
+ * updates from different threads rarely contend on the same cache line.
+ * Reads sum all stripes and are only weakly consistent with concurrent
+ * updates.
+ * </p>
+ *
+ * @author Shuyang Zhou
+ */
+public class StripedCounter {
+
+	public StripedCounter() {
+		this(Runtime.getRuntime().availableProcessors());
+	}
+
+	public StripedCounter(int stripes) {
+		if (stripes <= 0) {
+			throw new IllegalArgumentException(
+				"Stripes " + stripes + " is not greater than 0");
+		}
+
+		stripes = Math.min(stripes, _MAX_STRIPES);
+
+		int stripeCount = 1;
+
+		while (stripeCount < stripes) {
+			stripeCount <<= 1;
+		}
+
+		_mask = stripeCount - 1;
+		_stripes = new AtomicLongArray(stripeCount << _PADDING_SHIFT);
+	}
+
+	public void add(long delta) {
+		int index = (int)Thread.currentThread().getId() & _mask;
+
+		_stripes.getAndAdd(index << _PADDING_SHIFT, delta);
+	}
+
+	public void decrement() {
+		add(-1);
+	}
+
+	public long get() {
+		long value = 0;
+
+		for (int i = 0; i <= _mask; i++) {
+			value += _stripes.get(i << _PADDING_SHIFT);
+		}
+
+		return value;
+	}
+
+	public void increment() {
+		add(1);
+	}
+
+	public void reset() {
+		for (int i = 0; i <= _mask; i++) {
+			_stripes.set(i << _PADDING_SHIFT, 0);
+		}
+	}
+
+	private static final int _MAX_STRIPES = 16;
+
+	private static final int _PADDING_SHIFT = 3;
+
+	private final int _mask;
+	private final AtomicLongArray _stripes;
+
+}
@@ -43,6 +43,10 @@ public class TaskQueue<E> {
 	}
 
 	public int drainTo(Collection<E> collection) {
+		return drainTo(collection, Integer.MAX_VALUE);
+	}
+
+	public int drainTo(Collection<E> collection, int maxElements) {
 		if (collection == null) {
 			throw new NullPointerException();
 		}
@@ -52,7 +56,7 @@ public class TaskQueue<E> {
 		try {
 			Node<E> headNode = _headNode;
 
-			int size = _count.get();
+			int size = Math.min(_count.get(), maxElements);
 
 			int count = 0;
 
@@ -77,7 +81,9 @@ public class TaskQueue<E> {
 				if (count > 0) {
 					_headNode = headNode;
 
-					_count.getAndAdd(-count);
+					if (_count.getAndAdd(-count) > count) {
+						_notEmptyCondition.signal();
+					}
 				}
 			}
 		}
@@ -120,7 +120,7 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
 
 				while ((surplusCoreThreads++ < 0) &&
 					   (_poolSize < _corePoolSize) &&
-					   ((runnable = _taskQueue.poll()) != null)) {
+					   ((runnable = pollPendingTask()) != null)) {
 
 					_doAddWorkerThread(runnable);
 				}
@@ -421,6 +421,23 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
 		return _workerTasks;
 	}
 
+	protected void beforeWorkerThreadEnd() {
+	}
+
+	protected Runnable pollPendingTask() {
+		return _taskQueue.poll();
+	}
+
+	protected Runnable pollPendingTask(long timeout, TimeUnit timeUnit)
+		throws InterruptedException {
+
+		return _taskQueue.poll(timeout, timeUnit);
+	}
+
+	protected Runnable takePendingTask() throws InterruptedException {
+		return _taskQueue.take();
+	}
+
 	private void _addWorkerThread() {
 		int runState = _runState;
 		int poolSize = _poolSize;
@@ -439,7 +456,7 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
 					((runState == _SHUTDOWN) && (poolSize == 0) &&
 					 !_taskQueue.isEmpty())) {
 
-					Runnable runnable = _taskQueue.poll();
+					Runnable runnable = pollPendingTask();
 
 					if (runnable != null) {
 						_doAddWorkerThread(runnable);
@@ -478,16 +495,16 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
 				Runnable runnable = null;
 
 				if (state == _SHUTDOWN) {
-					runnable = _taskQueue.poll();
+					runnable = pollPendingTask();
 				}
 				else if ((_poolSize > _corePoolSize) ||
 						 _allowCoreThreadTimeout) {
 
-					runnable = _taskQueue.poll(
+					runnable = pollPendingTask(
 						_keepAliveTime, TimeUnit.NANOSECONDS);
 				}
 				else {
-					runnable = _taskQueue.take();
+					runnable = takePendingTask();
 				}
 
 				if (runnable != null) {
@@ -542,8 +559,10 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
 				return;
 			}
 
-			if (!_taskQueue.isEmpty()) {
-				_doAddWorkerThread(_taskQueue.poll());
+			Runnable runnable = pollPendingTask();
+
+			if (runnable != null) {
+				_doAddWorkerThread(runnable);
 			}
 		}
 	}
@@ -598,6 +617,8 @@ public class ThreadPoolExecutor extends AbstractExecutorService {
 				while ((runnable = _getTask(this, cleanUpMarker)) != null);
 			}
 			finally {
+				beforeWorkerThreadEnd();
+
 				if (!cleanUpMarker[0]) {
 					_mainLock.lock();
 
@@ -0,0 +1,366 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.concurrent;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * <p>
+ * A {@link ThreadPoolExecutor} that gives each worker its own deque of
+ * pending tasks. Submitted tasks go to the shared task queue. A worker that
+ * takes a task from the shared queue also moves its share of the backlog to
+ * its deque in one batch, so that busy workers take the shared queue lock
+ * once per batch instead of once per task. A worker runs the tasks of its own
+ * deque first and steals from the deques of the other workers before it
+ * waits on the shared queue.
+ * </p>
+ *
+ * <p>
+ * The pool size, keep alive, {@link RejectedExecutionHandler} and {@link
+ * ThreadPoolHandler} semantics are the same as those of {@link
+ * ThreadPoolExecutor}. The pending task order is only FIFO per deque, and
+ * tasks moved to a deque no longer count against the task queue capacity.
+ * </p>
+ *
+ * @author Shuyang Zhou
+ */
+public class WorkStealingThreadPoolExecutor extends ThreadPoolExecutor {
+
+	public WorkStealingThreadPoolExecutor(int corePoolSize, int maxPoolSize) {
+		this(
+			corePoolSize, maxPoolSize, 60, TimeUnit.SECONDS, false,
+			Integer.MAX_VALUE, new AbortPolicy(),
+			Executors.defaultThreadFactory(), new ThreadPoolHandlerAdapter());
+	}
+
+	public WorkStealingThreadPoolExecutor(
+		int corePoolSize, int maxPoolSize, long keepAliveTime,
+		TimeUnit timeUnit, boolean allowCoreThreadTimeout, int maxQueueSize) {
+
+		this(
+			corePoolSize, maxPoolSize, keepAliveTime, timeUnit,
+			allowCoreThreadTimeout, maxQueueSize, new AbortPolicy(),
+			Executors.defaultThreadFactory(), new ThreadPoolHandlerAdapter());
+	}
+
+	public WorkStealingThreadPoolExecutor(
+		int corePoolSize, int maxPoolSize, long keepAliveTime,
+		TimeUnit timeUnit, boolean allowCoreThreadTimeout, int maxQueueSize,
+		RejectedExecutionHandler rejectedExecutionHandler,
+		ThreadFactory threadFactory, ThreadPoolHandler threadPoolHandler) {
+
+		super(
+			corePoolSize, maxPoolSize, keepAliveTime, timeUnit,
+			allowCoreThreadTimeout, maxQueueSize,
+			new TaskRejectedExecutionHandler(rejectedExecutionHandler),
+			threadFactory, threadPoolHandler);
+	}
+
+	@Override
+	public void execute(Runnable runnable) {
+		if (runnable == null) {
+			throw new NullPointerException();
+		}
+
+		TaskQueue<Runnable> taskQueue = getTaskQueue();
+
+		_queueDepthHistogram.record(taskQueue.size());
+
+		super.execute(new Task(runnable));
+	}
+
+	@Override
+	public int getPendingTaskCount() {
+		int count = super.getPendingTaskCount();
+
+		for (BlockingDeque<Runnable> taskDeque : _taskDeques) {
+			count += taskDeque.size();
+		}
+
+		return count;
+	}
+
+	/**
+	 * Returns the histogram of the number of tasks in the shared task queue
+	 * seen by each submitted task.
+	 */
+	public AtomicHistogram getQueueDepthHistogram() {
+		return _queueDepthHistogram;
+	}
+
+	@Override
+	public RejectedExecutionHandler getRejectedExecutionHandler() {
+		TaskRejectedExecutionHandler taskRejectedExecutionHandler =
+			(TaskRejectedExecutionHandler)super.getRejectedExecutionHandler();
+
+		return taskRejectedExecutionHandler._rejectedExecutionHandler;
+	}
+
+	@Override
+	public long getTaskCount() {
+		long count = super.getTaskCount();
+
+		for (BlockingDeque<Runnable> taskDeque : _taskDeques) {
+			count += taskDeque.size();
+		}
+
+		return count;
+	}
+
+	/**
+	 * Returns the histogram of the time, in microseconds, that tasks waited
+	 * between submission and execution.
+	 */
+	public AtomicHistogram getWaitTimeHistogram() {
+		return _waitTimeHistogram;
+	}
+
+	@Override
+	public void setRejectedExecutionHandler(
+		RejectedExecutionHandler rejectedExecutionHandler) {
+
+		super.setRejectedExecutionHandler(
+			new TaskRejectedExecutionHandler(rejectedExecutionHandler));
+	}
+
+	@Override
+	public List<Runnable> shutdownNow() {
+		List<Runnable> tasks = super.shutdownNow();
+
+		for (BlockingDeque<Runnable> taskDeque : _taskDeques) {
+			taskDeque.drainTo(tasks);
+		}
+
+		List<Runnable> runnables = new ArrayList<Runnable>(tasks.size());
+
+		for (Runnable task : tasks) {
+			runnables.add(((Task)task)._runnable);
+		}
+
+		return runnables;
+	}
+
+	@Override
+	protected void beforeWorkerThreadEnd() {
+		BlockingDeque<Runnable> taskDeque = _taskDequeThreadLocal.get();
+
+		if (taskDeque == null) {
+			return;
+		}
+
+		_taskDequeThreadLocal.remove();
+
+		_taskDeques.remove(taskDeque);
+
+		// A worker only ends with pending tasks when a task threw, so hand
+		// them back to the shared queue for the remaining workers
+
+		TaskQueue<Runnable> taskQueue = getTaskQueue();
+
+		boolean[] hasWaiterMarker = new boolean[1];
+
+		Runnable task = null;
+
+		while ((task = taskDeque.pollFirst()) != null) {
+			if (!taskQueue.offer(task, hasWaiterMarker)) {
+				RejectedExecutionHandler rejectedExecutionHandler =
+					getRejectedExecutionHandler();
+
+				rejectedExecutionHandler.rejectedExecution(
+					((Task)task)._runnable, this);
+			}
+		}
+	}
+
+	@Override
+	protected Runnable pollPendingTask() {
+		return _startTask(_pollTask(_taskDequeThreadLocal.get()));
+	}
+
+	@Override
+	protected Runnable pollPendingTask(long timeout, TimeUnit timeUnit)
+		throws InterruptedException {
+
+		BlockingDeque<Runnable> taskDeque = _getTaskDeque();
+
+		Runnable task = _pollTask(taskDeque);
+
+		if (task == null) {
+			TaskQueue<Runnable> taskQueue = getTaskQueue();
+
+			task = taskQueue.poll(timeout, timeUnit);
+
+			if (task != null) {
+				_fillTaskDeque(taskDeque);
+			}
+		}
+
+		return _startTask(task);
+	}
+
+	@Override
+	protected Runnable takePendingTask() throws InterruptedException {
+		BlockingDeque<Runnable> taskDeque = _getTaskDeque();
+
+		Runnable task = _pollTask(taskDeque);
+
+		if (task == null) {
+			TaskQueue<Runnable> taskQueue = getTaskQueue();
+
+			task = taskQueue.take();
+
+			_fillTaskDeque(taskDeque);
+		}
+
+		return _startTask(task);
+	}
+
+	private void _fillTaskDeque(BlockingDeque<Runnable> taskDeque) {
+		TaskQueue<Runnable> taskQueue = getTaskQueue();
+
+		// Take no more than an even share of the backlog so that the other
+		// workers find tasks in the shared queue before they have to steal
+
+		int batchSize = Math.min(
+			_MAX_BATCH_SIZE, taskQueue.size() / Math.max(getPoolSize(), 1));
+
+		if (batchSize > 0) {
+			taskQueue.drainTo(taskDeque, batchSize);
+		}
+	}
+
+	private BlockingDeque<Runnable> _getTaskDeque() {
+		BlockingDeque<Runnable> taskDeque = _taskDequeThreadLocal.get();
+
+		if (taskDeque == null) {
+			taskDeque = new LinkedBlockingDeque<Runnable>();
+
+			_taskDequeThreadLocal.set(taskDeque);
+
+			_taskDeques.add(taskDeque);
+		}
+
+		return taskDeque;
+	}
+
+	private Runnable _pollTask(BlockingDeque<Runnable> taskDeque) {
+		if (taskDeque != null) {
+			Runnable task = taskDeque.pollFirst();
+
+			if (task != null) {
+				return task;
+			}
+		}
+
+		TaskQueue<Runnable> taskQueue = getTaskQueue();
+
+		Runnable task = taskQueue.poll();
+
+		if (task != null) {
+			if (taskDeque != null) {
+				_fillTaskDeque(taskDeque);
+			}
+
+			return task;
+		}
+
+		// Steal from the tail so that the owner keeps its oldest tasks
+
+		for (BlockingDeque<Runnable> curTaskDeque : _taskDeques) {
+			if (curTaskDeque == taskDeque) {
+				continue;
+			}
+
+			task = curTaskDeque.pollLast();
+
+			if (task != null) {
+				return task;
+			}
+		}
+
+		return null;
+	}
+
+	private Runnable _startTask(Runnable runnable) {
+		if (runnable == null) {
+			return null;
+		}
+
+		Task task = (Task)runnable;
+
+		_waitTimeHistogram.record(
+			(System.nanoTime() - task._createTime) / 1000);
+
+		return task._runnable;
+	}
+
+	private static final int _MAX_BATCH_SIZE = 16;
+
+	private final AtomicHistogram _queueDepthHistogram = new AtomicHistogram();
+	private final ThreadLocal<BlockingDeque<Runnable>> _taskDequeThreadLocal =
+		new ThreadLocal<BlockingDeque<Runnable>>();
+	private final Set<BlockingDeque<Runnable>> _taskDeques =
+		new ConcurrentHashSet<BlockingDeque<Runnable>>();
+	private final AtomicHistogram _waitTimeHistogram = new AtomicHistogram();
+
+	private static class Task implements Runnable {
+
+		public Task(Runnable runnable) {
+			_runnable = runnable;
+		}
+
+		@Override
+		public void run() {
+			_runnable.run();
+		}
+
+		private final long _createTime = System.nanoTime();
+		private final Runnable _runnable;
+
+	}
+
+	private static class TaskRejectedExecutionHandler
+		implements RejectedExecutionHandler {
+
+		public TaskRejectedExecutionHandler(
+			RejectedExecutionHandler rejectedExecutionHandler) {
+
+			if (rejectedExecutionHandler == null) {
+				throw new NullPointerException();
+			}
+
+			_rejectedExecutionHandler = rejectedExecutionHandler;
+		}
+
+		@Override
+		public void rejectedExecution(
+			Runnable runnable, ThreadPoolExecutor threadPoolExecutor) {
+
+			_rejectedExecutionHandler.rejectedExecution(
+				((Task)runnable)._runnable, threadPoolExecutor);
+		}
+
+		private final RejectedExecutionHandler _rejectedExecutionHandler;
+
+	}
+
+}
\ No newline at end of file
@@ -42,6 +42,8 @@ public interface ActionableDynamicQuery {
 
 	public void setInterval(int interval);
 
+	public void setParallel(boolean parallel);
+
 	public void setPrimaryKeyPropertyName(String primaryKeyPropertyName);
 
 	public void setSearchEngineId(String searchEngineId);
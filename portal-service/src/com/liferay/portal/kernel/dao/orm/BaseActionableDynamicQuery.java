@@ -14,19 +14,40 @@
 
 package com.liferay.portal.kernel.dao.orm;
 
+import com.liferay.portal.kernel.backgroundtask.BackgroundTaskStatus;
+import com.liferay.portal.kernel.backgroundtask.BackgroundTaskStatusRegistryUtil;
+import com.liferay.portal.kernel.backgroundtask.BackgroundTaskThreadLocal;
+import com.liferay.portal.kernel.concurrent.ThreadPoolExecutor;
+import com.liferay.portal.kernel.dao.shard.ShardUtil;
 import com.liferay.portal.kernel.exception.PortalException;
 import com.liferay.portal.kernel.exception.SystemException;
+import com.liferay.portal.kernel.executor.CopyThreadLocalCallable;
+import com.liferay.portal.kernel.executor.PortalExecutorManagerUtil;
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
 import com.liferay.portal.kernel.search.Document;
 import com.liferay.portal.kernel.search.Indexer;
+import com.liferay.portal.kernel.search.ReindexCheckpointUtil;
 import com.liferay.portal.kernel.search.SearchEngineUtil;
+import com.liferay.portal.kernel.util.GetterUtil;
+import com.liferay.portal.kernel.util.InitialThreadLocal;
+import com.liferay.portal.kernel.util.PropsKeys;
+import com.liferay.portal.kernel.util.PropsUtil;
+import com.liferay.portal.kernel.util.StringPool;
+import com.liferay.portal.kernel.util.Time;
 import com.liferay.portal.service.BaseLocalService;
 
 import java.lang.reflect.InvocationTargetException;
 import java.lang.reflect.Method;
 
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.Collection;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * @author Brian Wing Shun Chan
@@ -38,7 +59,10 @@ public abstract class BaseActionableDynamicQuery
 	public void performActions() throws PortalException, SystemException {
 		long count = doPerformCount();
 
-		if (count > _interval) {
+		if ((count > 1) && isParallel()) {
+			performActionsInParallelIntervals(count);
+		}
+		else if (count > _interval) {
 			performActionsInMultipleIntervals();
 		}
 		else {
@@ -68,6 +92,8 @@ public abstract class BaseActionableDynamicQuery
 		for (Object object : objects) {
 			performAction(object);
 		}
+
+		_performedActionsCount.addAndGet(objects.size());
 	}
 
 	@Override
@@ -124,6 +150,11 @@ public abstract class BaseActionableDynamicQuery
 		_interval = interval;
 	}
 
+	@Override
+	public void setParallel(boolean parallel) {
+		_parallel = parallel;
+	}
+
 	@Override
 	public void setPrimaryKeyPropertyName(String primaryKeyPropertyName) {
 		_primaryKeyPropertyName = primaryKeyPropertyName;
@@ -153,13 +184,11 @@ public abstract class BaseActionableDynamicQuery
 	}
 
 	protected void addDocument(Document document) throws PortalException {
-		if (_documents == null) {
-			_documents = new ArrayList<Document>();
-		}
+		Collection<Document> documents = _documentsThreadLocal.get();
 
-		_documents.add(document);
+		documents.add(document);
 
-		if (_documents.size() >= _interval) {
+		if (documents.size() >= _interval) {
 			indexInterval();
 		}
 	}
@@ -167,13 +196,11 @@ public abstract class BaseActionableDynamicQuery
 	protected void addDocuments(Collection<Document> documents)
 		throws PortalException {
 
-		if (_documents == null) {
-			_documents = new ArrayList<Document>();
-		}
+		Collection<Document> curDocuments = _documentsThreadLocal.get();
 
-		_documents.addAll(documents);
+		curDocuments.addAll(documents);
 
-		if (_documents.size() >= _interval) {
+		if (curDocuments.size() >= _interval) {
 			indexInterval();
 		}
 	}
@@ -214,34 +241,24 @@ public abstract class BaseActionableDynamicQuery
 		}
 	}
 
-	protected Projection getCountProjection() {
-		return ProjectionFactoryUtil.rowCount();
-	}
+	protected String getCheckpointName() {
+		Class<?> clazz = getClass();
 
-	protected String getSearchEngineId() {
-		return _searchEngineId;
-	}
+		String checkpointName = clazz.getName();
 
-	protected void indexInterval() throws PortalException {
-		if ((_documents == null) || _documents.isEmpty()) {
-			return;
+		if (_groupId > 0) {
+			checkpointName = checkpointName.concat(
+				StringPool.UNDERLINE).concat(String.valueOf(_groupId));
 		}
 
-		SearchEngineUtil.updateDocuments(
-			_searchEngineId, _companyId, new ArrayList<Document>(_documents));
-
-		_documents.clear();
+		return checkpointName;
 	}
 
-	@SuppressWarnings("unused")
-	protected void intervalCompleted(long startPrimaryKey, long endPrimaryKey)
-		throws PortalException, SystemException {
+	protected Projection getCountProjection() {
+		return ProjectionFactoryUtil.rowCount();
 	}
 
-	protected abstract void performAction(Object object)
-		throws PortalException, SystemException;
-
-	protected void performActionsInMultipleIntervals()
+	protected long[] getMinAndMaxPrimaryKeys()
 		throws PortalException, SystemException {
 
 		DynamicQuery dynamicQuery = DynamicQueryFactoryUtil.forClass(
@@ -271,24 +288,196 @@ public abstract class BaseActionableDynamicQuery
 		if ((minAndMaxPrimaryKeys[0] == null) ||
 			(minAndMaxPrimaryKeys[1] == null)) {
 
+			return null;
+		}
+
+		return new long[] {
+			(Long)minAndMaxPrimaryKeys[0], (Long)minAndMaxPrimaryKeys[1]
+		};
+	}
+
+	protected String getSearchEngineId() {
+		return _searchEngineId;
+	}
+
+	protected void indexInterval() throws PortalException {
+		Collection<Document> documents = _documentsThreadLocal.get();
+
+		if (documents.isEmpty()) {
+			return;
+		}
+
+		SearchEngineUtil.updateDocuments(
+			_searchEngineId, _companyId, new ArrayList<Document>(documents));
+
+		documents.clear();
+	}
+
+	@SuppressWarnings("unused")
+	protected void intervalCompleted(long startPrimaryKey, long endPrimaryKey)
+		throws PortalException, SystemException {
+	}
+
+	protected boolean isParallel() {
+		if (!_parallel || !_INDEX_REINDEX_PARALLEL_ENABLED ||
+			(_INDEX_REINDEX_PARALLEL_THREAD_COUNT <= 1)) {
+
+			return false;
+		}
+
+		// Actionable dynamic queries nested inside a parallel worker run
+		// serially so that workers never wait on tasks queued behind them
+
+		if (_parallelWorkerThreadLocal.get()) {
+			return false;
+		}
+
+		return true;
+	}
+
+	protected abstract void performAction(Object object)
+		throws PortalException, SystemException;
+
+	protected void performActionsInMultipleIntervals()
+		throws PortalException, SystemException {
+
+		long[] minAndMaxPrimaryKeys = getMinAndMaxPrimaryKeys();
+
+		if (minAndMaxPrimaryKeys == null) {
 			return;
 		}
 
-		long minPrimaryKey = (Long)minAndMaxPrimaryKeys[0];
-		long maxPrimaryKey = (Long)minAndMaxPrimaryKeys[1];
+		long minPrimaryKey = minAndMaxPrimaryKeys[0];
+		long maxPrimaryKey = minAndMaxPrimaryKeys[1];
 
 		long startPrimaryKey = minPrimaryKey;
 		long endPrimaryKey = startPrimaryKey + _interval;
 
-		while (startPrimaryKey <= maxPrimaryKey) {
-			performActions(startPrimaryKey, endPrimaryKey);
+		try {
+			while (startPrimaryKey <= maxPrimaryKey) {
+				performActions(startPrimaryKey, endPrimaryKey);
 
-			indexInterval();
+				indexInterval();
+
+				intervalCompleted(startPrimaryKey, endPrimaryKey);
+
+				startPrimaryKey = endPrimaryKey;
+				endPrimaryKey += _interval;
+			}
+		}
+		finally {
+			_documentsThreadLocal.remove();
+		}
+	}
+
+	protected void performActionsInParallelIntervals(long count)
+		throws PortalException, SystemException {
+
+		long[] minAndMaxPrimaryKeys = getMinAndMaxPrimaryKeys();
+
+		if (minAndMaxPrimaryKeys == null) {
+			return;
+		}
+
+		long minPrimaryKey = minAndMaxPrimaryKeys[0];
+		long maxPrimaryKey = minAndMaxPrimaryKeys[1];
+
+		String checkpointName = getCheckpointName();
+
+		// The checkpoint is only valid for the primary key range it was
+		// recorded for
+
+		long checkpointStartPrimaryKey = minPrimaryKey;
+
+		long checkpoint = ReindexCheckpointUtil.getCheckpoint(
+			_companyId, checkpointName, checkpointStartPrimaryKey);
+
+		if (checkpoint > minPrimaryKey) {
+			if (_log.isInfoEnabled()) {
+				_log.info(
+					"Resuming " + checkpointName + " from primary key " +
+						checkpoint);
+			}
+
+			minPrimaryKey = checkpoint;
+		}
+
+		if (minPrimaryKey > maxPrimaryKey) {
+			ReindexCheckpointUtil.removeCheckpoint(_companyId, checkpointName);
+
+			return;
+		}
+
+		// Split the primary key range into several partitions per worker so
+		// that sparse ranges still spread evenly across the workers
+
+		long partitionSize =
+			((maxPrimaryKey - minPrimaryKey) /
+				(_INDEX_REINDEX_PARALLEL_THREAD_COUNT * 4)) + 1;
+
+		partitionSize = Math.min(partitionSize, _interval);
+
+		_performedActionsCount.set(0);
+
+		ParallelIntervals parallelIntervals = new ParallelIntervals(
+			checkpointName, checkpointStartPrimaryKey, count, minPrimaryKey,
+			maxPrimaryKey, partitionSize);
 
-			intervalCompleted(startPrimaryKey, endPrimaryKey);
+		ThreadPoolExecutor threadPoolExecutor =
+			PortalExecutorManagerUtil.getPortalExecutor(
+				BaseActionableDynamicQuery.class.getName());
 
-			startPrimaryKey = endPrimaryKey;
-			endPrimaryKey += _interval;
+		List<Future<Void>> futures = new ArrayList<Future<Void>>();
+
+		int workerCount = (int)Math.min(
+			_INDEX_REINDEX_PARALLEL_THREAD_COUNT,
+			parallelIntervals.getPartitionCount());
+
+		for (int i = 0; i < workerCount; i++) {
+			futures.add(
+				threadPoolExecutor.submit(
+					new ParallelIntervalCallable(parallelIntervals)));
+		}
+
+		Throwable throwable = null;
+
+		for (Future<Void> future : futures) {
+			try {
+				future.get();
+			}
+			catch (ExecutionException ee) {
+				if (throwable == null) {
+					throwable = ee.getCause();
+				}
+			}
+			catch (InterruptedException ie) {
+				parallelIntervals.fail();
+
+				if (throwable == null) {
+					throwable = ie;
+				}
+			}
+		}
+
+		if (throwable instanceof PortalException) {
+			throw (PortalException)throwable;
+		}
+		else if (throwable instanceof SystemException) {
+			throw (SystemException)throwable;
+		}
+		else if (throwable != null) {
+			throw new SystemException(throwable);
+		}
+
+		ReindexCheckpointUtil.removeCheckpoint(_companyId, checkpointName);
+
+		if (_log.isInfoEnabled()) {
+			_log.info(
+				"Performed " + parallelIntervals.getPerformedActionsCount() +
+					" actions for " + checkpointName + " with " +
+						workerCount + " workers at " +
+							parallelIntervals.getThroughput() +
+								" actions per second");
 		}
 	}
 
@@ -309,20 +498,233 @@ public abstract class BaseActionableDynamicQuery
 			performAction(object);
 		}
 
-		indexInterval();
+		try {
+			indexInterval();
+		}
+		finally {
+			_documentsThreadLocal.remove();
+		}
 	}
 
+	private static final boolean _INDEX_REINDEX_PARALLEL_ENABLED =
+		GetterUtil.getBoolean(
+			PropsUtil.get(PropsKeys.INDEX_REINDEX_PARALLEL_ENABLED));
+
+	private static final int _INDEX_REINDEX_PARALLEL_THREAD_COUNT =
+		GetterUtil.getInteger(
+			PropsUtil.get(PropsKeys.INDEX_REINDEX_PARALLEL_THREAD_COUNT));
+
+	private static Log _log = LogFactoryUtil.getLog(
+		BaseActionableDynamicQuery.class);
+
+	private static ThreadLocal<Boolean> _parallelWorkerThreadLocal =
+		new InitialThreadLocal<Boolean>(
+			BaseActionableDynamicQuery.class + "._parallelWorkerThreadLocal",
+			false);
+
 	private BaseLocalService _baseLocalService;
 	private ClassLoader _classLoader;
 	private Class<?> _clazz;
 	private long _companyId;
-	private Collection<Document> _documents;
+	private ThreadLocal<Collection<Document>> _documentsThreadLocal =
+		new ThreadLocal<Collection<Document>>() {
+
+			@Override
+			protected Collection<Document> initialValue() {
+				return new ArrayList<Document>();
+			}
+
+		};
+
 	private Method _dynamicQueryCountMethod;
 	private Method _dynamicQueryMethod;
 	private long _groupId;
 	private String _groupIdPropertyName = "groupId";
 	private int _interval = Indexer.DEFAULT_INTERVAL;
+	private boolean _parallel;
+	private AtomicLong _performedActionsCount = new AtomicLong();
 	private String _primaryKeyPropertyName;
 	private String _searchEngineId;
 
+	private class ParallelIntervalCallable
+		extends CopyThreadLocalCallable<Void> {
+
+		public ParallelIntervalCallable(ParallelIntervals parallelIntervals) {
+
+			// Copy the calling thread's thread locals, such as the locale and
+			// the permission checker, to the worker
+
+			super(true, true);
+
+			_parallelIntervals = parallelIntervals;
+		}
+
+		@Override
+		public Void doCall() throws Exception {
+			_parallelWorkerThreadLocal.set(true);
+
+			if (_companyId > 0) {
+				ShardUtil.pushCompanyService(_companyId);
+			}
+
+			try {
+				long partition = -1;
+
+				while ((partition = _parallelIntervals.nextPartition()) >= 0) {
+					long startPrimaryKey =
+						_parallelIntervals.getStartPrimaryKey(partition);
+					long endPrimaryKey = _parallelIntervals.getEndPrimaryKey(
+						partition);
+
+					performActions(startPrimaryKey, endPrimaryKey);
+
+					indexInterval();
+
+					intervalCompleted(startPrimaryKey, endPrimaryKey);
+
+					_parallelIntervals.partitionCompleted(partition);
+				}
+			}
+			catch (Exception e) {
+				_parallelIntervals.fail();
+
+				throw e;
+			}
+			finally {
+				if (_companyId > 0) {
+					ShardUtil.popCompanyService();
+				}
+
+				_documentsThreadLocal.remove();
+				_parallelWorkerThreadLocal.remove();
+			}
+
+			return null;
+		}
+
+		private ParallelIntervals _parallelIntervals;
+
+	}
+
+	private class ParallelIntervals {
+
+		public ParallelIntervals(
+			String checkpointName, long checkpointStartPrimaryKey, long count,
+			long minPrimaryKey, long maxPrimaryKey, long partitionSize) {
+
+			_checkpointName = checkpointName;
+			_checkpointStartPrimaryKey = checkpointStartPrimaryKey;
+			_count = count;
+			_minPrimaryKey = minPrimaryKey;
+			_maxPrimaryKey = maxPrimaryKey;
+			_partitionSize = partitionSize;
+
+			_partitionCount =
+				((maxPrimaryKey - minPrimaryKey) / partitionSize) + 1;
+
+			if (BackgroundTaskThreadLocal.hasBackgroundTask()) {
+				_backgroundTaskStatus =
+					BackgroundTaskStatusRegistryUtil.getBackgroundTaskStatus(
+						BackgroundTaskThreadLocal.getBackgroundTaskId());
+			}
+			else {
+				_backgroundTaskStatus = null;
+			}
+		}
+
+		public void fail() {
+			_failed.set(true);
+		}
+
+		public long getEndPrimaryKey(long partition) {
+			return Math.min(
+				getStartPrimaryKey(partition) + _partitionSize,
+				_maxPrimaryKey + 1);
+		}
+
+		public long getPartitionCount() {
+			return _partitionCount;
+		}
+
+		public long getPerformedActionsCount() {
+			return _performedActionsCount.get();
+		}
+
+		public long getStartPrimaryKey(long partition) {
+			return _minPrimaryKey + (partition * _partitionSize);
+		}
+
+		public long getThroughput() {
+			long time = System.currentTimeMillis() - _startTime;
+
+			if (time <= 0) {
+				return _performedActionsCount.get();
+			}
+
+			return (_performedActionsCount.get() * Time.SECOND) / time;
+		}
+
+		public long nextPartition() {
+			if (_failed.get()) {
+				return -1;
+			}
+
+			long partition = _nextPartition.getAndIncrement();
+
+			if (partition >= _partitionCount) {
+				return -1;
+			}
+
+			return partition;
+		}
+
+		public void partitionCompleted(long partition) {
+			synchronized (_completedPartitions) {
+				_completedPartitions.set((int)partition);
+
+				// Only the lowest contiguous run of completed partitions is
+				// recorded because partitions complete out of order. The
+				// checkpoint is written under the lock so that a slower
+				// writer cannot move it back.
+
+				int completedPartition = _completedPartitions.nextClearBit(0);
+
+				if (completedPartition > _checkpointPartition) {
+					_checkpointPartition = completedPartition;
+
+					ReindexCheckpointUtil.updateCheckpoint(
+						_companyId, _checkpointName, _checkpointStartPrimaryKey,
+						getStartPrimaryKey(completedPartition));
+				}
+			}
+
+			if (_backgroundTaskStatus != null) {
+				String prefix = _checkpointName.concat(StringPool.PERIOD);
+
+				_backgroundTaskStatus.setAttribute(
+					prefix.concat("performedActionsCount"),
+					_performedActionsCount.get());
+				_backgroundTaskStatus.setAttribute(
+					prefix.concat("throughput"), getThroughput());
+				_backgroundTaskStatus.setAttribute(
+					prefix.concat("totalActionsCount"), _count);
+			}
+		}
+
+		private final BackgroundTaskStatus _backgroundTaskStatus;
+		private final String _checkpointName;
+		private int _checkpointPartition;
+		private final long _checkpointStartPrimaryKey;
+		private final BitSet _completedPartitions = new BitSet();
+		private final long _count;
+		private final AtomicBoolean _failed = new AtomicBoolean();
+		private final long _maxPrimaryKey;
+		private final long _minPrimaryKey;
+		private final AtomicLong _nextPartition = new AtomicLong();
+		private final long _partitionCount;
+		private final long _partitionSize;
+		private final long _startTime = System.currentTimeMillis();
+
+	}
+
 }
\ No newline at end of file
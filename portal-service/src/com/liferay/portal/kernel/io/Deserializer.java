@@ -126,6 +126,22 @@ public class Deserializer {
 
 				return (T)ClassResolverUtil.resolve(className, classLoader);
 
+			case SerializationConstants.TC_CODEC:
+				int typeId = readInt();
+
+				SerializableCodecRegistry.Registration registration =
+					SerializableCodecRegistry.getRegistration(typeId);
+
+				if (registration == null) {
+					throw new IllegalStateException(
+						"Unknown codec type ID " + typeId);
+				}
+
+				SerializableCodec<T> serializableCodec =
+					(SerializableCodec<T>)registration.serializableCodec;
+
+				return serializableCodec.decode(this);
+
 			case SerializationConstants.TC_DOUBLE:
 				return (T)Double.valueOf(readDouble());
 
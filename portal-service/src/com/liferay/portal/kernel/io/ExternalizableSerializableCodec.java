@@ -0,0 +1,333 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.io;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.Serializable;
+
+import java.lang.reflect.Constructor;
+
+/**
+ * Encodes an {@link Externalizable} class, such as a ServiceBuilder generated
+ * entity cache model, by running its <code>writeExternal</code> and
+ * <code>readExternal</code> methods directly against the {@link Serializer}
+ * and {@link Deserializer} buffers.
+ *
+ * <p>
+ * <code>writeUTF</code> and <code>readUTF</code> are mapped to {@link
+ * Serializer#writeString(String)} and {@link Deserializer#readString()}, and
+ * <code>writeObject</code> and <code>readObject</code> are mapped to their
+ * Serializer and Deserializer counterparts.
+ * </p>
+ *
+ * @author Shuyang Zhou
+ */
+public class ExternalizableSerializableCodec<T extends Externalizable>
+	implements SerializableCodec<T> {
+
+	public ExternalizableSerializableCodec(Class<T> clazz) {
+		try {
+			_constructor = clazz.getConstructor();
+		}
+		catch (NoSuchMethodException nsme) {
+			throw new IllegalArgumentException(
+				clazz.getName() + " has no public no-arg constructor", nsme);
+		}
+	}
+
+	@Override
+	public T decode(Deserializer deserializer) throws ClassNotFoundException {
+		try {
+			T t = _constructor.newInstance();
+
+			t.readExternal(new DeserializerObjectInput(deserializer));
+
+			return t;
+		}
+		catch (ClassNotFoundException cnfe) {
+			throw cnfe;
+		}
+		catch (Exception e) {
+			throw new RuntimeException(
+				"Unable to read " + _constructor.getDeclaringClass(), e);
+		}
+	}
+
+	@Override
+	public void encode(Serializer serializer, T t) {
+		try {
+			t.writeExternal(new SerializerObjectOutput(serializer));
+		}
+		catch (IOException ioe) {
+			throw new RuntimeException("Unable to write " + t, ioe);
+		}
+	}
+
+	protected static class DeserializerObjectInput implements ObjectInput {
+
+		public DeserializerObjectInput(Deserializer deserializer) {
+			_deserializer = deserializer;
+		}
+
+		@Override
+		public int available() {
+			return _deserializer.limit - _deserializer.index;
+		}
+
+		@Override
+		public void close() {
+		}
+
+		@Override
+		public int read() {
+			if (available() <= 0) {
+				return -1;
+			}
+
+			return _deserializer.readByte() & 0xFF;
+		}
+
+		@Override
+		public int read(byte[] bytes) {
+			return read(bytes, 0, bytes.length);
+		}
+
+		@Override
+		public int read(byte[] bytes, int offset, int length) {
+			int available = available();
+
+			if (available <= 0) {
+				return -1;
+			}
+
+			if (length > available) {
+				length = available;
+			}
+
+			for (int i = 0; i < length; i++) {
+				bytes[offset + i] = _deserializer.readByte();
+			}
+
+			return length;
+		}
+
+		@Override
+		public boolean readBoolean() {
+			return _deserializer.readBoolean();
+		}
+
+		@Override
+		public byte readByte() {
+			return _deserializer.readByte();
+		}
+
+		@Override
+		public char readChar() {
+			return _deserializer.readChar();
+		}
+
+		@Override
+		public double readDouble() {
+			return _deserializer.readDouble();
+		}
+
+		@Override
+		public float readFloat() {
+			return _deserializer.readFloat();
+		}
+
+		@Override
+		public void readFully(byte[] bytes) {
+			readFully(bytes, 0, bytes.length);
+		}
+
+		@Override
+		public void readFully(byte[] bytes, int offset, int length) {
+			for (int i = 0; i < length; i++) {
+				bytes[offset + i] = _deserializer.readByte();
+			}
+		}
+
+		@Override
+		public int readInt() {
+			return _deserializer.readInt();
+		}
+
+		@Override
+		public String readLine() {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public long readLong() {
+			return _deserializer.readLong();
+		}
+
+		@Override
+		public Object readObject() throws ClassNotFoundException {
+			return _deserializer.readObject();
+		}
+
+		@Override
+		public short readShort() {
+			return _deserializer.readShort();
+		}
+
+		@Override
+		public int readUnsignedByte() {
+			return _deserializer.readByte() & 0xFF;
+		}
+
+		@Override
+		public int readUnsignedShort() {
+			return _deserializer.readShort() & 0xFFFF;
+		}
+
+		@Override
+		public String readUTF() {
+			return _deserializer.readString();
+		}
+
+		@Override
+		public long skip(long n) {
+			return skipBytes((int)Math.min(n, Integer.MAX_VALUE));
+		}
+
+		@Override
+		public int skipBytes(int n) {
+			int available = available();
+
+			if (n > available) {
+				n = available;
+			}
+
+			if (n < 0) {
+				n = 0;
+			}
+
+			_deserializer.index += n;
+
+			return n;
+		}
+
+		private final Deserializer _deserializer;
+
+	}
+
+	protected static class SerializerObjectOutput implements ObjectOutput {
+
+		public SerializerObjectOutput(Serializer serializer) {
+			_serializer = serializer;
+		}
+
+		@Override
+		public void close() {
+		}
+
+		@Override
+		public void flush() {
+		}
+
+		@Override
+		public void write(byte[] bytes) {
+			write(bytes, 0, bytes.length);
+		}
+
+		@Override
+		public void write(byte[] bytes, int offset, int length) {
+			for (int i = offset; i < (offset + length); i++) {
+				_serializer.writeByte(bytes[i]);
+			}
+		}
+
+		@Override
+		public void write(int b) {
+			_serializer.writeByte((byte)b);
+		}
+
+		@Override
+		public void writeBoolean(boolean b) {
+			_serializer.writeBoolean(b);
+		}
+
+		@Override
+		public void writeByte(int b) {
+			_serializer.writeByte((byte)b);
+		}
+
+		@Override
+		public void writeBytes(String s) {
+			for (int i = 0; i < s.length(); i++) {
+				_serializer.writeByte((byte)s.charAt(i));
+			}
+		}
+
+		@Override
+		public void writeChar(int c) {
+			_serializer.writeChar((char)c);
+		}
+
+		@Override
+		public void writeChars(String s) {
+			for (int i = 0; i < s.length(); i++) {
+				_serializer.writeChar(s.charAt(i));
+			}
+		}
+
+		@Override
+		public void writeDouble(double d) {
+			_serializer.writeDouble(d);
+		}
+
+		@Override
+		public void writeFloat(float f) {
+			_serializer.writeFloat(f);
+		}
+
+		@Override
+		public void writeInt(int i) {
+			_serializer.writeInt(i);
+		}
+
+		@Override
+		public void writeLong(long l) {
+			_serializer.writeLong(l);
+		}
+
+		@Override
+		public void writeObject(Object object) {
+			_serializer.writeObject((Serializable)object);
+		}
+
+		@Override
+		public void writeShort(int s) {
+			_serializer.writeShort((short)s);
+		}
+
+		@Override
+		public void writeUTF(String s) {
+			_serializer.writeString(s);
+		}
+
+		private final Serializer _serializer;
+
+	}
+
+	private final Constructor<T> _constructor;
+
+}
@@ -0,0 +1,42 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.io;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileNotFoundException;
+
+/**
+ * A file input stream that remembers the file it reads, so that whoever ends
+ * up delivering it can hand the file itself to the servlet container or the
+ * front-end web server instead of copying its bytes.
+ *
+ * @author Shuyang Zhou
+ */
+public class LocalFileInputStream extends FileInputStream {
+
+	public LocalFileInputStream(File file) throws FileNotFoundException {
+		super(file);
+
+		_file = file;
+	}
+
+	public File getFile() {
+		return _file;
+	}
+
+	private final File _file;
+
+}
@@ -0,0 +1,32 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.io;
+
+import java.io.Serializable;
+
+/**
+ * Encodes and decodes the fields of one class directly to and from the
+ * {@link Serializer} and {@link Deserializer} buffers.
+ *
+ * @author Shuyang Zhou
+ * @see    SerializableCodecRegistry
+ */
+public interface SerializableCodec<T extends Serializable> {
+
+	public T decode(Deserializer deserializer) throws ClassNotFoundException;
+
+	public void encode(Serializer serializer, T t);
+
+}
@@ -0,0 +1,155 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.io;
+
+import com.liferay.portal.kernel.messaging.Message;
+import com.liferay.portal.kernel.messaging.MessageSerializableCodec;
+import com.liferay.portal.kernel.util.TransientValue;
+import com.liferay.portal.kernel.util.TransientValueSerializableCodec;
+
+import java.io.Serializable;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps classes to compact type IDs and {@link SerializableCodec}s.
+ *
+ * <p>
+ * The {@link Serializer} writes an object whose class is registered here as
+ * the {@link SerializationConstants#TC_CODEC} type header, the type ID and the
+ * fields encoded by the codec, instead of a full Java serialization stream.
+ * Only the exact class is matched, subclasses of a registered class still go
+ * through Java serialization.
+ * </p>
+ *
+ * <p>
+ * The type ID replaces the class name in the serialized form, so the
+ * deserializing side must have registered the same class under the same type
+ * ID. This holds for the built-in codecs, which are always registered. Other
+ * codecs must be registered identically on every portal instance of a cluster
+ * and in every SPI. Type IDs below {@link #TYPE_ID_MIN} are reserved for the
+ * built-in codecs.
+ * </p>
+ *
+ * @author Shuyang Zhou
+ */
+public class SerializableCodecRegistry {
+
+	public static final int TYPE_ID_MESSAGE = 1;
+
+	public static final int TYPE_ID_MIN = 100;
+
+	public static final int TYPE_ID_TRANSIENT_VALUE = 2;
+
+	public static <T extends Serializable> SerializableCodec<T>
+		getSerializableCodec(Class<T> clazz) {
+
+		Registration registration = _classRegistrations.get(clazz);
+
+		if (registration == null) {
+			return null;
+		}
+
+		return (SerializableCodec<T>)registration.serializableCodec;
+	}
+
+	public static <T extends Serializable> void register(
+		int typeId, Class<T> clazz, SerializableCodec<T> serializableCodec) {
+
+		if (typeId < TYPE_ID_MIN) {
+			throw new IllegalArgumentException(
+				"Type ID " + typeId + " is reserved");
+		}
+
+		_register(typeId, clazz, serializableCodec);
+	}
+
+	public static void unregister(Class<?> clazz) {
+		Registration registration = _classRegistrations.get(clazz);
+
+		if ((registration == null) || (registration.typeId < TYPE_ID_MIN)) {
+			return;
+		}
+
+		_classRegistrations.remove(clazz);
+		_typeIdRegistrations.remove(registration.typeId);
+	}
+
+	protected static Registration getRegistration(Class<?> clazz) {
+		return _classRegistrations.get(clazz);
+	}
+
+	protected static Registration getRegistration(int typeId) {
+		return _typeIdRegistrations.get(typeId);
+	}
+
+	protected static class Registration {
+
+		public Registration(
+			int typeId, Class<?> clazz,
+			SerializableCodec<? extends Serializable> serializableCodec) {
+
+			this.typeId = typeId;
+			this.clazz = clazz;
+			this.serializableCodec = serializableCodec;
+		}
+
+		protected final Class<?> clazz;
+		protected final SerializableCodec<? extends Serializable>
+			serializableCodec;
+		protected final int typeId;
+
+	}
+
+	private static synchronized <T extends Serializable> void _register(
+		int typeId, Class<T> clazz, SerializableCodec<T> serializableCodec) {
+
+		Registration registration = _typeIdRegistrations.get(typeId);
+
+		if ((registration != null) && (registration.clazz != clazz)) {
+			throw new IllegalStateException(
+				"Type ID " + typeId + " is already registered for " +
+					registration.clazz.getName());
+		}
+
+		registration = _classRegistrations.get(clazz);
+
+		if ((registration != null) && (registration.typeId != typeId)) {
+			throw new IllegalStateException(
+				clazz.getName() + " is already registered with type ID " +
+					registration.typeId);
+		}
+
+		registration = new Registration(typeId, clazz, serializableCodec);
+
+		_typeIdRegistrations.put(typeId, registration);
+		_classRegistrations.put(clazz, registration);
+	}
+
+	private static Map<Class<?>, Registration> _classRegistrations =
+		new ConcurrentHashMap<Class<?>, Registration>();
+	private static Map<Integer, Registration> _typeIdRegistrations =
+		new ConcurrentHashMap<Integer, Registration>();
+
+	static {
+		_register(
+			TYPE_ID_MESSAGE, Message.class, new MessageSerializableCodec());
+		_register(
+			TYPE_ID_TRANSIENT_VALUE, TransientValue.class,
+			new TransientValueSerializableCodec());
+	}
+
+}
@@ -27,6 +27,8 @@ public class SerializationConstants {
 
 	public static final byte TC_CLASS = 3;
 
+	public static final byte TC_CODEC = 12;
+
 	public static final byte TC_DOUBLE = 4;
 
 	public static final byte TC_FLOAT = 5;
@@ -78,6 +78,14 @@ import java.util.Arrays;
  * </p>
  *
  * <p>
+ * Objects whose class is registered in the {@link SerializableCodecRegistry}
+ * are written as a one byte type header, a four byte type ID and the fields
+ * encoded by the registered {@link SerializableCodec}. No class descriptor is
+ * written, which makes them both smaller and faster to encode and decode than
+ * with ObjectOutputStream.
+ * </p>
+ *
+ * <p>
  * On object serialization, the Serializer uses the {@link
  * com.liferay.portal.kernel.util.ClassLoaderPool} to look up the servlet
  * context name corresponding to the object's ClassLoader. The servlet context
@@ -229,6 +237,23 @@ public class Serializer {
 			return;
 		}
 		else {
+			SerializableCodecRegistry.Registration registration =
+				SerializableCodecRegistry.getRegistration(
+					serializable.getClass());
+
+			if (registration != null) {
+				SerializableCodec<Serializable> serializableCodec =
+					(SerializableCodec<Serializable>)
+						registration.serializableCodec;
+
+				writeByte(SerializationConstants.TC_CODEC);
+				writeInt(registration.typeId);
+
+				serializableCodec.encode(this, serializable);
+
+				return;
+			}
+
 			writeByte(SerializationConstants.TC_OBJECT);
 		}
 
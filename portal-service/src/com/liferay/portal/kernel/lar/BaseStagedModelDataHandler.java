@@ -22,6 +22,7 @@ import com.liferay.portal.kernel.log.LogFactoryUtil;
 import com.liferay.portal.kernel.trash.TrashHandler;
 import com.liferay.portal.kernel.trash.TrashHandlerRegistryUtil;
 import com.liferay.portal.kernel.util.ArrayUtil;
+import com.liferay.portal.kernel.util.AutoResetThreadLocal;
 import com.liferay.portal.kernel.util.GetterUtil;
 import com.liferay.portal.kernel.workflow.WorkflowConstants;
 import com.liferay.portal.kernel.xml.Element;
@@ -65,7 +66,18 @@ public abstract class BaseStagedModelDataHandler<T extends StagedModel>
 			PortletDataHandlerStatusMessageSenderUtil.sendStatusMessage(
 				"stagedModel", stagedModel, manifestSummary);
 
-			doExportStagedModel(portletDataContext, (T)stagedModel.clone());
+			long startDuration = _durationThreadLocal.get();
+			long startTime = System.nanoTime();
+
+			try {
+				doExportStagedModel(
+					portletDataContext, (T)stagedModel.clone());
+			}
+			finally {
+				manifestSummary.incrementModelDuration(
+					stagedModel.getStagedModelType(),
+					updateDuration(startDuration, startTime));
+			}
 
 			if (countStagedModel(portletDataContext, stagedModel)) {
 				manifestSummary.incrementModelAdditionCount(
@@ -152,11 +164,21 @@ public abstract class BaseStagedModelDataHandler<T extends StagedModel>
 			PortletDataHandlerStatusMessageSenderUtil.sendStatusMessage(
 				"stagedModel", stagedModel, manifestSummary);
 
-			if (stagedModel instanceof TrashedModel) {
-				restoreStagedModel(portletDataContext, stagedModel);
-			}
+			long startDuration = _durationThreadLocal.get();
+			long startTime = System.nanoTime();
+
+			try {
+				if (stagedModel instanceof TrashedModel) {
+					restoreStagedModel(portletDataContext, stagedModel);
+				}
 
-			doImportStagedModel(portletDataContext, stagedModel);
+				doImportStagedModel(portletDataContext, stagedModel);
+			}
+			finally {
+				manifestSummary.incrementModelDuration(
+					stagedModel.getStagedModelType(),
+					updateDuration(startDuration, startTime));
+			}
 
 			manifestSummary.incrementModelAdditionCount(
 				stagedModel.getStagedModelType());
@@ -237,6 +259,19 @@ public abstract class BaseStagedModelDataHandler<T extends StagedModel>
 		throw new UnsupportedOperationException();
 	}
 
+	protected long updateDuration(long startDuration, long startTime) {
+		long duration = System.nanoTime() - startTime;
+
+		// Exclude the time spent in the references exported or imported by
+		// this staged model, which already added their own durations
+
+		long referencesDuration = _durationThreadLocal.get() - startDuration;
+
+		_durationThreadLocal.set(startDuration + duration);
+
+		return duration - referencesDuration;
+	}
+
 	protected void validateExport(
 			PortletDataContext portletDataContext, T stagedModel)
 		throws PortletDataException {
@@ -294,6 +329,9 @@ public abstract class BaseStagedModelDataHandler<T extends StagedModel>
 		return true;
 	}
 
+	private static ThreadLocal<Long> _durationThreadLocal =
+		new AutoResetThreadLocal<Long>(
+			BaseStagedModelDataHandler.class + "._durationThreadLocal", 0L);
 	private static Log _log = LogFactoryUtil.getLog(
 		BaseStagedModelDataHandler.class);
 
@@ -134,6 +134,8 @@ public class ManifestSummary implements Serializable {
 			new HashMap<String, LongWrapper>(_modelAdditionCounters);
 		manifestSummary._modelDeletionCounters =
 			new HashMap<String, LongWrapper>(_modelDeletionCounters);
+		manifestSummary._modelDurations = new HashMap<String, LongWrapper>(
+			_modelDurations);
 
 		return manifestSummary;
 	}
@@ -260,6 +262,21 @@ public class ManifestSummary implements Serializable {
 		return _modelDeletionCounters;
 	}
 
+	public long getModelDuration(StagedModelType stagedModelType) {
+		LongWrapper modelDuration = _modelDurations.get(
+			stagedModelType.toString());
+
+		if (modelDuration == null) {
+			return 0;
+		}
+
+		return modelDuration.getValue();
+	}
+
+	public Map<String, LongWrapper> getModelDurations() {
+		return _modelDurations;
+	}
+
 	public void incrementModelAdditionCount(StagedModelType stagedModelType) {
 		String manifestSummaryKey = stagedModelType.toString();
 
@@ -294,6 +311,22 @@ public class ManifestSummary implements Serializable {
 		modelDeletionCounter.increment();
 	}
 
+	public void incrementModelDuration(
+		StagedModelType stagedModelType, long duration) {
+
+		String manifestSummaryKey = stagedModelType.toString();
+
+		LongWrapper modelDuration = _modelDurations.get(manifestSummaryKey);
+
+		if (modelDuration == null) {
+			_modelDurations.put(manifestSummaryKey, new LongWrapper(duration));
+
+			return;
+		}
+
+		modelDuration.setValue(modelDuration.getValue() + duration);
+	}
+
 	public void setExportDate(Date exportDate) {
 		_exportDate = exportDate;
 	}
@@ -322,5 +355,7 @@ public class ManifestSummary implements Serializable {
 		new HashMap<String, LongWrapper>();
 	private Map<String, LongWrapper> _modelDeletionCounters =
 		new HashMap<String, LongWrapper>();
+	private Map<String, LongWrapper> _modelDurations =
+		new HashMap<String, LongWrapper>();
 
 }
\ No newline at end of file
@@ -18,6 +18,7 @@ import com.liferay.portal.kernel.cluster.ClusterLink;
 import com.liferay.portal.kernel.concurrent.RejectedExecutionHandler;
 import com.liferay.portal.kernel.concurrent.ThreadPoolExecutor;
 import com.liferay.portal.kernel.concurrent.ThreadPoolHandlerAdapter;
+import com.liferay.portal.kernel.concurrent.WorkStealingThreadPoolExecutor;
 import com.liferay.portal.kernel.executor.PortalExecutorManagerUtil;
 import com.liferay.portal.kernel.log.Log;
 import com.liferay.portal.kernel.log.LogFactoryUtil;
@@ -34,6 +35,7 @@ import com.liferay.portal.security.permission.PermissionThreadLocal;
 import com.liferay.portal.service.UserLocalServiceUtil;
 
 import java.util.Set;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.TimeUnit;
 
 /**
@@ -105,6 +107,10 @@ public abstract class BaseAsyncDestination extends BaseDestination {
 		return _workersMaxSize;
 	}
 
+	public boolean isWorkStealing() {
+		return _workStealing;
+	}
+
 	@Override
 	public void open() {
 		if ((_threadPoolExecutor != null) &&
@@ -119,12 +125,23 @@ public abstract class BaseAsyncDestination extends BaseDestination {
 			_rejectedExecutionHandler = createRejectionExecutionHandler();
 		}
 
-		ThreadPoolExecutor threadPoolExecutor = new ThreadPoolExecutor(
-			_workersCoreSize, _workersMaxSize, 60L, TimeUnit.SECONDS, false,
-			_maximumQueueSize, _rejectedExecutionHandler,
-			new NamedThreadFactory(
-				getName(), Thread.NORM_PRIORITY, classLoader),
-			new ThreadPoolHandlerAdapter());
+		ThreadFactory threadFactory = new NamedThreadFactory(
+			getName(), Thread.NORM_PRIORITY, classLoader);
+
+		ThreadPoolExecutor threadPoolExecutor = null;
+
+		if (_workStealing) {
+			threadPoolExecutor = new WorkStealingThreadPoolExecutor(
+				_workersCoreSize, _workersMaxSize, 60L, TimeUnit.SECONDS, false,
+				_maximumQueueSize, _rejectedExecutionHandler, threadFactory,
+				new ThreadPoolHandlerAdapter());
+		}
+		else {
+			threadPoolExecutor = new ThreadPoolExecutor(
+				_workersCoreSize, _workersMaxSize, 60L, TimeUnit.SECONDS, false,
+				_maximumQueueSize, _rejectedExecutionHandler, threadFactory,
+				new ThreadPoolHandlerAdapter());
+		}
 
 		ThreadPoolExecutor oldThreadPoolExecutor =
 			PortalExecutorManagerUtil.registerPortalExecutor(
@@ -186,6 +203,17 @@ public abstract class BaseAsyncDestination extends BaseDestination {
 		_workersMaxSize = workersMaxSize;
 	}
 
+	/**
+	 * Sets whether the destination dispatches its messages through a {@link
+	 * WorkStealingThreadPoolExecutor}, whose workers take pending messages in
+	 * batches and steal from each other instead of contending on the shared
+	 * task queue for every message. This must be set before the destination
+	 * is opened.
+	 */
+	public void setWorkStealing(boolean workStealing) {
+		_workStealing = workStealing;
+	}
+
 	protected RejectedExecutionHandler createRejectionExecutionHandler() {
 		return new RejectedExecutionHandler() {
 
@@ -294,5 +322,6 @@ public abstract class BaseAsyncDestination extends BaseDestination {
 	private ThreadPoolExecutor _threadPoolExecutor;
 	private int _workersCoreSize = _WORKERS_CORE_SIZE;
 	private int _workersMaxSize = _WORKERS_MAX_SIZE;
+	private boolean _workStealing;
 
 }
\ No newline at end of file
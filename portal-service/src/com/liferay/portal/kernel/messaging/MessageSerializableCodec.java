@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.messaging;
+
+import com.liferay.portal.kernel.io.Deserializer;
+import com.liferay.portal.kernel.io.SerializableCodec;
+import com.liferay.portal.kernel.io.Serializer;
+
+import java.io.Serializable;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Encodes the fields of a {@link Message}. The values are always decoded to a
+ * HashMap, which is what {@link Message#put(String, Object)} creates.
+ *
+ * @author Shuyang Zhou
+ */
+public class MessageSerializableCodec implements SerializableCodec<Message> {
+
+	@Override
+	public Message decode(Deserializer deserializer)
+		throws ClassNotFoundException {
+
+		Message message = new Message();
+
+		message.setDestinationName(deserializer.<String>readObject());
+		message.setPayload(deserializer.readObject());
+		message.setResponse(deserializer.readObject());
+		message.setResponseDestinationName(deserializer.<String>readObject());
+		message.setResponseId(deserializer.<String>readObject());
+
+		int size = deserializer.readInt();
+
+		if (size < 0) {
+			return message;
+		}
+
+		Map<String, Object> values = new HashMap<String, Object>();
+
+		for (int i = 0; i < size; i++) {
+			String key = deserializer.readObject();
+
+			values.put(key, deserializer.readObject());
+		}
+
+		message.setValues(values);
+
+		return message;
+	}
+
+	@Override
+	public void encode(Serializer serializer, Message message) {
+		serializer.writeObject(message.getDestinationName());
+		serializer.writeObject((Serializable)message.getPayload());
+		serializer.writeObject((Serializable)message.getResponse());
+		serializer.writeObject(message.getResponseDestinationName());
+		serializer.writeObject(message.getResponseId());
+
+		Map<String, Object> values = message.getValues();
+
+		if (values == null) {
+			serializer.writeInt(-1);
+
+			return;
+		}
+
+		serializer.writeInt(values.size());
+
+		for (Map.Entry<String, Object> entry : values.entrySet()) {
+			serializer.writeObject(entry.getKey());
+			serializer.writeObject((Serializable)entry.getValue());
+		}
+	}
+
+}
@@ -14,6 +14,8 @@
 
 package com.liferay.portal.kernel.monitoring.statistics;
 
+import com.liferay.portal.kernel.concurrent.StripedCounter;
+
 /**
  * @author Rajesh Thiagarajan
  * @author Brian Wing Shun Chan
@@ -25,17 +27,17 @@ public class CountStatistics extends BaseStatistics {
 	}
 
 	public void decrementCount() {
-		_count--;
+		_count.decrement();
 
 		setLastSampleTime(System.currentTimeMillis());
 	}
 
 	public long getCount() {
-		return _count;
+		return _count.get();
 	}
 
 	public void incrementCount() {
-		_count++;
+		_count.increment();
 
 		setLastSampleTime(System.currentTimeMillis());
 	}
@@ -44,15 +46,17 @@ public class CountStatistics extends BaseStatistics {
 	public void reset() {
 		super.reset();
 
-		_count = 0;
+		_count.reset();
 	}
 
 	public void setCount(long count) {
-		_count = count;
+		_count.reset();
+
+		_count.add(count);
 
 		setLastSampleTime(System.currentTimeMillis());
 	}
 
-	private long _count;
+	private final StripedCounter _count = new StripedCounter();
 
 }
\ No newline at end of file
@@ -14,6 +14,10 @@
 
 package com.liferay.portal.kernel.monitoring.statistics;
 
+import com.liferay.portal.kernel.concurrent.AtomicHistogram;
+import com.liferay.portal.kernel.concurrent.SlidingWindowHistogram;
+import com.liferay.portal.kernel.concurrent.StripedCounter;
+
 /**
  * @author Michael C. Han
  * @author Brian Wing Shun Chan
@@ -21,8 +25,14 @@ package com.liferay.portal.kernel.monitoring.statistics;
 public class RequestStatistics implements Statistics {
 
 	public RequestStatistics(String name) {
+		this(name, _WINDOW_TIME, _WINDOW_SLICES);
+	}
+
+	public RequestStatistics(String name, long windowTime, int windowSlices) {
 		_name = name;
 		_errorStatistics = new CountStatistics(name);
+		_latencySlidingWindowHistogram = new SlidingWindowHistogram(
+			windowTime, windowSlices, _SUB_BUCKET_BITS);
 		_successStatistics = new AverageStatistics(name);
 		_timeoutStatistics = new CountStatistics(name);
 	}
@@ -40,6 +50,14 @@ public class RequestStatistics implements Statistics {
 		return _errorStatistics.getCount();
 	}
 
+	/**
+	 * Returns a snapshot of the successful request durations recorded within
+	 * the sliding window.
+	 */
+	public AtomicHistogram getLatencyHistogram() {
+		return _latencySlidingWindowHistogram.getSnapshot();
+	}
+
 	public long getMaxTime() {
 		return _successStatistics.getMaxTime();
 	}
@@ -53,6 +71,10 @@ public class RequestStatistics implements Statistics {
 		return _name;
 	}
 
+	public long getPercentileTime(double percentile) {
+		return _latencySlidingWindowHistogram.getPercentile(percentile);
+	}
+
 	public long getRequestCount() {
 		return getErrorCount() + getSuccessCount() + getTimeoutCount();
 	}
@@ -65,12 +87,22 @@ public class RequestStatistics implements Statistics {
 		return _timeoutStatistics.getCount();
 	}
 
+	/**
+	 * Returns the sum of all successful request durations since the last
+	 * reset.
+	 */
+	public long getTotalTime() {
+		return _totalTime.get();
+	}
+
 	public void incrementError() {
 		_errorStatistics.incrementCount();
 	}
 
 	public void incrementSuccessDuration(long duration) {
+		_latencySlidingWindowHistogram.record(duration);
 		_successStatistics.addDuration(duration);
+		_totalTime.add(duration);
 	}
 
 	public void incrementTimeout() {
@@ -80,8 +112,10 @@ public class RequestStatistics implements Statistics {
 	@Override
 	public void reset() {
 		_errorStatistics.reset();
+		_latencySlidingWindowHistogram.reset();
 		_successStatistics.reset();
 		_timeoutStatistics.reset();
+		_totalTime.reset();
 	}
 
 	@Override
@@ -89,10 +123,18 @@ public class RequestStatistics implements Statistics {
 		_description = description;
 	}
 
+	private static final int _SUB_BUCKET_BITS = 2;
+
+	private static final int _WINDOW_SLICES = 6;
+
+	private static final long _WINDOW_TIME = 60000;
+
 	private String _description;
 	private CountStatistics _errorStatistics;
+	private SlidingWindowHistogram _latencySlidingWindowHistogram;
 	private String _name;
 	private AverageStatistics _successStatistics;
 	private CountStatistics _timeoutStatistics;
+	private final StripedCounter _totalTime = new StripedCounter();
 
 }
\ No newline at end of file
@@ -49,6 +49,15 @@ public interface SummaryStatistics {
 
 	public long getMinTimeByCompany(String webId) throws MonitoringException;
 
+	public long getPercentileTime(double percentile)
+		throws MonitoringException;
+
+	public long getPercentileTimeByCompany(long companyId, double percentile)
+		throws MonitoringException;
+
+	public long getPercentileTimeByCompany(String webId, double percentile)
+		throws MonitoringException;
+
 	public long getRequestCount() throws MonitoringException;
 
 	public long getRequestCountByCompany(long companyId)
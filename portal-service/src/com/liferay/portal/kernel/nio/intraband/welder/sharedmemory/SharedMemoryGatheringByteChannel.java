@@ -0,0 +1,68 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.nio.intraband.welder.sharedmemory;
+
+import java.io.IOException;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.GatheringByteChannel;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class SharedMemoryGatheringByteChannel implements GatheringByteChannel {
+
+	public SharedMemoryGatheringByteChannel(
+		SharedMemoryRingBuffer sharedMemoryRingBuffer) {
+
+		_sharedMemoryRingBuffer = sharedMemoryRingBuffer;
+	}
+
+	@Override
+	public void close() {
+		_sharedMemoryRingBuffer.close();
+	}
+
+	@Override
+	public boolean isOpen() {
+		return _sharedMemoryRingBuffer.isOpen();
+	}
+
+	@Override
+	public int write(ByteBuffer byteBuffer) throws IOException {
+		return _sharedMemoryRingBuffer.write(byteBuffer);
+	}
+
+	@Override
+	public long write(ByteBuffer[] byteBuffers) throws IOException {
+		return write(byteBuffers, 0, byteBuffers.length);
+	}
+
+	@Override
+	public long write(ByteBuffer[] byteBuffers, int offset, int length)
+		throws IOException {
+
+		long count = 0;
+
+		for (int i = offset; i < (offset + length); i++) {
+			count += _sharedMemoryRingBuffer.write(byteBuffers[i]);
+		}
+
+		return count;
+	}
+
+	private final SharedMemoryRingBuffer _sharedMemoryRingBuffer;
+
+}
@@ -0,0 +1,291 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.nio.intraband.welder.sharedmemory;
+
+import java.io.IOException;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ClosedChannelException;
+
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A single producer, single consumer byte ring buffer laid over a shared
+ * memory region.
+ *
+ * <p>
+ * The region starts with a header holding the total number of bytes written,
+ * the total number of bytes read and a closed flag, each on its own cache
+ * line. The data area follows the header. Its capacity must be a power of two.
+ * </p>
+ *
+ * <p>
+ * The writer publishes the written count only after copying the data, and the
+ * reader publishes the read count only after copying the data out. A volatile
+ * access separates the data copy from the count publication on both sides.
+ * HotSpot compiles volatile accesses to full compiler and hardware barriers,
+ * which also order the accesses to the mapped memory.
+ * </p>
+ *
+ * <p>
+ * A side that has to wait spins first, then yields, then parks for
+ * exponentially growing periods of up to <code>parkTimeMax</code>
+ * nanoseconds. No signal crosses the process boundary.
+ * </p>
+ *
+ * @author Shuyang Zhou
+ */
+public class SharedMemoryRingBuffer {
+
+	public static final int HEADER_SIZE = 192;
+
+	public static int getSize(int capacity) {
+		return HEADER_SIZE + capacity;
+	}
+
+	public SharedMemoryRingBuffer(
+		ByteBuffer byteBuffer, int capacity, long parkTimeMax) {
+
+		if ((capacity <= 0) || ((capacity & (capacity - 1)) != 0)) {
+			throw new IllegalArgumentException(
+				"Capacity " + capacity + " is not a power of two");
+		}
+
+		if (byteBuffer.capacity() < getSize(capacity)) {
+			throw new IllegalArgumentException(
+				"Byte buffer capacity " + byteBuffer.capacity() +
+					" is less than " + getSize(capacity));
+		}
+
+		_byteBuffer = byteBuffer;
+		_capacity = capacity;
+		_parkTimeMax = parkTimeMax;
+
+		_dataByteBuffer = byteBuffer.duplicate();
+
+		_mask = capacity - 1;
+		_readIndex = byteBuffer.getLong(_INDEX_READ);
+		_writeIndex = byteBuffer.getLong(_INDEX_WRITE);
+	}
+
+	public void close() {
+		_open = false;
+
+		_fence = 0;
+
+		_byteBuffer.putInt(_INDEX_CLOSED, 1);
+	}
+
+	public int getCapacity() {
+		return _capacity;
+	}
+
+	public boolean isClosed() {
+		if (_byteBuffer.getInt(_INDEX_CLOSED) != 0) {
+			return true;
+		}
+
+		return false;
+	}
+
+	public boolean isOpen() {
+		return _open;
+	}
+
+	public int read(ByteBuffer byteBuffer, boolean block) throws IOException {
+		if (!byteBuffer.hasRemaining()) {
+			return 0;
+		}
+
+		int idleCount = 0;
+
+		while (true) {
+			ensureOpen();
+
+			long writeIndex = _byteBuffer.getLong(_INDEX_WRITE);
+
+			int fence = _fence;
+
+			int available = (int)(writeIndex - _readIndex);
+
+			if (available > 0) {
+				int length = Math.min(available, byteBuffer.remaining());
+
+				int offset = (int)(_readIndex & _mask);
+
+				int firstLength = Math.min(length, _capacity - offset);
+
+				_copyOut(byteBuffer, offset, firstLength);
+
+				if (firstLength < length) {
+					_copyOut(byteBuffer, 0, length - firstLength);
+				}
+
+				_readIndex += length;
+
+				_fence = fence;
+
+				_byteBuffer.putLong(_INDEX_READ, _readIndex);
+
+				return length;
+			}
+
+			if (isClosed()) {
+
+				// Check once more, the writer may have published its last
+				// bytes right before closing
+
+				if (_byteBuffer.getLong(_INDEX_WRITE) == _readIndex) {
+					return -1;
+				}
+
+				continue;
+			}
+
+			if (!block) {
+				return 0;
+			}
+
+			idle(idleCount++);
+		}
+	}
+
+	public int write(ByteBuffer byteBuffer) throws IOException {
+		int length = byteBuffer.remaining();
+
+		int idleCount = 0;
+
+		while (byteBuffer.hasRemaining()) {
+			ensureOpen();
+
+			if (isClosed()) {
+				throw new ClosedChannelException();
+			}
+
+			long readIndex = _byteBuffer.getLong(_INDEX_READ);
+
+			int fence = _fence;
+
+			int free = _capacity - (int)(_writeIndex - readIndex);
+
+			if (free == 0) {
+				idle(idleCount++);
+
+				continue;
+			}
+
+			idleCount = 0;
+
+			int chunkLength = Math.min(free, byteBuffer.remaining());
+
+			int offset = (int)(_writeIndex & _mask);
+
+			int firstLength = Math.min(chunkLength, _capacity - offset);
+
+			_copyIn(byteBuffer, offset, firstLength);
+
+			if (firstLength < chunkLength) {
+				_copyIn(byteBuffer, 0, chunkLength - firstLength);
+			}
+
+			_writeIndex += chunkLength;
+
+			_fence = fence;
+
+			_byteBuffer.putLong(_INDEX_WRITE, _writeIndex);
+		}
+
+		return length;
+	}
+
+	protected void ensureOpen() throws IOException {
+		if (!_open) {
+			throw new AsynchronousCloseException();
+		}
+
+		if (Thread.interrupted()) {
+			close();
+
+			throw new ClosedByInterruptException();
+		}
+	}
+
+	protected void idle(int idleCount) {
+		if (idleCount < _SPIN_COUNT) {
+			return;
+		}
+
+		idleCount -= _SPIN_COUNT;
+
+		if (idleCount < _YIELD_COUNT) {
+			Thread.yield();
+
+			return;
+		}
+
+		idleCount -= _YIELD_COUNT;
+
+		long parkTime = _parkTimeMax;
+
+		if (idleCount < 20) {
+			parkTime = Math.min(_parkTimeMax, 1000L << idleCount);
+		}
+
+		LockSupport.parkNanos(this, parkTime);
+	}
+
+	private void _copyIn(ByteBuffer byteBuffer, int offset, int length) {
+		int limit = byteBuffer.limit();
+
+		byteBuffer.limit(byteBuffer.position() + length);
+
+		_dataByteBuffer.limit(HEADER_SIZE + offset + length);
+		_dataByteBuffer.position(HEADER_SIZE + offset);
+
+		_dataByteBuffer.put(byteBuffer);
+
+		byteBuffer.limit(limit);
+	}
+
+	private void _copyOut(ByteBuffer byteBuffer, int offset, int length) {
+		_dataByteBuffer.limit(HEADER_SIZE + offset + length);
+		_dataByteBuffer.position(HEADER_SIZE + offset);
+
+		byteBuffer.put(_dataByteBuffer);
+	}
+
+	private static final int _INDEX_CLOSED = 128;
+
+	private static final int _INDEX_READ = 64;
+
+	private static final int _INDEX_WRITE = 0;
+
+	private static final int _SPIN_COUNT = 1000;
+
+	private static final int _YIELD_COUNT = 100;
+
+	private final ByteBuffer _byteBuffer;
+	private final int _capacity;
+	private final ByteBuffer _dataByteBuffer;
+	private volatile int _fence;
+	private final int _mask;
+	private volatile boolean _open = true;
+	private final long _parkTimeMax;
+	private long _readIndex;
+	private long _writeIndex;
+
+}
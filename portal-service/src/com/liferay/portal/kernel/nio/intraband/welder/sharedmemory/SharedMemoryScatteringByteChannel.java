@@ -0,0 +1,91 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.nio.intraband.welder.sharedmemory;
+
+import java.io.IOException;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.ScatteringByteChannel;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class SharedMemoryScatteringByteChannel
+	implements ScatteringByteChannel {
+
+	public SharedMemoryScatteringByteChannel(
+		SharedMemoryRingBuffer sharedMemoryRingBuffer) {
+
+		_sharedMemoryRingBuffer = sharedMemoryRingBuffer;
+	}
+
+	@Override
+	public void close() {
+		_sharedMemoryRingBuffer.close();
+	}
+
+	@Override
+	public boolean isOpen() {
+		return _sharedMemoryRingBuffer.isOpen();
+	}
+
+	@Override
+	public int read(ByteBuffer byteBuffer) throws IOException {
+		return _sharedMemoryRingBuffer.read(byteBuffer, true);
+	}
+
+	@Override
+	public long read(ByteBuffer[] byteBuffers) throws IOException {
+		return read(byteBuffers, 0, byteBuffers.length);
+	}
+
+	@Override
+	public long read(ByteBuffer[] byteBuffers, int offset, int length)
+		throws IOException {
+
+		long count = 0;
+
+		for (int i = offset; i < (offset + length); i++) {
+			ByteBuffer byteBuffer = byteBuffers[i];
+
+			if (!byteBuffer.hasRemaining()) {
+				continue;
+			}
+
+			// Only block until the first bytes arrive
+
+			int read = _sharedMemoryRingBuffer.read(byteBuffer, count == 0);
+
+			if (read == -1) {
+				if (count == 0) {
+					return -1;
+				}
+
+				break;
+			}
+
+			count += read;
+
+			if (byteBuffer.hasRemaining()) {
+				break;
+			}
+		}
+
+		return count;
+	}
+
+	private final SharedMemoryRingBuffer _sharedMemoryRingBuffer;
+
+}
@@ -0,0 +1,259 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.nio.intraband.welder.sharedmemory;
+
+import com.liferay.portal.kernel.nio.intraband.Intraband;
+import com.liferay.portal.kernel.nio.intraband.RegistrationReference;
+import com.liferay.portal.kernel.nio.intraband.nonblocking.SelectorIntraband;
+import com.liferay.portal.kernel.nio.intraband.welder.BaseWelder;
+import com.liferay.portal.kernel.util.GetterUtil;
+import com.liferay.portal.kernel.util.NamedThreadFactory;
+import com.liferay.portal.kernel.util.PropsKeys;
+import com.liferay.portal.kernel.util.PropsUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.Pipe;
+import java.nio.channels.ScatteringByteChannel;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Welds two Intraband peers through a memory mapped file that holds one
+ * {@link SharedMemoryRingBuffer} per direction. The server writes to the first
+ * ring buffer and reads from the second one, the client does the opposite.
+ *
+ * <p>
+ * Datagrams are copied straight between the Java heap and the shared pages,
+ * without going through the kernel. ExecutorIntraband uses the ring buffers
+ * directly. SelectorIntraband can only register selectable channels, so for
+ * it the welder bridges each ring buffer to an in-process pipe with a pump
+ * thread, which keeps the pipe's kernel copy.
+ * </p>
+ *
+ * @author Shuyang Zhou
+ */
+public class SharedMemoryWelder extends BaseWelder {
+
+	public SharedMemoryWelder() throws IOException {
+
+		// Assignments have to stay in the constructor because we need to
+		// differentiate between a constructor created object and a
+		// deserialization created object. Only the constructor created object
+		// needs to assign values. The deserialization created object gets its
+		// values from the original object.
+
+		bufferSize = getBufferSize(Configuration.bufferSize);
+		parkTimeMax = Configuration.parkTimeMax;
+
+		String tempFolderName = System.getProperty("java.io.tmpdir");
+
+		sharedMemoryFile = new File(
+			tempFolderName, "SHM-" + idCounter.getAndIncrement());
+
+		RandomAccessFile randomAccessFile = new RandomAccessFile(
+			sharedMemoryFile, "rw");
+
+		try {
+			randomAccessFile.setLength(
+				2L * SharedMemoryRingBuffer.getSize(bufferSize));
+		}
+		finally {
+			randomAccessFile.close();
+		}
+	}
+
+	@Override
+	protected void doDestroy() throws IOException {
+		scatteringByteChannel.close();
+		gatheringByteChannel.close();
+
+		if (pipes != null) {
+			for (Pipe pipe : pipes) {
+				pipe.source().close();
+				pipe.sink().close();
+			}
+		}
+
+		sharedMemoryFile.delete();
+	}
+
+	protected RegistrationReference doWeld(
+			Intraband intraband, int readIndex, int writeIndex)
+		throws IOException {
+
+		int size = SharedMemoryRingBuffer.getSize(bufferSize);
+
+		RandomAccessFile randomAccessFile = new RandomAccessFile(
+			sharedMemoryFile, "rw");
+
+		MappedByteBuffer mappedByteBuffer = null;
+
+		try {
+			FileChannel fileChannel = randomAccessFile.getChannel();
+
+			mappedByteBuffer = fileChannel.map(
+				FileChannel.MapMode.READ_WRITE, 0, 2L * size);
+		}
+		finally {
+
+			// The mapping stays valid after the file is closed
+
+			randomAccessFile.close();
+		}
+
+		scatteringByteChannel = new SharedMemoryScatteringByteChannel(
+			new SharedMemoryRingBuffer(
+				_slice(mappedByteBuffer, readIndex * size, size), bufferSize,
+				parkTimeMax));
+		gatheringByteChannel = new SharedMemoryGatheringByteChannel(
+			new SharedMemoryRingBuffer(
+				_slice(mappedByteBuffer, writeIndex * size, size), bufferSize,
+				parkTimeMax));
+
+		if (!(intraband instanceof SelectorIntraband)) {
+			return intraband.registerChannel(
+				scatteringByteChannel, gatheringByteChannel);
+		}
+
+		Pipe readPipe = Pipe.open();
+		Pipe writePipe = Pipe.open();
+
+		pipes = new Pipe[] {readPipe, writePipe};
+
+		_executorService.execute(
+			new PumpRunnable(scatteringByteChannel, readPipe.sink()));
+		_executorService.execute(
+			new PumpRunnable(writePipe.source(), gatheringByteChannel));
+
+		return intraband.registerChannel(readPipe.source(), writePipe.sink());
+	}
+
+	protected int getBufferSize(int bufferSize) {
+		int size = 4096;
+
+		while ((size < bufferSize) && (size < (1 << 30))) {
+			size <<= 1;
+		}
+
+		return size;
+	}
+
+	@Override
+	protected RegistrationReference weldClient(Intraband intraband)
+		throws IOException {
+
+		return doWeld(intraband, 0, 1);
+	}
+
+	@Override
+	protected RegistrationReference weldServer(Intraband intraband)
+		throws IOException {
+
+		return doWeld(intraband, 1, 0);
+	}
+
+	protected static final AtomicLong idCounter = new AtomicLong(
+		System.currentTimeMillis());
+
+	protected final int bufferSize;
+	protected transient GatheringByteChannel gatheringByteChannel;
+	protected final long parkTimeMax;
+	protected transient Pipe[] pipes;
+	protected transient ScatteringByteChannel scatteringByteChannel;
+	protected final File sharedMemoryFile;
+
+	protected static class Configuration {
+
+		protected static final int bufferSize = GetterUtil.getInteger(
+			PropsUtil.get(
+				PropsKeys.INTRABAND_WELDER_SHARED_MEMORY_BUFFER_SIZE));
+
+		protected static final long parkTimeMax = GetterUtil.getLong(
+			PropsUtil.get(
+				PropsKeys.INTRABAND_WELDER_SHARED_MEMORY_PARK_TIME_MAX));
+
+	}
+
+	protected static class PumpRunnable implements Runnable {
+
+		public PumpRunnable(
+			ScatteringByteChannel scatteringByteChannel,
+			GatheringByteChannel gatheringByteChannel) {
+
+			_scatteringByteChannel = scatteringByteChannel;
+			_gatheringByteChannel = gatheringByteChannel;
+		}
+
+		@Override
+		public void run() {
+			ByteBuffer byteBuffer = ByteBuffer.allocate(8192);
+
+			try {
+				while (_scatteringByteChannel.read(byteBuffer) != -1) {
+					byteBuffer.flip();
+
+					while (byteBuffer.hasRemaining()) {
+						_gatheringByteChannel.write(byteBuffer);
+					}
+
+					byteBuffer.clear();
+				}
+			}
+			catch (IOException ioe) {
+			}
+			finally {
+				try {
+					_gatheringByteChannel.close();
+				}
+				catch (IOException ioe) {
+				}
+			}
+		}
+
+		private final GatheringByteChannel _gatheringByteChannel;
+		private final ScatteringByteChannel _scatteringByteChannel;
+
+	}
+
+	private static ByteBuffer _slice(
+		ByteBuffer byteBuffer, int offset, int length) {
+
+		ByteBuffer duplicateByteBuffer = byteBuffer.duplicate();
+
+		duplicateByteBuffer.limit(offset + length);
+		duplicateByteBuffer.position(offset);
+
+		return duplicateByteBuffer.slice();
+	}
+
+	private static final ThreadFactory _THREAD_FACTORY =
+		new NamedThreadFactory(
+			SharedMemoryWelder.class + ".threadFactory", Thread.NORM_PRIORITY,
+			SharedMemoryWelder.class.getClassLoader());
+
+	private static ExecutorService _executorService =
+		Executors.newCachedThreadPool(_THREAD_FACTORY);
+
+}
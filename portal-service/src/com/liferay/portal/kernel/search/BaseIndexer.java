@@ -40,6 +40,7 @@ import com.liferay.portal.kernel.util.SetUtil;
 import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.kernel.util.StringUtil;
 import com.liferay.portal.kernel.util.Time;
+import com.liferay.portal.kernel.util.Tuple;
 import com.liferay.portal.kernel.util.UnicodeProperties;
 import com.liferay.portal.kernel.util.Validator;
 import com.liferay.portal.kernel.workflow.WorkflowConstants;
@@ -56,6 +57,7 @@ import com.liferay.portal.model.TrashedModel;
 import com.liferay.portal.model.User;
 import com.liferay.portal.model.WorkflowedModel;
 import com.liferay.portal.security.permission.ActionKeys;
+import com.liferay.portal.security.permission.BulkPermissionChecker;
 import com.liferay.portal.security.permission.PermissionChecker;
 import com.liferay.portal.security.permission.PermissionThreadLocal;
 import com.liferay.portal.service.CountryServiceUtil;
@@ -1337,6 +1339,8 @@ public abstract class BaseIndexer implements Indexer {
 
 		Document[] documents = hits.getDocs();
 
+		prefetchViewPermissions(permissionChecker, documents);
+
 		int excludeDocsSize = 0;
 
 		for (int i = 0; i < documents.length; i++) {
@@ -1659,6 +1663,67 @@ public abstract class BaseIndexer implements Indexer {
 		throws Exception {
 	}
 
+	protected void prefetchViewPermissions(
+		PermissionChecker permissionChecker, Document[] documents) {
+
+		if (!(permissionChecker instanceof BulkPermissionChecker) ||
+			(documents.length < 2)) {
+
+			return;
+		}
+
+		BulkPermissionChecker bulkPermissionChecker =
+			(BulkPermissionChecker)permissionChecker;
+
+		// Resolve the view permissions in bulk, one batch per group and class
+		// name, so that the indexers' permission checks are served from the
+		// permission cache
+
+		Map<Tuple, List<Long>> entryClassPKsMap =
+			new HashMap<Tuple, List<Long>>();
+
+		for (Document document : documents) {
+			String entryClassName = document.get(Field.ENTRY_CLASS_NAME);
+
+			Indexer indexer = IndexerRegistryUtil.getIndexer(entryClassName);
+
+			if ((indexer == null) || !indexer.isFilterSearch() ||
+				!indexer.isPermissionAware()) {
+
+				continue;
+			}
+
+			long scopeGroupId = GetterUtil.getLong(
+				document.get(Field.SCOPE_GROUP_ID));
+
+			Tuple tuple = new Tuple(scopeGroupId, entryClassName);
+
+			List<Long> entryClassPKs = entryClassPKsMap.get(tuple);
+
+			if (entryClassPKs == null) {
+				entryClassPKs = new ArrayList<Long>();
+
+				entryClassPKsMap.put(tuple, entryClassPKs);
+			}
+
+			entryClassPKs.add(
+				GetterUtil.getLong(document.get(Field.ENTRY_CLASS_PK)));
+		}
+
+		for (Map.Entry<Tuple, List<Long>> entry :
+				entryClassPKsMap.entrySet()) {
+
+			Tuple tuple = entry.getKey();
+
+			long groupId = (Long)tuple.getObject(0);
+			String entryClassName = (String)tuple.getObject(1);
+
+			bulkPermissionChecker.hasPermissions(
+				groupId, entryClassName,
+				ArrayUtil.toLongArray(entry.getValue()), ActionKeys.VIEW);
+		}
+	}
+
 	protected void processHits(SearchContext searchContext, Hits hits)
 		throws SearchException {
 
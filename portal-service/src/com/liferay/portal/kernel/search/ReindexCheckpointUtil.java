@@ -0,0 +1,180 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.search;
+
+import com.liferay.portal.kernel.log.Log;
+import com.liferay.portal.kernel.log.LogFactoryUtil;
+import com.liferay.portal.kernel.util.CharPool;
+import com.liferay.portal.kernel.util.FileUtil;
+import com.liferay.portal.kernel.util.GetterUtil;
+import com.liferay.portal.kernel.util.PropsKeys;
+import com.liferay.portal.kernel.util.PropsUtil;
+import com.liferay.portal.kernel.util.StringPool;
+
+import java.io.File;
+import java.io.IOException;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Records how far an interrupted parallel reindex got.
+ *
+ * <p>
+ * A full reindex starts a run identified by a run key that names the set of
+ * indexed entities. Checkpoints are only honored while a run with the same
+ * run key is being resumed, and each checkpoint is only honored if the
+ * primary key range it was recorded for still starts at the same primary key.
+ * Starting a new run deletes the checkpoints of the previous one, and a
+ * completed run deletes its own.
+ * </p>
+ *
+ * @author Brian Wing Shun Chan
+ */
+public class ReindexCheckpointUtil {
+
+	public static void deleteCheckpoints(long companyId) {
+		_resumingCompanyIds.remove(companyId);
+
+		FileUtil.deltree(_getCheckpointDir(companyId));
+	}
+
+	public static void finishRun(long companyId, boolean completed) {
+		_resumingCompanyIds.remove(companyId);
+
+		if (completed) {
+			FileUtil.deltree(_getCheckpointDir(companyId));
+		}
+	}
+
+	public static long getCheckpoint(
+		long companyId, String name, long startPrimaryKey) {
+
+		if (!_resumingCompanyIds.contains(companyId)) {
+			return -1;
+		}
+
+		File file = _getCheckpointFile(companyId, name);
+
+		if (!FileUtil.exists(file)) {
+			return -1;
+		}
+
+		try {
+			String checkpoint = FileUtil.read(file);
+
+			int index = checkpoint.indexOf(CharPool.COMMA);
+
+			if ((index < 0) ||
+				(GetterUtil.getLong(checkpoint.substring(0, index), -1) !=
+					startPrimaryKey)) {
+
+				return -1;
+			}
+
+			return GetterUtil.getLong(checkpoint.substring(index + 1), -1);
+		}
+		catch (IOException ioe) {
+			_log.error("Unable to read reindex checkpoint " + file, ioe);
+
+			return -1;
+		}
+	}
+
+	public static void removeCheckpoint(long companyId, String name) {
+		FileUtil.delete(_getCheckpointFile(companyId, name));
+	}
+
+	public static boolean resumeRun(long companyId, String runKey) {
+		File file = _getRunKeyFile(companyId);
+
+		if (!FileUtil.exists(file)) {
+			return false;
+		}
+
+		try {
+			if (!runKey.equals(FileUtil.read(file))) {
+				return false;
+			}
+		}
+		catch (IOException ioe) {
+			_log.error("Unable to read reindex run key " + file, ioe);
+
+			return false;
+		}
+
+		_resumingCompanyIds.add(companyId);
+
+		return true;
+	}
+
+	public static void startRun(long companyId, String runKey) {
+		deleteCheckpoints(companyId);
+
+		File file = _getRunKeyFile(companyId);
+
+		try {
+			FileUtil.write(file, runKey);
+		}
+		catch (IOException ioe) {
+			_log.error("Unable to write reindex run key " + file, ioe);
+		}
+	}
+
+	public static void updateCheckpoint(
+		long companyId, String name, long startPrimaryKey, long primaryKey) {
+
+		File file = _getCheckpointFile(companyId, name);
+
+		try {
+			FileUtil.write(
+				file,
+				String.valueOf(startPrimaryKey).concat(
+					StringPool.COMMA).concat(String.valueOf(primaryKey)));
+		}
+		catch (IOException ioe) {
+			_log.error("Unable to write reindex checkpoint " + file, ioe);
+		}
+	}
+
+	private static File _getCheckpointDir(long companyId) {
+		return new File(
+			PropsUtil.get(PropsKeys.LIFERAY_HOME) + _CHECKPOINT_DIR_NAME +
+				companyId);
+	}
+
+	private static File _getCheckpointFile(long companyId, String name) {
+		return new File(
+			_getCheckpointDir(companyId), name.concat(StringPool.PERIOD).concat(
+				_CHECKPOINT_FILE_EXTENSION));
+	}
+
+	private static File _getRunKeyFile(long companyId) {
+		return new File(_getCheckpointDir(companyId), _RUN_KEY_FILE_NAME);
+	}
+
+	private static final String _CHECKPOINT_DIR_NAME = "/data/reindex/";
+
+	private static final String _CHECKPOINT_FILE_EXTENSION = "checkpoint";
+
+	private static final String _RUN_KEY_FILE_NAME = "run.key";
+
+	private static Log _log = LogFactoryUtil.getLog(
+		ReindexCheckpointUtil.class);
+
+	private static Set<Long> _resumingCompanyIds =
+		new ConcurrentSkipListSet<Long>();
+
+}
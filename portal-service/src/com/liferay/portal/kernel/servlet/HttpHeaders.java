@@ -75,6 +75,8 @@ public interface HttpHeaders {
 
 	public static final String USER_AGENT = "User-Agent";
 
+	public static final String VARY = "Vary";
+
 	public static final String WWW_AUTHENTICATE = "WWW-Authenticate";
 
 	public static final String X_CONTENT_TYPE_OPTIONS =
@@ -14,10 +14,12 @@
 
 package com.liferay.portal.kernel.servlet;
 
+import com.liferay.portal.kernel.io.LocalFileInputStream;
 import com.liferay.portal.kernel.log.Log;
 import com.liferay.portal.kernel.log.LogFactoryUtil;
 import com.liferay.portal.kernel.nio.charset.CharsetEncoderUtil;
 import com.liferay.portal.kernel.util.ArrayUtil;
+import com.liferay.portal.kernel.util.CharPool;
 import com.liferay.portal.kernel.util.FileUtil;
 import com.liferay.portal.kernel.util.GetterUtil;
 import com.liferay.portal.kernel.util.HttpUtil;
@@ -30,6 +32,7 @@ import com.liferay.portal.kernel.util.StreamUtil;
 import com.liferay.portal.kernel.util.StringBundler;
 import com.liferay.portal.kernel.util.StringPool;
 import com.liferay.portal.kernel.util.StringUtil;
+import com.liferay.portal.kernel.util.URLCodec;
 import com.liferay.portal.kernel.util.Validator;
 
 import java.io.ByteArrayInputStream;
@@ -45,6 +48,7 @@ import java.nio.ByteBuffer;
 import java.nio.CharBuffer;
 import java.nio.channels.Channels;
 import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 
 import java.util.ArrayList;
 import java.util.Collections;
@@ -191,6 +195,12 @@ public class ServletResponseUtil {
 		setHeaders(
 			request, response, fileName, contentType, contentDispositionType);
 
+		if (offloadToProxy(response, is) ||
+			offloadToContainer(request, response, is, null)) {
+
+			return;
+		}
+
 		write(response, is, contentLength);
 	}
 
@@ -261,11 +271,17 @@ public class ServletResponseUtil {
 			long fullLength, String contentType)
 		throws IOException {
 
+		if (offloadToProxy(response, inputStream)) {
+			setHeaders(request, response, fileName, contentType, null);
+
+			return;
+		}
+
+		InputStream rangeInputStream = inputStream;
+
 		OutputStream outputStream = null;
 
 		try {
-			outputStream = response.getOutputStream();
-
 			Range fullRange = new Range(0, fullLength - 1, fullLength);
 
 			Range firstRange = null;
@@ -284,6 +300,14 @@ public class ServletResponseUtil {
 				setHeaders(
 					request, response, fileName, contentType, null, fullRange);
 
+				if (offloadToContainer(
+						request, response, inputStream, fullRange)) {
+
+					return;
+				}
+
+				outputStream = response.getOutputStream();
+
 				copyRange(
 					inputStream, outputStream, fullRange.getStart(),
 					fullRange.getLength());
@@ -302,6 +326,12 @@ public class ServletResponseUtil {
 
 				response.setStatus(HttpServletResponse.SC_PARTIAL_CONTENT);
 
+				if (offloadToContainer(request, response, inputStream, range)) {
+					return;
+				}
+
+				outputStream = response.getOutputStream();
+
 				copyRange(
 					inputStream, outputStream, range.getStart(),
 					range.getLength());
@@ -311,6 +341,18 @@ public class ServletResponseUtil {
 					_log.debug("Attempting to write multiple ranges");
 				}
 
+				// Streams that cannot seek are spooled once and shared by all
+				// ranges because they cannot be rewound between ranges
+
+				if (!(inputStream instanceof ByteArrayInputStream) &&
+					!(inputStream instanceof FileInputStream)) {
+
+					rangeInputStream = new RandomAccessInputStream(
+						inputStream);
+				}
+
+				outputStream = response.getOutputStream();
+
 				ServletOutputStream servletOutputStream =
 					(ServletOutputStream)outputStream;
 
@@ -341,7 +383,7 @@ public class ServletResponseUtil {
 					servletOutputStream.println();
 
 					copyRange(
-						inputStream, outputStream, range.getStart(),
+						rangeInputStream, outputStream, range.getStart(),
 						range.getLength());
 				}
 
@@ -351,6 +393,10 @@ public class ServletResponseUtil {
 			}
 		}
 		finally {
+			if (rangeInputStream != inputStream) {
+				StreamUtil.cleanUp(rangeInputStream);
+			}
+
 			try {
 				inputStream.close();
 			}
@@ -561,6 +607,25 @@ public class ServletResponseUtil {
 
 		response.flushBuffer();
 
+		if (!StreamUtil.FORCE_TIO && (is instanceof FileInputStream)) {
+			FileInputStream fileInputStream = (FileInputStream)is;
+
+			OutputStream outputStream = response.getOutputStream();
+
+			try {
+				FileChannel fileChannel = fileInputStream.getChannel();
+
+				transferFileChannel(
+					fileChannel, fileChannel.position(),
+					fileChannel.size() - fileChannel.position(), outputStream);
+			}
+			finally {
+				StreamUtil.cleanUp(fileInputStream, outputStream);
+			}
+
+			return;
+		}
+
 		StreamUtil.transfer(is, response.getOutputStream());
 	}
 
@@ -589,18 +654,30 @@ public class ServletResponseUtil {
 		if (inputStream instanceof FileInputStream) {
 			FileInputStream fileInputStream = (FileInputStream)inputStream;
 
-			FileChannel fileChannel = fileInputStream.getChannel();
-
-			fileChannel.transferTo(
-				start, length, Channels.newChannel(outputStream));
+			transferFileChannel(
+				fileInputStream.getChannel(), start, length, outputStream);
 		}
 		else if (inputStream instanceof ByteArrayInputStream) {
 			ByteArrayInputStream byteArrayInputStream =
 				(ByteArrayInputStream)inputStream;
 
+			byteArrayInputStream.reset();
+
 			byteArrayInputStream.skip(start);
 
-			StreamUtil.transfer(byteArrayInputStream, outputStream, length);
+			StreamUtil.transfer(
+				byteArrayInputStream, outputStream, StreamUtil.BUFFER_SIZE,
+				false, length);
+		}
+		else if (inputStream instanceof RandomAccessInputStream) {
+			RandomAccessInputStream randomAccessInputStream =
+				(RandomAccessInputStream)inputStream;
+
+			randomAccessInputStream.seek(start);
+
+			StreamUtil.transfer(
+				randomAccessInputStream, outputStream, StreamUtil.BUFFER_SIZE,
+				false, length);
 		}
 		else {
 			RandomAccessInputStream randomAccessInputStream =
@@ -612,6 +689,97 @@ public class ServletResponseUtil {
 		}
 	}
 
+	protected static boolean offloadToContainer(
+			HttpServletRequest request, HttpServletResponse response,
+			InputStream inputStream, Range range)
+		throws IOException {
+
+		if (!_CONTAINER_SENDFILE_ENABLED || (request == null) ||
+			(response instanceof BufferCacheServletResponse) ||
+			!(inputStream instanceof LocalFileInputStream) ||
+			!Boolean.TRUE.equals(
+				request.getAttribute(_TOMCAT_SENDFILE_SUPPORT))) {
+
+			return false;
+		}
+
+		LocalFileInputStream localFileInputStream =
+			(LocalFileInputStream)inputStream;
+
+		File file = localFileInputStream.getFile();
+
+		if (range == null) {
+			long length = file.length();
+
+			range = new Range(0, length - 1, length);
+		}
+
+		request.setAttribute(
+			_TOMCAT_SENDFILE_FILENAME, file.getCanonicalPath());
+		request.setAttribute(_TOMCAT_SENDFILE_START, range.getStart());
+		request.setAttribute(_TOMCAT_SENDFILE_END, range.getEnd() + 1);
+
+		response.setHeader(
+			HttpHeaders.CONTENT_LENGTH, String.valueOf(range.getLength()));
+
+		StreamUtil.cleanUp(inputStream);
+
+		if (_log.isDebugEnabled()) {
+			_log.debug("Offloading " + file + " to the servlet container");
+		}
+
+		return true;
+	}
+
+	protected static boolean offloadToProxy(
+		HttpServletResponse response, InputStream inputStream) {
+
+		if (Validator.isNull(_SENDFILE_HEADER) ||
+			!(inputStream instanceof LocalFileInputStream)) {
+
+			return false;
+		}
+
+		LocalFileInputStream localFileInputStream =
+			(LocalFileInputStream)inputStream;
+
+		File file = localFileInputStream.getFile();
+
+		String path = file.getAbsolutePath();
+
+		if (Validator.isNotNull(_SENDFILE_URI_PREFIX)) {
+			File rootDir = new File(
+				PropsUtil.get(PropsKeys.DL_STORE_FILE_SYSTEM_ROOT_DIR));
+
+			String rootDirPath = rootDir.getAbsolutePath();
+
+			if (!path.startsWith(rootDirPath.concat(File.separator))) {
+				return false;
+			}
+
+			path = path.substring(rootDirPath.length());
+
+			path = path.replace(File.separatorChar, CharPool.SLASH);
+
+			path = StringUtil.replace(
+				URLCodec.encodeURL(path, true), _ENCODED_SLASH,
+				StringPool.SLASH);
+
+			path = _SENDFILE_URI_PREFIX.concat(path);
+		}
+
+		response.setHeader(_SENDFILE_HEADER, path);
+
+		StreamUtil.cleanUp(inputStream);
+
+		if (_log.isDebugEnabled()) {
+			_log.debug(
+				"Offloading " + file + " with header " + _SENDFILE_HEADER);
+		}
+
+		return true;
+	}
+
 	protected static void setHeaders(
 		HttpServletRequest request, HttpServletResponse response,
 		String fileName, String contentType, String contentDispositionType) {
@@ -726,15 +894,62 @@ public class ServletResponseUtil {
 		}
 	}
 
+	protected static void transferFileChannel(
+			FileChannel fileChannel, long start, long length,
+			OutputStream outputStream)
+		throws IOException {
+
+		WritableByteChannel writableByteChannel = Channels.newChannel(
+			outputStream);
+
+		long count = 0;
+
+		while (count < length) {
+			long transferred = fileChannel.transferTo(
+				start + count, length - count, writableByteChannel);
+
+			if (transferred <= 0) {
+				break;
+			}
+
+			count += transferred;
+		}
+	}
+
 	private static final String _CLIENT_ABORT_EXCEPTION =
 		"org.apache.catalina.connector.ClientAbortException";
 
+	private static final boolean _CONTAINER_SENDFILE_ENABLED =
+		GetterUtil.getBoolean(
+			PropsUtil.get(
+				PropsKeys.WEB_SERVER_SERVLET_CONTAINER_SENDFILE_ENABLED));
+
+	private static final String _ENCODED_SLASH = "%2F";
+
 	private static final int _MAX_RANGE_FIELDS = GetterUtil.getInteger(
 		PropsUtil.get(PropsKeys.WEB_SERVER_SERVLET_MAX_RANGE_FIELDS));
 
 	private static final String _RANGE_REGEX =
 		"^bytes=\\d*-\\d*(,\\s?\\d*-\\d*)*$";
 
+	private static final String _SENDFILE_HEADER = GetterUtil.getString(
+		PropsUtil.get(PropsKeys.WEB_SERVER_SERVLET_SENDFILE_HEADER));
+
+	private static final String _SENDFILE_URI_PREFIX = GetterUtil.getString(
+		PropsUtil.get(PropsKeys.WEB_SERVER_SERVLET_SENDFILE_URI_PREFIX));
+
+	private static final String _TOMCAT_SENDFILE_END =
+		"org.apache.tomcat.sendfile.end";
+
+	private static final String _TOMCAT_SENDFILE_FILENAME =
+		"org.apache.tomcat.sendfile.filename";
+
+	private static final String _TOMCAT_SENDFILE_START =
+		"org.apache.tomcat.sendfile.start";
+
+	private static final String _TOMCAT_SENDFILE_SUPPORT =
+		"org.apache.tomcat.sendfile.support";
+
 	private static Log _log = LogFactoryUtil.getLog(ServletResponseUtil.class);
 
 }
\ No newline at end of file
@@ -206,6 +206,15 @@ public interface Localization {
 	public Map<Locale, String> getLocalizedParameter(
 		PortletRequest portletRequest, String parameter);
 
+	/**
+	 * Returns the parsed form of the localizations XML. The returned object
+	 * may be shared by other callers passing the same XML.
+	 *
+	 * @param  xml the localizations XML
+	 * @return the parsed localizations
+	 */
+	public ParsedLocalization getParsedLocalization(String xml);
+
 	/**
 	 * Returns the localized preferences key in the language. Generally this is
 	 * just the preferences key, followed by an underscore, and the language ID.
@@ -278,6 +287,15 @@ public interface Localization {
 		PortletPreferences preferences, String key, String languageId,
 		boolean useDefault);
 
+	/**
+	 * Parses the localizations XML, without looking it up in or adding it to
+	 * any cache.
+	 *
+	 * @param  xml the localizations XML
+	 * @return the parsed localizations
+	 */
+	public ParsedLocalization parseLocalization(String xml);
+
 	/**
 	 * Removes the localization for the language from the localizations XML.
 	 * Stores the localized strings as characters in the XML.
@@ -186,6 +186,10 @@ public class LocalizationUtil {
 		return modifiedLocales;
 	}
 
+	public static ParsedLocalization getParsedLocalization(String xml) {
+		return getLocalization().getParsedLocalization(xml);
+	}
+
 	public static String getPreferencesKey(String key, String languageId) {
 		return getLocalization().getPreferencesKey(key, languageId);
 	}
@@ -220,6 +224,10 @@ public class LocalizationUtil {
 			preferences, key, languageId, useDefault);
 	}
 
+	public static ParsedLocalization parseLocalization(String xml) {
+		return getLocalization().parseLocalization(xml);
+	}
+
 	public static String removeLocalization(
 		String xml, String key, String requestedLanguageId) {
 
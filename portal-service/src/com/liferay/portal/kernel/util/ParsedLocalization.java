@@ -0,0 +1,239 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.util;
+
+import com.liferay.portal.kernel.language.LanguageUtil;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Represents a localizations XML string, such as the title of a web content
+ * article, parsed into an array of language IDs and an array of values.
+ *
+ * <p>
+ * An instance created with just the XML parses it on first use and keeps the
+ * result, so lookups never parse the same XML twice. Instances are immutable
+ * once parsed and can be shared between threads.
+ * </p>
+ *
+ * @author Shuyang Zhou
+ */
+public class ParsedLocalization {
+
+	public ParsedLocalization(String xml) {
+		_xml = xml;
+	}
+
+	/**
+	 * Creates a parsed localization from already parsed values.
+	 *
+	 * @param xml the localizations XML
+	 * @param defaultLanguageId the ID of the XML's default language
+	 * @param languageIds the language IDs found in the XML, or
+	 *        <code>null</code> if the string is not localizations XML
+	 * @param values the values, parallel to the language IDs
+	 */
+	public ParsedLocalization(
+		String xml, String defaultLanguageId, String[] languageIds,
+		String[] values) {
+
+		_xml = xml;
+
+		_localizationValues = new LocalizationValues(
+			defaultLanguageId, languageIds, values);
+	}
+
+	public String[] getAvailableLanguageIds() {
+		LocalizationValues localizationValues = _getLocalizationValues();
+
+		String[] languageIds = localizationValues._languageIds;
+
+		if (languageIds == null) {
+			return new String[0];
+		}
+
+		return languageIds.clone();
+	}
+
+	public String getDefaultLanguageId() {
+		LocalizationValues localizationValues = _getLocalizationValues();
+
+		return localizationValues._defaultLanguageId;
+	}
+
+	/**
+	 * Returns the localized string for the language, with the same semantics
+	 * as {@link Localization#getLocalization(String, String, boolean)}.
+	 *
+	 * @param  requestedLanguageId the ID of the language
+	 * @param  useDefault whether to fall back to the default language when no
+	 *         localization exists for the requested language
+	 * @return the localized string
+	 */
+	public String getLocalization(
+		String requestedLanguageId, boolean useDefault) {
+
+		LocalizationValues localizationValues = _getLocalizationValues();
+
+		if (localizationValues._languageIds == null) {
+			String systemDefaultLanguageId = LocaleUtil.toLanguageId(
+				LocaleUtil.getDefault());
+
+			if (useDefault ||
+				requestedLanguageId.equals(systemDefaultLanguageId)) {
+
+				return _xml;
+			}
+
+			return StringPool.BLANK;
+		}
+
+		String value = localizationValues.getValue(requestedLanguageId);
+
+		if (!useDefault) {
+			if (value == null) {
+				return StringPool.BLANK;
+			}
+
+			return value;
+		}
+
+		if (Validator.isNotNull(value)) {
+			return value;
+		}
+
+		Locale requestedLocale = LocaleUtil.fromLanguageId(requestedLanguageId);
+
+		if (LanguageUtil.isDuplicateLanguageCode(
+				requestedLocale.getLanguage())) {
+
+			Locale priorityLocale = LanguageUtil.getLocale(
+				requestedLocale.getLanguage());
+
+			String priorityValue = localizationValues.getValue(
+				LocaleUtil.toLanguageId(priorityLocale));
+
+			if (Validator.isNotNull(priorityValue)) {
+				return priorityValue;
+			}
+		}
+
+		value = localizationValues.getValue(
+			localizationValues._defaultLanguageId);
+
+		if (value == null) {
+			return StringPool.BLANK;
+		}
+
+		return value;
+	}
+
+	public Map<Locale, String> getLocalizationMap(boolean useDefault) {
+		Locale[] locales = LanguageUtil.getAvailableLocales();
+
+		Map<Locale, String> map = new HashMap<Locale, String>();
+
+		for (Locale locale : locales) {
+			String languageId = LocaleUtil.toLanguageId(locale);
+
+			map.put(locale, getLocalization(languageId, useDefault));
+		}
+
+		return map;
+	}
+
+	/**
+	 * Returns the value stored for the language, without any fallback.
+	 *
+	 * @param  languageId the ID of the language
+	 * @return the value, or <code>null</code> if the XML has no value for the
+	 *         language
+	 */
+	public String getValue(String languageId) {
+		LocalizationValues localizationValues = _getLocalizationValues();
+
+		return localizationValues.getValue(languageId);
+	}
+
+	public String getXml() {
+		return _xml;
+	}
+
+	public boolean isLocalized() {
+		LocalizationValues localizationValues = _getLocalizationValues();
+
+		if (localizationValues._languageIds == null) {
+			return false;
+		}
+
+		return true;
+	}
+
+	private LocalizationValues _getLocalizationValues() {
+		LocalizationValues localizationValues = _localizationValues;
+
+		if (localizationValues == null) {
+			ParsedLocalization parsedLocalization =
+				LocalizationUtil.parseLocalization(_xml);
+
+			localizationValues = parsedLocalization._localizationValues;
+
+			if (localizationValues == null) {
+				throw new IllegalStateException(
+					"Localization parser returned an unparsed localization");
+			}
+
+			_localizationValues = localizationValues;
+		}
+
+		return localizationValues;
+	}
+
+	private volatile LocalizationValues _localizationValues;
+	private final String _xml;
+
+	private static class LocalizationValues {
+
+		private LocalizationValues(
+			String defaultLanguageId, String[] languageIds, String[] values) {
+
+			_defaultLanguageId = defaultLanguageId;
+			_languageIds = languageIds;
+			_values = values;
+		}
+
+		public String getValue(String languageId) {
+			if ((_languageIds == null) || (languageId == null)) {
+				return null;
+			}
+
+			for (int i = 0; i < _languageIds.length; i++) {
+				if (languageId.equals(_languageIds[i])) {
+					return _values[i];
+				}
+			}
+
+			return null;
+		}
+
+		private final String _defaultLanguageId;
+		private final String[] _languageIds;
+		private final String[] _values;
+
+	}
+
+}
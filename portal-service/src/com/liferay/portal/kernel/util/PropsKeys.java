@@ -101,6 +101,10 @@ public interface PropsKeys {
 
 	public static final String ASSET_CATEGORIES_SELECTOR_MAX_ENTRIES = "asset.categories.selector.max.entries";
 
+	public static final String ASSET_ENTRY_QUERY_CACHE_DATE_INTERVAL = "asset.entry.query.cache.date.interval";
+
+	public static final String ASSET_ENTRY_QUERY_CACHE_ENABLED = "asset.entry.query.cache.enabled";
+
 	public static final String ASSET_ENTRY_VALIDATOR = "asset.entry.validator";
 
 	public static final String ASSET_FILTER_SEARCH_LIMIT = "asset.filter.search.limit";
@@ -437,6 +441,8 @@ public interface PropsKeys {
 
 	public static final String COMBO_ALLOWED_FILE_EXTENSIONS = "combo.allowed.file.extensions";
 
+	public static final String COMBO_CACHE_DIR = "combo.cache.dir";
+
 	public static final String COMBO_CHECK_TIMESTAMP = "combo.check.timestamp";
 
 	public static final String COMBO_CHECK_TIMESTAMP_INTERVAL = "combo.check.timestamp.interval";
@@ -509,10 +515,18 @@ public interface PropsKeys {
 
 	public static final String COOKIE_HTTP_ONLY_NAMES_EXCLUDES = "cookie.http.only.names.excludes";
 
+	public static final String COUNTER_ADAPTIVE_RANGE_INTERVAL = "counter.adaptive.range.interval";
+
+	public static final String COUNTER_ADAPTIVE_RANGE_MAX = "counter.adaptive.range.max";
+
 	public static final String COUNTER_INCREMENT = "counter.increment";
 
 	public static final String COUNTER_INCREMENT_PREFIX = "counter.increment.";
 
+	public static final String COUNTER_PREFETCH_ENABLED = "counter.prefetch.enabled";
+
+	public static final String COUNTER_PREFETCH_THRESHOLD = "counter.prefetch.threshold";
+
 	public static final String CUSTOM_SQL_AUTO_ESCAPE_WILDCARDS_ENABLED = "custom.sql.auto.escape.wildcards.enabled";
 
 	public static final String CUSTOM_SQL_FUNCTION_ISNOTNULL = "custom.sql.function.isnotnull";
@@ -829,6 +843,14 @@ public interface PropsKeys {
 
 	public static final String EHCACHE_CACHE_MANAGER_STATISTICS_THREAD_POOL_SIZE = "ehcache.cache.manager.statistics.thread.pool.size";
 
+	public static final String EHCACHE_CLUSTER_LINK_REPLICATION_BATCH_ENABLED = "ehcache.cluster.link.replication.batch.enabled";
+
+	public static final String EHCACHE_CLUSTER_LINK_REPLICATION_BATCH_SIZE = "ehcache.cluster.link.replication.batch.size";
+
+	public static final String EHCACHE_CLUSTER_LINK_REPLICATION_BATCH_WINDOW = "ehcache.cluster.link.replication.batch.window";
+
+	public static final String EHCACHE_CLUSTER_LINK_REPLICATION_COMPRESSION_THRESHOLD = "ehcache.cluster.link.replication.compression.threshold";
+
 	public static final String EHCACHE_CLUSTER_LINK_REPLICATION_ENABLED = "ehcache.cluster.link.replication.enabled";
 
 	public static final String EHCACHE_MULTI_VM_CONFIG_LOCATION = "ehcache.multi.vm.config.location";
@@ -917,6 +939,12 @@ public interface PropsKeys {
 
 	public static final String GZIP_COMPRESSION_LEVEL = "gzip.compression.level";
 
+	public static final String GZIP_STREAMING_COMPRESSED_CONTENT_TYPES = "gzip.streaming.compressed.content.types";
+
+	public static final String GZIP_STREAMING_ENABLED = "gzip.streaming.enabled";
+
+	public static final String GZIP_STREAMING_MIN_SIZE = "gzip.streaming.min.size";
+
 	public static final String HIBERNATE_CACHE_USE_QUERY_CACHE = "hibernate.cache.use_query_cache";
 
 	public static final String HIBERNATE_CACHE_USE_SECOND_LEVEL_CACHE = "hibernate.cache.use_second_level_cache";
@@ -993,6 +1021,10 @@ public interface PropsKeys {
 
 	public static final String INDEX_READ_ONLY = "index.read.only";
 
+	public static final String INDEX_REINDEX_PARALLEL_ENABLED = "index.reindex.parallel.enabled";
+
+	public static final String INDEX_REINDEX_PARALLEL_THREAD_COUNT = "index.reindex.parallel.thread.count";
+
 	public static final String INDEX_SEARCH_COLLATED_SPELL_CHECK_RESULT_ENABLED = "index.search.collated.spell.check.result.enabled";
 
 	public static final String INDEX_SEARCH_COLLATED_SPELL_CHECK_RESULT_SCORES_THRESHOLD = "index.search.collated.spell.check.result.scores.threshold";
@@ -1041,6 +1073,10 @@ public interface PropsKeys {
 
 	public static final String INTRABAND_WELDER_IMPL = "intraband.welder.impl";
 
+	public static final String INTRABAND_WELDER_SHARED_MEMORY_BUFFER_SIZE = "intraband.welder.shared.memory.buffer.size";
+
+	public static final String INTRABAND_WELDER_SHARED_MEMORY_PARK_TIME_MAX = "intraband.welder.shared.memory.park.time.max";
+
 	public static final String INTRABAND_WELDER_SOCKET_BUFFER_SIZE = "intraband.welder.socket.buffer.size";
 
 	public static final String INTRABAND_WELDER_SOCKET_KEEP_ALIVE = "intraband.welder.socket.keep.alive";
@@ -1111,6 +1147,14 @@ public interface PropsKeys {
 
 	public static final String JDBC_DEFAULT_USERNAME = "jdbc.default.username";
 
+	public static final String JDBC_DYNAMIC_DATA_SOURCE_READ_YOUR_WRITES_WINDOW = "jdbc.dynamic.data.source.read.your.writes.window";
+
+	public static final String JDBC_DYNAMIC_DATA_SOURCE_REPLICA_LAG_CHECK_INTERVAL = "jdbc.dynamic.data.source.replica.lag.check.interval";
+
+	public static final String JDBC_DYNAMIC_DATA_SOURCE_REPLICA_LAG_CHECK_SQL = "jdbc.dynamic.data.source.replica.lag.check.sql";
+
+	public static final String JDBC_DYNAMIC_DATA_SOURCE_REPLICA_LAG_MAX = "jdbc.dynamic.data.source.replica.lag.max";
+
 	public static final String JNDI_ENVIRONMENT = "jndi.environment.";
 
 	public static final String JOURNAL_ARTICLE_CHECK_INTERVAL = "journal.article.check.interval";
@@ -1145,6 +1189,10 @@ public interface PropsKeys {
 
 	public static final String JOURNAL_ARTICLES_SEARCH_WITH_INDEX = "journal.articles.search.with.index";
 
+	public static final String JOURNAL_CONTENT_CACHE_MAX_ENTRY_SIZE = "journal.content.cache.max.entry.size";
+
+	public static final String JOURNAL_CONTENT_CACHE_MAX_SIZE = "journal.content.cache.max.size";
+
 	public static final String JOURNAL_CONTENT_PUBLISH_TO_LIVE_BY_DEFAULT = "journal.content.publish.to.live.by.default";
 
 	public static final String JOURNAL_CONTENT_SEARCH_SHOW_LISTED = "journal.content.search.show.listed";
@@ -1533,10 +1581,18 @@ public interface PropsKeys {
 
 	public static final String LUCENE_REPLICATE_WRITE = "lucene.replicate.write";
 
+	public static final String LUCENE_SEARCHER_WARM_SORT_FIELDS = "lucene.searcher.warm.sort.fields";
+
 	public static final String LUCENE_STORE_TYPE = "lucene.store.type";
 
 	public static final String LUCENE_STORE_TYPE_FILE_FORCE_MMAP = "lucene.store.type.file.force.mmap";
 
+	public static final String LUCENE_WRITE_QUEUE_BATCH_SIZE = "lucene.write.queue.batch.size";
+
+	public static final String LUCENE_WRITE_QUEUE_CAPACITY = "lucene.write.queue.capacity";
+
+	public static final String LUCENE_WRITE_QUEUE_ENABLED = "lucene.write.queue.enabled";
+
 	public static final String MAIL_AUDIT_TRAIL = "mail.audit.trail";
 
 	public static final String MAIL_BATCH_SIZE = "mail.batch.size";
@@ -1663,6 +1719,8 @@ public interface PropsKeys {
 
 	public static final String MESSAGE_BOARDS_THREAD_VIEWS_DEFAULT = "message.boards.thread.views.default";
 
+	public static final String MESSAGE_BUS_WORK_STEALING_ENABLED = "message.bus.work.stealing.enabled";
+
 	public static final String MICROSOFT_TRANSLATOR_CLIENT_ID = "microsoft.translator.client.id";
 
 	public static final String MICROSOFT_TRANSLATOR_CLIENT_SECRET = "microsoft.translator.client.secret";
@@ -1717,6 +1775,8 @@ public interface PropsKeys {
 
 	public static final String MODULE_FRAMEWORK_SYSTEM_PACKAGES_EXTRA = "module.framework.system.packages.extra";
 
+	public static final String MONITORING_DATA_SAMPLE_MESSAGE_BUS_ENABLED = "monitoring.data.sample.message.bus.enabled";
+
 	public static final String MONITORING_PORTAL_REQUEST = "monitoring.portal.request";
 
 	public static final String MONITORING_PORTLET_ACTION_REQUEST = "monitoring.portlet.action.request";
@@ -1729,6 +1789,10 @@ public interface PropsKeys {
 
 	public static final String MONITORING_SHOW_PER_REQUEST_DATA_SAMPLE = "monitoring.show.per.request.data.sample";
 
+	public static final String MONITORING_STATISTICS_WINDOW_SLICES = "monitoring.statistics.window.slices";
+
+	public static final String MONITORING_STATISTICS_WINDOW_TIME = "monitoring.statistics.window.time";
+
 	public static final String MSN_LOGIN = "msn.login";
 
 	public static final String MSN_PASSWORD = "msn.password";
@@ -1931,6 +1995,8 @@ public interface PropsKeys {
 
 	public static final String PASSWORDS_TOOLKIT = "passwords.toolkit";
 
+	public static final String PERMISSIONS_BULK_PRIM_KEYS_BATCH_SIZE = "permissions.bulk.prim.keys.batch.size";
+
 	public static final String PERMISSIONS_CHECK_GUEST_ENABLED = "permissions.check.guest.enabled";
 
 	public static final String PERMISSIONS_CHECKER = "permissions.checker";
@@ -1951,6 +2017,8 @@ public interface PropsKeys {
 
 	public static final String PERMISSIONS_ROLE_RESOURCE_PERMISSION_QUERY_THRESHOLD = "permissions.role.resource.permission.query.threshold";
 
+	public static final String PERMISSIONS_SEARCH_ROLES_FILTER_CACHE_MAX_SIZE = "permissions.search.roles.filter.cache.max.size";
+
 	public static final String PERMISSIONS_THREAD_LOCAL_CACHE_MAX_SIZE = "permissions.thread.local.cache.max.size";
 
 	public static final String PERMISSIONS_VIEW_DYNAMIC_INHERITANCE = "permissions.view.dynamic.inheritance";
@@ -2155,6 +2223,8 @@ public interface PropsKeys {
 
 	public static final String SEARCH_FACET_CONFIGURATION = "search.facet.configuration";
 
+	public static final String SERIALIZER_CODEC_EXTERNALIZABLE_CLASSES = "serializer.codec.externalizable.classes";
+
 	public static final String SERVICE_BUILDER_SERVICE_READ_ONLY_PREFIXES = "service.builder.service.read.only.prefixes";
 
 	public static final String SERVLET_SERVICE_EVENTS_POST = "servlet.service.events.post";
@@ -2379,6 +2449,12 @@ public interface PropsKeys {
 
 	public static final String SQL_DATA_MAX_PARAMETERS = "sql.data.max.parameters";
 
+	public static final String STAGING_LAR_IMPORT_PREFETCH_SIZE = "staging.lar.import.prefetch.size";
+
+	public static final String STAGING_LAR_SPILL_THRESHOLD = "staging.lar.spill.threshold";
+
+	public static final String STAGING_LAR_STREAMING_ENABLED = "staging.lar.streaming.enabled";
+
 	public static final String STAGING_LOCK_ENABLED = "staging.lock.enabled";
 
 	public static final String STAGING_REMOTE_TRANSFER_BUFFER_SIZE = "staging.remote.transfer.buffer.size";
@@ -2391,6 +2467,8 @@ public interface PropsKeys {
 
 	public static final String STRIP_MIME_TYPES = "strip.mime.types";
 
+	public static final String STRIP_STREAMING_ENABLED = "strip.streaming.enabled";
+
 	public static final String STRUTS_PORTLET_REQUEST_PROCESSOR = "struts.portlet.request.processor";
 
 	public static final String SYSTEM_GROUPS = "system.groups";
@@ -2565,6 +2643,18 @@ public interface PropsKeys {
 
 	public static final String VALUE_OBJECT_FINDER_THREAD_LOCAL_CACHE_MAX_SIZE = "value.object.finder.thread.local.cache.max.size";
 
+	public static final String VALUE_OBJECT_MAPPED_CACHE_DIR = "value.object.mapped.cache.dir";
+
+	public static final String VALUE_OBJECT_MAPPED_CACHE_ENABLED = "value.object.mapped.cache.enabled";
+
+	public static final String VALUE_OBJECT_MAPPED_CACHE_MAX_ENTRIES = "value.object.mapped.cache.max.entries";
+
+	public static final String VALUE_OBJECT_MAPPED_CACHE_MAX_SIZE = "value.object.mapped.cache.max.size";
+
+	public static final String VALUE_OBJECT_MAPPED_CACHE_WARM_UP_TIME = "value.object.mapped.cache.warm.up.time";
+
+	public static final String VALUE_OBJECT_MAPPED_CACHE_WATERMARK_INTERVAL = "value.object.mapped.cache.watermark.interval";
+
 	public static final String VALUE_OBJECT_LISTENER = "value.object.listener.";
 
 	public static final String VELOCITY_ENGINE_DIRECTIVE_IF_TO_STRING_NULL_CHECK = "velocity.engine.directive.if.to.string.null.check";
@@ -2613,10 +2703,16 @@ public interface PropsKeys {
 
 	public static final String WEB_SERVER_SERVLET_ACCEPT_RANGES_MIME_TYPES = "web.server.servlet.accept.ranges.mime.types";
 
+	public static final String WEB_SERVER_SERVLET_CONTAINER_SENDFILE_ENABLED = "web.server.servlet.container.sendfile.enabled";
+
 	public static final String WEB_SERVER_SERVLET_DIRECTORY_INDEXING_ENABLED = "web.server.servlet.directory.indexing.enabled";
 
 	public static final String WEB_SERVER_SERVLET_MAX_RANGE_FIELDS = "web.server.servlet.max.range.fields";
 
+	public static final String WEB_SERVER_SERVLET_SENDFILE_HEADER = "web.server.servlet.sendfile.header";
+
+	public static final String WEB_SERVER_SERVLET_SENDFILE_URI_PREFIX = "web.server.servlet.sendfile.uri.prefix";
+
 	public static final String WEB_SERVER_SERVLET_VERSION_VERBOSITY = "web.server.servlet.version.verbosity";
 
 	public static final String WEBDAV_IGNORE = "webdav.ignore";
@@ -0,0 +1,39 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.util;
+
+import com.liferay.portal.kernel.io.Deserializer;
+import com.liferay.portal.kernel.io.SerializableCodec;
+import com.liferay.portal.kernel.io.Serializer;
+
+/**
+ * Encodes a {@link TransientValue} as nothing, the same way Java serialization
+ * drops its transient value.
+ *
+ * @author Shuyang Zhou
+ */
+public class TransientValueSerializableCodec
+	implements SerializableCodec<TransientValue> {
+
+	@Override
+	public TransientValue decode(Deserializer deserializer) {
+		return new TransientValue<Object>();
+	}
+
+	@Override
+	public void encode(Serializer serializer, TransientValue transientValue) {
+	}
+
+}
@@ -23,6 +23,8 @@ import java.io.InputStream;
  */
 public interface ZipReaderFactory {
 
+	public ZipReader getStreamingZipReader(File file) throws IOException;
+
 	public ZipReader getZipReader(File file);
 
 	public ZipReader getZipReader(InputStream inputStream) throws IOException;
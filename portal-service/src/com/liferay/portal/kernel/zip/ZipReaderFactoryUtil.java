@@ -25,6 +25,12 @@ import java.io.InputStream;
  */
 public class ZipReaderFactoryUtil {
 
+	public static ZipReader getStreamingZipReader(File file)
+		throws IOException {
+
+		return getZipReaderFactory().getStreamingZipReader(file);
+	}
+
 	public static ZipReader getZipReader(File file) {
 		return getZipReaderFactory().getZipReader(file);
 	}
@@ -21,6 +21,8 @@ import java.io.File;
  */
 public interface ZipWriterFactory {
 
+	public ZipWriter getStreamingZipWriter();
+
 	public ZipWriter getZipWriter();
 
 	public ZipWriter getZipWriter(File file);
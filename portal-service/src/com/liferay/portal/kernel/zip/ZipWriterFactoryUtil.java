@@ -23,6 +23,10 @@ import java.io.File;
  */
 public class ZipWriterFactoryUtil {
 
+	public static ZipWriter getStreamingZipWriter() {
+		return getZipWriterFactory().getStreamingZipWriter();
+	}
+
 	public static ZipWriter getZipWriter() {
 		return getZipWriterFactory().getZipWriter();
 	}
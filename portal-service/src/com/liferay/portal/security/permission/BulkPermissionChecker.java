@@ -0,0 +1,44 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.security.permission;
+
+/**
+ * Checks the permissions of several resources at once. Permission checkers
+ * that do not implement this interface can only be used to check the
+ * resources one at a time.
+ *
+ * @author Brian Wing Shun Chan
+ */
+public interface BulkPermissionChecker extends PermissionChecker {
+
+	/**
+	 * Returns whether the user has permission to perform the action on each of
+	 * the resources. Implementations may resolve the permissions of all of the
+	 * resources at once, which is considerably cheaper than calling {@link
+	 * #hasPermission(long, String, long, String)} for each resource.
+	 *
+	 * @param  groupId the primary key of the group containing the resources
+	 * @param  name the resources' name, which can be either a class name or a
+	 *         portlet ID
+	 * @param  primKeys the primary keys of the resources
+	 * @param  actionId the action ID
+	 * @return an array whose elements are <code>true</code> if the user has
+	 *         permission to perform the action on the resource with the
+	 *         primary key at the same index; <code>false</code> otherwise
+	 */
+	public boolean[] hasPermissions(
+		long groupId, String name, long[] primKeys, String actionId);
+
+}
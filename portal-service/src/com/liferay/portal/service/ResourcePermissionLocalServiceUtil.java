@@ -713,6 +713,42 @@ public class ResourcePermissionLocalServiceUtil {
 			roleIds, actionId);
 	}
 
+	/**
+	* Returns whether the roles have permission at the scope to perform the
+	* action on each of the resources of the type.
+	*
+	* <p>
+	* All of the primary keys are resolved with a single query per batch, as
+	* configured by the <code>permissions.bulk.prim.keys.batch.size</code>
+	* property, which makes this method considerably cheaper than calling
+	* {@link #hasResourcePermission(long, String, int, String, long[], String)}
+	* once for each primary key.
+	* </p>
+	*
+	* @param companyId the primary key of the company
+	* @param name the resource's name, which can be either a class name or a
+	portlet ID
+	* @param scope the scope
+	* @param primKeys the primary keys
+	* @param roleIds the primary keys of the roles
+	* @param actionId the action ID
+	* @return an array whose elements are <code>true</code> if any one of the
+	roles has permission to perform the action on the resource with
+	the primary key at the same index; <code>false</code> otherwise
+	* @throws PortalException if a resource action with the name and action
+	ID could not be found
+	* @throws SystemException if a system exception occurred
+	*/
+	public static boolean[] hasResourcePermissions(long companyId,
+		java.lang.String name, int scope, java.lang.String[] primKeys,
+		long[] roleIds, java.lang.String actionId)
+		throws com.liferay.portal.kernel.exception.PortalException,
+			com.liferay.portal.kernel.exception.SystemException {
+		return getService()
+				   .hasResourcePermissions(companyId, name, scope, primKeys,
+			roleIds, actionId);
+	}
+
 	/**
 	* Returns <code>true</code> if the role has permission at the scope to
 	* perform the action on the resource.
@@ -28,6 +28,11 @@ public interface ResourcePermissionFinder {
 		int scope, java.lang.String primKey, long[] roleIds, long actionId)
 		throws com.liferay.portal.kernel.exception.SystemException;
 
+	public java.util.List<com.liferay.portal.model.ResourcePermission> findByC_N_S_P_R(
+		long companyId, java.lang.String name, int scope,
+		java.lang.String[] primKeys, long[] roleIds)
+		throws com.liferay.portal.kernel.exception.SystemException;
+
 	public java.util.List<com.liferay.portal.model.ResourcePermission> findByResource(
 		long companyId, long groupId, java.lang.String name,
 		java.lang.String primKey)
@@ -37,6 +37,14 @@ public class ResourcePermissionFinderUtil {
 			roleIds, actionId);
 	}
 
+	public static java.util.List<com.liferay.portal.model.ResourcePermission> findByC_N_S_P_R(
+		long companyId, java.lang.String name, int scope,
+		java.lang.String[] primKeys, long[] roleIds)
+		throws com.liferay.portal.kernel.exception.SystemException {
+		return getFinder()
+				   .findByC_N_S_P_R(companyId, name, scope, primKeys, roleIds);
+	}
+
 	public static java.util.List<com.liferay.portal.model.ResourcePermission> findByResource(
 		long companyId, long groupId, java.lang.String name,
 		java.lang.String primKey)
@@ -0,0 +1,33 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portlet.dynamicdatamapping.service.persistence;
+
+import aQute.bnd.annotation.ProviderType;
+
+/**
+ * @author Brian Wing Shun Chan
+ */
+@ProviderType
+public interface DDMStorageLinkFinder {
+	public int countByS_C(long structureId,
+		com.liferay.portlet.dynamicdatamapping.storage.query.Condition condition)
+		throws com.liferay.portal.kernel.exception.SystemException;
+
+	public java.util.List<com.liferay.portlet.dynamicdatamapping.model.DDMStorageLink> findByS_C(
+		long structureId,
+		com.liferay.portlet.dynamicdatamapping.storage.query.Condition condition,
+		int start, int end)
+		throws com.liferay.portal.kernel.exception.SystemException;
+}
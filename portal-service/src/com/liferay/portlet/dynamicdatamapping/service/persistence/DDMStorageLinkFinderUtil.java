@@ -0,0 +1,60 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portlet.dynamicdatamapping.service.persistence;
+
+import aQute.bnd.annotation.ProviderType;
+
+import com.liferay.portal.kernel.bean.PortalBeanLocatorUtil;
+import com.liferay.portal.kernel.util.ReferenceRegistry;
+
+/**
+ * @author Brian Wing Shun Chan
+ */
+@ProviderType
+public class DDMStorageLinkFinderUtil {
+	public static int countByS_C(long structureId,
+		com.liferay.portlet.dynamicdatamapping.storage.query.Condition condition)
+		throws com.liferay.portal.kernel.exception.SystemException {
+		return getFinder().countByS_C(structureId, condition);
+	}
+
+	public static java.util.List<com.liferay.portlet.dynamicdatamapping.model.DDMStorageLink> findByS_C(
+		long structureId,
+		com.liferay.portlet.dynamicdatamapping.storage.query.Condition condition,
+		int start, int end)
+		throws com.liferay.portal.kernel.exception.SystemException {
+		return getFinder().findByS_C(structureId, condition, start, end);
+	}
+
+	public static DDMStorageLinkFinder getFinder() {
+		if (_finder == null) {
+			_finder = (DDMStorageLinkFinder)PortalBeanLocatorUtil.locate(DDMStorageLinkFinder.class.getName());
+
+			ReferenceRegistry.registerReference(DDMStorageLinkFinderUtil.class,
+				"_finder");
+		}
+
+		return _finder;
+	}
+
+	public void setFinder(DDMStorageLinkFinder finder) {
+		_finder = finder;
+
+		ReferenceRegistry.registerReference(DDMStorageLinkFinderUtil.class,
+			"_finder");
+	}
+
+	private static DDMStorageLinkFinder _finder;
+}
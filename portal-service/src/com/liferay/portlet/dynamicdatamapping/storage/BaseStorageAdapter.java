@@ -16,6 +16,7 @@ package com.liferay.portlet.dynamicdatamapping.storage;
 
 import com.liferay.portal.kernel.exception.PortalException;
 import com.liferay.portal.kernel.exception.SystemException;
+import com.liferay.portal.kernel.util.ListUtil;
 import com.liferay.portal.kernel.util.OrderByComparator;
 import com.liferay.portal.kernel.util.Validator;
 import com.liferay.portal.service.ServiceContext;
@@ -189,6 +190,25 @@ public abstract class BaseStorageAdapter implements StorageAdapter {
 		}
 	}
 
+	@Override
+	public List<Fields> query(
+			long ddmStructureId, List<String> fieldNames, Condition condition,
+			int start, int end, OrderByComparator orderByComparator)
+		throws StorageException {
+
+		try {
+			return doQuery(
+				ddmStructureId, fieldNames, condition, start, end,
+				orderByComparator);
+		}
+		catch (StorageException se) {
+			throw se;
+		}
+		catch (Exception e) {
+			throw new StorageException(e);
+		}
+	}
+
 	@Override
 	public List<Fields> query(
 			long ddmStructureId, List<String> fieldNames, Condition condition,
@@ -273,6 +293,17 @@ public abstract class BaseStorageAdapter implements StorageAdapter {
 			long ddmStructureId, long[] classPKs, List<String> fieldNames)
 		throws Exception;
 
+	protected List<Fields> doQuery(
+			long ddmStructureId, List<String> fieldNames, Condition condition,
+			int start, int end, OrderByComparator orderByComparator)
+		throws Exception {
+
+		List<Fields> fieldsList = doQuery(
+			ddmStructureId, fieldNames, condition, orderByComparator);
+
+		return ListUtil.subList(fieldsList, start, end);
+	}
+
 	protected abstract List<Fields> doQuery(
 			long ddmStructureId, List<String> fieldNames, Condition condition,
 			OrderByComparator orderByComparator)
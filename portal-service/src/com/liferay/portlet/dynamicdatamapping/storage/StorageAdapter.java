@@ -70,6 +70,11 @@ public interface StorageAdapter {
 			long ddmStructureId, long[] classPKs, List<String> fieldNames)
 		throws StorageException;
 
+	public List<Fields> query(
+			long ddmStructureId, List<String> fieldNames, Condition condition,
+			int start, int end, OrderByComparator orderByComparator)
+		throws StorageException;
+
 	public List<Fields> query(
 			long ddmStructureId, List<String> fieldNames, Condition condition,
 			OrderByComparator orderByComparator)
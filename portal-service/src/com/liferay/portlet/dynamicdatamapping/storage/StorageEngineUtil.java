@@ -112,6 +112,16 @@ public class StorageEngineUtil {
 		return _storageEngine;
 	}
 
+	public static List<Fields> query(
+			long ddmStructureId, List<String> fieldNames, Condition condition,
+			int start, int end, OrderByComparator orderByComparator)
+		throws StorageException {
+
+		return getStorageEngine().query(
+			ddmStructureId, fieldNames, condition, start, end,
+			orderByComparator);
+	}
+
 	public static List<Fields> query(
 			long ddmStructureId, List<String> fieldNames, Condition condition,
 			OrderByComparator orderByComparator)
@@ -43,6 +43,12 @@ public interface JournalContent {
 	public void clearCache(
 		long groupId, String articleId, String ddmTemplateKey);
 
+	public void clearDDMStructureCache(String ddmStructureKey);
+
+	public void clearDDMTemplateCache(String ddmTemplateKey);
+
+	public void clearLayoutCache(String layoutUuid);
+
 	public String getContent(
 		long groupId, String articleId, String viewMode, String languageId,
 		String xmlRequest);
@@ -33,6 +33,18 @@ public class JournalContentUtil {
 		getJournalContent().clearCache(groupId, articleId, ddmTemplateKey);
 	}
 
+	public static void clearDDMStructureCache(String ddmStructureKey) {
+		getJournalContent().clearDDMStructureCache(ddmStructureKey);
+	}
+
+	public static void clearDDMTemplateCache(String ddmTemplateKey) {
+		getJournalContent().clearDDMTemplateCache(ddmTemplateKey);
+	}
+
+	public static void clearLayoutCache(String layoutUuid) {
+		getJournalContent().clearLayoutCache(layoutUuid);
+	}
+
 	public static String getContent(
 		long groupId, String articleId, String viewMode, String languageId,
 		String xmlRequest) {
@@ -0,0 +1,172 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.cache.cluster;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class BaseBatchingPortalCacheClusterChannelTest {
+
+	@Test
+	public void testBatchSize() throws Exception {
+		MockBatchingPortalCacheClusterChannel
+			mockBatchingPortalCacheClusterChannel =
+				new MockBatchingPortalCacheClusterChannel(2, Long.MAX_VALUE);
+
+		try {
+			mockBatchingPortalCacheClusterChannel.sendEvent(
+				new PortalCacheClusterEvent(
+					_CACHE_NAME, 1L, PortalCacheClusterEventType.REMOVE));
+			mockBatchingPortalCacheClusterChannel.sendEvent(
+				new PortalCacheClusterEvent(
+					_CACHE_NAME, 2L, PortalCacheClusterEventType.REMOVE));
+
+			List<PortalCacheClusterEvent> portalCacheClusterEvents =
+				mockBatchingPortalCacheClusterChannel.takeBatch();
+
+			Assert.assertEquals(2, portalCacheClusterEvents.size());
+		}
+		finally {
+			mockBatchingPortalCacheClusterChannel.destroy();
+		}
+	}
+
+	@Test
+	public void testCoalesce() throws Exception {
+		MockBatchingPortalCacheClusterChannel
+			mockBatchingPortalCacheClusterChannel =
+				new MockBatchingPortalCacheClusterChannel(1000, 100);
+
+		try {
+			PortalCacheClusterEvent portalCacheClusterEvent1 =
+				new PortalCacheClusterEvent(
+					_CACHE_NAME, 1L, PortalCacheClusterEventType.PUT);
+			PortalCacheClusterEvent portalCacheClusterEvent2 =
+				new PortalCacheClusterEvent(
+					_CACHE_NAME, 2L, PortalCacheClusterEventType.PUT);
+			PortalCacheClusterEvent portalCacheClusterEvent3 =
+				new PortalCacheClusterEvent(
+					_CACHE_NAME, 1L, PortalCacheClusterEventType.REMOVE);
+
+			mockBatchingPortalCacheClusterChannel.sendEvent(
+				portalCacheClusterEvent1);
+			mockBatchingPortalCacheClusterChannel.sendEvent(
+				portalCacheClusterEvent2);
+			mockBatchingPortalCacheClusterChannel.sendEvent(
+				portalCacheClusterEvent3);
+
+			List<PortalCacheClusterEvent> portalCacheClusterEvents =
+				mockBatchingPortalCacheClusterChannel.takeBatch();
+
+			Assert.assertEquals(2, portalCacheClusterEvents.size());
+			Assert.assertSame(
+				portalCacheClusterEvent2, portalCacheClusterEvents.get(0));
+			Assert.assertSame(
+				portalCacheClusterEvent3, portalCacheClusterEvents.get(1));
+			Assert.assertEquals(
+				1,
+				mockBatchingPortalCacheClusterChannel.
+					getCoalescedEventNumber());
+		}
+		finally {
+			mockBatchingPortalCacheClusterChannel.destroy();
+		}
+	}
+
+	@Test
+	public void testRemoveAll() throws Exception {
+		MockBatchingPortalCacheClusterChannel
+			mockBatchingPortalCacheClusterChannel =
+				new MockBatchingPortalCacheClusterChannel(1000, 100);
+
+		try {
+			PortalCacheClusterEvent portalCacheClusterEvent1 =
+				new PortalCacheClusterEvent(
+					_CACHE_NAME, 1L, PortalCacheClusterEventType.PUT);
+			PortalCacheClusterEvent portalCacheClusterEvent2 =
+				new PortalCacheClusterEvent(
+					_CACHE_NAME, null, PortalCacheClusterEventType.REMOVE_ALL);
+			PortalCacheClusterEvent portalCacheClusterEvent3 =
+				new PortalCacheClusterEvent(
+					_CACHE_NAME, 2L, PortalCacheClusterEventType.PUT);
+
+			mockBatchingPortalCacheClusterChannel.sendEvent(
+				portalCacheClusterEvent1);
+			mockBatchingPortalCacheClusterChannel.sendEvent(
+				portalCacheClusterEvent2);
+			mockBatchingPortalCacheClusterChannel.sendEvent(
+				portalCacheClusterEvent3);
+
+			List<PortalCacheClusterEvent> portalCacheClusterEvents =
+				mockBatchingPortalCacheClusterChannel.takeBatch();
+
+			Assert.assertEquals(2, portalCacheClusterEvents.size());
+			Assert.assertSame(
+				portalCacheClusterEvent2, portalCacheClusterEvents.get(0));
+			Assert.assertSame(
+				portalCacheClusterEvent3, portalCacheClusterEvents.get(1));
+		}
+		finally {
+			mockBatchingPortalCacheClusterChannel.destroy();
+		}
+	}
+
+	private static final String _CACHE_NAME = "cacheName";
+
+	private static class MockBatchingPortalCacheClusterChannel
+		extends BaseBatchingPortalCacheClusterChannel {
+
+		public MockBatchingPortalCacheClusterChannel(
+			int batchSize, long batchWindow) {
+
+			super(batchSize, batchWindow);
+		}
+
+		@Override
+		public void dispatchEvents(
+			String cacheName,
+			List<PortalCacheClusterEvent> portalCacheClusterEvents) {
+
+			_batches.add(
+				new ArrayList<PortalCacheClusterEvent>(
+					portalCacheClusterEvents));
+		}
+
+		public List<PortalCacheClusterEvent> takeBatch()
+			throws InterruptedException {
+
+			List<PortalCacheClusterEvent> portalCacheClusterEvents =
+				_batches.poll(10, TimeUnit.SECONDS);
+
+			Assert.assertNotNull(portalCacheClusterEvents);
+
+			return portalCacheClusterEvents;
+		}
+
+		private final BlockingQueue<List<PortalCacheClusterEvent>> _batches =
+			new LinkedBlockingQueue<List<PortalCacheClusterEvent>>();
+
+	}
+
+}
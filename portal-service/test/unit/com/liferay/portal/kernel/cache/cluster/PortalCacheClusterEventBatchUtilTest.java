@@ -0,0 +1,96 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.cache.cluster;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class PortalCacheClusterEventBatchUtilTest {
+
+	@Test
+	public void testEncodeAndDecode() throws Exception {
+		List<PortalCacheClusterEvent> portalCacheClusterEvents =
+			new ArrayList<PortalCacheClusterEvent>();
+
+		portalCacheClusterEvents.add(
+			new PortalCacheClusterEvent(
+				_CACHE_NAME, null, PortalCacheClusterEventType.REMOVE_ALL));
+		portalCacheClusterEvents.add(
+			new PortalCacheClusterEvent(
+				_CACHE_NAME, 1L, PortalCacheClusterEventType.REMOVE));
+		portalCacheClusterEvents.add(
+			new PortalCacheClusterEvent(
+				_CACHE_NAME, "key", "value", PortalCacheClusterEventType.PUT));
+
+		byte[] frame = PortalCacheClusterEventBatchUtil.encode(
+			_CACHE_NAME, portalCacheClusterEvents, Integer.MAX_VALUE);
+
+		Assert.assertEquals(0, frame[0]);
+		Assert.assertEquals(
+			portalCacheClusterEvents,
+			PortalCacheClusterEventBatchUtil.decode(frame));
+	}
+
+	@Test
+	public void testEncodeAndDecodeCompressed() throws Exception {
+		List<PortalCacheClusterEvent> portalCacheClusterEvents =
+			new ArrayList<PortalCacheClusterEvent>();
+
+		for (long i = 0; i < 1000; i++) {
+			portalCacheClusterEvents.add(
+				new PortalCacheClusterEvent(
+					_CACHE_NAME, i, PortalCacheClusterEventType.REMOVE));
+		}
+
+		byte[] uncompressedFrame = PortalCacheClusterEventBatchUtil.encode(
+			_CACHE_NAME, portalCacheClusterEvents, Integer.MAX_VALUE);
+
+		byte[] compressedFrame = PortalCacheClusterEventBatchUtil.encode(
+			_CACHE_NAME, portalCacheClusterEvents, 1024);
+
+		Assert.assertEquals(1, compressedFrame[0]);
+		Assert.assertTrue(compressedFrame.length < uncompressedFrame.length);
+		Assert.assertEquals(
+			portalCacheClusterEvents,
+			PortalCacheClusterEventBatchUtil.decode(compressedFrame));
+	}
+
+	@Test
+	public void testEncodeIncompressible() throws Exception {
+		List<PortalCacheClusterEvent> portalCacheClusterEvents =
+			new ArrayList<PortalCacheClusterEvent>();
+
+		portalCacheClusterEvents.add(
+			new PortalCacheClusterEvent(
+				_CACHE_NAME, 1L, PortalCacheClusterEventType.REMOVE));
+
+		byte[] frame = PortalCacheClusterEventBatchUtil.encode(
+			_CACHE_NAME, portalCacheClusterEvents, 0);
+
+		Assert.assertEquals(0, frame[0]);
+		Assert.assertEquals(
+			portalCacheClusterEvents,
+			PortalCacheClusterEventBatchUtil.decode(frame));
+	}
+
+	private static final String _CACHE_NAME = "cacheName";
+
+}
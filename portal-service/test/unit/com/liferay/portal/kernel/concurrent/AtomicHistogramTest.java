@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.concurrent;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class AtomicHistogramTest {
+
+	@Test
+	public void testBucketBounds() {
+		Assert.assertEquals(0, AtomicHistogram.getBucketLowerBound(0));
+		Assert.assertEquals(0, AtomicHistogram.getBucketUpperBound(0));
+		Assert.assertEquals(1, AtomicHistogram.getBucketLowerBound(1));
+		Assert.assertEquals(1, AtomicHistogram.getBucketUpperBound(1));
+		Assert.assertEquals(4, AtomicHistogram.getBucketLowerBound(3));
+		Assert.assertEquals(7, AtomicHistogram.getBucketUpperBound(3));
+	}
+
+	@Test
+	public void testAdd() {
+		AtomicHistogram atomicHistogram1 = new AtomicHistogram(2);
+
+		atomicHistogram1.record(10);
+
+		AtomicHistogram atomicHistogram2 = new AtomicHistogram(2);
+
+		atomicHistogram2.record(1000);
+
+		atomicHistogram1.add(atomicHistogram2);
+
+		Assert.assertEquals(2, atomicHistogram1.getCount());
+		Assert.assertEquals(1000, atomicHistogram1.getMax());
+		Assert.assertEquals(1010, atomicHistogram1.getSum());
+
+		try {
+			atomicHistogram1.add(new AtomicHistogram());
+
+			Assert.fail();
+		}
+		catch (IllegalArgumentException iae) {
+		}
+	}
+
+	@Test
+	public void testPercentile() {
+		AtomicHistogram atomicHistogram = new AtomicHistogram();
+
+		Assert.assertEquals(0, atomicHistogram.getPercentile(50));
+
+		for (int i = 1; i <= 100; i++) {
+			atomicHistogram.record(i);
+		}
+
+		Assert.assertEquals(100, atomicHistogram.getCount());
+		Assert.assertEquals(100, atomicHistogram.getMax());
+		Assert.assertEquals(5050, atomicHistogram.getSum());
+		Assert.assertEquals(50.5, atomicHistogram.getMean(), 0);
+		Assert.assertEquals(63, atomicHistogram.getPercentile(50));
+		Assert.assertEquals(100, atomicHistogram.getPercentile(100));
+
+		try {
+			atomicHistogram.getPercentile(101);
+
+			Assert.fail();
+		}
+		catch (IllegalArgumentException iae) {
+		}
+
+		atomicHistogram.reset();
+
+		Assert.assertEquals(0, atomicHistogram.getCount());
+		Assert.assertEquals(0, atomicHistogram.getMax());
+	}
+
+	@Test
+	public void testPercentileWithSubBuckets() {
+		AtomicHistogram atomicHistogram = new AtomicHistogram(3);
+
+		for (int i = 1; i <= 1000; i++) {
+			atomicHistogram.record(i);
+		}
+
+		long percentile = atomicHistogram.getPercentile(50);
+
+		Assert.assertTrue(percentile >= 500);
+		Assert.assertTrue(percentile <= 500 * 9 / 8);
+
+		percentile = atomicHistogram.getPercentile(99);
+
+		Assert.assertTrue(percentile >= 990);
+		Assert.assertTrue(percentile <= 1000);
+	}
+
+	@Test
+	public void testRecord() {
+		AtomicHistogram atomicHistogram = new AtomicHistogram();
+
+		atomicHistogram.record(-1);
+		atomicHistogram.record(0);
+		atomicHistogram.record(1);
+		atomicHistogram.record(5);
+		atomicHistogram.record(Long.MAX_VALUE);
+
+		long[] bucketCounts = atomicHistogram.getBucketCounts();
+
+		Assert.assertEquals(64, bucketCounts.length);
+		Assert.assertEquals(2, bucketCounts[0]);
+		Assert.assertEquals(1, bucketCounts[1]);
+		Assert.assertEquals(1, bucketCounts[3]);
+		Assert.assertEquals(1, bucketCounts[63]);
+	}
+
+	@Test
+	public void testRecordWithSubBuckets() {
+		for (int subBucketBits = 0; subBucketBits <= 8; subBucketBits++) {
+			AtomicHistogram atomicHistogram = new AtomicHistogram(
+				subBucketBits);
+
+			long[] values = {
+				-1, 0, 1, 2, 3, 5, 7, 100, 1023, 1024, 123456789,
+				Long.MAX_VALUE
+			};
+
+			for (long value : values) {
+				atomicHistogram.record(value);
+			}
+
+			long[] bucketCounts = atomicHistogram.getBucketCounts();
+
+			Assert.assertEquals(1 + (63 << subBucketBits), bucketCounts.length);
+
+			long count = 0;
+
+			for (int i = 0; i < bucketCounts.length; i++) {
+				if (bucketCounts[i] == 0) {
+					continue;
+				}
+
+				count += bucketCounts[i];
+
+				long lowerBound = AtomicHistogram.getBucketLowerBound(
+					i, subBucketBits);
+				long upperBound = AtomicHistogram.getBucketUpperBound(
+					i, subBucketBits);
+
+				boolean found = false;
+
+				for (long value : values) {
+					if ((Math.max(value, 0) >= lowerBound) &&
+						(Math.max(value, 0) <= upperBound)) {
+
+						found = true;
+					}
+				}
+
+				Assert.assertTrue(found);
+			}
+
+			Assert.assertEquals(values.length, count);
+		}
+	}
+
+}
@@ -0,0 +1,97 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.concurrent;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class SlidingWindowHistogramTest {
+
+	@Test
+	public void testRecord() {
+		SlidingWindowHistogram slidingWindowHistogram =
+			new SlidingWindowHistogram(1000, 4, 2);
+
+		Assert.assertEquals(1000, slidingWindowHistogram.getWindowTime());
+
+		slidingWindowHistogram.record(10, 0);
+		slidingWindowHistogram.record(20, 300);
+		slidingWindowHistogram.record(30, 600);
+
+		AtomicHistogram atomicHistogram = slidingWindowHistogram.getSnapshot(
+			900);
+
+		Assert.assertEquals(3, atomicHistogram.getCount());
+		Assert.assertEquals(30, atomicHistogram.getMax());
+
+		atomicHistogram = slidingWindowHistogram.getSnapshot(1000);
+
+		Assert.assertEquals(2, atomicHistogram.getCount());
+
+		slidingWindowHistogram.record(40, 1100);
+
+		atomicHistogram = slidingWindowHistogram.getSnapshot(1100);
+
+		Assert.assertEquals(3, atomicHistogram.getCount());
+		Assert.assertEquals(90, atomicHistogram.getSum());
+
+		atomicHistogram = slidingWindowHistogram.getSnapshot(5000);
+
+		Assert.assertEquals(0, atomicHistogram.getCount());
+
+		slidingWindowHistogram.reset();
+
+		Assert.assertEquals(
+			0, slidingWindowHistogram.getSnapshot(1100).getCount());
+	}
+
+	@Test
+	public void testRecycleSlice() {
+		SlidingWindowHistogram slidingWindowHistogram =
+			new SlidingWindowHistogram(1000, 4, 2);
+
+		slidingWindowHistogram.record(10, 0);
+		slidingWindowHistogram.record(20, 1000);
+
+		AtomicHistogram atomicHistogram = slidingWindowHistogram.getSnapshot(
+			1000);
+
+		Assert.assertEquals(1, atomicHistogram.getCount());
+		Assert.assertEquals(20, atomicHistogram.getMax());
+	}
+
+	@Test
+	public void testValidation() {
+		try {
+			new SlidingWindowHistogram(1000, 0, 2);
+
+			Assert.fail();
+		}
+		catch (IllegalArgumentException iae) {
+		}
+
+		try {
+			new SlidingWindowHistogram(3, 4, 2);
+
+			Assert.fail();
+		}
+		catch (IllegalArgumentException iae) {
+		}
+	}
+
+}
@@ -0,0 +1,321 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.concurrent;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class WorkStealingThreadPoolExecutorTest {
+
+	@Test
+	public void testConstructor() {
+		try {
+			new WorkStealingThreadPoolExecutor(2, 1);
+
+			Assert.fail();
+		}
+		catch (IllegalArgumentException iae) {
+		}
+
+		try {
+			new WorkStealingThreadPoolExecutor(
+				1, 1, 1, TimeUnit.SECONDS, false, 1, null,
+				Executors.defaultThreadFactory(),
+				new ThreadPoolHandlerAdapter());
+
+			Assert.fail();
+		}
+		catch (NullPointerException npe) {
+		}
+
+		WorkStealingThreadPoolExecutor workStealingThreadPoolExecutor =
+			new WorkStealingThreadPoolExecutor(1, 4);
+
+		Assert.assertEquals(
+			1, workStealingThreadPoolExecutor.getCorePoolSize());
+		Assert.assertEquals(4, workStealingThreadPoolExecutor.getMaxPoolSize());
+		Assert.assertEquals(0, workStealingThreadPoolExecutor.getPoolSize());
+		Assert.assertEquals(
+			Integer.MAX_VALUE,
+			workStealingThreadPoolExecutor.getRemainingTaskQueueCapacity());
+		Assert.assertFalse(workStealingThreadPoolExecutor.isShutdown());
+
+		TestUtil.closePool(workStealingThreadPoolExecutor);
+	}
+
+	@Test
+	public void testDiscardOldestPolicy() throws InterruptedException {
+		WorkStealingThreadPoolExecutor workStealingThreadPoolExecutor =
+			new WorkStealingThreadPoolExecutor(
+				1, 1, TestUtil.KEEPALIVE_TIME, TimeUnit.MILLISECONDS, false, 1,
+				new DiscardOldestPolicy(), Executors.defaultThreadFactory(),
+				new ThreadPoolHandlerAdapter());
+
+		try {
+			MarkerBlockingJob markerBlockingJob1 = new MarkerBlockingJob(true);
+			MarkerBlockingJob markerBlockingJob2 = new MarkerBlockingJob();
+			MarkerBlockingJob markerBlockingJob3 = new MarkerBlockingJob();
+
+			workStealingThreadPoolExecutor.execute(markerBlockingJob1);
+
+			markerBlockingJob1.waitUntilBlock();
+
+			workStealingThreadPoolExecutor.execute(markerBlockingJob2);
+			workStealingThreadPoolExecutor.execute(markerBlockingJob3);
+
+			Assert.assertEquals(
+				1, workStealingThreadPoolExecutor.getPendingTaskCount());
+
+			markerBlockingJob1.unBlock();
+
+			TestUtil.waitUntilEnded(markerBlockingJob1, markerBlockingJob3);
+
+			Assert.assertFalse(markerBlockingJob2.isStarted());
+		}
+		finally {
+			TestUtil.closePool(workStealingThreadPoolExecutor);
+		}
+	}
+
+	@Test
+	public void testExecute() throws InterruptedException {
+		MarkerThreadPoolHandler markerThreadPoolHandler =
+			new MarkerThreadPoolHandler();
+
+		WorkStealingThreadPoolExecutor workStealingThreadPoolExecutor =
+			new WorkStealingThreadPoolExecutor(
+				2, 4, TestUtil.KEEPALIVE_TIME, TimeUnit.MILLISECONDS, false,
+				10, new AbortPolicy(), Executors.defaultThreadFactory(),
+				markerThreadPoolHandler);
+
+		MarkerBlockingJob[] markerBlockingJobs = new MarkerBlockingJob[4];
+
+		for (int i = 0; i < markerBlockingJobs.length; i++) {
+			markerBlockingJobs[i] = new MarkerBlockingJob(true);
+
+			workStealingThreadPoolExecutor.execute(markerBlockingJobs[i]);
+		}
+
+		TestUtil.waitUntilBlock(markerBlockingJobs);
+
+		Assert.assertEquals(4, workStealingThreadPoolExecutor.getActiveCount());
+		Assert.assertEquals(4, workStealingThreadPoolExecutor.getPoolSize());
+		Assert.assertEquals(
+			4, workStealingThreadPoolExecutor.getLargestPoolSize());
+		Assert.assertEquals(4, workStealingThreadPoolExecutor.getTaskCount());
+
+		MarkerBlockingJob markerBlockingJob = new MarkerBlockingJob();
+
+		workStealingThreadPoolExecutor.execute(markerBlockingJob);
+
+		Assert.assertEquals(
+			1, workStealingThreadPoolExecutor.getPendingTaskCount());
+		Assert.assertEquals(
+			9, workStealingThreadPoolExecutor.getRemainingTaskQueueCapacity());
+
+		TestUtil.unblock(markerBlockingJobs);
+
+		TestUtil.waitUntilEnded(markerBlockingJobs);
+		TestUtil.waitUntilEnded(markerBlockingJob);
+
+		Assert.assertEquals(
+			5, workStealingThreadPoolExecutor.getCompletedTaskCount());
+		Assert.assertEquals(
+			0, workStealingThreadPoolExecutor.getPendingTaskCount());
+		Assert.assertTrue(markerThreadPoolHandler.isBeforeExecuteRan());
+		Assert.assertTrue(markerThreadPoolHandler.isAfterExecuteRan());
+
+		Thread.sleep(TestUtil.KEEPALIVE_WAIT * 2);
+
+		Assert.assertEquals(2, workStealingThreadPoolExecutor.getPoolSize());
+
+		TestUtil.closePool(workStealingThreadPoolExecutor);
+
+		Assert.assertEquals(0, workStealingThreadPoolExecutor.getPoolSize());
+		Assert.assertTrue(markerThreadPoolHandler.isTerminatedRan());
+	}
+
+	@Test
+	public void testExecuteManyTasks() throws InterruptedException {
+		final WorkStealingThreadPoolExecutor workStealingThreadPoolExecutor =
+			new WorkStealingThreadPoolExecutor(
+				4, 4, TestUtil.KEEPALIVE_TIME, TimeUnit.MILLISECONDS, true,
+				Integer.MAX_VALUE);
+
+		final int count = 10000;
+
+		final MarkerBlockingJob[] markerBlockingJobs =
+			new MarkerBlockingJob[count];
+
+		for (int i = 0; i < count; i++) {
+			markerBlockingJobs[i] = new MarkerBlockingJob();
+		}
+
+		Thread[] threads = new Thread[4];
+
+		for (int i = 0; i < threads.length; i++) {
+			final int offset = i;
+
+			threads[i] = new Thread() {
+
+				@Override
+				public void run() {
+					for (int j = offset; j < count; j += 4) {
+						workStealingThreadPoolExecutor.execute(
+							markerBlockingJobs[j]);
+					}
+				}
+
+			};
+
+			threads[i].start();
+		}
+
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		TestUtil.closePool(workStealingThreadPoolExecutor);
+
+		for (MarkerBlockingJob markerBlockingJob : markerBlockingJobs) {
+			Assert.assertTrue(markerBlockingJob.isEnded());
+		}
+
+		Assert.assertEquals(
+			count, workStealingThreadPoolExecutor.getCompletedTaskCount());
+
+		AtomicHistogram queueDepthHistogram =
+			workStealingThreadPoolExecutor.getQueueDepthHistogram();
+
+		Assert.assertEquals(count, queueDepthHistogram.getCount());
+
+		AtomicHistogram waitTimeHistogram =
+			workStealingThreadPoolExecutor.getWaitTimeHistogram();
+
+		Assert.assertEquals(count, waitTimeHistogram.getCount());
+	}
+
+	@Test
+	public void testRejectedExecution() throws InterruptedException {
+		RecordRejectedExecutionHandler recordRejectedExecutionHandler =
+			new RecordRejectedExecutionHandler();
+
+		WorkStealingThreadPoolExecutor workStealingThreadPoolExecutor =
+			new WorkStealingThreadPoolExecutor(
+				1, 1, TestUtil.KEEPALIVE_TIME, TimeUnit.MILLISECONDS, false, 1,
+				recordRejectedExecutionHandler,
+				Executors.defaultThreadFactory(),
+				new ThreadPoolHandlerAdapter());
+
+		try {
+			MarkerBlockingJob markerBlockingJob1 = new MarkerBlockingJob(true);
+			MarkerBlockingJob markerBlockingJob2 = new MarkerBlockingJob();
+			MarkerBlockingJob markerBlockingJob3 = new MarkerBlockingJob();
+
+			workStealingThreadPoolExecutor.execute(markerBlockingJob1);
+
+			markerBlockingJob1.waitUntilBlock();
+
+			workStealingThreadPoolExecutor.execute(markerBlockingJob2);
+			workStealingThreadPoolExecutor.execute(markerBlockingJob3);
+
+			List<Runnable> rejectedList =
+				recordRejectedExecutionHandler.getRejectedList();
+
+			Assert.assertEquals(1, rejectedList.size());
+			Assert.assertSame(markerBlockingJob3, rejectedList.get(0));
+
+			markerBlockingJob1.unBlock();
+
+			TestUtil.waitUntilEnded(markerBlockingJob1, markerBlockingJob2);
+		}
+		finally {
+			TestUtil.closePool(workStealingThreadPoolExecutor);
+		}
+
+		MarkerBlockingJob markerBlockingJob = new MarkerBlockingJob();
+
+		workStealingThreadPoolExecutor.execute(markerBlockingJob);
+
+		List<Runnable> rejectedList =
+			recordRejectedExecutionHandler.getRejectedList();
+
+		Assert.assertEquals(2, rejectedList.size());
+		Assert.assertSame(markerBlockingJob, rejectedList.get(1));
+	}
+
+	@Test
+	public void testShutdown() throws InterruptedException {
+		WorkStealingThreadPoolExecutor workStealingThreadPoolExecutor =
+			new WorkStealingThreadPoolExecutor(
+				1, 1, TestUtil.KEEPALIVE_TIME, TimeUnit.MILLISECONDS, false,
+				10);
+
+		MarkerBlockingJob markerBlockingJob1 = new MarkerBlockingJob(true);
+		MarkerBlockingJob markerBlockingJob2 = new MarkerBlockingJob();
+
+		workStealingThreadPoolExecutor.execute(markerBlockingJob1);
+
+		markerBlockingJob1.waitUntilBlock();
+
+		workStealingThreadPoolExecutor.execute(markerBlockingJob2);
+
+		workStealingThreadPoolExecutor.shutdown();
+
+		Assert.assertTrue(workStealingThreadPoolExecutor.isShutdown());
+		Assert.assertFalse(workStealingThreadPoolExecutor.isTerminated());
+
+		markerBlockingJob1.unBlock();
+
+		TestUtil.closePool(workStealingThreadPoolExecutor);
+
+		Assert.assertTrue(markerBlockingJob2.isEnded());
+	}
+
+	@Test
+	public void testShutdownNow() throws InterruptedException {
+		WorkStealingThreadPoolExecutor workStealingThreadPoolExecutor =
+			new WorkStealingThreadPoolExecutor(
+				1, 1, TestUtil.KEEPALIVE_TIME, TimeUnit.MILLISECONDS, false,
+				10);
+
+		MarkerBlockingJob markerBlockingJob1 = new MarkerBlockingJob(true);
+		MarkerBlockingJob markerBlockingJob2 = new MarkerBlockingJob();
+
+		workStealingThreadPoolExecutor.execute(markerBlockingJob1);
+
+		markerBlockingJob1.waitUntilBlock();
+
+		workStealingThreadPoolExecutor.execute(markerBlockingJob2);
+
+		List<Runnable> runnables = workStealingThreadPoolExecutor.shutdownNow();
+
+		Assert.assertEquals(1, runnables.size());
+		Assert.assertSame(markerBlockingJob2, runnables.get(0));
+
+		TestUtil.closePool(workStealingThreadPoolExecutor, true);
+
+		Assert.assertTrue(markerBlockingJob1.isInterrupted());
+		Assert.assertFalse(markerBlockingJob2.isStarted());
+	}
+
+}
@@ -18,6 +18,7 @@ import com.liferay.portal.kernel.io.unsync.UnsyncByteArrayOutputStream;
 import com.liferay.portal.kernel.test.CodeCoverageAssertor;
 import com.liferay.portal.kernel.util.PortalClassLoaderUtil;
 import com.liferay.portal.kernel.util.StringPool;
+import com.liferay.portal.kernel.util.TransientValue;
 
 import java.io.ObjectOutputStream;
 import java.io.StreamCorruptedException;
@@ -353,6 +354,49 @@ public class DeserializerTest {
 		Assert.assertSame(clazz, readClass);
 	}
 
+	@Test
+	public void testReadObjectCodec() throws ClassNotFoundException {
+		ByteBuffer byteBuffer = ByteBuffer.allocate(5);
+
+		byteBuffer.put(SerializationConstants.TC_CODEC);
+		byteBuffer.putInt(SerializableCodecRegistry.TYPE_ID_TRANSIENT_VALUE);
+
+		byteBuffer.flip();
+
+		Deserializer deserializer = new Deserializer(byteBuffer);
+
+		Object object = deserializer.readObject();
+
+		Assert.assertTrue(object instanceof TransientValue);
+
+		TransientValue<?> transientValue = (TransientValue<?>)object;
+
+		Assert.assertNull(transientValue.getValue());
+	}
+
+	@Test
+	public void testReadObjectCodecUnknownTypeId()
+		throws ClassNotFoundException {
+
+		ByteBuffer byteBuffer = ByteBuffer.allocate(5);
+
+		byteBuffer.put(SerializationConstants.TC_CODEC);
+		byteBuffer.putInt(99);
+
+		byteBuffer.flip();
+
+		Deserializer deserializer = new Deserializer(byteBuffer);
+
+		try {
+			deserializer.readObject();
+
+			Assert.fail();
+		}
+		catch (IllegalStateException ise) {
+			Assert.assertEquals("Unknown codec type ID 99", ise.getMessage());
+		}
+	}
+
 	@Test
 	public void testReadObjectDouble() throws ClassNotFoundException {
 		ByteBuffer byteBuffer = ByteBuffer.allocate(9);
@@ -566,7 +610,7 @@ public class DeserializerTest {
 	public void testReadObjectUnknowTCCode() throws ClassNotFoundException {
 		ByteBuffer byteBuffer = ByteBuffer.allocate(1);
 
-		byteBuffer.put((byte)12);
+		byteBuffer.put((byte)13);
 
 		Deserializer deserializer = new Deserializer(byteBuffer);
 
@@ -574,7 +618,7 @@ public class DeserializerTest {
 			deserializer.readObject();
 		}
 		catch (IllegalStateException ise) {
-			Assert.assertEquals("Unkown TC code 12", ise.getMessage());
+			Assert.assertEquals("Unkown TC code 13", ise.getMessage());
 		}
 	}
 
@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.io;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+
+import java.nio.ByteBuffer;
+
+import java.util.Date;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class ExternalizableSerializableCodecTest {
+
+	@Test
+	public void testConstructor() {
+		try {
+			new ExternalizableSerializableCodec<NoDefaultConstructorModel>(
+				NoDefaultConstructorModel.class);
+
+			Assert.fail();
+		}
+		catch (IllegalArgumentException iae) {
+			Assert.assertEquals(
+				NoDefaultConstructorModel.class.getName() +
+					" has no public no-arg constructor",
+				iae.getMessage());
+		}
+	}
+
+	@Test
+	public void testEncodeDecode() throws ClassNotFoundException {
+		TestModel testModel = new TestModel();
+
+		testModel.active = true;
+		testModel.createDate = new Date(123456);
+		testModel.name = "name";
+		testModel.priority = 1.5D;
+		testModel.status = 7;
+		testModel.testModelId = 123456789L;
+
+		ExternalizableSerializableCodec<TestModel>
+			externalizableSerializableCodec =
+				new ExternalizableSerializableCodec<TestModel>(TestModel.class);
+
+		Serializer serializer = new Serializer();
+
+		externalizableSerializableCodec.encode(serializer, testModel);
+
+		ByteBuffer byteBuffer = serializer.toByteBuffer();
+
+		Deserializer deserializer = new Deserializer(byteBuffer);
+
+		TestModel readTestModel = externalizableSerializableCodec.decode(
+			deserializer);
+
+		Assert.assertEquals(testModel.active, readTestModel.active);
+		Assert.assertEquals(testModel.createDate, readTestModel.createDate);
+		Assert.assertEquals(testModel.name, readTestModel.name);
+		Assert.assertEquals(testModel.priority, readTestModel.priority, 0);
+		Assert.assertEquals(testModel.status, readTestModel.status);
+		Assert.assertEquals(testModel.testModelId, readTestModel.testModelId);
+		Assert.assertEquals(byteBuffer.limit(), deserializer.index);
+	}
+
+	public static class NoDefaultConstructorModel extends TestModel {
+
+		public NoDefaultConstructorModel(long testModelId) {
+			this.testModelId = testModelId;
+		}
+
+	}
+
+	public static class TestModel implements Externalizable {
+
+		@Override
+		public void readExternal(ObjectInput objectInput)
+			throws ClassNotFoundException, IOException {
+
+			active = objectInput.readBoolean();
+			createDate = (Date)objectInput.readObject();
+			name = objectInput.readUTF();
+			priority = objectInput.readDouble();
+			status = objectInput.readInt();
+			testModelId = objectInput.readLong();
+		}
+
+		@Override
+		public void writeExternal(ObjectOutput objectOutput)
+			throws IOException {
+
+			objectOutput.writeBoolean(active);
+			objectOutput.writeObject(createDate);
+			objectOutput.writeUTF(name);
+			objectOutput.writeDouble(priority);
+			objectOutput.writeInt(status);
+			objectOutput.writeLong(testModelId);
+		}
+
+		protected boolean active;
+		protected Date createDate;
+		protected String name;
+		protected double priority;
+		protected int status;
+		protected long testModelId;
+
+	}
+
+}
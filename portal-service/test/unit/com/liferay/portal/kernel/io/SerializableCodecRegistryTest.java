@@ -0,0 +1,196 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.io;
+
+import com.liferay.portal.kernel.messaging.Message;
+import com.liferay.portal.kernel.util.TransientValue;
+
+import java.io.Serializable;
+
+import java.nio.ByteBuffer;
+
+import java.util.Date;
+import java.util.Map;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class SerializableCodecRegistryTest {
+
+	@Test
+	public void testMessage() throws ClassNotFoundException {
+		Message message = new Message();
+
+		message.setDestinationName("destination");
+		message.setPayload(new Date(123456));
+		message.setResponseId("responseId");
+		message.put("key1", "value1");
+		message.put("key2", 2L);
+		message.put("key3", new Object());
+
+		Message readMessage = _readWrite(message);
+
+		Assert.assertEquals("destination", readMessage.getDestinationName());
+		Assert.assertEquals(new Date(123456), readMessage.getPayload());
+		Assert.assertNull(readMessage.getResponse());
+		Assert.assertNull(readMessage.getResponseDestinationName());
+		Assert.assertEquals("responseId", readMessage.getResponseId());
+
+		Map<String, Object> values = readMessage.getValues();
+
+		Assert.assertEquals(3, values.size());
+		Assert.assertEquals("value1", values.get("key1"));
+		Assert.assertEquals(2L, values.get("key2"));
+
+		TransientValue<?> transientValue = (TransientValue<?>)values.get(
+			"key3");
+
+		Assert.assertNull(transientValue.getValue());
+
+		readMessage = _readWrite(new Message());
+
+		Assert.assertNull(readMessage.getDestinationName());
+		Assert.assertNull(readMessage.getValues());
+	}
+
+	@Test
+	public void testRegister() throws ClassNotFoundException {
+		try {
+			SerializableCodecRegistry.register(
+				SerializableCodecRegistry.TYPE_ID_MIN - 1, Date.class,
+				new DateSerializableCodec());
+
+			Assert.fail();
+		}
+		catch (IllegalArgumentException iae) {
+			Assert.assertEquals("Type ID 99 is reserved", iae.getMessage());
+		}
+
+		Assert.assertNull(
+			SerializableCodecRegistry.getSerializableCodec(Date.class));
+
+		DateSerializableCodec dateSerializableCodec =
+			new DateSerializableCodec();
+
+		SerializableCodecRegistry.register(
+			SerializableCodecRegistry.TYPE_ID_MIN, Date.class,
+			dateSerializableCodec);
+
+		try {
+			Assert.assertSame(
+				dateSerializableCodec,
+				SerializableCodecRegistry.getSerializableCodec(Date.class));
+
+			SerializableCodecRegistry.register(
+				SerializableCodecRegistry.TYPE_ID_MIN, Date.class,
+				dateSerializableCodec);
+
+			try {
+				SerializableCodecRegistry.register(
+					SerializableCodecRegistry.TYPE_ID_MIN + 1, Date.class,
+					dateSerializableCodec);
+
+				Assert.fail();
+			}
+			catch (IllegalStateException ise) {
+				Assert.assertEquals(
+					"java.util.Date is already registered with type ID 100",
+					ise.getMessage());
+			}
+
+			try {
+				SerializableCodecRegistry.register(
+					SerializableCodecRegistry.TYPE_ID_MIN, String.class,
+					new SerializableCodec<String>() {
+
+						@Override
+						public String decode(Deserializer deserializer) {
+							return deserializer.readString();
+						}
+
+						@Override
+						public void encode(Serializer serializer, String s) {
+							serializer.writeString(s);
+						}
+
+					});
+
+				Assert.fail();
+			}
+			catch (IllegalStateException ise) {
+				Assert.assertEquals(
+					"Type ID 100 is already registered for java.util.Date",
+					ise.getMessage());
+			}
+
+			Date date = new Date(123456);
+
+			Serializer serializer = new Serializer();
+
+			serializer.writeObject(date);
+
+			ByteBuffer byteBuffer = serializer.toByteBuffer();
+
+			Assert.assertEquals(13, byteBuffer.remaining());
+
+			Deserializer deserializer = new Deserializer(byteBuffer);
+
+			Assert.assertEquals(date, deserializer.readObject());
+		}
+		finally {
+			SerializableCodecRegistry.unregister(Date.class);
+		}
+
+		Assert.assertNull(
+			SerializableCodecRegistry.getSerializableCodec(Date.class));
+
+		SerializableCodecRegistry.unregister(Message.class);
+
+		Assert.assertNotNull(
+			SerializableCodecRegistry.getSerializableCodec(Message.class));
+	}
+
+	private <T extends Serializable> T _readWrite(T t)
+		throws ClassNotFoundException {
+
+		Serializer serializer = new Serializer();
+
+		serializer.writeObject(t);
+
+		Deserializer deserializer = new Deserializer(
+			serializer.toByteBuffer());
+
+		return deserializer.readObject();
+	}
+
+	private static class DateSerializableCodec
+		implements SerializableCodec<Date> {
+
+		@Override
+		public Date decode(Deserializer deserializer) {
+			return new Date(deserializer.readLong());
+		}
+
+		@Override
+		public void encode(Serializer serializer, Date date) {
+			serializer.writeLong(date.getTime());
+		}
+
+	}
+
+}
@@ -18,6 +18,7 @@ import com.liferay.portal.kernel.io.Serializer.BufferNode;
 import com.liferay.portal.kernel.io.Serializer.BufferQueue;
 import com.liferay.portal.kernel.io.unsync.UnsyncByteArrayInputStream;
 import com.liferay.portal.kernel.io.unsync.UnsyncByteArrayOutputStream;
+import com.liferay.portal.kernel.messaging.Message;
 import com.liferay.portal.kernel.test.CodeCoverageAssertor;
 import com.liferay.portal.kernel.test.NewClassLoaderJUnitTestRunner;
 import com.liferay.portal.kernel.util.StringPool;
@@ -626,6 +627,40 @@ public class SerializerTest {
 				byteBuffer.remaining(), StringPool.UTF8));
 	}
 
+	@Test
+	public void testWriteObjectCodec() throws UnsupportedEncodingException {
+		Serializer serializer = new Serializer();
+
+		Message message = new Message();
+
+		message.setDestinationName("destination");
+
+		serializer.writeObject(message);
+
+		ByteBuffer byteBuffer = serializer.toByteBuffer();
+
+		Assert.assertEquals(SerializationConstants.TC_CODEC, byteBuffer.get());
+		Assert.assertEquals(
+			SerializableCodecRegistry.TYPE_ID_MESSAGE, byteBuffer.getInt());
+		Assert.assertEquals(SerializationConstants.TC_STRING, byteBuffer.get());
+		Assert.assertEquals(1, byteBuffer.get());
+		Assert.assertEquals(11, byteBuffer.getInt());
+
+		byte[] bytes = new byte[11];
+
+		byteBuffer.get(bytes);
+
+		Assert.assertEquals("destination", new String(bytes, StringPool.UTF8));
+
+		for (int i = 0; i < 4; i++) {
+			Assert.assertEquals(
+				SerializationConstants.TC_NULL, byteBuffer.get());
+		}
+
+		Assert.assertEquals(-1, byteBuffer.getInt());
+		Assert.assertFalse(byteBuffer.hasRemaining());
+	}
+
 	@Test
 	public void testWriteObjectDouble() {
 		Serializer serializer = new Serializer();
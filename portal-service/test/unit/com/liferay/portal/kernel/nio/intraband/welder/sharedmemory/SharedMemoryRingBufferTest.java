@@ -0,0 +1,179 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.nio.intraband.welder.sharedmemory;
+
+import com.liferay.portal.kernel.nio.intraband.welder.WelderTestUtil;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousCloseException;
+import java.nio.channels.ClosedByInterruptException;
+import java.nio.channels.ClosedChannelException;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class SharedMemoryRingBufferTest {
+
+	@Test
+	public void testClose() throws Exception {
+		ByteBuffer byteBuffer = ByteBuffer.allocateDirect(
+			SharedMemoryRingBuffer.getSize(16));
+
+		SharedMemoryRingBuffer writeSharedMemoryRingBuffer =
+			new SharedMemoryRingBuffer(byteBuffer, 16, 1000);
+		SharedMemoryRingBuffer readSharedMemoryRingBuffer =
+			new SharedMemoryRingBuffer(byteBuffer, 16, 1000);
+
+		writeSharedMemoryRingBuffer.write(ByteBuffer.wrap(new byte[] {1, 2}));
+
+		writeSharedMemoryRingBuffer.close();
+
+		Assert.assertFalse(writeSharedMemoryRingBuffer.isOpen());
+		Assert.assertTrue(readSharedMemoryRingBuffer.isClosed());
+		Assert.assertTrue(readSharedMemoryRingBuffer.isOpen());
+
+		ByteBuffer readByteBuffer = ByteBuffer.allocate(4);
+
+		Assert.assertEquals(
+			2, readSharedMemoryRingBuffer.read(readByteBuffer, true));
+		Assert.assertEquals(
+			-1, readSharedMemoryRingBuffer.read(readByteBuffer, true));
+
+		try {
+			writeSharedMemoryRingBuffer.write(ByteBuffer.allocate(1));
+
+			Assert.fail();
+		}
+		catch (AsynchronousCloseException ace) {
+		}
+
+		SharedMemoryRingBuffer peerSharedMemoryRingBuffer =
+			new SharedMemoryRingBuffer(byteBuffer, 16, 1000);
+
+		try {
+			peerSharedMemoryRingBuffer.write(ByteBuffer.allocate(1));
+
+			Assert.fail();
+		}
+		catch (ClosedChannelException cce) {
+		}
+	}
+
+	@Test
+	public void testConnected() throws Exception {
+		ByteBuffer byteBuffer = ByteBuffer.allocateDirect(
+			SharedMemoryRingBuffer.getSize(4096));
+
+		WelderTestUtil.assertConnectted(
+			new SharedMemoryScatteringByteChannel(
+				new SharedMemoryRingBuffer(byteBuffer, 4096, 100000)),
+			new SharedMemoryGatheringByteChannel(
+				new SharedMemoryRingBuffer(byteBuffer, 4096, 100000)));
+	}
+
+	@Test
+	public void testConstructor() {
+		ByteBuffer byteBuffer = ByteBuffer.allocate(
+			SharedMemoryRingBuffer.getSize(16));
+
+		try {
+			new SharedMemoryRingBuffer(byteBuffer, 12, 1000);
+
+			Assert.fail();
+		}
+		catch (IllegalArgumentException iae) {
+			Assert.assertEquals(
+				"Capacity 12 is not a power of two", iae.getMessage());
+		}
+
+		try {
+			new SharedMemoryRingBuffer(byteBuffer, 32, 1000);
+
+			Assert.fail();
+		}
+		catch (IllegalArgumentException iae) {
+		}
+
+		SharedMemoryRingBuffer sharedMemoryRingBuffer =
+			new SharedMemoryRingBuffer(byteBuffer, 16, 1000);
+
+		Assert.assertEquals(16, sharedMemoryRingBuffer.getCapacity());
+		Assert.assertFalse(sharedMemoryRingBuffer.isClosed());
+		Assert.assertTrue(sharedMemoryRingBuffer.isOpen());
+	}
+
+	@Test
+	public void testInterrupt() throws Exception {
+		ByteBuffer byteBuffer = ByteBuffer.allocate(
+			SharedMemoryRingBuffer.getSize(16));
+
+		SharedMemoryRingBuffer sharedMemoryRingBuffer =
+			new SharedMemoryRingBuffer(byteBuffer, 16, 1000);
+
+		Thread.currentThread().interrupt();
+
+		try {
+			sharedMemoryRingBuffer.read(ByteBuffer.allocate(1), true);
+
+			Assert.fail();
+		}
+		catch (ClosedByInterruptException cbie) {
+		}
+
+		Assert.assertFalse(Thread.interrupted());
+		Assert.assertFalse(sharedMemoryRingBuffer.isOpen());
+		Assert.assertTrue(sharedMemoryRingBuffer.isClosed());
+	}
+
+	@Test
+	public void testWrapAround() throws Exception {
+		ByteBuffer byteBuffer = ByteBuffer.allocate(
+			SharedMemoryRingBuffer.getSize(16));
+
+		SharedMemoryRingBuffer writeSharedMemoryRingBuffer =
+			new SharedMemoryRingBuffer(byteBuffer, 16, 1000);
+		SharedMemoryRingBuffer readSharedMemoryRingBuffer =
+			new SharedMemoryRingBuffer(byteBuffer, 16, 1000);
+
+		ByteBuffer readByteBuffer = ByteBuffer.allocate(10);
+
+		Assert.assertEquals(
+			0, readSharedMemoryRingBuffer.read(readByteBuffer, false));
+
+		byte value = 0;
+
+		for (int i = 0; i < 10; i++) {
+			byte[] bytes = new byte[10];
+
+			for (int j = 0; j < bytes.length; j++) {
+				bytes[j] = value++;
+			}
+
+			Assert.assertEquals(
+				10, writeSharedMemoryRingBuffer.write(ByteBuffer.wrap(bytes)));
+
+			readByteBuffer.clear();
+
+			Assert.assertEquals(
+				10, readSharedMemoryRingBuffer.read(readByteBuffer, false));
+
+			Assert.assertArrayEquals(bytes, readByteBuffer.array());
+		}
+	}
+
+}
@@ -0,0 +1,204 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.search;
+
+import com.liferay.portal.kernel.configuration.Filter;
+import com.liferay.portal.kernel.util.File;
+import com.liferay.portal.kernel.util.FileUtil;
+import com.liferay.portal.kernel.util.Props;
+import com.liferay.portal.kernel.util.PropsKeys;
+import com.liferay.portal.kernel.util.PropsUtil;
+import com.liferay.portal.kernel.util.ProxyUtil;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+/**
+ * @author Brian Wing Shun Chan
+ */
+public class ReindexCheckpointUtilTest {
+
+	@BeforeClass
+	public static void setUpClass() throws Exception {
+		FileUtil fileUtil = new FileUtil();
+
+		fileUtil.setFile(
+			(File)ProxyUtil.newProxyInstance(
+				ReindexCheckpointUtilTest.class.getClassLoader(),
+				new Class<?>[] {File.class},
+				new MemoryFileInvocationHandler()));
+
+		final Properties properties = new Properties();
+
+		properties.setProperty(PropsKeys.LIFERAY_HOME, "liferay.home");
+
+		PropsUtil.setProps(
+			new Props() {
+
+				@Override
+				public boolean contains(String key) {
+					return properties.containsKey(key);
+				}
+
+				@Override
+				public String get(String key) {
+					return properties.getProperty(key);
+				}
+
+				@Override
+				public String get(String key, Filter filter) {
+					return properties.getProperty(key);
+				}
+
+				@Override
+				public String[] getArray(String key) {
+					return new String[0];
+				}
+
+				@Override
+				public String[] getArray(String key, Filter filter) {
+					return new String[0];
+				}
+
+				@Override
+				public Properties getProperties() {
+					return properties;
+				}
+
+				@Override
+				public Properties getProperties(
+					String prefix, boolean removePrefix) {
+
+					return properties;
+				}
+
+			});
+	}
+
+	@Test
+	public void testFinishRun() {
+		ReindexCheckpointUtil.startRun(_COMPANY_ID, "run");
+		ReindexCheckpointUtil.updateCheckpoint(_COMPANY_ID, "name", 10, 50);
+
+		ReindexCheckpointUtil.finishRun(_COMPANY_ID, false);
+
+		Assert.assertTrue(ReindexCheckpointUtil.resumeRun(_COMPANY_ID, "run"));
+		Assert.assertEquals(
+			50, ReindexCheckpointUtil.getCheckpoint(_COMPANY_ID, "name", 10));
+
+		ReindexCheckpointUtil.finishRun(_COMPANY_ID, true);
+
+		Assert.assertEquals(
+			-1, ReindexCheckpointUtil.getCheckpoint(_COMPANY_ID, "name", 10));
+		Assert.assertFalse(
+			ReindexCheckpointUtil.resumeRun(_COMPANY_ID, "run"));
+	}
+
+	@Test
+	public void testResumeRun() {
+		ReindexCheckpointUtil.startRun(_COMPANY_ID, "run");
+		ReindexCheckpointUtil.updateCheckpoint(_COMPANY_ID, "name", 10, 50);
+
+		Assert.assertEquals(
+			-1, ReindexCheckpointUtil.getCheckpoint(_COMPANY_ID, "name", 10));
+		Assert.assertFalse(
+			ReindexCheckpointUtil.resumeRun(_COMPANY_ID, "otherRun"));
+		Assert.assertEquals(
+			-1, ReindexCheckpointUtil.getCheckpoint(_COMPANY_ID, "name", 10));
+		Assert.assertTrue(ReindexCheckpointUtil.resumeRun(_COMPANY_ID, "run"));
+		Assert.assertEquals(
+			50, ReindexCheckpointUtil.getCheckpoint(_COMPANY_ID, "name", 10));
+		Assert.assertEquals(
+			-1, ReindexCheckpointUtil.getCheckpoint(_COMPANY_ID, "name", 20));
+		Assert.assertEquals(
+			-1,
+			ReindexCheckpointUtil.getCheckpoint(_COMPANY_ID, "otherName", 10));
+
+		ReindexCheckpointUtil.finishRun(_COMPANY_ID, true);
+	}
+
+	@Test
+	public void testStartRun() {
+		ReindexCheckpointUtil.startRun(_COMPANY_ID, "run");
+		ReindexCheckpointUtil.updateCheckpoint(_COMPANY_ID, "name", 10, 50);
+
+		ReindexCheckpointUtil.startRun(_COMPANY_ID, "run");
+
+		Assert.assertTrue(ReindexCheckpointUtil.resumeRun(_COMPANY_ID, "run"));
+		Assert.assertEquals(
+			-1, ReindexCheckpointUtil.getCheckpoint(_COMPANY_ID, "name", 10));
+
+		ReindexCheckpointUtil.deleteCheckpoints(_COMPANY_ID);
+
+		Assert.assertFalse(
+			ReindexCheckpointUtil.resumeRun(_COMPANY_ID, "run"));
+	}
+
+	private static final long _COMPANY_ID = 1;
+
+	private static class MemoryFileInvocationHandler
+		implements InvocationHandler {
+
+		@Override
+		public Object invoke(Object proxy, Method method, Object[] args) {
+			String methodName = method.getName();
+			String path = String.valueOf(args[0]);
+
+			if (methodName.equals("delete")) {
+				return _contents.remove(path) != null;
+			}
+			else if (methodName.equals("deltree")) {
+				Iterator<String> iterator = _contents.keySet().iterator();
+
+				while (iterator.hasNext()) {
+					String curPath = iterator.next();
+
+					if (curPath.startsWith(path.concat("/"))) {
+						iterator.remove();
+					}
+				}
+
+				return null;
+			}
+			else if (methodName.equals("exists")) {
+				return _contents.containsKey(path);
+			}
+			else if (methodName.equals("read")) {
+				return _contents.get(path);
+			}
+			else if (methodName.equals("write")) {
+				_contents.put(path, (String)args[1]);
+
+				return null;
+			}
+
+			throw new UnsupportedOperationException(methodName);
+		}
+
+		private Map<String, String> _contents =
+			new ConcurrentHashMap<String, String>();
+
+	}
+
+}
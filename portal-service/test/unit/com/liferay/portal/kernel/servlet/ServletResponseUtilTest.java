@@ -0,0 +1,255 @@
+/**
+ * Copyright (c) 2000-2013 Liferay, Inc. All rights reserved.
+ *
+ * This library is free software; you can redistribute it and/or modify it under
+ * the terms of the GNU Lesser General Public License as published by the Free
+ * Software Foundation; either version 2.1 of the License, or (at your option)
+ * any later version.
+ *
+ * This library is distributed in the hope that it will be useful, but WITHOUT
+ * ANY WARRANTY; without even the implied warranty of MERCHANTABILITY or FITNESS
+ * FOR A PARTICULAR PURPOSE. See the GNU Lesser General Public License for more
+ * details.
+ */
+
+package com.liferay.portal.kernel.servlet;
+
+import com.liferay.portal.kernel.configuration.Filter;
+import com.liferay.portal.kernel.io.LocalFileInputStream;
+import com.liferay.portal.kernel.util.Props;
+import com.liferay.portal.kernel.util.PropsKeys;
+import com.liferay.portal.kernel.util.PropsUtil;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+import java.util.List;
+import java.util.Properties;
+
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+/**
+ * @author Shuyang Zhou
+ */
+public class ServletResponseUtilTest {
+
+	@BeforeClass
+	public static void setUpClass() throws Exception {
+		_rootDir = File.createTempFile("ServletResponseUtilTest", null);
+
+		_rootDir.delete();
+
+		_rootDir.mkdirs();
+
+		final Properties properties = new Properties();
+
+		properties.setProperty(
+			PropsKeys.DL_STORE_FILE_SYSTEM_ROOT_DIR, _rootDir.getPath());
+		properties.setProperty(
+			PropsKeys.WEB_SERVER_SERVLET_MAX_RANGE_FIELDS, "10");
+		properties.setProperty(
+			PropsKeys.WEB_SERVER_SERVLET_SENDFILE_HEADER, _SENDFILE_HEADER);
+		properties.setProperty(
+			PropsKeys.WEB_SERVER_SERVLET_SENDFILE_URI_PREFIX, "/internal");
+
+		PropsUtil.setProps(
+			new Props() {
+
+				@Override
+				public boolean contains(String key) {
+					return properties.containsKey(key);
+				}
+
+				@Override
+				public String get(String key) {
+					return properties.getProperty(key);
+				}
+
+				@Override
+				public String get(String key, Filter filter) {
+					return properties.getProperty(key);
+				}
+
+				@Override
+				public String[] getArray(String key) {
+					return new String[0];
+				}
+
+				@Override
+				public String[] getArray(String key, Filter filter) {
+					return new String[0];
+				}
+
+				@Override
+				public Properties getProperties() {
+					return properties;
+				}
+
+				@Override
+				public Properties getProperties(
+					String prefix, boolean removePrefix) {
+
+					return properties;
+				}
+
+			});
+	}
+
+	@AfterClass
+	public static void tearDownClass() {
+		_rootDir.delete();
+	}
+
+	@Test
+	public void testOffloadToProxy() throws Exception {
+		File dir = new File(_rootDir, "10/20");
+
+		dir.mkdirs();
+
+		File file = new File(dir, "1 0.txt");
+
+		_writeFile(file);
+
+		try {
+			MockHttpServletResponse mockHttpServletResponse =
+				new MockHttpServletResponse();
+
+			ServletResponseUtil.sendFile(
+				new MockHttpServletRequest(), mockHttpServletResponse, null,
+				new LocalFileInputStream(file), _TEST_BYTES.length,
+				"text/plain");
+
+			Assert.assertEquals(
+				"/internal/10/20/1%200.txt",
+				mockHttpServletResponse.getHeader(_SENDFILE_HEADER));
+			Assert.assertEquals(
+				0, mockHttpServletResponse.getContentAsByteArray().length);
+		}
+		finally {
+			file.delete();
+
+			dir.delete();
+			dir.getParentFile().delete();
+		}
+	}
+
+	@Test
+	public void testOffloadToProxyOutsideRootDir() throws Exception {
+		File file = File.createTempFile("ServletResponseUtilTest", null);
+
+		_writeFile(file);
+
+		try {
+			MockHttpServletResponse mockHttpServletResponse =
+				new MockHttpServletResponse();
+
+			ServletResponseUtil.sendFile(
+				new MockHttpServletRequest(), mockHttpServletResponse, null,
+				new LocalFileInputStream(file), _TEST_BYTES.length,
+				"text/plain");
+
+			Assert.assertNull(
+				mockHttpServletResponse.getHeader(_SENDFILE_HEADER));
+			Assert.assertArrayEquals(
+				_TEST_BYTES, mockHttpServletResponse.getContentAsByteArray());
+		}
+		finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testWriteFileInputStream() throws Exception {
+		File file = File.createTempFile("ServletResponseUtilTest", null);
+
+		_writeFile(file);
+
+		try {
+			MockHttpServletResponse mockHttpServletResponse =
+				new MockHttpServletResponse();
+
+			ServletResponseUtil.write(
+				mockHttpServletResponse, new FileInputStream(file),
+				_TEST_BYTES.length);
+
+			Assert.assertArrayEquals(
+				_TEST_BYTES, mockHttpServletResponse.getContentAsByteArray());
+		}
+		finally {
+			file.delete();
+		}
+	}
+
+	@Test
+	public void testWriteMultipleRanges() throws Exception {
+		_testWriteMultipleRanges(new ByteArrayInputStream(_TEST_BYTES));
+
+		File file = File.createTempFile("ServletResponseUtilTest", null);
+
+		_writeFile(file);
+
+		try {
+			_testWriteMultipleRanges(new FileInputStream(file));
+		}
+		finally {
+			file.delete();
+		}
+	}
+
+	private void _testWriteMultipleRanges(InputStream inputStream)
+		throws IOException {
+
+		MockHttpServletRequest mockHttpServletRequest =
+			new MockHttpServletRequest();
+
+		mockHttpServletRequest.addHeader(HttpHeaders.RANGE, "bytes=1-3,6-8");
+
+		MockHttpServletResponse mockHttpServletResponse =
+			new MockHttpServletResponse();
+
+		List<Range> ranges = ServletResponseUtil.getRanges(
+			mockHttpServletRequest, mockHttpServletResponse,
+			_TEST_BYTES.length);
+
+		ServletResponseUtil.write(
+			mockHttpServletRequest, mockHttpServletResponse, null, ranges,
+			inputStream, _TEST_BYTES.length, "text/plain");
+
+		Assert.assertEquals(206, mockHttpServletResponse.getStatus());
+
+		String content = mockHttpServletResponse.getContentAsString();
+
+		Assert.assertTrue(content, content.contains("bytes 1-3/10"));
+		Assert.assertTrue(content, content.contains("bcd"));
+		Assert.assertTrue(content, content.contains("bytes 6-8/10"));
+		Assert.assertTrue(content, content.contains("ghi"));
+	}
+
+	private void _writeFile(File file) throws IOException {
+		FileOutputStream fileOutputStream = new FileOutputStream(file);
+
+		try {
+			fileOutputStream.write(_TEST_BYTES);
+		}
+		finally {
+			fileOutputStream.close();
+		}
+	}
+
+	private static final String _SENDFILE_HEADER = "X-Accel-Redirect";
+
+	private static final byte[] _TEST_BYTES = "abcdefghij".getBytes();
+
+	private static File _rootDir;
+
+}